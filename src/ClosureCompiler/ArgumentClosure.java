@@ -0,0 +1,23 @@
+/**
+ * An argument compiled by ClosureCompiler, which evaluates its expression in the caller's Frame and stores the value
+ * in a slot of the Frame it is passed into, in the slots of whichever kind its type lives in.
+ */
+
+package ClosureCompiler;
+
+import Exceptions.SyntaxErrorException;
+
+@FunctionalInterface
+interface ArgumentClosure
+{
+    /**
+     * Evaluates this argument in the incoming former Frame and stores it in the incoming slot of the incoming
+     * latter Frame.
+     *
+     * @param from Former incoming Frame.
+     * @param to Latter incoming Frame.
+     * @param slot Incoming slot.
+     * @throws SyntaxErrorException If this argument's expression fails.
+     */
+    void pass(Frame from, Frame to, int slot) throws SyntaxErrorException;
+}
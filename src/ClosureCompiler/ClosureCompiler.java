@@ -0,0 +1,1051 @@
+/**
+ * Runs a program by compiling each function's AST once into a tree of typed closures and then calling them.
+ * Every expression's type is decided while compiling, the same way BytecodeCompiler decides it, so each closure does
+ * exactly one operation on unboxed values and no node is ever inspected with instanceof while the program runs.
+ * An expression or statement whose types do not fit compiles to a closure throwing the error Interpreter would raise,
+ * so it only fails if it is reached.
+ */
+
+package ClosureCompiler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import CrossStageTools.Nodes.*;
+import CrossStageTools.Nodes.DataTypeNodes.*;
+import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.*;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.ForNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.IfNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.RepeatNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.WhileNode;
+import CrossStageTools.tokenType;
+import Exceptions.SyntaxErrorException;
+import Exceptions.UnchangeableVariableException;
+import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
+import Interpreter.InterpreterDataTypes.ArrayDataType;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+import VirtualMachine.BytecodeCompiler;
+import VirtualMachine.CallSite;
+import VirtualMachine.VirtualMachine;
+
+public class ClosureCompiler
+{
+    private final ProgramNode program;
+
+    private final HashMap<FunctionNode, FunctionClosure> compiledFunctions;
+
+    private tokenType[] slotTypes, slotArrayTypes;
+
+    private boolean[] isConstantSlot;
+
+    /**
+     * Creates a ClosureCompiler with the incoming ProgramNode as the program already parsed and resolved.
+     *
+     * @param resolvedProgram Incoming ProgramNode.
+     */
+    public ClosureCompiler(ProgramNode resolvedProgram)
+    {
+        program = resolvedProgram;
+        compiledFunctions = new HashMap<>();
+    }
+
+    /**
+     * Runs the function called "start" as the Kakuzaki program's entry point.
+     *
+     * @throws SyntaxErrorException If there is any error during running.
+     */
+    public void run() throws SyntaxErrorException
+    {
+        FunctionClosure start = getFunctionClosure(program.getFunctionMap().get("start"));
+
+        start.getBody().execute(start.makeFrame());
+    }
+
+    /**
+     * Returns the FunctionClosure for the incoming FunctionNode, compiling it if this is its first use.
+     *
+     * @param function Incoming FunctionNode.
+     * @return FunctionClosure for function.
+     */
+    private FunctionClosure getFunctionClosure(FunctionNode function)
+    {
+        FunctionClosure compiled = compiledFunctions.get(function);
+
+        if (compiled == null)
+        {
+            compiled = compile(function);
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Compiles the incoming FunctionNode, which must already be resolved. The FunctionClosure is recorded before its
+     * statements are compiled.
+     *
+     * @param function Incoming FunctionNode.
+     * @return FunctionClosure compiled from function.
+     */
+    private FunctionClosure compile(FunctionNode function)
+    {
+        ArrayList<VariableNode> parameters = function.getParameterList();
+        ArrayList<VariableNode> variables = function.getVariableList();
+        int frameSize = function.getFrameSize();
+
+        slotTypes = new tokenType[frameSize];
+        slotArrayTypes = new tokenType[frameSize];
+        isConstantSlot = new boolean[frameSize];
+
+        int[] initialIntegers = new int[frameSize];
+        float[] initialReals = new float[frameSize];
+        Object[] initialReferences = new Object[frameSize];
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            VariableNode variable = variables.get(i);
+            int slot = variable.getSlot();
+
+            slotTypes[slot] = variable.getType();
+            slotArrayTypes[slot] = variable.getArrayType();
+            isConstantSlot[slot] = !variable.isChangeable();
+
+            if (BytecodeCompiler.isReference(variable.getType()))
+            {
+                initialReferences[slot] = BytecodeCompiler.makeInitialReference(variable);
+            }
+            else if (variable.getType() == tokenType.REAL)
+            {
+                initialReals[slot] = Float.intBitsToFloat(BytecodeCompiler.makeInitialValue(variable));
+            }
+            else initialIntegers[slot] = BytecodeCompiler.makeInitialValue(variable);
+        }
+
+        int[] parameterSlots = new int[parameters.size()];
+
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            parameterSlots[i] = parameters.get(i).getSlot();
+            slotTypes[parameterSlots[i]] = parameters.get(i).getType();
+            slotArrayTypes[parameterSlots[i]] = parameters.get(i).getArrayType();
+            isConstantSlot[parameterSlots[i]] = false;
+        }
+
+        FunctionClosure compiled = new FunctionClosure(initialIntegers, initialReals, initialReferences,
+                                                       parameterSlots);
+
+        compiledFunctions.put(function, compiled);
+        compiled.setBody(compileStatements(function.getStatementList()));
+
+        return compiled;
+    }
+
+    /**
+     * Returns the type of the value held in the incoming slot.
+     *
+     * @param slot Incoming slot.
+     * @return Type held in slot.
+     */
+    private tokenType getSlotType(int slot)
+    {
+        return slotTypes[slot] == null ? tokenType.INTEGER : slotTypes[slot];
+    }
+
+    /**
+     * Compiles each StatementNode in the incoming ArrayList into one StatementClosure running them in order.
+     *
+     * @param statements Incoming StatementNode ArrayList.
+     * @return StatementClosure running statements.
+     */
+    private StatementClosure compileStatements(ArrayList<StatementNode> statements)
+    {
+        StatementClosure[] compiled = new StatementClosure[statements.size()];
+
+        for (int i = 0; i < compiled.length; i++)
+        {
+            compiled[i] = compileStatement(statements.get(i));
+        }
+
+        if (compiled.length == 1)
+        {
+            return compiled[0];
+        }
+
+        return frame ->
+        {
+            for (int i = 0; i < compiled.length; i++)
+            {
+                compiled[i].execute(frame);
+            }
+        };
+    }
+
+    /**
+     * Compiles the incoming StatementNode. If its types do not fit together, the StatementClosure throws the error
+     * instead.
+     *
+     * @param statement Incoming StatementNode.
+     * @return StatementClosure running statement.
+     */
+    private StatementClosure compileStatement(StatementNode statement)
+    {
+        try
+        {
+            if (statement instanceof IfNode)
+            {
+                return compileIf((IfNode)statement);
+            }
+            else if (statement instanceof ForNode)
+            {
+                return compileFor((ForNode)statement);
+            }
+            else if (statement instanceof RepeatNode)
+            {
+                RepeatNode repeatBlock = (RepeatNode)statement;
+                BooleanClosure conditional = compileCondition(repeatBlock.getConditional());
+                StatementClosure body = compileStatements(repeatBlock.getStatements());
+
+                return frame ->
+                {
+                    while (!conditional.evaluate(frame))
+                    {
+                        body.execute(frame);
+                    }
+                };
+            }
+            else if (statement instanceof WhileNode)
+            {
+                WhileNode whileBlock = (WhileNode)statement;
+                BooleanClosure conditional = compileCondition(whileBlock.getConditional());
+                StatementClosure body = compileStatements(whileBlock.getStatements());
+
+                return frame ->
+                {
+                    while (conditional.evaluate(frame))
+                    {
+                        body.execute(frame);
+                    }
+                };
+            }
+            else if (statement instanceof AssignmentNode)
+            {
+                return compileAssignment((AssignmentNode)statement);
+            }
+            else if (statement instanceof FunctionCallNode)
+            {
+                return compileFunctionCall((FunctionCallNode)statement);
+            }
+            else return frame -> {};
+        }
+        catch (SyntaxErrorException e)
+        {
+            return frame ->
+            {
+                throw e;
+            };
+        }
+    }
+
+    /**
+     * Compiles the incoming IfNode and every IfNode chained after it.
+     * An else block has no conditional, so its statements run whenever control reaches them.
+     *
+     * @param ifBlock Incoming IfNode.
+     * @return StatementClosure running ifBlock.
+     */
+    private StatementClosure compileIf(IfNode ifBlock)
+    {
+        StatementClosure body = compileStatements(ifBlock.getStatements());
+
+        if (ifBlock.getConditional() == null)
+        {
+            return body;
+        }
+
+        BooleanClosure conditional = compileCondition(ifBlock.getConditional());
+
+        if (!ifBlock.hasNext())
+        {
+            return frame ->
+            {
+                if (conditional.evaluate(frame))
+                {
+                    body.execute(frame);
+                }
+            };
+        }
+
+        StatementClosure next = compileIf(ifBlock.getNext());
+
+        return frame ->
+        {
+            if (conditional.evaluate(frame))
+            {
+                body.execute(frame);
+            }
+            else next.execute(frame);
+        };
+    }
+
+    /**
+     * Compiles the incoming ForNode. Like the Interpreter, the number of iterations is fixed when the loop starts,
+     * so the loop counts in a local of its own even if its statements assign to the iterator.
+     *
+     * @param forBlock Incoming ForNode.
+     * @return StatementClosure running forBlock.
+     * @throws SyntaxErrorException If the loop does not count with integers.
+     */
+    private StatementClosure compileFor(ForNode forBlock) throws SyntaxErrorException
+    {
+        int line = forBlock.getLineNumber();
+        int iteratorSlot = forBlock.getIterator().getSlot();
+
+        if (slotTypes[iteratorSlot] == null)
+        {
+            slotTypes[iteratorSlot] = tokenType.INTEGER;
+        }
+        if (getType(forBlock.getFromNode()) != tokenType.INTEGER || slotTypes[iteratorSlot] != tokenType.INTEGER
+                || getType(forBlock.getToNode()) != tokenType.INTEGER)
+        {
+            throw new SyntaxErrorException("The for loop on line " + line + " must count with integers.");
+        }
+
+        IntegerClosure from = compileInteger(forBlock.getFromNode());
+        IntegerClosure to = compileInteger(forBlock.getToNode());
+        StatementClosure body = compileStatements(forBlock.getStatements());
+
+        return frame ->
+        {
+            int[] integers = frame.integers;
+
+            integers[iteratorSlot] = from.evaluate(frame);
+
+            int cap = to.evaluate(frame);
+
+            for (int count = integers[iteratorSlot]; count <= cap; count++)
+            {
+                body.execute(frame);
+                integers[iteratorSlot]++;
+            }
+        };
+    }
+
+    /**
+     * Compiles the incoming AssignmentNode.
+     *
+     * @param assignment Incoming AssignmentNode.
+     * @return StatementClosure running assignment.
+     * @throws SyntaxErrorException If the target is a constant or cannot hold the value's type.
+     */
+    private StatementClosure compileAssignment(AssignmentNode assignment) throws SyntaxErrorException
+    {
+        VariableReferenceNode target = assignment.getTarget();
+        ASTNode value = assignment.getValue();
+        int slot = target.getSlot();
+        int line = assignment.getLineNumber();
+
+        if (isConstantSlot[slot])
+        {
+            throw new UnchangeableVariableException(target.getName(), line);
+        }
+
+        tokenType valueType = getType(value);
+
+        if (target.getArrayExpression() != null)
+        {
+            return compileElementAssignment(target, value, valueType, line);
+        }
+        if (valueType != getSlotType(slot))
+        {
+            throw new SyntaxErrorException("Variable " + target.getName() + " on line " + line + " holds a "
+                    + getSlotType(slot) + " and cannot be assigned a " + valueType + ".");
+        }
+
+        switch (valueType)
+        {
+            case REAL :
+            {
+                RealClosure real = compileReal(value);
+
+                return frame -> frame.reals[slot] = real.evaluate(frame);
+            }
+            case BOOLEAN :
+            {
+                BooleanClosure bool = compileBoolean(value);
+
+                return frame -> frame.integers[slot] = bool.evaluate(frame) ? 1 : 0;
+            }
+            case STRING :
+            {
+                StringClosure string = compileString(value);
+
+                return frame -> frame.references[slot] = string.evaluate(frame);
+            }
+            default :
+            {
+                IntegerClosure integer = compileInteger(value);
+
+                return frame -> frame.integers[slot] = integer.evaluate(frame);
+            }
+        }
+    }
+
+    /**
+     * Compiles the assignment of the incoming value ASTNode of the incoming tokenType into the element of an array
+     * the incoming VariableReferenceNode indexes, from the incoming line.
+     *
+     * @param target Incoming VariableReferenceNode.
+     * @param value Incoming ASTNode.
+     * @param valueType Incoming tokenType.
+     * @param line Incoming line number.
+     * @return StatementClosure running the assignment.
+     * @throws SyntaxErrorException If target is not an array of valueType, or is not indexed with an integer.
+     */
+    private StatementClosure compileElementAssignment(VariableReferenceNode target, ASTNode value,
+                                                      tokenType valueType, int line) throws SyntaxErrorException
+    {
+        int slot = target.getSlot();
+        tokenType elementType = getType(target);
+        IntegerClosure index = compileInteger(target.getArrayExpression());
+
+        if (valueType != elementType)
+        {
+            throw new SyntaxErrorException("Variable " + target.getName() + " on line " + line + " holds a "
+                    + elementType + " and cannot be assigned a " + valueType + ".");
+        }
+
+        switch (elementType)
+        {
+            case REAL :
+            {
+                RealClosure real = compileReal(value);
+
+                return frame -> ((ArrayDataType)frame.references[slot]).setReal(index.evaluate(frame),
+                                                                                  real.evaluate(frame));
+            }
+            case BOOLEAN :
+            {
+                BooleanClosure bool = compileBoolean(value);
+
+                return frame -> ((ArrayDataType)frame.references[slot]).setBoolean(index.evaluate(frame),
+                                                                                     bool.evaluate(frame));
+            }
+            case STRING :
+            {
+                StringClosure string = compileString(value);
+
+                return frame -> ((ArrayDataType)frame.references[slot]).setString(index.evaluate(frame),
+                                                                                    string.evaluate(frame));
+            }
+            case CHARACTER :
+            {
+                IntegerClosure character = compileInteger(value);
+
+                return frame -> ((ArrayDataType)frame.references[slot]).setCharacter(index.evaluate(frame),
+                                                                                       (char)character.evaluate(frame));
+            }
+            default :
+            {
+                IntegerClosure integer = compileInteger(value);
+
+                return frame -> ((ArrayDataType)frame.references[slot]).setInteger(index.evaluate(frame),
+                                                                                     integer.evaluate(frame));
+            }
+        }
+    }
+
+    /**
+     * Compiles the incoming FunctionCallNode. The function called is looked up and checked the first time the call
+     * runs, and the slot of each var argument is recorded in the CallSite so the parameter can be copied back into it.
+     *
+     * @param call Incoming FunctionCallNode.
+     * @return StatementClosure running call.
+     * @throws SyntaxErrorException If an argument's types do not fit together.
+     */
+    private StatementClosure compileFunctionCall(FunctionCallNode call) throws SyntaxErrorException
+    {
+        ArrayList<ArgumentNode> arguments = call.getArguments();
+        int[] argumentSlots = new int[arguments.size()];
+        tokenType[] argumentTypes = new tokenType[arguments.size()];
+        ArgumentClosure[] compiledArguments = new ArgumentClosure[arguments.size()];
+
+        for (int i = 0; i < arguments.size(); i++)
+        {
+            ASTNode argument;
+
+            if (arguments.get(i).isConstant())
+            {
+                argument = arguments.get(i).getConstant();
+                argumentSlots[i] = -1;
+            }
+            else
+            {
+                argument = arguments.get(i).getVariableReference();
+                argumentSlots[i] = arguments.get(i).getVariableReference().getSlot();
+            }
+
+            argumentTypes[i] = getType(argument);
+            compiledArguments[i] = compileArgument(argument, argumentTypes[i]);
+        }
+
+        CallSite site = new CallSite(call.getName(), argumentSlots, argumentTypes, call.getLineNumber());
+
+        return frame -> call(site, compiledArguments, frame);
+    }
+
+    /**
+     * Compiles the incoming expression ASTNode of the incoming tokenType as an argument. An array argument must be
+     * a reference to the whole array, which is passed as it is.
+     *
+     * @param argument Incoming ASTNode.
+     * @param type Incoming tokenType.
+     * @return ArgumentClosure passing argument.
+     * @throws SyntaxErrorException If type is not a valid data type.
+     */
+    private ArgumentClosure compileArgument(ASTNode argument, tokenType type) throws SyntaxErrorException
+    {
+        switch (type)
+        {
+            case REAL :
+            {
+                RealClosure real = compileReal(argument);
+
+                return (from, to, slot) -> to.reals[slot] = real.evaluate(from);
+            }
+            case BOOLEAN :
+            {
+                BooleanClosure bool = compileBoolean(argument);
+
+                return (from, to, slot) -> to.integers[slot] = bool.evaluate(from) ? 1 : 0;
+            }
+            case STRING :
+            {
+                StringClosure string = compileString(argument);
+
+                return (from, to, slot) -> to.references[slot] = string.evaluate(from);
+            }
+            case ARRAY :
+            {
+                if (!(argument instanceof VariableReferenceNode))
+                {
+                    throw new SyntaxErrorException("No valid expression on line " + argument.getLineNumber() + ".");
+                }
+
+                int arraySlot = ((VariableReferenceNode)argument).getSlot();
+
+                return (from, to, slot) -> to.references[slot] = from.references[arraySlot];
+            }
+            default :
+            {
+                IntegerClosure integer = compileInteger(argument);
+
+                return (from, to, slot) -> to.integers[slot] = integer.evaluate(from);
+            }
+        }
+    }
+
+    /**
+     * Calls the function of the incoming CallSite with the incoming ArgumentClosure array evaluated in the incoming
+     * Frame, then copies changeable parameters back into the caller's slot for each var argument. An array that is
+     * not a var argument is copied before a user defined function receives it.
+     *
+     * @param site Incoming CallSite.
+     * @param arguments Incoming ArgumentClosure array.
+     * @param frame Incoming Frame of the caller.
+     * @throws SyntaxErrorException If the called function does not exist, is given the wrong arguments
+     *                              or fails while running.
+     */
+    private void call(CallSite site, ArgumentClosure[] arguments, Frame frame) throws SyntaxErrorException
+    {
+        if (site.getTarget() == null)
+        {
+            bind(site);
+        }
+
+        int[] copyBackSlots = site.getCopyBackSlots();
+        tokenType[] argumentTypes = site.getArgumentTypes();
+
+        if (site.getTarget() instanceof FunctionClosure)
+        {
+            FunctionClosure callee = (FunctionClosure)site.getTarget();
+            Frame calleeFrame = callee.makeFrame();
+            int[] parameterSlots = callee.getParameterSlots();
+
+            for (int i = 0; i < arguments.length; i++)
+            {
+                arguments[i].pass(frame, calleeFrame, parameterSlots[i]);
+
+                if (argumentTypes[i] == tokenType.ARRAY)
+                {
+                    calleeFrame.references[parameterSlots[i]] =
+                            VirtualMachine.passReference(calleeFrame.references[parameterSlots[i]], copyBackSlots[i]);
+                }
+            }
+
+            callee.getBody().execute(calleeFrame);
+
+            for (int i = 0; i < arguments.length; i++)
+            {
+                if (copyBackSlots[i] != -1)
+                {
+                    copySlot(calleeFrame, parameterSlots[i], frame, copyBackSlots[i], argumentTypes[i]);
+                }
+            }
+        }
+        else
+        {
+            Frame values = new Frame(arguments.length);
+            ArrayList<InterpreterDataType> builtInArguments = new ArrayList<>();
+
+            for (int i = 0; i < arguments.length; i++)
+            {
+                arguments[i].pass(frame, values, i);
+
+                int value = argumentTypes[i] == tokenType.REAL ? Float.floatToRawIntBits(values.reals[i])
+                                                               : values.integers[i];
+
+                builtInArguments.add(VirtualMachine.makeInterpreterDataType(argumentTypes[i], value,
+                                                                            values.references[i],
+                                                                            site.getLineNumber(),
+                                                                            copyBackSlots[i] != -1));
+            }
+
+            ((BuiltInFunctionNode)site.getTarget()).execute(builtInArguments);
+
+            for (int i = 0; i < arguments.length; i++)
+            {
+                if (copyBackSlots[i] == -1)
+                {
+                    continue;
+                }
+                if (BytecodeCompiler.isReference(argumentTypes[i]))
+                {
+                    frame.references[copyBackSlots[i]] = VirtualMachine.getReference(builtInArguments.get(i));
+                }
+                else if (argumentTypes[i] == tokenType.REAL)
+                {
+                    frame.reals[copyBackSlots[i]] = Float.intBitsToFloat(
+                            VirtualMachine.getValue(builtInArguments.get(i)));
+                }
+                else frame.integers[copyBackSlots[i]] = VirtualMachine.getValue(builtInArguments.get(i));
+            }
+        }
+    }
+
+    /**
+     * Looks up the function called by the incoming CallSite, checks its arguments and binds the CallSite to it.
+     *
+     * @param site Incoming CallSite.
+     * @throws SyntaxErrorException If the function does not exist or is given the wrong arguments.
+     */
+    private void bind(CallSite site) throws SyntaxErrorException
+    {
+        FunctionNode function = program.getFunctionMap().get(site.getName());
+        int[] copyBackSlots = VirtualMachine.checkCall(function, site);
+
+        if (function instanceof BuiltInFunctionNode)
+        {
+            site.bind(function, copyBackSlots);
+        }
+        else site.bind(getFunctionClosure(function), copyBackSlots);
+    }
+
+    /**
+     * Copies the value of the incoming tokenType in the incoming slot of the former incoming Frame into the incoming
+     * slot of the latter incoming Frame.
+     *
+     * @param from Former incoming Frame.
+     * @param fromSlot Incoming slot of from.
+     * @param to Latter incoming Frame.
+     * @param toSlot Incoming slot of to.
+     * @param type Incoming tokenType.
+     */
+    private static void copySlot(Frame from, int fromSlot, Frame to, int toSlot, tokenType type)
+    {
+        if (BytecodeCompiler.isReference(type))
+        {
+            to.references[toSlot] = from.references[fromSlot];
+        }
+        else if (type == tokenType.REAL)
+        {
+            to.reals[toSlot] = from.reals[fromSlot];
+        }
+        else to.integers[toSlot] = from.integers[fromSlot];
+    }
+
+    /**
+     * Compiles the incoming BooleanCompareNode used as the condition of a block. If its types do not fit together,
+     * the BooleanClosure throws the error instead, so an else if only fails when it is reached.
+     *
+     * @param conditional Incoming BooleanCompareNode.
+     * @return BooleanClosure evaluating conditional.
+     */
+    private BooleanClosure compileCondition(BooleanCompareNode conditional)
+    {
+        try
+        {
+            getType(conditional);
+
+            return compileBoolean(conditional);
+        }
+        catch (SyntaxErrorException e)
+        {
+            return frame ->
+            {
+                throw e;
+            };
+        }
+    }
+
+    /**
+     * Returns the type of the value the incoming expression ASTNode evaluates to.
+     *
+     * @param expression Incoming ASTNode.
+     * @return Type of expression.
+     * @throws SyntaxErrorException If the types inside expression do not fit together.
+     */
+    private tokenType getType(ASTNode expression) throws SyntaxErrorException
+    {
+        int line = expression.getLineNumber();
+
+        if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+            tokenType type = getSlotType(reference.getSlot());
+
+            if (reference.getArrayExpression() != null)
+            {
+                if (type != tokenType.ARRAY)
+                {
+                    throw new SyntaxErrorException("Variable " + reference.getName() + " on line " + line
+                            + " is not an array, but is indexed.");
+                }
+                if (getType(reference.getArrayExpression()) != tokenType.INTEGER)
+                {
+                    throw new SyntaxErrorException("Array " + reference.getName() + " on line " + line
+                            + " must be indexed with an integer.");
+                }
+
+                return slotArrayTypes[reference.getSlot()];
+            }
+
+            return type;
+        }
+        else if (expression instanceof MathOpNode)
+        {
+            MathOpNode mathOp = (MathOpNode)expression;
+
+            tokenType leftType = getType(mathOp.getLeftOperand());
+            tokenType rightType = getType(mathOp.getRightOperand());
+
+            if (leftType != rightType || (leftType != tokenType.INTEGER && leftType != tokenType.REAL
+                    && leftType != tokenType.STRING))
+            {
+                throw new SyntaxErrorException("No valid operation found on line " + line + ".");
+            }
+            if (leftType == tokenType.STRING && mathOp.getOpType() != MathOpNode.operationType.ADD)
+            {
+                throw new SyntaxErrorException("No valid String operation found on line " + line + ".");
+            }
+
+            return leftType;
+        }
+        else if (expression instanceof BooleanCompareNode)
+        {
+            BooleanCompareNode comparison = (BooleanCompareNode)expression;
+
+            tokenType leftType = getType(comparison.getLeftComparand());
+            tokenType rightType = getType(comparison.getRightComparand());
+
+            if (leftType != rightType)
+            {
+                throw new SyntaxErrorException("No valid boolean comparison found on line " + line + ".");
+            }
+
+            return tokenType.BOOLEAN;
+        }
+        else if (expression instanceof StringNode)
+        {
+            return tokenType.STRING;
+        }
+        else if (expression instanceof IntegerNode)
+        {
+            return tokenType.INTEGER;
+        }
+        else if (expression instanceof RealNode)
+        {
+            return tokenType.REAL;
+        }
+        else if (expression instanceof CharacterNode)
+        {
+            return tokenType.CHARACTER;
+        }
+        else if (expression instanceof BooleanNode)
+        {
+            return tokenType.BOOLEAN;
+        }
+        else throw new SyntaxErrorException("No valid expression on line " + line + ".");
+    }
+
+    /**
+     * Compiles the incoming expression ASTNode, whose type must be INTEGER or CHARACTER.
+     *
+     * @param expression Incoming ASTNode.
+     * @return IntegerClosure evaluating expression.
+     * @throws SyntaxErrorException If expression is not a valid integer expression.
+     */
+    private IntegerClosure compileInteger(ASTNode expression) throws SyntaxErrorException
+    {
+        if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+            int slot = reference.getSlot();
+
+            if (reference.getArrayExpression() != null)
+            {
+                IntegerClosure index = compileInteger(reference.getArrayExpression());
+
+                if (slotArrayTypes[slot] == tokenType.CHARACTER)
+                {
+                    return frame -> ((ArrayDataType)frame.references[slot]).getCharacter(index.evaluate(frame));
+                }
+
+                return frame -> ((ArrayDataType)frame.references[slot]).getInteger(index.evaluate(frame));
+            }
+
+            return frame -> frame.integers[slot];
+        }
+        else if (expression instanceof IntegerNode)
+        {
+            int value = ((IntegerNode)expression).getData();
+
+            return frame -> value;
+        }
+        else if (expression instanceof CharacterNode)
+        {
+            int value = ((CharacterNode)expression).getData();
+
+            return frame -> value;
+        }
+        else if (expression instanceof MathOpNode)
+        {
+            MathOpNode mathOp = (MathOpNode)expression;
+            IntegerClosure left = compileInteger(mathOp.getLeftOperand());
+            IntegerClosure right = compileInteger(mathOp.getRightOperand());
+
+            switch (mathOp.getOpType())
+            {
+                case ADD  : return frame -> left.evaluate(frame) + right.evaluate(frame);
+                case SUB  : return frame -> left.evaluate(frame) - right.evaluate(frame);
+                case MULT : return frame -> left.evaluate(frame) * right.evaluate(frame);
+                case DIV  : return frame -> left.evaluate(frame) / right.evaluate(frame);
+                default   : return frame -> left.evaluate(frame) % right.evaluate(frame);
+            }
+        }
+        else throw new SyntaxErrorException("No valid expression on line " + expression.getLineNumber() + ".");
+    }
+
+    /**
+     * Compiles the incoming expression ASTNode, whose type must be REAL.
+     *
+     * @param expression Incoming ASTNode.
+     * @return RealClosure evaluating expression.
+     * @throws SyntaxErrorException If expression is not a valid real expression.
+     */
+    private RealClosure compileReal(ASTNode expression) throws SyntaxErrorException
+    {
+        if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+            int slot = reference.getSlot();
+
+            if (reference.getArrayExpression() != null)
+            {
+                IntegerClosure index = compileInteger(reference.getArrayExpression());
+
+                return frame -> ((ArrayDataType)frame.references[slot]).getReal(index.evaluate(frame));
+            }
+
+            return frame -> frame.reals[slot];
+        }
+        else if (expression instanceof RealNode)
+        {
+            float value = ((RealNode)expression).getData();
+
+            return frame -> value;
+        }
+        else if (expression instanceof MathOpNode)
+        {
+            MathOpNode mathOp = (MathOpNode)expression;
+            RealClosure left = compileReal(mathOp.getLeftOperand());
+            RealClosure right = compileReal(mathOp.getRightOperand());
+
+            switch (mathOp.getOpType())
+            {
+                case ADD  : return frame -> left.evaluate(frame) + right.evaluate(frame);
+                case SUB  : return frame -> left.evaluate(frame) - right.evaluate(frame);
+                case MULT : return frame -> left.evaluate(frame) * right.evaluate(frame);
+                case DIV  : return frame -> left.evaluate(frame) / right.evaluate(frame);
+                default   : return frame -> left.evaluate(frame) % right.evaluate(frame);
+            }
+        }
+        else throw new SyntaxErrorException("No valid expression on line " + expression.getLineNumber() + ".");
+    }
+
+    /**
+     * Compiles the incoming expression ASTNode, whose type must be STRING.
+     *
+     * @param expression Incoming ASTNode.
+     * @return StringClosure evaluating expression.
+     * @throws SyntaxErrorException If expression is not a valid string expression.
+     */
+    private StringClosure compileString(ASTNode expression) throws SyntaxErrorException
+    {
+        if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+            int slot = reference.getSlot();
+
+            if (reference.getArrayExpression() != null)
+            {
+                IntegerClosure index = compileInteger(reference.getArrayExpression());
+
+                return frame -> ((ArrayDataType)frame.references[slot]).getString(index.evaluate(frame));
+            }
+
+            return frame -> (String)frame.references[slot];
+        }
+        else if (expression instanceof StringNode)
+        {
+            String value = ((StringNode)expression).getData();
+
+            return frame -> value;
+        }
+        else if (expression instanceof MathOpNode)
+        {
+            MathOpNode mathOp = (MathOpNode)expression;
+            StringClosure left = compileString(mathOp.getLeftOperand());
+            StringClosure right = compileString(mathOp.getRightOperand());
+
+            return frame -> left.evaluate(frame) + right.evaluate(frame);
+        }
+        else throw new SyntaxErrorException("No valid expression on line " + expression.getLineNumber() + ".");
+    }
+
+    /**
+     * Compiles the incoming expression ASTNode, whose type must be BOOLEAN.
+     *
+     * @param expression Incoming ASTNode.
+     * @return BooleanClosure evaluating expression.
+     * @throws SyntaxErrorException If expression is not a valid boolean expression.
+     */
+    private BooleanClosure compileBoolean(ASTNode expression) throws SyntaxErrorException
+    {
+        if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+            int slot = reference.getSlot();
+
+            if (reference.getArrayExpression() != null)
+            {
+                IntegerClosure index = compileInteger(reference.getArrayExpression());
+
+                return frame -> ((ArrayDataType)frame.references[slot]).getBoolean(index.evaluate(frame));
+            }
+
+            return frame -> frame.integers[slot] != 0;
+        }
+        else if (expression instanceof BooleanNode)
+        {
+            boolean value = ((BooleanNode)expression).getData();
+
+            return frame -> value;
+        }
+        else if (expression instanceof BooleanCompareNode)
+        {
+            return compileComparison((BooleanCompareNode)expression);
+        }
+        else throw new SyntaxErrorException("No valid expression on line " + expression.getLineNumber() + ".");
+    }
+
+    /**
+     * Compiles the incoming BooleanCompareNode, whose comparands must share a type. A comparison the Interpreter
+     * always evaluates to false for that type compiles to a BooleanClosure returning false.
+     *
+     * @param comparison Incoming BooleanCompareNode.
+     * @return BooleanClosure evaluating comparison.
+     * @throws SyntaxErrorException If no valid comparison for the comparands' type is found.
+     */
+    private BooleanClosure compileComparison(BooleanCompareNode comparison) throws SyntaxErrorException
+    {
+        ASTNode leftComparand = comparison.getLeftComparand(), rightComparand = comparison.getRightComparand();
+        tokenType type = getType(leftComparand);
+
+        if (type == tokenType.INTEGER || type == tokenType.CHARACTER)
+        {
+            if (type == tokenType.CHARACTER && comparison.getCompType() != BooleanCompareNode.comparisonType.EQUAL
+                    && comparison.getCompType() != BooleanCompareNode.comparisonType.NEQUAL)
+            {
+                return frame -> false;
+            }
+
+            IntegerClosure left = compileInteger(leftComparand);
+            IntegerClosure right = compileInteger(rightComparand);
+
+            switch (comparison.getCompType())
+            {
+                case GTHAN  : return frame -> left.evaluate(frame) > right.evaluate(frame);
+                case LTHAN  : return frame -> left.evaluate(frame) < right.evaluate(frame);
+                case GETO   : return frame -> left.evaluate(frame) >= right.evaluate(frame);
+                case LETO   : return frame -> left.evaluate(frame) <= right.evaluate(frame);
+                case EQUAL  : return frame -> left.evaluate(frame) == right.evaluate(frame);
+                case NEQUAL : return frame -> left.evaluate(frame) != right.evaluate(frame);
+                default     : return frame -> false;
+            }
+        }
+        else if (type == tokenType.REAL)
+        {
+            RealClosure left = compileReal(leftComparand);
+            RealClosure right = compileReal(rightComparand);
+
+            switch (comparison.getCompType())
+            {
+                case GTHAN  : return frame -> left.evaluate(frame) > right.evaluate(frame);
+                case LTHAN  : return frame -> left.evaluate(frame) < right.evaluate(frame);
+                case GETO   : return frame -> left.evaluate(frame) >= right.evaluate(frame);
+                case LETO   : return frame -> left.evaluate(frame) <= right.evaluate(frame);
+                case EQUAL  : return frame -> left.evaluate(frame) == right.evaluate(frame);
+                case NEQUAL : return frame -> left.evaluate(frame) != right.evaluate(frame);
+                default     : return frame -> false;
+            }
+        }
+        else if (type == tokenType.STRING)
+        {
+            StringClosure left = compileString(leftComparand);
+            StringClosure right = compileString(rightComparand);
+
+            switch (comparison.getCompType())
+            {
+                case EQUAL  : return frame -> left.evaluate(frame).equals(right.evaluate(frame));
+                case NEQUAL : return frame -> !left.evaluate(frame).equals(right.evaluate(frame));
+                default     : return frame -> false;
+            }
+        }
+        else if (type == tokenType.BOOLEAN)
+        {
+            BooleanClosure left = compileBoolean(leftComparand);
+            BooleanClosure right = compileBoolean(rightComparand);
+
+            switch (comparison.getCompType())
+            {
+                case NOT   : return frame -> !left.evaluate(frame);
+                case OR    : return frame -> left.evaluate(frame) | right.evaluate(frame);
+                case AND   : return frame -> left.evaluate(frame) & right.evaluate(frame);
+                case EQUAL : return frame -> left.evaluate(frame) == right.evaluate(frame);
+                default    : return frame -> false;
+            }
+        }
+        else throw new SyntaxErrorException("No valid boolean comparison found on line "
+                + comparison.getLineNumber() + ".");
+    }
+}
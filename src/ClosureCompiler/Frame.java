@@ -0,0 +1,40 @@
+/**
+ * Holds the slots of one running call of a function compiled by ClosureCompiler, or run by CompactInterpreter.
+ * Integers, characters and booleans share the int slots, with booleans stored as 0 or 1, reals live in the float
+ * slots and strings and arrays live in the reference slots, so no value is boxed while a function runs.
+ */
+
+package ClosureCompiler;
+
+public final class Frame
+{
+    public final int[] integers;
+
+    public final float[] reals;
+
+    public final Object[] references;
+
+    /**
+     * Creates a Frame with the incoming int, float and reference slots.
+     *
+     * @param incomingIntegers Incoming int slots.
+     * @param incomingReals Incoming float slots.
+     * @param incomingReferences Incoming reference slots.
+     */
+    public Frame(int[] incomingIntegers, float[] incomingReals, Object[] incomingReferences)
+    {
+        integers = incomingIntegers;
+        reals = incomingReals;
+        references = incomingReferences;
+    }
+
+    /**
+     * Creates a Frame with the incoming number of empty slots of each kind.
+     *
+     * @param size Incoming number of slots.
+     */
+    public Frame(int size)
+    {
+        this(new int[size], new float[size], new Object[size]);
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Describes one user defined Kakuzaki function compiled by ClosureCompiler into a StatementClosure,
+ * along with the values its slots start with in every call.
+ */
+
+package ClosureCompiler;
+
+import Interpreter.InterpreterDataTypes.ArrayDataType;
+
+final class FunctionClosure
+{
+    private final int[] initialIntegers, parameterSlots, arraySlots;
+
+    private final float[] initialReals;
+
+    private final Object[] initialReferences;
+
+    private StatementClosure body;
+
+    /**
+     * Creates a FunctionClosure whose slots start with the incoming ints, floats and references, and whose parameters
+     * are held in the incoming slots. Its body is set once it is compiled.
+     *
+     * @param incomingInitialIntegers Incoming values each int slot starts with.
+     * @param incomingInitialReals Incoming values each float slot starts with.
+     * @param incomingInitialReferences Incoming values each reference slot starts with.
+     * @param incomingParameterSlots Incoming slots of each parameter.
+     */
+    FunctionClosure(int[] incomingInitialIntegers, float[] incomingInitialReals, Object[] incomingInitialReferences,
+                    int[] incomingParameterSlots)
+    {
+        initialIntegers = incomingInitialIntegers;
+        initialReals = incomingInitialReals;
+        initialReferences = incomingInitialReferences;
+        parameterSlots = incomingParameterSlots;
+
+        int arrayCount = 0;
+
+        for (int i = 0; i < initialReferences.length; i++)
+        {
+            if (initialReferences[i] instanceof ArrayDataType)
+            {
+                arrayCount++;
+            }
+        }
+
+        arraySlots = new int[arrayCount];
+
+        for (int i = 0, j = 0; i < initialReferences.length; i++)
+        {
+            if (initialReferences[i] instanceof ArrayDataType)
+            {
+                arraySlots[j++] = i;
+            }
+        }
+    }
+
+    /**
+     * Returns the StatementClosure running this function's statements.
+     *
+     * @return Body of this function.
+     */
+    StatementClosure getBody()
+    {
+        return body;
+    }
+
+    /**
+     * Sets the StatementClosure running this function's statements to the incoming StatementClosure.
+     *
+     * @param incomingBody Incoming StatementClosure.
+     */
+    void setBody(StatementClosure incomingBody)
+    {
+        body = incomingBody;
+    }
+
+    /**
+     * Returns the slot each parameter is held in.
+     *
+     * @return Slots of each parameter.
+     */
+    int[] getParameterSlots()
+    {
+        return parameterSlots;
+    }
+
+    /**
+     * Returns a new Frame for one call of this function, with every slot holding its starting value.
+     * Arrays are copied, so no call sees the elements another call wrote.
+     *
+     * @return New Frame.
+     */
+    Frame makeFrame()
+    {
+        Object[] references = initialReferences.clone();
+
+        for (int i = 0; i < arraySlots.length; i++)
+        {
+            references[arraySlots[i]] = ((ArrayDataType)references[arraySlots[i]]).copy();
+        }
+
+        return new Frame(initialIntegers.clone(), initialReals.clone(), references);
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * An expression compiled by ClosureCompiler whose value is an integer, or a character as its char code.
+ */
+
+package ClosureCompiler;
+
+import Exceptions.SyntaxErrorException;
+
+@FunctionalInterface
+interface IntegerClosure
+{
+    /**
+     * Returns the value of this expression in the incoming Frame.
+     *
+     * @param frame Incoming Frame.
+     * @return Value of this expression.
+     * @throws SyntaxErrorException If this expression fails.
+     */
+    int evaluate(Frame frame) throws SyntaxErrorException;
+}
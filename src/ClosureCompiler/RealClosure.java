@@ -0,0 +1,20 @@
+/**
+ * An expression compiled by ClosureCompiler whose value is a real.
+ */
+
+package ClosureCompiler;
+
+import Exceptions.SyntaxErrorException;
+
+@FunctionalInterface
+interface RealClosure
+{
+    /**
+     * Returns the value of this expression in the incoming Frame.
+     *
+     * @param frame Incoming Frame.
+     * @return Value of this expression.
+     * @throws SyntaxErrorException If this expression fails.
+     */
+    float evaluate(Frame frame) throws SyntaxErrorException;
+}
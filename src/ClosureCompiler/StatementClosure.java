@@ -0,0 +1,19 @@
+/**
+ * A statement, or a block of statements, compiled by ClosureCompiler.
+ */
+
+package ClosureCompiler;
+
+import Exceptions.SyntaxErrorException;
+
+@FunctionalInterface
+interface StatementClosure
+{
+    /**
+     * Runs this statement in the incoming Frame.
+     *
+     * @param frame Incoming Frame.
+     * @throws SyntaxErrorException If this statement fails.
+     */
+    void execute(Frame frame) throws SyntaxErrorException;
+}
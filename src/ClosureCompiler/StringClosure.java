@@ -0,0 +1,20 @@
+/**
+ * An expression compiled by ClosureCompiler whose value is a string.
+ */
+
+package ClosureCompiler;
+
+import Exceptions.SyntaxErrorException;
+
+@FunctionalInterface
+interface StringClosure
+{
+    /**
+     * Returns the value of this expression in the incoming Frame.
+     *
+     * @param frame Incoming Frame.
+     * @return Value of this expression.
+     * @throws SyntaxErrorException If this expression fails.
+     */
+    String evaluate(Frame frame) throws SyntaxErrorException;
+}
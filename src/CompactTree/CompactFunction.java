@@ -0,0 +1,542 @@
+/**
+ * Holds the statements of one checked user defined function as a compact AST: every node is an index into a few flat
+ * int arrays instead of an object of its own, so a function of any size is a handful of arrays walked in order.
+ * For each node, the kind array packs its NodeKind, static type and operation, the operand array holds its literal
+ * value, slot or call index, and the child offset array points at its children, which sit side by side in the
+ * children array, statement lists being stored there as their length followed by their statements. Line numbers
+ * are kept in a line table of runs, since nodes are numbered in the order they are read and neighbours mostly share
+ * a line. The function's parameters and variables are few, so they stay the VariableNodes of its FunctionNode.
+ * The accessors below read one field of one node, and accept() hands a node to a CompactTreeVisitor by its kind.
+ */
+
+package CompactTree;
+
+import java.util.ArrayList;
+
+import CrossStageTools.SymbolTable;
+import CrossStageTools.tokenType;
+import CrossStageTools.Nodes.FunctionNode;
+import CrossStageTools.Nodes.VariableNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.BooleanCompareNode.comparisonType;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.MathOpNode.operationType;
+import Exceptions.SyntaxErrorException;
+
+public class CompactFunction
+{
+    private static final tokenType[] TYPES = tokenType.values();
+
+    private static final operationType[] OPERATIONS = operationType.values();
+
+    private static final comparisonType[] COMPARISONS = comparisonType.values();
+
+    private final FunctionNode function;
+
+    private final SymbolTable symbolTable;
+
+    private final int[] kinds, operands, childOffsets, children;
+
+    private final String[] strings;
+
+    private final int[] lineNodes, lineNumbers;
+
+    private final int body, nodeCount, callCount;
+
+    /**
+     * Creates a CompactFunction for the incoming FunctionNode, whose names are interned in the incoming SymbolTable,
+     * from the incoming arrays filled by CompactTreeBuilder. Only the first incoming number of nodes of each node
+     * array, and of runs of each line array, are used.
+     *
+     * @param incomingFunction Incoming FunctionNode.
+     * @param incomingSymbolTable Incoming SymbolTable.
+     * @param incomingKinds Incoming kind word of each node.
+     * @param incomingOperands Incoming operand of each node.
+     * @param incomingChildOffsets Incoming offset of each node's children in incomingChildren.
+     * @param incomingChildren Incoming children of every node.
+     * @param incomingStrings Incoming strings the string literals refer to.
+     * @param incomingLineNodes Incoming first node of each run of the line table.
+     * @param incomingLineNumbers Incoming line number of each run of the line table.
+     * @param incomingBody Incoming offset of the function's statement list in incomingChildren.
+     * @param incomingNodeCount Incoming number of nodes.
+     * @param incomingCallCount Incoming number of function calls.
+     */
+    CompactFunction(FunctionNode incomingFunction, SymbolTable incomingSymbolTable, int[] incomingKinds,
+                    int[] incomingOperands, int[] incomingChildOffsets, int[] incomingChildren,
+                    String[] incomingStrings, int[] incomingLineNodes, int[] incomingLineNumbers, int incomingBody,
+                    int incomingNodeCount, int incomingCallCount)
+    {
+        function = incomingFunction;
+        symbolTable = incomingSymbolTable;
+        kinds = incomingKinds;
+        operands = incomingOperands;
+        childOffsets = incomingChildOffsets;
+        children = incomingChildren;
+        strings = incomingStrings;
+        lineNodes = incomingLineNodes;
+        lineNumbers = incomingLineNumbers;
+        body = incomingBody;
+        nodeCount = incomingNodeCount;
+        callCount = incomingCallCount;
+    }
+
+    /**
+     * Returns the FunctionNode this CompactFunction was built from.
+     *
+     * @return FunctionNode of this CompactFunction.
+     */
+    public FunctionNode getFunction()
+    {
+        return function;
+    }
+
+    /**
+     * Returns the name of this CompactFunction.
+     *
+     * @return Name of this CompactFunction.
+     */
+    public String getName()
+    {
+        return function.getName();
+    }
+
+    /**
+     * Returns the parameters of this CompactFunction.
+     *
+     * @return VariableNode ArrayList of parameters.
+     */
+    public ArrayList<VariableNode> getParameterList()
+    {
+        return function.getParameterList();
+    }
+
+    /**
+     * Returns the variables and constants of this CompactFunction.
+     *
+     * @return VariableNode ArrayList of variables and constants.
+     */
+    public ArrayList<VariableNode> getVariableList()
+    {
+        return function.getVariableList();
+    }
+
+    /**
+     * Returns the number of slots a frame of this CompactFunction needs.
+     *
+     * @return Frame size of this CompactFunction.
+     */
+    public int getFrameSize()
+    {
+        return function.getFrameSize();
+    }
+
+    /**
+     * Returns the number of nodes in this CompactFunction.
+     *
+     * @return Number of nodes.
+     */
+    public int getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the number of function calls in this CompactFunction, each numbered by its call index.
+     *
+     * @return Number of function calls.
+     */
+    public int getCallCount()
+    {
+        return callCount;
+    }
+
+    /**
+     * Returns the statement list of this CompactFunction's body.
+     *
+     * @return Statement list of the body.
+     */
+    public int getBody()
+    {
+        return body;
+    }
+
+    /**
+     * Returns the number of statements in the incoming statement list.
+     *
+     * @param list Incoming statement list.
+     * @return Number of statements in list.
+     */
+    public int getStatementCount(int list)
+    {
+        return children[list];
+    }
+
+    /**
+     * Returns the statement at the incoming index of the incoming statement list.
+     *
+     * @param list Incoming statement list.
+     * @param index Incoming index.
+     * @return Node of the statement.
+     */
+    public int getStatement(int list, int index)
+    {
+        return children[list + 1 + index];
+    }
+
+    /**
+     * Returns the NodeKind of the incoming node.
+     *
+     * @param node Incoming node.
+     * @return NodeKind of node.
+     */
+    public int getKind(int node)
+    {
+        return kinds[node] & NodeKind.KIND_MASK;
+    }
+
+    /**
+     * Returns the static type of the incoming node, found by the TypeChecker.
+     *
+     * @param node Incoming node.
+     * @return Static type of node, null if it has none.
+     */
+    public tokenType getStaticType(int node)
+    {
+        int type = (kinds[node] >>> NodeKind.TYPE_SHIFT) & 0xFF;
+
+        return type == 0 ? null : TYPES[type - 1];
+    }
+
+    /**
+     * Returns the operation of the incoming MATH_OP node.
+     *
+     * @param node Incoming node.
+     * @return Operation of node.
+     */
+    public operationType getOperation(int node)
+    {
+        return OPERATIONS[kinds[node] >>> NodeKind.DETAIL_SHIFT];
+    }
+
+    /**
+     * Returns the comparison of the incoming BOOLEAN_COMPARE node.
+     *
+     * @param node Incoming node.
+     * @return Comparison of node.
+     */
+    public comparisonType getComparison(int node)
+    {
+        return COMPARISONS[kinds[node] >>> NodeKind.DETAIL_SHIFT];
+    }
+
+    /**
+     * Checks and returns if the incoming ARGUMENT node is passed by value.
+     *
+     * @param node Incoming node.
+     * @return True if node is passed by value, false if it is passed by reference.
+     */
+    public boolean isConstantArgument(int node)
+    {
+        return kinds[node] >>> NodeKind.DETAIL_SHIFT != 0;
+    }
+
+    /**
+     * Returns the value of the incoming INTEGER node.
+     *
+     * @param node Incoming node.
+     * @return Value of node.
+     */
+    public int getInteger(int node)
+    {
+        return operands[node];
+    }
+
+    /**
+     * Returns the value of the incoming REAL node.
+     *
+     * @param node Incoming node.
+     * @return Value of node.
+     */
+    public float getReal(int node)
+    {
+        return Float.intBitsToFloat(operands[node]);
+    }
+
+    /**
+     * Returns the value of the incoming STRING node.
+     *
+     * @param node Incoming node.
+     * @return Value of node.
+     */
+    public String getString(int node)
+    {
+        return strings[operands[node]];
+    }
+
+    /**
+     * Returns the value of the incoming CHARACTER node.
+     *
+     * @param node Incoming node.
+     * @return Value of node.
+     */
+    public char getCharacter(int node)
+    {
+        return (char)operands[node];
+    }
+
+    /**
+     * Returns the value of the incoming BOOLEAN node.
+     *
+     * @param node Incoming node.
+     * @return Value of node.
+     */
+    public boolean getBoolean(int node)
+    {
+        return operands[node] != 0;
+    }
+
+    /**
+     * Returns the slot of the variable the incoming VARIABLE_REFERENCE node refers to.
+     *
+     * @param node Incoming node.
+     * @return Slot of node.
+     */
+    public int getSlot(int node)
+    {
+        return operands[node];
+    }
+
+    /**
+     * Returns the call index of the incoming FUNCTION_CALL node, from 0 to one less than getCallCount().
+     *
+     * @param node Incoming node.
+     * @return Call index of node.
+     */
+    public int getCallIndex(int node)
+    {
+        return operands[node];
+    }
+
+    /**
+     * Returns the symbol of the name the incoming VARIABLE_REFERENCE or FUNCTION_CALL node refers to.
+     *
+     * @param node Incoming node.
+     * @return Symbol of node's name.
+     */
+    public int getSymbol(int node)
+    {
+        return children[childOffsets[node]];
+    }
+
+    /**
+     * Returns the name the incoming VARIABLE_REFERENCE or FUNCTION_CALL node refers to.
+     *
+     * @param node Incoming node.
+     * @return Name of node.
+     */
+    public String getName(int node)
+    {
+        return symbolTable.getName(getSymbol(node));
+    }
+
+    /**
+     * Returns the index expression of the incoming VARIABLE_REFERENCE node.
+     *
+     * @param node Incoming node.
+     * @return Index expression of node, NodeKind.NONE if it is not indexed.
+     */
+    public int getArrayExpression(int node)
+    {
+        return children[childOffsets[node] + 1];
+    }
+
+    /**
+     * Returns the left operand of the incoming MATH_OP or BOOLEAN_COMPARE node, or the target of the incoming
+     * ASSIGNMENT node.
+     *
+     * @param node Incoming node.
+     * @return Left child of node.
+     */
+    public int getLeft(int node)
+    {
+        return children[childOffsets[node]];
+    }
+
+    /**
+     * Returns the right operand of the incoming MATH_OP or BOOLEAN_COMPARE node, or the value of the incoming
+     * ASSIGNMENT node.
+     *
+     * @param node Incoming node.
+     * @return Right child of node.
+     */
+    public int getRight(int node)
+    {
+        return children[childOffsets[node] + 1];
+    }
+
+    /**
+     * Returns the value passed by the incoming ARGUMENT node: an expression if it is passed by value, otherwise a
+     * VARIABLE_REFERENCE node.
+     *
+     * @param node Incoming node.
+     * @return Value of node.
+     */
+    public int getArgumentValue(int node)
+    {
+        return children[childOffsets[node]];
+    }
+
+    /**
+     * Returns the number of arguments of the incoming FUNCTION_CALL node.
+     *
+     * @param node Incoming node.
+     * @return Number of arguments of node.
+     */
+    public int getArgumentCount(int node)
+    {
+        return children[childOffsets[node] + 1];
+    }
+
+    /**
+     * Returns the ARGUMENT node at the incoming index of the incoming FUNCTION_CALL node.
+     *
+     * @param node Incoming node.
+     * @param index Incoming index.
+     * @return ARGUMENT node at index.
+     */
+    public int getArgument(int node, int index)
+    {
+        return children[childOffsets[node] + 2 + index];
+    }
+
+    /**
+     * Returns the conditional of the incoming IF, WHILE or REPEAT node.
+     *
+     * @param node Incoming node.
+     * @return BOOLEAN_COMPARE node, NodeKind.NONE for an else.
+     */
+    public int getConditional(int node)
+    {
+        return children[childOffsets[node]];
+    }
+
+    /**
+     * Returns the IF node chained after the incoming IF node.
+     *
+     * @param node Incoming node.
+     * @return Next IF node, NodeKind.NONE if there is none.
+     */
+    public int getNext(int node)
+    {
+        return children[childOffsets[node] + 1];
+    }
+
+    /**
+     * Returns the iterator of the incoming FOR node.
+     *
+     * @param node Incoming node.
+     * @return VARIABLE_REFERENCE node of the iterator.
+     */
+    public int getIterator(int node)
+    {
+        return children[childOffsets[node]];
+    }
+
+    /**
+     * Returns the expression the incoming FOR node counts from.
+     *
+     * @param node Incoming node.
+     * @return Expression counted from.
+     */
+    public int getFrom(int node)
+    {
+        return children[childOffsets[node] + 1];
+    }
+
+    /**
+     * Returns the expression the incoming FOR node counts to.
+     *
+     * @param node Incoming node.
+     * @return Expression counted to.
+     */
+    public int getTo(int node)
+    {
+        return children[childOffsets[node] + 2];
+    }
+
+    /**
+     * Returns the statement list of the incoming IF, WHILE, REPEAT or FOR node.
+     *
+     * @param node Incoming node.
+     * @return Statement list of node.
+     */
+    public int getStatements(int node)
+    {
+        switch (getKind(node))
+        {
+            case NodeKind.IF  : return childOffsets[node] + 2;
+            case NodeKind.FOR : return childOffsets[node] + 3;
+            default           : return childOffsets[node] + 1;
+        }
+    }
+
+    /**
+     * Returns the line number of the incoming node, found in the line table.
+     *
+     * @param node Incoming node.
+     * @return Line number of node.
+     */
+    public int getLineNumber(int node)
+    {
+        int low = 0, high = lineNodes.length - 1;
+
+        while (low < high)
+        {
+            int middle = (low + high + 1) / 2;
+
+            if (lineNodes[middle] <= node)
+            {
+                low = middle;
+            }
+            else high = middle - 1;
+        }
+
+        return lineNumbers[low];
+    }
+
+    /**
+     * Hands the incoming node to the method of the incoming CompactTreeVisitor for its kind, and returns what that
+     * method returns.
+     *
+     * @param node Incoming node.
+     * @param visitor Incoming CompactTreeVisitor.
+     * @param <R> Type returned by visitor.
+     * @return What visitor returned for node.
+     * @throws SyntaxErrorException If visitor fails on node.
+     */
+    public <R> R accept(int node, CompactTreeVisitor<R> visitor) throws SyntaxErrorException
+    {
+        switch (getKind(node))
+        {
+            case NodeKind.INTEGER            : return visitor.visitInteger(this, node);
+            case NodeKind.REAL               : return visitor.visitReal(this, node);
+            case NodeKind.STRING             : return visitor.visitString(this, node);
+            case NodeKind.CHARACTER          : return visitor.visitCharacter(this, node);
+            case NodeKind.BOOLEAN            : return visitor.visitBoolean(this, node);
+            case NodeKind.VARIABLE_REFERENCE : return visitor.visitVariableReference(this, node);
+            case NodeKind.MATH_OP            : return visitor.visitMathOp(this, node);
+            case NodeKind.BOOLEAN_COMPARE    : return visitor.visitBooleanCompare(this, node);
+            case NodeKind.ARGUMENT           : return visitor.visitArgument(this, node);
+            case NodeKind.FUNCTION_CALL      : return visitor.visitFunctionCall(this, node);
+            case NodeKind.ASSIGNMENT         : return visitor.visitAssignment(this, node);
+            case NodeKind.IF                 : return visitor.visitIf(this, node);
+            case NodeKind.WHILE              : return visitor.visitWhile(this, node);
+            case NodeKind.REPEAT             : return visitor.visitRepeat(this, node);
+            default                          : return visitor.visitFor(this, node);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return new CompactTreePrinter().print(this);
+    }
+}
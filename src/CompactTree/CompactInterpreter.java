@@ -0,0 +1,720 @@
+/**
+ * Runs a program by walking the compact AST of each function, as an alternative to walking the tree of node objects
+ * with Interpreter. Each function is built into a CompactFunction the first time it is called, and every statement
+ * and expression is then read from its flat arrays, dispatching on its NodeKind and the static type the TypeChecker
+ * found for it, so the program must be type checked before it runs.
+ * Values live unboxed in the int, float and reference slots of a Frame, as they do for ClosureCompiler, and calls
+ * go through the same CallSites as VirtualMachine, so all engines agree on how arguments are passed.
+ * Once a function is built, its FunctionNode lets go of its statements, so the compact AST replaces the object tree
+ * of every function that runs instead of being held next to it, and the program cannot be run by another engine
+ * afterwards. That smaller heap is what this engine is for, not speed: on the loop heavy programs of EngineBenchmark
+ * it takes up to about twice as long as Interpreter. Its evaluate methods handle every kind of node in one
+ * recursive method each, which the JVM cannot inline into itself the way it inlines the small per node paths of the
+ * object tree, and decoding each node's fields once up front was measured not to change that.
+ */
+
+package CompactTree;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import ClosureCompiler.Frame;
+import CrossStageTools.Nodes.FunctionNode;
+import CrossStageTools.Nodes.ProgramNode;
+import CrossStageTools.Nodes.VariableNode;
+import CrossStageTools.tokenType;
+import Exceptions.SyntaxErrorException;
+import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
+import Interpreter.InterpreterDataTypes.ArrayDataType;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+import VirtualMachine.BytecodeCompiler;
+import VirtualMachine.CallSite;
+import VirtualMachine.VirtualMachine;
+
+public class CompactInterpreter
+{
+    private final ProgramNode program;
+
+    private final CompactTreeBuilder builder;
+
+    private final HashMap<FunctionNode, PreparedFunction> preparedFunctions;
+
+    /**
+     * Creates a CompactInterpreter with the incoming ProgramNode as the program already resolved and type checked.
+     *
+     * @param checkedProgram Incoming ProgramNode.
+     */
+    public CompactInterpreter(ProgramNode checkedProgram)
+    {
+        program = checkedProgram;
+        builder = new CompactTreeBuilder(program);
+        preparedFunctions = new HashMap<>();
+    }
+
+    /**
+     * Runs the function called "start" as the Kakuzaki program's entry point.
+     *
+     * @throws SyntaxErrorException If there is any error during running.
+     */
+    public void run() throws SyntaxErrorException
+    {
+        PreparedFunction start = getPreparedFunction(program.getFunctionMap().get("start"));
+
+        executeStatements(start, start.getTree().getBody(), start.makeFrame());
+    }
+
+    /**
+     * Returns the PreparedFunction for the incoming FunctionNode, preparing it if this is its first use.
+     *
+     * @param function Incoming FunctionNode.
+     * @return PreparedFunction for function.
+     */
+    private PreparedFunction getPreparedFunction(FunctionNode function)
+    {
+        PreparedFunction prepared = preparedFunctions.get(function);
+
+        if (prepared == null)
+        {
+            prepared = prepare(function);
+            preparedFunctions.put(function, prepared);
+        }
+
+        return prepared;
+    }
+
+    /**
+     * Builds the CompactFunction of the incoming FunctionNode, finds the values its slots start with and creates a
+     * CallSite for each of its calls, then releases the FunctionNode's statements, which the CompactFunction replaces.
+     *
+     * @param function Incoming FunctionNode.
+     * @return PreparedFunction for function.
+     */
+    private PreparedFunction prepare(FunctionNode function)
+    {
+        CompactFunction tree = builder.build(function);
+        ArrayList<VariableNode> parameters = function.getParameterList();
+        ArrayList<VariableNode> variables = function.getVariableList();
+        int frameSize = function.getFrameSize();
+
+        int[] initialIntegers = new int[frameSize];
+        float[] initialReals = new float[frameSize];
+        Object[] initialReferences = new Object[frameSize];
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            VariableNode variable = variables.get(i);
+            int slot = variable.getSlot();
+
+            if (BytecodeCompiler.isReference(variable.getType()))
+            {
+                initialReferences[slot] = BytecodeCompiler.makeInitialReference(variable);
+            }
+            else if (variable.getType() == tokenType.REAL)
+            {
+                initialReals[slot] = Float.intBitsToFloat(BytecodeCompiler.makeInitialValue(variable));
+            }
+            else initialIntegers[slot] = BytecodeCompiler.makeInitialValue(variable);
+        }
+
+        int[] parameterSlots = new int[parameters.size()];
+
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            parameterSlots[i] = parameters.get(i).getSlot();
+        }
+
+        CallSite[] callSites = new CallSite[tree.getCallCount()];
+
+        for (int node = 0; node < tree.getNodeCount(); node++)
+        {
+            if (tree.getKind(node) == NodeKind.FUNCTION_CALL)
+            {
+                callSites[tree.getCallIndex(node)] = makeCallSite(tree, node);
+            }
+        }
+
+        function.releaseStatementList();
+
+        return new PreparedFunction(tree, initialIntegers, initialReals, initialReferences, parameterSlots, callSites);
+    }
+
+    /**
+     * Returns a CallSite for the incoming FUNCTION_CALL node of the incoming CompactFunction, recording the slot of
+     * each var argument so the parameter can be copied back into it.
+     *
+     * @param tree Incoming CompactFunction.
+     * @param call Incoming node.
+     * @return CallSite of call.
+     */
+    private static CallSite makeCallSite(CompactFunction tree, int call)
+    {
+        int[] argumentSlots = new int[tree.getArgumentCount(call)];
+        tokenType[] argumentTypes = new tokenType[argumentSlots.length];
+
+        for (int i = 0; i < argumentSlots.length; i++)
+        {
+            int argument = tree.getArgument(call, i);
+            int value = tree.getArgumentValue(argument);
+
+            argumentSlots[i] = tree.isConstantArgument(argument) ? -1 : tree.getSlot(value);
+            argumentTypes[i] = tree.getStaticType(value);
+        }
+
+        return new CallSite(tree.getName(call), argumentSlots, argumentTypes, tree.getLineNumber(call));
+    }
+
+    /**
+     * Runs each statement of the incoming statement list of the incoming PreparedFunction in the incoming Frame.
+     *
+     * @param function Incoming PreparedFunction.
+     * @param list Incoming statement list.
+     * @param frame Incoming Frame.
+     * @throws SyntaxErrorException If any of the statements fails.
+     */
+    private void executeStatements(PreparedFunction function, int list, Frame frame) throws SyntaxErrorException
+    {
+        CompactFunction tree = function.getTree();
+
+        for (int i = 0; i < tree.getStatementCount(list); i++)
+        {
+            executeStatement(function, tree.getStatement(list, i), frame);
+        }
+    }
+
+    /**
+     * Runs the incoming statement of the incoming PreparedFunction in the incoming Frame.
+     *
+     * @param function Incoming PreparedFunction.
+     * @param statement Incoming statement.
+     * @param frame Incoming Frame.
+     * @throws SyntaxErrorException If the statement fails.
+     */
+    private void executeStatement(PreparedFunction function, int statement, Frame frame) throws SyntaxErrorException
+    {
+        CompactFunction tree = function.getTree();
+
+        switch (tree.getKind(statement))
+        {
+            case NodeKind.IF :
+            {
+                executeIf(function, statement, frame);
+                break;
+            }
+            case NodeKind.FOR :
+            {
+                executeFor(function, statement, frame);
+                break;
+            }
+            case NodeKind.REPEAT :
+            {
+                while (!evaluateBoolean(tree, tree.getConditional(statement), frame))
+                {
+                    executeStatements(function, tree.getStatements(statement), frame);
+                }
+                break;
+            }
+            case NodeKind.WHILE :
+            {
+                while (evaluateBoolean(tree, tree.getConditional(statement), frame))
+                {
+                    executeStatements(function, tree.getStatements(statement), frame);
+                }
+                break;
+            }
+            case NodeKind.ASSIGNMENT :
+            {
+                executeAssignment(tree, statement, frame);
+                break;
+            }
+            default :
+            {
+                call(function, statement, frame);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Runs the incoming IF node of the incoming PreparedFunction in the incoming Frame: the statements of the first
+     * IF node in its chain whose conditional holds, or which is an else.
+     *
+     * @param function Incoming PreparedFunction.
+     * @param statement Incoming IF node.
+     * @param frame Incoming Frame.
+     * @throws SyntaxErrorException If a conditional or statement fails.
+     */
+    private void executeIf(PreparedFunction function, int statement, Frame frame) throws SyntaxErrorException
+    {
+        CompactFunction tree = function.getTree();
+
+        for (int ifBlock = statement; ifBlock != NodeKind.NONE; ifBlock = tree.getNext(ifBlock))
+        {
+            int conditional = tree.getConditional(ifBlock);
+
+            if (conditional == NodeKind.NONE || evaluateBoolean(tree, conditional, frame))
+            {
+                executeStatements(function, tree.getStatements(ifBlock), frame);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs the incoming FOR node of the incoming PreparedFunction in the incoming Frame. Like the Interpreter, the
+     * number of iterations is fixed when the loop starts, so the loop counts in a local of its own even if its
+     * statements assign to the iterator.
+     *
+     * @param function Incoming PreparedFunction.
+     * @param statement Incoming FOR node.
+     * @param frame Incoming Frame.
+     * @throws SyntaxErrorException If a bound or statement fails.
+     */
+    private void executeFor(PreparedFunction function, int statement, Frame frame) throws SyntaxErrorException
+    {
+        CompactFunction tree = function.getTree();
+        int iteratorSlot = tree.getSlot(tree.getIterator(statement));
+        int statements = tree.getStatements(statement);
+        int[] integers = frame.integers;
+
+        integers[iteratorSlot] = evaluateInteger(tree, tree.getFrom(statement), frame);
+
+        int cap = evaluateInteger(tree, tree.getTo(statement), frame);
+
+        for (int count = integers[iteratorSlot]; count <= cap; count++)
+        {
+            executeStatements(function, statements, frame);
+            integers[iteratorSlot]++;
+        }
+    }
+
+    /**
+     * Runs the incoming ASSIGNMENT node of the incoming CompactFunction in the incoming Frame, storing its value in
+     * the slot of its target, or in the element of the array its target indexes.
+     *
+     * @param tree Incoming CompactFunction.
+     * @param statement Incoming ASSIGNMENT node.
+     * @param frame Incoming Frame.
+     * @throws SyntaxErrorException If the value or index fails, or the index is out of the array's bounds.
+     */
+    private void executeAssignment(CompactFunction tree, int statement, Frame frame) throws SyntaxErrorException
+    {
+        int target = tree.getLeft(statement), value = tree.getRight(statement);
+        int slot = tree.getSlot(target), index = tree.getArrayExpression(target);
+
+        if (index != NodeKind.NONE)
+        {
+            ArrayDataType array = (ArrayDataType)frame.references[slot];
+            int position = evaluateInteger(tree, index, frame);
+
+            switch (tree.getStaticType(value))
+            {
+                case REAL      : array.setReal(position, evaluateReal(tree, value, frame)); break;
+                case BOOLEAN   : array.setBoolean(position, evaluateBoolean(tree, value, frame)); break;
+                case STRING    : array.setString(position, evaluateString(tree, value, frame)); break;
+                case CHARACTER : array.setCharacter(position, (char)evaluateInteger(tree, value, frame)); break;
+                default        : array.setInteger(position, evaluateInteger(tree, value, frame)); break;
+            }
+            return;
+        }
+
+        switch (tree.getStaticType(value))
+        {
+            case REAL    : frame.reals[slot] = evaluateReal(tree, value, frame); break;
+            case BOOLEAN : frame.integers[slot] = evaluateBoolean(tree, value, frame) ? 1 : 0; break;
+            case STRING  : frame.references[slot] = evaluateString(tree, value, frame); break;
+            default      : frame.integers[slot] = evaluateInteger(tree, value, frame); break;
+        }
+    }
+
+    /**
+     * Runs the incoming FUNCTION_CALL node of the incoming PreparedFunction in the incoming Frame, then copies
+     * changeable parameters back into the caller's slot for each var argument. The function called is looked up
+     * and checked the first time the call runs. An array that is not a var argument is copied before a user defined
+     * function receives it.
+     *
+     * @param function Incoming PreparedFunction.
+     * @param statement Incoming FUNCTION_CALL node.
+     * @param frame Incoming Frame of the caller.
+     * @throws SyntaxErrorException If the called function does not exist, is given the wrong arguments
+     *                              or fails while running.
+     */
+    private void call(PreparedFunction function, int statement, Frame frame) throws SyntaxErrorException
+    {
+        CompactFunction tree = function.getTree();
+        CallSite site = function.getCallSite(tree.getCallIndex(statement));
+
+        if (site.getTarget() == null)
+        {
+            bind(site);
+        }
+
+        int[] copyBackSlots = site.getCopyBackSlots();
+        tokenType[] argumentTypes = site.getArgumentTypes();
+
+        if (site.getTarget() instanceof PreparedFunction)
+        {
+            PreparedFunction callee = (PreparedFunction)site.getTarget();
+            Frame calleeFrame = callee.makeFrame();
+            int[] parameterSlots = callee.getParameterSlots();
+
+            for (int i = 0; i < argumentTypes.length; i++)
+            {
+                pass(tree, tree.getArgumentValue(tree.getArgument(statement, i)), argumentTypes[i], frame,
+                     calleeFrame, parameterSlots[i]);
+
+                if (argumentTypes[i] == tokenType.ARRAY)
+                {
+                    calleeFrame.references[parameterSlots[i]] =
+                            VirtualMachine.passReference(calleeFrame.references[parameterSlots[i]], copyBackSlots[i]);
+                }
+            }
+
+            executeStatements(callee, callee.getTree().getBody(), calleeFrame);
+
+            for (int i = 0; i < argumentTypes.length; i++)
+            {
+                if (copyBackSlots[i] != -1)
+                {
+                    copySlot(calleeFrame, parameterSlots[i], frame, copyBackSlots[i], argumentTypes[i]);
+                }
+            }
+        }
+        else
+        {
+            Frame values = new Frame(argumentTypes.length);
+            ArrayList<InterpreterDataType> builtInArguments = new ArrayList<>();
+
+            for (int i = 0; i < argumentTypes.length; i++)
+            {
+                pass(tree, tree.getArgumentValue(tree.getArgument(statement, i)), argumentTypes[i], frame, values, i);
+
+                int value = argumentTypes[i] == tokenType.REAL ? Float.floatToRawIntBits(values.reals[i])
+                                                               : values.integers[i];
+
+                builtInArguments.add(VirtualMachine.makeInterpreterDataType(argumentTypes[i], value,
+                                                                            values.references[i],
+                                                                            site.getLineNumber(),
+                                                                            copyBackSlots[i] != -1));
+            }
+
+            ((BuiltInFunctionNode)site.getTarget()).execute(builtInArguments);
+
+            for (int i = 0; i < argumentTypes.length; i++)
+            {
+                if (copyBackSlots[i] == -1)
+                {
+                    continue;
+                }
+                if (BytecodeCompiler.isReference(argumentTypes[i]))
+                {
+                    frame.references[copyBackSlots[i]] = VirtualMachine.getReference(builtInArguments.get(i));
+                }
+                else if (argumentTypes[i] == tokenType.REAL)
+                {
+                    frame.reals[copyBackSlots[i]] = Float.intBitsToFloat(
+                            VirtualMachine.getValue(builtInArguments.get(i)));
+                }
+                else frame.integers[copyBackSlots[i]] = VirtualMachine.getValue(builtInArguments.get(i));
+            }
+        }
+    }
+
+    /**
+     * Looks up the function called by the incoming CallSite, checks its arguments and binds the CallSite to it.
+     *
+     * @param site Incoming CallSite.
+     * @throws SyntaxErrorException If the function does not exist or is given the wrong arguments.
+     */
+    private void bind(CallSite site) throws SyntaxErrorException
+    {
+        FunctionNode function = program.getFunctionMap().get(site.getName());
+        int[] copyBackSlots = VirtualMachine.checkCall(function, site);
+
+        if (function instanceof BuiltInFunctionNode)
+        {
+            site.bind(function, copyBackSlots);
+        }
+        else site.bind(getPreparedFunction(function), copyBackSlots);
+    }
+
+    /**
+     * Evaluates the incoming expression of the incoming CompactFunction, of the incoming tokenType, in the former
+     * incoming Frame and stores its value in the incoming slot of the latter incoming Frame. An array expression
+     * must be a reference to the whole array, which is passed as it is.
+     *
+     * @param tree Incoming CompactFunction.
+     * @param value Incoming expression.
+     * @param type Incoming tokenType.
+     * @param from Former incoming Frame.
+     * @param to Latter incoming Frame.
+     * @param slot Incoming slot of to.
+     * @throws SyntaxErrorException If the expression fails.
+     */
+    private void pass(CompactFunction tree, int value, tokenType type, Frame from, Frame to, int slot)
+            throws SyntaxErrorException
+    {
+        switch (type)
+        {
+            case REAL    : to.reals[slot] = evaluateReal(tree, value, from); break;
+            case BOOLEAN : to.integers[slot] = evaluateBoolean(tree, value, from) ? 1 : 0; break;
+            case STRING  : to.references[slot] = evaluateString(tree, value, from); break;
+            case ARRAY   : to.references[slot] = from.references[tree.getSlot(value)]; break;
+            default      : to.integers[slot] = evaluateInteger(tree, value, from); break;
+        }
+    }
+
+    /**
+     * Copies the value of the incoming tokenType in the incoming slot of the former incoming Frame into the incoming
+     * slot of the latter incoming Frame.
+     *
+     * @param from Former incoming Frame.
+     * @param fromSlot Incoming slot of from.
+     * @param to Latter incoming Frame.
+     * @param toSlot Incoming slot of to.
+     * @param type Incoming tokenType.
+     */
+    private static void copySlot(Frame from, int fromSlot, Frame to, int toSlot, tokenType type)
+    {
+        if (BytecodeCompiler.isReference(type))
+        {
+            to.references[toSlot] = from.references[fromSlot];
+        }
+        else if (type == tokenType.REAL)
+        {
+            to.reals[toSlot] = from.reals[fromSlot];
+        }
+        else to.integers[toSlot] = from.integers[fromSlot];
+    }
+
+    /**
+     * Returns the value of the incoming expression of the incoming CompactFunction in the incoming Frame, whose type
+     * must be INTEGER or CHARACTER.
+     *
+     * @param tree Incoming CompactFunction.
+     * @param node Incoming expression.
+     * @param frame Incoming Frame.
+     * @return Value of node, a character as its char code.
+     * @throws SyntaxErrorException If node is not a valid integer expression or indexes out of an array's bounds.
+     */
+    private int evaluateInteger(CompactFunction tree, int node, Frame frame) throws SyntaxErrorException
+    {
+        switch (tree.getKind(node))
+        {
+            case NodeKind.VARIABLE_REFERENCE :
+            {
+                int index = tree.getArrayExpression(node);
+
+                if (index == NodeKind.NONE)
+                {
+                    return frame.integers[tree.getSlot(node)];
+                }
+
+                ArrayDataType array = (ArrayDataType)frame.references[tree.getSlot(node)];
+
+                if (tree.getStaticType(node) == tokenType.CHARACTER)
+                {
+                    return array.getCharacter(evaluateInteger(tree, index, frame));
+                }
+
+                return array.getInteger(evaluateInteger(tree, index, frame));
+            }
+            case NodeKind.INTEGER   : return tree.getInteger(node);
+            case NodeKind.CHARACTER : return tree.getCharacter(node);
+            case NodeKind.MATH_OP :
+            {
+                int left = evaluateInteger(tree, tree.getLeft(node), frame);
+                int right = evaluateInteger(tree, tree.getRight(node), frame);
+
+                switch (tree.getOperation(node))
+                {
+                    case ADD  : return left + right;
+                    case SUB  : return left - right;
+                    case MULT : return left * right;
+                    case DIV  : return left / right;
+                    default   : return left % right;
+                }
+            }
+            default : throw new SyntaxErrorException("No valid expression on line " + tree.getLineNumber(node) + ".");
+        }
+    }
+
+    /**
+     * Returns the value of the incoming expression of the incoming CompactFunction in the incoming Frame, whose type
+     * must be REAL.
+     *
+     * @param tree Incoming CompactFunction.
+     * @param node Incoming expression.
+     * @param frame Incoming Frame.
+     * @return Value of node.
+     * @throws SyntaxErrorException If node is not a valid real expression or indexes out of an array's bounds.
+     */
+    private float evaluateReal(CompactFunction tree, int node, Frame frame) throws SyntaxErrorException
+    {
+        switch (tree.getKind(node))
+        {
+            case NodeKind.VARIABLE_REFERENCE :
+            {
+                int index = tree.getArrayExpression(node);
+
+                if (index == NodeKind.NONE)
+                {
+                    return frame.reals[tree.getSlot(node)];
+                }
+
+                return ((ArrayDataType)frame.references[tree.getSlot(node)]).getReal(evaluateInteger(tree, index,
+                                                                                                      frame));
+            }
+            case NodeKind.REAL : return tree.getReal(node);
+            case NodeKind.MATH_OP :
+            {
+                float left = evaluateReal(tree, tree.getLeft(node), frame);
+                float right = evaluateReal(tree, tree.getRight(node), frame);
+
+                switch (tree.getOperation(node))
+                {
+                    case ADD  : return left + right;
+                    case SUB  : return left - right;
+                    case MULT : return left * right;
+                    case DIV  : return left / right;
+                    default   : return left % right;
+                }
+            }
+            default : throw new SyntaxErrorException("No valid expression on line " + tree.getLineNumber(node) + ".");
+        }
+    }
+
+    /**
+     * Returns the value of the incoming expression of the incoming CompactFunction in the incoming Frame, whose type
+     * must be STRING.
+     *
+     * @param tree Incoming CompactFunction.
+     * @param node Incoming expression.
+     * @param frame Incoming Frame.
+     * @return Value of node.
+     * @throws SyntaxErrorException If node is not a valid string expression or indexes out of an array's bounds.
+     */
+    private String evaluateString(CompactFunction tree, int node, Frame frame) throws SyntaxErrorException
+    {
+        switch (tree.getKind(node))
+        {
+            case NodeKind.VARIABLE_REFERENCE :
+            {
+                int index = tree.getArrayExpression(node);
+
+                if (index == NodeKind.NONE)
+                {
+                    return (String)frame.references[tree.getSlot(node)];
+                }
+
+                return ((ArrayDataType)frame.references[tree.getSlot(node)]).getString(evaluateInteger(tree, index,
+                                                                                                        frame));
+            }
+            case NodeKind.STRING  : return tree.getString(node);
+            case NodeKind.MATH_OP : return evaluateString(tree, tree.getLeft(node), frame)
+                                           + evaluateString(tree, tree.getRight(node), frame);
+            default : throw new SyntaxErrorException("No valid expression on line " + tree.getLineNumber(node) + ".");
+        }
+    }
+
+    /**
+     * Returns the value of the incoming expression of the incoming CompactFunction in the incoming Frame, whose type
+     * must be BOOLEAN.
+     *
+     * @param tree Incoming CompactFunction.
+     * @param node Incoming expression.
+     * @param frame Incoming Frame.
+     * @return Value of node.
+     * @throws SyntaxErrorException If node is not a valid boolean expression or indexes out of an array's bounds.
+     */
+    private boolean evaluateBoolean(CompactFunction tree, int node, Frame frame) throws SyntaxErrorException
+    {
+        switch (tree.getKind(node))
+        {
+            case NodeKind.VARIABLE_REFERENCE :
+            {
+                int index = tree.getArrayExpression(node);
+
+                if (index == NodeKind.NONE)
+                {
+                    return frame.integers[tree.getSlot(node)] != 0;
+                }
+
+                return ((ArrayDataType)frame.references[tree.getSlot(node)]).getBoolean(evaluateInteger(tree, index,
+                                                                                                         frame));
+            }
+            case NodeKind.BOOLEAN         : return tree.getBoolean(node);
+            case NodeKind.BOOLEAN_COMPARE : return compare(tree, node, frame);
+            default : throw new SyntaxErrorException("No valid expression on line " + tree.getLineNumber(node) + ".");
+        }
+    }
+
+    /**
+     * Returns the value of the incoming BOOLEAN_COMPARE node of the incoming CompactFunction in the incoming Frame,
+     * whose comparands share a type. A comparison the Interpreter always evaluates to false for that type is false
+     * without its comparands being evaluated.
+     *
+     * @param tree Incoming CompactFunction.
+     * @param node Incoming BOOLEAN_COMPARE node.
+     * @param frame Incoming Frame.
+     * @return Value of node.
+     * @throws SyntaxErrorException If no valid comparison for the comparands' type is found, or a comparand fails.
+     */
+    private boolean compare(CompactFunction tree, int node, Frame frame) throws SyntaxErrorException
+    {
+        int left = tree.getLeft(node), right = tree.getRight(node);
+        tokenType type = tree.getStaticType(left);
+
+        if (type == tokenType.INTEGER || type == tokenType.CHARACTER)
+        {
+            switch (tree.getComparison(node))
+            {
+                case GTHAN  : return type == tokenType.INTEGER
+                                     && evaluateInteger(tree, left, frame) > evaluateInteger(tree, right, frame);
+                case LTHAN  : return type == tokenType.INTEGER
+                                     && evaluateInteger(tree, left, frame) < evaluateInteger(tree, right, frame);
+                case GETO   : return type == tokenType.INTEGER
+                                     && evaluateInteger(tree, left, frame) >= evaluateInteger(tree, right, frame);
+                case LETO   : return type == tokenType.INTEGER
+                                     && evaluateInteger(tree, left, frame) <= evaluateInteger(tree, right, frame);
+                case EQUAL  : return evaluateInteger(tree, left, frame) == evaluateInteger(tree, right, frame);
+                case NEQUAL : return evaluateInteger(tree, left, frame) != evaluateInteger(tree, right, frame);
+                default     : return false;
+            }
+        }
+        else if (type == tokenType.REAL)
+        {
+            switch (tree.getComparison(node))
+            {
+                case GTHAN  : return evaluateReal(tree, left, frame) > evaluateReal(tree, right, frame);
+                case LTHAN  : return evaluateReal(tree, left, frame) < evaluateReal(tree, right, frame);
+                case GETO   : return evaluateReal(tree, left, frame) >= evaluateReal(tree, right, frame);
+                case LETO   : return evaluateReal(tree, left, frame) <= evaluateReal(tree, right, frame);
+                case EQUAL  : return evaluateReal(tree, left, frame) == evaluateReal(tree, right, frame);
+                case NEQUAL : return evaluateReal(tree, left, frame) != evaluateReal(tree, right, frame);
+                default     : return false;
+            }
+        }
+        else if (type == tokenType.STRING)
+        {
+            switch (tree.getComparison(node))
+            {
+                case EQUAL  : return evaluateString(tree, left, frame).equals(evaluateString(tree, right, frame));
+                case NEQUAL : return !evaluateString(tree, left, frame).equals(evaluateString(tree, right, frame));
+                default     : return false;
+            }
+        }
+        else if (type == tokenType.BOOLEAN)
+        {
+            switch (tree.getComparison(node))
+            {
+                case NOT   : return !evaluateBoolean(tree, left, frame);
+                case OR    : return evaluateBoolean(tree, left, frame) | evaluateBoolean(tree, right, frame);
+                case AND   : return evaluateBoolean(tree, left, frame) & evaluateBoolean(tree, right, frame);
+                case EQUAL : return evaluateBoolean(tree, left, frame) == evaluateBoolean(tree, right, frame);
+                default    : return false;
+            }
+        }
+        else throw new SyntaxErrorException("No valid boolean comparison found on line " + tree.getLineNumber(node)
+                + ".");
+    }
+}
@@ -0,0 +1,365 @@
+/**
+ * Builds the CompactFunction of a checked user defined FunctionNode by walking its statements once and appending
+ * every node to flat arrays, which grow by doubling and are trimmed to size at the end.
+ * Nodes are numbered in the order they are reached, a parent before its children, and each node reserves room for
+ * its children in the children array before they are built, so every node's children sit side by side.
+ */
+
+package CompactTree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import CrossStageTools.SymbolTable;
+import CrossStageTools.tokenType;
+import CrossStageTools.Nodes.*;
+import CrossStageTools.Nodes.DataTypeNodes.*;
+import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.*;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.ForNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.IfNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.RepeatNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.WhileNode;
+
+public class CompactTreeBuilder
+{
+    private final SymbolTable symbolTable;
+
+    private int[] kinds, operands, childOffsets, children, lineNodes, lineNumbers;
+
+    private int nodeCount, childCount, lineCount, callCount;
+
+    private ArrayList<String> strings;
+
+    private HashMap<String, Integer> stringIndices;
+
+    /**
+     * Creates a CompactTreeBuilder for the functions of the incoming ProgramNode, which must already be resolved,
+     * folded and type checked.
+     *
+     * @param checkedProgram Incoming ProgramNode.
+     */
+    public CompactTreeBuilder(ProgramNode checkedProgram)
+    {
+        symbolTable = checkedProgram.getSymbolTable();
+    }
+
+    /**
+     * Builds and returns the CompactFunction of the incoming FunctionNode.
+     *
+     * @param function Incoming FunctionNode.
+     * @return CompactFunction of function.
+     * @throws IllegalArgumentException If function holds a node of a kind the Parser never creates.
+     */
+    public CompactFunction build(FunctionNode function)
+    {
+        ArrayList<StatementNode> statements = function.getStatementList();
+
+        kinds = new int[16];
+        operands = new int[16];
+        childOffsets = new int[16];
+        children = new int[16];
+        lineNodes = new int[16];
+        lineNumbers = new int[16];
+        nodeCount = childCount = lineCount = callCount = 0;
+
+        strings = new ArrayList<>();
+        stringIndices = new HashMap<>();
+
+        int body = reserveChildren(1 + statements.size());
+
+        addStatements(body, statements);
+
+        return new CompactFunction(function, symbolTable, Arrays.copyOf(kinds, nodeCount),
+                                   Arrays.copyOf(operands, nodeCount), Arrays.copyOf(childOffsets, nodeCount),
+                                   Arrays.copyOf(children, childCount), strings.toArray(new String[0]),
+                                   Arrays.copyOf(lineNodes, lineCount), Arrays.copyOf(lineNumbers, lineCount), body,
+                                   nodeCount, callCount);
+    }
+
+    /**
+     * Stores the incoming StatementNode ArrayList as a statement list at the incoming offset of the children array,
+     * which must already be reserved: its length, then the node of each statement.
+     *
+     * @param offset Incoming offset.
+     * @param statements Incoming StatementNode ArrayList.
+     */
+    private void addStatements(int offset, ArrayList<StatementNode> statements)
+    {
+        children[offset] = statements.size();
+
+        for (int i = 0; i < statements.size(); i++)
+        {
+            int statement = addNode(statements.get(i));
+
+            children[offset + 1 + i] = statement;
+        }
+    }
+
+    /**
+     * Appends the incoming ASTNode and every node inside it, and returns the node it became.
+     *
+     * @param node Incoming ASTNode.
+     * @return Node of the incoming ASTNode, NodeKind.NONE if it is null.
+     * @throws IllegalArgumentException If node is of a kind the Parser never creates.
+     */
+    private int addNode(ASTNode node)
+    {
+        if (node == null)
+        {
+            return NodeKind.NONE;
+        }
+
+        int kind = getNodeKind(node);
+        int index = newNode(kind, node.getStaticType(), node.getLineNumber());
+
+        switch (kind)
+        {
+            case NodeKind.INTEGER :
+            {
+                operands[index] = ((IntegerNode)node).getData();
+                break;
+            }
+            case NodeKind.REAL :
+            {
+                operands[index] = Float.floatToRawIntBits(((RealNode)node).getData());
+                break;
+            }
+            case NodeKind.STRING :
+            {
+                operands[index] = getStringIndex(((StringNode)node).getData());
+                break;
+            }
+            case NodeKind.CHARACTER :
+            {
+                operands[index] = ((CharacterNode)node).getData();
+                break;
+            }
+            case NodeKind.BOOLEAN :
+            {
+                operands[index] = ((BooleanNode)node).getData() ? 1 : 0;
+                break;
+            }
+            case NodeKind.VARIABLE_REFERENCE :
+            {
+                VariableReferenceNode reference = (VariableReferenceNode)node;
+                int offset = reserveChildren(2);
+
+                operands[index] = reference.getSlot();
+                children[offset] = reference.getSymbol();
+                setChild(offset + 1, reference.getArrayExpression());
+                break;
+            }
+            case NodeKind.MATH_OP :
+            {
+                MathOpNode mathOp = (MathOpNode)node;
+                int offset = reserveChildren(2);
+
+                kinds[index] |= mathOp.getOpType().ordinal() << NodeKind.DETAIL_SHIFT;
+                setChild(offset, mathOp.getLeftOperand());
+                setChild(offset + 1, mathOp.getRightOperand());
+                break;
+            }
+            case NodeKind.BOOLEAN_COMPARE :
+            {
+                BooleanCompareNode comparison = (BooleanCompareNode)node;
+                int offset = reserveChildren(2);
+
+                kinds[index] |= comparison.getCompType().ordinal() << NodeKind.DETAIL_SHIFT;
+                setChild(offset, comparison.getLeftComparand());
+                setChild(offset + 1, comparison.getRightComparand());
+                break;
+            }
+            case NodeKind.ARGUMENT :
+            {
+                ArgumentNode argument = (ArgumentNode)node;
+                int offset = reserveChildren(1);
+
+                kinds[index] |= (argument.isConstant() ? 1 : 0) << NodeKind.DETAIL_SHIFT;
+                setChild(offset, argument.isConstant() ? argument.getConstant() : argument.getVariableReference());
+                break;
+            }
+            case NodeKind.FUNCTION_CALL :
+            {
+                FunctionCallNode call = (FunctionCallNode)node;
+                int offset = reserveChildren(2 + call.getNumberOfArguments());
+
+                operands[index] = callCount++;
+                children[offset] = call.getSymbol();
+                children[offset + 1] = call.getNumberOfArguments();
+
+                for (int i = 0; i < call.getNumberOfArguments(); i++)
+                {
+                    setChild(offset + 2 + i, call.getArguments().get(i));
+                }
+                break;
+            }
+            case NodeKind.ASSIGNMENT :
+            {
+                int offset = reserveChildren(2);
+
+                setChild(offset, ((AssignmentNode)node).getTarget());
+                setChild(offset + 1, ((AssignmentNode)node).getValue());
+                break;
+            }
+            case NodeKind.IF :
+            {
+                IfNode ifBlock = (IfNode)node;
+                int offset = reserveChildren(3 + ifBlock.getStatements().size());
+
+                setChild(offset, ifBlock.getConditional());
+                addStatements(offset + 2, ifBlock.getStatements());
+                setChild(offset + 1, ifBlock.getNext());
+                break;
+            }
+            case NodeKind.WHILE :
+            {
+                WhileNode whileBlock = (WhileNode)node;
+                int offset = reserveChildren(2 + whileBlock.getStatements().size());
+
+                setChild(offset, whileBlock.getConditional());
+                addStatements(offset + 1, whileBlock.getStatements());
+                break;
+            }
+            case NodeKind.REPEAT :
+            {
+                RepeatNode repeatBlock = (RepeatNode)node;
+                int offset = reserveChildren(2 + repeatBlock.getStatements().size());
+
+                setChild(offset, repeatBlock.getConditional());
+                addStatements(offset + 1, repeatBlock.getStatements());
+                break;
+            }
+            default :
+            {
+                ForNode forBlock = (ForNode)node;
+                int offset = reserveChildren(4 + forBlock.getStatements().size());
+
+                setChild(offset, forBlock.getIterator());
+                setChild(offset + 1, forBlock.getFromNode());
+                setChild(offset + 2, forBlock.getToNode());
+                addStatements(offset + 3, forBlock.getStatements());
+                break;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Appends the incoming ASTNode and stores the node it became at the incoming offset of the children array.
+     * The node is built before it is stored, since building it may grow the children array.
+     *
+     * @param offset Incoming offset.
+     * @param child Incoming ASTNode.
+     */
+    private void setChild(int offset, ASTNode child)
+    {
+        int node = addNode(child);
+
+        children[offset] = node;
+    }
+
+    /**
+     * Appends a node of the incoming NodeKind and static type on the incoming line, with no children yet, and
+     * returns it. A new run is added to the line table if its line differs from the last node's.
+     *
+     * @param kind Incoming NodeKind.
+     * @param type Incoming static type, null if it has none.
+     * @param line Incoming line number.
+     * @return New node.
+     */
+    private int newNode(int kind, tokenType type, int line)
+    {
+        if (nodeCount == kinds.length)
+        {
+            kinds = Arrays.copyOf(kinds, nodeCount * 2);
+            operands = Arrays.copyOf(operands, nodeCount * 2);
+            childOffsets = Arrays.copyOf(childOffsets, nodeCount * 2);
+        }
+        if (lineCount == 0 || lineNumbers[lineCount - 1] != line)
+        {
+            if (lineCount == lineNodes.length)
+            {
+                lineNodes = Arrays.copyOf(lineNodes, lineCount * 2);
+                lineNumbers = Arrays.copyOf(lineNumbers, lineCount * 2);
+            }
+
+            lineNodes[lineCount] = nodeCount;
+            lineNumbers[lineCount++] = line;
+        }
+
+        kinds[nodeCount] = kind | (type == null ? 0 : type.ordinal() + 1) << NodeKind.TYPE_SHIFT;
+        childOffsets[nodeCount] = childCount;
+
+        return nodeCount++;
+    }
+
+    /**
+     * Reserves the incoming number of entries at the end of the children array and returns the offset of the first.
+     *
+     * @param count Incoming number of entries.
+     * @return Offset of the first entry reserved.
+     */
+    private int reserveChildren(int count)
+    {
+        if (childCount + count > children.length)
+        {
+            children = Arrays.copyOf(children, Math.max(children.length * 2, childCount + count));
+        }
+
+        childCount += count;
+
+        return childCount - count;
+    }
+
+    /**
+     * Returns the NodeKind of the incoming ASTNode.
+     *
+     * @param node Incoming ASTNode.
+     * @return NodeKind of node.
+     * @throws IllegalArgumentException If node is of a kind the Parser never creates.
+     */
+    private static int getNodeKind(ASTNode node)
+    {
+        if (node instanceof IntegerNode)           return NodeKind.INTEGER;
+        if (node instanceof RealNode)              return NodeKind.REAL;
+        if (node instanceof StringNode)            return NodeKind.STRING;
+        if (node instanceof CharacterNode)         return NodeKind.CHARACTER;
+        if (node instanceof BooleanNode)           return NodeKind.BOOLEAN;
+        if (node instanceof VariableReferenceNode) return NodeKind.VARIABLE_REFERENCE;
+        if (node instanceof MathOpNode)            return NodeKind.MATH_OP;
+        if (node instanceof BooleanCompareNode)    return NodeKind.BOOLEAN_COMPARE;
+        if (node instanceof ArgumentNode)          return NodeKind.ARGUMENT;
+        if (node instanceof FunctionCallNode)      return NodeKind.FUNCTION_CALL;
+        if (node instanceof AssignmentNode)        return NodeKind.ASSIGNMENT;
+        if (node instanceof IfNode)                return NodeKind.IF;
+        if (node instanceof WhileNode)             return NodeKind.WHILE;
+        if (node instanceof RepeatNode)            return NodeKind.REPEAT;
+        if (node instanceof ForNode)               return NodeKind.FOR;
+
+        throw new IllegalArgumentException("A " + node.getClass().getSimpleName() + " has no compact form.");
+    }
+
+    /**
+     * Returns the index of the incoming String among the strings of the function being built, adding it if it is
+     * not there yet.
+     *
+     * @param string Incoming String.
+     * @return Index of string.
+     */
+    private int getStringIndex(String string)
+    {
+        Integer index = stringIndices.get(string);
+
+        if (index == null)
+        {
+            index = strings.size();
+            strings.add(string);
+            stringIndices.put(string, index);
+        }
+
+        return index;
+    }
+}
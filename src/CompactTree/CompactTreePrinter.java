@@ -0,0 +1,250 @@
+/**
+ * Prints a CompactFunction as the same text its FunctionNode prints, so a compact AST can be dumped and compared with
+ * the tree it was built from.
+ */
+
+package CompactTree;
+
+import java.util.ArrayList;
+
+import CrossStageTools.Nodes.VariableNode;
+import Exceptions.SyntaxErrorException;
+
+public class CompactTreePrinter implements CompactTreeVisitor<String>
+{
+    /**
+     * Returns the text of the incoming CompactFunction: its name and line, its parameters, its variables and its
+     * statements.
+     *
+     * @param function Incoming CompactFunction.
+     * @return Text of function.
+     */
+    public String print(CompactFunction function)
+    {
+        ArrayList<VariableNode> parameters = function.getParameterList();
+        ArrayList<VariableNode> variables = function.getVariableList();
+        String functionString = "Function " + function.getName() + " defined on line "
+                + function.getFunction().getLineNumber();
+
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            if (i == 0)
+            {
+                functionString += " takes ";
+            }
+            functionString += parameters.get(i) + ", ";
+        }
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            if (i == 0)
+            {
+                functionString += "\nWith variables:\n";
+            }
+            functionString += variables.get(i) + ",\n";
+        }
+
+        for (int i = 0; i < function.getStatementCount(function.getBody()); i++)
+        {
+            if (i == 0)
+            {
+                functionString += "\nWith statements:";
+            }
+
+            functionString += "\n" + print(function, function.getStatement(function.getBody(), i)) + ",";
+        }
+
+        return functionString;
+    }
+
+    /**
+     * Returns the text of the incoming node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return Text of node, "null" if it is NodeKind.NONE.
+     */
+    private String print(CompactFunction function, int node)
+    {
+        if (node == NodeKind.NONE)
+        {
+            return "null";
+        }
+
+        try
+        {
+            return function.accept(node, this);
+        }
+        catch (SyntaxErrorException e)
+        {
+            throw new IllegalStateException("Printing never fails.", e);
+        }
+    }
+
+    /**
+     * Returns the text of the statement list at the incoming offset of the incoming CompactFunction, each statement
+     * on a line of its own and followed by a comma.
+     *
+     * @param function Incoming CompactFunction.
+     * @param list Incoming statement list.
+     * @return Text of list.
+     */
+    private String printStatements(CompactFunction function, int list)
+    {
+        String statementsString = "";
+
+        for (int i = 0; i < function.getStatementCount(list); i++)
+        {
+            statementsString += "\n" + print(function, function.getStatement(list, i)) + ",";
+        }
+
+        return statementsString;
+    }
+
+    @Override
+    public String visitInteger(CompactFunction function, int node)
+    {
+        return function.getInteger(node) + "";
+    }
+
+    @Override
+    public String visitReal(CompactFunction function, int node)
+    {
+        return function.getReal(node) + "";
+    }
+
+    @Override
+    public String visitString(CompactFunction function, int node)
+    {
+        return function.getString(node);
+    }
+
+    @Override
+    public String visitCharacter(CompactFunction function, int node)
+    {
+        return function.getCharacter(node) + "";
+    }
+
+    @Override
+    public String visitBoolean(CompactFunction function, int node)
+    {
+        return function.getBoolean(node) + "";
+    }
+
+    @Override
+    public String visitVariableReference(CompactFunction function, int node)
+    {
+        int arrayExpression = function.getArrayExpression(node);
+
+        return arrayExpression == NodeKind.NONE ? function.getName(node)
+                                                : function.getName(node) + "[" + print(function, arrayExpression) + "]";
+    }
+
+    @Override
+    public String visitMathOp(CompactFunction function, int node)
+    {
+        String operation;
+
+        switch (function.getOperation(node))
+        {
+            case ADD  : operation = "+"; break;
+            case SUB  : operation = "-"; break;
+            case MULT : operation = "*"; break;
+            case DIV  : operation = "/"; break;
+            default   : operation = "%"; break;
+        }
+
+        return "(" + print(function, function.getLeft(node)) + " " + operation + " "
+                + print(function, function.getRight(node)) + ")";
+    }
+
+    @Override
+    public String visitBooleanCompare(CompactFunction function, int node)
+    {
+        String comparison;
+
+        switch (function.getComparison(node))
+        {
+            case GTHAN  : comparison = ">"; break;
+            case LTHAN  : comparison = "<"; break;
+            case GETO   : comparison = ">="; break;
+            case LETO   : comparison = "<="; break;
+            case EQUAL  : comparison = "=="; break;
+            case NEQUAL : comparison = "!="; break;
+            case NOT    : comparison = "not"; break;
+            case AND    : comparison = "&&"; break;
+            default     : comparison = "||"; break;
+        }
+
+        return "(" + print(function, function.getLeft(node)) + " " + comparison + " "
+                + print(function, function.getRight(node)) + ")";
+    }
+
+    @Override
+    public String visitArgument(CompactFunction function, int node)
+    {
+        return (function.isConstantArgument(node) ? "const " : "var ")
+                + print(function, function.getArgumentValue(node));
+    }
+
+    @Override
+    public String visitFunctionCall(CompactFunction function, int node)
+    {
+        String callString = function.getName(node) + "(";
+
+        for (int i = 0; i < function.getArgumentCount(node); i++)
+        {
+            if (i > 0)
+            {
+                callString += " ";
+            }
+
+            callString += print(function, function.getArgument(node, i)) + ",";
+        }
+
+        return callString + ")";
+    }
+
+    @Override
+    public String visitAssignment(CompactFunction function, int node)
+    {
+        return print(function, function.getLeft(node)) + " = " + print(function, function.getRight(node));
+    }
+
+    @Override
+    public String visitIf(CompactFunction function, int node)
+    {
+        int conditional = function.getConditional(node), statements = function.getStatements(node);
+        String ifString = conditional != NodeKind.NONE ? "if(" + print(function, conditional) : "else";
+
+        if (function.getStatementCount(statements) > 0)
+        {
+            ifString += "\nWith statements:" + printStatements(function, statements);
+        }
+
+        return function.getNext(node) != NodeKind.NONE ? ifString + "\nels" + print(function, function.getNext(node))
+                                                       : ifString;
+    }
+
+    @Override
+    public String visitWhile(CompactFunction function, int node)
+    {
+        return "while(" + print(function, function.getConditional(node)) + ")\nWith statements: "
+                + printStatements(function, function.getStatements(node)) + "\nEND WHILE";
+    }
+
+    @Override
+    public String visitRepeat(CompactFunction function, int node)
+    {
+        return "repeat(" + print(function, function.getConditional(node)) + ")\nWith statements: "
+                + printStatements(function, function.getStatements(node)) + "\nEND REPEAT";
+    }
+
+    @Override
+    public String visitFor(CompactFunction function, int node)
+    {
+        return "for(" + print(function, function.getIterator(node)) + " from " + print(function, function.getFrom(node))
+                + " to " + print(function, function.getTo(node)) + ")\nWith statements:"
+                + printStatements(function, function.getStatements(node)) + "\nEND FOR";
+    }
+}
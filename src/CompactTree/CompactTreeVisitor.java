@@ -0,0 +1,163 @@
+/**
+ * Walks the nodes of a CompactFunction, one method per NodeKind, each given the CompactFunction and the node to read
+ * its fields from. CompactFunction.accept() calls the method for a node's kind.
+ *
+ * @param <R> Type each method returns.
+ */
+
+package CompactTree;
+
+import Exceptions.SyntaxErrorException;
+
+public interface CompactTreeVisitor<R>
+{
+    /**
+     * Visits the incoming INTEGER node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitInteger(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming REAL node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitReal(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming STRING node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitString(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming CHARACTER node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitCharacter(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming BOOLEAN node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitBoolean(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming VARIABLE_REFERENCE node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitVariableReference(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming MATH_OP node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitMathOp(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming BOOLEAN_COMPARE node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitBooleanCompare(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming ARGUMENT node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitArgument(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming FUNCTION_CALL node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitFunctionCall(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming ASSIGNMENT node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitAssignment(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming IF node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitIf(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming WHILE node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitWhile(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming REPEAT node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitRepeat(CompactFunction function, int node) throws SyntaxErrorException;
+
+    /**
+     * Visits the incoming FOR node of the incoming CompactFunction.
+     *
+     * @param function Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return What this visitor makes of node.
+     * @throws SyntaxErrorException If this visitor fails on node.
+     */
+    R visitFor(CompactFunction function, int node) throws SyntaxErrorException;
+}
@@ -0,0 +1,41 @@
+/**
+ * Lists the kinds of node a CompactFunction holds, and the layout of the fields packed into each node's kind word.
+ * The lowest byte of a kind word holds the node's kind, the next its static type's ordinal plus one, 0 if it has
+ * none, and the two highest the ordinal of its operation or comparison, or 1 for an argument passed by value.
+ */
+
+package CompactTree;
+
+public final class NodeKind
+{
+    /** Stands for a node that is not there, such as the conditional of an else. */
+    public static final int NONE = -1;
+
+    public static final int INTEGER = 1;
+    public static final int REAL = 2;
+    public static final int STRING = 3;
+    public static final int CHARACTER = 4;
+    public static final int BOOLEAN = 5;
+
+    public static final int VARIABLE_REFERENCE = 6;
+    public static final int MATH_OP = 7;
+    public static final int BOOLEAN_COMPARE = 8;
+    public static final int ARGUMENT = 9;
+
+    public static final int FUNCTION_CALL = 10;
+    public static final int ASSIGNMENT = 11;
+    public static final int IF = 12;
+    public static final int WHILE = 13;
+    public static final int REPEAT = 14;
+    public static final int FOR = 15;
+
+    /** Bits of a kind word holding the node's kind. */
+    public static final int KIND_MASK = 0xFF;
+    /** Shift of the byte of a kind word holding the node's static type. */
+    public static final int TYPE_SHIFT = 8;
+    /** Shift of the bits of a kind word holding the node's operation, comparison or argument flag. */
+    public static final int DETAIL_SHIFT = 16;
+
+    private NodeKind()
+    {}
+}
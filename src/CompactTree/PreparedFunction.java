@@ -0,0 +1,115 @@
+/**
+ * Describes one user defined Kakuzaki function run by CompactInterpreter: its CompactFunction, the values its slots
+ * start with in every call, and a CallSite for each of its calls, indexed by call index.
+ */
+
+package CompactTree;
+
+import ClosureCompiler.Frame;
+import Interpreter.InterpreterDataTypes.ArrayDataType;
+import VirtualMachine.CallSite;
+
+final class PreparedFunction
+{
+    private final CompactFunction tree;
+
+    private final int[] initialIntegers, parameterSlots, arraySlots;
+
+    private final float[] initialReals;
+
+    private final Object[] initialReferences;
+
+    private final CallSite[] callSites;
+
+    /**
+     * Creates a PreparedFunction running the incoming CompactFunction, whose slots start with the incoming ints,
+     * floats and references, whose parameters are held in the incoming slots and whose calls go through the
+     * incoming CallSites.
+     *
+     * @param incomingTree Incoming CompactFunction.
+     * @param incomingInitialIntegers Incoming values each int slot starts with.
+     * @param incomingInitialReals Incoming values each float slot starts with.
+     * @param incomingInitialReferences Incoming values each reference slot starts with.
+     * @param incomingParameterSlots Incoming slots of each parameter.
+     * @param incomingCallSites Incoming CallSite of each call.
+     */
+    PreparedFunction(CompactFunction incomingTree, int[] incomingInitialIntegers, float[] incomingInitialReals,
+                     Object[] incomingInitialReferences, int[] incomingParameterSlots, CallSite[] incomingCallSites)
+    {
+        tree = incomingTree;
+        initialIntegers = incomingInitialIntegers;
+        initialReals = incomingInitialReals;
+        initialReferences = incomingInitialReferences;
+        parameterSlots = incomingParameterSlots;
+        callSites = incomingCallSites;
+
+        int arrayCount = 0;
+
+        for (int i = 0; i < initialReferences.length; i++)
+        {
+            if (initialReferences[i] instanceof ArrayDataType)
+            {
+                arrayCount++;
+            }
+        }
+
+        arraySlots = new int[arrayCount];
+
+        for (int i = 0, j = 0; i < initialReferences.length; i++)
+        {
+            if (initialReferences[i] instanceof ArrayDataType)
+            {
+                arraySlots[j++] = i;
+            }
+        }
+    }
+
+    /**
+     * Returns the CompactFunction this function runs.
+     *
+     * @return CompactFunction of this function.
+     */
+    CompactFunction getTree()
+    {
+        return tree;
+    }
+
+    /**
+     * Returns the slot each parameter is held in.
+     *
+     * @return Slots of each parameter.
+     */
+    int[] getParameterSlots()
+    {
+        return parameterSlots;
+    }
+
+    /**
+     * Returns the CallSite of the incoming call index.
+     *
+     * @param callIndex Incoming call index.
+     * @return CallSite of callIndex.
+     */
+    CallSite getCallSite(int callIndex)
+    {
+        return callSites[callIndex];
+    }
+
+    /**
+     * Returns a new Frame for one call of this function, with every slot holding its starting value.
+     * Arrays are copied, so no call sees the elements another call wrote.
+     *
+     * @return New Frame.
+     */
+    Frame makeFrame()
+    {
+        Object[] references = initialReferences.clone();
+
+        for (int i = 0; i < arraySlots.length; i++)
+        {
+            references[arraySlots[i]] = ((ArrayDataType)references[arraySlots[i]]).copy();
+        }
+
+        return new Frame(initialIntegers.clone(), initialReals.clone(), references);
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Describes anything that can fill in a FunctionNode created with only its name, symbol and line, so a function's
+ * parameters, variables and statements are only loaded once something needs them.
+ */
+
+package CrossStageTools;
+
+import java.io.IOException;
+
+import CrossStageTools.Nodes.FunctionNode;
+
+public interface FunctionLoader
+{
+    /**
+     * Loads the parameters, variables, statements and frame size of the incoming FunctionNode and sets them with
+     * FunctionNode.setLoadedBody().
+     *
+     * @param function Incoming FunctionNode.
+     * @throws IOException If the function cannot be read.
+     */
+    void load(FunctionNode function) throws IOException;
+}
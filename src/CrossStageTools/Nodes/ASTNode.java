@@ -8,6 +8,8 @@ import CrossStageTools.tokenType;
 
 public abstract class ASTNode
 {
+    private tokenType staticType;
+
     public abstract String toString();
 
     /**
@@ -16,10 +18,38 @@ public abstract class ASTNode
      */
     public abstract int getLineNumber();
 
+    /**
+     * Moves this ASTNode and every ASTNode inside it by the incoming number of lines, after lines were added or
+     * removed above it.
+     *
+     * @param lineShift Incoming number of lines, negative to move up.
+     */
+    public abstract void shiftLineNumbers(int lineShift);
+
     /**
      * Returns this DataTypeNode's data representation in a tokenType.
      *
      * @return This DataTypeNode's data representation in a tokenType.
      */
     public abstract tokenType getType();
+
+    /**
+     * Returns the type TypeChecker found this ASTNode's value always has, null if it has not been type checked.
+     *
+     * @return Static type of this ASTNode.
+     */
+    public tokenType getStaticType()
+    {
+        return staticType;
+    }
+
+    /**
+     * Sets the type this ASTNode's value always has to the incoming tokenType.
+     *
+     * @param incomingStaticType Incoming tokenType.
+     */
+    public void setStaticType(tokenType incomingStaticType)
+    {
+        staticType = incomingStaticType;
+    }
 }
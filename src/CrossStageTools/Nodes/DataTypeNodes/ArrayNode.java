@@ -12,7 +12,8 @@ public class ArrayNode extends DataTypeNode
 
     private final tokenType typeOfData;
 
-    private final int lowestIndex, highestIndex, lineNumber;
+    private final int lowestIndex, highestIndex;
+    private int lineNumber;
 
     /**
      * Creates an ArrayNode with the incoming tokenType as its type,
@@ -57,6 +58,12 @@ public class ArrayNode extends DataTypeNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+    }
+
     @Override
     public tokenType getType()
     {
@@ -11,7 +11,7 @@ public class BooleanNode extends DataTypeNode
 {
     private final boolean data;
 
-    private final int lineNumber;
+    private int lineNumber;
 
     /**
      * Constructs a Boolean ASTNode with the incoming boolean as its data with the incoming int as its line number.
@@ -34,7 +34,7 @@ public class BooleanNode extends DataTypeNode
 
     public BooleanNode(BooleanDataType bdt)
     {
-        data = Boolean.parseBoolean(bdt.toString());
+        data = bdt.getData();
         lineNumber = bdt.getLineNumber();
     }
 
@@ -60,6 +60,12 @@ public class BooleanNode extends DataTypeNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+    }
+
     @Override
     public tokenType getType()
     {
@@ -11,7 +11,7 @@ public class CharacterNode extends DataTypeNode
 {
     private final char data;
 
-    private final int lineNumber;
+    private int lineNumber;
 
     /**
      * Constructs a Character ASTNode with the incoming char as its data with the incoming int as its line number.
@@ -27,7 +27,7 @@ public class CharacterNode extends DataTypeNode
 
     public CharacterNode(CharacterDataType cdt)
     {
-        data = cdt.toString().charAt(0);
+        data = cdt.getData();
         lineNumber = cdt.getLineNumber();
     }
 
@@ -53,6 +53,12 @@ public class CharacterNode extends DataTypeNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+    }
+
     @Override
     public tokenType getType()
     {
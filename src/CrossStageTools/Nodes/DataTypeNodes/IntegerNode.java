@@ -9,7 +9,8 @@ import Interpreter.InterpreterDataTypes.IntegerDataType;
 
 public class IntegerNode extends DataTypeNode
 {
-    private final int data, lineNumber;
+    private final int data;
+    private int lineNumber;
 
     private int lowerRange, higherRange;
 
@@ -28,7 +29,7 @@ public class IntegerNode extends DataTypeNode
 
     public IntegerNode(IntegerDataType idt)
     {
-        data = Integer.parseInt(idt.toString());
+        data = idt.getData();
         lineNumber = idt.getLineNumber();
     }
 
@@ -54,6 +55,12 @@ public class IntegerNode extends DataTypeNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+    }
+
     @Override
     public tokenType getType()
     {
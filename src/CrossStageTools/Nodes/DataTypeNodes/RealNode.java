@@ -12,7 +12,7 @@ public class RealNode extends DataTypeNode
     private final float data;
     private float lowerRange, higherRange;
 
-    private final int lineNumber;
+    private int lineNumber;
 
     /**
      * Constructs a Real ASTNode with the incoming float as its data and the incoming int as its line number.
@@ -28,7 +28,7 @@ public class RealNode extends DataTypeNode
 
     public RealNode(RealDataType rdt)
     {
-        data = Float.parseFloat(rdt.toString());
+        data = rdt.getData();
         lineNumber = rdt.getLineNumber();
     }
 
@@ -54,6 +54,12 @@ public class RealNode extends DataTypeNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+    }
+
     @Override
     public tokenType getType()
     {
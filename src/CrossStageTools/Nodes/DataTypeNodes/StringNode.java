@@ -11,7 +11,7 @@ public class StringNode extends DataTypeNode
 {
     private final String data;
 
-    private final int lineNumber;
+    private int lineNumber;
     private int lowerRange, higherRange;
 
     /**
@@ -28,7 +28,7 @@ public class StringNode extends DataTypeNode
 
     public StringNode(StringDataType sdt)
     {
-        data = sdt.toString();
+        data = sdt.getData();
         lineNumber = sdt.getLineNumber();
     }
 
@@ -54,6 +54,12 @@ public class StringNode extends DataTypeNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+    }
+
     @Override
     public tokenType getType()
     {
@@ -1,21 +1,38 @@
 /**
  * Describes one user defined or builtin Kakuzaki function.
+ * A function parsed lazily holds a TokenStream at the start of its body instead of its statements until the body
+ * is parsed. A function read from a program cache holds a FunctionLoader instead of its parameters, variables and
+ * statements, and loads them the first time any of them is asked for.
  */
 
 package CrossStageTools.Nodes;
 
+import CrossStageTools.FunctionLoader;
+import CrossStageTools.TokenStream;
 import CrossStageTools.tokenType;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 public class FunctionNode extends ASTNode
 {
-    private final ArrayList<StatementNode> statementList;
-    private final ArrayList<VariableNode> parameterList, variableList;
+    private ArrayList<StatementNode> statementList;
+    private ArrayList<VariableNode> parameterList, variableList;
+
+    private TokenStream bodyTokens;
+    private int bodyLineNumber;
+
+    private FunctionLoader loader;
 
     private final String name;
 
-    private final int lineNumber;
+    private int lineNumber;
+    private int frameSize;
+    private int symbol = -1;
 
     private final boolean isVariadic;
 
@@ -41,6 +58,46 @@ public class FunctionNode extends ASTNode
         isVariadic = false;
     }
 
+    /**
+     * Constructs a FunctionNode whose body is not parsed yet, with the incoming TokenStream at the start of its body
+     * and the incoming int as the line its body starts on, then the incoming ArrayLists as, respectively,
+     * its parameters and its variables and constants, the incoming String as its name,
+     * and the incoming int as the line number the FunctionNode is defined on.
+     *
+     * @param incomingBodyTokens Incoming TokenStream.
+     * @param incomingBodyLineNumber Incoming int for the body's line.
+     * @param parameters Incoming ArrayList of parameters.
+     * @param variables Incoming ArrayList of variables and constants.
+     * @param incomingName Incoming String.
+     * @param incomingLineNumber Incoming int for the definition's line.
+     */
+    public FunctionNode(TokenStream incomingBodyTokens, int incomingBodyLineNumber, ArrayList<VariableNode> parameters,
+                        ArrayList<VariableNode> variables, String incomingName, int incomingLineNumber)
+    {
+        this(null, parameters, variables, incomingName, incomingLineNumber);
+
+        bodyTokens = incomingBodyTokens;
+        bodyLineNumber = incomingBodyLineNumber;
+    }
+
+    /**
+     * Constructs a FunctionNode whose parameters, variables and statements are loaded by the incoming FunctionLoader
+     * when first needed, with the incoming String as its name, the incoming int as the line number it is defined on
+     * and the latter incoming int as the symbol of its name.
+     *
+     * @param incomingLoader Incoming FunctionLoader.
+     * @param incomingName Incoming String.
+     * @param incomingLineNumber Incoming int for the definition's line.
+     * @param incomingSymbol Incoming int for the symbol.
+     */
+    public FunctionNode(FunctionLoader incomingLoader, String incomingName, int incomingLineNumber, int incomingSymbol)
+    {
+        this(null, null, null, incomingName, incomingLineNumber);
+
+        loader = incomingLoader;
+        symbol = incomingSymbol;
+    }
+
     /**
      * Creates a FunctionNode with the incoming String as its name and the incoming boolean as whether it is variadic.
      * Used in loading builtin functions.
@@ -91,6 +148,26 @@ public class FunctionNode extends ASTNode
         return name;
     }
 
+    /**
+     * Returns the symbol the SymbolTable gives this FunctionNode's name.
+     *
+     * @return Symbol of this FunctionNode's name, -1 if it was never interned.
+     */
+    public int getSymbol()
+    {
+        return symbol;
+    }
+
+    /**
+     * Sets the symbol of this FunctionNode's name to the incoming int.
+     *
+     * @param incomingSymbol Incoming int.
+     */
+    public void setSymbol(int incomingSymbol)
+    {
+        symbol = incomingSymbol;
+    }
+
     /**
      * Returns this FunctionNode's parameter list.
      *
@@ -98,6 +175,7 @@ public class FunctionNode extends ASTNode
      */
     public ArrayList<VariableNode> getParameterList()
     {
+        ensureLoaded();
         return parameterList;
     }
 
@@ -108,6 +186,7 @@ public class FunctionNode extends ASTNode
      */
     public int getNumberOfParameters()
     {
+        ensureLoaded();
         return parameterList.size();
     }
 
@@ -118,6 +197,7 @@ public class FunctionNode extends ASTNode
      */
     public ArrayList<VariableNode> getVariableList()
     {
+        ensureLoaded();
         return variableList;
     }
 
@@ -128,9 +208,132 @@ public class FunctionNode extends ASTNode
      */
     public ArrayList<StatementNode> getStatementList()
     {
+        ensureLoaded();
         return statementList;
     }
 
+    /**
+     * Sets this FunctionNode's statement list to the incoming ArrayList of statements, once its body is parsed,
+     * and lets go of its body's TokenStream.
+     *
+     * @param statements Incoming ArrayList of statements.
+     */
+    public void setStatementList(ArrayList<StatementNode> statements)
+    {
+        statementList = statements;
+        bodyTokens = null;
+    }
+
+    /**
+     * Lets go of this FunctionNode's statements, once an engine has built a form of its body of its own to run, so
+     * only that form stays on the heap. No other stage can use this FunctionNode's body afterwards.
+     */
+    public void releaseStatementList()
+    {
+        statementList = null;
+    }
+
+    /**
+     * Checks and returns if this FunctionNode's body is still waiting to be parsed.
+     *
+     * @return True if this FunctionNode was parsed lazily and its body was not parsed since.
+     */
+    public boolean isBodyPending()
+    {
+        return bodyTokens != null;
+    }
+
+    /**
+     * Returns the TokenStream at the start of this FunctionNode's body, if it is not parsed yet.
+     *
+     * @return TokenStream of this FunctionNode's body, null once it is parsed.
+     */
+    public TokenStream getBodyTokens()
+    {
+        return bodyTokens;
+    }
+
+    /**
+     * Returns the line this FunctionNode's body starts on, if it is not parsed yet.
+     *
+     * @return Line number of this FunctionNode's body.
+     */
+    public int getBodyLineNumber()
+    {
+        return bodyLineNumber;
+    }
+
+    /**
+     * Returns the number of slots a frame of this FunctionNode needs, as assigned by Resolver.
+     *
+     * @return Number of slots in a frame of this FunctionNode.
+     */
+    public int getFrameSize()
+    {
+        ensureLoaded();
+        return frameSize;
+    }
+
+    /**
+     * Sets the number of slots a frame of this FunctionNode needs to the incoming int.
+     *
+     * @param incomingFrameSize Incoming int.
+     */
+    public void setFrameSize(int incomingFrameSize)
+    {
+        frameSize = incomingFrameSize;
+    }
+
+    /**
+     * Sets this FunctionNode's parameters, variables and constants, statements and frame size to the incoming
+     * ArrayLists and int, once its FunctionLoader has read them, and lets go of its FunctionLoader.
+     *
+     * @param parameters Incoming ArrayList of parameters.
+     * @param variables Incoming ArrayList of variables and constants.
+     * @param statements Incoming ArrayList of statements.
+     * @param incomingFrameSize Incoming int.
+     */
+    public void setLoadedBody(ArrayList<VariableNode> parameters, ArrayList<VariableNode> variables,
+                              ArrayList<StatementNode> statements, int incomingFrameSize)
+    {
+        parameterList = parameters;
+        variableList = variables;
+        statementList = statements;
+        frameSize = incomingFrameSize;
+        loader = null;
+    }
+
+    /**
+     * Checks and returns if this FunctionNode is still waiting for its FunctionLoader.
+     *
+     * @return True if this FunctionNode was read from a program cache and nothing in it was asked for since.
+     */
+    public boolean isLoadPending()
+    {
+        return loader != null;
+    }
+
+    /**
+     * Has the FunctionLoader load this FunctionNode's parameters, variables, statements and frame size if it has not
+     * yet.
+     *
+     * @throws UncheckedIOException If the FunctionLoader cannot read them.
+     */
+    private void ensureLoaded()
+    {
+        if (loader != null)
+        {
+            try
+            {
+                loader.load(this);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException("Function " + name + " could not be loaded.", e);
+            }
+        }
+    }
+
     /**
      * Checks and returns if this FunctionNode is variadic.
      * @return True if this FunctionNode is variadic.
@@ -150,6 +353,11 @@ public class FunctionNode extends ASTNode
 
         String functionString = "Function " + name + " defined on line " + lineNumber;
 
+        if (isLoadPending())
+        {
+            return functionString + "\nWith a body not loaded yet.";
+        }
+
         for (int i = 0; i < parameterList.size(); i++)
         {
             if (i == 0)
@@ -168,6 +376,16 @@ public class FunctionNode extends ASTNode
             functionString += variableList.get(i) + ",\n";
         }
 
+        if (isBodyPending())
+        {
+            return functionString + "\nWith a body not parsed yet.";
+        }
+
+        if (statementList == null)
+        {
+            return functionString + "\nWith a body released to the engine running it.";
+        }
+
         for (int i = 0; i < statementList.size(); i++)
         {
             if (i == 0)
@@ -187,6 +405,60 @@ public class FunctionNode extends ASTNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        if (lineNumber == -1)
+        {
+            return;
+        }
+
+        ensureLoaded();
+
+        lineNumber += lineShift;
+        bodyLineNumber += lineShift;
+
+        Set<ASTNode> ranges = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        shiftLineNumbers(parameterList, ranges, lineShift);
+        shiftLineNumbers(variableList, ranges, lineShift);
+
+        for (ASTNode range : ranges)
+        {
+            range.shiftLineNumbers(lineShift);
+        }
+
+        if (statementList != null)
+        {
+            for (int i = 0; i < statementList.size(); i++)
+            {
+                statementList.get(i).shiftLineNumbers(lineShift);
+            }
+        }
+    }
+
+    /**
+     * Moves each VariableNode in the incoming ArrayList by the incoming number of lines, adding the ASTNodes of its
+     * range to the incoming Set so each shared range is moved once.
+     *
+     * @param variables Incoming ArrayList of VariableNodes.
+     * @param ranges Incoming Set of range ASTNodes.
+     * @param lineShift Incoming number of lines, negative to move up.
+     */
+    private static void shiftLineNumbers(ArrayList<VariableNode> variables, Set<ASTNode> ranges, int lineShift)
+    {
+        for (int i = 0; i < variables.size(); i++)
+        {
+            variables.get(i).shiftLineNumbers(lineShift);
+
+            if (variables.get(i).getLowerRange() != null)
+            {
+                ranges.add(variables.get(i).getLowerRange());
+                ranges.add(variables.get(i).getHigherRange());
+            }
+        }
+    }
+
     @Override
     public tokenType getType()
     {
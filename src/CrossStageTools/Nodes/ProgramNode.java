@@ -4,34 +4,80 @@
 
 package CrossStageTools.Nodes;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
+import CrossStageTools.SymbolTable;
 import CrossStageTools.tokenType;
 
 public class ProgramNode extends ASTNode
 {
     private final HashMap<String, FunctionNode> functionMap;
 
+    private final SymbolTable symbolTable;
+
+    private FunctionNode[] functionsBySymbol;
+
     /**
-     * Constructs a ProgramNode with the incoming HashMap from String to FunctionNode as its function HashMap.
+     * Constructs a ProgramNode with the incoming HashMap from String to FunctionNode as its function HashMap
+     * and a new SymbolTable.
      *
      * @param functions Incoming HashMap from String to FunctionNode.
      */
     public ProgramNode(HashMap<String, FunctionNode> functions)
     {
-        functionMap = functions;
+        this(functions, new SymbolTable());
     }
 
     /**
-     * Adds the incoming FunctionNode to this ProgramNode's function HashMap.
+     * Constructs a ProgramNode with the incoming HashMap from String to FunctionNode as its function HashMap
+     * and the incoming SymbolTable as the table its names were interned into.
+     *
+     * @param functions Incoming HashMap from String to FunctionNode.
+     * @param incomingSymbolTable Incoming SymbolTable.
+     */
+    public ProgramNode(HashMap<String, FunctionNode> functions, SymbolTable incomingSymbolTable)
+    {
+        functionMap = new HashMap<>();
+        symbolTable = incomingSymbolTable;
+        functionsBySymbol = new FunctionNode[16];
+
+        addMap(functions);
+    }
+
+    /**
+     * Adds the incoming FunctionNode to this ProgramNode's function HashMap and gives it the symbol of its name.
      *
      * @param incomingFunction Incoming FunctionNode.
      */
     public void addFunction(FunctionNode incomingFunction)
     {
+        int symbol = symbolTable.intern(incomingFunction.getName());
+
+        if (symbol >= functionsBySymbol.length)
+        {
+            functionsBySymbol = Arrays.copyOf(functionsBySymbol, Math.max(functionsBySymbol.length * 2, symbol + 1));
+        }
+
+        incomingFunction.setSymbol(symbol);
+        functionsBySymbol[symbol] = incomingFunction;
         functionMap.put(incomingFunction.getName(), incomingFunction);
     }
 
+    /**
+     * Removes the incoming FunctionNode from this ProgramNode, unless another function of the same name replaced it.
+     *
+     * @param outgoingFunction Incoming FunctionNode.
+     */
+    public void removeFunction(FunctionNode outgoingFunction)
+    {
+        if (functionMap.get(outgoingFunction.getName()) == outgoingFunction)
+        {
+            functionMap.remove(outgoingFunction.getName());
+            functionsBySymbol[outgoingFunction.getSymbol()] = null;
+        }
+    }
+
     /**
      * Adds all the K/V pairs from the incoming HashMap into this ProgramNode's function map.
      *
@@ -39,7 +85,35 @@ public class ProgramNode extends ASTNode
      */
     public void addMap(HashMap<String, FunctionNode> addendumMap)
     {
-        functionMap.putAll(addendumMap);
+        FunctionNode[] addenda = new FunctionNode[addendumMap.size()];
+
+        addendumMap.values().toArray(addenda);
+
+        for (int i = 0; i < addenda.length; i++)
+        {
+            addFunction(addenda[i]);
+        }
+    }
+
+    /**
+     * Returns the FunctionNode whose name has the incoming symbol.
+     *
+     * @param symbol Incoming symbol.
+     * @return FunctionNode with symbol as its name's symbol, null if there is none.
+     */
+    public FunctionNode getFunction(int symbol)
+    {
+        return symbol >= 0 && symbol < functionsBySymbol.length ? functionsBySymbol[symbol] : null;
+    }
+
+    /**
+     * Returns the SymbolTable this ProgramNode's names are interned into.
+     *
+     * @return SymbolTable of this ProgramNode.
+     */
+    public SymbolTable getSymbolTable()
+    {
+        return symbolTable;
     }
 
     /**
@@ -75,6 +149,15 @@ public class ProgramNode extends ASTNode
         return 0;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        for (FunctionNode function : functionMap.values())
+        {
+            function.shiftLineNumbers(lineShift);
+        }
+    }
+
     @Override
     public tokenType getType()
     {
@@ -12,9 +12,9 @@ public class ArgumentNode extends ASTNode
 {
     private final VariableReferenceNode variableParam;
 
-    private final ASTNode constantParam;
+    private ASTNode constantParam;
 
-    private final int lineNumber;
+    private int lineNumber;
 
     private final boolean isConstant;
 
@@ -69,6 +69,16 @@ public class ArgumentNode extends ASTNode
         return constantParam;
     }
 
+    /**
+     * Sets this ArgumentNode's constant to the incoming ASTNode.
+     *
+     * @param incomingConstant Incoming ASTNode.
+     */
+    public void setConstant(ASTNode incomingConstant)
+    {
+        constantParam = incomingConstant;
+    }
+
     /**
      * Returns whether this ArgumentNode is constant.
      *
@@ -91,6 +101,18 @@ public class ArgumentNode extends ASTNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+
+        if (isConstant)
+        {
+            constantParam.shiftLineNumbers(lineShift);
+        }
+        else variableParam.shiftLineNumbers(lineShift);
+    }
+
     @Override
     public tokenType getType()
     {
@@ -11,9 +11,9 @@ import CrossStageTools.tokenType;
 public class AssignmentNode extends StatementNode
 {
     private final VariableReferenceNode referencedTarget;
-    private final ASTNode referencedValue;
+    private ASTNode referencedValue;
 
-    private final int lineNumber;
+    private int lineNumber;
 
     /**
      * Constructs an Assignment node with the incoming VariableReferenceNode as its target,
@@ -51,6 +51,16 @@ public class AssignmentNode extends StatementNode
         return referencedValue;
     }
 
+    /**
+     * Sets this AssignmentNode's value to the incoming ASTNode.
+     *
+     * @param incomingValue Incoming ASTNode.
+     */
+    public void setValue(ASTNode incomingValue)
+    {
+        referencedValue = incomingValue;
+    }
+
     @Override
     public String toString()
     {
@@ -63,6 +73,14 @@ public class AssignmentNode extends StatementNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+        referencedTarget.shiftLineNumbers(lineShift);
+        referencedValue.shiftLineNumbers(lineShift);
+    }
+
     @Override
     public tokenType getType()
     {
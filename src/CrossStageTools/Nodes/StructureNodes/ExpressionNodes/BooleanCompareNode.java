@@ -11,7 +11,7 @@ public class BooleanCompareNode extends ASTNode
 {
     public enum comparisonType {GTHAN, LTHAN, GETO, LETO, EQUAL, NEQUAL, NOT, AND, OR}
 
-    private final ASTNode leftComparand, rightComparand;
+    private ASTNode leftComparand, rightComparand;
     private final comparisonType compType;
 
     /**
@@ -52,6 +52,26 @@ public class BooleanCompareNode extends ASTNode
         return rightComparand;
     }
 
+    /**
+     * Sets this BooleanCompareNode's left comparand to the incoming ASTNode.
+     *
+     * @param incomingLeftComparand Incoming ASTNode.
+     */
+    public void setLeftComparand(ASTNode incomingLeftComparand)
+    {
+        leftComparand = incomingLeftComparand;
+    }
+
+    /**
+     * Sets this BooleanCompareNode's right comparand to the incoming ASTNode.
+     *
+     * @param incomingRightComparand Incoming ASTNode.
+     */
+    public void setRightComparand(ASTNode incomingRightComparand)
+    {
+        rightComparand = incomingRightComparand;
+    }
+
     /**
      * Returns this BooleanCompareNode's comparisonType.
      *
@@ -120,6 +140,13 @@ public class BooleanCompareNode extends ASTNode
         return 0;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        leftComparand.shiftLineNumbers(lineShift);
+        rightComparand.shiftLineNumbers(lineShift);
+    }
+
     @Override
     public tokenType getType()
     {
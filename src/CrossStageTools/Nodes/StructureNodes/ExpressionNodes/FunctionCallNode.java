@@ -16,7 +16,8 @@ public class FunctionCallNode extends StatementNode
 
     private final ArrayList<ArgumentNode> arguments;
 
-    private final int lineNumber;
+    private int lineNumber;
+    private int symbol = -1;
 
     /**
      * Creates a FunctionCallNode with the incoming String as its name,
@@ -44,6 +45,26 @@ public class FunctionCallNode extends StatementNode
         return calledName;
     }
 
+    /**
+     * Returns the symbol the SymbolTable gives the name of the called function.
+     *
+     * @return Symbol of the called function's name, -1 if it was never interned.
+     */
+    public int getSymbol()
+    {
+        return symbol;
+    }
+
+    /**
+     * Sets the symbol of the called function's name to the incoming int.
+     *
+     * @param incomingSymbol Incoming int.
+     */
+    public void setSymbol(int incomingSymbol)
+    {
+        symbol = incomingSymbol;
+    }
+
     /**
      * Returns the number of arguments this function call was made with.
      *
@@ -88,6 +109,17 @@ public class FunctionCallNode extends StatementNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+
+        for (int i = 0; i < arguments.size(); i++)
+        {
+            arguments.get(i).shiftLineNumbers(lineShift);
+        }
+    }
+
     @Override
     public tokenType getType()
     {
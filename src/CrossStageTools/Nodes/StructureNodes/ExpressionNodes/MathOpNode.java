@@ -11,10 +11,10 @@ public class MathOpNode extends ASTNode
 {
     public enum operationType {ADD, SUB, MULT, DIV, MOD}
 
-    private final ASTNode leftOperand, rightOperand;
+    private ASTNode leftOperand, rightOperand;
     private final operationType opType;
 
-    private final int lineNumber;
+    private int lineNumber;
 
     /**
      * Constructs a MathOpNode with the former incoming ASTNode as its left operand,
@@ -55,6 +55,26 @@ public class MathOpNode extends ASTNode
         return rightOperand;
     }
 
+    /**
+     * Sets this MathOpNode's left operand to the incoming ASTNode.
+     *
+     * @param incomingLeftOperand Incoming ASTNode.
+     */
+    public void setLeftOperand(ASTNode incomingLeftOperand)
+    {
+        leftOperand = incomingLeftOperand;
+    }
+
+    /**
+     * Sets this MathOpNode's right operand to the incoming ASTNode.
+     *
+     * @param incomingRightOperand Incoming ASTNode.
+     */
+    public void setRightOperand(ASTNode incomingRightOperand)
+    {
+        rightOperand = incomingRightOperand;
+    }
+
     /**
      * Returns the operationType of this MathOpNode.
      *
@@ -115,6 +135,14 @@ public class MathOpNode extends ASTNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+        leftOperand.shiftLineNumbers(lineShift);
+        rightOperand.shiftLineNumbers(lineShift);
+    }
+
     @Override
     public tokenType getType()
     {
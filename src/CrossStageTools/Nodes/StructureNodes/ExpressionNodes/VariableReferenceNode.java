@@ -13,7 +13,9 @@ public class VariableReferenceNode extends ASTNode
 
     private final String referencedName;
 
-    private final int lineNumber;
+    private int lineNumber;
+    private int slot;
+    private int symbol = -1;
 
     /**
      * Constructs a VariableReferenceNode with the incoming String as its name,
@@ -56,6 +58,56 @@ public class VariableReferenceNode extends ASTNode
         return referencedName;
     }
 
+    /**
+     * Returns the symbol the SymbolTable gives this VariableReferenceNode's name.
+     *
+     * @return Symbol of this VariableReferenceNode's name, -1 if it was never interned.
+     */
+    public int getSymbol()
+    {
+        return symbol;
+    }
+
+    /**
+     * Sets the symbol of this VariableReferenceNode's name to the incoming int.
+     *
+     * @param incomingSymbol Incoming int.
+     */
+    public void setSymbol(int incomingSymbol)
+    {
+        symbol = incomingSymbol;
+    }
+
+    /**
+     * Returns this VariableReferenceNode's array expression, null if it does not index an array.
+     *
+     * @return This VariableReferenceNode's array expression.
+     */
+    public ASTNode getArrayExpression()
+    {
+        return arrayExpression;
+    }
+
+    /**
+     * Returns the frame index of the variable this VariableReferenceNode refers to, as assigned by Resolver.
+     *
+     * @return Frame index of the referenced variable.
+     */
+    public int getSlot()
+    {
+        return slot;
+    }
+
+    /**
+     * Sets the frame index of the variable this VariableReferenceNode refers to to the incoming int.
+     *
+     * @param incomingSlot Incoming int.
+     */
+    public void setSlot(int incomingSlot)
+    {
+        slot = incomingSlot;
+    }
+
     @Override
     public String toString()
     {
@@ -68,6 +120,17 @@ public class VariableReferenceNode extends ASTNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+
+        if (arrayExpression != null)
+        {
+            arrayExpression.shiftLineNumbers(lineShift);
+        }
+    }
+
     @Override
     public tokenType getType()
     {
@@ -15,11 +15,11 @@ public class ForNode extends StatementNode
 {
     private final VariableReferenceNode iterator;
 
-    private final ASTNode fromNode, toNode;
+    private ASTNode fromNode, toNode;
 
     private final ArrayList<StatementNode> statements;
 
-    private final int lineNumber;
+    private int lineNumber;
 
     /**
      * Creates a ForNode with the incoming VariableReferenceNode as its iterator,
@@ -76,6 +76,26 @@ public class ForNode extends StatementNode
         return toNode;
     }
 
+    /**
+     * Sets the ASTNode this ForNode counts from to the incoming ASTNode.
+     *
+     * @param incomingFromNode Incoming ASTNode.
+     */
+    public void setFromNode(ASTNode incomingFromNode)
+    {
+        fromNode = incomingFromNode;
+    }
+
+    /**
+     * Sets the ASTNode this ForNode counts to to the incoming ASTNode.
+     *
+     * @param incomingToNode Incoming ASTNode.
+     */
+    public void setToNode(ASTNode incomingToNode)
+    {
+        toNode = incomingToNode;
+    }
+
     /**
      * Returns this ForNode's StatementNode list.
      *
@@ -107,6 +127,19 @@ public class ForNode extends StatementNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+        iterator.shiftLineNumbers(lineShift);
+        fromNode.shiftLineNumbers(lineShift);
+        toNode.shiftLineNumbers(lineShift);
+        for (int i = 0; i < statements.size(); i++)
+        {
+            statements.get(i).shiftLineNumbers(lineShift);
+        }
+    }
+
     @Override
     public tokenType getType()
     {
@@ -18,7 +18,7 @@ public class IfNode extends StatementNode
 
     private IfNode nextIf;
 
-    private final int lineNumber;
+    private int lineNumber;
 
     /**
      * Creates an IfNode with the incoming BooleanCompareNode as its conditional,
@@ -149,6 +149,27 @@ public class IfNode extends StatementNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+
+        if (conditional != null)
+        {
+            conditional.shiftLineNumbers(lineShift);
+        }
+
+        for (int i = 0; i < statements.size(); i++)
+        {
+            statements.get(i).shiftLineNumbers(lineShift);
+        }
+
+        if (nextIf != null)
+        {
+            nextIf.shiftLineNumbers(lineShift);
+        }
+    }
+
     @Override
     public tokenType getType()
     {
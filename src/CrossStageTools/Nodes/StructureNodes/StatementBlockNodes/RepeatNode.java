@@ -15,7 +15,7 @@ public class RepeatNode extends StatementNode
     private final BooleanCompareNode conditional;
     private final ArrayList<StatementNode> statements;
 
-    private final int lineNumber;
+    private int lineNumber;
 
     /**
      * Creates a RepeatNode with the incoming BooleanCompareNode as its conditional,
@@ -74,6 +74,18 @@ public class RepeatNode extends StatementNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+        conditional.shiftLineNumbers(lineShift);
+
+        for (int i = 0; i < statements.size(); i++)
+        {
+            statements.get(i).shiftLineNumbers(lineShift);
+        }
+    }
+
     @Override
     public tokenType getType()
     {
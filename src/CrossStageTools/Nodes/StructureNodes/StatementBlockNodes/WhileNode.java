@@ -16,7 +16,7 @@ public class WhileNode extends StatementNode
 
     private final ArrayList<StatementNode> statements;
 
-    private final int lineNumber;
+    private int lineNumber;
 
     /**
      * Creates a WhileNode with the incoming BooleanCompareNode as its conditional,
@@ -75,6 +75,18 @@ public class WhileNode extends StatementNode
         return lineNumber;
     }
 
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+        conditional.shiftLineNumbers(lineShift);
+
+        for (int i = 0; i < statements.size(); i++)
+        {
+            statements.get(i).shiftLineNumbers(lineShift);
+        }
+    }
+
     @Override
     public tokenType getType()
     {
@@ -1,5 +1,7 @@
 /**
  * Describes a declared variable in the AST.
+ * Variables declared on the same line share the ASTNodes of their range, so shifting the line numbers of a
+ * VariableNode leaves its range alone, and FunctionNode shifts each range once.
  */
 
 package CrossStageTools.Nodes;
@@ -13,9 +15,11 @@ public class VariableNode extends ASTNode
     private final String name;
     private String value;
 
-    private tokenType type;
+    private tokenType type, arrayType;
 
-    private final int lineNumber;
+    private int lineNumber;
+    private int slot;
+    private int symbol = -1;
 
     private final boolean isChangeable;
     private boolean isRanged;
@@ -75,6 +79,26 @@ public class VariableNode extends ASTNode
         return name;
     }
 
+    /**
+     * Returns the symbol the SymbolTable gives this VariableNode's name.
+     *
+     * @return Symbol of this VariableNode's name, -1 if it was never interned.
+     */
+    public int getSymbol()
+    {
+        return symbol;
+    }
+
+    /**
+     * Sets the symbol of this VariableNode's name to the incoming int.
+     *
+     * @param incomingSymbol Incoming int.
+     */
+    public void setSymbol(int incomingSymbol)
+    {
+        symbol = incomingSymbol;
+    }
+
     @Override
     public tokenType getType()
     {
@@ -101,6 +125,26 @@ public class VariableNode extends ASTNode
         type = incomingType;
     }
 
+    /**
+     * Returns the type of each element of this VariableNode, if it is an array.
+     *
+     * @return Type of each element, null if this VariableNode is not an array.
+     */
+    public tokenType getArrayType()
+    {
+        return arrayType;
+    }
+
+    /**
+     * Sets the type of each element of this VariableNode, which is an array, to the incoming tokenType.
+     *
+     * @param incomingArrayType Incoming tokenType.
+     */
+    public void setArrayType(tokenType incomingArrayType)
+    {
+        arrayType = incomingArrayType;
+    }
+
     /**
      * Sets this VariableNode's value to the incoming String.
      *
@@ -131,6 +175,26 @@ public class VariableNode extends ASTNode
         higherRange = higher;
     }
 
+    /**
+     * Returns the index of this VariableNode in its function's frame, as assigned by Resolver.
+     *
+     * @return Index of this VariableNode in its function's frame.
+     */
+    public int getSlot()
+    {
+        return slot;
+    }
+
+    /**
+     * Sets the index of this VariableNode in its function's frame to the incoming int.
+     *
+     * @param incomingSlot Incoming int.
+     */
+    public void setSlot(int incomingSlot)
+    {
+        slot = incomingSlot;
+    }
+
     /**
      * Returns if this VariableNode is changeable, i.e. if it is variable.
      *
@@ -166,7 +230,8 @@ public class VariableNode extends ASTNode
 
         variableString += isChangeable ? "Variable " : "Constant ";
 
-        variableString += name + " of type " + type + " on line " + lineNumber;
+        variableString += name + " of type " + type + (arrayType == null ? "" : " of " + arrayType)
+                          + " on line " + lineNumber;
 
         variableString += value == null ? " with no value assigned" : " with value " + value;
 
@@ -180,4 +245,10 @@ public class VariableNode extends ASTNode
     {
         return lineNumber;
     }
+
+    @Override
+    public void shiftLineNumbers(int lineShift)
+    {
+        lineNumber += lineShift;
+    }
 }
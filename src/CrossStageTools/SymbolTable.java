@@ -0,0 +1,217 @@
+/**
+ * Interns the names and literals of one compilation into small int symbols.
+ * Each distinct name is stored once as a String and given the next symbol, starting at 0, so later stages can
+ * compare and index by symbol instead of hashing Strings.
+ * Interning a slice of a CharSequence that was already seen allocates nothing.
+ */
+
+package CrossStageTools;
+
+import java.util.Arrays;
+
+public class SymbolTable
+{
+    private String[] names;
+
+    private int[] hashes;
+
+    private int[] table;
+
+    private int size;
+
+    /**
+     * Constructs an empty SymbolTable.
+     */
+    public SymbolTable()
+    {
+        names = new String[64];
+        hashes = new int[64];
+        table = new int[128];
+        Arrays.fill(table, -1);
+    }
+
+    /**
+     * Returns the symbol of the incoming name, giving it a new symbol if it has none yet.
+     *
+     * @param name Incoming name.
+     * @return Symbol of name.
+     */
+    public int intern(CharSequence name)
+    {
+        return intern(name, 0, name.length());
+    }
+
+    /**
+     * Returns the symbol of the characters of the incoming CharSequence from the incoming start index to the incoming
+     * end index, end excluded, giving them a new symbol if they have none yet.
+     *
+     * @param source Incoming CharSequence.
+     * @param start Incoming start index.
+     * @param end Incoming end index.
+     * @return Symbol of the characters between start and end.
+     */
+    public int intern(CharSequence source, int start, int end)
+    {
+        int hash = hash(source, start, end);
+        int mask = table.length - 1;
+
+        for (int i = hash & mask; ; i = (i + 1) & mask)
+        {
+            int symbol = table[i];
+
+            if (symbol == -1)
+            {
+                return add(source.subSequence(start, end).toString(), hash, i);
+            }
+            if (hashes[symbol] == hash && matches(names[symbol], source, start, end))
+            {
+                return symbol;
+            }
+        }
+    }
+
+    /**
+     * Returns the symbol of the incoming name without interning it.
+     *
+     * @param name Incoming name.
+     * @return Symbol of name, -1 if it was never interned.
+     */
+    public int lookup(String name)
+    {
+        int hash = hash(name, 0, name.length());
+        int mask = table.length - 1;
+
+        for (int i = hash & mask; table[i] != -1; i = (i + 1) & mask)
+        {
+            int symbol = table[i];
+
+            if (hashes[symbol] == hash && names[symbol].equals(name))
+            {
+                return symbol;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the name the incoming symbol stands for.
+     *
+     * @param symbol Incoming symbol.
+     * @return Name of symbol.
+     */
+    public String getName(int symbol)
+    {
+        return names[symbol];
+    }
+
+    /**
+     * Returns the number of symbols in this SymbolTable, which is one more than the highest symbol.
+     *
+     * @return Number of symbols.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Gives the incoming name the next symbol and stores it in the incoming empty table position.
+     *
+     * @param name Incoming name.
+     * @param hash Incoming hash of name.
+     * @param position Incoming empty table position.
+     * @return Symbol given to name.
+     */
+    private int add(String name, int hash, int position)
+    {
+        if (size == names.length)
+        {
+            names = Arrays.copyOf(names, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+
+        names[size] = name;
+        hashes[size] = hash;
+        table[position] = size;
+
+        if (++size * 2 > table.length)
+        {
+            rehash();
+        }
+
+        return size - 1;
+    }
+
+    /**
+     * Doubles the length of the table and reinserts every symbol.
+     */
+    private void rehash()
+    {
+        table = new int[table.length * 2];
+        Arrays.fill(table, -1);
+
+        int mask = table.length - 1;
+
+        for (int symbol = 0; symbol < size; symbol++)
+        {
+            int i = hashes[symbol] & mask;
+
+            while (table[i] != -1)
+            {
+                i = (i + 1) & mask;
+            }
+
+            table[i] = symbol;
+        }
+    }
+
+    /**
+     * Returns the String.hashCode() of the characters of the incoming CharSequence from the incoming start index to
+     * the incoming end index, with its high bits mixed into its low bits so similar names land apart in the table.
+     *
+     * @param source Incoming CharSequence.
+     * @param start Incoming start index.
+     * @param end Incoming end index.
+     * @return Hash of the characters between start and end.
+     */
+    private static int hash(CharSequence source, int start, int end)
+    {
+        int hash = 0;
+
+        for (int i = start; i < end; i++)
+        {
+            hash = 31 * hash + source.charAt(i);
+        }
+
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Checks and returns if the incoming name holds exactly the characters of the incoming CharSequence from the
+     * incoming start index to the incoming end index.
+     *
+     * @param name Incoming name.
+     * @param source Incoming CharSequence.
+     * @param start Incoming start index.
+     * @param end Incoming end index.
+     * @return True if name equals the characters between start and end.
+     */
+    private static boolean matches(String name, CharSequence source, int start, int end)
+    {
+        if (name.length() != end - start)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < name.length(); i++)
+        {
+            if (name.charAt(i) != source.charAt(start + i))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
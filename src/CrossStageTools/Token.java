@@ -83,6 +83,16 @@ public class Token
         return value == null ? "no value" : value;
     }
 
+    /**
+     * Checks and returns if this Token has a value String.
+     *
+     * @return True if this Token has a value String.
+     */
+    public boolean hasValue()
+    {
+        return value != null;
+    }
+
     /**
      * Adds the incoming char to this Token's value String.
      *
@@ -0,0 +1,445 @@
+/**
+ * Stores a series of Tokens as parallel int arrays instead of Token objects.
+ * Each Token is its tokenType's ordinal, its line number, the offset of its value in one char array shared by
+ * every Token, where its value runs up to the next Token's offset, and its symbol. Identifiers and string literals
+ * are interned into a SymbolTable and keep only their symbol, while numbers and character literals keep their chars.
+ * A Token costs four ints plus its value's chars, and nothing is allocated per Token.
+ * Tokens can still be read as Token objects, which are created on request as views of the stored data.
+ */
+
+package CrossStageTools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class TokenBuffer
+{
+    private static final tokenType[] TYPES = tokenType.values();
+
+    private static final int HAS_VALUE = 1, HAS_SYMBOL = 2;
+
+    private static final int FLAG_BITS = 2;
+
+    private final SymbolTable symbolTable;
+
+    private int[] types, lineNumbers, valueOffsets, symbols;
+
+    private char[] values;
+
+    private int size, valuesSize;
+
+    /**
+     * Constructs an empty TokenBuffer with a new SymbolTable.
+     */
+    public TokenBuffer()
+    {
+        this(new SymbolTable());
+    }
+
+    /**
+     * Constructs an empty TokenBuffer interning into the incoming SymbolTable.
+     *
+     * @param incomingSymbolTable Incoming SymbolTable.
+     */
+    public TokenBuffer(SymbolTable incomingSymbolTable)
+    {
+        symbolTable = incomingSymbolTable;
+
+        types = new int[256];
+        lineNumbers = new int[256];
+        valueOffsets = new int[256];
+        symbols = new int[256];
+        values = new char[1024];
+    }
+
+    /**
+     * Constructs a TokenBuffer holding the Tokens in the incoming Token ArrayList, in order.
+     *
+     * @param incomingTokenList Incoming Token ArrayList.
+     */
+    public TokenBuffer(ArrayList<Token> incomingTokenList)
+    {
+        this();
+
+        for (int i = 0; i < incomingTokenList.size(); i++)
+        {
+            Token currentToken = incomingTokenList.get(i);
+
+            if (isInterned(currentToken.getType()))
+            {
+                addSymbol(currentToken.getType(), currentToken.getValue(), 0, currentToken.getValue().length(),
+                          currentToken.getLineNumber());
+            }
+            else if (currentToken.hasValue())
+            {
+                add(currentToken.getType(), currentToken.getValue(), currentToken.getLineNumber());
+            }
+            else add(currentToken.getType(), currentToken.getLineNumber());
+        }
+    }
+
+    /**
+     * Appends a Token with the incoming tokenType, no value and the incoming line number.
+     *
+     * @param type Incoming tokenType.
+     * @param lineNumber Incoming line number.
+     */
+    public void add(tokenType type, int lineNumber)
+    {
+        ensureTokenCapacity();
+
+        types[size] = type.ordinal() << FLAG_BITS;
+        lineNumbers[size] = lineNumber;
+        valueOffsets[size] = valuesSize;
+        symbols[size] = -1;
+        size++;
+    }
+
+    /**
+     * Appends a Token with the incoming tokenType, the incoming value and the incoming line number.
+     *
+     * @param type Incoming tokenType.
+     * @param value Incoming value.
+     * @param lineNumber Incoming line number.
+     */
+    public void add(tokenType type, CharSequence value, int lineNumber)
+    {
+        add(type, value, 0, value.length(), lineNumber);
+    }
+
+    /**
+     * Appends a Token with the incoming tokenType, the incoming line number and as its value the characters of the
+     * incoming CharSequence from the incoming start index to the incoming end index, end excluded.
+     *
+     * @param type Incoming tokenType.
+     * @param source Incoming CharSequence.
+     * @param start Incoming start index.
+     * @param end Incoming end index.
+     * @param lineNumber Incoming line number.
+     */
+    public void add(tokenType type, CharSequence source, int start, int end, int lineNumber)
+    {
+        ensureTokenCapacity();
+        ensureValueCapacity(end - start);
+
+        for (int i = start; i < end; i++)
+        {
+            values[valuesSize + i - start] = source.charAt(i);
+        }
+
+        types[size] = type.ordinal() << FLAG_BITS | HAS_VALUE;
+        lineNumbers[size] = lineNumber;
+        valueOffsets[size] = valuesSize;
+        symbols[size] = -1;
+        valuesSize += end - start;
+        size++;
+    }
+
+    /**
+     * Appends a Token with the incoming tokenType and the incoming line number whose value is the symbol the
+     * SymbolTable gives the characters of the incoming CharSequence from the incoming start index to the incoming end
+     * index, end excluded.
+     *
+     * @param type Incoming tokenType.
+     * @param source Incoming CharSequence.
+     * @param start Incoming start index.
+     * @param end Incoming end index.
+     * @param lineNumber Incoming line number.
+     */
+    public void addSymbol(tokenType type, CharSequence source, int start, int end, int lineNumber)
+    {
+        ensureTokenCapacity();
+
+        types[size] = type.ordinal() << FLAG_BITS | HAS_VALUE | HAS_SYMBOL;
+        lineNumbers[size] = lineNumber;
+        valueOffsets[size] = valuesSize;
+        symbols[size] = symbolTable.intern(source, start, end);
+        size++;
+    }
+
+    /**
+     * Appends every Token in the incoming TokenBuffer, in order.
+     * If it interns into another SymbolTable, its symbols are interned again into this TokenBuffer's SymbolTable,
+     * once per symbol, in the order they were first given.
+     *
+     * @param other Incoming TokenBuffer.
+     */
+    public void addAll(TokenBuffer other)
+    {
+        while (types.length < size + other.size)
+        {
+            growTokenArrays();
+        }
+        ensureValueCapacity(other.valuesSize);
+
+        System.arraycopy(other.types, 0, types, size, other.size);
+        System.arraycopy(other.lineNumbers, 0, lineNumbers, size, other.size);
+        System.arraycopy(other.symbols, 0, symbols, size, other.size);
+        System.arraycopy(other.values, 0, values, valuesSize, other.valuesSize);
+
+        for (int i = 0; i < other.size; i++)
+        {
+            valueOffsets[size + i] = other.valueOffsets[i] + valuesSize;
+        }
+
+        if (other.symbolTable != symbolTable)
+        {
+            int[] newSymbols = new int[other.symbolTable.size()];
+
+            for (int i = 0; i < newSymbols.length; i++)
+            {
+                newSymbols[i] = symbolTable.intern(other.symbolTable.getName(i));
+            }
+
+            for (int i = size; i < size + other.size; i++)
+            {
+                if (symbols[i] != -1)
+                {
+                    symbols[i] = newSymbols[symbols[i]];
+                }
+            }
+        }
+
+        size += other.size;
+        valuesSize += other.valuesSize;
+    }
+
+    /**
+     * Removes the incoming number of Tokens from the start of this TokenBuffer, moving the rest to the front.
+     *
+     * @param count Incoming number of Tokens.
+     */
+    public void removeFirst(int count)
+    {
+        int droppedChars = count < size ? valueOffsets[count] : valuesSize;
+
+        System.arraycopy(types, count, types, 0, size - count);
+        System.arraycopy(lineNumbers, count, lineNumbers, 0, size - count);
+        System.arraycopy(valueOffsets, count, valueOffsets, 0, size - count);
+        System.arraycopy(symbols, count, symbols, 0, size - count);
+        System.arraycopy(values, droppedChars, values, 0, valuesSize - droppedChars);
+
+        size -= count;
+        valuesSize -= droppedChars;
+
+        for (int i = 0; i < size; i++)
+        {
+            valueOffsets[i] -= droppedChars;
+        }
+    }
+
+    /**
+     * Adds the incoming number of lines to the line number of every Token, for Tokens whose source moved up or down.
+     *
+     * @param lineCount Incoming number of lines, negative to move up.
+     */
+    public void shiftLineNumbers(int lineCount)
+    {
+        for (int i = 0; i < size; i++)
+        {
+            lineNumbers[i] += lineCount;
+        }
+    }
+
+    /**
+     * Removes every Token from this TokenBuffer, keeping its arrays for reuse.
+     */
+    public void clear()
+    {
+        size = 0;
+        valuesSize = 0;
+    }
+
+    /**
+     * Returns the number of Tokens in this TokenBuffer.
+     *
+     * @return Number of Tokens.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the tokenType of the Token at the incoming index.
+     *
+     * @param index Incoming index.
+     * @return tokenType of the Token at index.
+     */
+    public tokenType getType(int index)
+    {
+        return TYPES[types[index] >> FLAG_BITS];
+    }
+
+    /**
+     * Returns the line number of the Token at the incoming index.
+     *
+     * @param index Incoming index.
+     * @return Line number of the Token at index.
+     */
+    public int getLineNumber(int index)
+    {
+        return lineNumbers[index];
+    }
+
+    /**
+     * Checks and returns if the Token at the incoming index has a value.
+     *
+     * @param index Incoming index.
+     * @return True if the Token at index has a value.
+     */
+    public boolean hasValue(int index)
+    {
+        return (types[index] & HAS_VALUE) != 0;
+    }
+
+    /**
+     * Returns the symbol of the Token at the incoming index.
+     *
+     * @param index Incoming index.
+     * @return Symbol of the Token at index, -1 if its value was not interned.
+     */
+    public int getSymbol(int index)
+    {
+        return symbols[index];
+    }
+
+    /**
+     * Returns the value of the Token at the incoming index, which is the SymbolTable's String for an interned value
+     * and a new String otherwise.
+     *
+     * @param index Incoming index.
+     * @return Value of the Token at index, null if it has none.
+     */
+    public String getValue(int index)
+    {
+        if ((types[index] & HAS_SYMBOL) != 0)
+        {
+            return symbolTable.getName(symbols[index]);
+        }
+
+        return hasValue(index) ? new String(values, valueOffsets[index], getValueEnd(index) - valueOffsets[index])
+                               : null;
+    }
+
+    /**
+     * Returns the SymbolTable this TokenBuffer interns into.
+     *
+     * @return SymbolTable of this TokenBuffer.
+     */
+    public SymbolTable getSymbolTable()
+    {
+        return symbolTable;
+    }
+
+    /**
+     * Checks and returns if Tokens of the incoming tokenType have their values interned.
+     *
+     * @param type Incoming tokenType.
+     * @return True for IDENTIFIER and STRINGLITERAL.
+     */
+    public static boolean isInterned(tokenType type)
+    {
+        return type == tokenType.IDENTIFIER || type == tokenType.STRINGLITERAL;
+    }
+
+    /**
+     * Checks and returns if the Token at the incoming index describes a real number.
+     *
+     * @param index Incoming index.
+     * @return True if the Token at index is a NUMBER whose value holds a decimal point.
+     */
+    public boolean isRealNumber(int index)
+    {
+        if (getType(index) != tokenType.NUMBER)
+        {
+            return false;
+        }
+
+        for (int i = valueOffsets[index]; i < getValueEnd(index); i++)
+        {
+            if (values[i] == '.')
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Creates and returns a Token holding the data of the Token at the incoming index.
+     *
+     * @param index Incoming index.
+     * @return Token at index.
+     */
+    public Token getToken(int index)
+    {
+        return hasValue(index) ? new Token(getType(index), getValue(index), lineNumbers[index])
+                               : new Token(getType(index), lineNumbers[index]);
+    }
+
+    /**
+     * Creates and returns a Token ArrayList holding every Token in this TokenBuffer, in order.
+     *
+     * @return Token ArrayList of this TokenBuffer.
+     */
+    public ArrayList<Token> toTokenList()
+    {
+        ArrayList<Token> tokenList = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++)
+        {
+            tokenList.add(getToken(i));
+        }
+
+        return tokenList;
+    }
+
+    /**
+     * Returns the offset just past the value of the Token at the incoming index, which is where the next Token's
+     * value starts.
+     *
+     * @param index Incoming index.
+     * @return Offset just past the value of the Token at index.
+     */
+    private int getValueEnd(int index)
+    {
+        return index + 1 < size ? valueOffsets[index + 1] : valuesSize;
+    }
+
+    /**
+     * Doubles the length of the per Token arrays if they are full.
+     */
+    private void ensureTokenCapacity()
+    {
+        if (size == types.length)
+        {
+            growTokenArrays();
+        }
+    }
+
+    /**
+     * Doubles the length of the per Token arrays.
+     */
+    private void growTokenArrays()
+    {
+        types = Arrays.copyOf(types, types.length * 2);
+        lineNumbers = Arrays.copyOf(lineNumbers, lineNumbers.length * 2);
+        valueOffsets = Arrays.copyOf(valueOffsets, valueOffsets.length * 2);
+        symbols = Arrays.copyOf(symbols, symbols.length * 2);
+    }
+
+    /**
+     * Grows the shared char array until it can hold the incoming number of additional characters.
+     *
+     * @param additionalChars Incoming number of additional characters.
+     */
+    private void ensureValueCapacity(int additionalChars)
+    {
+        if (valuesSize + additionalChars > values.length)
+        {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, valuesSize + additionalChars));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * Describes anything that produces Tokens a few at a time, so a TokenStream can be read while its Tokens are still
+ * being created.
+ */
+
+package CrossStageTools;
+
+public interface TokenSource
+{
+    /**
+     * Appends the next Tokens this TokenSource produces to the incoming TokenBuffer.
+     *
+     * @param tokenBuffer Incoming TokenBuffer.
+     * @return False if this TokenSource has no Tokens left and appended none, true otherwise.
+     */
+    boolean produce(TokenBuffer tokenBuffer);
+
+    /**
+     * Returns the SymbolTable the Tokens this TokenSource produces are interned into.
+     *
+     * @return SymbolTable of this TokenSource.
+     */
+    SymbolTable getSymbolTable();
+
+    /**
+     * Releases whatever this TokenSource reads its Tokens from, even if it was not read to its end.
+     */
+    void close();
+}
@@ -0,0 +1,284 @@
+/**
+ * Describes a cursor over a series of Tokens held in a TokenBuffer.
+ * Advancing, peeking, marking and resetting are all constant time, and the underlying Tokens are never modified.
+ * The type, value and line number of a Token can be peeked without creating a Token object.
+ * A TokenStream over a TokenSource asks it for Tokens only when the cursor reaches them, and drops the Tokens behind
+ * both the cursor and the latest mark, so only a small window of Tokens is ever held at once, until the source is
+ * read to its end. Closing a TokenStream closes its TokenSource, so a source abandoned after an error is not leaked.
+ */
+
+package CrossStageTools;
+
+import java.util.ArrayList;
+
+public class TokenStream implements AutoCloseable
+{
+    private static final int DROP_THRESHOLD = 4096;
+
+    private final TokenBuffer tokenBuffer;
+
+    private final TokenSource source;
+
+    private int position, dropped, markedPosition;
+
+    private boolean isSourceExhausted;
+
+    /**
+     * Constructs a TokenStream over the incoming Token ArrayList with its cursor at the first Token.
+     *
+     * @param incomingTokenList Incoming Token ArrayList.
+     */
+    public TokenStream(ArrayList<Token> incomingTokenList)
+    {
+        this(new TokenBuffer(incomingTokenList));
+    }
+
+    /**
+     * Constructs a TokenStream over the incoming TokenBuffer with its cursor at the first Token.
+     *
+     * @param incomingTokenBuffer Incoming TokenBuffer.
+     */
+    public TokenStream(TokenBuffer incomingTokenBuffer)
+    {
+        tokenBuffer = incomingTokenBuffer;
+        source = null;
+
+        position = 0;
+        markedPosition = -1;
+        isSourceExhausted = true;
+    }
+
+    /**
+     * Constructs a TokenStream reading Tokens from the incoming TokenSource as they are needed,
+     * with its cursor at the first Token.
+     *
+     * @param incomingSource Incoming TokenSource.
+     */
+    public TokenStream(TokenSource incomingSource)
+    {
+        tokenBuffer = new TokenBuffer(incomingSource.getSymbolTable());
+        source = incomingSource;
+
+        position = 0;
+        markedPosition = -1;
+        isSourceExhausted = false;
+    }
+
+    /**
+     * Checks and returns if every Token in this TokenStream has been consumed.
+     *
+     * @return True if the cursor is past the last Token.
+     */
+    public boolean isAtEnd()
+    {
+        return !fill(position);
+    }
+
+    /**
+     * Creates and returns the Token the incoming number of Tokens ahead of the cursor without consuming it.
+     * A Token of type NONE is returned when peeking past the end of this TokenStream.
+     *
+     * @param offset Incoming number of Tokens ahead of the cursor.
+     * @return Token offset Tokens ahead of the cursor.
+     */
+    public Token peek(int offset)
+    {
+        int index = position + offset;
+
+        return fill(index) ? tokenBuffer.getToken(index) : new Token(tokenType.NONE, -1);
+    }
+
+    /**
+     * Returns the tokenType of the Token the incoming number of Tokens ahead of the cursor without consuming it.
+     *
+     * @param offset Incoming number of Tokens ahead of the cursor.
+     * @return tokenType offset Tokens ahead of the cursor, NONE past the end of this TokenStream.
+     */
+    public tokenType peekType(int offset)
+    {
+        int index = position + offset;
+
+        return fill(index) ? tokenBuffer.getType(index) : tokenType.NONE;
+    }
+
+    /**
+     * Returns the value of the Token the incoming number of Tokens ahead of the cursor without consuming it.
+     *
+     * @param offset Incoming number of Tokens ahead of the cursor.
+     * @return Value offset Tokens ahead of the cursor, null if it has none or is past the end of this TokenStream.
+     */
+    public String peekValue(int offset)
+    {
+        int index = position + offset;
+
+        return fill(index) ? tokenBuffer.getValue(index) : null;
+    }
+
+    /**
+     * Returns the symbol of the Token the incoming number of Tokens ahead of the cursor without consuming it.
+     *
+     * @param offset Incoming number of Tokens ahead of the cursor.
+     * @return Symbol offset Tokens ahead of the cursor, -1 if it has none or is past the end of this TokenStream.
+     */
+    public int peekSymbol(int offset)
+    {
+        int index = position + offset;
+
+        return fill(index) ? tokenBuffer.getSymbol(index) : -1;
+    }
+
+    /**
+     * Returns the SymbolTable the Tokens of this TokenStream are interned into.
+     *
+     * @return SymbolTable of this TokenStream.
+     */
+    public SymbolTable getSymbolTable()
+    {
+        return tokenBuffer.getSymbolTable();
+    }
+
+    /**
+     * Checks and returns if the Token the incoming number of Tokens ahead of the cursor describes a real number.
+     *
+     * @param offset Incoming number of Tokens ahead of the cursor.
+     * @return True if the Token offset Tokens ahead of the cursor is a NUMBER holding a decimal point.
+     */
+    public boolean isRealNumber(int offset)
+    {
+        int index = position + offset;
+
+        return fill(index) && tokenBuffer.isRealNumber(index);
+    }
+
+    /**
+     * Consumes the Token at the cursor, if this TokenStream is not at its end.
+     */
+    public void advance()
+    {
+        if (isAtEnd())
+        {
+            return;
+        }
+
+        position++;
+
+        if (source != null && !isSourceExhausted && getDroppableCount() >= DROP_THRESHOLD)
+        {
+            int count = getDroppableCount();
+
+            tokenBuffer.removeFirst(count);
+            position -= count;
+            dropped += count;
+        }
+    }
+
+    /**
+     * Returns the position of the cursor, counting every Token consumed so far.
+     *
+     * @return Position of the cursor.
+     */
+    public int getPosition()
+    {
+        return dropped + position;
+    }
+
+    /**
+     * Creates and returns a TokenStream over the same Tokens with its cursor the incoming number of Tokens ahead of
+     * this one's. Every Token of the source is read first, after which no Token is dropped, and the Tokens are
+     * shared, not copied, so TokenStreams copied this way stay valid and can be read from several threads.
+     *
+     * @param offset Incoming number of Tokens ahead of the cursor.
+     * @return TokenStream over the Tokens of this TokenStream.
+     */
+    public TokenStream copyAt(int offset)
+    {
+        remaining();
+
+        TokenStream copy = new TokenStream(tokenBuffer);
+        copy.position = position + offset;
+
+        return copy;
+    }
+
+    /**
+     * Returns the current position of the cursor, to be handed back to reset().
+     * A TokenStream over a TokenSource keeps every Token from the latest mark onward.
+     *
+     * @return Current position of the cursor.
+     */
+    public int mark()
+    {
+        markedPosition = dropped + position;
+
+        return markedPosition;
+    }
+
+    /**
+     * Moves the cursor back to the incoming position, previously returned by mark().
+     *
+     * @param incomingPosition Incoming position.
+     * @throws IllegalStateException If the Tokens at incomingPosition were already dropped.
+     */
+    public void reset(int incomingPosition)
+    {
+        if (incomingPosition < dropped)
+        {
+            throw new IllegalStateException("Cannot reset to position " + incomingPosition
+                    + ", which is behind the latest mark.");
+        }
+
+        position = incomingPosition - dropped;
+    }
+
+    /**
+     * Returns the number of Tokens left to consume, which for a TokenStream over a TokenSource means reading the
+     * rest of the source.
+     *
+     * @return Number of Tokens left to consume.
+     */
+    public int remaining()
+    {
+        while (fill(tokenBuffer.size()))
+        {}
+
+        return Math.max(tokenBuffer.size() - position, 0);
+    }
+
+    @Override
+    public void close()
+    {
+        if (source != null)
+        {
+            source.close();
+        }
+
+        isSourceExhausted = true;
+    }
+
+    /**
+     * Asks the TokenSource for Tokens until the incoming index of the TokenBuffer holds one, or the source has none
+     * left.
+     *
+     * @param index Incoming index.
+     * @return True if index holds a Token.
+     */
+    private boolean fill(int index)
+    {
+        while (index >= tokenBuffer.size() && !isSourceExhausted)
+        {
+            isSourceExhausted = !source.produce(tokenBuffer);
+        }
+
+        return index < tokenBuffer.size();
+    }
+
+    /**
+     * Returns how many Tokens at the start of the TokenBuffer are behind both the cursor and the latest mark.
+     *
+     * @return Number of Tokens that can be dropped.
+     */
+    private int getDroppableCount()
+    {
+        return markedPosition == -1 ? position : Math.min(position, markedPosition - dropped);
+    }
+}
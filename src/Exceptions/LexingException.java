@@ -0,0 +1,16 @@
+/**
+ * Thrown through a TokenStream when the Lexer producing its Tokens finds an error or cannot read its source.
+ * It is unchecked because the Parser only sees it while peeking or advancing, long after lexing started.
+ */
+
+package Exceptions;
+
+public class LexingException extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+
+    public LexingException(Exception cause)
+    {
+        super(cause.getMessage(), cause);
+    }
+}
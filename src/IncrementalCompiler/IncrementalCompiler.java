@@ -0,0 +1,504 @@
+/**
+ * Compiles a Kakuzaki source once, then keeps it compiled as lines of it are edited, redoing only the work an edit
+ * touches.
+ * The source is kept as chunks, each beginning at a line with a top-level define and holding the Tokens of that one
+ * function, lexed into a SymbolTable shared by every chunk. An edit re-lexes and re-parses only the chunks holding the
+ * edited lines, then resolves, folds and type checks only the functions they define, replacing the old ones in the
+ * ProgramNode; every other function is reused as it is.
+ * Edits that add or remove lines move the functions after them, whose line numbers are kept in their nodes, so the
+ * line numbers of those functions and their kept Tokens are shifted in place, without lexing or parsing them again.
+ * Edits that change what a function takes, or which functions exist, have every function type checked again, since
+ * calls to it may have changed.
+ */
+
+package IncrementalCompiler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import CrossStageTools.SymbolTable;
+import CrossStageTools.TokenBuffer;
+import CrossStageTools.Nodes.FunctionNode;
+import CrossStageTools.Nodes.ProgramNode;
+import CrossStageTools.Nodes.VariableNode;
+import Lexer.Lexer;
+import Optimizer.ConstantFolder;
+import Parser.Parser;
+import SemanticAnalysis.Resolver;
+import SemanticAnalysis.TypeChecker;
+
+public class IncrementalCompiler
+{
+    private final ArrayList<String> lines;
+
+    private final SymbolTable symbolTable;
+
+    private final ProgramNode program;
+
+    private final ArrayList<Integer> chunkStarts;
+
+    private final ArrayList<TokenBuffer> chunkTokens;
+
+    private final ArrayList<FunctionNode> chunkFunctions;
+
+    /**
+     * Creates an IncrementalCompiler holding the incoming lines, and compiles them together with the incoming
+     * builtin functions: every chunk is lexed and parsed, then the program is resolved, folded and type checked.
+     *
+     * @param incomingLines Incoming lines, which this IncrementalCompiler keeps and edits.
+     * @param builtInFunctions Incoming HashMap from String to builtin FunctionNode.
+     * @throws Exception If the source fails to lex, parse, resolve or type check.
+     */
+    public IncrementalCompiler(ArrayList<String> incomingLines, HashMap<String, FunctionNode> builtInFunctions)
+            throws Exception
+    {
+        lines = incomingLines;
+        symbolTable = new SymbolTable();
+        program = new ProgramNode(new HashMap<>(), symbolTable);
+
+        chunkStarts = new ArrayList<>();
+        chunkTokens = new ArrayList<>();
+        chunkFunctions = new ArrayList<>();
+
+        int start = 0;
+
+        do
+        {
+            start = lexChunk(start, chunkStarts, chunkTokens);
+        }
+        while (start < lines.size());
+
+        for (int i = 0; i < chunkTokens.size(); i++)
+        {
+            FunctionNode function = parseChunk(chunkTokens.get(i), chunkStarts.get(i));
+
+            chunkFunctions.add(function);
+
+            if (function != null)
+            {
+                program.addFunction(function);
+            }
+        }
+
+        new Resolver(program).resolve();
+        new ConstantFolder(program).fold();
+
+        program.addMap(builtInFunctions);
+
+        new TypeChecker(program).check();
+    }
+
+    /**
+     * Returns the compiled program, kept up to date by edit().
+     *
+     * @return Compiled ProgramNode.
+     */
+    public ProgramNode getProgram()
+    {
+        return program;
+    }
+
+    /**
+     * Returns the lines of the source as last edited.
+     *
+     * @return Lines of the source.
+     */
+    public ArrayList<String> getLines()
+    {
+        return lines;
+    }
+
+    /**
+     * Replaces the lines from the incoming first line number to the incoming last line number, both included and
+     * counted from 1, with the incoming replacement lines, then recompiles what the edit touched.
+     * A last line number one less than the first inserts the replacement lines before the first without replacing
+     * any. If the edited source fails to compile, the functions around the edit are left out of the program, and the
+     * next edit compiles them again.
+     *
+     * @param firstLineNumber Incoming first line number.
+     * @param lastLineNumber Incoming last line number.
+     * @param replacementLines Incoming replacement lines.
+     * @return Compiled ProgramNode.
+     * @throws Exception If the edited source fails to lex, parse, resolve or type check.
+     */
+    public ProgramNode edit(int firstLineNumber, int lastLineNumber, ArrayList<String> replacementLines)
+            throws Exception
+    {
+        int from = firstLineNumber - 1, to = lastLineNumber;
+
+        if (from < 0 || to < from || to > lines.size())
+        {
+            throw new IllegalArgumentException("Lines " + firstLineNumber + " to " + lastLineNumber
+                    + " are not in a source of " + lines.size() + " lines.");
+        }
+
+        int lineShift = replacementLines.size() - (to - from);
+        int firstChunk = getChunkIndex(Math.max(from - 1, 0));
+        int lastChunk = getChunkIndex(Math.max(to - 1, from));
+
+        for (int i = 0; i < chunkTokens.size(); i++)
+        {
+            if (chunkTokens.get(i) == null)
+            {
+                firstChunk = Math.min(firstChunk, i);
+                lastChunk = Math.max(lastChunk, i);
+            }
+        }
+
+        lines.subList(from, to).clear();
+        lines.addAll(from, replacementLines);
+
+        ArrayList<FunctionNode> oldFunctions = new ArrayList<>();
+
+        for (int i = firstChunk; i <= lastChunk; i++)
+        {
+            if (chunkFunctions.get(i) != null)
+            {
+                oldFunctions.add(chunkFunctions.get(i));
+                program.removeFunction(chunkFunctions.get(i));
+            }
+        }
+
+        try
+        {
+            if (lineShift != 0)
+            {
+                moveChunks(lastChunk + 1, lineShift);
+            }
+
+            recompileChunks(firstChunk, lastChunk, to + lineShift, lineShift, oldFunctions);
+        }
+        catch (Exception e)
+        {
+            markBroken(firstChunk, lastChunk);
+            throw e;
+        }
+
+        return program;
+    }
+
+    /**
+     * Lexes and parses again the chunks from the incoming first chunk index to the incoming last chunk index, both
+     * included, after their lines were edited, going on past them until a chunk ends at or after the incoming line
+     * index, where the edit ends, at the start of a chunk left as it was. Their functions replace the incoming old
+     * FunctionNodes in the program once they are resolved, folded and type checked, and are taken out of it again if
+     * that fails, so a rejected function is never left for later edits to be checked against.
+     *
+     * @param firstChunk Incoming first chunk index.
+     * @param lastChunk Incoming last chunk index.
+     * @param editEnd Incoming line index just past the edit.
+     * @param lineShift Incoming number of lines the edit added, negative if it removed lines.
+     * @param oldFunctions Incoming old FunctionNodes, already removed from the program.
+     * @throws Exception If the chunks fail to lex, parse, resolve or type check.
+     */
+    private void recompileChunks(int firstChunk, int lastChunk, int editEnd, int lineShift,
+                                 ArrayList<FunctionNode> oldFunctions) throws Exception
+    {
+        ArrayList<Integer> newStarts = new ArrayList<>();
+        ArrayList<TokenBuffer> newTokens = new ArrayList<>();
+        int nextChunk = lastChunk + 1;
+        int start = chunkStarts.get(firstChunk);
+
+        while (start < lines.size() || newStarts.isEmpty())
+        {
+            start = lexChunk(start, newStarts, newTokens);
+
+            if (start >= editEnd)
+            {
+                while (nextChunk < chunkStarts.size() && chunkStarts.get(nextChunk) < start)
+                {
+                    oldFunctions.add(chunkFunctions.get(nextChunk));
+                    program.removeFunction(chunkFunctions.get(nextChunk));
+                    nextChunk++;
+                }
+
+                if (nextChunk < chunkStarts.size() && chunkStarts.get(nextChunk) == start)
+                {
+                    break;
+                }
+            }
+        }
+
+        ArrayList<FunctionNode> newFunctions = new ArrayList<>();
+
+        for (int i = 0; i < newTokens.size(); i++)
+        {
+            newFunctions.add(parseChunk(newTokens.get(i), newStarts.get(i)));
+        }
+
+        try
+        {
+            checkFunctions(oldFunctions, newFunctions);
+        }
+        catch (Exception e)
+        {
+            for (int i = 0; i < newFunctions.size(); i++)
+            {
+                if (newFunctions.get(i) != null)
+                {
+                    program.removeFunction(newFunctions.get(i));
+                }
+            }
+
+            throw e;
+        }
+
+        chunkStarts.subList(firstChunk, nextChunk).clear();
+        chunkTokens.subList(firstChunk, nextChunk).clear();
+        chunkFunctions.subList(firstChunk, nextChunk).clear();
+
+        chunkStarts.addAll(firstChunk, newStarts);
+        chunkTokens.addAll(firstChunk, newTokens);
+        chunkFunctions.addAll(firstChunk, newFunctions);
+    }
+
+    /**
+     * Adds the incoming new FunctionNodes to the program, then resolves, folds and type checks them. The whole program
+     * is type checked if they do not take the same parameters as the incoming old FunctionNodes they replace.
+     *
+     * @param oldFunctions Incoming old FunctionNodes, already removed from the program.
+     * @param newFunctions Incoming new FunctionNodes, null for a chunk that defines no function.
+     * @throws Exception If the new functions fail to resolve or type check.
+     */
+    private void checkFunctions(ArrayList<FunctionNode> oldFunctions, ArrayList<FunctionNode> newFunctions)
+            throws Exception
+    {
+        Resolver resolver = new Resolver(program);
+        ConstantFolder folder = new ConstantFolder(program);
+
+        for (int i = 0; i < newFunctions.size(); i++)
+        {
+            if (newFunctions.get(i) != null)
+            {
+                program.addFunction(newFunctions.get(i));
+                resolver.resolveFunction(newFunctions.get(i));
+                folder.foldFunction(newFunctions.get(i));
+            }
+        }
+
+        if (!haveSameSignatures(oldFunctions, newFunctions))
+        {
+            new TypeChecker(program).check();
+        }
+        else
+        {
+            TypeChecker checker = new TypeChecker(program);
+
+            for (int i = 0; i < newFunctions.size(); i++)
+            {
+                if (newFunctions.get(i) != null)
+                {
+                    checker.checkFunction(newFunctions.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the chunks from the incoming chunk index on by the incoming number of lines, shifting the line numbers
+     * kept in their Tokens and in the nodes of their functions, which stay in the program as they are.
+     *
+     * @param firstChunk Incoming chunk index.
+     * @param lineShift Incoming number of lines, negative to move up.
+     */
+    private void moveChunks(int firstChunk, int lineShift)
+    {
+        for (int i = firstChunk; i < chunkStarts.size(); i++)
+        {
+            chunkStarts.set(i, chunkStarts.get(i) + lineShift);
+
+            if (chunkTokens.get(i) != null)
+            {
+                chunkTokens.get(i).shiftLineNumbers(lineShift);
+            }
+            if (chunkFunctions.get(i) != null)
+            {
+                chunkFunctions.get(i).shiftLineNumbers(lineShift);
+            }
+        }
+    }
+
+    /**
+     * Replaces the chunks from the incoming first chunk index to the incoming last chunk index, both included, with a
+     * single chunk starting where the first did that holds no Tokens and no function, so the next edit compiles its
+     * lines again.
+     *
+     * @param firstChunk Incoming first chunk index.
+     * @param lastChunk Incoming last chunk index.
+     */
+    private void markBroken(int firstChunk, int lastChunk)
+    {
+        chunkStarts.subList(firstChunk + 1, lastChunk + 1).clear();
+        chunkTokens.subList(firstChunk + 1, lastChunk + 1).clear();
+        chunkFunctions.subList(firstChunk + 1, lastChunk + 1).clear();
+
+        chunkTokens.set(firstChunk, null);
+        chunkFunctions.set(firstChunk, null);
+    }
+
+    /**
+     * Lexes the chunk of lines starting at the incoming line index, up to the next line beginning with a top-level
+     * define that is not inside a multi-line comment, and appends its start and Tokens to the incoming ArrayLists.
+     *
+     * @param start Incoming line index.
+     * @param starts Incoming Integer ArrayList of chunk starts.
+     * @param tokens Incoming TokenBuffer ArrayList of chunk Tokens.
+     * @return Index of the line just past the chunk.
+     * @throws Exception If syntax errors are detected.
+     */
+    private int lexChunk(int start, ArrayList<Integer> starts, ArrayList<TokenBuffer> tokens) throws Exception
+    {
+        int end = start;
+        Lexer chunkLexer;
+
+        do
+        {
+            end = getNextDefine(end + 1);
+            chunkLexer = new Lexer(symbolTable, start + 1);
+            chunkLexer.lex(new ArrayList<>(lines.subList(start, end)));
+        }
+        while (chunkLexer.isInComment() && end < lines.size());
+
+        starts.add(start);
+        tokens.add(chunkLexer.getTokenBuffer());
+
+        return end;
+    }
+
+    /**
+     * Parses the incoming TokenBuffer, the Tokens of the chunk starting at the incoming line index, and returns the
+     * function it defines.
+     *
+     * @param tokens Incoming TokenBuffer.
+     * @param start Incoming line index.
+     * @return FunctionNode of the chunk, null if it defines none.
+     * @throws Exception If the syntax of the chunk is violated.
+     */
+    private FunctionNode parseChunk(TokenBuffer tokens, int start) throws Exception
+    {
+        ProgramNode chunkProgram = new Parser(tokens, start + 1).parse();
+
+        if (chunkProgram.getFunctionMap().isEmpty())
+        {
+            return null;
+        }
+
+        return chunkProgram.getFunctionMap().values().iterator().next();
+    }
+
+    /**
+     * Returns the index of the first line at or after the incoming line index that begins with a top-level define,
+     * or the number of lines if there is none.
+     *
+     * @param start Incoming line index.
+     * @return Index of the next line with a top-level define.
+     */
+    private int getNextDefine(int start)
+    {
+        for (int i = start; i < lines.size(); i++)
+        {
+            if (Lexer.isTopLevelDefine(lines.get(i)))
+            {
+                return i;
+            }
+        }
+
+        return lines.size();
+    }
+
+    /**
+     * Returns the index of the chunk holding the line at the incoming line index.
+     *
+     * @param lineIndex Incoming line index.
+     * @return Index of the chunk holding lineIndex.
+     */
+    private int getChunkIndex(int lineIndex)
+    {
+        int low = 0, high = chunkStarts.size() - 1;
+
+        while (low < high)
+        {
+            int middle = (low + high + 1) / 2;
+
+            if (chunkStarts.get(middle) <= lineIndex)
+            {
+                low = middle;
+            }
+            else high = middle - 1;
+        }
+
+        return low;
+    }
+
+    /**
+     * Checks and returns if the incoming new FunctionNodes are the same functions, taking the same parameters, as the
+     * incoming old FunctionNodes, so calls to them need not be type checked again.
+     *
+     * @param oldFunctions Incoming old FunctionNodes.
+     * @param newFunctions Incoming new FunctionNodes.
+     * @return True if every function keeps its name and parameters.
+     */
+    private static boolean haveSameSignatures(ArrayList<FunctionNode> oldFunctions,
+                                              ArrayList<FunctionNode> newFunctions)
+    {
+        HashMap<String, FunctionNode> oldByName = new HashMap<>();
+        int newCount = 0;
+
+        for (int i = 0; i < oldFunctions.size(); i++)
+        {
+            if (oldFunctions.get(i) != null)
+            {
+                oldByName.put(oldFunctions.get(i).getName(), oldFunctions.get(i));
+            }
+        }
+
+        for (int i = 0; i < newFunctions.size(); i++)
+        {
+            if (newFunctions.get(i) != null)
+            {
+                FunctionNode oldFunction = oldByName.get(newFunctions.get(i).getName());
+
+                if (oldFunction == null || !hasSameParameters(oldFunction, newFunctions.get(i)))
+                {
+                    return false;
+                }
+                newCount++;
+            }
+        }
+
+        return newCount == oldByName.size();
+    }
+
+    /**
+     * Checks and returns if the incoming FunctionNodes take parameters of the same types, in the same order, each
+     * passed by reference in both or in neither.
+     *
+     * @param former Former incoming FunctionNode.
+     * @param latter Latter incoming FunctionNode.
+     * @return True if former and latter take the same parameters.
+     */
+    private static boolean hasSameParameters(FunctionNode former, FunctionNode latter)
+    {
+        ArrayList<VariableNode> formerParameters = former.getParameterList();
+        ArrayList<VariableNode> latterParameters = latter.getParameterList();
+
+        if (formerParameters.size() != latterParameters.size())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < formerParameters.size(); i++)
+        {
+            VariableNode formerParameter = formerParameters.get(i), latterParameter = latterParameters.get(i);
+
+            if (formerParameter.getType() != latterParameter.getType()
+                    || formerParameter.getArrayType() != latterParameter.getArrayType()
+                    || formerParameter.isChangeable() != latterParameter.isChangeable())
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -4,6 +4,7 @@
 
 package Interpreter.BuiltInFunctions.Arrays;
 
+import CrossStageTools.tokenType;
 import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
 import Interpreter.InterpreterDataTypes.ArrayDataType;
 import Interpreter.InterpreterDataTypes.InterpreterDataType;
@@ -20,7 +21,8 @@ public class First extends BuiltInFunctionNode
      */
     public First()
     {
-        super("first", false);
+        super("first", makeParameter("array", tokenType.ARRAY, false),
+              makeParameter("element", tokenType.STRING, true));
     }
 
     @Override
@@ -28,7 +30,7 @@ public class First extends BuiltInFunctionNode
     {
         if (isArgListValid(args))
         {
-            args.get(1).fromString(((ArrayDataType)args.get(0)).getData()[0].toString());
+            args.get(1).fromString(((ArrayDataType)args.get(0)).elementToString(0));
         }
     }
 
@@ -4,6 +4,7 @@
 
 package Interpreter.BuiltInFunctions.Arrays;
 
+import CrossStageTools.tokenType;
 import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
 import Interpreter.InterpreterDataTypes.ArrayDataType;
 import Interpreter.InterpreterDataTypes.InterpreterDataType;
@@ -20,7 +21,8 @@ public class Last extends BuiltInFunctionNode
      */
     public Last()
     {
-        super("last", false);
+        super("last", makeParameter("array", tokenType.ARRAY, false),
+              makeParameter("element", tokenType.STRING, true));
     }
 
     @Override
@@ -30,7 +32,7 @@ public class Last extends BuiltInFunctionNode
         {
             ArrayDataType array = ((ArrayDataType)args.get(0));
 
-            args.get(1).fromString(array.getData()[array.getData().length].toString());
+            args.get(1).fromString(array.elementToString(array.getLength() - 1));
         }
     }
 
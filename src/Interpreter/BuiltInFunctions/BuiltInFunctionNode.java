@@ -1,13 +1,18 @@
 /**
  * Describes one builtin Kakuzaki function.
+ * A builtin function that is not variadic declares a typed parameter for each argument it takes, so the TypeChecker
+ * can check its calls the way it checks calls of user defined functions, against the same contract isArgListValid
+ * holds its arguments to when it runs.
  */
 
 package Interpreter.BuiltInFunctions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import CrossStageTools.Nodes.FunctionNode;
 import CrossStageTools.Nodes.VariableNode;
+import CrossStageTools.tokenType;
 import Interpreter.InterpreterDataTypes.InterpreterDataType;
 
 public abstract class BuiltInFunctionNode extends FunctionNode
@@ -25,9 +30,30 @@ public abstract class BuiltInFunctionNode extends FunctionNode
         super(name, variadic, parameters);
     }
 
-    public BuiltInFunctionNode(String name, boolean variadic)
+    /**
+     * Calls the three arg constructor for FunctionNode with the incoming String as a name, as a builtin function that
+     * is not variadic and takes the incoming parameters.
+     *
+     * @param name Incoming String.
+     * @param parameters Incoming parameters.
+     */
+    public BuiltInFunctionNode(String name, VariableNode... parameters)
+    {
+        super(name, false, new ArrayList<>(Arrays.asList(parameters)));
+    }
+
+    /**
+     * Returns a parameter of a builtin function with the incoming name and tokenType,
+     * which is a var parameter if the incoming boolean is true.
+     *
+     * @param name Incoming name.
+     * @param type Incoming tokenType.
+     * @param changeable Incoming boolean.
+     * @return Parameter with name and type.
+     */
+    protected static VariableNode makeParameter(String name, tokenType type, boolean changeable)
     {
-        super(name, variadic);
+        return new VariableNode(name, type, -1, changeable);
     }
 
     /**
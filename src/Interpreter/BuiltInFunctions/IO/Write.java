@@ -24,10 +24,20 @@ public class Write extends BuiltInFunctionNode
     {
         for (int i = 0; i < args.size(); i++)
         {
-            System.out.print(args.get(i));
+            write(args.get(i).toString());
         }
     }
 
+    /**
+     * Writes the incoming String to STDOut.
+     *
+     * @param text Incoming String.
+     */
+    public static void write(String text)
+    {
+        System.out.print(text);
+    }
+
     @Override
     public boolean isArgListValid(ArrayList<InterpreterDataType> args)
     {
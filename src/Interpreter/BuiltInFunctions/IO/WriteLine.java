@@ -25,10 +25,20 @@ public class WriteLine extends BuiltInFunctionNode
     {
         for (int i = 0; i < args.size(); i++)
         {
-            System.out.println(args.get(i));
+            writeLine(args.get(i).toString());
         }
     }
 
+    /**
+     * Writes the incoming String to STDOut, followed by a line separator.
+     *
+     * @param text Incoming String.
+     */
+    public static void writeLine(String text)
+    {
+        System.out.println(text);
+    }
+
     @Override
     public boolean isArgListValid(ArrayList<InterpreterDataType> args)
     {
@@ -7,6 +7,7 @@ package Interpreter.BuiltInFunctions.Numbers;
 import java.util.ArrayList;
 import java.util.Random;
 
+import CrossStageTools.tokenType;
 import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
 import Interpreter.InterpreterDataTypes.IntegerDataType;
 import Interpreter.InterpreterDataTypes.InterpreterDataType;
@@ -20,7 +21,7 @@ public class GetRandom extends BuiltInFunctionNode
      */
     public GetRandom()
     {
-        super("getRandom", false);
+        super("getRandom", makeParameter("number", tokenType.INTEGER, true));
     }
 
     @Override
@@ -28,11 +29,21 @@ public class GetRandom extends BuiltInFunctionNode
     {
         if (isArgListValid(args))
         {
-            Random random = new Random();
-            args.get(0).fromString(random.nextInt() + "");
+            args.get(0).fromString(getRandom() + "");
         }
     }
 
+    /**
+     * Returns a random int.
+     *
+     * @return Random int.
+     */
+    public static int getRandom()
+    {
+        Random random = new Random();
+        return random.nextInt();
+    }
+
     @Override
     public boolean isArgListValid(ArrayList<InterpreterDataType> args)
     {
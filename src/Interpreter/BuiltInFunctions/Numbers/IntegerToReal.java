@@ -4,6 +4,7 @@
 
 package Interpreter.BuiltInFunctions.Numbers;
 
+import CrossStageTools.tokenType;
 import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
 import Interpreter.InterpreterDataTypes.IntegerDataType;
 import Interpreter.InterpreterDataTypes.InterpreterDataType;
@@ -20,7 +21,8 @@ public class IntegerToReal extends BuiltInFunctionNode
      */
     public IntegerToReal()
     {
-        super("integerToReal", false);
+        super("integerToReal", makeParameter("number", tokenType.INTEGER, false),
+              makeParameter("real", tokenType.REAL, true));
     }
 
     @Override
@@ -28,10 +30,21 @@ public class IntegerToReal extends BuiltInFunctionNode
     {
         if (isArgListValid(args))
         {
-            args.get(1).fromString((float)Integer.parseInt(args.get(0).toString()) + "");
+            args.get(1).fromString(integerToReal(Integer.parseInt(args.get(0).toString())) + "");
         }
     }
 
+    /**
+     * Returns the incoming int as a float.
+     *
+     * @param number Incoming int.
+     * @return number as a float.
+     */
+    public static float integerToReal(int number)
+    {
+        return (float)number;
+    }
+
     @Override
     public boolean isArgListValid(ArrayList<InterpreterDataType> args)
     {
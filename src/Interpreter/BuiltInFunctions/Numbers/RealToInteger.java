@@ -4,6 +4,7 @@
 
 package Interpreter.BuiltInFunctions.Numbers;
 
+import CrossStageTools.tokenType;
 import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
 import Interpreter.InterpreterDataTypes.IntegerDataType;
 import Interpreter.InterpreterDataTypes.InterpreterDataType;
@@ -20,7 +21,8 @@ public class RealToInteger extends BuiltInFunctionNode
      */
     public RealToInteger()
     {
-        super("realToInteger", false);
+        super("realToInteger", makeParameter("number", tokenType.REAL, false),
+              makeParameter("integer", tokenType.INTEGER, true));
     }
 
     @Override
@@ -28,10 +30,21 @@ public class RealToInteger extends BuiltInFunctionNode
     {
         if (isArgListValid(args))
         {
-            args.get(1).fromString((int)Float.parseFloat(args.get(0).toString()) + "");
+            args.get(1).fromString(realToInteger(Float.parseFloat(args.get(0).toString())) + "");
         }
     }
 
+    /**
+     * Returns the incoming float with its fraction dropped.
+     *
+     * @param number Incoming float.
+     * @return number as an int.
+     */
+    public static int realToInteger(float number)
+    {
+        return (int)number;
+    }
+
     @Override
     public boolean isArgListValid(ArrayList<InterpreterDataType> args)
     {
@@ -6,6 +6,7 @@ package Interpreter.BuiltInFunctions.Numbers;
 
 import java.util.ArrayList;
 
+import CrossStageTools.tokenType;
 import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
 import Interpreter.InterpreterDataTypes.InterpreterDataType;
 import Interpreter.InterpreterDataTypes.RealDataType;
@@ -19,7 +20,8 @@ public class SquareRoot extends BuiltInFunctionNode
      */
     public SquareRoot()
     {
-        super("squareRoot", false);
+        super("squareRoot", makeParameter("number", tokenType.REAL, false),
+              makeParameter("root", tokenType.REAL, true));
     }
 
     @Override
@@ -27,10 +29,21 @@ public class SquareRoot extends BuiltInFunctionNode
     {
         if (isArgListValid(args))
         {
-            args.get(3).fromString(Math.sqrt(Float.parseFloat(args.get(0).toString())) + "");
+            args.get(1).fromString(squareRoot(Float.parseFloat(args.get(0).toString())) + "");
         }
     }
 
+    /**
+     * Returns the square root of the incoming float.
+     *
+     * @param number Incoming float.
+     * @return Square root of number.
+     */
+    public static float squareRoot(float number)
+    {
+        return (float)Math.sqrt(number);
+    }
+
     @Override
     public boolean isArgListValid(ArrayList<InterpreterDataType> args)
     {
@@ -4,6 +4,7 @@
 
 package Interpreter.BuiltInFunctions.Strings;
 
+import CrossStageTools.tokenType;
 import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
 import Interpreter.InterpreterDataTypes.IntegerDataType;
 import Interpreter.InterpreterDataTypes.InterpreterDataType;
@@ -20,7 +21,8 @@ public class ChopLeft extends BuiltInFunctionNode
      */
     public ChopLeft()
     {
-        super("chopLeft", false);
+        super("chopLeft", makeParameter("text", tokenType.STRING, false),
+              makeParameter("chopTo", tokenType.INTEGER, false), makeParameter("chopped", tokenType.STRING, true));
     }
 
     @Override
@@ -30,10 +32,22 @@ public class ChopLeft extends BuiltInFunctionNode
         {
             String stringToChop = args.get(0).toString();
             int chopTo = Integer.parseInt(args.get(1).toString());
-            args.get(2).fromString(stringToChop.substring(0, chopTo));
+            args.get(2).fromString(chopLeft(stringToChop, chopTo));
         }
     }
 
+    /**
+     * Returns the portion of the incoming String before the incoming int.
+     *
+     * @param stringToChop Incoming String.
+     * @param chopTo Incoming int.
+     * @return Portion of stringToChop before chopTo.
+     */
+    public static String chopLeft(String stringToChop, int chopTo)
+    {
+        return stringToChop.substring(0, chopTo);
+    }
+
     @Override
     public boolean isArgListValid(ArrayList<InterpreterDataType> args)
     {
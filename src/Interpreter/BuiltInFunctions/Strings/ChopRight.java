@@ -4,6 +4,7 @@
 
 package Interpreter.BuiltInFunctions.Strings;
 
+import CrossStageTools.tokenType;
 import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
 import Interpreter.InterpreterDataTypes.IntegerDataType;
 import Interpreter.InterpreterDataTypes.InterpreterDataType;
@@ -20,7 +21,8 @@ public class ChopRight extends BuiltInFunctionNode
      */
     public ChopRight()
     {
-        super("chopRight", false);
+        super("chopRight", makeParameter("text", tokenType.STRING, false),
+              makeParameter("chopFrom", tokenType.INTEGER, false), makeParameter("chopped", tokenType.STRING, true));
     }
 
     @Override
@@ -30,10 +32,22 @@ public class ChopRight extends BuiltInFunctionNode
         {
             String stringToChop = args.get(0).toString();
             int chopFrom = Integer.parseInt(args.get(1).toString());
-            args.get(2).fromString(stringToChop.substring(chopFrom));
+            args.get(2).fromString(chopRight(stringToChop, chopFrom));
         }
     }
 
+    /**
+     * Returns the portion of the incoming String from the incoming int onwards.
+     *
+     * @param stringToChop Incoming String.
+     * @param chopFrom Incoming int.
+     * @return Portion of stringToChop from chopFrom onwards.
+     */
+    public static String chopRight(String stringToChop, int chopFrom)
+    {
+        return stringToChop.substring(chopFrom);
+    }
+
     @Override
     public boolean isArgListValid(ArrayList<InterpreterDataType> args)
     {
@@ -4,6 +4,7 @@
 
 package Interpreter.BuiltInFunctions.Strings;
 
+import CrossStageTools.tokenType;
 import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
 import Interpreter.InterpreterDataTypes.IntegerDataType;
 import Interpreter.InterpreterDataTypes.InterpreterDataType;
@@ -20,7 +21,9 @@ public class Substring extends BuiltInFunctionNode
      */
     public Substring()
     {
-        super("substring", false);
+        super("substring", makeParameter("text", tokenType.STRING, false),
+              makeParameter("from", tokenType.INTEGER, false), makeParameter("to", tokenType.INTEGER, false),
+              makeParameter("chopped", tokenType.STRING, true));
     }
 
     @Override
@@ -31,10 +34,23 @@ public class Substring extends BuiltInFunctionNode
             String stringToChop = args.get(0).toString();
             int from = Integer.parseInt(args.get(1).toString());
             int to = Integer.parseInt(args.get(2).toString());
-            args.get(3).fromString(stringToChop.substring(from, to));
+            args.get(3).fromString(substring(stringToChop, from, to));
         }
     }
 
+    /**
+     * Returns the portion of the incoming String from the former incoming int up to the latter incoming int.
+     *
+     * @param stringToChop Incoming String.
+     * @param from Former incoming int.
+     * @param to Latter incoming int.
+     * @return Portion of stringToChop from from up to to.
+     */
+    public static String substring(String stringToChop, int from, int to)
+    {
+        return stringToChop.substring(from, to);
+    }
+
     @Override
     public boolean isArgListValid(ArrayList<InterpreterDataType> args)
     {
@@ -1,6 +1,7 @@
 /**
  * Processes a program and produces an output.
  * Terminology: You may substitute "InterpreterDataType" when you see "IDT" in doc comments. Use that noggin!
+ * Functions parsed lazily have their bodies parsed, resolved, folded and type checked when they are first called.
  */
 
 package Interpreter;
@@ -20,6 +21,10 @@ import Exceptions.SyntaxErrorException;
 import Exceptions.UnchangeableVariableException;
 import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
 import Interpreter.InterpreterDataTypes.*;
+import Optimizer.ConstantFolder;
+import Parser.Parser;
+import SemanticAnalysis.Resolver;
+import SemanticAnalysis.TypeChecker;
 import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.MathOpNode;
 import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.MathOpNode.operationType;
 import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
@@ -64,13 +69,18 @@ public class Interpreter
      *
      * @param function Incoming FunctionNode.
      * @param arguments Incoming IDT ArrayList.
-     * @return HashMap created after this function's execution is done.
+     * @return Frame left after this function's execution is done, null for builtin functions.
      * @throws SyntaxErrorException If there is an error in interpreting this FunctionNode.
      */
-    private HashMap<String, InterpreterDataType> interpretFunction(
+    private InterpreterDataType[] interpretFunction(
             FunctionNode function, ArrayList<InterpreterDataType> arguments) throws SyntaxErrorException
     {
-        HashMap<String, InterpreterDataType> localVariables = handleVariables(function);
+        if (function.isBodyPending())
+        {
+            prepareBody(function);
+        }
+
+        InterpreterDataType[] frame = handleVariables(function);
 
         if (function instanceof BuiltInFunctionNode)
         {
@@ -78,62 +88,72 @@ public class Interpreter
         }
         else
         {
-            handleParameters(function, arguments, localVariables);
-            interpretStatements(function.getStatementList(), localVariables);
+            handleParameters(function, arguments, frame);
+            interpretStatements(function.getStatementList(), frame);
         }
 
-        return localVariables;
+        return frame;
     }
 
     /**
-     * Adds the parameters of the incoming FunctionNode, informed by the incoming IDT ArrayList,
-     * to the incoming HashMap.
+     * Parses, resolves, folds and type checks the body of the incoming FunctionNode, which was parsed lazily,
+     * as the stages before interpreting would have.
+     *
+     * @param function Incoming FunctionNode.
+     * @throws SyntaxErrorException If function's body violates the syntax or has types that do not fit together.
+     */
+    private void prepareBody(FunctionNode function) throws SyntaxErrorException
+    {
+        Parser.parseBody(function);
+
+        new Resolver(program).resolveFunction(function);
+        new ConstantFolder(program).foldFunction(function);
+        new TypeChecker(program).checkFunction(function);
+    }
+
+    /**
+     * Places the incoming IDT ArrayList into the slots of the incoming FunctionNode's parameters
+     * in the incoming frame.
      *
      * @param function Incoming FunctionNode.
      * @param arguments Incoming IDT ArrayList.
-     * @param variables Incoming HashMap.
-     * @throws SyntaxErrorException If there is an error in creating the IDTs from function's parameter list.
+     * @param frame Incoming frame.
      */
     private void handleParameters(
-            FunctionNode function, ArrayList<InterpreterDataType> arguments,
-            HashMap<String, InterpreterDataType> variables) throws SyntaxErrorException
+            FunctionNode function, ArrayList<InterpreterDataType> arguments, InterpreterDataType[] frame)
     {
         ArrayList<VariableNode> parameters = function.getParameterList();
 
         for (int i = 0; i < parameters.size(); i++)
         {
-            arguments.add(makeInterpreterDataTypeFromVariableNode(parameters.get(i)));
-            variables.put(parameters.get(i).getName(), arguments.get(i));
+            frame[parameters.get(i).getSlot()] = arguments.get(i);
         }
     }
 
     /**
-     * Adds the variables and constants of the incoming FunctionNode to its variable HashMap.
+     * Creates a frame for the incoming FunctionNode with its declared variables and constants in their slots.
      *
      * @param function Incoming FunctionNode.
-     * @return HashMap with declared variables and constants added.
+     * @return Frame with declared variables and constants added.
      */
-    private HashMap<String, InterpreterDataType> handleVariables(FunctionNode function)
+    private InterpreterDataType[] handleVariables(FunctionNode function)
     {
         if (function instanceof BuiltInFunctionNode)
         {
             return null;
         }
 
-        String functionName = function.getName();
+        InterpreterDataType[] frame = new InterpreterDataType[function.getFrameSize()];
 
-        HashMap<String, InterpreterDataType> localVariables = new HashMap<>();
-
-        ArrayList<VariableNode> variables = functionMap.get(functionName).getVariableList();
+        ArrayList<VariableNode> variables = function.getVariableList();
 
         for (int i = 0; i < variables.size(); i++)
         {
             VariableNode currentVariable = variables.get(i);
-            localVariables.put(
-                    currentVariable.getName(), handleDataType(currentVariable, currentVariable.isChangeable()));
+            frame[currentVariable.getSlot()] = handleDataType(currentVariable, currentVariable.isChangeable());
         }
 
-        return localVariables;
+        return frame;
     }
 
     /**
@@ -159,14 +179,14 @@ public class Interpreter
     }
 
     /**
-     * Loops over the incoming StatementNode ArrayList and interprets each according to the incoming HashMap.
+     * Loops over the incoming StatementNode ArrayList and interprets each according to the incoming frame.
      *
      * @param statements Incoming StatementNode ArrayList.
-     * @param variables Incoming HashMap.
+     * @param frame Incoming frame.
      * @throws SyntaxErrorException If there is an error in interpreting any of statements.
      */
     private void interpretStatements(ArrayList<StatementNode> statements,
-                                     HashMap<String, InterpreterDataType> variables) throws SyntaxErrorException
+                                     InterpreterDataType[] frame) throws SyntaxErrorException
     {
         StatementNode currentStatement;
         for (int i = 0; i < statements.size(); i++)
@@ -174,166 +194,282 @@ public class Interpreter
             currentStatement = statements.get(i);
             if (currentStatement instanceof IfNode)
             {
-                interpretIf((IfNode)currentStatement, variables);
+                interpretIf((IfNode)currentStatement, frame);
             }
             else if (currentStatement instanceof ForNode)
             {
-                interpretFor((ForNode)currentStatement, variables);
+                interpretFor((ForNode)currentStatement, frame);
             }
             else if (currentStatement instanceof RepeatNode)
             {
-                interpretRepeat((RepeatNode)currentStatement, variables);
+                interpretRepeat((RepeatNode)currentStatement, frame);
             }
             else if (currentStatement instanceof WhileNode)
             {
-                interpretWhile((WhileNode)currentStatement, variables);
+                interpretWhile((WhileNode)currentStatement, frame);
             }
             else if (currentStatement instanceof AssignmentNode)
             {
-                interpretAssignment((AssignmentNode)currentStatement, variables);
+                interpretAssignment((AssignmentNode)currentStatement, frame);
             }
             else if (currentStatement instanceof FunctionCallNode)
             {
-                interpretFunctionCall((FunctionCallNode)currentStatement, variables);
+                interpretFunctionCall((FunctionCallNode)currentStatement, frame);
             }
         }
     }
 
     /**
-     * Executes the statements of the incoming IfNode using the values given by the incoming HashMap.
+     * Executes the statements of the incoming IfNode using the values given by the incoming frame.
      *
      * @param ifBlock Incoming IfNode.
-     * @param variables Incoming HashMap.
+     * @param frame Incoming frame.
      * @throws SyntaxErrorException If there is an error in interpreting ifBlock's statements.
      */
-    private void interpretIf(IfNode ifBlock, HashMap<String, InterpreterDataType> variables) throws SyntaxErrorException
+    private void interpretIf(IfNode ifBlock, InterpreterDataType[] frame) throws SyntaxErrorException
     {
-        if (interpretBooleanCompare(ifBlock.getConditional(), variables))
+        if (interpretBooleanCompare(ifBlock.getConditional(), frame))
         {
-            interpretStatements(ifBlock.getStatements(), variables);
+            interpretStatements(ifBlock.getStatements(), frame);
         }
         else if (ifBlock.hasNext())
         {
-            interpretIf(ifBlock.getNext(), variables);
+            interpretIf(ifBlock.getNext(), frame);
         }
     }
 
     /**
-     * Executes the statements of the incoming ForNode using the values given by the incoming HashMap.
+     * Executes the statements of the incoming ForNode using the values given by the incoming frame.
      * Note that the meta for loop runs while the iterator is less than or equal to the cap, not less than.
      *
      * @param forBlock Incoming ForNode.
-     * @param variables Incoming HashMap.
+     * @param frame Incoming frame.
      * @throws SyntaxErrorException If there is an error in interpreting forBlock's statements.
      */
-    private void interpretFor(ForNode forBlock, HashMap<String, InterpreterDataType> variables)
+    private void interpretFor(ForNode forBlock, InterpreterDataType[] frame)
             throws SyntaxErrorException
     {
-        String iteratorName = forBlock.getIterator().getName();
+        int iteratorSlot = forBlock.getIterator().getSlot();
 
-        variables.put(iteratorName,
-                makeInterpreterDataTypeFromNode(interpretExpression(forBlock.getFromNode(), variables)));
+        frame[iteratorSlot] = makeInterpreterDataTypeFromNode(interpretExpression(forBlock.getFromNode(), frame));
 
-        int cap = Integer.parseInt(interpretExpression(forBlock.getToNode(), variables).toString());
+        int cap = ((IntegerNode)interpretExpression(forBlock.getToNode(), frame)).getData();
 
-        for (int iterator = Integer.parseInt(variables.get(iteratorName).toString());
-             iterator <= cap; iterator++)
+        for (int iterator = ((IntegerDataType)frame[iteratorSlot]).getData(); iterator <= cap; iterator++)
         {
-            interpretStatements(forBlock.getStatements(), variables);
-            ((IntegerDataType)variables.get(iteratorName)).increment();
+            interpretStatements(forBlock.getStatements(), frame);
+            ((IntegerDataType)frame[iteratorSlot]).increment();
         }
-
-        variables.remove(iteratorName);
     }
 
     /**
-     * Executes the statements of the incoming RepeatNode using the values given by the incoming HashMap.
+     * Executes the statements of the incoming RepeatNode using the values given by the incoming frame.
      *
      * @param repeatBlock Incoming RepeatNode.
-     * @param variables Incoming HashMap.
+     * @param frame Incoming frame.
      * @throws SyntaxErrorException If there is an error in interpreting repeatBlock's statements.
      */
-    private void interpretRepeat(RepeatNode repeatBlock, HashMap<String, InterpreterDataType> variables)
+    private void interpretRepeat(RepeatNode repeatBlock, InterpreterDataType[] frame)
             throws SyntaxErrorException
     {
         BooleanCompareNode cond = repeatBlock.getConditional();
-        while (!interpretBooleanCompare(cond, variables))
+        while (!interpretBooleanCompare(cond, frame))
         {
-            interpretStatements(repeatBlock.getStatements(), variables);
+            interpretStatements(repeatBlock.getStatements(), frame);
         }
     }
 
     /**
-     * Executes the statements of the incoming WhileNode using the values given by the incoming HashMap.
+     * Executes the statements of the incoming WhileNode using the values given by the incoming frame.
      *
      * @param whileBlock Incoming WhileNode.
-     * @param variables Incoming HashMap.
+     * @param frame Incoming frame.
      * @throws SyntaxErrorException If there is an error in interpreting whileBlock's statements.
      */
-    private void interpretWhile(WhileNode whileBlock, HashMap<String, InterpreterDataType> variables)
+    private void interpretWhile(WhileNode whileBlock, InterpreterDataType[] frame)
             throws SyntaxErrorException
     {
         BooleanCompareNode cond = whileBlock.getConditional();
-        while (interpretBooleanCompare(cond, variables))
+        while (interpretBooleanCompare(cond, frame))
         {
-            interpretStatements(whileBlock.getStatements(), variables);
+            interpretStatements(whileBlock.getStatements(), frame);
         }
     }
 
     /**
-     * Processes and updates the value given by the incoming AssignmentNode to the incoming HashMap.
+     * Processes and updates the value given by the incoming AssignmentNode to the incoming frame.
      *
      * @param assignment Incoming AssignmentNode.
-     * @param variables Incoming HashMap.
+     * @param frame Incoming frame.
      * @throws SyntaxErrorException If the requested variable was not initialized or is constant.
      */
-    private void interpretAssignment(AssignmentNode assignment, HashMap<String, InterpreterDataType> variables)
+    private void interpretAssignment(AssignmentNode assignment, InterpreterDataType[] frame)
             throws SyntaxErrorException
     {
         String targetName = assignment.getTarget().getName();
+        int targetSlot = assignment.getTarget().getSlot();
 
-        if (!variables.containsKey(targetName))
+        if (frame[targetSlot] == null)
         {
             throw new NonexistantVariableException(targetName, assignment.getLineNumber());
         }
-        if (!variables.get(targetName).isChangeable())
+        if (!frame[targetSlot].isChangeable())
         {
             throw new UnchangeableVariableException(targetName, assignment.getLineNumber());
         }
+        else if (assignment.getTarget().getArrayExpression() != null)
+        {
+            int index = interpretIndex(assignment.getTarget(), frame);
+
+            assignElement(frame[targetSlot], index, interpretExpression(assignment.getValue(), frame),
+                          targetName, assignment.getLineNumber());
+        }
         else
         {
-            variables.replace(targetName,
-            makeInterpreterDataTypeFromNode(interpretExpression(assignment.getValue(), variables)));
+            ASTNode value = interpretExpression(assignment.getValue(), frame);
+
+            if (!assignInPlace(frame[targetSlot], value))
+            {
+                frame[targetSlot] = makeInterpreterDataTypeFromNode(value);
+            }
+        }
+    }
+
+    /**
+     * Sets the element at the incoming index of the incoming IDT, which must be an array, to the data of the incoming
+     * data type ASTNode.
+     *
+     * @param target Incoming IDT.
+     * @param index Incoming index.
+     * @param value Incoming data type ASTNode.
+     * @param name Incoming name of target.
+     * @param line Incoming line number.
+     * @throws SyntaxErrorException If target is not an array, index is out of its bounds or value is not an element.
+     */
+    private void assignElement(InterpreterDataType target, int index, ASTNode value, String name, int line)
+            throws SyntaxErrorException
+    {
+        if (!(target instanceof ArrayDataType))
+        {
+            throw new SyntaxErrorException("Variable " + name + " on line " + line
+                    + " is not an array, but is indexed.");
+        }
+
+        ArrayDataType array = (ArrayDataType)target;
+        tokenType elementType = array.getTypeOfData();
+
+        if (elementType == tokenType.INTEGER && value instanceof IntegerNode)
+        {
+            array.setInteger(index, ((IntegerNode)value).getData());
+        }
+        else if (elementType == tokenType.REAL && value instanceof RealNode)
+        {
+            array.setReal(index, ((RealNode)value).getData());
         }
+        else if (elementType == tokenType.STRING && value instanceof StringNode)
+        {
+            array.setString(index, ((StringNode)value).getData());
+        }
+        else if (elementType == tokenType.CHARACTER && value instanceof CharacterNode)
+        {
+            array.setCharacter(index, ((CharacterNode)value).getData());
+        }
+        else if (elementType == tokenType.BOOLEAN && value instanceof BooleanNode)
+        {
+            array.setBoolean(index, ((BooleanNode)value).getData());
+        }
+        else throw new SyntaxErrorException("Variable " + name + " on line " + line + " holds a " + elementType
+                + " and cannot be assigned a " + value.getType() + ".");
+    }
+
+    /**
+     * Returns the index the incoming VariableReferenceNode reads from its array, according to the incoming frame.
+     *
+     * @param reference Incoming VariableReferenceNode.
+     * @param frame Incoming frame.
+     * @return Index read by reference.
+     * @throws SyntaxErrorException If the index is not an integer.
+     */
+    private int interpretIndex(VariableReferenceNode reference, InterpreterDataType[] frame)
+            throws SyntaxErrorException
+    {
+        ASTNode index = interpretExpression(reference.getArrayExpression(), frame);
+
+        if (!(index instanceof IntegerNode))
+        {
+            throw new SyntaxErrorException("Array " + reference.getName() + " on line " + reference.getLineNumber()
+                    + " must be indexed with an integer.");
+        }
+
+        return ((IntegerNode)index).getData();
+    }
+
+    /**
+     * Copies the data of the incoming data type ASTNode into the incoming IDT if both hold the same type,
+     * so that assigning to a variable does not allocate a new IDT.
+     *
+     * @param target Incoming IDT.
+     * @param value Incoming data type ASTNode.
+     * @return True if value was copied into target, false if the types differ.
+     */
+    private boolean assignInPlace(InterpreterDataType target, ASTNode value)
+    {
+        if (target instanceof IntegerDataType && value instanceof IntegerNode)
+        {
+            ((IntegerDataType)target).setData(((IntegerNode)value).getData());
+        }
+        else if (target instanceof RealDataType && value instanceof RealNode)
+        {
+            ((RealDataType)target).setData(((RealNode)value).getData());
+        }
+        else if (target instanceof StringDataType && value instanceof StringNode)
+        {
+            ((StringDataType)target).setData(((StringNode)value).getData());
+        }
+        else if (target instanceof CharacterDataType && value instanceof CharacterNode)
+        {
+            ((CharacterDataType)target).setData(((CharacterNode)value).getData());
+        }
+        else if (target instanceof BooleanDataType && value instanceof BooleanNode)
+        {
+            ((BooleanDataType)target).setData(((BooleanNode)value).getData());
+        }
+        else return false;
+
+        return true;
     }
 
     /**
      * Calls the function referenced by the incoming FunctionCallNode
-     * with arguments given by data from the incoming HashMap.
+     * with arguments given by data from the incoming frame.
      *
      * @param calledFunction Incoming FunctionCallNode.
-     * @param variables Incoming HashMap.
+     * @param frame Incoming frame.
      * @throws SyntaxErrorException If there is a syntax error in interpreting the called function's contents.
      */
-    private void interpretFunctionCall(FunctionCallNode calledFunction, HashMap<String, InterpreterDataType> variables)
+    private void interpretFunctionCall(FunctionCallNode calledFunction, InterpreterDataType[] frame)
             throws SyntaxErrorException
     {
-        FunctionNode function = functionMap.get(calledFunction.getName());
+        FunctionNode function = program.getFunction(calledFunction.getSymbol());
 
-        if (function.isVariadic() || (function.getNumberOfParameters() == calledFunction.getNumberOfArguments()))
+        if (function instanceof BuiltInFunctionNode)
+        {
+            interpretBuiltInFunctionCall((BuiltInFunctionNode)function, calledFunction, frame);
+        }
+        else if (function.getNumberOfParameters() == calledFunction.getNumberOfArguments())
         {
             ArrayList<ArgumentNode> arguments = calledFunction.getArguments();
             ArrayList<VariableNode> parameters = function.getParameterList();
 
-            ArrayList<InterpreterDataType> values = handleArguments(arguments, variables);
-            HashMap<String, InterpreterDataType> returnedVariables = interpretFunction(function, values);
+            ArrayList<InterpreterDataType> values = handleArguments(arguments, frame);
+            InterpreterDataType[] returnedFrame = interpretFunction(function, values);
 
             for (int i = 0; i < arguments.size(); i++)
             {
                 if (!arguments.get(i).isConstant() && parameters.get(i).isChangeable())
                 {
-                    variables.replace(arguments.get(i).getVariableReference().getName(),
-                            returnedVariables.get(parameters.get(i).getName()));
+                    frame[arguments.get(i).getVariableReference().getSlot()] =
+                            returnedFrame[parameters.get(i).getSlot()];
                 }
             }
         }
@@ -341,15 +477,70 @@ public class Interpreter
     }
 
     /**
-     * Adds the incoming ArgumentNode ArrayList and generated IDTs from those ArgumentNodes to the incoming HashMap.
+     * Calls the incoming builtin function with the arguments of the incoming FunctionCallNode, each var argument as
+     * a changeable IDT that is copied back into its slot of the incoming frame afterwards, and every other argument
+     * as an IDT that is not changeable, as builtin functions expect. An array is passed without copying its elements,
+     * since builtin functions only read arrays.
+     *
+     * @param function Incoming builtin function.
+     * @param calledFunction Incoming FunctionCallNode.
+     * @param frame Incoming frame.
+     * @throws SyntaxErrorException If the builtin function is given the wrong number of arguments, or an argument
+     *                              fails to be interpreted.
+     */
+    private void interpretBuiltInFunctionCall(
+            BuiltInFunctionNode function, FunctionCallNode calledFunction, InterpreterDataType[] frame)
+            throws SyntaxErrorException
+    {
+        ArrayList<ArgumentNode> arguments = calledFunction.getArguments();
+
+        if (!function.isVariadic() && function.getParameterList() != null
+                && function.getNumberOfParameters() != arguments.size())
+        {
+            throw new InvalidArgumentsException(calledFunction.getName(), calledFunction.getLineNumber());
+        }
+
+        ArrayList<InterpreterDataType> values = new ArrayList<>();
+
+        for (int i = 0; i < arguments.size(); i++)
+        {
+            ArrayDataType array = findWholeArray(arguments.get(i).getConstant(), frame);
+
+            if (array != null)
+            {
+                values.add(array.asConstant());
+            }
+            else if (arguments.get(i).isConstant())
+            {
+                values.add(makeConstantDataType(interpretExpression(arguments.get(i).getConstant(), frame)));
+            }
+            else values.add(makeInterpreterDataTypeFromNode(
+                    interpretExpression(arguments.get(i).getVariableReference(), frame)));
+        }
+
+        function.execute(values);
+
+        for (int i = 0; i < arguments.size(); i++)
+        {
+            if (!arguments.get(i).isConstant())
+            {
+                frame[arguments.get(i).getVariableReference().getSlot()] = values.get(i);
+            }
+        }
+    }
+
+    /**
+     * Adds the incoming ArgumentNode ArrayList and generated IDTs from those ArgumentNodes to the incoming frame.
+     * An array is passed as a copy, so the function called cannot change the caller's array through a parameter
+     * that is not var.
      *
      * @param arguments Incoming ArgumentNode ArrayList.
-     * @param variables Incoming HashMap.
+     * @param frame Incoming frame.
      * @return ArrayList of IDTs added.
      * @throws SyntaxErrorException If there is a syntax error in interpreting the ArgumentNodes.
      */
     private ArrayList<InterpreterDataType> handleArguments(
-            ArrayList<ArgumentNode> arguments, HashMap<String, InterpreterDataType> variables)
+            ArrayList<ArgumentNode> arguments, InterpreterDataType[] frame)
             throws SyntaxErrorException
     {
         ArrayList<InterpreterDataType> argumentDataTypeList = new ArrayList<>();
@@ -365,7 +556,13 @@ public class Interpreter
             argumentContent = currentArgument.isConstant() ?
                     currentArgument.getConstant() : currentArgument.getVariableReference();
 
-            argumentDataTypeList.add(makeInterpreterDataTypeFromNode(interpretExpression(argumentContent, variables)));
+            ArrayDataType array = findWholeArray(argumentContent, frame);
+
+            if (array != null)
+            {
+                argumentDataTypeList.add(array.copy());
+            }
+            else argumentDataTypeList.add(makeInterpreterDataTypeFromNode(interpretExpression(argumentContent, frame)));
         }
 
         return argumentDataTypeList;
@@ -373,23 +570,27 @@ public class Interpreter
 
     /**
      * Returns the appropriate interpretation of the incoming ASTNode
-     * according to the IDTs received from the incoming HashMap.
+     * according to the IDTs received from the incoming frame.
      *
      * @param operand Incoming ASTNode.
-     * @param variables Incoming HashMap.
+     * @param frame Incoming frame.
      * @return Appropriate interpretation of operand.
      * @throws SyntaxErrorException If there is no valid expression ASTNode found.
      */
-    private ASTNode interpretExpression(ASTNode operand, HashMap<String, InterpreterDataType> variables)
+    private ASTNode interpretExpression(ASTNode operand, InterpreterDataType[] frame)
             throws SyntaxErrorException
     {
         if (operand instanceof VariableReferenceNode)
         {
-            return makeNodeFromVariableReference((VariableReferenceNode)operand, variables);
+            return makeNodeFromVariableReference((VariableReferenceNode)operand, frame);
         }
         else if (operand instanceof MathOpNode)
         {
-            return interpretMathOp((MathOpNode)operand, variables);
+            return interpretMathOp((MathOpNode)operand, frame);
+        }
+        else if (operand instanceof BooleanCompareNode)
+        {
+            return new BooleanNode(interpretBooleanCompare((BooleanCompareNode)operand, frame), operand.getLineNumber());
         }
         else if (operand instanceof DataTypeNode) //handles number constants
         {
@@ -399,60 +600,151 @@ public class Interpreter
     }
 
     /**
-     * Returns the result of the incoming BooleanCompareNode based on the IDTs received from the incoming HashMap.
+     * Returns the result of the incoming BooleanCompareNode based on the IDTs received from the incoming frame.
      *
      * @param comparison Incoming BooleanCompareNode.
-     * @param variables Incoming HashMap.
+     * @param frame Incoming frame.
      * @return Result of the comparison performed in comparison.
      * @throws SyntaxErrorException If there is a syntax error in checking and getting types.
      */
     private boolean interpretBooleanCompare(BooleanCompareNode comparison,
-                                            HashMap<String, InterpreterDataType> variables) throws SyntaxErrorException
+                                            InterpreterDataType[] frame) throws SyntaxErrorException
     {
         if (comparison == null) //returns else statements, since they have no conditional
         {
             return true;
         }
 
-        ASTNode leftComparand = interpretExpression(comparison.getLeftComparand(), variables);
-        ASTNode rightComparand = interpretExpression(comparison.getRightComparand(), variables);
+        tokenType staticType = comparison.getLeftComparand().getStaticType();
+
+        if (staticType == tokenType.INTEGER)
+        {
+            return compareIntegers(interpretInteger(comparison.getLeftComparand(), frame),
+                                   interpretInteger(comparison.getRightComparand(), frame), comparison.getCompType());
+        }
+        else if (staticType == tokenType.REAL)
+        {
+            return compareReals(interpretReal(comparison.getLeftComparand(), frame),
+                                interpretReal(comparison.getRightComparand(), frame), comparison.getCompType());
+        }
+
+        ASTNode leftComparand = interpretExpression(comparison.getLeftComparand(), frame);
+        ASTNode rightComparand = interpretExpression(comparison.getRightComparand(), frame);
 
         return performComparison(leftComparand, rightComparand,
                                  checkTypes(leftComparand, rightComparand), comparison.getCompType());
     }
 
     /**
-     * Returns the result of the incoming MathOpNode based on the IDTs received from the incoming HashMap.
+     * Returns the result of the incoming MathOpNode based on the IDTs received from the incoming frame.
+     * If TypeChecker found the operation works on integers or reals, it is computed without checking types.
      *
      * @param mathOp Incoming MathOpNode.
-     * @param variables Incoming HashMap.
+     * @param frame Incoming frame.
      * @return Result of the operation performed in mathOp.
      * @throws SyntaxErrorException If there is a syntax error in checking and getting types.
      */
-    private ASTNode interpretMathOp(MathOpNode mathOp, HashMap<String, InterpreterDataType> variables)
+    private ASTNode interpretMathOp(MathOpNode mathOp, InterpreterDataType[] frame)
             throws SyntaxErrorException
     {
-        ASTNode leftOperand = interpretExpression(mathOp.getLeftOperand(), variables);
-        ASTNode rightOperand = interpretExpression(mathOp.getRightOperand(), variables);
+        if (mathOp.getStaticType() == tokenType.INTEGER)
+        {
+            return new IntegerNode(interpretInteger(mathOp, frame), mathOp.getLineNumber());
+        }
+        else if (mathOp.getStaticType() == tokenType.REAL)
+        {
+            return new RealNode(interpretReal(mathOp, frame), mathOp.getLineNumber());
+        }
+
+        ASTNode leftOperand = interpretExpression(mathOp.getLeftOperand(), frame);
+        ASTNode rightOperand = interpretExpression(mathOp.getRightOperand(), frame);
 
         return performOperation(leftOperand, rightOperand, checkTypes(leftOperand, rightOperand), mathOp.getOpType());
     }
 
+    /**
+     * Returns the int the incoming expression ASTNode evaluates to, which TypeChecker found is always an integer,
+     * reading its variables straight from the incoming frame.
+     *
+     * @param expression Incoming ASTNode.
+     * @param frame Incoming frame.
+     * @return Value of expression.
+     */
+    private int interpretInteger(ASTNode expression, InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        if (expression instanceof MathOpNode)
+        {
+            MathOpNode mathOp = (MathOpNode)expression;
+
+            return performIntegerOperation(interpretInteger(mathOp.getLeftOperand(), frame),
+                                           interpretInteger(mathOp.getRightOperand(), frame), mathOp.getOpType());
+        }
+        else if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+
+            if (reference.getArrayExpression() != null)
+            {
+                return ((ArrayDataType)frame[reference.getSlot()]).getInteger(
+                        interpretInteger(reference.getArrayExpression(), frame));
+            }
+
+            return ((IntegerDataType)frame[reference.getSlot()]).getData();
+        }
+        else return ((IntegerNode)expression).getData();
+    }
+
+    /**
+     * Returns the float the incoming expression ASTNode evaluates to, which TypeChecker found is always a real,
+     * reading its variables straight from the incoming frame.
+     *
+     * @param expression Incoming ASTNode.
+     * @param frame Incoming frame.
+     * @return Value of expression.
+     */
+    private float interpretReal(ASTNode expression, InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        if (expression instanceof MathOpNode)
+        {
+            MathOpNode mathOp = (MathOpNode)expression;
+
+            return performRealOperation(interpretReal(mathOp.getLeftOperand(), frame),
+                                        interpretReal(mathOp.getRightOperand(), frame), mathOp.getOpType());
+        }
+        else if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+
+            if (reference.getArrayExpression() != null)
+            {
+                return ((ArrayDataType)frame[reference.getSlot()]).getReal(
+                        interpretInteger(reference.getArrayExpression(), frame));
+            }
+
+            return ((RealDataType)frame[reference.getSlot()]).getData();
+        }
+        else return ((RealNode)expression).getData();
+    }
+
     /**
      * Creates an ASTNode informed by the incoming VariableReferenceNode,
-     * whose value is extracted from the incoming HashMap.
+     * whose value is extracted from the incoming frame.
      *
      * @param reference Incoming VariableReferenceNode.
-     * @param variables Incoming HashMap.
-     * @return ASTNode informed by reference and variables.
-     * @throws SyntaxErrorException If no valid IDT in variables is found for reference.
+     * @param frame Incoming frame.
+     * @return ASTNode informed by reference and frame.
+     * @throws SyntaxErrorException If no valid IDT in frame is found for reference.
      */
     private ASTNode makeNodeFromVariableReference(
-            VariableReferenceNode reference, HashMap<String, InterpreterDataType> variables) throws SyntaxErrorException
+            VariableReferenceNode reference, InterpreterDataType[] frame) throws SyntaxErrorException
     {
-        InterpreterDataType idt = variables.get(reference.getName());
+        InterpreterDataType idt = frame[reference.getSlot()];
 
-        if (idt instanceof IntegerDataType)
+        if (reference.getArrayExpression() != null)
+        {
+            return makeNodeFromElement(idt, reference, interpretIndex(reference, frame));
+        }
+        else if (idt instanceof IntegerDataType)
         {
             return new IntegerNode((IntegerDataType)idt);
         }
@@ -475,6 +767,39 @@ public class Interpreter
         else throw new SyntaxErrorException("No valid data type found on line " + reference.getLineNumber() + ".");
     }
 
+    /**
+     * Creates a data type ASTNode holding the element at the incoming index of the incoming IDT,
+     * which the incoming VariableReferenceNode indexes.
+     *
+     * @param idt Incoming IDT.
+     * @param reference Incoming VariableReferenceNode.
+     * @param index Incoming index.
+     * @return Data type ASTNode holding the element.
+     * @throws SyntaxErrorException If idt is not an array or index is out of its bounds.
+     */
+    private ASTNode makeNodeFromElement(InterpreterDataType idt, VariableReferenceNode reference, int index)
+            throws SyntaxErrorException
+    {
+        int line = reference.getLineNumber();
+
+        if (!(idt instanceof ArrayDataType))
+        {
+            throw new SyntaxErrorException("Variable " + reference.getName() + " on line " + line
+                    + " is not an array, but is indexed.");
+        }
+
+        ArrayDataType array = (ArrayDataType)idt;
+
+        switch (array.getTypeOfData())
+        {
+            case INTEGER   : return new IntegerNode(array.getInteger(index), line);
+            case REAL      : return new RealNode(array.getReal(index), line);
+            case CHARACTER : return new CharacterNode(array.getCharacter(index), line);
+            case BOOLEAN   : return new BooleanNode(array.getBoolean(index), line);
+            default        : return new StringNode(array.getString(index), line);
+        }
+    }
+
     /**
      * Creates an IDT informed by the incoming data type ASTNode.
      *
@@ -508,42 +833,56 @@ public class Interpreter
     }
 
     /**
-     * Creates and returns an IDT informed by the type of the incoming VariableNode.
+     * Returns the array in the incoming frame that the incoming argument ASTNode refers to as a whole,
+     * or null if it refers to anything else.
      *
-     * @param incomingNode Incoming VariableNode.
-     * @return Appropriate IDT informed by incomingNode.
-     * @throws SyntaxErrorException If no valid data type tokenType was extracted from incomingNode.
+     * @param argument Incoming ASTNode, null for a var argument.
+     * @param frame Incoming frame.
+     * @return Array argument refers to, null if there is none.
      */
-    private InterpreterDataType makeInterpreterDataTypeFromVariableNode(VariableNode incomingNode)
-            throws SyntaxErrorException
+    private ArrayDataType findWholeArray(ASTNode argument, InterpreterDataType[] frame)
     {
-        tokenType variableType = incomingNode.getType();
-
-        if (variableType == tokenType.INTEGER)
+        if (argument instanceof VariableReferenceNode && ((VariableReferenceNode)argument).getArrayExpression() == null
+                && frame[((VariableReferenceNode)argument).getSlot()] instanceof ArrayDataType)
         {
-            return new IntegerDataType(incomingNode, true);
+            return (ArrayDataType)frame[((VariableReferenceNode)argument).getSlot()];
         }
-        else if (variableType == tokenType.REAL)
+
+        return null;
+    }
+
+    /**
+     * Creates an IDT that is not changeable, informed by the incoming data type ASTNode.
+     *
+     * @param incomingNode Incoming ASTNode.
+     * @return InterpreterDataType holding the data of incomingNode, which is not changeable.
+     * @throws SyntaxErrorException If no valid data type ASTNode is found.
+     */
+    private InterpreterDataType makeConstantDataType(ASTNode incomingNode) throws SyntaxErrorException
+    {
+        int line = incomingNode.getLineNumber();
+
+        if (incomingNode instanceof IntegerNode)
         {
-            return new RealDataType(incomingNode, true);
+            return new IntegerDataType(((IntegerNode)incomingNode).getData(), line, false);
         }
-        else if (variableType == tokenType.STRING)
+        else if (incomingNode instanceof RealNode)
         {
-            return new StringDataType(incomingNode, true);
+            return new RealDataType(((RealNode)incomingNode).getData(), line, false);
         }
-        else if (variableType == tokenType.CHARACTER)
+        else if (incomingNode instanceof StringNode)
         {
-            return new CharacterDataType(incomingNode, true);
+            return new StringDataType(((StringNode)incomingNode).getData(), line, false);
         }
-        else if (variableType == tokenType.BOOLEAN)
+        else if (incomingNode instanceof CharacterNode)
         {
-            return new BooleanDataType(incomingNode, true);
+            return new CharacterDataType(((CharacterNode)incomingNode).getData(), line, false);
         }
-        else if (variableType == tokenType.ARRAY)
+        else if (incomingNode instanceof BooleanNode)
         {
-            return new ArrayDataType(incomingNode, true);
+            return new BooleanDataType(((BooleanNode)incomingNode).getData(), line, false);
         }
-        else throw new SyntaxErrorException("No valid data type found on line " + incomingNode.getLineNumber() + ".");
+        else throw new SyntaxErrorException("No valid data type found on line " + line + ".");
     }
 
     /**
@@ -582,6 +921,7 @@ public class Interpreter
     /**
      * Performs an operation between the former and latter ASTNodes, using the incoming typeCheckResult to determine
      * which type both the ASTNodes are and the incoming operationType to determine which operation to perform.
+     * Operands are read through their typed getData() accessors, so no Strings are built or parsed.
      *
      * @param left Former incoming ASTNode.
      * @param right Latter incoming ASTNode.
@@ -593,52 +933,22 @@ public class Interpreter
     private ASTNode performOperation(ASTNode left, ASTNode right, typeCheckResult typeCheck, operationType opType)
             throws SyntaxErrorException
     {
-        String leftString = left.toString(), rightString = right.toString();
-
-        if (typeCheck == typeCheckResult.INTEGER || typeCheck == typeCheckResult.REAL)
+        if (typeCheck == typeCheckResult.INTEGER)
         {
-            float leftNumber, rightNumber, result = 0.0F;
-
-            if (typeCheck == typeCheckResult.INTEGER)
-            {
-                leftNumber = Integer.parseInt(leftString);
-                rightNumber = Integer.parseInt(rightString);
-            }
-            else
-            {
-                leftNumber = Float.parseFloat(leftString);
-                rightNumber = Float.parseFloat(rightString);
-            }
-
-            if (opType == operationType.ADD)
-            {
-                result = leftNumber + rightNumber;
-            }
-            else if (opType == operationType.SUB)
-            {
-                result = leftNumber - rightNumber;
-            }
-            else if (opType == operationType.MULT)
-            {
-                result = leftNumber * rightNumber;
-            }
-            else if (opType == operationType.DIV)
-            {
-                result = leftNumber / rightNumber;
-            }
-            else if (opType == operationType.MOD)
-            {
-                result = leftNumber % rightNumber;
-            }
-
-            return typeCheck == typeCheckResult.INTEGER ? new IntegerNode((int)result, left.getLineNumber()) :
-                                                          new RealNode(result, left.getLineNumber());
+            return new IntegerNode(performIntegerOperation(
+                    ((IntegerNode)left).getData(), ((IntegerNode)right).getData(), opType), left.getLineNumber());
+        }
+        else if (typeCheck == typeCheckResult.REAL)
+        {
+            return new RealNode(performRealOperation(
+                    ((RealNode)left).getData(), ((RealNode)right).getData(), opType), left.getLineNumber());
         }
         else if (typeCheck == typeCheckResult.STRING)
         {
             if (opType == operationType.ADD)
             {
-                return new StringNode(leftString + rightString, left.getLineNumber());
+                return new StringNode(((StringNode)left).getData() + ((StringNode)right).getData(),
+                                      left.getLineNumber());
             }
             else throw new SyntaxErrorException(
                     "No valid String operation found on line " + left.getLineNumber() + ".");
@@ -646,10 +956,52 @@ public class Interpreter
         else throw new SyntaxErrorException("No valid operation found on line " + left.getLineNumber() + ".");
     }
 
+    /**
+     * Performs the operation given by the incoming operationType between the former and latter incoming ints.
+     *
+     * @param left Former incoming int.
+     * @param right Latter incoming int.
+     * @param opType Incoming operationType.
+     * @return Result of the operation.
+     */
+    private int performIntegerOperation(int left, int right, operationType opType)
+    {
+        switch (opType)
+        {
+            case ADD  : return left + right;
+            case SUB  : return left - right;
+            case MULT : return left * right;
+            case DIV  : return left / right;
+            case MOD  : return left % right;
+            default   : return 0;
+        }
+    }
+
+    /**
+     * Performs the operation given by the incoming operationType between the former and latter incoming floats.
+     *
+     * @param left Former incoming float.
+     * @param right Latter incoming float.
+     * @param opType Incoming operationType.
+     * @return Result of the operation.
+     */
+    private float performRealOperation(float left, float right, operationType opType)
+    {
+        switch (opType)
+        {
+            case ADD  : return left + right;
+            case SUB  : return left - right;
+            case MULT : return left * right;
+            case DIV  : return left / right;
+            case MOD  : return left % right;
+            default   : return 0.0F;
+        }
+    }
+
     /**
      * Performs an operation between the former and latter incoming ASTNodes, using the incoming typeCheckResult
      * to determine which type both the ASTNodes are and the incoming comparisonType to determine which comparison to
-     * perform.
+     * perform. Comparands are read through their typed getData() accessors, so no Strings are built or parsed.
      *
      * @param left Former incoming ASTNode.
      * @param right Latter incoming ASTNode.
@@ -661,86 +1013,83 @@ public class Interpreter
     private boolean performComparison(ASTNode left, ASTNode right, typeCheckResult typeCheck, comparisonType compType)
             throws SyntaxErrorException
     {
-        String leftString = left.toString(), rightString = right.toString();
-        boolean result = false;
-
-        if (typeCheck == typeCheckResult.INTEGER || typeCheck == typeCheckResult.REAL)
+        if (typeCheck == typeCheckResult.INTEGER)
         {
-            float leftNumber, rightNumber;
-
-            if (typeCheck == typeCheckResult.INTEGER)
-            {
-                leftNumber = Integer.parseInt(leftString);
-                rightNumber = Integer.parseInt(rightString);
-            }
-            else
-            {
-                leftNumber = Float.parseFloat(leftString);
-                rightNumber = Float.parseFloat(rightString);
-            }
-
-            if (compType == comparisonType.GTHAN)
-            {
-                result = leftNumber > rightNumber;
-            }
-            else if (compType == comparisonType.LTHAN)
-            {
-                result = leftNumber < rightNumber;
-            }
-            else if (compType == comparisonType.GETO)
-            {
-                result = leftNumber >= rightNumber;
-            }
-            else if (compType == comparisonType.LETO)
-            {
-                result = leftNumber <= rightNumber;
-            }
-            else if (compType == comparisonType.EQUAL)
-            {
-                result = leftNumber == rightNumber;
-            }
-            else if (compType == comparisonType.NEQUAL)
-            {
-                result = leftNumber != rightNumber;
-            }
-
-            return result;
+            return compareIntegers(((IntegerNode)left).getData(), ((IntegerNode)right).getData(), compType);
+        }
+        else if (typeCheck == typeCheckResult.REAL)
+        {
+            return compareReals(((RealNode)left).getData(), ((RealNode)right).getData(), compType);
         }
         else if (typeCheck == typeCheckResult.STRING || typeCheck == typeCheckResult.CHARACTER)
         {
-            if(compType == comparisonType.EQUAL)
-            {
-                result = leftString.equals(rightString);
-            }
-            if(compType == comparisonType.NEQUAL)
+            boolean isEqual = typeCheck == typeCheckResult.STRING ?
+                    ((StringNode)left).getData().equals(((StringNode)right).getData()) :
+                    ((CharacterNode)left).getData() == ((CharacterNode)right).getData();
+
+            if (compType == comparisonType.EQUAL)
             {
-                result = !leftString.equals(rightString);
+                return isEqual;
             }
-
-            return result;
+            else return compType == comparisonType.NEQUAL && !isEqual;
         }
         else if (typeCheck == typeCheckResult.BOOLEAN)
         {
-            boolean leftBoolean = Boolean.parseBoolean(leftString), rightBoolean = Boolean.parseBoolean(rightString);
+            boolean leftBoolean = ((BooleanNode)left).getData(), rightBoolean = ((BooleanNode)right).getData();
 
-            if (compType == comparisonType.NOT)
+            switch (compType)
             {
-                result = !leftBoolean; //TODO: This is probably not correct
+                case NOT   : return !leftBoolean; //TODO: This is probably not correct
+                case OR    : return leftBoolean || rightBoolean;
+                case AND   : return leftBoolean && rightBoolean;
+                case EQUAL : return leftBoolean == rightBoolean;
+                default    : return false;
             }
-            else if (compType == comparisonType.OR)
-            {
-                result = leftBoolean || rightBoolean;
-            }
-            else if (compType == comparisonType.AND)
-            {
-                result = leftBoolean && rightBoolean;
-            }
-            else if (compType == comparisonType.EQUAL)
-            {
-                result = leftBoolean == rightBoolean;
-            }
-            return result;
         }
         else throw new SyntaxErrorException("No valid boolean comparison found on line " + left.getLineNumber() + ".");
     }
+
+    /**
+     * Performs the comparison given by the incoming comparisonType between the former and latter incoming ints.
+     *
+     * @param left Former incoming int.
+     * @param right Latter incoming int.
+     * @param compType Incoming comparisonType.
+     * @return Result of the comparison.
+     */
+    private boolean compareIntegers(int left, int right, comparisonType compType)
+    {
+        switch (compType)
+        {
+            case GTHAN  : return left > right;
+            case LTHAN  : return left < right;
+            case GETO   : return left >= right;
+            case LETO   : return left <= right;
+            case EQUAL  : return left == right;
+            case NEQUAL : return left != right;
+            default     : return false;
+        }
+    }
+
+    /**
+     * Performs the comparison given by the incoming comparisonType between the former and latter incoming floats.
+     *
+     * @param left Former incoming float.
+     * @param right Latter incoming float.
+     * @param compType Incoming comparisonType.
+     * @return Result of the comparison.
+     */
+    private boolean compareReals(float left, float right, comparisonType compType)
+    {
+        switch (compType)
+        {
+            case GTHAN  : return left > right;
+            case LTHAN  : return left < right;
+            case GETO   : return left >= right;
+            case LETO   : return left <= right;
+            case EQUAL  : return left == right;
+            case NEQUAL : return left != right;
+            default     : return false;
+        }
+    }
 }
@@ -1,95 +1,366 @@
 /**
  * Describes an array in Interpreter.
+ * Elements are held unboxed in a single Java array of their type, so reading or writing one never allocates.
+ * Indices run from the array's declared lower bound to its declared higher bound, both included,
+ * and the lower bound is subtracted from every index to find the element's position.
  */
 
 package Interpreter.InterpreterDataTypes;
 
+import java.util.Arrays;
+
+import CrossStageTools.Nodes.ASTNode;
+import CrossStageTools.Nodes.DataTypeNodes.IntegerNode;
 import CrossStageTools.Nodes.VariableNode;
 import CrossStageTools.tokenType;
+import Exceptions.SyntaxErrorException;
 
 public class ArrayDataType extends InterpreterDataType
 {
-    private InterpreterDataType[] data;
+    private int[] integers;
+
+    private float[] reals;
+
+    private char[] characters;
+
+    private boolean[] booleans;
 
-    private final int lineNumber;
+    private String[] strings;
+
+    private final int lowerBound, length, lineNumber;
 
     private final boolean isChangeable;
 
     private final tokenType typeOfData;
 
+    /**
+     * Creates an ArrayDataType for the incoming VariableNode, with every element holding the default value of the
+     * VariableNode's array type. The incoming boolean determines if it is changeable.
+     *
+     * @param incomingVar Incoming VariableNode.
+     * @param isInitializer Incoming boolean.
+     */
     public ArrayDataType(VariableNode incomingVar, boolean isInitializer)
     {
-        int lower = Integer.parseInt(incomingVar.getLowerRange().toString());
-        int higher = Integer.parseInt(incomingVar.getHigherRange().toString());
+        lowerBound = getBound(incomingVar.getLowerRange());
+        length = getBound(incomingVar.getHigherRange()) - lowerBound + 1;
 
-        for (int i = lower; i < higher; i++)
+        lineNumber = incomingVar.getLineNumber();
+
+        isChangeable = isInitializer;
+
+        typeOfData = incomingVar.getArrayType();
+
+        switch (typeOfData)
         {
-            data[i] = makeNodeFromTokenType(incomingVar, incomingVar.getType());
+            case INTEGER :
+                integers = new int[length];
+                break;
+            case REAL :
+                reals = new float[length];
+                break;
+            case CHARACTER :
+                characters = new char[length];
+                Arrays.fill(characters, ' ');
+                break;
+            case BOOLEAN :
+                booleans = new boolean[length];
+                break;
+            default :
+                strings = new String[length];
+                Arrays.fill(strings, "");
         }
+    }
 
-        lineNumber = incomingVar.getLineNumber();
+    /**
+     * Creates an ArrayDataType with the same bounds, type and line number as the incoming ArrayDataType, changeable if
+     * the incoming boolean is true, holding a copy of its elements if the latter incoming boolean is true and the
+     * same elements otherwise.
+     *
+     * @param original Incoming ArrayDataType.
+     * @param changeable Former incoming boolean.
+     * @param isCopyingElements Latter incoming boolean.
+     */
+    private ArrayDataType(ArrayDataType original, boolean changeable, boolean isCopyingElements)
+    {
+        lowerBound = original.lowerBound;
+        length = original.length;
+        lineNumber = original.lineNumber;
+        isChangeable = changeable;
+        typeOfData = original.typeOfData;
 
-        isChangeable = isInitializer;
+        integers = original.integers == null || !isCopyingElements ? original.integers : original.integers.clone();
+        reals = original.reals == null || !isCopyingElements ? original.reals : original.reals.clone();
+        characters = original.characters == null || !isCopyingElements ?
+                original.characters : original.characters.clone();
+        booleans = original.booleans == null || !isCopyingElements ? original.booleans : original.booleans.clone();
+        strings = original.strings == null || !isCopyingElements ? original.strings : original.strings.clone();
+    }
+
+    /**
+     * Returns the int the incoming range ASTNode declares as a bound.
+     *
+     * @param range Incoming ASTNode.
+     * @return Bound declared by range.
+     */
+    private static int getBound(ASTNode range)
+    {
+        return range instanceof IntegerNode ? ((IntegerNode)range).getData() : Integer.parseInt(range.toString());
+    }
+
+    /**
+     * Returns a new ArrayDataType holding a copy of this ArrayDataType's elements, so a function's starting array
+     * can be copied into each of its calls, and an array passed to a parameter that is not var is not changed by the
+     * function called.
+     *
+     * @return Copy of this ArrayDataType.
+     */
+    public ArrayDataType copy()
+    {
+        return new ArrayDataType(this, isChangeable, true);
+    }
 
-        typeOfData = incomingVar.getType();
+    /**
+     * Returns an ArrayDataType holding the same elements as this ArrayDataType, which is not changeable, so it can be
+     * given to a builtin function that only reads it without copying its elements.
+     *
+     * @return ArrayDataType sharing this ArrayDataType's elements, which is not changeable.
+     */
+    public ArrayDataType asConstant()
+    {
+        return new ArrayDataType(this, false, false);
     }
 
-    private InterpreterDataType makeNodeFromTokenType(VariableNode incomingVar, tokenType arrayType)
+    /**
+     * Returns the position of the element at the incoming index in this ArrayDataType's Java array.
+     *
+     * @param index Incoming index.
+     * @return Position of the element at index.
+     * @throws SyntaxErrorException If index is outside this ArrayDataType's bounds.
+     */
+    private int toPosition(int index) throws SyntaxErrorException
     {
-        switch (arrayType)
+        int position = index - lowerBound;
+
+        if (position < 0 || position >= length)
         {
-            case INTEGER   : return new IntegerDataType(incomingVar, true);
-            case REAL      : return new RealDataType(incomingVar, true);
-            case STRING    : return new StringDataType(incomingVar, true);
-            case CHARACTER : return new CharacterDataType(incomingVar, true);
-            case BOOLEAN   : return new BooleanDataType(incomingVar, true);
-            default        : return null;
+            throw new SyntaxErrorException("Index " + index + " is outside the bounds of the array declared on line "
+                    + lineNumber + ".");
         }
+
+        return position;
+    }
+
+    /**
+     * Returns the integer at the incoming index.
+     *
+     * @param index Incoming index.
+     * @return Integer at index.
+     * @throws SyntaxErrorException If index is outside this ArrayDataType's bounds.
+     */
+    public int getInteger(int index) throws SyntaxErrorException
+    {
+        return integers[toPosition(index)];
+    }
+
+    /**
+     * Sets the integer at the incoming index to the incoming int.
+     *
+     * @param index Incoming index.
+     * @param value Incoming int.
+     * @throws SyntaxErrorException If index is outside this ArrayDataType's bounds.
+     */
+    public void setInteger(int index, int value) throws SyntaxErrorException
+    {
+        integers[toPosition(index)] = value;
+    }
+
+    /**
+     * Returns the real at the incoming index.
+     *
+     * @param index Incoming index.
+     * @return Real at index.
+     * @throws SyntaxErrorException If index is outside this ArrayDataType's bounds.
+     */
+    public float getReal(int index) throws SyntaxErrorException
+    {
+        return reals[toPosition(index)];
     }
 
     /**
-     * Returns this ArrayDataType's data.
+     * Sets the real at the incoming index to the incoming float.
      *
-     * @return This ArrayDataType's data.
+     * @param index Incoming index.
+     * @param value Incoming float.
+     * @throws SyntaxErrorException If index is outside this ArrayDataType's bounds.
      */
-    public InterpreterDataType[] getData()
+    public void setReal(int index, float value) throws SyntaxErrorException
     {
-        return data;
+        reals[toPosition(index)] = value;
     }
 
     /**
-     * Returns the data type shared by all InterpreterDataTypes in this ArrayDataType.
+     * Returns the character at the incoming index.
      *
-     * @return Data type shared by all InterpreterDataTypes in this ArrayDataType.
+     * @param index Incoming index.
+     * @return Character at index.
+     * @throws SyntaxErrorException If index is outside this ArrayDataType's bounds.
+     */
+    public char getCharacter(int index) throws SyntaxErrorException
+    {
+        return characters[toPosition(index)];
+    }
+
+    /**
+     * Sets the character at the incoming index to the incoming char.
+     *
+     * @param index Incoming index.
+     * @param value Incoming char.
+     * @throws SyntaxErrorException If index is outside this ArrayDataType's bounds.
+     */
+    public void setCharacter(int index, char value) throws SyntaxErrorException
+    {
+        characters[toPosition(index)] = value;
+    }
+
+    /**
+     * Returns the boolean at the incoming index.
+     *
+     * @param index Incoming index.
+     * @return Boolean at index.
+     * @throws SyntaxErrorException If index is outside this ArrayDataType's bounds.
+     */
+    public boolean getBoolean(int index) throws SyntaxErrorException
+    {
+        return booleans[toPosition(index)];
+    }
+
+    /**
+     * Sets the boolean at the incoming index to the incoming boolean.
+     *
+     * @param index Incoming index.
+     * @param value Incoming boolean.
+     * @throws SyntaxErrorException If index is outside this ArrayDataType's bounds.
+     */
+    public void setBoolean(int index, boolean value) throws SyntaxErrorException
+    {
+        booleans[toPosition(index)] = value;
+    }
+
+    /**
+     * Returns the String at the incoming index.
+     *
+     * @param index Incoming index.
+     * @return String at index.
+     * @throws SyntaxErrorException If index is outside this ArrayDataType's bounds.
+     */
+    public String getString(int index) throws SyntaxErrorException
+    {
+        return strings[toPosition(index)];
+    }
+
+    /**
+     * Sets the String at the incoming index to the incoming String.
+     *
+     * @param index Incoming index.
+     * @param value Incoming String.
+     * @throws SyntaxErrorException If index is outside this ArrayDataType's bounds.
+     */
+    public void setString(int index, String value) throws SyntaxErrorException
+    {
+        strings[toPosition(index)] = value;
+    }
+
+    /**
+     * Returns the lowest index of this ArrayDataType.
+     *
+     * @return Lowest index.
+     */
+    public int getLowerBound()
+    {
+        return lowerBound;
+    }
+
+    /**
+     * Returns the number of elements in this ArrayDataType.
+     *
+     * @return Number of elements.
+     */
+    public int getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Returns the data type shared by all elements in this ArrayDataType.
+     *
+     * @return Data type shared by all elements in this ArrayDataType.
      */
     public tokenType getTypeOfData()
     {
         return typeOfData;
     }
 
+    /**
+     * Returns the element at the incoming position in this ArrayDataType's Java array as a String.
+     *
+     * @param position Incoming position.
+     * @return Element at position as a String.
+     */
+    public String elementToString(int position)
+    {
+        switch (typeOfData)
+        {
+            case INTEGER   : return integers[position] + "";
+            case REAL      : return reals[position] + "";
+            case CHARACTER : return characters[position] + "";
+            case BOOLEAN   : return booleans[position] + "";
+            default        : return strings[position];
+        }
+    }
+
     @Override
     public String toString()
     {
-        String arrayString = "";
+        StringBuilder arrayString = new StringBuilder();
 
-        for (int i = 0; i < data.length; i++)
+        for (int i = 0; i < length; i++)
         {
-            arrayString += data[i];
-            if (i != data.length - 1)
+            arrayString.append(elementToString(i));
+
+            if (i != length - 1)
             {
-                arrayString += " ";
+                arrayString.append(' ');
             }
         }
 
-        return arrayString;
+        return arrayString.toString();
     }
 
     @Override
     public void fromString(String input)
     {
-        for (int i = 0; i < data.length; i++)
+        String[] elements = input.split(" ");
+
+        for (int i = 0; i < elements.length && i < length; i++)
         {
-            data[i] = null; //TODO: Figure out something for parsing specific IDTs
+            switch (typeOfData)
+            {
+                case INTEGER :
+                    integers[i] = Integer.parseInt(elements[i]);
+                    break;
+                case REAL :
+                    reals[i] = Float.parseFloat(elements[i]);
+                    break;
+                case CHARACTER :
+                    characters[i] = elements[i].charAt(0);
+                    break;
+                case BOOLEAN :
+                    booleans[i] = Boolean.parseBoolean(elements[i]);
+                    break;
+                default :
+                    strings[i] = elements[i];
+            }
         }
     }
 
@@ -43,13 +43,33 @@ public class BooleanDataType extends InterpreterDataType
 
     public BooleanDataType(BooleanNode incomingBoolean)
     {
-        data = Boolean.parseBoolean(incomingBoolean.toString());
+        data = incomingBoolean.getData();
 
         lineNumber = incomingBoolean.getLineNumber();
 
         isChangeable = true;
     }
 
+    /**
+     * Returns this BooleanDataType's data.
+     *
+     * @return This BooleanDataType's data.
+     */
+    public boolean getData()
+    {
+        return data;
+    }
+
+    /**
+     * Sets this BooleanDataType's data to the incoming boolean.
+     *
+     * @param incomingData Incoming boolean.
+     */
+    public void setData(boolean incomingData)
+    {
+        data = incomingData;
+    }
+
     @Override
     public String toString()
     {
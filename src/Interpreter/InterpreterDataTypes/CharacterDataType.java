@@ -43,13 +43,33 @@ public class CharacterDataType extends InterpreterDataType
 
     public CharacterDataType(CharacterNode incomingChar)
     {
-        data = incomingChar.toString().charAt(0);
+        data = incomingChar.getData();
 
         lineNumber = incomingChar.getLineNumber();
 
         isChangeable = true;
     }
 
+    /**
+     * Returns this CharacterDataType's data.
+     *
+     * @return This CharacterDataType's data.
+     */
+    public char getData()
+    {
+        return data;
+    }
+
+    /**
+     * Sets this CharacterDataType's data to the incoming char.
+     *
+     * @param incomingData Incoming char.
+     */
+    public void setData(char incomingData)
+    {
+        data = incomingData;
+    }
+
     @Override
     public String toString()
     {
@@ -43,7 +43,7 @@ public class IntegerDataType extends InterpreterDataType
 
     public IntegerDataType(IntegerNode incomingInt)
     {
-        data = Integer.parseInt(incomingInt.toString());
+        data = incomingInt.getData();
 
         lineNumber = incomingInt.getLineNumber();
 
@@ -58,6 +58,26 @@ public class IntegerDataType extends InterpreterDataType
         data++;
     }
 
+    /**
+     * Returns this IntegerDataType's data.
+     *
+     * @return This IntegerDataType's data.
+     */
+    public int getData()
+    {
+        return data;
+    }
+
+    /**
+     * Sets this IntegerDataType's data to the incoming int.
+     *
+     * @param incomingData Incoming int.
+     */
+    public void setData(int incomingData)
+    {
+        data = incomingData;
+    }
+
     @Override
     public String toString()
     {
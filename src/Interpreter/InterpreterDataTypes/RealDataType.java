@@ -43,13 +43,33 @@ public class RealDataType extends InterpreterDataType
 
     public RealDataType(RealNode incomingReal)
     {
-        data = Float.parseFloat(incomingReal.toString());
+        data = incomingReal.getData();
 
         lineNumber = incomingReal.getLineNumber();
 
         isChangeable = true;
     }
 
+    /**
+     * Returns this RealDataType's data.
+     *
+     * @return This RealDataType's data.
+     */
+    public float getData()
+    {
+        return data;
+    }
+
+    /**
+     * Sets this RealDataType's data to the incoming float.
+     *
+     * @param incomingData Incoming float.
+     */
+    public void setData(float incomingData)
+    {
+        data = incomingData;
+    }
+
     @Override
     public String toString()
     {
@@ -42,13 +42,33 @@ public class StringDataType extends InterpreterDataType
 
     public StringDataType(StringNode currentString)
     {
-        data = currentString.toString();
+        data = currentString.getData();
 
         lineNumber = currentString.getLineNumber();
 
         isChangeable = true;
     }
 
+    /**
+     * Returns this StringDataType's data.
+     *
+     * @return This StringDataType's data.
+     */
+    public String getData()
+    {
+        return data;
+    }
+
+    /**
+     * Sets this StringDataType's data to the incoming String.
+     *
+     * @param incomingData Incoming String.
+     */
+    public void setData(String incomingData)
+    {
+        data = incomingData;
+    }
+
     @Override
     public String toString()
     {
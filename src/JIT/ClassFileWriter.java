@@ -0,0 +1,381 @@
+/**
+ * Writes the bytes of one JVM class file, so JITCompiler can build classes without any library beyond the JDK.
+ * Classes are written at version 49, which lets the JVM infer the types at each branch target itself
+ * instead of needing stack map frames.
+ */
+
+package JIT;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+public class ClassFileWriter
+{
+    public static final int ACC_PUBLIC = 0x0001;
+
+    public static final int ACC_STATIC = 0x0008;
+
+    public static final int ACC_FINAL = 0x0010;
+
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int VERSION = 49;
+
+    private final ByteArrayOutputStream constantPoolBytes;
+
+    private final DataOutputStream constantPool;
+
+    private final HashMap<String, Integer> constantIndices;
+
+    private final ArrayList<byte[]> fields, methods;
+
+    private final String className;
+
+    private int constantCount;
+
+    /**
+     * Creates a ClassFileWriter for a public final class with the incoming String as its internal name,
+     * such as "JIT/Function".
+     *
+     * @param internalName Incoming String.
+     */
+    public ClassFileWriter(String internalName)
+    {
+        constantPoolBytes = new ByteArrayOutputStream();
+        constantPool = new DataOutputStream(constantPoolBytes);
+        constantIndices = new HashMap<>();
+        fields = new ArrayList<>();
+        methods = new ArrayList<>();
+        className = internalName;
+        constantCount = 1;
+    }
+
+    /**
+     * Returns the internal name of the class being written.
+     *
+     * @return Internal name of the class being written.
+     */
+    public String getClassName()
+    {
+        return className;
+    }
+
+    /**
+     * Returns the constant pool index of the incoming String as UTF-8, adding it if it is not there yet.
+     *
+     * @param value Incoming String.
+     * @return Constant pool index of value.
+     */
+    public int addUtf8(String value)
+    {
+        Integer index = constantIndices.get("Utf8 " + value);
+
+        if (index != null)
+        {
+            return index;
+        }
+
+        try
+        {
+            constantPool.writeByte(1);
+            constantPool.writeUTF(value);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        return remember("Utf8 " + value);
+    }
+
+    /**
+     * Returns the constant pool index of the class with the incoming internal name, adding it if needed.
+     *
+     * @param internalName Incoming internal name.
+     * @return Constant pool index of the class.
+     */
+    public int addClass(String internalName)
+    {
+        return addReference(7, "Class " + internalName, addUtf8(internalName), -1);
+    }
+
+    /**
+     * Returns the constant pool index of the incoming String as a String constant, adding it if needed.
+     *
+     * @param value Incoming String.
+     * @return Constant pool index of value.
+     */
+    public int addString(String value)
+    {
+        return addReference(8, "String " + value, addUtf8(value), -1);
+    }
+
+    /**
+     * Returns the constant pool index of the incoming int, adding it if needed.
+     *
+     * @param value Incoming int.
+     * @return Constant pool index of value.
+     */
+    public int addInteger(int value)
+    {
+        return addNumber(3, "Integer " + value, value);
+    }
+
+    /**
+     * Returns the constant pool index of the incoming float, adding it if needed.
+     *
+     * @param value Incoming float.
+     * @return Constant pool index of value.
+     */
+    public int addFloat(float value)
+    {
+        int bits = Float.floatToRawIntBits(value);
+
+        return addNumber(4, "Float " + bits, bits);
+    }
+
+    /**
+     * Returns the constant pool index of the static field with the incoming name and descriptor
+     * on the incoming owner, adding it if needed.
+     *
+     * @param owner Incoming internal name of the class holding the field.
+     * @param name Incoming name of the field.
+     * @param descriptor Incoming descriptor of the field.
+     * @return Constant pool index of the field.
+     */
+    public int addField(String owner, String name, String descriptor)
+    {
+        return addMember(9, owner, name, descriptor);
+    }
+
+    /**
+     * Returns the constant pool index of the method with the incoming name and descriptor
+     * on the incoming owner, adding it if needed.
+     *
+     * @param owner Incoming internal name of the class holding the method.
+     * @param name Incoming name of the method.
+     * @param descriptor Incoming descriptor of the method.
+     * @return Constant pool index of the method.
+     */
+    public int addMethod(String owner, String name, String descriptor)
+    {
+        return addMember(10, owner, name, descriptor);
+    }
+
+    /**
+     * Declares a field on the class being written with the incoming access flags, name and descriptor.
+     *
+     * @param access Incoming access flags.
+     * @param name Incoming name.
+     * @param descriptor Incoming descriptor.
+     */
+    public void declareField(int access, String name, String descriptor)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream field = new DataOutputStream(bytes);
+
+        try
+        {
+            field.writeShort(access);
+            field.writeShort(addUtf8(name));
+            field.writeShort(addUtf8(descriptor));
+            field.writeShort(0);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        fields.add(bytes.toByteArray());
+    }
+
+    /**
+     * Declares a method on the class being written with the incoming access flags, name and descriptor,
+     * whose code is held by the incoming MethodWriter.
+     *
+     * @param access Incoming access flags.
+     * @param name Incoming name.
+     * @param descriptor Incoming descriptor.
+     * @param code Incoming MethodWriter.
+     */
+    public void declareMethod(int access, String name, String descriptor, MethodWriter code)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream method = new DataOutputStream(bytes);
+        byte[] instructions = code.toByteArray();
+
+        try
+        {
+            method.writeShort(access);
+            method.writeShort(addUtf8(name));
+            method.writeShort(addUtf8(descriptor));
+            method.writeShort(1);
+            method.writeShort(addUtf8("Code"));
+            method.writeInt(12 + instructions.length);
+            method.writeShort(code.getMaxStack());
+            method.writeShort(code.getMaxLocals());
+            method.writeInt(instructions.length);
+            method.write(instructions);
+            method.writeShort(0);
+            method.writeShort(0);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        methods.add(bytes.toByteArray());
+    }
+
+    /**
+     * Returns the finished class file.
+     *
+     * @return Bytes of the class file.
+     */
+    public byte[] toByteArray()
+    {
+        int thisClass = addClass(className);
+        int superClass = addClass("java/lang/Object");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream classFile = new DataOutputStream(bytes);
+
+        try
+        {
+            classFile.writeInt(0xCAFEBABE);
+            classFile.writeShort(0);
+            classFile.writeShort(VERSION);
+            classFile.writeShort(constantCount);
+            constantPool.flush();
+            classFile.write(constantPoolBytes.toByteArray());
+            classFile.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            classFile.writeShort(thisClass);
+            classFile.writeShort(superClass);
+            classFile.writeShort(0);
+            classFile.writeShort(fields.size());
+
+            for (int i = 0; i < fields.size(); i++)
+            {
+                classFile.write(fields.get(i));
+            }
+
+            classFile.writeShort(methods.size());
+
+            for (int i = 0; i < methods.size(); i++)
+            {
+                classFile.write(methods.get(i));
+            }
+
+            classFile.writeShort(0);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the constant pool index of the field or method with the incoming tag, owner, name and descriptor,
+     * adding it if needed.
+     *
+     * @param tag Incoming constant pool tag.
+     * @param owner Incoming internal name of the owner.
+     * @param name Incoming name.
+     * @param descriptor Incoming descriptor.
+     * @return Constant pool index of the member.
+     */
+    private int addMember(int tag, String owner, String name, String descriptor)
+    {
+        int nameAndType = addReference(12, "NameAndType " + name + " " + descriptor, addUtf8(name),
+                                       addUtf8(descriptor));
+
+        return addReference(tag, tag + " " + owner + "." + name + " " + descriptor, addClass(owner), nameAndType);
+    }
+
+    /**
+     * Returns the constant pool index of the entry with the incoming key, otherwise adds an entry with the incoming
+     * tag pointing at the incoming former index and, unless it is -1, the incoming latter index.
+     *
+     * @param tag Incoming constant pool tag.
+     * @param key Incoming key.
+     * @param first Former incoming index.
+     * @param second Latter incoming index.
+     * @return Constant pool index of the entry.
+     */
+    private int addReference(int tag, String key, int first, int second)
+    {
+        Integer index = constantIndices.get(key);
+
+        if (index != null)
+        {
+            return index;
+        }
+
+        try
+        {
+            constantPool.writeByte(tag);
+            constantPool.writeShort(first);
+
+            if (second != -1)
+            {
+                constantPool.writeShort(second);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        return remember(key);
+    }
+
+    /**
+     * Returns the constant pool index of the 4 byte number with the incoming tag and key, otherwise adds the incoming
+     * int as its bits.
+     *
+     * @param tag Incoming constant pool tag.
+     * @param key Incoming key.
+     * @param bits Incoming int.
+     * @return Constant pool index of the number.
+     */
+    private int addNumber(int tag, String key, int bits)
+    {
+        Integer index = constantIndices.get(key);
+
+        if (index != null)
+        {
+            return index;
+        }
+
+        try
+        {
+            constantPool.writeByte(tag);
+            constantPool.writeInt(bits);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        return remember(key);
+    }
+
+    /**
+     * Records the entry just written to the constant pool under the incoming key and returns its index.
+     *
+     * @param key Incoming key.
+     * @return Constant pool index of the entry.
+     */
+    private int remember(String key)
+    {
+        constantIndices.put(key, constantCount);
+
+        return constantCount++;
+    }
+}
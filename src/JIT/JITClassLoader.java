@@ -0,0 +1,39 @@
+/**
+ * Defines the classes JITCompiler generates for one run of JITEngine. Classes belong to the loader that defined
+ * them, so once a run is over and its JITClassLoader is unreachable, the generated classes and the constants they
+ * hold can be unloaded, instead of staying in the application class loader for as long as the JVM runs.
+ * Generated classes call each other by name, which this loader resolves to the classes it has already defined.
+ */
+
+package JIT;
+
+final class JITClassLoader extends ClassLoader
+{
+    /**
+     * Creates a JITClassLoader that finds every class it has not defined itself through the class loader of
+     * JITEngine, so generated classes can use the rest of the interpreter.
+     */
+    JITClassLoader()
+    {
+        super(JITEngine.class.getClassLoader());
+    }
+
+    /**
+     * Defines the class whose class file is the incoming bytes, under the incoming internal name, and sets its
+     * constants field to the incoming Object array.
+     *
+     * @param className Incoming internal name.
+     * @param classFile Incoming bytes.
+     * @param constants Incoming Object array.
+     * @return Defined class.
+     * @throws ReflectiveOperationException If the class has no constants field.
+     */
+    Class<?> define(String className, byte[] classFile, Object[] constants) throws ReflectiveOperationException
+    {
+        Class<?> definedClass = defineClass(className.replace('/', '.'), classFile, 0, classFile.length);
+
+        definedClass.getField(JITCompiler.CONSTANTS_FIELD).set(null, constants);
+
+        return definedClass;
+    }
+}
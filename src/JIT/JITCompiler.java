@@ -0,0 +1,1447 @@
+/**
+ * Translates functions compiled by BytecodeCompiler into JVM classes, one class per function with one static method.
+ * Integer, character and boolean slots become int locals, real slots become float locals and String slots become
+ * String locals, so the JVM's JIT sees plain Java arithmetic and branches. Each VirtualMachine instruction becomes a
+ * few JVM instructions, with the VirtualMachine's stack becoming the JVM's operand stack.
+ * <p></p>
+ * A function returns its changeable parameters, so var arguments can be copied back into the caller: nothing if it
+ * has none, the parameter itself if it has one, otherwise an Object array holding them boxed as
+ * JITRuntime.callBuiltIn boxes them. Builtin functions that declare a static method of their own name are called
+ * directly, everything else goes through JITRuntime.callBuiltIn.
+ */
+
+package JIT;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import CrossStageTools.Nodes.VariableNode;
+import CrossStageTools.tokenType;
+import Exceptions.SyntaxErrorException;
+import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
+import Interpreter.InterpreterDataTypes.ArrayDataType;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+import VirtualMachine.CallSite;
+import VirtualMachine.CompiledFunction;
+import VirtualMachine.OpCode;
+import VirtualMachine.VirtualMachine;
+
+public class JITCompiler
+{
+    /** Name of the static Object array field holding a generated class's constants. */
+    static final String CONSTANTS_FIELD = "constants";
+
+    private static final String CONSTANTS_DESCRIPTOR = "[Ljava/lang/Object;";
+
+    private static final String ARRAY_CLASS = "Interpreter/InterpreterDataTypes/ArrayDataType";
+
+    private final VirtualMachine virtualMachine;
+
+    private final HashMap<CompiledFunction, String> classNames;
+
+    private final ArrayList<CompiledFunction> functions;
+
+    private CompiledFunction function;
+
+    private ClassFileWriter classFile;
+
+    private MethodWriter method;
+
+    private ArrayList<Object> constants;
+
+    private char[] slotTags;
+
+    private int[] locals, labels;
+
+    private int scratchBase;
+
+    /**
+     * Creates a JITCompiler that binds calls through the incoming VirtualMachine.
+     *
+     * @param incomingVirtualMachine Incoming VirtualMachine.
+     */
+    public JITCompiler(VirtualMachine incomingVirtualMachine)
+    {
+        virtualMachine = incomingVirtualMachine;
+        classNames = new HashMap<>();
+        functions = new ArrayList<>();
+    }
+
+    /**
+     * Returns the internal name of the class the incoming CompiledFunction is translated into, adding it to the
+     * functions to translate if this is the first time it is asked for.
+     *
+     * @param compiled Incoming CompiledFunction.
+     * @return Internal name of compiled's class.
+     */
+    public String getClassName(CompiledFunction compiled)
+    {
+        String className = classNames.get(compiled);
+
+        if (className == null)
+        {
+            className = JITRuntime.makeClassName(compiled.getFunction().getName());
+            classNames.put(compiled, className);
+            functions.add(compiled);
+        }
+
+        return className;
+    }
+
+    /**
+     * Returns every CompiledFunction whose class name has been asked for, in the order they were first asked for.
+     * Translating a function adds the functions it calls to the end.
+     *
+     * @return CompiledFunctions to translate.
+     */
+    public ArrayList<CompiledFunction> getFunctions()
+    {
+        return functions;
+    }
+
+    /**
+     * Returns the name of the static method the incoming CompiledFunction is translated into.
+     *
+     * @param compiled Incoming CompiledFunction.
+     * @return Name of compiled's method.
+     */
+    public static String getMethodName(CompiledFunction compiled)
+    {
+        return compiled.getFunction().getName();
+    }
+
+    /**
+     * Returns the descriptor of the static method the incoming CompiledFunction is translated into.
+     *
+     * @param compiled Incoming CompiledFunction.
+     * @return Descriptor of compiled's method.
+     */
+    public static String getMethodDescriptor(CompiledFunction compiled)
+    {
+        StringBuilder descriptor = new StringBuilder("(");
+        tokenType[] parameterTypes = compiled.getParameterTypes();
+        int[] changeableParameters = getChangeableParameters(compiled);
+
+        for (int i = 0; i < parameterTypes.length; i++)
+        {
+            descriptor.append(getDescriptor(getTag(parameterTypes[i])));
+        }
+
+        descriptor.append(')');
+
+        if (changeableParameters.length == 0)
+        {
+            descriptor.append('V');
+        }
+        else if (changeableParameters.length == 1)
+        {
+            descriptor.append(getDescriptor(getTag(parameterTypes[changeableParameters[0]])));
+        }
+        else descriptor.append(CONSTANTS_DESCRIPTOR);
+
+        return descriptor.toString();
+    }
+
+    /**
+     * Translates the incoming CompiledFunction into a class file, binding each of its calls, and adds the constants
+     * the class needs to the incoming ArrayList. Those constants must be put in the class's constants field before
+     * it runs.
+     *
+     * @param compiled Incoming CompiledFunction.
+     * @param incomingConstants Incoming ArrayList.
+     * @return Bytes of the class file.
+     */
+    public byte[] compile(CompiledFunction compiled, ArrayList<Object> incomingConstants)
+    {
+        function = compiled;
+        constants = incomingConstants;
+        classFile = new ClassFileWriter(getClassName(compiled));
+
+        Object[] functionConstants = compiled.getConstants();
+
+        for (int i = 0; i < functionConstants.length; i++)
+        {
+            constants.add(functionConstants[i]);
+        }
+
+        assignLocals();
+
+        method = new MethodWriter(slotTags.length);
+        scratchBase = slotTags.length;
+
+        emitInitialLocals();
+        translateCode();
+
+        if (!method.isEncodable())
+        {
+            incomingConstants.clear();
+
+            return compileCallToVirtualMachine(compiled, incomingConstants);
+        }
+
+        classFile.declareField(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC, CONSTANTS_FIELD,
+                               CONSTANTS_DESCRIPTOR);
+        classFile.declareMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC, getMethodName(compiled),
+                                getMethodDescriptor(compiled), method);
+
+        return classFile.toByteArray();
+    }
+
+    /**
+     * Writes a class file for the incoming CompiledFunction whose method, instead of being a translation of it, has
+     * the VirtualMachine run it through JITRuntime.callVirtualMachine. This is what a function becomes when its
+     * translation is too long for a JVM method or jumps further than a JVM jump can, and what JITEngine defines when
+     * the JVM rejects its translation. Its constants are the VirtualMachine and the CompiledFunction, which are added
+     * to the incoming ArrayList.
+     *
+     * @param compiled Incoming CompiledFunction.
+     * @param incomingConstants Incoming ArrayList.
+     * @return Bytes of the class file.
+     */
+    public byte[] compileCallToVirtualMachine(CompiledFunction compiled, ArrayList<Object> incomingConstants)
+    {
+        tokenType[] parameterTypes = compiled.getParameterTypes();
+        int[] changeableParameters = getChangeableParameters(compiled);
+
+        function = compiled;
+        constants = incomingConstants;
+        classFile = new ClassFileWriter(getClassName(compiled));
+        method = new MethodWriter(parameterTypes.length);
+
+        constants.add(virtualMachine);
+        constants.add(compiled);
+
+        emitConstantsEntry(0);
+        method.emitWithIndex(MethodWriter.CHECKCAST, classFile.addClass("VirtualMachine/VirtualMachine"), 0);
+        emitConstantsEntry(1);
+        method.emitWithIndex(MethodWriter.CHECKCAST, classFile.addClass("VirtualMachine/CompiledFunction"), 0);
+        emitInteger(parameterTypes.length);
+        method.emitWithIndex(MethodWriter.ANEWARRAY, classFile.addClass("java/lang/Object"), 0);
+
+        for (int i = 0; i < parameterTypes.length; i++)
+        {
+            method.emit(MethodWriter.DUP, 1);
+            emitInteger(i);
+            method.emitLocal(getLoadInstruction(getTag(parameterTypes[i])), i, 1);
+            emitBox(getTag(parameterTypes[i]));
+            method.emit(MethodWriter.AASTORE, -3);
+        }
+
+        emitInvoke(MethodWriter.INVOKESTATIC, "JIT/JITRuntime", "callVirtualMachine",
+                   "(LVirtualMachine/VirtualMachine;LVirtualMachine/CompiledFunction;[Ljava/lang/Object;)"
+                           + CONSTANTS_DESCRIPTOR, -2);
+
+        if (changeableParameters.length == 0)
+        {
+            method.emit(MethodWriter.POP, -1);
+            method.emit(MethodWriter.RETURN, 0);
+        }
+        else if (changeableParameters.length == 1)
+        {
+            char tag = getTag(parameterTypes[changeableParameters[0]]);
+
+            emitInteger(0);
+            method.emit(MethodWriter.AALOAD, -1);
+            emitUnbox(tag);
+            method.emit(getReturnInstruction(tag), -1);
+        }
+        else method.emit(MethodWriter.ARETURN, -1);
+
+        classFile.declareField(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC, CONSTANTS_FIELD,
+                               CONSTANTS_DESCRIPTOR);
+        classFile.declareMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC, getMethodName(compiled),
+                                getMethodDescriptor(compiled), method);
+
+        return classFile.toByteArray();
+    }
+
+    /**
+     * Gives each slot of the function being translated a JVM local, with parameters first and in order.
+     */
+    private void assignLocals()
+    {
+        tokenType[] slotTypes = function.getSlotTypes();
+        int[] parameterSlots = function.getParameterSlots();
+
+        slotTags = new char[slotTypes.length];
+        locals = new int[slotTypes.length];
+
+        for (int i = 0; i < slotTypes.length; i++)
+        {
+            slotTags[i] = getTag(slotTypes[i]);
+            locals[i] = -1;
+        }
+
+        for (int i = 0; i < parameterSlots.length; i++)
+        {
+            locals[parameterSlots[i]] = i;
+        }
+
+        int nextLocal = parameterSlots.length;
+
+        for (int i = 0; i < slotTypes.length; i++)
+        {
+            if (locals[i] == -1)
+            {
+                locals[i] = nextLocal++;
+            }
+        }
+    }
+
+    /**
+     * Emits the instructions giving each slot other than the parameters the value it starts with.
+     */
+    private void emitInitialLocals()
+    {
+        int[] initialLocals = function.getInitialLocals();
+        Object[] initialReferenceLocals = function.getInitialReferenceLocals();
+
+        for (int slot = 0; slot < slotTags.length; slot++)
+        {
+            if (locals[slot] < function.getParameterSlots().length)
+            {
+                continue;
+            }
+
+            Object reference = initialReferenceLocals[slot];
+
+            if (slotTags[slot] == 'I')
+            {
+                emitInteger(initialLocals[slot]);
+            }
+            else if (slotTags[slot] == 'F')
+            {
+                emitReal(Float.intBitsToFloat(initialLocals[slot]));
+            }
+            else if (reference instanceof String)
+            {
+                method.emitConstant(classFile.addString((String)reference));
+            }
+            else if (reference instanceof ArrayDataType)
+            {
+                constants.add(reference);
+                emitConstantsEntry(constants.size() - 1);
+                method.emitWithIndex(MethodWriter.CHECKCAST, classFile.addClass(ARRAY_CLASS), 0);
+                emitInvoke(MethodWriter.INVOKEVIRTUAL, ARRAY_CLASS, "copy", "()L" + ARRAY_CLASS + ";", 0);
+            }
+            else if (reference != null)
+            {
+                constants.add(reference);
+                emitConstantsEntry(constants.size() - 1);
+            }
+            else method.emit(MethodWriter.ACONST_NULL, 1);
+
+            emitStore(slot);
+        }
+    }
+
+    /**
+     * Translates every reachable instruction of the function being translated.
+     */
+    private void translateCode()
+    {
+        int[] code = function.getCode();
+        String[] stackTypes = findStackTypes(code);
+
+        labels = new int[code.length];
+
+        for (int i = 0; i < code.length; i++)
+        {
+            labels[i] = method.newLabel();
+        }
+
+        for (int pc = 0; pc < code.length; pc += 1 + OpCode.getOperandCount(code[pc]))
+        {
+            if (stackTypes[pc] == null)
+            {
+                continue;
+            }
+
+            method.placeLabel(labels[pc]);
+            method.setStackDepth(stackTypes[pc].length());
+
+            translateInstruction(code[pc], OpCode.getOperandCount(code[pc]) == 1 ? code[pc + 1] : 0);
+        }
+    }
+
+    /**
+     * Returns the types on the stack before each instruction in the incoming code array, one tag per value with the
+     * top of the stack last, or null for instructions that can never be reached.
+     *
+     * @param code Incoming code array.
+     * @return Types on the stack before each instruction.
+     */
+    private String[] findStackTypes(int[] code)
+    {
+        String[] stackTypes = new String[code.length];
+        ArrayDeque<Integer> pending = new ArrayDeque<>();
+
+        stackTypes[0] = "";
+        pending.push(0);
+
+        while (!pending.isEmpty())
+        {
+            int pc = pending.pop();
+            int instruction = code[pc];
+            int operand = OpCode.getOperandCount(instruction) == 1 ? code[pc + 1] : 0;
+            String after = getStackAfter(instruction, operand, stackTypes[pc]);
+
+            if (instruction >= OpCode.JUMP && instruction <= OpCode.JUMP_IF_INTEGER_NEQUAL)
+            {
+                reach(stackTypes, pending, operand, after);
+            }
+            if (instruction != OpCode.JUMP && instruction != OpCode.FAIL && instruction != OpCode.RETURN)
+            {
+                reach(stackTypes, pending, pc + 1 + OpCode.getOperandCount(instruction), after);
+            }
+        }
+
+        return stackTypes;
+    }
+
+    /**
+     * Records the incoming String as the types on the stack at the incoming index of the incoming array
+     * and queues the index on the incoming ArrayDeque, unless it was reached before.
+     *
+     * @param stackTypes Incoming array of stack types.
+     * @param pending Incoming ArrayDeque of indices still to follow.
+     * @param pc Incoming index.
+     * @param stack Incoming String.
+     */
+    private void reach(String[] stackTypes, ArrayDeque<Integer> pending, int pc, String stack)
+    {
+        if (stackTypes[pc] == null)
+        {
+            stackTypes[pc] = stack;
+            pending.push(pc);
+        }
+    }
+
+    /**
+     * Returns the types on the stack after the incoming instruction with the incoming operand runs with the incoming
+     * types on the stack.
+     *
+     * @param instruction Incoming instruction.
+     * @param operand Incoming operand.
+     * @param stack Incoming types on the stack.
+     * @return Types on the stack afterwards.
+     */
+    private String getStackAfter(int instruction, int operand, String stack)
+    {
+        switch (instruction)
+        {
+            case OpCode.PUSH                   : return stack + 'I';
+            case OpCode.PUSH_REAL              : return stack + 'F';
+            case OpCode.CONST                  : return stack + 'S';
+            case OpCode.LOAD                   : return stack + slotTags[operand];
+            case OpCode.REFERENCE_LOAD         : return stack + slotTags[operand];
+            case OpCode.STORE                  : return pop(stack, 1);
+            case OpCode.REFERENCE_STORE        : return pop(stack, 1);
+            case OpCode.JUMP_IF_FALSE          : return pop(stack, 1);
+            case OpCode.JUMP_IF_TRUE           : return pop(stack, 1);
+            case OpCode.INCREMENT              : return stack;
+            case OpCode.JUMP                   : return stack;
+            case OpCode.FAIL                   : return stack;
+            case OpCode.RETURN                 : return stack;
+            case OpCode.REAL_ADD               : return pop(stack, 2) + 'F';
+            case OpCode.REAL_SUB               : return pop(stack, 2) + 'F';
+            case OpCode.REAL_MULT              : return pop(stack, 2) + 'F';
+            case OpCode.REAL_DIV               : return pop(stack, 2) + 'F';
+            case OpCode.REAL_MOD               : return pop(stack, 2) + 'F';
+            case OpCode.CONCATENATE            : return pop(stack, 2) + 'S';
+            case OpCode.JUMP_IF_INTEGER_GTHAN  : return pop(stack, 2);
+            case OpCode.JUMP_IF_INTEGER_LTHAN  : return pop(stack, 2);
+            case OpCode.JUMP_IF_INTEGER_GETO   : return pop(stack, 2);
+            case OpCode.JUMP_IF_INTEGER_LETO   : return pop(stack, 2);
+            case OpCode.JUMP_IF_INTEGER_EQUAL  : return pop(stack, 2);
+            case OpCode.JUMP_IF_INTEGER_NEQUAL : return pop(stack, 2);
+            case OpCode.INTEGER_ARRAY_LOAD     : return pop(stack, 1) + 'I';
+            case OpCode.REAL_ARRAY_LOAD        : return pop(stack, 1) + 'F';
+            case OpCode.CHARACTER_ARRAY_LOAD   : return pop(stack, 1) + 'I';
+            case OpCode.BOOLEAN_ARRAY_LOAD     : return pop(stack, 1) + 'I';
+            case OpCode.STRING_ARRAY_LOAD      : return pop(stack, 1) + 'S';
+            case OpCode.INTEGER_ARRAY_STORE    : return pop(stack, 2);
+            case OpCode.REAL_ARRAY_STORE       : return pop(stack, 2);
+            case OpCode.CHARACTER_ARRAY_STORE  : return pop(stack, 2);
+            case OpCode.BOOLEAN_ARRAY_STORE    : return pop(stack, 2);
+            case OpCode.STRING_ARRAY_STORE     : return pop(stack, 2);
+            case OpCode.CALL                   : return pop(stack, getCallSite(operand).getNumberOfArguments());
+            default                            : return pop(stack, 2) + 'I';
+        }
+    }
+
+    /**
+     * Returns the incoming types on the stack without the incoming number of values on top.
+     *
+     * @param stack Incoming types on the stack.
+     * @param count Incoming number of values.
+     * @return Types left on the stack.
+     */
+    private static String pop(String stack, int count)
+    {
+        return stack.substring(0, stack.length() - count);
+    }
+
+    /**
+     * Emits the JVM instructions for the incoming instruction with the incoming operand.
+     *
+     * @param instruction Incoming instruction.
+     * @param operand Incoming operand.
+     */
+    private void translateInstruction(int instruction, int operand)
+    {
+        switch (instruction)
+        {
+            case OpCode.PUSH :
+                emitInteger(operand);
+                break;
+            case OpCode.PUSH_REAL :
+                emitReal(Float.intBitsToFloat(operand));
+                break;
+            case OpCode.CONST :
+                method.emitConstant(classFile.addString((String)constants.get(operand)));
+                break;
+            case OpCode.LOAD :
+            case OpCode.REFERENCE_LOAD :
+                emitLoad(operand);
+                break;
+            case OpCode.STORE :
+            case OpCode.REFERENCE_STORE :
+                emitStore(operand);
+                break;
+            case OpCode.INCREMENT :
+                method.emitIncrement(locals[operand], 1);
+                break;
+            case OpCode.CONCATENATE :
+                emitInvoke(MethodWriter.INVOKEVIRTUAL, "java/lang/String", "concat",
+                           "(Ljava/lang/String;)Ljava/lang/String;", -1);
+                break;
+            case OpCode.INTEGER_GTHAN :
+            case OpCode.INTEGER_LTHAN :
+            case OpCode.INTEGER_GETO :
+            case OpCode.INTEGER_LETO :
+            case OpCode.INTEGER_EQUAL :
+            case OpCode.INTEGER_NEQUAL :
+                emitBoolean(getFalseJump(instruction), -2);
+                break;
+            case OpCode.REAL_GTHAN :
+            case OpCode.REAL_GETO :
+            case OpCode.REAL_EQUAL :
+            case OpCode.REAL_NEQUAL :
+                method.emit(MethodWriter.FCMPL, -1);
+                emitBoolean(getFalseJump(instruction), -1);
+                break;
+            case OpCode.REAL_LTHAN :
+            case OpCode.REAL_LETO :
+                method.emit(MethodWriter.FCMPG, -1);
+                emitBoolean(getFalseJump(instruction), -1);
+                break;
+            case OpCode.STRING_EQUAL :
+                emitInvoke(MethodWriter.INVOKEVIRTUAL, "java/lang/Object", "equals", "(Ljava/lang/Object;)Z", -1);
+                break;
+            case OpCode.STRING_NEQUAL :
+                emitInvoke(MethodWriter.INVOKEVIRTUAL, "java/lang/Object", "equals", "(Ljava/lang/Object;)Z", -1);
+                method.emit(MethodWriter.ICONST_1, 1);
+                method.emit(MethodWriter.IXOR, -1);
+                break;
+            case OpCode.NOT :
+                method.emit(MethodWriter.POP, -1);
+                method.emit(MethodWriter.ICONST_1, 1);
+                method.emit(MethodWriter.IXOR, -1);
+                break;
+            case OpCode.JUMP :
+                method.emitJump(MethodWriter.GOTO, labels[operand], 0);
+                break;
+            case OpCode.JUMP_IF_FALSE :
+                method.emitJump(MethodWriter.IFEQ, labels[operand], -1);
+                break;
+            case OpCode.JUMP_IF_TRUE :
+                method.emitJump(MethodWriter.IFNE, labels[operand], -1);
+                break;
+            case OpCode.JUMP_IF_INTEGER_GTHAN :
+            case OpCode.JUMP_IF_INTEGER_LTHAN :
+            case OpCode.JUMP_IF_INTEGER_GETO :
+            case OpCode.JUMP_IF_INTEGER_LETO :
+            case OpCode.JUMP_IF_INTEGER_EQUAL :
+            case OpCode.JUMP_IF_INTEGER_NEQUAL :
+                method.emitJump(getTrueJump(instruction), labels[operand], -2);
+                break;
+            case OpCode.INTEGER_ARRAY_LOAD :
+                emitElementLoad(operand, "getInteger", "(I)I");
+                break;
+            case OpCode.REAL_ARRAY_LOAD :
+                emitElementLoad(operand, "getReal", "(I)F");
+                break;
+            case OpCode.CHARACTER_ARRAY_LOAD :
+                emitElementLoad(operand, "getCharacter", "(I)C");
+                break;
+            case OpCode.BOOLEAN_ARRAY_LOAD :
+                emitElementLoad(operand, "getBoolean", "(I)Z");
+                break;
+            case OpCode.STRING_ARRAY_LOAD :
+                emitElementLoad(operand, "getString", "(I)Ljava/lang/String;");
+                break;
+            case OpCode.INTEGER_ARRAY_STORE :
+                emitElementStore(operand, "setInteger", "(II)V");
+                break;
+            case OpCode.REAL_ARRAY_STORE :
+                emitElementStore(operand, "setReal", "(IF)V");
+                break;
+            case OpCode.CHARACTER_ARRAY_STORE :
+                emitElementStore(operand, "setCharacter", "(IC)V");
+                break;
+            case OpCode.BOOLEAN_ARRAY_STORE :
+                emitElementStore(operand, "setBoolean", "(IZ)V");
+                break;
+            case OpCode.STRING_ARRAY_STORE :
+                emitElementStore(operand, "setString", "(ILjava/lang/String;)V");
+                break;
+            case OpCode.CALL :
+                translateCall(getCallSite(operand), operand);
+                break;
+            case OpCode.FAIL :
+                emitThrow(operand);
+                break;
+            case OpCode.RETURN :
+                emitReturn();
+                break;
+            default :
+                method.emit(getOperator(instruction), -1);
+        }
+    }
+
+    /**
+     * Emits the instructions calling the incoming getter of the array in the incoming slot with the index on top of
+     * the stack, leaving the element in its place.
+     *
+     * @param slot Incoming slot.
+     * @param getter Incoming name of the getter.
+     * @param descriptor Incoming descriptor of the getter.
+     */
+    private void emitElementLoad(int slot, String getter, String descriptor)
+    {
+        emitLoad(slot);
+        method.emitWithIndex(MethodWriter.CHECKCAST, classFile.addClass(ARRAY_CLASS), 0);
+        method.emit(MethodWriter.SWAP, 0);
+        emitInvoke(MethodWriter.INVOKEVIRTUAL, ARRAY_CLASS, getter, descriptor, -1);
+    }
+
+    /**
+     * Emits the instructions calling the incoming setter of the array in the incoming slot with the index and the
+     * value on top of the stack.
+     *
+     * @param slot Incoming slot.
+     * @param setter Incoming name of the setter.
+     * @param descriptor Incoming descriptor of the setter.
+     */
+    private void emitElementStore(int slot, String setter, String descriptor)
+    {
+        emitLoad(slot);
+        method.emitWithIndex(MethodWriter.CHECKCAST, classFile.addClass(ARRAY_CLASS), 0);
+        method.emit(MethodWriter.DUP_X2, 1);
+        method.emit(MethodWriter.POP, -1);
+        emitInvoke(MethodWriter.INVOKEVIRTUAL, ARRAY_CLASS, setter, descriptor, -3);
+    }
+
+    /**
+     * Returns the JVM instruction doing the same as the incoming arithmetic or logical instruction.
+     *
+     * @param instruction Incoming instruction.
+     * @return JVM instruction for instruction.
+     */
+    private static int getOperator(int instruction)
+    {
+        switch (instruction)
+        {
+            case OpCode.INTEGER_ADD  : return MethodWriter.IADD;
+            case OpCode.INTEGER_SUB  : return MethodWriter.ISUB;
+            case OpCode.INTEGER_MULT : return MethodWriter.IMUL;
+            case OpCode.INTEGER_DIV  : return MethodWriter.IDIV;
+            case OpCode.INTEGER_MOD  : return MethodWriter.IREM;
+            case OpCode.REAL_ADD     : return MethodWriter.FADD;
+            case OpCode.REAL_SUB     : return MethodWriter.FSUB;
+            case OpCode.REAL_MULT    : return MethodWriter.FMUL;
+            case OpCode.REAL_DIV     : return MethodWriter.FDIV;
+            case OpCode.REAL_MOD     : return MethodWriter.FREM;
+            case OpCode.AND          : return MethodWriter.IAND;
+            case OpCode.OR           : return MethodWriter.IOR;
+            default                  : throw new IllegalArgumentException("No JVM instruction for "
+                                                                          + OpCode.getName(instruction) + ".");
+        }
+    }
+
+    /**
+     * Returns the JVM jump taken when the incoming comparison is false. Real comparisons jump on the result of the
+     * fcmpl or fcmpg before them, which are chosen so that comparing with NaN is false, as it is in Java.
+     *
+     * @param comparison Incoming comparison instruction.
+     * @return JVM jump taken when comparison is false.
+     */
+    private static int getFalseJump(int comparison)
+    {
+        switch (comparison)
+        {
+            case OpCode.INTEGER_GTHAN  : return MethodWriter.IF_ICMPLE;
+            case OpCode.INTEGER_LTHAN  : return MethodWriter.IF_ICMPGE;
+            case OpCode.INTEGER_GETO   : return MethodWriter.IF_ICMPLT;
+            case OpCode.INTEGER_LETO   : return MethodWriter.IF_ICMPGT;
+            case OpCode.INTEGER_EQUAL  : return MethodWriter.IF_ICMPNE;
+            case OpCode.INTEGER_NEQUAL : return MethodWriter.IF_ICMPEQ;
+            case OpCode.REAL_GTHAN     : return MethodWriter.IFLE;
+            case OpCode.REAL_LTHAN     : return MethodWriter.IFGE;
+            case OpCode.REAL_GETO      : return MethodWriter.IFLT;
+            case OpCode.REAL_LETO      : return MethodWriter.IFGT;
+            case OpCode.REAL_EQUAL     : return MethodWriter.IFNE;
+            default                    : return MethodWriter.IFEQ;
+        }
+    }
+
+    /**
+     * Returns the JVM jump doing the same as the incoming fused compare and jump instruction.
+     *
+     * @param instruction Incoming instruction.
+     * @return JVM jump for instruction.
+     */
+    private static int getTrueJump(int instruction)
+    {
+        switch (instruction)
+        {
+            case OpCode.JUMP_IF_INTEGER_GTHAN : return MethodWriter.IF_ICMPGT;
+            case OpCode.JUMP_IF_INTEGER_LTHAN : return MethodWriter.IF_ICMPLT;
+            case OpCode.JUMP_IF_INTEGER_GETO  : return MethodWriter.IF_ICMPGE;
+            case OpCode.JUMP_IF_INTEGER_LETO  : return MethodWriter.IF_ICMPLE;
+            case OpCode.JUMP_IF_INTEGER_EQUAL : return MethodWriter.IF_ICMPEQ;
+            default                           : return MethodWriter.IF_ICMPNE;
+        }
+    }
+
+    /**
+     * Emits the incoming JVM jump followed by the instructions pushing 1 if it is not taken and 0 if it is.
+     *
+     * @param jumpWhenFalse Incoming JVM jump.
+     * @param stackChange Incoming change to the stack depth made by the jump.
+     */
+    private void emitBoolean(int jumpWhenFalse, int stackChange)
+    {
+        int whenFalse = method.newLabel(), end = method.newLabel();
+
+        method.emitJump(jumpWhenFalse, whenFalse, stackChange);
+
+        int depth = method.getStackDepth();
+
+        method.emit(MethodWriter.ICONST_1, 1);
+        method.emitJump(MethodWriter.GOTO, end, 0);
+        method.placeLabel(whenFalse);
+        method.setStackDepth(depth);
+        method.emit(MethodWriter.ICONST_0, 1);
+        method.placeLabel(end);
+    }
+
+    /**
+     * Emits the call made by the incoming CallSite, which is at the incoming index in the constants, binding it first.
+     * If it cannot be bound, the call throws the same exception VirtualMachine would when reaching it.
+     *
+     * @param site Incoming CallSite.
+     * @param siteIndex Incoming index.
+     */
+    private void translateCall(CallSite site, int siteIndex)
+    {
+        if (site.getTarget() == null)
+        {
+            try
+            {
+                virtualMachine.bind(site);
+            }
+            catch (SyntaxErrorException e)
+            {
+                constants.add(e);
+                emitThrow(constants.size() - 1);
+                return;
+            }
+        }
+
+        if (site.getTarget() instanceof CompiledFunction)
+        {
+            translateFunctionCall(site, (CompiledFunction)site.getTarget());
+        }
+        else translateBuiltInCall(site, (BuiltInFunctionNode)site.getTarget(), siteIndex);
+    }
+
+    /**
+     * Emits a static call to the class of the incoming CompiledFunction, with the arguments of the incoming CallSite
+     * already on the stack, then stores what it returns into the caller's var arguments.
+     *
+     * @param site Incoming CallSite.
+     * @param callee Incoming CompiledFunction.
+     */
+    private void translateFunctionCall(CallSite site, CompiledFunction callee)
+    {
+        int[] changeableParameters = getChangeableParameters(callee);
+        int[] copyBackSlots = site.getCopyBackSlots();
+
+        emitArrayCopies(site);
+        emitInvoke(MethodWriter.INVOKESTATIC, getClassName(callee), getMethodName(callee),
+                   getMethodDescriptor(callee),
+                   (changeableParameters.length == 0 ? 0 : 1) - site.getNumberOfArguments());
+
+        if (changeableParameters.length == 1)
+        {
+            if (copyBackSlots[changeableParameters[0]] == -1)
+            {
+                method.emit(MethodWriter.POP, -1);
+            }
+            else emitStore(copyBackSlots[changeableParameters[0]]);
+        }
+        else if (changeableParameters.length > 1)
+        {
+            for (int i = 0; i < changeableParameters.length; i++)
+            {
+                int slot = copyBackSlots[changeableParameters[i]];
+
+                if (slot == -1)
+                {
+                    continue;
+                }
+
+                method.emit(MethodWriter.DUP, 1);
+                emitInteger(i);
+                method.emit(MethodWriter.AALOAD, -1);
+                emitUnbox(slotTags[slot]);
+                emitStore(slot);
+            }
+
+            method.emit(MethodWriter.POP, -1);
+        }
+    }
+
+    /**
+     * Emits the instructions replacing each array argument of the incoming CallSite that is not copied back with a
+     * copy, as VirtualMachine.passReference does. If there is any, the arguments are first moved from the stack into
+     * scratch locals past the function's slots and then loaded back.
+     *
+     * @param site Incoming CallSite.
+     */
+    private void emitArrayCopies(CallSite site)
+    {
+        int numberOfArguments = site.getNumberOfArguments();
+        tokenType[] argumentTypes = site.getArgumentTypes();
+        int[] copyBackSlots = site.getCopyBackSlots();
+        boolean isCopying = false;
+
+        for (int i = 0; i < numberOfArguments; i++)
+        {
+            isCopying |= argumentTypes[i] == tokenType.ARRAY && copyBackSlots[i] == -1;
+        }
+
+        if (!isCopying)
+        {
+            return;
+        }
+
+        method.reserveLocals(scratchBase + numberOfArguments);
+
+        for (int i = numberOfArguments - 1; i >= 0; i--)
+        {
+            method.emitLocal(getStoreInstruction(getTag(argumentTypes[i])), scratchBase + i, -1);
+        }
+
+        for (int i = 0; i < numberOfArguments; i++)
+        {
+            method.emitLocal(getLoadInstruction(getTag(argumentTypes[i])), scratchBase + i, 1);
+
+            if (argumentTypes[i] == tokenType.ARRAY && copyBackSlots[i] == -1)
+            {
+                emitInteger(-1);
+                emitInvoke(MethodWriter.INVOKESTATIC, "VirtualMachine/VirtualMachine", "passReference",
+                           "(Ljava/lang/Object;I)Ljava/lang/Object;", -1);
+            }
+        }
+    }
+
+    /**
+     * Emits the call to the incoming builtin function made by the incoming CallSite, which is at the incoming index
+     * in the constants. The arguments are first moved from the stack into scratch locals past the function's slots.
+     * A builtin that would ignore its arguments because they are not valid for it is not called at all.
+     *
+     * @param site Incoming CallSite.
+     * @param builtIn Incoming builtin function.
+     * @param siteIndex Incoming index.
+     */
+    private void translateBuiltInCall(CallSite site, BuiltInFunctionNode builtIn, int siteIndex)
+    {
+        int numberOfArguments = site.getNumberOfArguments();
+        tokenType[] argumentTypes = site.getArgumentTypes();
+
+        method.reserveLocals(scratchBase + numberOfArguments);
+
+        for (int i = numberOfArguments - 1; i >= 0; i--)
+        {
+            method.emitLocal(getStoreInstruction(getTag(argumentTypes[i])), scratchBase + i, -1);
+        }
+
+        Method staticMethod = findStaticMethod(builtIn, argumentTypes);
+
+        if (staticMethod == null)
+        {
+            emitBuiltInCallThroughRuntime(site, siteIndex);
+        }
+        else if (builtIn.isVariadic())
+        {
+            for (int i = 0; i < numberOfArguments; i++)
+            {
+                method.emitLocal(getLoadInstruction(getTag(argumentTypes[i])), scratchBase + i, 1);
+                emitText(argumentTypes[i]);
+                emitInvoke(staticMethod, -1);
+            }
+        }
+        else if (isArgListValid(builtIn, site))
+        {
+            for (int i = 0; i < numberOfArguments - 1; i++)
+            {
+                method.emitLocal(getLoadInstruction(getTag(argumentTypes[i])), scratchBase + i, 1);
+            }
+
+            emitInvoke(staticMethod, 2 - numberOfArguments);
+
+            if (site.getCopyBackSlots()[numberOfArguments - 1] == -1)
+            {
+                method.emit(MethodWriter.POP, -1);
+            }
+            else emitStore(site.getCopyBackSlots()[numberOfArguments - 1]);
+        }
+    }
+
+    /**
+     * Emits a call to JITRuntime.callBuiltIn for the incoming CallSite, which is at the incoming index in the
+     * constants, with its arguments boxed from the scratch locals, then stores the var arguments back.
+     *
+     * @param site Incoming CallSite.
+     * @param siteIndex Incoming index.
+     */
+    private void emitBuiltInCallThroughRuntime(CallSite site, int siteIndex)
+    {
+        int numberOfArguments = site.getNumberOfArguments();
+        tokenType[] argumentTypes = site.getArgumentTypes();
+        int[] copyBackSlots = site.getCopyBackSlots();
+
+        emitInteger(numberOfArguments);
+        method.emitWithIndex(MethodWriter.ANEWARRAY, classFile.addClass("java/lang/Object"), 0);
+
+        for (int i = 0; i < numberOfArguments; i++)
+        {
+            method.emit(MethodWriter.DUP, 1);
+            emitInteger(i);
+            method.emitLocal(getLoadInstruction(getTag(argumentTypes[i])), scratchBase + i, 1);
+            emitBox(getTag(argumentTypes[i]));
+            method.emit(MethodWriter.AASTORE, -3);
+        }
+
+        method.emit(MethodWriter.DUP, 1);
+        emitConstantsEntry(siteIndex);
+        method.emitWithIndex(MethodWriter.CHECKCAST, classFile.addClass("VirtualMachine/CallSite"), 0);
+        method.emit(MethodWriter.SWAP, 0);
+        emitInvoke(MethodWriter.INVOKESTATIC, "JIT/JITRuntime", "callBuiltIn",
+                   "(LVirtualMachine/CallSite;[Ljava/lang/Object;)V", -2);
+
+        for (int i = 0; i < numberOfArguments; i++)
+        {
+            if (copyBackSlots[i] == -1)
+            {
+                continue;
+            }
+
+            method.emit(MethodWriter.DUP, 1);
+            emitInteger(i);
+            method.emit(MethodWriter.AALOAD, -1);
+            emitUnbox(slotTags[copyBackSlots[i]]);
+            emitStore(copyBackSlots[i]);
+        }
+
+        method.emit(MethodWriter.POP, -1);
+    }
+
+    /**
+     * Returns the public static method the incoming builtin function declares under its own name for arguments of
+     * the incoming types, or null if it has none. A variadic builtin's method takes one String and is called with
+     * each argument's text. Any other builtin's method takes every argument but the last, which must be a var
+     * argument, and returns the value to store into it. A builtin given an array is always called through
+     * JITRuntime, which asks it about the array itself.
+     *
+     * @param builtIn Incoming builtin function.
+     * @param argumentTypes Incoming types of the arguments.
+     * @return Static method of builtIn, or null.
+     */
+    private static Method findStaticMethod(BuiltInFunctionNode builtIn, tokenType[] argumentTypes)
+    {
+        Class<?>[] parameterClasses;
+        Class<?> returnClass;
+
+        for (int i = 0; i < argumentTypes.length; i++)
+        {
+            if (argumentTypes[i] == tokenType.ARRAY)
+            {
+                return null;
+            }
+        }
+
+        if (builtIn.isVariadic())
+        {
+            parameterClasses = new Class<?>[] {String.class};
+            returnClass = void.class;
+        }
+        else if (argumentTypes.length > 0)
+        {
+            parameterClasses = new Class<?>[argumentTypes.length - 1];
+
+            for (int i = 0; i < parameterClasses.length; i++)
+            {
+                parameterClasses[i] = getJavaClass(argumentTypes[i]);
+            }
+
+            returnClass = getJavaClass(argumentTypes[argumentTypes.length - 1]);
+        }
+        else return null;
+
+        try
+        {
+            Method staticMethod = builtIn.getClass().getMethod(builtIn.getName(), parameterClasses);
+
+            return Modifier.isStatic(staticMethod.getModifiers()) && staticMethod.getReturnType() == returnClass ?
+                    staticMethod : null;
+        }
+        catch (NoSuchMethodException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether the incoming builtin function accepts the arguments of the incoming CallSite, by asking it about
+     * IDTs of the same types and changeability.
+     *
+     * @param builtIn Incoming builtin function.
+     * @param site Incoming CallSite.
+     * @return True if builtIn accepts the arguments of site.
+     */
+    private static boolean isArgListValid(BuiltInFunctionNode builtIn, CallSite site)
+    {
+        tokenType[] argumentTypes = site.getArgumentTypes();
+        int[] copyBackSlots = site.getCopyBackSlots();
+        ArrayList<InterpreterDataType> arguments = new ArrayList<>();
+
+        try
+        {
+            for (int i = 0; i < argumentTypes.length; i++)
+            {
+                arguments.add(VirtualMachine.makeInterpreterDataType(argumentTypes[i], 0,
+                                                                     argumentTypes[i] == tokenType.STRING ? "" : null,
+                                                                     site.getLineNumber(), copyBackSlots[i] != -1));
+            }
+        }
+        catch (SyntaxErrorException e)
+        {
+            return false;
+        }
+
+        return builtIn.isArgListValid(arguments);
+    }
+
+    /**
+     * Emits the instructions turning the value of the incoming tokenType on top of the stack into its text,
+     * as the IDT holding it would write it.
+     *
+     * @param type Incoming tokenType.
+     */
+    private void emitText(tokenType type)
+    {
+        switch (type)
+        {
+            case INTEGER :
+                emitInvoke(MethodWriter.INVOKESTATIC, "java/lang/String", "valueOf", "(I)Ljava/lang/String;", 0);
+                break;
+            case REAL :
+                emitInvoke(MethodWriter.INVOKESTATIC, "java/lang/String", "valueOf", "(F)Ljava/lang/String;", 0);
+                break;
+            case CHARACTER :
+                emitInvoke(MethodWriter.INVOKESTATIC, "java/lang/String", "valueOf", "(C)Ljava/lang/String;", 0);
+                break;
+            case BOOLEAN :
+                emitInvoke(MethodWriter.INVOKESTATIC, "java/lang/String", "valueOf", "(Z)Ljava/lang/String;", 0);
+                break;
+            case STRING :
+                break;
+            default :
+                emitInvoke(MethodWriter.INVOKESTATIC, "java/lang/String", "valueOf",
+                           "(Ljava/lang/Object;)Ljava/lang/String;", 0);
+        }
+    }
+
+    /**
+     * Emits the instructions returning from the function being translated with its changeable parameters.
+     */
+    private void emitReturn()
+    {
+        int[] changeableParameters = getChangeableParameters(function);
+        int[] parameterSlots = function.getParameterSlots();
+
+        if (changeableParameters.length == 0)
+        {
+            method.emit(MethodWriter.RETURN, 0);
+        }
+        else if (changeableParameters.length == 1)
+        {
+            int slot = parameterSlots[changeableParameters[0]];
+
+            emitLoad(slot);
+            method.emit(getReturnInstruction(slotTags[slot]), -1);
+        }
+        else
+        {
+            emitInteger(changeableParameters.length);
+            method.emitWithIndex(MethodWriter.ANEWARRAY, classFile.addClass("java/lang/Object"), 0);
+
+            for (int i = 0; i < changeableParameters.length; i++)
+            {
+                int slot = parameterSlots[changeableParameters[i]];
+
+                method.emit(MethodWriter.DUP, 1);
+                emitInteger(i);
+                emitLoad(slot);
+                emitBox(slotTags[slot]);
+                method.emit(MethodWriter.AASTORE, -3);
+            }
+
+            method.emit(MethodWriter.ARETURN, -1);
+        }
+    }
+
+    /**
+     * Emits the instructions throwing the SyntaxErrorException at the incoming index in the constants.
+     *
+     * @param index Incoming index.
+     */
+    private void emitThrow(int index)
+    {
+        emitConstantsEntry(index);
+        method.emitWithIndex(MethodWriter.CHECKCAST, classFile.addClass("Exceptions/SyntaxErrorException"), 0);
+        method.emit(MethodWriter.ATHROW, -1);
+    }
+
+    /**
+     * Emits the instructions pushing the entry at the incoming index in the constants field.
+     *
+     * @param index Incoming index.
+     */
+    private void emitConstantsEntry(int index)
+    {
+        method.emitWithIndex(MethodWriter.GETSTATIC,
+                             classFile.addField(classFile.getClassName(), CONSTANTS_FIELD, CONSTANTS_DESCRIPTOR), 1);
+        emitInteger(index);
+        method.emit(MethodWriter.AALOAD, -1);
+    }
+
+    /**
+     * Emits the instructions boxing the value with the incoming tag on top of the stack as JITRuntime.callBuiltIn
+     * expects it, with reals as their float bits.
+     *
+     * @param tag Incoming tag.
+     */
+    private void emitBox(char tag)
+    {
+        if (tag == 'F')
+        {
+            emitInvoke(MethodWriter.INVOKESTATIC, "java/lang/Float", "floatToRawIntBits", "(F)I", 0);
+        }
+        if (tag == 'I' || tag == 'F')
+        {
+            emitInvoke(MethodWriter.INVOKESTATIC, "java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;", 0);
+        }
+    }
+
+    /**
+     * Emits the instructions unboxing the Object on top of the stack into a value with the incoming tag.
+     *
+     * @param tag Incoming tag.
+     */
+    private void emitUnbox(char tag)
+    {
+        if (tag == 'I' || tag == 'F')
+        {
+            method.emitWithIndex(MethodWriter.CHECKCAST, classFile.addClass("java/lang/Integer"), 0);
+            emitInvoke(MethodWriter.INVOKEVIRTUAL, "java/lang/Integer", "intValue", "()I", 0);
+        }
+        if (tag == 'F')
+        {
+            emitInvoke(MethodWriter.INVOKESTATIC, "java/lang/Float", "intBitsToFloat", "(I)F", 0);
+        }
+        if (tag == 'S')
+        {
+            method.emitWithIndex(MethodWriter.CHECKCAST, classFile.addClass("java/lang/String"), 0);
+        }
+    }
+
+    /**
+     * Emits the instruction pushing the value in the incoming slot.
+     *
+     * @param slot Incoming slot.
+     */
+    private void emitLoad(int slot)
+    {
+        method.emitLocal(getLoadInstruction(slotTags[slot]), locals[slot], 1);
+    }
+
+    /**
+     * Emits the instruction popping a value into the incoming slot.
+     *
+     * @param slot Incoming slot.
+     */
+    private void emitStore(int slot)
+    {
+        method.emitLocal(getStoreInstruction(slotTags[slot]), locals[slot], -1);
+    }
+
+    /**
+     * Emits the shortest instructions pushing the incoming int.
+     *
+     * @param value Incoming int.
+     */
+    private void emitInteger(int value)
+    {
+        if (!method.emitSmallInteger(value))
+        {
+            method.emitConstant(classFile.addInteger(value));
+        }
+    }
+
+    /**
+     * Emits the shortest instructions pushing the incoming float.
+     *
+     * @param value Incoming float.
+     */
+    private void emitReal(float value)
+    {
+        int bits = Float.floatToRawIntBits(value);
+
+        if (bits == 0 || value == 1.0f || value == 2.0f)
+        {
+            method.emit(MethodWriter.FCONST_0 + (int)value, 1);
+        }
+        else method.emitConstant(classFile.addFloat(value));
+    }
+
+    /**
+     * Emits a call with the incoming JVM instruction to the incoming method, changing the stack depth by the incoming
+     * int.
+     *
+     * @param instruction Incoming JVM instruction.
+     * @param owner Incoming internal name of the class holding the method.
+     * @param name Incoming name of the method.
+     * @param descriptor Incoming descriptor of the method.
+     * @param stackChange Incoming int.
+     */
+    private void emitInvoke(int instruction, String owner, String name, String descriptor, int stackChange)
+    {
+        method.emitWithIndex(instruction, classFile.addMethod(owner, name, descriptor), stackChange);
+    }
+
+    /**
+     * Emits a static call to the incoming Method, changing the stack depth by the incoming int.
+     *
+     * @param staticMethod Incoming Method.
+     * @param stackChange Incoming int.
+     */
+    private void emitInvoke(Method staticMethod, int stackChange)
+    {
+        StringBuilder descriptor = new StringBuilder("(");
+        Class<?>[] parameterClasses = staticMethod.getParameterTypes();
+
+        for (int i = 0; i < parameterClasses.length; i++)
+        {
+            descriptor.append(getDescriptor(parameterClasses[i]));
+        }
+
+        descriptor.append(')').append(getDescriptor(staticMethod.getReturnType()));
+
+        emitInvoke(MethodWriter.INVOKESTATIC, staticMethod.getDeclaringClass().getName().replace('.', '/'),
+                   staticMethod.getName(), descriptor.toString(), stackChange);
+    }
+
+    /**
+     * Returns the CallSite at the incoming index in the constants.
+     *
+     * @param index Incoming index.
+     * @return CallSite at index.
+     */
+    private CallSite getCallSite(int index)
+    {
+        return (CallSite)constants.get(index);
+    }
+
+    /**
+     * Returns the index of each changeable parameter of the incoming CompiledFunction, in order.
+     *
+     * @param compiled Incoming CompiledFunction.
+     * @return Index of each changeable parameter.
+     */
+    static int[] getChangeableParameters(CompiledFunction compiled)
+    {
+        ArrayList<VariableNode> parameters = compiled.getFunction().getParameterList();
+        int count = 0;
+
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            if (parameters.get(i).isChangeable())
+            {
+                count++;
+            }
+        }
+
+        int[] changeableParameters = new int[count];
+
+        for (int i = 0, j = 0; i < parameters.size(); i++)
+        {
+            if (parameters.get(i).isChangeable())
+            {
+                changeableParameters[j++] = i;
+            }
+        }
+
+        return changeableParameters;
+    }
+
+    /**
+     * Returns the tag of the JVM type values of the incoming tokenType are kept as: 'I' for int, 'F' for float,
+     * 'S' for String and 'A' for any other Object.
+     *
+     * @param type Incoming tokenType.
+     * @return Tag of type.
+     */
+    private static char getTag(tokenType type)
+    {
+        switch (type)
+        {
+            case REAL   : return 'F';
+            case STRING : return 'S';
+            case ARRAY  : return 'A';
+            default     : return 'I';
+        }
+    }
+
+    /**
+     * Returns the JVM descriptor of the incoming tag.
+     *
+     * @param tag Incoming tag.
+     * @return Descriptor of tag.
+     */
+    private static String getDescriptor(char tag)
+    {
+        switch (tag)
+        {
+            case 'F' : return "F";
+            case 'S' : return "Ljava/lang/String;";
+            case 'A' : return "Ljava/lang/Object;";
+            default  : return "I";
+        }
+    }
+
+    /**
+     * Returns the JVM descriptor of the incoming Class.
+     *
+     * @param javaClass Incoming Class.
+     * @return Descriptor of javaClass.
+     */
+    private static String getDescriptor(Class<?> javaClass)
+    {
+        if (javaClass == int.class)
+        {
+            return "I";
+        }
+        else if (javaClass == float.class)
+        {
+            return "F";
+        }
+        else if (javaClass == char.class)
+        {
+            return "C";
+        }
+        else if (javaClass == boolean.class)
+        {
+            return "Z";
+        }
+        else if (javaClass == void.class)
+        {
+            return "V";
+        }
+        else return "L" + javaClass.getName().replace('.', '/') + ";";
+    }
+
+    /**
+     * Returns the Java class values of the incoming tokenType are passed to builtin static methods as.
+     *
+     * @param type Incoming tokenType.
+     * @return Java class of type.
+     */
+    private static Class<?> getJavaClass(tokenType type)
+    {
+        switch (type)
+        {
+            case INTEGER   : return int.class;
+            case REAL      : return float.class;
+            case CHARACTER : return char.class;
+            case BOOLEAN   : return boolean.class;
+            case STRING    : return String.class;
+            default        : return Object.class;
+        }
+    }
+
+    /**
+     * Returns the JVM load instruction for values with the incoming tag.
+     *
+     * @param tag Incoming tag.
+     * @return Load instruction for tag.
+     */
+    private static int getLoadInstruction(char tag)
+    {
+        switch (tag)
+        {
+            case 'I' : return MethodWriter.ILOAD;
+            case 'F' : return MethodWriter.FLOAD;
+            default  : return MethodWriter.ALOAD;
+        }
+    }
+
+    /**
+     * Returns the JVM store instruction for values with the incoming tag.
+     *
+     * @param tag Incoming tag.
+     * @return Store instruction for tag.
+     */
+    private static int getStoreInstruction(char tag)
+    {
+        switch (tag)
+        {
+            case 'I' : return MethodWriter.ISTORE;
+            case 'F' : return MethodWriter.FSTORE;
+            default  : return MethodWriter.ASTORE;
+        }
+    }
+
+    /**
+     * Returns the JVM return instruction for values with the incoming tag.
+     *
+     * @param tag Incoming tag.
+     * @return Return instruction for tag.
+     */
+    private static int getReturnInstruction(char tag)
+    {
+        switch (tag)
+        {
+            case 'I' : return MethodWriter.IRETURN;
+            case 'F' : return MethodWriter.FRETURN;
+            default  : return MethodWriter.ARETURN;
+        }
+    }
+}
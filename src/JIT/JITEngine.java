@@ -0,0 +1,176 @@
+/**
+ * Runs a program by translating each function it can call into a JVM class with JITCompiler, so the JVM compiles
+ * Kakuzaki functions into machine code the same way it compiles Java methods.
+ * Functions are first compiled to bytecode by VirtualMachine, which decides the type of every slot and checks every
+ * call, then translated. JITCompiler only translates plain instructions, so that VirtualMachine fuses no
+ * superinstructions. Every function reachable from start is translated before start runs, since generated classes
+ * call each other by name. A function whose translation is too long for a JVM method, jumps further than a JVM jump
+ * can or is rejected by the JVM is run by the VirtualMachine instead, through a class of the same name, and if even
+ * that class is rejected the whole program runs on the VirtualMachine.
+ * Each run defines its classes in a JITClassLoader of its own, so they can be unloaded once the run is over. JDK 11
+ * has no hidden classes, which would otherwise let each class be unloaded on its own.
+ */
+
+package JIT;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+
+import CrossStageTools.Nodes.ProgramNode;
+import CrossStageTools.tokenType;
+import Exceptions.SyntaxErrorException;
+import VirtualMachine.CompiledFunction;
+import VirtualMachine.VirtualMachine;
+
+public class JITEngine
+{
+    private final ProgramNode program;
+
+    private final VirtualMachine virtualMachine;
+
+    /**
+     * Creates a JITEngine with the incoming ProgramNode as the program already parsed and resolved.
+     *
+     * @param resolvedProgram Incoming ProgramNode.
+     */
+    public JITEngine(ProgramNode resolvedProgram)
+    {
+        program = resolvedProgram;
+        virtualMachine = new VirtualMachine(resolvedProgram, false);
+    }
+
+    /**
+     * Translates the function called "start" and every function it can reach, then runs start as the Kakuzaki
+     * program's entry point.
+     *
+     * @throws SyntaxErrorException If there is any error during running.
+     */
+    public void run() throws SyntaxErrorException
+    {
+        CompiledFunction start = virtualMachine.getCompiledFunction(program.getFunctionMap().get("start"));
+        JITCompiler compiler = new JITCompiler(virtualMachine);
+
+        compiler.getClassName(start);
+
+        ArrayList<CompiledFunction> functions = compiler.getFunctions();
+        ArrayList<byte[]> classFiles = new ArrayList<>();
+        ArrayList<Object[]> classConstants = new ArrayList<>();
+
+        for (int i = 0; i < functions.size(); i++)
+        {
+            ArrayList<Object> constants = new ArrayList<>();
+
+            classFiles.add(compiler.compile(functions.get(i), constants));
+            classConstants.add(constants.toArray());
+        }
+
+        Class<?> startClass;
+
+        try
+        {
+            startClass = defineClasses(compiler, classFiles, classConstants);
+        }
+        catch (LinkageError e)
+        {
+            virtualMachine.run();
+
+            return;
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException("Could not define the compiled program.", e);
+        }
+
+        try
+        {
+            MethodHandle startMethod = MethodHandles.publicLookup().findStatic(
+                    startClass, JITCompiler.getMethodName(start),
+                    MethodType.fromMethodDescriptorString(JITCompiler.getMethodDescriptor(start),
+                                                          JITEngine.class.getClassLoader()));
+
+            startMethod.invokeWithArguments(makeDefaultArguments(start));
+        }
+        catch (SyntaxErrorException | RuntimeException | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable e)
+        {
+            throw new IllegalStateException("Could not run the compiled program.", e);
+        }
+    }
+
+    /**
+     * Defines the incoming class files, with the incoming constants, in a new JITClassLoader, and returns the first
+     * one, which is start's. A class the JVM rejects is replaced by one having the VirtualMachine run its function.
+     *
+     * @param compiler Incoming JITCompiler the class files were translated by.
+     * @param classFiles Incoming class files, in the order of the compiler's functions.
+     * @param classConstants Incoming constants of each class file.
+     * @return Class of start.
+     * @throws ReflectiveOperationException If a class has no constants field.
+     * @throws LinkageError If a class is still rejected once it has been replaced.
+     */
+    private Class<?> defineClasses(JITCompiler compiler, ArrayList<byte[]> classFiles,
+                                   ArrayList<Object[]> classConstants) throws ReflectiveOperationException
+    {
+        ArrayList<CompiledFunction> functions = compiler.getFunctions();
+        JITClassLoader classLoader = new JITClassLoader();
+        Class<?> startClass = null;
+
+        for (int i = 0; i < classFiles.size(); i++)
+        {
+            String className = compiler.getClassName(functions.get(i));
+            Class<?> definedClass;
+
+            try
+            {
+                definedClass = classLoader.define(className, classFiles.get(i), classConstants.get(i));
+            }
+            catch (LinkageError e)
+            {
+                ArrayList<Object> constants = new ArrayList<>();
+                byte[] classFile = compiler.compileCallToVirtualMachine(functions.get(i), constants);
+
+                definedClass = classLoader.define(className, classFile, constants.toArray());
+            }
+
+            if (i == 0)
+            {
+                startClass = definedClass;
+            }
+        }
+
+        return startClass;
+    }
+
+    /**
+     * Returns the values the parameters of the incoming CompiledFunction start with when it is run as the entry point,
+     * the same ones VirtualMachine gives them.
+     *
+     * @param compiled Incoming CompiledFunction.
+     * @return Starting value of each parameter.
+     */
+    private ArrayList<Object> makeDefaultArguments(CompiledFunction compiled)
+    {
+        ArrayList<Object> arguments = new ArrayList<>();
+        tokenType[] parameterTypes = compiled.getParameterTypes();
+
+        for (int i = 0; i < parameterTypes.length; i++)
+        {
+            if (parameterTypes[i] == tokenType.REAL)
+            {
+                arguments.add(0.0f);
+            }
+            else if (parameterTypes[i] == tokenType.STRING || parameterTypes[i] == tokenType.ARRAY)
+            {
+                arguments.add(null);
+            }
+            else arguments.add(0);
+        }
+
+        return arguments;
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Holds what classes generated by JITCompiler need at run time: unique names, calling builtin functions
+ * that have no static method of their own, and running functions that could not be translated on the VirtualMachine.
+ * Generated classes are named as if they were in this package, but are defined by a JITClassLoader, so they only
+ * use public members of the interpreter.
+ */
+
+package JIT;
+
+import java.util.ArrayList;
+
+import CrossStageTools.tokenType;
+import Exceptions.SyntaxErrorException;
+import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+import VirtualMachine.BytecodeCompiler;
+import VirtualMachine.CallSite;
+import VirtualMachine.CompiledFunction;
+import VirtualMachine.VirtualMachine;
+
+public final class JITRuntime
+{
+    private static int classCount = 0;
+
+    private JITRuntime()
+    {}
+
+    /**
+     * Returns a class name in this package for the function with the incoming name, which no other generated class
+     * has used, so a program can be compiled more than once by the same JVM.
+     *
+     * @param functionName Incoming name of the function.
+     * @return Internal name of the new class.
+     */
+    static synchronized String makeClassName(String functionName)
+    {
+        return "JIT/Function$" + (classCount++) + "$" + functionName;
+    }
+
+    /**
+     * Calls the builtin function bound to the incoming CallSite with the incoming Object array as its arguments,
+     * then puts each var argument back into the array. Values that VirtualMachine keeps in int slots are boxed as
+     * Integers, with reals as their float bits.
+     *
+     * @param site Incoming CallSite.
+     * @param values Incoming Object array.
+     * @throws SyntaxErrorException If an argument is not a valid data type.
+     */
+    public static void callBuiltIn(CallSite site, Object[] values) throws SyntaxErrorException
+    {
+        tokenType[] argumentTypes = site.getArgumentTypes();
+        int[] copyBackSlots = site.getCopyBackSlots();
+        ArrayList<InterpreterDataType> arguments = new ArrayList<>();
+
+        for (int i = 0; i < values.length; i++)
+        {
+            boolean isReference = BytecodeCompiler.isReference(argumentTypes[i]);
+
+            arguments.add(VirtualMachine.makeInterpreterDataType(argumentTypes[i],
+                                                                 isReference ? 0 : (Integer)values[i],
+                                                                 isReference ? values[i] : null,
+                                                                 site.getLineNumber(), copyBackSlots[i] != -1));
+        }
+
+        ((BuiltInFunctionNode)site.getTarget()).execute(arguments);
+
+        for (int i = 0; i < values.length; i++)
+        {
+            if (copyBackSlots[i] == -1)
+            {
+                continue;
+            }
+            if (BytecodeCompiler.isReference(argumentTypes[i]))
+            {
+                values[i] = VirtualMachine.getReference(arguments.get(i));
+            }
+            else values[i] = VirtualMachine.getValue(arguments.get(i));
+        }
+    }
+
+    /**
+     * Runs the incoming CompiledFunction on the incoming VirtualMachine with the incoming Object array as its
+     * arguments, boxed as callBuiltIn boxes them, and returns its changeable parameters boxed the same way, in order.
+     *
+     * @param virtualMachine Incoming VirtualMachine.
+     * @param function Incoming CompiledFunction.
+     * @param values Incoming Object array.
+     * @return Changeable parameters of function once it returns.
+     * @throws SyntaxErrorException If there is any error during running.
+     */
+    public static Object[] callVirtualMachine(VirtualMachine virtualMachine, CompiledFunction function,
+                                              Object[] values) throws SyntaxErrorException
+    {
+        int[] changeableParameters = JITCompiler.getChangeableParameters(function);
+        Object[] changeableValues = new Object[changeableParameters.length];
+
+        virtualMachine.runFunction(function, values);
+
+        for (int i = 0; i < changeableParameters.length; i++)
+        {
+            changeableValues[i] = values[changeableParameters[i]];
+        }
+
+        return changeableValues;
+    }
+}
@@ -0,0 +1,432 @@
+/**
+ * Collects the JVM instructions of one method for ClassFileWriter.
+ * Jumps go to labels, which are numbered by newLabel and given a position by placeLabel, and are patched once the
+ * method is finished. The stack depth is tracked as instructions are emitted so the method's max stack is known.
+ */
+
+package JIT;
+
+public class MethodWriter
+{
+    public static final int ACONST_NULL = 0x01;
+    public static final int ICONST_0 = 0x03;
+    public static final int ICONST_1 = 0x04;
+    public static final int FCONST_0 = 0x0b;
+    public static final int BIPUSH = 0x10;
+    public static final int SIPUSH = 0x11;
+    public static final int LDC = 0x12;
+    public static final int LDC_W = 0x13;
+    public static final int ILOAD = 0x15;
+    public static final int FLOAD = 0x17;
+    public static final int ALOAD = 0x19;
+    public static final int AALOAD = 0x32;
+    public static final int ISTORE = 0x36;
+    public static final int FSTORE = 0x38;
+    public static final int ASTORE = 0x3a;
+    public static final int AASTORE = 0x53;
+    public static final int POP = 0x57;
+    public static final int DUP = 0x59;
+    public static final int DUP_X2 = 0x5b;
+    public static final int SWAP = 0x5f;
+    public static final int IADD = 0x60;
+    public static final int FADD = 0x62;
+    public static final int ISUB = 0x64;
+    public static final int FSUB = 0x66;
+    public static final int IMUL = 0x68;
+    public static final int FMUL = 0x6a;
+    public static final int IDIV = 0x6c;
+    public static final int FDIV = 0x6e;
+    public static final int IREM = 0x70;
+    public static final int FREM = 0x72;
+    public static final int IAND = 0x7e;
+    public static final int IOR = 0x80;
+    public static final int IXOR = 0x82;
+    public static final int IINC = 0x84;
+    public static final int FCMPL = 0x95;
+    public static final int FCMPG = 0x96;
+    public static final int IFEQ = 0x99;
+    public static final int IFNE = 0x9a;
+    public static final int IFLT = 0x9b;
+    public static final int IFGE = 0x9c;
+    public static final int IFGT = 0x9d;
+    public static final int IFLE = 0x9e;
+    public static final int IF_ICMPEQ = 0x9f;
+    public static final int IF_ICMPNE = 0xa0;
+    public static final int IF_ICMPLT = 0xa1;
+    public static final int IF_ICMPGE = 0xa2;
+    public static final int IF_ICMPGT = 0xa3;
+    public static final int IF_ICMPLE = 0xa4;
+    public static final int GOTO = 0xa7;
+    public static final int IRETURN = 0xac;
+    public static final int FRETURN = 0xae;
+    public static final int ARETURN = 0xb0;
+    public static final int RETURN = 0xb1;
+    public static final int GETSTATIC = 0xb2;
+    public static final int INVOKEVIRTUAL = 0xb6;
+    public static final int INVOKESTATIC = 0xb8;
+    public static final int ANEWARRAY = 0xbd;
+    public static final int ATHROW = 0xbf;
+    public static final int CHECKCAST = 0xc0;
+    public static final int WIDE = 0xc4;
+
+    /** Largest number of bytes of instructions a JVM method can have. */
+    public static final int MAX_CODE_LENGTH = 65535;
+
+    private byte[] code;
+
+    private int length;
+
+    private int[] labelPositions, jumpPositions, jumpLabels;
+
+    private int labelCount, jumpCount;
+
+    private int stackDepth, maxStack, maxLocals;
+
+    /**
+     * Creates an empty MethodWriter whose method uses the incoming number of locals.
+     *
+     * @param numberOfLocals Incoming number of locals.
+     */
+    public MethodWriter(int numberOfLocals)
+    {
+        code = new byte[256];
+        labelPositions = new int[16];
+        jumpPositions = new int[16];
+        jumpLabels = new int[16];
+        maxLocals = numberOfLocals;
+    }
+
+    /**
+     * Emits the incoming instruction, which has no operands and changes the stack depth by the incoming int.
+     *
+     * @param instruction Incoming instruction.
+     * @param stackChange Incoming int.
+     */
+    public void emit(int instruction, int stackChange)
+    {
+        append(instruction);
+        adjustStack(stackChange);
+    }
+
+    /**
+     * Emits the incoming instruction with the incoming constant pool index as its operand, changing the stack depth
+     * by the incoming int.
+     *
+     * @param instruction Incoming instruction.
+     * @param index Incoming constant pool index.
+     * @param stackChange Incoming int.
+     */
+    public void emitWithIndex(int instruction, int index, int stackChange)
+    {
+        append(instruction);
+        append(index >> 8);
+        append(index);
+        adjustStack(stackChange);
+    }
+
+    /**
+     * Emits an instruction pushing the constant at the incoming constant pool index.
+     *
+     * @param index Incoming constant pool index.
+     */
+    public void emitConstant(int index)
+    {
+        if (index < 256)
+        {
+            append(LDC);
+            append(index);
+            adjustStack(1);
+        }
+        else emitWithIndex(LDC_W, index, 1);
+    }
+
+    /**
+     * Emits the shortest instruction pushing the incoming int, or returns false if it needs the constant pool.
+     *
+     * @param value Incoming int.
+     * @return True if an instruction was emitted.
+     */
+    public boolean emitSmallInteger(int value)
+    {
+        if (value >= -1 && value <= 5)
+        {
+            emit(ICONST_0 + value, 1);
+        }
+        else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE)
+        {
+            append(BIPUSH);
+            append(value);
+            adjustStack(1);
+        }
+        else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE)
+        {
+            append(SIPUSH);
+            append(value >> 8);
+            append(value);
+            adjustStack(1);
+        }
+        else return false;
+
+        return true;
+    }
+
+    /**
+     * Emits the incoming load or store instruction for the incoming local, changing the stack depth by the incoming
+     * int.
+     *
+     * @param instruction Incoming instruction.
+     * @param local Incoming local.
+     * @param stackChange Incoming int.
+     */
+    public void emitLocal(int instruction, int local, int stackChange)
+    {
+        if (local > 255)
+        {
+            append(WIDE);
+            append(instruction);
+            append(local >> 8);
+            append(local);
+        }
+        else
+        {
+            append(instruction);
+            append(local);
+        }
+
+        adjustStack(stackChange);
+    }
+
+    /**
+     * Emits an instruction adding the incoming amount to the incoming int local.
+     *
+     * @param local Incoming local.
+     * @param amount Incoming amount.
+     */
+    public void emitIncrement(int local, int amount)
+    {
+        if (local > 255 || amount < Byte.MIN_VALUE || amount > Byte.MAX_VALUE)
+        {
+            append(WIDE);
+            append(IINC);
+            append(local >> 8);
+            append(local);
+            append(amount >> 8);
+            append(amount);
+        }
+        else
+        {
+            append(IINC);
+            append(local);
+            append(amount);
+        }
+    }
+
+    /**
+     * Emits the incoming jump instruction to the incoming label, changing the stack depth by the incoming int.
+     *
+     * @param instruction Incoming instruction.
+     * @param label Incoming label.
+     * @param stackChange Incoming int.
+     */
+    public void emitJump(int instruction, int label, int stackChange)
+    {
+        if (jumpCount == jumpPositions.length)
+        {
+            jumpPositions = grow(jumpPositions);
+            jumpLabels = grow(jumpLabels);
+        }
+
+        jumpPositions[jumpCount] = length;
+        jumpLabels[jumpCount++] = label;
+
+        append(instruction);
+        append(0);
+        append(0);
+        adjustStack(stackChange);
+    }
+
+    /**
+     * Returns a new label with no position yet.
+     *
+     * @return New label.
+     */
+    public int newLabel()
+    {
+        if (labelCount == labelPositions.length)
+        {
+            labelPositions = grow(labelPositions);
+        }
+
+        labelPositions[labelCount] = -1;
+
+        return labelCount++;
+    }
+
+    /**
+     * Places the incoming label at the next instruction to be emitted.
+     *
+     * @param label Incoming label.
+     */
+    public void placeLabel(int label)
+    {
+        labelPositions[label] = length;
+    }
+
+    /**
+     * Returns the stack depth after the last instruction emitted.
+     *
+     * @return Current stack depth.
+     */
+    public int getStackDepth()
+    {
+        return stackDepth;
+    }
+
+    /**
+     * Sets the stack depth to the incoming int, for instructions only reached by a jump.
+     *
+     * @param depth Incoming int.
+     */
+    public void setStackDepth(int depth)
+    {
+        stackDepth = depth;
+        maxStack = Math.max(maxStack, depth);
+    }
+
+    /**
+     * Returns the deepest the stack gets in this method.
+     *
+     * @return Max stack of this method.
+     */
+    public int getMaxStack()
+    {
+        return maxStack;
+    }
+
+    /**
+     * Returns how many locals this method uses.
+     *
+     * @return Max locals of this method.
+     */
+    public int getMaxLocals()
+    {
+        return maxLocals;
+    }
+
+    /**
+     * Makes sure the method has room for at least the incoming number of locals.
+     *
+     * @param numberOfLocals Incoming number of locals.
+     */
+    public void reserveLocals(int numberOfLocals)
+    {
+        maxLocals = Math.max(maxLocals, numberOfLocals);
+    }
+
+    /**
+     * Returns true if this method's instructions fit in a JVM method and every jump's label is placed close enough
+     * for a two byte offset to reach it, so toByteArray can encode them.
+     *
+     * @return True if this method can be encoded.
+     */
+    public boolean isEncodable()
+    {
+        if (length > MAX_CODE_LENGTH)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < jumpCount; i++)
+        {
+            int target = labelPositions[jumpLabels[i]];
+            int offset = target - jumpPositions[i];
+
+            if (target == -1 || offset < Short.MIN_VALUE || offset > Short.MAX_VALUE)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Patches every jump to its label and returns the method's instructions.
+     *
+     * @return Bytes of this method's instructions.
+     * @throws IllegalStateException If the instructions are too long for a JVM method, or a jump's label was never
+     *                               placed or is too far away.
+     */
+    public byte[] toByteArray()
+    {
+        if (length > MAX_CODE_LENGTH)
+        {
+            throw new IllegalStateException("Method is " + length + " bytes long, more than the JVM allows.");
+        }
+
+        for (int i = 0; i < jumpCount; i++)
+        {
+            int target = labelPositions[jumpLabels[i]];
+            int offset = target - jumpPositions[i];
+
+            if (target == -1 || offset < Short.MIN_VALUE || offset > Short.MAX_VALUE)
+            {
+                throw new IllegalStateException("Jump at " + jumpPositions[i] + " cannot reach label "
+                        + jumpLabels[i] + ".");
+            }
+
+            code[jumpPositions[i] + 1] = (byte)(offset >> 8);
+            code[jumpPositions[i] + 2] = (byte)offset;
+        }
+
+        byte[] instructions = new byte[length];
+
+        System.arraycopy(code, 0, instructions, 0, length);
+
+        return instructions;
+    }
+
+    /**
+     * Appends the low byte of the incoming int to the code, growing it if it is full.
+     *
+     * @param value Incoming int.
+     */
+    private void append(int value)
+    {
+        if (length == code.length)
+        {
+            byte[] grown = new byte[code.length * 2];
+
+            System.arraycopy(code, 0, grown, 0, length);
+            code = grown;
+        }
+
+        code[length++] = (byte)value;
+    }
+
+    /**
+     * Changes the stack depth by the incoming int and records it if it is the deepest yet.
+     *
+     * @param change Incoming int.
+     */
+    private void adjustStack(int change)
+    {
+        stackDepth += change;
+        maxStack = Math.max(maxStack, stackDepth);
+    }
+
+    /**
+     * Returns a copy of the incoming int array with twice the length.
+     *
+     * @param array Incoming int array.
+     * @return Grown copy of array.
+     */
+    private static int[] grow(int[] array)
+    {
+        int[] grown = new int[array.length * 2];
+
+        System.arraycopy(array, 0, grown, 0, array.length);
+
+        return grown;
+    }
+}
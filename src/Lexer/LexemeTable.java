@@ -0,0 +1,193 @@
+/**
+ * Recognizes Kakuzaki keywords and punctuation without creating Strings.
+ * Words are found through a perfect hash of their first character, last character and length, chosen when this
+ * class loads so that no two words share a slot; a lookup is one hash and at most one comparison.
+ * Single character punctuation is found in a table indexed by the character itself.
+ */
+
+package Lexer;
+
+import CrossStageTools.tokenType;
+
+public final class LexemeTable
+{
+    private static final String[] WORDS = {"define", "constants", "variables",
+                                           "if", "elsif", "else", "then",
+                                           "while", "repeat", "until", "for",
+                                           "true", "false",
+                                           "integer", "real", "boolean", "character", "string",
+                                           "array", "of", "from", "to",
+                                           "var",
+                                           "mod", "not", "and", "or"};
+
+    private static final tokenType[] WORD_TYPES = {tokenType.DEFINE, tokenType.CONSTANTS, tokenType.VARIABLES,
+                                                   tokenType.IF, tokenType.ELSIF, tokenType.ELSE, tokenType.THEN,
+                                                   tokenType.WHILE, tokenType.REPEAT, tokenType.UNTIL, tokenType.FOR,
+                                                   tokenType.TRUE, tokenType.FALSE,
+                                                   tokenType.INTEGER, tokenType.REAL, tokenType.BOOLEAN,
+                                                   tokenType.CHARACTER, tokenType.STRING,
+                                                   tokenType.ARRAY, tokenType.OF, tokenType.FROM, tokenType.TO,
+                                                   tokenType.VAR,
+                                                   tokenType.MOD, tokenType.NOT, tokenType.AND, tokenType.OR};
+
+    private static final tokenType[] PUNCTUATION = new tokenType[128];
+
+    private static String[] wordSlots;
+
+    private static tokenType[] wordSlotTypes;
+
+    private static int wordMultiplier, wordMask;
+
+    static
+    {
+        PUNCTUATION['+'] = tokenType.ADD;
+        PUNCTUATION['-'] = tokenType.MINUS;
+        PUNCTUATION['*'] = tokenType.MULT;
+        PUNCTUATION['/'] = tokenType.DIV;
+        PUNCTUATION['~'] = tokenType.NEGATE;
+
+        PUNCTUATION['>'] = tokenType.GTHAN;
+        PUNCTUATION['<'] = tokenType.LTHAN;
+        PUNCTUATION['='] = tokenType.EQUAL;
+
+        PUNCTUATION[':'] = tokenType.COLON;
+        PUNCTUATION[';'] = tokenType.SEMICOLON;
+        PUNCTUATION[','] = tokenType.COMMA;
+        PUNCTUATION['('] = tokenType.LPAREN;
+        PUNCTUATION[')'] = tokenType.RPAREN;
+        PUNCTUATION['['] = tokenType.LBRACK;
+        PUNCTUATION[']'] = tokenType.RBRACK;
+
+        buildWordSlots();
+    }
+
+    private LexemeTable()
+    {}
+
+    /**
+     * Returns the tokenType of the keyword or word operator spelled by the characters of the incoming CharSequence
+     * from the incoming start index to the incoming end index, end excluded.
+     *
+     * @param source Incoming CharSequence.
+     * @param start Incoming start index.
+     * @param end Incoming end index.
+     * @return tokenType of the word, null if it is not a keyword or word operator.
+     */
+    public static tokenType lookupWord(CharSequence source, int start, int end)
+    {
+        if (end <= start)
+        {
+            return null;
+        }
+
+        int slot = slotOf(source.charAt(start), source.charAt(end - 1), end - start);
+        String word = wordSlots[slot];
+
+        if (word == null || word.length() != end - start)
+        {
+            return null;
+        }
+
+        for (int i = 0; i < word.length(); i++)
+        {
+            if (word.charAt(i) != source.charAt(start + i))
+            {
+                return null;
+            }
+        }
+
+        return wordSlotTypes[slot];
+    }
+
+    /**
+     * Returns the tokenType of the incoming single punctuation character.
+     *
+     * @param currentChar Incoming character.
+     * @return tokenType of currentChar, null if it is not punctuation.
+     */
+    public static tokenType lookupPunctuation(char currentChar)
+    {
+        return currentChar < PUNCTUATION.length ? PUNCTUATION[currentChar] : null;
+    }
+
+    /**
+     * Returns the tokenType of the two character punctuation made of the incoming characters.
+     *
+     * @param currentChar First incoming character.
+     * @param nextChar Next incoming character.
+     * @return tokenType of the two characters, null if they are not punctuation together.
+     */
+    public static tokenType lookupPunctuation(char currentChar, char nextChar)
+    {
+        switch (currentChar)
+        {
+            case ':' : return nextChar == '=' ? tokenType.ASSIGN : null;
+            case '>' : return nextChar == '=' ? tokenType.GETO : null;
+            case '<' : return nextChar == '=' ? tokenType.LETO : nextChar == '>' ? tokenType.NEQUAL : null;
+            default  : return null;
+        }
+    }
+
+    /**
+     * Returns the slot of a word with the incoming first character, last character and length.
+     *
+     * @param first Incoming first character.
+     * @param last Incoming last character.
+     * @param length Incoming length.
+     * @return Slot of the word.
+     */
+    private static int slotOf(char first, char last, int length)
+    {
+        return (first * wordMultiplier + last + length) & wordMask;
+    }
+
+    /**
+     * Finds the smallest table and multiplier under which every word gets a slot of its own, and fills the slots.
+     *
+     * @throws IllegalStateException If no such table and multiplier exists, which only a change of words can cause.
+     */
+    private static void buildWordSlots()
+    {
+        for (int size = Integer.highestOneBit(WORDS.length) * 2; size <= 1024; size *= 2)
+        {
+            for (int multiplier = 1; multiplier < 1024; multiplier++)
+            {
+                wordMask = size - 1;
+                wordMultiplier = multiplier;
+                wordSlots = new String[size];
+                wordSlotTypes = new tokenType[size];
+
+                if (fillWordSlots())
+                {
+                    return;
+                }
+            }
+        }
+
+        throw new IllegalStateException("No perfect hash exists for the Kakuzaki keywords.");
+    }
+
+    /**
+     * Puts every word in its slot under the current table and multiplier.
+     *
+     * @return False if two words share a slot.
+     */
+    private static boolean fillWordSlots()
+    {
+        for (int i = 0; i < WORDS.length; i++)
+        {
+            String word = WORDS[i];
+            int slot = slotOf(word.charAt(0), word.charAt(word.length() - 1), word.length());
+
+            if (wordSlots[slot] != null)
+            {
+                return false;
+            }
+
+            wordSlots[slot] = word;
+            wordSlotTypes[slot] = WORD_TYPES[i];
+        }
+
+        return true;
+    }
+}
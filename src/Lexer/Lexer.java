@@ -1,111 +1,487 @@
 /**
- * Creates and stores a series of Tokens in an ArrayList.
+ * Creates and stores a series of Tokens in a TokenBuffer.
+ * It can also stream them: given a Reader or a MappedByteBuffer, it lexes one line at a time whenever the
+ * TokenStream it returns runs out of Tokens, so neither the whole source nor every Token is ever held at once.
+ * Large sources can instead be lexed in parallel, split into chunks at the lines beginning with a top-level define.
  */
 
 package Lexer;
 
+import CrossStageTools.SymbolTable;
 import CrossStageTools.Token;
+import CrossStageTools.TokenBuffer;
+import CrossStageTools.TokenSource;
+import CrossStageTools.TokenStream;
 import CrossStageTools.tokenType;
+import Exceptions.LexingException;
 import Exceptions.SecondDecimalPointException;
 import Exceptions.SyntaxErrorException;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.MappedByteBuffer;
 import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.io.File;
 import java.io.FileWriter;
-import java.util.HashMap;
 import java.time.ZonedDateTime;
 
-public class Lexer
+public class Lexer implements TokenSource
 {
-    private final ArrayList<Token> tokenList;
-    private final HashMap<String, tokenType> keywordMap;
-    private final HashMap<String, tokenType> punctuationMap;
+    private static final int MIN_CHUNK_LINES = 256;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final SymbolTable symbolTable;
+    private final TokenBuffer tokenBuffer;
 
     private int lineNumber;
     private int currentIndentLevel;
     private boolean isComment;
     private boolean indentsHandled;
 
+    private Reader source;
+    private final char[] readBuffer;
+    private int readPosition;
+    private int readLimit;
+    private boolean isSkippingLineFeed;
+    private final StringBuilder lineBuffer;
+
     /**
-     * Instantiates the Lexer with an empty Token list, empty maps and a line number of 1.
+     * Instantiates the Lexer with an empty TokenBuffer and a line number of 1.
      */
     public Lexer()
     {
-        tokenList = new ArrayList<>();
-        keywordMap = new HashMap<>();
-        punctuationMap = new HashMap<>();
-        initializeMaps();
+        this(1);
+    }
+
+    /**
+     * Instantiates the Lexer with an empty TokenBuffer and the incoming line number, for lexing a chunk of a source
+     * starting at that line.
+     *
+     * @param firstLineNumber Incoming line number.
+     */
+    private Lexer(int firstLineNumber)
+    {
+        this(new SymbolTable(), firstLineNumber);
+    }
 
-        lineNumber = 1;
+    /**
+     * Instantiates the Lexer with an empty TokenBuffer interning into the incoming SymbolTable and the incoming line
+     * number, for lexing a chunk of a source starting at that line whose Tokens share symbols with the rest of it.
+     *
+     * @param incomingSymbolTable Incoming SymbolTable.
+     * @param firstLineNumber Incoming line number.
+     */
+    public Lexer(SymbolTable incomingSymbolTable, int firstLineNumber)
+    {
+        symbolTable = incomingSymbolTable;
+        tokenBuffer = new TokenBuffer(symbolTable);
+
+        lineNumber = firstLineNumber;
         currentIndentLevel = 0;
         isComment = false;
         indentsHandled = false;
+
+        readBuffer = new char[8192];
+        lineBuffer = new StringBuilder();
     }
 
     /**
-     * Iterates over all the incoming lines and populates the Token ArrayList with the Tokens created from them.
+     * Iterates over all the incoming lines and populates the TokenBuffer with the Tokens created from them.
      *
      * @param incomingLines Incoming lines.
      * @throws Exception If syntax errors are detected.
      */
     public void lex(ArrayList<String> incomingLines) throws Exception
     {
-        String currentLine;
-        char currentChar;
         for (int i = 0; i < incomingLines.size(); i++)
         {
-            currentLine = incomingLines.get(i);
+            lexLine(incomingLines.get(i));
+        }
+        handleTrailingDedents();
+    }
 
-            for (int j = 0; j < currentLine.length(); j++)
+    /**
+     * Populates the TokenBuffer with the same Tokens as lex(), lexing chunks of the incoming lines in parallel on the
+     * common ForkJoinPool. With fewer than two threads in the pool, this is lex().
+     *
+     * @param incomingLines Incoming lines.
+     * @throws Exception If syntax errors are detected; the one on the earliest line is thrown.
+     */
+    public void lexInParallel(ArrayList<String> incomingLines) throws Exception
+    {
+        if (ForkJoinPool.getCommonPoolParallelism() < 2)
+        {
+            lex(incomingLines);
+            return;
+        }
+
+        lexInParallel(incomingLines, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Populates the TokenBuffer with the same Tokens as lex(), lexing chunks of the incoming lines in parallel on the
+     * incoming ForkJoinPool. Chunks start at lines beginning with a top-level define, where the indent level is 0, so
+     * each chunk is lexed from a fresh state starting at its own line number, and the dedents closing the previous
+     * chunk are added when the chunks are joined in order. A define inside a multi-line comment is no boundary:
+     * the chunk after it is lexed again, in order, from the state the comment left.
+     *
+     * @param incomingLines Incoming lines.
+     * @param pool Incoming ForkJoinPool.
+     * @throws Exception If syntax errors are detected; the one on the earliest line is thrown.
+     */
+    public void lexInParallel(ArrayList<String> incomingLines, ForkJoinPool pool) throws Exception
+    {
+        ArrayList<Integer> chunkStarts = splitAtDefines(incomingLines, pool.getParallelism());
+
+        if (chunkStarts.size() < 2)
+        {
+            lex(incomingLines);
+            return;
+        }
+
+        chunkStarts.add(incomingLines.size());
+
+        ArrayList<ForkJoinTask<Lexer>> chunkTasks = new ArrayList<>();
+
+        for (int i = 1; i < chunkStarts.size() - 1; i++)
+        {
+            int start = chunkStarts.get(i), end = chunkStarts.get(i + 1);
+            chunkTasks.add(pool.submit(() -> lexChunk(incomingLines, start, end)));
+        }
+
+        for (int i = 0; i < chunkStarts.get(1); i++)
+        {
+            lexLine(incomingLines.get(i));
+        }
+
+        for (int i = 0; i < chunkTasks.size(); i++)
+        {
+            if (isComment)
             {
-                if (!isComment)
+                for (int j = chunkStarts.get(i + 1); j < chunkStarts.get(i + 2); j++)
                 {
-                    if(!indentsHandled)
-                    {
-                        iterateOverIndents(currentLine);
-                    }
-
-                    if (indentsHandled && Character.isSpaceChar(currentLine.charAt(j)))
-                    {
-                        j = iterateOverWhitespace(currentLine, j);
-                    }
-
-                    currentChar = currentLine.charAt(j);
-
-                    if (Character.isDigit(currentChar) || currentChar == '.')
-                    {
-                        j = handleToken(currentLine, j, tokenType.NUMBER);
-                    }
-                    else if (Character.isLetter(currentChar))
-                    {
-                        j = handleToken(currentLine, j, tokenType.IDENTIFIER);
-                    }
-                    else if (isPunctuation(currentChar))
-                    {
-                        j = handlePunctuation(currentLine, j, currentLine.charAt(j));
-                    }
-                    else if (currentChar == '\"')
-                    {
-                        j = handleStringLiteral(currentLine, j);
-                    }
-                    else if (currentChar == '\'')
-                    {
-                        j = handleCharacterLiteral(currentLine, j);
-                    }
-                    else if (currentChar == '{')
-                    {
-                        isComment = true;
-                    }
+                    lexLine(incomingLines.get(j));
                 }
-                else if (currentLine.charAt(j) == '}')
+            }
+            else joinChunk(chunkTasks.get(i));
+        }
+        handleTrailingDedents();
+    }
+
+    /**
+     * Returns the indices of the lines the incoming lines are split at for lexInParallel(), the first being 0.
+     * Lines beginning with a top-level define are grouped so each chunk holds enough lines to be worth a task, and
+     * there are a few chunks for each of the incoming number of threads.
+     *
+     * @param incomingLines Incoming lines.
+     * @param parallelism Incoming number of threads.
+     * @return Indices of the first line of every chunk.
+     */
+    private static ArrayList<Integer> splitAtDefines(ArrayList<String> incomingLines, int parallelism)
+    {
+        int chunkLines = Math.max(MIN_CHUNK_LINES, incomingLines.size() / (parallelism * CHUNKS_PER_THREAD));
+
+        ArrayList<Integer> chunkStarts = new ArrayList<>();
+        chunkStarts.add(0);
+
+        for (int i = chunkLines; i < incomingLines.size(); i++)
+        {
+            if (isTopLevelDefine(incomingLines.get(i)))
+            {
+                chunkStarts.add(i);
+                i += chunkLines - 1;
+            }
+        }
+
+        return chunkStarts;
+    }
+
+    /**
+     * Checks and returns if the incoming line begins with a define that is not indented.
+     *
+     * @param currentLine Incoming line.
+     * @return True if currentLine begins with the define keyword at its first character.
+     */
+    public static boolean isTopLevelDefine(String currentLine)
+    {
+        final String DEFINE = "define";
+
+        return currentLine.startsWith(DEFINE)
+                && (currentLine.length() == DEFINE.length()
+                    || !Character.isLetterOrDigit(currentLine.charAt(DEFINE.length())));
+    }
+
+    /**
+     * Lexes the incoming lines from the incoming start index to the incoming end index, end excluded, with a new
+     * Lexer starting at the start index's line number, and returns that Lexer without adding trailing dedents.
+     *
+     * @param incomingLines Incoming lines.
+     * @param start Incoming start index.
+     * @param end Incoming end index.
+     * @return Lexer holding the Tokens of the chunk.
+     * @throws Exception If syntax errors are detected.
+     */
+    private static Lexer lexChunk(ArrayList<String> incomingLines, int start, int end) throws Exception
+    {
+        Lexer chunkLexer = new Lexer(start + 1);
+
+        for (int i = start; i < end; i++)
+        {
+            chunkLexer.lexLine(incomingLines.get(i));
+        }
+
+        return chunkLexer;
+    }
+
+    /**
+     * Waits for the incoming chunk task, then closes this Lexer's indents and appends the chunk's Tokens,
+     * continuing from the state the chunk ended in. The ForkJoinPool wraps what a task throws in plain
+     * RuntimeExceptions, which are unwrapped here.
+     *
+     * @param chunkTask Incoming chunk task.
+     * @throws Exception If the chunk had syntax errors.
+     */
+    private void joinChunk(ForkJoinTask<Lexer> chunkTask) throws Exception
+    {
+        Lexer chunkLexer;
+
+        try
+        {
+            chunkLexer = chunkTask.get();
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+
+            while (cause.getClass() == RuntimeException.class && cause.getCause() != null)
+            {
+                cause = cause.getCause();
+            }
+
+            if (cause instanceof Exception)
+            {
+                throw (Exception)cause;
+            }
+            throw (Error)cause;
+        }
+
+        handleTrailingDedents();
+        tokenBuffer.addAll(chunkLexer.tokenBuffer);
+
+        lineNumber = chunkLexer.lineNumber;
+        currentIndentLevel = chunkLexer.currentIndentLevel;
+        isComment = chunkLexer.isComment;
+    }
+
+    /**
+     * Returns a TokenStream whose Tokens are lexed from the incoming Reader one line at a time,
+     * as the TokenStream needs them. Errors found while lexing are thrown from the TokenStream as LexingExceptions.
+     *
+     * @param incomingSource Incoming Reader.
+     * @return TokenStream over the Tokens in incomingSource.
+     */
+    public TokenStream stream(Reader incomingSource)
+    {
+        source = incomingSource;
+        readPosition = 0;
+        readLimit = 0;
+        isSkippingLineFeed = false;
+
+        return new TokenStream(this);
+    }
+
+    /**
+     * Returns a TokenStream whose Tokens are lexed from the UTF-8 text in the incoming MappedByteBuffer one line at a
+     * time, as the TokenStream needs them.
+     *
+     * @param incomingSource Incoming MappedByteBuffer.
+     * @return TokenStream over the Tokens in incomingSource.
+     */
+    public TokenStream stream(MappedByteBuffer incomingSource)
+    {
+        return stream(new MappedBufferReader(incomingSource));
+    }
+
+    /**
+     * Lexes the next line of the Reader being streamed, and the trailing dedents once it has none left,
+     * then moves the created Tokens into the incoming TokenBuffer.
+     *
+     * @param incomingTokenBuffer Incoming TokenBuffer.
+     * @return False once the Reader has no lines left and every Token was moved.
+     * @throws LexingException If a syntax error is detected or the Reader fails.
+     */
+    @Override
+    public boolean produce(TokenBuffer incomingTokenBuffer)
+    {
+        if (source == null)
+        {
+            return false;
+        }
+
+        try
+        {
+            if (!readLine())
+            {
+                handleTrailingDedents();
+                source.close();
+                source = null;
+            }
+            else lexLine(lineBuffer);
+        }
+        catch (Exception e)
+        {
+            try
+            {
+                close();
+            }
+            catch (LexingException closeError)
+            {
+                e.addSuppressed(closeError.getCause());
+            }
+
+            throw new LexingException(e);
+        }
+
+        incomingTokenBuffer.addAll(tokenBuffer);
+        tokenBuffer.clear();
+
+        return true;
+    }
+
+    @Override
+    public void close()
+    {
+        Reader openSource = source;
+        source = null;
+
+        if (openSource != null)
+        {
+            try
+            {
+                openSource.close();
+            }
+            catch (IOException e)
+            {
+                throw new LexingException(e);
+            }
+        }
+    }
+
+    /**
+     * Copies the next line of the Reader being streamed into the line buffer, which is reused for every line.
+     * Lines end at a line feed, a carriage return or a carriage return followed by a line feed, like
+     * BufferedReader.readLine().
+     *
+     * @return False if the Reader had no characters left.
+     * @throws IOException If the Reader fails.
+     */
+    private boolean readLine() throws IOException
+    {
+        lineBuffer.setLength(0);
+
+        while (true)
+        {
+            if (readPosition == readLimit)
+            {
+                readLimit = source.read(readBuffer, 0, readBuffer.length);
+                readPosition = 0;
+
+                if (readLimit < 0)
                 {
-                    isComment = false;
+                    readLimit = 0;
+                    return lineBuffer.length() > 0;
                 }
             }
-            handleEOL();
+
+            if (isSkippingLineFeed)
+            {
+                isSkippingLineFeed = false;
+
+                if (readPosition < readLimit && readBuffer[readPosition] == '\n')
+                {
+                    readPosition++;
+                    continue;
+                }
+            }
+
+            int lineStart = readPosition;
+
+            while (readPosition < readLimit && readBuffer[readPosition] != '\n' && readBuffer[readPosition] != '\r')
+            {
+                readPosition++;
+            }
+
+            lineBuffer.append(readBuffer, lineStart, readPosition - lineStart);
+
+            if (readPosition < readLimit)
+            {
+                isSkippingLineFeed = readBuffer[readPosition] == '\r';
+                readPosition++;
+                return true;
+            }
         }
-        handleTrailingDedents();
+    }
+
+    /**
+     * Populates the TokenBuffer with the Tokens created from the incoming line, followed by its EOL Token.
+     *
+     * @param currentLine Incoming line.
+     * @throws Exception If syntax errors are detected.
+     */
+    private void lexLine(CharSequence currentLine) throws Exception
+    {
+        char currentChar;
+
+        for (int j = 0; j < currentLine.length(); j++)
+        {
+            if (!isComment)
+            {
+                if(!indentsHandled)
+                {
+                    iterateOverIndents(currentLine);
+                }
+
+                if (indentsHandled && Character.isSpaceChar(currentLine.charAt(j)))
+                {
+                    j = iterateOverWhitespace(currentLine, j);
+                }
+
+                currentChar = currentLine.charAt(j);
+
+                if (Character.isDigit(currentChar) || currentChar == '.')
+                {
+                    j = handleToken(currentLine, j, tokenType.NUMBER);
+                }
+                else if (Character.isLetter(currentChar))
+                {
+                    j = handleToken(currentLine, j, tokenType.IDENTIFIER);
+                }
+                else if (isPunctuation(currentChar))
+                {
+                    j = handlePunctuation(currentLine, j, currentLine.charAt(j));
+                }
+                else if (currentChar == '\"')
+                {
+                    j = handleStringLiteral(currentLine, j);
+                }
+                else if (currentChar == '\'')
+                {
+                    j = handleCharacterLiteral(currentLine, j);
+                }
+                else if (currentChar == '{')
+                {
+                    isComment = true;
+                }
+            }
+            else if (currentLine.charAt(j) == '}')
+            {
+                isComment = false;
+            }
+        }
+        handleEOL();
     }
 
     /**
@@ -114,7 +490,37 @@ public class Lexer
      */
     public ArrayList<Token> getTokenList()
     {
-        return tokenList;
+        return tokenBuffer.toTokenList();
+    }
+
+    /**
+     * Returns the SymbolTable the Lexer interns identifiers and string literals into.
+     *
+     * @return The Lexer's SymbolTable.
+     */
+    @Override
+    public SymbolTable getSymbolTable()
+    {
+        return symbolTable;
+    }
+
+    /**
+     * Checks and returns if the last line lexed ended inside a multi-line comment.
+     *
+     * @return True if a comment was opened and not closed yet.
+     */
+    public boolean isInComment()
+    {
+        return isComment;
+    }
+
+    /**
+     * Returns the Lexer's TokenBuffer.
+     * @return The Lexer's TokenBuffer.
+     */
+    public TokenBuffer getTokenBuffer()
+    {
+        return tokenBuffer;
     }
 
     /**
@@ -130,6 +536,19 @@ public class Lexer
         return getTokenList();
     }
 
+    /**
+     * Runs the lexing of the incoming line Strings and returns the created TokenBuffer in the same method.
+     *
+     * @param incomingLines Incoming line Strings.
+     * @return Created TokenBuffer.
+     * @throws Exception If syntax errors are detected.
+     */
+    public TokenBuffer lexAndReturnTokenBuffer(ArrayList<String> incomingLines) throws Exception
+    {
+        lex(incomingLines);
+        return getTokenBuffer();
+    }
+
     /**
      * Writes a formatted String of this Lexer's Tokens to a .txt File in /LexerDumps.
      *
@@ -141,6 +560,7 @@ public class Lexer
         String formattedOutput = zdt.getDayOfMonth() + "-" + zdt.getMonthValue() + "-" + zdt.getYear() + "@" +
                                 zdt.getHour() + "_" + zdt.getMinute() + "_" + zdt.getSecond();
         File file = new File("./src/Debug/LexerDumps", "lexer_" + formattedOutput + ".txt");
+        file.getParentFile().mkdirs();
         if (file.createNewFile())
         {
             FileWriter fw = new FileWriter(file);
@@ -158,7 +578,7 @@ public class Lexer
      */
     public void writeDebugOutput() throws IOException
     {
-        writeDebugOutput(tokenList);
+        writeDebugOutput(tokenBuffer.toTokenList());
     }
 
     /**
@@ -166,28 +586,28 @@ public class Lexer
      */
     private String formatTokens()
     {
-        return formatTokens(tokenList);
+        return formatTokens(tokenBuffer.toTokenList());
     }
 
     private String formatTokens(ArrayList<Token> localTokenList)
     {
-        String dumpString = "";
+        StringBuilder dumpString = new StringBuilder();
         boolean isLineNumberPrinted = false;
         for (int i = 0; i < localTokenList.size(); i++)
         {
             if (!isLineNumberPrinted)
             {
-                dumpString += localTokenList.get(i).getLineNumber() + "\t";
+                dumpString.append(localTokenList.get(i).getLineNumber()).append('\t');
                 isLineNumberPrinted = true;
             }
-            dumpString += localTokenList.get(i) + " ";
+            dumpString.append(localTokenList.get(i)).append(' ');
             if (localTokenList.get(i).getType() == tokenType.EOL)
             {
-                dumpString += "\n";
+                dumpString.append('\n');
                 isLineNumberPrinted = false;
             }
         }
-        return dumpString;
+        return dumpString.toString();
     }
 
     /**
@@ -199,11 +619,11 @@ public class Lexer
      * @return Number of indices iterated over.
      * @throws SecondDecimalPointException If a second decimal point is detected in a real number.
      */
-    private int handleToken(String currentLine, int currentIndex, tokenType currentTokenType) throws SecondDecimalPointException
+    private int handleToken(CharSequence currentLine, int currentIndex, tokenType currentTokenType)
+            throws SecondDecimalPointException
     {
-        String currentValue = "" + currentLine.charAt(currentIndex);
         char currentChar;
-        int returnIndex = currentIndex + 1;
+        int endIndex = currentIndex + 1;
         boolean hasDecimalPoint = isRealNumber(currentTokenType, currentLine.charAt(0));
 
         for (int i = currentIndex + 1; i < currentLine.length(); i++)
@@ -222,18 +642,25 @@ public class Lexer
             {
                 break;
             }
-            returnIndex++;
-            currentValue += currentChar;
+            endIndex = i + 1;
+        }
+
+        tokenType wordType = currentTokenType == tokenType.IDENTIFIER ?
+                             LexemeTable.lookupWord(currentLine, currentIndex, endIndex) : null;
+
+        if (wordType != null)
+        {
+            tokenBuffer.add(wordType, lineNumber);
         }
-        if (anyMapContains(currentValue))
+        else if (currentTokenType == tokenType.IDENTIFIER)
         {
-            tokenList.add(new Token(getFromSomeMap(currentValue), lineNumber));
+            tokenBuffer.addSymbol(currentTokenType, currentLine, currentIndex, endIndex, lineNumber);
         }
         else
         {
-            tokenList.add(new Token(currentTokenType, currentValue, lineNumber));
+            tokenBuffer.add(currentTokenType, currentLine, currentIndex, endIndex, lineNumber);
         }
-        return returnIndex - 1;
+        return endIndex - 1;
     }
 
     /**
@@ -247,7 +674,7 @@ public class Lexer
      * @param currentChar Incoming character.
      * @return Number of characters the created Token takes up.
      */
-    private int handlePunctuation(String currentLine, int currentIndex, char currentChar)
+    private int handlePunctuation(CharSequence currentLine, int currentIndex, char currentChar)
     {
         if (currentChar == ':' || currentChar == '<' || currentChar == '>')
         {
@@ -256,7 +683,7 @@ public class Lexer
         }
         else
         {
-            tokenList.add(new Token(punctuationMap.get("" + currentChar), lineNumber));
+            tokenBuffer.add(LexemeTable.lookupPunctuation(currentChar), lineNumber);
             return currentIndex;
         }
     }
@@ -269,7 +696,7 @@ public class Lexer
      * @param currentIndex Incoming index.
      * @param currentChar Incoming character.
      */
-    private boolean handleMultiCharacterPunctuation(String currentLine, int currentIndex, char currentChar)
+    private boolean handleMultiCharacterPunctuation(CharSequence currentLine, int currentIndex, char currentChar)
     {
         char nextChar = ' ';
         try
@@ -298,26 +725,29 @@ public class Lexer
     }
 
     /**
-     * Adds a punctuation Token with the incoming character followed by the space character.
-     * Since the String inside the other addPunctuationToken method is trimmed,
-     * this is like adding an empty character.
+     * Adds a punctuation Token with the incoming character alone.
      *
      * @param currentChar Incoming character.
      */
     private void addPunctuationToken(char currentChar)
     {
-        addPunctuationToken(currentChar, ' ');
+        tokenBuffer.add(LexemeTable.lookupPunctuation(currentChar), lineNumber);
     }
 
     /**
      * Adds a punctuation Token with the first incoming character followed by the next incoming character.
+     * A next character that is whitespace or a control character is left out, so only the first one counts.
      *
      * @param currentChar First incoming character.
      * @param nextChar Next incoming character.
      */
     private void addPunctuationToken(char currentChar, char nextChar)
     {
-        tokenList.add(new Token(punctuationMap.get((currentChar + "" + nextChar).trim()), lineNumber));
+        if (nextChar <= ' ')
+        {
+            addPunctuationToken(currentChar);
+        }
+        else tokenBuffer.add(LexemeTable.lookupPunctuation(currentChar, nextChar), lineNumber);
     }
 
     /**
@@ -329,25 +759,29 @@ public class Lexer
      * @return How large the STRINGLITERAL Token is.
      * @throws SyntaxErrorException If the string literal was not closed.
      */
-    private int handleStringLiteral(String currentLine, int currentIndex) throws SyntaxErrorException
+    private int handleStringLiteral(CharSequence currentLine, int currentIndex) throws SyntaxErrorException
     {
-        char currentChar = ' ';
-        String literalValue = "";
-        for (int i = currentIndex + 1; i < currentLine.length() && currentChar != '\"'; i++)
+        int startIndex = currentIndex + 1;
+        int endIndex = startIndex;
+
+        if (startIndex == currentLine.length())
         {
-            currentChar = currentLine.charAt(i);
-            if (currentChar != '\"')
-            {
-                literalValue += currentChar;
-            }
-            currentIndex = i;
+            tokenBuffer.addSymbol(tokenType.STRINGLITERAL, "", 0, 0, lineNumber);
+            return currentIndex;
         }
-        if (currentLine.charAt(currentIndex) != '\"')
+
+        while (endIndex < currentLine.length() && currentLine.charAt(endIndex) != '\"')
+        {
+            endIndex++;
+        }
+
+        if (endIndex == currentLine.length())
         {
             throw new SyntaxErrorException("Unclosed string literal on line " + lineNumber + ".");
         }
-        tokenList.add(new Token(tokenType.STRINGLITERAL, literalValue, lineNumber));
-        return currentIndex;
+
+        tokenBuffer.addSymbol(tokenType.STRINGLITERAL, currentLine, startIndex, endIndex, lineNumber);
+        return endIndex;
     }
 
     /**
@@ -361,29 +795,28 @@ public class Lexer
      * @return How large the CHARLITERAL Token is.
      * @throws Exception If the character literal was not closed.
      */
-    private int handleCharacterLiteral(String currentLine, int currentIndex) throws Exception
+    private int handleCharacterLiteral(CharSequence currentLine, int currentIndex) throws Exception
     {
         final int TOTAL_CHARACTER_LITERAL_LENGTH = 2;
-        char currentChar = currentLine.charAt(currentIndex + 1);
         if (peekAhead(currentLine, currentIndex + TOTAL_CHARACTER_LITERAL_LENGTH) != '\'')
         {
             throw new SyntaxErrorException("Unenclosed or too large character literal on line " + lineNumber + ".");
         }
         else
         {
-            tokenList.add(new Token(tokenType.CHARLITERAL, currentChar + "", lineNumber));
+            tokenBuffer.add(tokenType.CHARLITERAL, currentLine, currentIndex + 1, currentIndex + 2, lineNumber);
             return currentIndex + TOTAL_CHARACTER_LITERAL_LENGTH;
         }
     }
 
     /**
-     * Adds an EOL Token to the Token ArrayList.
+     * Adds an EOL Token to the TokenBuffer.
      */
     private void handleEOL()
     {
         if (!isComment)
         {
-            tokenList.add(new Token(lineNumber));
+            tokenBuffer.add(tokenType.EOL, lineNumber);
         }
         lineNumber++;
         indentsHandled = false;
@@ -397,7 +830,7 @@ public class Lexer
      * @return Character in currentLine that is nextIndex characters ahead.
      * @throws Exception If nextIndex is greater than currentLine's length.
      */
-    private char peekAhead(String currentLine, int nextIndex) throws Exception
+    private char peekAhead(CharSequence currentLine, int nextIndex) throws Exception
     {
         if (nextIndex > currentLine.length())
         {
@@ -442,14 +875,14 @@ public class Lexer
     }
 
     /**
-     * Checks and returns if the incoming character is contained in the punctuation HashMap.
+     * Checks and returns if the incoming character is single character punctuation.
      *
      * @param currentChar Incoming character.
-     * @return True if currentChar is contained in the punctuation HashMap.
+     * @return True if currentChar is single character punctuation.
      */
     private boolean isPunctuation(char currentChar)
     {
-        return punctuationMap.containsKey(currentChar + "");
+        return LexemeTable.lookupPunctuation(currentChar) != null;
     }
 
     /**
@@ -458,7 +891,7 @@ public class Lexer
      * @param currentIndex Incoming index.
      * @return Number of indices iterated over.
      */
-    private int iterateOverWhitespace(String currentLine, int currentIndex)
+    private int iterateOverWhitespace(CharSequence currentLine, int currentIndex)
     {
         char currentChar = currentLine.charAt(currentIndex);
 
@@ -475,7 +908,7 @@ public class Lexer
      *
      * @param currentLine Incoming line String.
      */
-    private void iterateOverIndents(String currentLine)
+    private void iterateOverIndents(CharSequence currentLine)
     {
         final int SPACES_PER_TAB = 4;
 
@@ -505,7 +938,7 @@ public class Lexer
 
             for (int j = 0; j < numberOfPrints; j++)
             {
-                tokenList.add(new Token(dentType, lineNumber));
+                tokenBuffer.add(dentType, lineNumber);
             }
             currentIndentLevel = newIndentLevel;
         }
@@ -519,107 +952,8 @@ public class Lexer
     {
         while (currentIndentLevel > 0)
         {
-            tokenList.add(new Token(tokenType.DEDENT, lineNumber));
+            tokenBuffer.add(tokenType.DEDENT, lineNumber);
             currentIndentLevel--;
         }
     }
-
-    /**
-     * Checks if any map contains the incoming value String.
-     *
-     * @param currentValue Incoming value string.
-     * @return True if any maps contain currentValue.
-     */
-    private boolean anyMapContains(String currentValue)
-    {
-        return keywordMap.containsKey(currentValue) || punctuationMap.containsKey(currentValue);
-    }
-
-    /**
-     * Returns the appropriate tokenType for the incoming String from some map.
-     *
-     * @param currentValue Incoming String.
-     * @return Appropriate tokenType.
-     */
-    private tokenType getFromSomeMap(String currentValue)
-    {
-        return keywordMap.get(currentValue) == null ? punctuationMap.get(currentValue) : keywordMap.get(currentValue);
-    }
-
-    /**
-     * Loads all tokenTypes into memory.
-     */
-    private void initializeMaps()
-    {
-        initializeKeywordMap();
-        initializePunctuationMap();
-    }
-
-    /**
-     * Maps each Kakuzaki keyword to a tokenType as written in tokenType.java.
-     */
-    private void initializeKeywordMap()
-    {
-        keywordMap.put("define", tokenType.DEFINE);
-        keywordMap.put("constants", tokenType.CONSTANTS);
-        keywordMap.put("variables", tokenType.VARIABLES);
-
-        keywordMap.put("if", tokenType.IF);
-        keywordMap.put("elsif", tokenType.ELSIF);
-        keywordMap.put("else", tokenType.ELSE);
-        keywordMap.put("then", tokenType.THEN);
-
-        keywordMap.put("while", tokenType.WHILE);
-        keywordMap.put("repeat", tokenType.REPEAT);
-        keywordMap.put("until", tokenType.UNTIL);
-        keywordMap.put("for", tokenType.FOR);
-
-        keywordMap.put("true", tokenType.TRUE);
-        keywordMap.put("false", tokenType.FALSE);
-
-        keywordMap.put("integer", tokenType.INTEGER);
-        keywordMap.put("real", tokenType.REAL);
-        keywordMap.put("boolean", tokenType.BOOLEAN);
-        keywordMap.put("character", tokenType.CHARACTER);
-        keywordMap.put("string", tokenType.STRING);
-
-        keywordMap.put("array", tokenType.ARRAY);
-        keywordMap.put("of", tokenType.OF);
-        keywordMap.put("from", tokenType.FROM);
-        keywordMap.put("to", tokenType.TO);
-
-        keywordMap.put("var", tokenType.VAR);
-    }
-
-    /**
-     * Maps each Kakuzaki punctuation to a tokenType as written in tokenType.java.
-     */
-    private void initializePunctuationMap()
-    {
-        punctuationMap.put("+", tokenType.ADD);
-        punctuationMap.put("-", tokenType.MINUS);
-        punctuationMap.put("*", tokenType.MULT);
-        punctuationMap.put("/", tokenType.DIV);
-        punctuationMap.put("mod", tokenType.MOD);
-        punctuationMap.put("~", tokenType.NEGATE);
-
-        punctuationMap.put(">", tokenType.GTHAN);
-        punctuationMap.put("<", tokenType.LTHAN);
-        punctuationMap.put(">=", tokenType.GETO);
-        punctuationMap.put("<=", tokenType.LETO);
-        punctuationMap.put("=", tokenType.EQUAL);
-        punctuationMap.put("<>", tokenType.NEQUAL);
-        punctuationMap.put("not", tokenType.NOT);
-        punctuationMap.put("and", tokenType.AND);
-        punctuationMap.put("or", tokenType.OR);
-
-        punctuationMap.put(":=", tokenType.ASSIGN);
-        punctuationMap.put(":", tokenType.COLON);
-        punctuationMap.put(";", tokenType.SEMICOLON);
-        punctuationMap.put(",", tokenType.COMMA);
-        punctuationMap.put("(", tokenType.LPAREN);
-        punctuationMap.put(")", tokenType.RPAREN);
-        punctuationMap.put("[", tokenType.LBRACK);
-        punctuationMap.put("]", tokenType.RBRACK);
-    }
 }
@@ -0,0 +1,70 @@
+/**
+ * Reads the UTF-8 text in a MappedByteBuffer as characters, decoding only as many bytes as each read asks for,
+ * so a memory mapped source file is never copied into a String.
+ */
+
+package Lexer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+class MappedBufferReader extends Reader
+{
+    private final MappedByteBuffer buffer;
+
+    private final CharsetDecoder decoder;
+
+    private boolean isFlushed;
+
+    /**
+     * Creates a MappedBufferReader reading from the current position of the incoming MappedByteBuffer.
+     *
+     * @param incomingBuffer Incoming MappedByteBuffer.
+     */
+    MappedBufferReader(MappedByteBuffer incomingBuffer)
+    {
+        buffer = incomingBuffer;
+        decoder = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPORT)
+                                                     .onUnmappableCharacter(CodingErrorAction.REPORT);
+        isFlushed = false;
+    }
+
+    @Override
+    public int read(char[] destination, int offset, int length) throws IOException
+    {
+        if (isFlushed)
+        {
+            return -1;
+        }
+        if (length == 0)
+        {
+            return 0;
+        }
+
+        CharBuffer out = CharBuffer.wrap(destination, offset, length);
+        CoderResult result = decoder.decode(buffer, out, true);
+
+        if (result.isError())
+        {
+            result.throwException();
+        }
+        if (!buffer.hasRemaining() && !isFlushed && !decoder.flush(out).isOverflow())
+        {
+            isFlushed = true;
+        }
+
+        int count = out.position() - offset;
+
+        return count == 0 && isFlushed ? -1 : count;
+    }
+
+    @Override
+    public void close()
+    {}
+}
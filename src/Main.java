@@ -10,94 +10,458 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.charset.StandardCharsets;
 
+import ClosureCompiler.ClosureCompiler;
+import CompactTree.CompactInterpreter;
+import IncrementalCompiler.IncrementalCompiler;
 import CrossStageTools.Nodes.FunctionNode;
-import CrossStageTools.Token;
+import CrossStageTools.TokenStream;
+import Exceptions.LexingException;
+import Interpreter.Interpreter;
+import JIT.JITEngine;
 import Interpreter.BuiltInFunctions.Arrays.*;
 import Interpreter.BuiltInFunctions.IO.*;
 import Interpreter.BuiltInFunctions.Numbers.*;
 import Interpreter.BuiltInFunctions.Strings.*;
 import Lexer.Lexer;
+import Optimizer.ConstantFolder;
 import CrossStageTools.Nodes.ProgramNode;
 import Parser.Parser;
+import ProgramCache.ProgramReader;
+import ProgramCache.ProgramWriter;
+import RegisterMachine.RegisterMachine;
+import SemanticAnalysis.Resolver;
+import SemanticAnalysis.TypeChecker;
+import SpecializingInterpreter.SpecializingInterpreter;
+import VirtualMachine.VirtualMachine;
 
 public class Main
 {
     /**
      * Runs each of the stages of the interpreter, in this order:
-     * Lexing, Parsing, Semantic Analysis, Interpreting
+     * Lexing, Parsing, Semantic Analysis, Optimizing, Interpreting
+     * Lexing and Parsing run together, with the source streamed to the Lexer a line at a time as the Parser needs it,
+     * unless "--parallel-lex" asks for the whole source to be lexed first, in chunks on every core.
+     * A checked program is kept in a .zkic program cache next to its source, and while the source is unchanged,
+     * later runs load it from there and go straight to Interpreting.
+     * With "--watch", the program runs again each time its source is saved, recompiling only what was edited.
      *
-     * @param args File name sent to Main.java.
+     * @param args File name sent to Main.java, optionally followed by "--engine=tree",
+     *             "--engine=specializing", "--engine=closure", "--engine=compact", "--engine=vm",
+     *             "--engine=regvm" or "--engine=jit", of which only jit runs loop heavy programs several times
+     *             faster than tree, while vm runs them about as fast as tree and compact slower than tree,
+     *             though compact keeps only its compact AST of the functions it runs and so cannot be watched,
+     *             by "--stats" to print what the optimizer did before the program runs,
+     *             by "--parallel-lex" to lex the source in parallel before parsing it,
+     *             by "--parallel-parse" to parse its functions in parallel,
+     *             by "--lazy-parse" to parse each function's body only when it is first called, which only the
+     *             tree engine supports and which writes no program cache,
+     *             by "--no-cache" to neither read nor write the program cache,
+     *             and by "--watch" to keep running the program each time its source changes, until stopped.
      * @throws IOException If no file ending in ".zki" is found.
      * @throws Exception If one of the above stages fails.
      */
     public static void main(String[] args) throws Exception
     {
-        if (args.length != 1 || !args[0].contains(".zki"))
+        String fileName = null, engine = "tree";
+        boolean isStats = false, isParallelLex = false, isParallelParse = false, isLazyParse = false, isCached = true;
+        boolean isWatching = false;
+
+        for (int i = 0; i < args.length; i++)
+        {
+            if (args[i].startsWith("--engine="))
+            {
+                engine = args[i].substring("--engine=".length());
+            }
+            else if (args[i].equals("--stats"))
+            {
+                isStats = true;
+            }
+            else if (args[i].equals("--parallel-lex"))
+            {
+                isParallelLex = true;
+            }
+            else if (args[i].equals("--parallel-parse"))
+            {
+                isParallelParse = true;
+            }
+            else if (args[i].equals("--lazy-parse"))
+            {
+                isLazyParse = true;
+            }
+            else if (args[i].equals("--no-cache"))
+            {
+                isCached = false;
+            }
+            else if (args[i].equals("--watch"))
+            {
+                isWatching = true;
+            }
+            else if (fileName == null)
+            {
+                fileName = args[i];
+            }
+        }
+
+        if (fileName == null || !fileName.contains(".zki"))
         {
             throw new FileNotFoundException("Please submit a valid filename as the only argument to Kakuzaki," +
                     "and include, specifically, a .zki file extension.");
         }
+        else if (!engine.equals("tree") && !engine.equals("specializing") && !engine.equals("closure")
+                && !engine.equals("compact") && !engine.equals("vm") && !engine.equals("regvm")
+                && !engine.equals("jit"))
+        {
+            throw new IllegalArgumentException("Unknown engine " + engine
+                    + ". Please use --engine=tree, --engine=specializing, --engine=closure, --engine=compact,"
+                    + " --engine=vm, --engine=regvm or --engine=jit.");
+        }
+        else if (isLazyParse && (!engine.equals("tree") || isParallelParse))
+        {
+            throw new IllegalArgumentException("--lazy-parse only works with --engine=tree and without"
+                    + " --parallel-parse.");
+        }
+        else if (isWatching && engine.equals("compact"))
+        {
+            throw new IllegalArgumentException("--watch does not work with --engine=compact, which releases the"
+                    + " statements it replaces with its compact AST.");
+        }
+        else if (isWatching)
+        {
+            watch(Paths.get(fileName), engine);
+        }
         else
         {
-            ArrayList<Token> tokenList;
-            Path path = Paths.get(args[0]);
-            ArrayList<String> lines = (ArrayList<String>)(Files.readAllLines(path, StandardCharsets.UTF_8));
+            Path path = Paths.get(fileName);
 
             Lexer lexer = new Lexer();
 
-            try
+            Parser parser = null;
+
+            ProgramNode program;
+
+            Path cachePath = ProgramWriter.getCachePath(path);
+            byte[] sourceHash = isCached ? ProgramWriter.hashSource(path) : null;
+            ProgramReader cache = isCached ? readCache(cachePath, sourceHash) : null;
+
+            if (cache != null)
             {
-                lexer.lex(lines);
-                tokenList = lexer.getTokenList();
+                program = cache.getProgram();
+
+                if (isStats)
+                {
+                    System.out.println("Constant folding: " + cache.getFoldedCount() + " expressions folded, "
+                            + cache.getPropagatedCount() + " constant reads propagated.");
+                }
+
+                program.addMap(loadBuiltInFunctions());
             }
-            catch (Exception e)
+            else
             {
-                System.out.println("The following error was found while lexing your program: " + e.getMessage() +
-                        " Lexer's working output written to /src/Debug/LexerDumps.txt.");
-                lexer.writeDebugOutput();
-                throw new Exception("Lexing failed.");
-            }
+                TokenStream tokens;
 
-            lexer.writeDebugOutput();
+                try
+                {
+                    tokens = isParallelLex ? lexSourceInParallel(lexer, path) : streamSource(lexer, path);
+                }
+                catch (LexingException e)
+                {
+                    System.out.println("The following error was found while lexing your program: " + e.getMessage() +
+                            " Lexer's working output written to /src/Debug/LexerDumps.txt.");
+                    lexer.writeDebugOutput();
+                    throw new Exception("Lexing failed.");
+                }
 
-            Parser parser = new Parser(lexer.getTokenList());
+                try (tokens)
+                {
+                    parser = new Parser(tokens);
 
-            ProgramNode program;
+                    try
+                    {
+                        if (isLazyParse)
+                        {
+                            program = parser.parseLazily();
+                        }
+                        else program = isParallelParse ? parser.parseInParallel() : parser.parse();
+                    }
+                    catch (LexingException e)
+                    {
+                        System.out.println("The following error was found while lexing your program: "
+                                + e.getMessage() + " Lexer's working output written to /src/Debug/LexerDumps.txt.");
+                        lexer.writeDebugOutput();
+                        throw new Exception("Lexing failed.");
+                    }
+                    catch (Exception e)
+                    {
+                        System.out.println("The following error was found while parsing your program: "
+                                + e.getMessage() + " Parser's output written to /src/Debug/ParserDumps.txt.");
+                        lexer.writeDebugOutput();
+                        parser.writeDebugOutput();
+                        throw new Exception("Parsing failed.");
+                    }
+                }
+
+                try
+                {
+                    new Resolver(program).resolve();
+                }
+                catch (Exception e)
+                {
+                    System.out.println("The following error was found while resolving your program: "
+                            + e.getMessage());
+                    lexer.writeDebugOutput();
+                    parser.writeDebugOutput();
+                    throw new Exception("Resolving failed.");
+                }
+
+                ConstantFolder folder = new ConstantFolder(program);
+
+                folder.fold();
+
+                if (isStats)
+                {
+                    System.out.println("Constant folding: " + folder.getFoldedCount() + " expressions folded, "
+                            + folder.getPropagatedCount() + " constant reads propagated.");
+                }
+
+                program.addMap(loadBuiltInFunctions());
+
+                try
+                {
+                    new TypeChecker(program).check();
+                }
+                catch (Exception e)
+                {
+                    System.out.println("The following error was found while type checking your program: "
+                            + e.getMessage());
+                    lexer.writeDebugOutput();
+                    parser.writeDebugOutput();
+                    throw new Exception("Type checking failed.");
+                }
+
+                if (isCached && !isLazyParse)
+                {
+                    writeCache(new ProgramWriter(program, sourceHash, folder.getFoldedCount(),
+                                                 folder.getPropagatedCount()), cachePath, path);
+                }
+            }
 
             try
             {
-                program = parser.parse();
+                runEngine(program, engine);
             }
             catch (Exception e)
             {
-                System.out.println("The following error was found while parsing your program: " + e.getMessage() +
-                        " Parser's output written to /src/Debug/ParserDumps.txt.");
-                lexer.writeDebugOutput(tokenList);
-                parser.writeDebugOutput();
-                throw new Exception("Parsing failed.");
+                System.out.println("The following error was found while interpreting your program: " + e.getMessage());
+
+                if (parser != null)
+                {
+                    lexer.writeDebugOutput();
+                    parser.writeDebugOutput();
+                }
+                throw new Exception("Interpreting failed.");
             }
 
-            //program.addMap(loadBuiltInFunctions());
+        }
+    }
+
+    /**
+     * Runs the incoming checked ProgramNode on the engine with the incoming name.
+     *
+     * @param program Incoming ProgramNode.
+     * @param engine Incoming engine name.
+     * @throws Exception If the program fails while running.
+     */
+    private static void runEngine(ProgramNode program, String engine) throws Exception
+    {
+        if (engine.equals("specializing"))
+        {
+            new SpecializingInterpreter(program).interpret();
+        }
+        else if (engine.equals("closure"))
+        {
+            new ClosureCompiler(program).run();
+        }
+        else if (engine.equals("compact"))
+        {
+            new CompactInterpreter(program).run();
+        }
+        else if (engine.equals("vm"))
+        {
+            new VirtualMachine(program).run();
+        }
+        else if (engine.equals("regvm"))
+        {
+            new RegisterMachine(program).run();
+        }
+        else if (engine.equals("jit"))
+        {
+            new JITEngine(program).run();
+        }
+        else new Interpreter(program).interpret();
+    }
+
+    /**
+     * Runs the program at the incoming Path on the engine with the incoming name, then again each time the file
+     * changes, until the process is stopped.
+     * Each change is found by comparing the file's lines with the ones last run, and only the lines between their
+     * common start and common end are handed to the IncrementalCompiler as an edit. Errors are printed, and the
+     * program runs again once they are fixed.
+     *
+     * @param path Incoming Path.
+     * @param engine Incoming engine name.
+     * @throws IOException If the file cannot be read.
+     * @throws InterruptedException If the thread is interrupted while waiting for a change.
+     */
+    private static void watch(Path path, String engine) throws IOException, InterruptedException
+    {
+        final long POLLING_INTERVAL = 100;
+
+        IncrementalCompiler compiler = null;
+        long lastModified = -1;
+
+        while (true)
+        {
+            if (Files.getLastModifiedTime(path).toMillis() == lastModified)
+            {
+                Thread.sleep(POLLING_INTERVAL);
+                continue;
+            }
 
-            //Interpreter interpreter = new Interpreter(program);
+            lastModified = Files.getLastModifiedTime(path).toMillis();
+            ArrayList<String> lines = new ArrayList<>(Files.readAllLines(path, StandardCharsets.UTF_8));
 
             try
             {
-                //interpreter.interpret();
+                if (compiler == null)
+                {
+                    compiler = new IncrementalCompiler(lines, loadBuiltInFunctions());
+                }
+                else
+                {
+                    ArrayList<String> oldLines = compiler.getLines();
+                    int prefix = 0, suffix = 0;
+
+                    while (prefix < oldLines.size() && prefix < lines.size()
+                            && oldLines.get(prefix).equals(lines.get(prefix)))
+                    {
+                        prefix++;
+                    }
+
+                    while (suffix < oldLines.size() - prefix && suffix < lines.size() - prefix
+                            && oldLines.get(oldLines.size() - 1 - suffix).equals(lines.get(lines.size() - 1 - suffix)))
+                    {
+                        suffix++;
+                    }
+
+                    compiler.edit(prefix + 1, oldLines.size() - suffix,
+                                  new ArrayList<>(lines.subList(prefix, lines.size() - suffix)));
+                }
+
+                runEngine(compiler.getProgram(), engine);
             }
             catch (Exception e)
             {
-                System.out.println("The following error was found while interpreting your program: " + e.getMessage());
-                lexer.writeDebugOutput(tokenList);
-                parser.writeDebugOutput();
-                throw new Exception("Interpreting failed.");
+                System.out.println("The following error was found in your program: " + e.getMessage());
+            }
+
+            System.out.println("Watching " + path + " for changes.");
+        }
+    }
+
+    /**
+     * Returns a TokenStream the incoming Lexer fills from the file at the incoming Path as the Parser reads it.
+     * The file is memory mapped, unless it is too large for one MappedByteBuffer, in which case it is read through
+     * a buffered Reader instead, which stays open until the TokenStream is read to its end or closed.
+     *
+     * @param lexer Incoming Lexer.
+     * @param path Incoming Path.
+     * @return TokenStream over the Tokens in the file at path.
+     * @throws IOException If the file cannot be opened.
+     */
+    private static TokenStream streamSource(Lexer lexer, Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            if (channel.size() <= Integer.MAX_VALUE)
+            {
+                return lexer.stream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
             }
+        }
+
+        return lexer.stream(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lexes the whole file at the incoming Path with the incoming Lexer, in parallel, and returns a TokenStream over
+     * the created Tokens.
+     *
+     * @param lexer Incoming Lexer.
+     * @param path Incoming Path.
+     * @return TokenStream over the Tokens in the file at path.
+     * @throws IOException If the file cannot be read.
+     * @throws LexingException If syntax errors are detected.
+     */
+    private static TokenStream lexSourceInParallel(Lexer lexer, Path path) throws IOException
+    {
+        ArrayList<String> lines = new ArrayList<>(Files.readAllLines(path, StandardCharsets.UTF_8));
+
+        try
+        {
+            lexer.lexInParallel(lines);
+        }
+        catch (Exception e)
+        {
+            throw new LexingException(e);
+        }
+
+        return new TokenStream(lexer.getTokenBuffer());
+    }
+
+    /**
+     * Returns the program cache at the incoming Path if it was written for a source with the incoming hash.
+     * A cache that cannot be read is treated as missing, so the program is compiled again and the cache replaced.
+     *
+     * @param cachePath Incoming Path.
+     * @param sourceHash Incoming hash of the source.
+     * @return ProgramReader holding the cached program, null if there is no usable cache.
+     */
+    private static ProgramReader readCache(Path cachePath, byte[] sourceHash)
+    {
+        try
+        {
+            return ProgramReader.read(cachePath, sourceHash);
+        }
+        catch (Exception e)
+        {
+            return null;
+        }
+    }
 
+    /**
+     * Writes the program cache with the incoming ProgramWriter to the first incoming Path, the cache of the source at
+     * the second incoming Path. A cache that cannot be written is only reported, since the program runs the same
+     * without it.
+     *
+     * @param writer Incoming ProgramWriter.
+     * @param cachePath First incoming Path.
+     * @param sourcePath Second incoming Path.
+     */
+    private static void writeCache(ProgramWriter writer, Path cachePath, Path sourcePath)
+    {
+        try
+        {
+            writer.write(cachePath, sourcePath);
+        }
+        catch (IOException e)
+        {
+            System.err.println("The program cache could not be written to " + cachePath + ": " + e.getMessage());
         }
     }
 
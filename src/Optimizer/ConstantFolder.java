@@ -0,0 +1,421 @@
+/**
+ * Replaces every math operation and comparison whose operands are all literals with the literal it computes,
+ * and every read of a constant declared in a function's constants section with the constant's value, so they are
+ * computed once before the program runs instead of every time they are reached. An expression whose operands do not
+ * fit together, or that would divide an integer by zero, is left as it is so its error is still reported.
+ */
+
+package Optimizer;
+
+import java.util.ArrayList;
+
+import CrossStageTools.Nodes.*;
+import CrossStageTools.Nodes.DataTypeNodes.*;
+import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.*;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.BooleanCompareNode.comparisonType;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.MathOpNode.operationType;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.ForNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.IfNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.RepeatNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.WhileNode;
+import CrossStageTools.tokenType;
+import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
+
+public class ConstantFolder
+{
+    private final ProgramNode program;
+
+    private VariableNode[] constantSlots;
+
+    private int foldedCount, propagatedCount;
+
+    /**
+     * Creates a ConstantFolder for the incoming ProgramNode, which must already be resolved.
+     *
+     * @param resolvedProgram Incoming ProgramNode.
+     */
+    public ConstantFolder(ProgramNode resolvedProgram)
+    {
+        program = resolvedProgram;
+    }
+
+    /**
+     * Folds every user defined function in the ProgramNode whose body is parsed.
+     */
+    public void fold()
+    {
+        FunctionNode[] functions = new FunctionNode[program.getFunctionMap().size()];
+
+        program.getFunctionMap().values().toArray(functions);
+
+        for (int i = 0; i < functions.length; i++)
+        {
+            if (!(functions[i] instanceof BuiltInFunctionNode) && !functions[i].isBodyPending())
+            {
+                foldFunction(functions[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns how many math operations and comparisons have been replaced with the literal they compute.
+     *
+     * @return Number of expressions folded.
+     */
+    public int getFoldedCount()
+    {
+        return foldedCount;
+    }
+
+    /**
+     * Returns how many reads of constants have been replaced with the constant's value.
+     *
+     * @return Number of constant reads propagated.
+     */
+    public int getPropagatedCount()
+    {
+        return propagatedCount;
+    }
+
+    /**
+     * Records which slots of the incoming FunctionNode always hold a constant, then folds its variables' ranges
+     * and its statements. A slot shared with a parameter, or with a variable declared after the constant,
+     * does not hold the constant once the function runs, so reads of it are left alone.
+     *
+     * @param function Incoming FunctionNode.
+     */
+    public void foldFunction(FunctionNode function)
+    {
+        ArrayList<VariableNode> parameters = function.getParameterList();
+        ArrayList<VariableNode> variables = function.getVariableList();
+
+        constantSlots = new VariableNode[function.getFrameSize()];
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            constantSlots[variables.get(i).getSlot()] = variables.get(i).isChangeable() ? null : variables.get(i);
+        }
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            constantSlots[parameters.get(i).getSlot()] = null;
+        }
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            if (variables.get(i).getLowerRange() != null)
+            {
+                variables.get(i).setLowerRange(foldExpression(variables.get(i).getLowerRange()));
+            }
+            if (variables.get(i).getHigherRange() != null)
+            {
+                variables.get(i).setHigherRange(foldExpression(variables.get(i).getHigherRange()));
+            }
+        }
+
+        foldStatements(function.getStatementList());
+    }
+
+    /**
+     * Folds each StatementNode in the incoming ArrayList.
+     *
+     * @param statements Incoming StatementNode ArrayList.
+     */
+    private void foldStatements(ArrayList<StatementNode> statements)
+    {
+        for (int i = 0; i < statements.size(); i++)
+        {
+            foldStatement(statements.get(i));
+        }
+    }
+
+    /**
+     * Folds every expression inside the incoming StatementNode. A conditional stays a comparison,
+     * so only its comparands are folded.
+     *
+     * @param statement Incoming StatementNode.
+     */
+    private void foldStatement(StatementNode statement)
+    {
+        if (statement instanceof IfNode)
+        {
+            for (IfNode ifBlock = (IfNode)statement; ifBlock != null; ifBlock = ifBlock.getNext())
+            {
+                if (!ifBlock.isElse())
+                {
+                    foldComparands(ifBlock.getConditional());
+                }
+                foldStatements(ifBlock.getStatements());
+            }
+        }
+        else if (statement instanceof WhileNode)
+        {
+            foldComparands(((WhileNode)statement).getConditional());
+            foldStatements(((WhileNode)statement).getStatements());
+        }
+        else if (statement instanceof RepeatNode)
+        {
+            foldComparands(((RepeatNode)statement).getConditional());
+            foldStatements(((RepeatNode)statement).getStatements());
+        }
+        else if (statement instanceof ForNode)
+        {
+            ForNode forBlock = (ForNode)statement;
+
+            forBlock.setFromNode(foldExpression(forBlock.getFromNode()));
+            forBlock.setToNode(foldExpression(forBlock.getToNode()));
+            foldStatements(forBlock.getStatements());
+        }
+        else if (statement instanceof AssignmentNode)
+        {
+            AssignmentNode assignment = (AssignmentNode)statement;
+
+            assignment.setValue(foldExpression(assignment.getValue()));
+        }
+        else if (statement instanceof FunctionCallNode)
+        {
+            ArrayList<ArgumentNode> arguments = ((FunctionCallNode)statement).getArguments();
+
+            for (int i = 0; i < arguments.size(); i++)
+            {
+                if (arguments.get(i).isConstant())
+                {
+                    arguments.get(i).setConstant(foldExpression(arguments.get(i).getConstant()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Folds both comparands of the incoming BooleanCompareNode.
+     *
+     * @param comparison Incoming BooleanCompareNode.
+     */
+    private void foldComparands(BooleanCompareNode comparison)
+    {
+        comparison.setLeftComparand(foldExpression(comparison.getLeftComparand()));
+        comparison.setRightComparand(foldExpression(comparison.getRightComparand()));
+    }
+
+    /**
+     * Returns the incoming expression ASTNode with every foldable expression inside it replaced by its literal,
+     * or that literal if the whole expression can be folded.
+     *
+     * @param expression Incoming ASTNode.
+     * @return Folded expression.
+     */
+    private ASTNode foldExpression(ASTNode expression)
+    {
+        if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+            VariableNode constant = reference.getArrayExpression() == null ? constantSlots[reference.getSlot()] : null;
+
+            if (constant != null)
+            {
+                ASTNode value = makeLiteral(constant, reference.getLineNumber());
+
+                if (value != null)
+                {
+                    propagatedCount++;
+                    return value;
+                }
+            }
+        }
+        else if (expression instanceof MathOpNode)
+        {
+            MathOpNode mathOp = (MathOpNode)expression;
+
+            mathOp.setLeftOperand(foldExpression(mathOp.getLeftOperand()));
+            mathOp.setRightOperand(foldExpression(mathOp.getRightOperand()));
+
+            ASTNode value = performOperation(mathOp.getLeftOperand(), mathOp.getRightOperand(), mathOp.getOpType(),
+                                             mathOp.getLineNumber());
+
+            if (value != null)
+            {
+                foldedCount++;
+                return value;
+            }
+        }
+        else if (expression instanceof BooleanCompareNode)
+        {
+            BooleanCompareNode comparison = (BooleanCompareNode)expression;
+
+            foldComparands(comparison);
+
+            ASTNode value = performComparison(comparison.getLeftComparand(), comparison.getRightComparand(),
+                                              comparison.getCompType());
+
+            if (value != null)
+            {
+                foldedCount++;
+                return value;
+            }
+        }
+
+        return expression;
+    }
+
+    /**
+     * Returns a literal holding the value of the incoming constant VariableNode on the incoming line,
+     * or null if its type is not one a constants section can declare.
+     *
+     * @param constant Incoming VariableNode.
+     * @param line Incoming line number.
+     * @return Literal holding the value of constant.
+     */
+    private ASTNode makeLiteral(VariableNode constant, int line)
+    {
+        switch (constant.getType())
+        {
+            case INTEGER : return new IntegerNode(Integer.parseInt(constant.getValue()), line);
+            case REAL    : return new RealNode(Float.parseFloat(constant.getValue()), line);
+            default      : return null;
+        }
+    }
+
+    /**
+     * Returns the literal computed by performing the incoming operationType between the former and latter incoming
+     * ASTNodes, the same way Interpreter would, or null if they are not both literals it can compute with.
+     *
+     * @param left Former incoming ASTNode.
+     * @param right Latter incoming ASTNode.
+     * @param opType Incoming operationType.
+     * @param line Incoming line number.
+     * @return Literal computed, or null if the operation cannot be folded.
+     */
+    private ASTNode performOperation(ASTNode left, ASTNode right, operationType opType, int line)
+    {
+        if (left instanceof IntegerNode && right instanceof IntegerNode)
+        {
+            int leftInteger = ((IntegerNode)left).getData(), rightInteger = ((IntegerNode)right).getData();
+
+            if (rightInteger == 0 && (opType == operationType.DIV || opType == operationType.MOD))
+            {
+                return null;
+            }
+
+            switch (opType)
+            {
+                case ADD  : return new IntegerNode(leftInteger + rightInteger, line);
+                case SUB  : return new IntegerNode(leftInteger - rightInteger, line);
+                case MULT : return new IntegerNode(leftInteger * rightInteger, line);
+                case DIV  : return new IntegerNode(leftInteger / rightInteger, line);
+                default   : return new IntegerNode(leftInteger % rightInteger, line);
+            }
+        }
+        else if (left instanceof RealNode && right instanceof RealNode)
+        {
+            float leftReal = ((RealNode)left).getData(), rightReal = ((RealNode)right).getData();
+
+            switch (opType)
+            {
+                case ADD  : return new RealNode(leftReal + rightReal, line);
+                case SUB  : return new RealNode(leftReal - rightReal, line);
+                case MULT : return new RealNode(leftReal * rightReal, line);
+                case DIV  : return new RealNode(leftReal / rightReal, line);
+                default   : return new RealNode(leftReal % rightReal, line);
+            }
+        }
+        else if (left instanceof StringNode && right instanceof StringNode && opType == operationType.ADD)
+        {
+            return new StringNode(((StringNode)left).getData() + ((StringNode)right).getData(), line);
+        }
+        else return null;
+    }
+
+    /**
+     * Returns the BooleanNode computed by performing the incoming comparisonType between the former and latter
+     * incoming ASTNodes, the same way Interpreter would, or null if they are not both literals of the same type.
+     *
+     * @param left Former incoming ASTNode.
+     * @param right Latter incoming ASTNode.
+     * @param compType Incoming comparisonType.
+     * @return BooleanNode computed, or null if the comparison cannot be folded.
+     */
+    private ASTNode performComparison(ASTNode left, ASTNode right, comparisonType compType)
+    {
+        if (!(left instanceof DataTypeNode) || left.getType() != right.getType())
+        {
+            return null;
+        }
+
+        int line = left.getLineNumber();
+
+        switch (left.getType())
+        {
+            case INTEGER   : return new BooleanNode(compareReals(((IntegerNode)left).getData(),
+                                                                 ((IntegerNode)right).getData(), compType), line);
+            case REAL      : return new BooleanNode(compareReals(((RealNode)left).getData(),
+                                                                 ((RealNode)right).getData(), compType), line);
+            case STRING    : return new BooleanNode(compareEquality(((StringNode)left).getData().equals(
+                                                                 ((StringNode)right).getData()), compType), line);
+            case CHARACTER : return new BooleanNode(compareEquality(((CharacterNode)left).getData()
+                                                                 == ((CharacterNode)right).getData(), compType), line);
+            case BOOLEAN   : return new BooleanNode(compareBooleans(((BooleanNode)left).getData(),
+                                                                    ((BooleanNode)right).getData(), compType), line);
+            default        : return null;
+        }
+    }
+
+    /**
+     * Performs the comparison given by the incoming comparisonType between the former and latter incoming numbers.
+     * Every int is exactly representable as a double, so integers are compared here too.
+     *
+     * @param left Former incoming double.
+     * @param right Latter incoming double.
+     * @param compType Incoming comparisonType.
+     * @return Result of the comparison.
+     */
+    private boolean compareReals(double left, double right, comparisonType compType)
+    {
+        switch (compType)
+        {
+            case GTHAN  : return left > right;
+            case LTHAN  : return left < right;
+            case GETO   : return left >= right;
+            case LETO   : return left <= right;
+            case EQUAL  : return left == right;
+            case NEQUAL : return left != right;
+            default     : return false;
+        }
+    }
+
+    /**
+     * Performs the comparison given by the incoming comparisonType on two Strings or characters,
+     * given whether they are equal. Only equality comparisons are true for them.
+     *
+     * @param isEqual Incoming boolean.
+     * @param compType Incoming comparisonType.
+     * @return Result of the comparison.
+     */
+    private boolean compareEquality(boolean isEqual, comparisonType compType)
+    {
+        if (compType == comparisonType.EQUAL)
+        {
+            return isEqual;
+        }
+        else return compType == comparisonType.NEQUAL && !isEqual;
+    }
+
+    /**
+     * Performs the comparison given by the incoming comparisonType between the former and latter incoming booleans.
+     *
+     * @param left Former incoming boolean.
+     * @param right Latter incoming boolean.
+     * @param compType Incoming comparisonType.
+     * @return Result of the comparison.
+     */
+    private boolean compareBooleans(boolean left, boolean right, comparisonType compType)
+    {
+        switch (compType)
+        {
+            case NOT   : return !left;
+            case OR    : return left || right;
+            case AND   : return left && right;
+            case EQUAL : return left == right;
+            default    : return false;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Holds the binary operators of Kakuzaki expressions for the Parser, in tables indexed by tokenType.
+ * Each operator has a precedence, higher binding tighter, and is either a comparison, parsed into a
+ * BooleanCompareNode, or an arithmetic operator, parsed into a MathOpNode. Operators of one precedence associate to
+ * the left. A new operator only needs an entry here and a case in the node its tokenType converts to.
+ */
+
+package Parser;
+
+import CrossStageTools.tokenType;
+
+final class OperatorTable
+{
+    static final int NONE = 0;
+
+    static final int LOWEST = 1;
+
+    private static final int[] PRECEDENCES = new int[tokenType.values().length];
+
+    private static final boolean[] COMPARISONS = new boolean[tokenType.values().length];
+
+    static
+    {
+        add(tokenType.OR, 1, true);
+        add(tokenType.AND, 2, true);
+
+        add(tokenType.GTHAN, 3, true);
+        add(tokenType.LTHAN, 3, true);
+        add(tokenType.GETO, 3, true);
+        add(tokenType.LETO, 3, true);
+        add(tokenType.EQUAL, 3, true);
+        add(tokenType.NEQUAL, 3, true);
+        add(tokenType.NOT, 3, true);
+
+        add(tokenType.ADD, 4, false);
+        add(tokenType.MINUS, 4, false);
+
+        add(tokenType.MULT, 5, false);
+        add(tokenType.DIV, 5, false);
+        add(tokenType.MOD, 5, false);
+    }
+
+    private OperatorTable()
+    {}
+
+    /**
+     * Adds the incoming tokenType as an operator of the incoming precedence, which is a comparison if the incoming
+     * boolean is true.
+     *
+     * @param operator Incoming tokenType.
+     * @param precedence Incoming precedence, LOWEST or more.
+     * @param isComparison Incoming boolean.
+     */
+    private static void add(tokenType operator, int precedence, boolean isComparison)
+    {
+        PRECEDENCES[operator.ordinal()] = precedence;
+        COMPARISONS[operator.ordinal()] = isComparison;
+    }
+
+    /**
+     * Returns the precedence of the incoming tokenType.
+     *
+     * @param type Incoming tokenType.
+     * @return Precedence of type, NONE if it is not a binary operator.
+     */
+    static int getPrecedence(tokenType type)
+    {
+        return PRECEDENCES[type.ordinal()];
+    }
+
+    /**
+     * Checks and returns if the incoming operator tokenType is a comparison.
+     *
+     * @param operator Incoming tokenType.
+     * @return True if operator is parsed into a BooleanCompareNode, false if into a MathOpNode.
+     */
+    static boolean isComparison(tokenType operator)
+    {
+        return COMPARISONS[operator.ordinal()];
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Parses an ArrayList of Tokens into a series of Nodes in an abstract syntax tree.
+ * Parses a TokenStream into a series of Nodes in an abstract syntax tree.
  */
 
 //TODO: Extract line numbers in structure constructors from the comparison?
@@ -12,6 +12,9 @@ import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import CrossStageTools.*;
 import CrossStageTools.Nodes.*;
@@ -26,24 +29,76 @@ import Exceptions.SyntaxErrorException;
 
 public class Parser
 {
-    private final ArrayList<Token> tokenList;
+    private static final int MIN_CHUNK_TOKENS = 4096;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final TokenStream tokens;
     private final ArrayList<ASTNode> nodeList;
 
     private ProgramNode program;
 
     private int lineNumber;
 
+    private boolean isLazy;
+
     /**
-     * Initializes a Parser with the incoming Token ArrayList, a new ASTNode ArrayList and a lineNumber of 1.
+     * Initializes a Parser with a TokenStream over the incoming Token ArrayList, a new ASTNode ArrayList
+     * and a lineNumber of 1. The incoming Token ArrayList is not modified.
      *
      * @param incomingTokenList incoming Token ArrayList.
      */
     public Parser(ArrayList<Token> incomingTokenList)
     {
-        tokenList = incomingTokenList;
+        this(new TokenStream(incomingTokenList));
+    }
+
+    /**
+     * Initializes a Parser with a TokenStream over the incoming TokenBuffer, a new ASTNode ArrayList
+     * and a lineNumber of 1. The incoming TokenBuffer is not modified.
+     *
+     * @param incomingTokenBuffer Incoming TokenBuffer.
+     */
+    public Parser(TokenBuffer incomingTokenBuffer)
+    {
+        this(new TokenStream(incomingTokenBuffer));
+    }
+
+    /**
+     * Initializes a Parser with a TokenStream over the incoming TokenBuffer, a new ASTNode ArrayList and the incoming
+     * lineNumber, for parsing the Tokens of functions starting partway through a program.
+     * The incoming TokenBuffer is not modified.
+     *
+     * @param incomingTokenBuffer Incoming TokenBuffer.
+     * @param firstLineNumber Incoming lineNumber.
+     */
+    public Parser(TokenBuffer incomingTokenBuffer, int firstLineNumber)
+    {
+        this(new TokenStream(incomingTokenBuffer), firstLineNumber);
+    }
+
+    /**
+     * Initializes a Parser with the incoming TokenStream, a new ASTNode ArrayList and a lineNumber of 1.
+     *
+     * @param incomingTokens Incoming TokenStream.
+     */
+    public Parser(TokenStream incomingTokens)
+    {
+        this(incomingTokens, 1);
+    }
+
+    /**
+     * Initializes a Parser with the incoming TokenStream, a new ASTNode ArrayList and the incoming lineNumber, for
+     * parsing functions starting partway through a program.
+     *
+     * @param incomingTokens Incoming TokenStream.
+     * @param firstLineNumber Incoming lineNumber.
+     */
+    private Parser(TokenStream incomingTokens, int firstLineNumber)
+    {
+        tokens = incomingTokens;
         nodeList = new ArrayList<>();
 
-        lineNumber = 1;
+        lineNumber = firstLineNumber;
     }
 
     /**
@@ -54,9 +109,9 @@ public class Parser
      */
     public ProgramNode parse() throws SyntaxErrorException
     {
-        program = new ProgramNode(new HashMap<>());
+        program = new ProgramNode(new HashMap<>(), tokens.getSymbolTable());
         FunctionNode functionToAdd;
-        while (!tokenList.isEmpty() && (functionToAdd = handleFunction()) != null)
+        while (!tokens.isAtEnd() && (functionToAdd = handleFunction()) != null)
         {
             program.addFunction(functionToAdd);
         }
@@ -64,6 +119,205 @@ public class Parser
         return program;
     }
 
+    /**
+     * Creates and returns a ProgramNode like parse(), but parses only the name, parameters, variables and constants
+     * of each function. Each function's body is skipped and kept as a TokenStream at its start, to be parsed by
+     * parseBody() when the function is first needed. Syntax errors inside a body are only found then.
+     *
+     * @return ProgramNode of every function, with their bodies not parsed yet.
+     * @throws SyntaxErrorException If the syntax of a function's definition is violated.
+     */
+    public ProgramNode parseLazily() throws SyntaxErrorException
+    {
+        isLazy = true;
+
+        return parse();
+    }
+
+    /**
+     * Parses the body of the incoming FunctionNode, which was parsed lazily, and gives it its statements.
+     *
+     * @param function Incoming FunctionNode.
+     * @throws SyntaxErrorException If the syntax of function's body is violated.
+     */
+    public static void parseBody(FunctionNode function) throws SyntaxErrorException
+    {
+        Parser bodyParser = new Parser(function.getBodyTokens(), function.getBodyLineNumber());
+
+        function.setStatementList(bodyParser.handleStatements());
+    }
+
+    /**
+     * Creates and returns the same ProgramNode as parse(), parsing runs of functions in parallel on the common
+     * ForkJoinPool. With fewer than two threads in the pool, this is parse().
+     *
+     * @return ProgramNode of every function parsed.
+     * @throws SyntaxErrorException If the syntax is violated; the error parse() would throw is the one thrown.
+     */
+    public ProgramNode parseInParallel() throws SyntaxErrorException
+    {
+        if (ForkJoinPool.getCommonPoolParallelism() < 2)
+        {
+            return parse();
+        }
+
+        return parseInParallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates and returns the same ProgramNode as parse(), parsing runs of functions in parallel on the incoming
+     * ForkJoinPool. Every Token is read first, and the position and line of each DEFINE Token is found, so that the
+     * Tokens can be split into chunks at DEFINE Tokens, each parsed by its own Parser from a copy of the TokenStream.
+     * The chunks are then joined in order, each picking up where the previous one stopped. A chunk that does not
+     * start there, or at the line the previous one ended on, is not used, and the functions from there on are
+     * parsed in order instead until they meet the start of another chunk.
+     *
+     * @param pool Incoming ForkJoinPool.
+     * @return ProgramNode of every function parsed.
+     * @throws SyntaxErrorException If the syntax is violated; the error parse() would throw is the one thrown.
+     */
+    public ProgramNode parseInParallel(ForkJoinPool pool) throws SyntaxErrorException
+    {
+        TokenStream allTokens = tokens.copyAt(0);
+        int tokenCount = allTokens.remaining();
+        int chunkTokens = Math.max(MIN_CHUNK_TOKENS, tokenCount / (pool.getParallelism() * CHUNKS_PER_THREAD));
+
+        ArrayList<Integer> chunkStarts = new ArrayList<>(), chunkLineNumbers = new ArrayList<>();
+        chunkStarts.add(0);
+        chunkLineNumbers.add(lineNumber);
+
+        for (int i = 0, eolCount = 0; i < tokenCount; i++)
+        {
+            tokenType currentType = allTokens.peekType(i);
+
+            if (currentType == tokenType.EOL)
+            {
+                eolCount++;
+            }
+            else if (currentType == tokenType.DEFINE && i - chunkStarts.get(chunkStarts.size() - 1) >= chunkTokens)
+            {
+                chunkStarts.add(i);
+                chunkLineNumbers.add(lineNumber + eolCount);
+            }
+        }
+        chunkStarts.add(tokenCount);
+
+        ArrayList<ForkJoinTask<Parser>> chunkTasks = new ArrayList<>();
+
+        for (int i = 0; i < chunkLineNumbers.size(); i++)
+        {
+            int start = chunkStarts.get(i), end = chunkStarts.get(i + 1), firstLineNumber = chunkLineNumbers.get(i);
+            chunkTasks.add(pool.submit(() -> parseChunk(allTokens, start, end - start, firstLineNumber)));
+        }
+
+        for (int i = 0; i < chunkTasks.size(); i++)
+        {
+            chunkTasks.get(i).quietlyJoin();
+        }
+
+        program = new ProgramNode(new HashMap<>(), tokens.getSymbolTable());
+
+        int position = 0, chunk = 0;
+
+        while (true)
+        {
+            while (chunk < chunkLineNumbers.size() && chunkStarts.get(chunk) < position)
+            {
+                chunk++;
+            }
+
+            Parser nextParser;
+
+            if (chunk < chunkLineNumbers.size() && chunkStarts.get(chunk) == position
+                    && chunkLineNumbers.get(chunk) == lineNumber)
+            {
+                nextParser = joinChunk(chunkTasks.get(chunk));
+            }
+            else nextParser = parseChunk(allTokens, position, 1, lineNumber);
+
+            program.addMap(nextParser.program.getFunctionMap());
+
+            int nextPosition = nextParser.tokens.getPosition() - allTokens.getPosition();
+
+            if (nextPosition == position)
+            {
+                return program;
+            }
+
+            position = nextPosition;
+            lineNumber = nextParser.lineNumber;
+        }
+    }
+
+    /**
+     * Parses functions, like parse(), from the incoming position of the incoming TokenStream and at the incoming
+     * lineNumber, until the incoming number of Tokens are consumed or no function follows.
+     *
+     * @param allTokens Incoming TokenStream.
+     * @param start Incoming position.
+     * @param chunkTokens Incoming number of Tokens.
+     * @param firstLineNumber Incoming lineNumber.
+     * @return Parser holding the parsed functions in its ProgramNode, its cursor and its lineNumber where it stopped.
+     * @throws SyntaxErrorException If the syntax is violated.
+     */
+    private static Parser parseChunk(TokenStream allTokens, int start, int chunkTokens, int firstLineNumber)
+            throws SyntaxErrorException
+    {
+        Parser chunkParser = new Parser(allTokens.copyAt(start), firstLineNumber);
+        chunkParser.program = new ProgramNode(new HashMap<>());
+
+        int endPosition = chunkParser.tokens.getPosition() + chunkTokens;
+        FunctionNode functionToAdd;
+
+        while (chunkParser.tokens.getPosition() < endPosition && !chunkParser.tokens.isAtEnd()
+                && (functionToAdd = chunkParser.handleFunction()) != null)
+        {
+            chunkParser.program.addFunction(functionToAdd);
+        }
+
+        return chunkParser;
+    }
+
+    /**
+     * Returns the Parser of the incoming finished chunk task. The ForkJoinPool wraps what a task throws in plain
+     * RuntimeExceptions, which are unwrapped here.
+     *
+     * @param chunkTask Incoming chunk task.
+     * @return Parser of the chunk.
+     * @throws SyntaxErrorException If the chunk violated the syntax.
+     */
+    private static Parser joinChunk(ForkJoinTask<Parser> chunkTask) throws SyntaxErrorException
+    {
+        try
+        {
+            return chunkTask.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new SyntaxErrorException("Interrupted while parsing in parallel.");
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+
+            while (cause.getClass() == RuntimeException.class && cause.getCause() != null)
+            {
+                cause = cause.getCause();
+            }
+
+            if (cause instanceof SyntaxErrorException)
+            {
+                throw (SyntaxErrorException)cause;
+            }
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException)cause;
+            }
+            throw (Error)cause;
+        }
+    }
+
     /**
      * Returns the Token list.
      *
@@ -86,6 +340,7 @@ public class Parser
         String formattedOutput = zdt.getDayOfMonth() + "-" + zdt.getMonthValue() + "-" + zdt.getYear() + "@" +
                 zdt.getHour() + "_" + zdt.getMinute() + "_" + zdt.getSecond();
         File file = new File("./src/Debug/ParserDumps", "parser_" + formattedOutput + ".txt");
+        file.getParentFile().mkdirs();
         if (file.createNewFile())
         {
             FileWriter fw = new FileWriter(file);
@@ -104,7 +359,7 @@ public class Parser
      */
     private FunctionNode handleFunction() throws SyntaxErrorException
     {
-        if (matchAndRemove(tokenType.DEFINE) == null)
+        if (!matchAndRemove(tokenType.DEFINE))
         {
             return null;
         }
@@ -117,13 +372,24 @@ public class Parser
 
         parameters = handleParameters();
 
-        while (peek(0).getType() != tokenType.INDENT)
+        while (peekAndGetType(0) != tokenType.INDENT)
         {
-            variables.addAll(peek(0).getType() == tokenType.CONSTANTS ? handleConstants() : handleVariables());
+            variables.addAll(peekAndGetType(0) == tokenType.CONSTANTS ? handleConstants() : handleVariables());
         }
 
         expectZeroOrMoreEOLs();
 
+        if (isLazy)
+        {
+            TokenStream bodyTokens = tokens.copyAt(0);
+            int bodyLineNumber = lineNumber;
+
+            skipStatements();
+
+            return new FunctionNode(bodyTokens, bodyLineNumber, parameters, variables, functionName,
+                                    definitionLineNumber);
+        }
+
         ArrayList<StatementNode> statements = handleStatements();
 
         return new FunctionNode(statements, parameters, variables, functionName, definitionLineNumber);
@@ -142,7 +408,7 @@ public class Parser
 
         ArrayList<VariableNode> parameters = new ArrayList<>();
 
-        while (peek(0).getType() == tokenType.IDENTIFIER || peek(0).getType() == tokenType.VAR)
+        while (peekAndGetType(0) == tokenType.IDENTIFIER || peekAndGetType(0) == tokenType.VAR)
         {
             parameters.add(handleParameter());
         }
@@ -156,28 +422,45 @@ public class Parser
     }
 
     /**
-     * Returns one parameter.
+     * Returns one parameter. An array parameter declares the type of its elements after an OF Token, but not its
+     * bounds, which it takes from the array it is given.
      *
      * @return One parameter.
-     * @throws SyntaxErrorException If the Kakuzaki syntax is violated for semicolons in a function definition.
+     * @throws SyntaxErrorException If the Kakuzaki syntax is violated for semicolons or array types in a function
+     *                              definition.
      */
     private VariableNode handleParameter() throws SyntaxErrorException
     {
         boolean isVariable = false;
 
-        if (matchAndRemove(tokenType.VAR) != null)
+        if (matchAndRemove(tokenType.VAR))
         {
             isVariable = true;
         }
 
-        String name = matchAndRemove(tokenType.IDENTIFIER).getValue();
+        int symbol = tokens.peekSymbol(0);
+        String name = matchAndRemoveValue(tokenType.IDENTIFIER);
 
         matchAndRemoveAndTestForException(tokenType.COLON,
                 "Expected COLON Token between parameter identifier and type declaration on line " + lineNumber);
 
         tokenType variableType = matchAndRemoveAndGetDataTypeAndTestForException();
+        tokenType arrayType = null;
 
-        if (peek(0).getType() == tokenType.SEMICOLON &&
+        if (variableType == tokenType.ARRAY)
+        {
+            matchAndRemoveAndTestForException(tokenType.OF,
+                    "Expected OF Token after ARRAY Token on line " + lineNumber);
+
+            arrayType = matchAndRemoveAndGetDataTypeAndTestForException();
+
+            if (arrayType == tokenType.ARRAY)
+            {
+                throw new SyntaxErrorException("Arrays of arrays are not supported on line " + lineNumber);
+            }
+        }
+
+        if (peekAndGetType(0) == tokenType.SEMICOLON &&
                 (peekAndGetType(1) != tokenType.IDENTIFIER && peekAndGetType(1) != tokenType.VAR))
         {
             throw new SyntaxErrorException("Expected IDENTIFIER or VAR Token after SEMICOLON Token on " + lineNumber);
@@ -185,7 +468,10 @@ public class Parser
         else
         {
             matchAndRemove(tokenType.SEMICOLON);
-            return new VariableNode(name, variableType, lineNumber, isVariable);
+            VariableNode parameter = new VariableNode(name, variableType, lineNumber, isVariable);
+            parameter.setArrayType(arrayType);
+            parameter.setSymbol(symbol);
+            return parameter;
         }
     }
 
@@ -201,7 +487,7 @@ public class Parser
 
         ArrayList<VariableNode> constants = new ArrayList<>();
 
-        while (peek(1).getType() == tokenType.COMMA)
+        while (peekAndGetType(1) == tokenType.COMMA)
         {
             constants.add(handleConstantOrVariable(false));
             matchAndRemove(tokenType.COMMA);
@@ -242,7 +528,7 @@ public class Parser
 
         tokenType dataType;
 
-        while (!tokenList.isEmpty() && peek(1).getType() == tokenType.COMMA)
+        while (!tokens.isAtEnd() && peekAndGetType(1) == tokenType.COMMA)
         {
             variables.add(handleConstantOrVariable(true));
             matchAndRemove(tokenType.COMMA);
@@ -259,8 +545,12 @@ public class Parser
 
         ASTNode lowerRange = null, higherRange = null;
 
+        tokenType arrayType = null;
+
         if (dataType == tokenType.ARRAY)
         {
+            hasRange = true;
+
             matchAndRemoveAndTestForException(tokenType.FROM, "Expected FROM Token after ARRAY Token");
 
             lowerRange = expression();
@@ -271,11 +561,16 @@ public class Parser
 
             matchAndRemoveAndTestForException(tokenType.OF, "Expected OF Token after TO Token");
 
-            matchAndRemoveDataTypeToken(); //TODO: Consider if we could have an array keyword here too
+            arrayType = matchAndRemoveAndGetDataTypeAndTestForException();
+
+            if (arrayType == tokenType.ARRAY)
+            {
+                throw new SyntaxErrorException("Arrays of arrays are not supported on line " + lineNumber);
+            }
         }
         else if (dataType == tokenType.INTEGER || dataType == tokenType.REAL || dataType == tokenType.STRING)
         {
-            if (matchAndRemove(tokenType.FROM) != null)
+            if (matchAndRemove(tokenType.FROM))
             {
                 hasRange = true;
 
@@ -294,6 +589,7 @@ public class Parser
             currentVariable = variables.get(i);
 
             currentVariable.setType(dataType);
+            currentVariable.setArrayType(arrayType);
 
             if (hasRange)
             {
@@ -318,7 +614,12 @@ public class Parser
      */
     private VariableNode handleConstantOrVariable(boolean isChangeable) throws SyntaxErrorException
     {
-        return new VariableNode(matchAndRemoveAndGetValueAndTestForException(), null, lineNumber, isChangeable);
+        int symbol = tokens.peekSymbol(0);
+        VariableNode variable = new VariableNode(matchAndRemoveAndGetValueAndTestForException(), null, lineNumber,
+                                                 isChangeable);
+
+        variable.setSymbol(symbol);
+        return variable;
     }
 
     /**
@@ -333,7 +634,7 @@ public class Parser
 
         ArrayList<StatementNode> statements = new ArrayList<>();
 
-        while (peek(0).getType() != tokenType.DEDENT)
+        while (peekAndGetType(0) != tokenType.DEDENT)
         {
             statements.add(handleStatement());
             expectZeroOrMoreEOLs();
@@ -344,6 +645,38 @@ public class Parser
         return statements;
     }
 
+    /**
+     * Expects an INDENT Token and removes every Token up to and including its matching DEDENT Token without parsing
+     * them, counting lines as handleStatements() would.
+     *
+     * @throws SyntaxErrorException If the INDENT Token is missing.
+     */
+    private void skipStatements() throws SyntaxErrorException
+    {
+        matchAndRemoveAndTestForException(tokenType.INDENT, "Indent expected on line " + lineNumber);
+
+        int depth = 1;
+
+        while (depth > 0 && !tokens.isAtEnd())
+        {
+            tokenType currentType = peekAndGetType(0);
+
+            if (currentType == tokenType.INDENT)
+            {
+                depth++;
+            }
+            else if (currentType == tokenType.DEDENT)
+            {
+                depth--;
+            }
+            else if (currentType == tokenType.EOL)
+            {
+                lineNumber++;
+            }
+            tokens.advance();
+        }
+    }
+
     /**
      * Handles the processing of one StatementNode.
      *
@@ -352,25 +685,25 @@ public class Parser
      */
     private StatementNode handleStatement() throws SyntaxErrorException
     {
-        if (peek(0).getType() == tokenType.IF)
+        if (peekAndGetType(0) == tokenType.IF)
         {
             return handleIf(false);
         }
-        else if (peek(0).getType() == tokenType.WHILE)
+        else if (peekAndGetType(0) == tokenType.WHILE)
         {
             return handleWhile();
         }
-        else if (peek(0).getType() == tokenType.REPEAT)
+        else if (peekAndGetType(0) == tokenType.REPEAT)
         {
             return handleRepeat();
         }
-        else if (peek(0).getType() == tokenType.FOR)
+        else if (peekAndGetType(0) == tokenType.FOR)
         {
             return handleFor();
         }
-        else if (peek(0).getType() == tokenType.IDENTIFIER)
+        else if (peekAndGetType(0) == tokenType.IDENTIFIER)
         {
-            if (peek(1).getType() == tokenType.ASSIGN)
+            if (peekAndGetType(1) == tokenType.ASSIGN || peekAndGetType(1) == tokenType.LBRACK)
             {
                 return handleAssignment();
             }
@@ -395,7 +728,7 @@ public class Parser
     {
         int statedLineNumber = lineNumber;
 
-        if (matchAndRemove(tokenType.ELSE) == null)
+        if (!matchAndRemove(tokenType.ELSE))
         {
             if (!isChained)
             {
@@ -406,7 +739,7 @@ public class Parser
                 matchAndRemoveAndTestForException(tokenType.ELSIF, "Expected ELSIF Token on line " + statedLineNumber);
             }
 
-            BooleanCompareNode conditional = (BooleanCompareNode)booleanCompare();
+            BooleanCompareNode conditional = (BooleanCompareNode)expression();
 
             expectOneOrMoreEOLs();
 
@@ -434,7 +767,7 @@ public class Parser
 
         matchAndRemoveAndTestForException(tokenType.WHILE, "Expected WHILE Token on line " + statedLineNumber);
 
-        BooleanCompareNode conditional = (BooleanCompareNode)booleanCompare();
+        BooleanCompareNode conditional = (BooleanCompareNode)expression();
 
         expectOneOrMoreEOLs();
 
@@ -457,7 +790,7 @@ public class Parser
 
         matchAndRemoveAndTestForException(tokenType.UNTIL, "Expected UNTIL Token on line " + statedLineNumber);
 
-        BooleanCompareNode conditional = (BooleanCompareNode)booleanCompare();
+        BooleanCompareNode conditional = (BooleanCompareNode)expression();
 
         expectOneOrMoreEOLs();
 
@@ -493,7 +826,7 @@ public class Parser
 
         ArrayList<StatementNode> statements = handleStatements();
 
-        return new ForNode(iterator, fromNode, toNode, statements, lineNumber);
+        return new ForNode(iterator, fromNode, toNode, statements, statedLineNumber);
     }
 
     /**
@@ -504,6 +837,8 @@ public class Parser
      */
     private FunctionCallNode handleFunctionCall() throws SyntaxErrorException
     {
+        int statedLineNumber = lineNumber;
+        int calledSymbol = tokens.peekSymbol(0);
         String calledName = matchAndRemoveAndGetValueAndTestForException();
 
         ArrayList<ArgumentNode> arguments = new ArrayList<>();
@@ -521,7 +856,9 @@ public class Parser
 
         expectOneOrMoreEOLs();
 
-        return new FunctionCallNode(calledName, arguments, lineNumber);
+        FunctionCallNode call = new FunctionCallNode(calledName, arguments, statedLineNumber);
+        call.setSymbol(calledSymbol);
+        return call;
     }
 
     /**
@@ -532,7 +869,7 @@ public class Parser
      */
     private ArgumentNode handleArgument() throws SyntaxErrorException
     {
-        if (matchAndRemove(tokenType.VAR) != null)
+        if (matchAndRemove(tokenType.VAR))
         {
             if (peekAndGetType(0) != tokenType.IDENTIFIER)
             {
@@ -543,7 +880,7 @@ public class Parser
         }
         else
         {
-            return new ArgumentNode(booleanCompare(), lineNumber);
+            return new ArgumentNode(expression(), lineNumber);
         }
     }
 
@@ -555,16 +892,17 @@ public class Parser
      */
     private AssignmentNode handleAssignment() throws SyntaxErrorException
     {
+        int statedLineNumber = lineNumber;
         VariableReferenceNode referencedNode = handleVariableReferenceNode();
 
         matchAndRemoveAndTestForException(tokenType.ASSIGN, "ASSIGN Token expected after variable reference on line " +
                                             lineNumber);
 
-        ASTNode assignmentValue = booleanCompare();
+        ASTNode assignmentValue = expression();
 
         expectOneOrMoreEOLs();
 
-        return new AssignmentNode(referencedNode, assignmentValue, lineNumber);
+        return new AssignmentNode(referencedNode, assignmentValue, statedLineNumber);
     }
 
     /**
@@ -577,7 +915,7 @@ public class Parser
      */
     private void matchAndRemoveAndTestForException(tokenType type, String message) throws SyntaxErrorException
     {
-        if (matchAndRemove(type) == null)
+        if (!matchAndRemove(type))
         {
             throw new SyntaxErrorException(message + ", but found " + peek(0) + " on line " + lineNumber + ".");
         }
@@ -593,7 +931,7 @@ public class Parser
     {
         String name;
 
-        if ((name = matchAndRemove(tokenType.IDENTIFIER).getValue()) == null)
+        if ((name = matchAndRemoveValue(tokenType.IDENTIFIER)) == null)
         {
             throw new SyntaxErrorException("Expected IDENTIFIER Token on line " + lineNumber + " but found " + peek(0)
                     + ".");
@@ -614,7 +952,7 @@ public class Parser
     {
         String literalValue;
 
-        if ((literalValue = matchAndRemove(literalType).getValue()) == null)
+        if ((literalValue = matchAndRemoveValue(literalType)) == null)
         {
             throw new SyntaxErrorException("Expected literal Token on line " + lineNumber + " but found " + peek(0)
                 + ".");
@@ -631,14 +969,14 @@ public class Parser
      */
     private tokenType matchAndRemoveBooleanValueAndTestForException() throws SyntaxErrorException
     {
-        Token booleanValue;
+        tokenType booleanValue = peekAndGetType(0);
 
-        if ((booleanValue = matchAndRemove(tokenType.TRUE)) == null && (booleanValue = matchAndRemove(tokenType.FALSE)) == null)
+        if (!matchAndRemove(tokenType.TRUE) && !matchAndRemove(tokenType.FALSE))
         {
             throw new SyntaxErrorException("Expected TRUE Token or FALSE Token on line " + lineNumber
                     + " but found " + peek(0) + ".");
         }
-        else return booleanValue.getType();
+        else return booleanValue;
     }
 
     /**
@@ -667,168 +1005,75 @@ public class Parser
      */
     private tokenType matchAndRemoveDataTypeToken()
     {
-        Token dataTypeToken;
-        if ((dataTypeToken = matchAndRemove(tokenType.INTEGER)) != null ||
-            (dataTypeToken = matchAndRemove(tokenType.REAL)) != null ||
-            (dataTypeToken = matchAndRemove(tokenType.STRING)) != null ||
-            (dataTypeToken = matchAndRemove(tokenType.CHARACTER)) != null ||
-            (dataTypeToken = matchAndRemove(tokenType.BOOLEAN)) != null ||
-            (dataTypeToken = matchAndRemove(tokenType.ARRAY)) != null)
+        tokenType dataType = peekAndGetType(0);
+        if (matchAndRemove(tokenType.INTEGER) ||
+            matchAndRemove(tokenType.REAL) ||
+            matchAndRemove(tokenType.STRING) ||
+            matchAndRemove(tokenType.CHARACTER) ||
+            matchAndRemove(tokenType.BOOLEAN) ||
+            matchAndRemove(tokenType.ARRAY))
         {
-            return dataTypeToken.getType();
+            return dataType;
         }
         else return null;
     }
 
     /**
-     * Creates and returns a BooleanCompareNode with two comparands and a comparison operand.
+     * Removes and returns an expression ASTNode, with operators of any precedence.
      *
-     * @return A BooleanCompareNode with appropriately matched and removed comparands and operand.
-     * @throws SyntaxErrorException If retrieving either comparand fails.
+     * @return Expression ASTNode, null if no operand is found.
+     * @throws SyntaxErrorException If an operator is not followed by an operand or a factor fails.
      */
-    private ASTNode booleanCompare() throws SyntaxErrorException
+    private ASTNode expression() throws SyntaxErrorException
     {
-        ASTNode leftComparand = expression();
-
-        if (isLineEmpty() || peekAndGetType(0) == tokenType.COMMA)
-        {
-            return leftComparand;
-        }
-
-        tokenType compType = matchAndRemoveBooleanComparison();
-
-        ASTNode rightComparand = expression();
-
-        return new BooleanCompareNode(leftComparand, compType, rightComparand, lineNumber);
+        return expression(OperatorTable.LOWEST);
     }
 
     /**
-     * Removes and returns an expression ASTNode.
-     * An expression is a number or a MathOpNode with addition or subtraction as its operation type.
+     * Removes and returns an expression ASTNode whose operators have the incoming precedence or more.
+     * Operands are joined by the loop for as long as the next operator binds tightly enough, and each right operand
+     * takes only the operators binding more tightly than its own, so operators of one precedence associate to the
+     * left and a bare factor is returned after a single table lookup.
      *
-     * @return Expression ASTNode.
+     * @param minimumPrecedence Incoming precedence.
+     * @return Expression ASTNode, null if no operand is found.
+     * @throws SyntaxErrorException If an operator is not followed by an operand or a factor fails.
      */
-    private ASTNode expression() throws SyntaxErrorException
+    private ASTNode expression(int minimumPrecedence) throws SyntaxErrorException
     {
-        ASTNode leftOperand = term();
+        ASTNode leftOperand = factor();
 
         if (leftOperand == null)
         {
             return null;
         }
-        if (peekAndGetType(0) == tokenType.EOL)
-        {
-            return leftOperand;
-        }
 
-        tokenType opType;
+        tokenType operator = peekAndGetType(0);
 
-        if ((opType = matchAndRemoveBooleanComparison()) != null)
-        {
-            return new BooleanCompareNode(leftOperand, opType, expression(), lineNumber);
-        }
-        else
+        while (OperatorTable.getPrecedence(operator) >= minimumPrecedence)
         {
-            opType = handleExpressionOperator();
-        }
-
-        ASTNode rightOperand = expression();
+            tokens.advance();
 
-        if (opType == null || rightOperand == null)
-        {
-            return leftOperand;
-        }
-        else
-        {
-            return new MathOpNode(leftOperand, opType, rightOperand, lineNumber);
-        }
-    }
+            ASTNode rightOperand = expression(OperatorTable.getPrecedence(operator) + 1);
 
-    /**
-     * Removes and returns an operationType on the expression priority.
-     * The expression priority operators include addition and subtraction.
-     *
-     * @return operationType on the expression priority or null if no such operator is found.
-     */
-    private tokenType handleExpressionOperator() throws SyntaxErrorException
-    {
-        if (matchAndRemove(tokenType.ADD) != null)
-        {
-            return tokenType.ADD;
-        }
-        else if (matchAndRemove(tokenType.MINUS) != null)
-        {
-            return tokenType.MINUS;
-        }
-        else if (matchAndRemove(tokenType.NEGATE) != null)
-        {
-            throw new SyntaxErrorException("Stray negation operator found on line " + lineNumber + ".");
-        }
-        else
-        {
-            return matchAndRemoveBooleanComparison();
-        }
-    }
-
-    /**
-     * Removes and returns a term ASTNode.
-     * A term is a number or a MathOpNode with multiplication, division or modularity as its operation type.
-     *
-     * @return Term ASTNode.
-     */
-    private ASTNode term() throws SyntaxErrorException
-    {
-        ASTNode leftOperand = factor();
-        tokenType opType = handleTermOperator();
-        ASTNode rightOperand = factor();
+            if (rightOperand == null)
+            {
+                throw new SyntaxErrorException("Expected an operand after " + operator + " Token on line " + lineNumber
+                        + ".");
+            }
 
-        if (leftOperand == null)
-        {
-            return null;
-        }
-        else if (isLineEmpty() || opType == null)
-        {
-            return leftOperand;
+            leftOperand = OperatorTable.isComparison(operator)
+                          ? new BooleanCompareNode(leftOperand, operator, rightOperand, lineNumber)
+                          : new MathOpNode(leftOperand, operator, rightOperand, lineNumber);
+            operator = peekAndGetType(0);
         }
-        else if (peekAndGetType(0) == tokenType.MULT
-                || peekAndGetType(0) == tokenType.DIV || peekAndGetType(0) == tokenType.MOD)
-        {
-            return new MathOpNode(
-                    new MathOpNode(
-                            leftOperand, opType, rightOperand, lineNumber), handleTermOperator(), term(), lineNumber);
-        }
-
-        return new MathOpNode(leftOperand, opType, rightOperand, lineNumber);
-    }
 
-    /**
-     * Removes and returns an operationType on the term priority.
-     * The term priority operators include multiplication, division and modularity.
-     *
-     * @return operationType on the term priority or null if no such operator is found.
-     */
-    private tokenType handleTermOperator() throws SyntaxErrorException
-    {
-        if (matchAndRemove(tokenType.MULT) != null)
-        {
-            return tokenType.MULT;
-        }
-        else if (matchAndRemove(tokenType.DIV) != null)
-        {
-            return tokenType.DIV;
-        }
-        else if (matchAndRemove(tokenType.MOD) != null)
-        {
-            return tokenType.MOD;
-        }
-        else if (matchAndRemove(tokenType.NEGATE) != null)
+        if (operator == tokenType.NEGATE)
         {
             throw new SyntaxErrorException("Stray negation operator found on line " + lineNumber + ".");
         }
-        else
-        {
-            return null;
-        }
+
+        return leftOperand;
     }
 
     /**
@@ -839,11 +1084,11 @@ public class Parser
      */
     private ASTNode factor() throws SyntaxErrorException
     {
-        if (matchAndRemove(tokenType.LPAREN) != null)
+        if (matchAndRemove(tokenType.LPAREN))
         {
             ASTNode parenthesizedExpressionNode = expression();
 
-            if (matchAndRemove(tokenType.RPAREN) == null)
+            if (!matchAndRemove(tokenType.RPAREN))
             {
                 throw new SyntaxErrorException("Unenclosed parenthesized expression while parsing on line "
                                                 + lineNumber);
@@ -887,42 +1132,21 @@ public class Parser
      */
     private VariableReferenceNode handleVariableReferenceNode() throws SyntaxErrorException
     {
+        int referenceSymbol = tokens.peekSymbol(0);
         String referenceName = matchAndRemoveAndGetValueAndTestForException();
 
         ASTNode arrayExpression = null;
 
-        if (matchAndRemove(tokenType.LBRACK) != null)
+        if (matchAndRemove(tokenType.LBRACK))
         {
             arrayExpression = expression();
             matchAndRemoveAndTestForException(tokenType.RBRACK,
                                 "Expected RBRACK Token after array indexing on line " + lineNumber);
         }
 
-        return new VariableReferenceNode(arrayExpression, referenceName, lineNumber);
-    }
-
-    /**
-     * Matches and removes one of the following tokenTypes and returns that type.
-     * GTHAN, LTHAN, GETO, LETO, EQUAL, NEQUAL, NOT, AND, OR
-     *
-     * @return One of the above tokenTypes. Null if none of them were found.
-     */
-    private tokenType matchAndRemoveBooleanComparison()
-    {
-        Token comparisonTypeToken;
-        if ((comparisonTypeToken = matchAndRemove(tokenType.GTHAN)) != null ||
-            (comparisonTypeToken = matchAndRemove(tokenType.LTHAN)) != null ||
-            (comparisonTypeToken = matchAndRemove(tokenType.GETO)) != null ||
-            (comparisonTypeToken = matchAndRemove(tokenType.LETO)) != null ||
-            (comparisonTypeToken = matchAndRemove(tokenType.EQUAL)) != null ||
-            (comparisonTypeToken = matchAndRemove(tokenType.NEQUAL)) != null ||
-            (comparisonTypeToken = matchAndRemove(tokenType.NOT)) != null ||
-            (comparisonTypeToken = matchAndRemove(tokenType.AND)) != null ||
-            (comparisonTypeToken = matchAndRemove(tokenType.OR)) != null)
-        {
-            return comparisonTypeToken.getType();
-        }
-        else return null;
+        VariableReferenceNode reference = new VariableReferenceNode(arrayExpression, referenceName, lineNumber);
+        reference.setSymbol(referenceSymbol);
+        return reference;
     }
 
     /**
@@ -932,7 +1156,7 @@ public class Parser
      */
     private int matchAndRemoveNegation()
     {
-        return matchAndRemove(tokenType.NEGATE) != null ? -1 : 1;
+        return matchAndRemove(tokenType.NEGATE) ? -1 : 1;
     }
 
     /**
@@ -944,37 +1168,51 @@ public class Parser
      */
     private ASTNode determineAndCreateNumberNode(int negativeMultiplier)
     {
-        Token numberToken;
-        try
-        {
-            numberToken = matchAndRemove(tokenType.NUMBER);
-        }
-        catch (Exception e)
+        boolean isRealNumber = tokens.isRealNumber(0);
+        String numberValue;
+
+        if ((numberValue = matchAndRemoveValue(tokenType.NUMBER)) == null)
         {
             System.out.println("No NUMBER token found as factor on line " + lineNumber + ".");
             return null;
         }
 
-        return numberToken.isRealNumber() ? new RealNode(Float.parseFloat(
-                                                    numberToken.getValue()) * negativeMultiplier, lineNumber
-                                            ) :
-                                            new IntegerNode(Integer.parseInt(
-                                                    numberToken.getValue()) * negativeMultiplier, lineNumber
-                                            );
+        return isRealNumber ? new RealNode(Float.parseFloat(numberValue) * negativeMultiplier, lineNumber)
+                            : new IntegerNode(Integer.parseInt(numberValue) * negativeMultiplier, lineNumber);
+    }
+
+    /**
+     * Checks the Token currently at the cursor of the TokenStream and consumes it,
+     * if its tokenType matches the incoming tokenType.
+     *
+     * @param incomingType Incoming tokenType.
+     * @return True if the Token at the cursor was consumed, false if the TokenStream is at its end or the type
+     * doesn't match.
+     */
+    private boolean matchAndRemove(tokenType incomingType)
+    {
+        if (!tokens.isAtEnd() && tokens.peekType(0) == incomingType)
+        {
+            tokens.advance();
+            return true;
+        }
+        else return false;
     }
 
     /**
-     * Checks the Token currently at index 0 in the Token list and removes and returns it,
+     * Checks the Token currently at the cursor of the TokenStream and consumes it and returns its value,
      * if its tokenType matches the incoming tokenType.
      *
      * @param incomingType Incoming tokenType.
-     * @return Token currently at index 0 in the Token list, null if the Token list is empty or the type doesn't match.
+     * @return Value of the Token at the cursor, null if the TokenStream is at its end or the type doesn't match.
      */
-    private Token matchAndRemove(tokenType incomingType)
+    private String matchAndRemoveValue(tokenType incomingType)
     {
-        if (!tokenList.isEmpty() && tokenList.get(0).getType() == incomingType)
+        if (!tokens.isAtEnd() && tokens.peekType(0) == incomingType)
         {
-            return tokenList.remove(0);
+            String value = tokens.peekValue(0);
+            tokens.advance();
+            return value;
         }
         else return null;
     }
@@ -989,7 +1227,7 @@ public class Parser
         if (peekAndGetType(0) != tokenType.EOL)
         {
             throw new SyntaxErrorException(
-                    "Expected EOL on line " + lineNumber + ", but found " + peek(0).getType() + ".");
+                    "Expected EOL on line " + lineNumber + ", but found " + peekAndGetType(0) + ".");
         }
         expectZeroOrMoreEOLs();
     }
@@ -1000,7 +1238,7 @@ public class Parser
      */
     private void expectZeroOrMoreEOLs()
     {
-        while (!tokenList.isEmpty() && matchAndRemove(tokenType.EOL) != null)
+        while (!tokens.isAtEnd() && matchAndRemove(tokenType.EOL))
         {
             lineNumber++;
         }
@@ -1026,18 +1264,18 @@ public class Parser
      */
     private tokenType peekAndGetType(int index)
     {
-        return peek(index).getType();
+        return tokens.peekType(index);
     }
 
     /**
-     * Returns the Token at the incoming index.
+     * Returns the Token the incoming index ahead of the cursor.
      *
      * @param index Incoming index.
-     * @return Token at index.
+     * @return Token at index, or a Token of type NONE past the end of the TokenStream.
      */
     private Token peek(int index)
     {
-        return !tokenList.isEmpty() ? tokenList.get(index) : new Token(tokenType.NONE, -1);
+        return tokens.peek(index);
     }
 
     /**
@@ -0,0 +1,638 @@
+/**
+ * Reads a ProgramNode back from a .zkic program cache written by ProgramWriter.
+ * The cache is only used if it was written by the current layout for a source with the same hash; otherwise nothing
+ * is read and the program must be compiled again. The SymbolTable is rebuilt by interning the symbol names in their
+ * original order, so every symbol stored in the cache keeps its meaning.
+ * Opening a cache maps the file and reads only its tables, so it takes as long for a large program as for a small
+ * one. Each function's record is decoded the first time its parameters, variables or statements are asked for,
+ * usually when it is first called, and every other string the first time a record refers to it. A cache that is not
+ * as long as when it was written, or whose tables point outside it, is rejected when it is opened, so a cache that was
+ * cut short is compiled again instead of failing once the program is already running.
+ */
+
+package ProgramCache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import CrossStageTools.FunctionLoader;
+import CrossStageTools.SymbolTable;
+import CrossStageTools.tokenType;
+import CrossStageTools.Nodes.*;
+import CrossStageTools.Nodes.DataTypeNodes.*;
+import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.*;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.ForNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.IfNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.RepeatNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.WhileNode;
+
+public class ProgramReader implements FunctionLoader
+{
+    private static final tokenType[] TYPES = tokenType.values();
+
+    private final ByteBuffer input;
+
+    private ProgramNode program;
+
+    private String[] strings;
+
+    private int[] recordOffsets;
+
+    private int foldedCount, propagatedCount;
+
+    /**
+     * Creates a ProgramReader over the incoming ByteBuffer.
+     *
+     * @param incomingInput Incoming ByteBuffer.
+     */
+    private ProgramReader(ByteBuffer incomingInput)
+    {
+        input = incomingInput;
+    }
+
+    /**
+     * Opens the program cache at the incoming Path, if it exists and was written for a source with the incoming hash.
+     * The file is memory mapped and only its header and tables are read; each function is read when first needed.
+     *
+     * @param cachePath Incoming Path.
+     * @param sourceHash Incoming hash of the source.
+     * @return ProgramReader holding the cached program, null if there is no usable cache at cachePath.
+     * @throws IOException If the cache cannot be read, is cut short or its tables are malformed.
+     */
+    public static ProgramReader read(Path cachePath, byte[] sourceHash) throws IOException
+    {
+        if (!Files.isRegularFile(cachePath))
+        {
+            return null;
+        }
+
+        ProgramReader reader;
+
+        try (FileChannel channel = FileChannel.open(cachePath, StandardOpenOption.READ))
+        {
+            if (channel.size() > Integer.MAX_VALUE)
+            {
+                throw new IOException("The program cache at " + cachePath + " is too large to map.");
+            }
+
+            reader = new ProgramReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+
+        try
+        {
+            return reader.readTables(sourceHash) ? reader : null;
+        }
+        catch (RuntimeException e)
+        {
+            throw new IOException("The program cache at " + cachePath + " is cut short or malformed.", e);
+        }
+    }
+
+    /**
+     * Returns the number of expressions ConstantFolder folded when the cached program was compiled.
+     *
+     * @return Number of expressions folded.
+     */
+    public int getFoldedCount()
+    {
+        return foldedCount;
+    }
+
+    /**
+     * Returns the number of constant reads ConstantFolder propagated when the cached program was compiled.
+     *
+     * @return Number of constant reads propagated.
+     */
+    public int getPropagatedCount()
+    {
+        return propagatedCount;
+    }
+
+    /**
+     * Returns the cached program, holding its user defined functions only, each still to be loaded.
+     *
+     * @return Cached ProgramNode.
+     */
+    public ProgramNode getProgram()
+    {
+        return program;
+    }
+
+    /**
+     * Reads the record of the incoming FunctionNode, one of this ProgramReader's program, and sets its parameters,
+     * variables, statements and frame size.
+     *
+     * @param function Incoming FunctionNode.
+     * @throws IOException If the record is malformed.
+     */
+    @Override
+    public void load(FunctionNode function) throws IOException
+    {
+        try
+        {
+            input.position(recordOffsets[function.getSymbol()]);
+
+            int frameSize = readNumber();
+            ArrayList<VariableNode> parameters = readVariables();
+            ArrayList<VariableNode> variables = readVariables();
+
+            function.setLoadedBody(parameters, variables, readStatements(), frameSize);
+        }
+        catch (RuntimeException e)
+        {
+            throw new IOException("The record of function " + function.getName() + " is malformed.", e);
+        }
+    }
+
+    /**
+     * Checks the header against the incoming hash and, if it matches, reads the string and function tables, interns
+     * the symbols and adds a FunctionNode waiting to be loaded for every function in the function table.
+     *
+     * @param sourceHash Incoming hash of the source.
+     * @return False if the cache was written by another layout or for another source.
+     * @throws IOException If the cache is not as long as it was written, or a table entry lies outside it.
+     */
+    private boolean readTables(byte[] sourceHash) throws IOException
+    {
+        if (input.getInt() != RecordType.MAGIC || input.getInt() != RecordType.VERSION)
+        {
+            return false;
+        }
+
+        int fileLength = input.getInt();
+
+        if (fileLength != input.limit())
+        {
+            throw new IOException("The program cache is " + input.limit() + " bytes long, but was written "
+                    + fileLength + " bytes long.");
+        }
+
+        byte[] storedHash = new byte[sourceHash.length];
+        input.get(storedHash);
+
+        if (!Arrays.equals(storedHash, sourceHash))
+        {
+            return false;
+        }
+
+        foldedCount = input.getInt();
+        propagatedCount = input.getInt();
+
+        int stringCount = input.getInt();
+        int symbolCount = input.getInt();
+        int functionCount = input.getInt();
+
+        checkBounds(RecordType.HEADER_SIZE, (long)stringCount * RecordType.STRING_ENTRY_SIZE, "string table");
+
+        int functionTable = RecordType.HEADER_SIZE + stringCount * RecordType.STRING_ENTRY_SIZE;
+
+        checkBounds(functionTable, (long)functionCount * RecordType.FUNCTION_ENTRY_SIZE, "function table");
+
+        if (symbolCount < 0 || symbolCount > stringCount)
+        {
+            throw new IOException("The program cache holds " + symbolCount + " symbols, but only " + stringCount
+                    + " strings.");
+        }
+
+        strings = new String[stringCount];
+
+        for (int i = 0; i < strings.length; i++)
+        {
+            int entry = RecordType.HEADER_SIZE + i * RecordType.STRING_ENTRY_SIZE;
+
+            checkBounds(input.getInt(entry), input.getInt(entry + 4), "string " + i);
+        }
+
+        for (int i = 0; i < functionCount; i++)
+        {
+            int entry = functionTable + i * RecordType.FUNCTION_ENTRY_SIZE;
+            int name = input.getInt(entry);
+            int symbol = input.getInt(entry + 4);
+
+            if (name < 0 || name >= strings.length || symbol < 0 || symbol >= symbolCount)
+            {
+                throw new IOException("Function " + i + " in the program cache has a malformed name or symbol.");
+            }
+
+            checkBounds(input.getInt(entry + 12), 1, "record of function " + i);
+        }
+
+        SymbolTable symbolTable = new SymbolTable();
+
+        for (int i = 0; i < symbolCount; i++)
+        {
+            symbolTable.intern(getString(i));
+        }
+
+        program = new ProgramNode(new HashMap<>(), symbolTable);
+        recordOffsets = new int[symbolCount];
+
+        for (int i = 0; i < functionCount; i++)
+        {
+            int entry = functionTable + i * RecordType.FUNCTION_ENTRY_SIZE;
+            int symbol = input.getInt(entry + 4);
+
+            recordOffsets[symbol] = input.getInt(entry + 12);
+            program.addFunction(new FunctionNode(this, getString(input.getInt(entry)), input.getInt(entry + 8),
+                                                 symbol));
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks that the incoming number of bytes from the incoming offset all lie inside the program cache.
+     *
+     * @param offset Incoming offset.
+     * @param length Incoming number of bytes.
+     * @param part Incoming name of the part of the cache checked, for the error.
+     * @throws IOException If any of the bytes lie outside the program cache.
+     */
+    private void checkBounds(long offset, long length, String part) throws IOException
+    {
+        if (offset < 0 || length < 0 || offset + length > input.limit())
+        {
+            throw new IOException("The " + part + " lies outside the program cache, which is cut short or "
+                    + "malformed.");
+        }
+    }
+
+    /**
+     * Returns the String at the incoming index in the string table, decoding it the first time it is asked for.
+     *
+     * @param index Incoming index.
+     * @return String at index.
+     */
+    private String getString(int index)
+    {
+        if (strings[index] == null)
+        {
+            int entry = RecordType.HEADER_SIZE + index * RecordType.STRING_ENTRY_SIZE;
+            byte[] bytes = new byte[input.getInt(entry + 4)];
+            ByteBuffer stringBytes = input.duplicate();
+
+            stringBytes.position(input.getInt(entry));
+            stringBytes.get(bytes);
+            strings[index] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        return strings[index];
+    }
+
+    /**
+     * Reads a count of VariableNodes, then the record of each.
+     *
+     * @return VariableNode ArrayList read.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private ArrayList<VariableNode> readVariables() throws IOException
+    {
+        int count = readNumber();
+        ArrayList<VariableNode> variables = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            String name = getString(readNumber());
+            int symbol = readNumber();
+            tokenType type = readType();
+            tokenType arrayType = readType();
+            int valueIndex = readNumber();
+            int lineNumber = readNumber();
+            int slot = readNumber();
+            boolean isChangeable = input.get() != 0;
+            boolean isRanged = input.get() != 0;
+
+            VariableNode variable = new VariableNode(name, null, lineNumber, isChangeable);
+
+            variable.setSymbol(symbol);
+            variable.setType(type);
+            variable.setArrayType(arrayType);
+            variable.setValue(valueIndex == -1 ? null : getString(valueIndex));
+            variable.setSlot(slot);
+
+            if (isRanged)
+            {
+                variable.setRangedAsTrue();
+            }
+
+            variable.setLowerRange(readNode());
+            variable.setHigherRange(readNode());
+
+            variables.add(variable);
+        }
+
+        return variables;
+    }
+
+    /**
+     * Reads a count of StatementNodes, then the record of each.
+     *
+     * @return StatementNode ArrayList read.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private ArrayList<StatementNode> readStatements() throws IOException
+    {
+        int count = readNumber();
+        ArrayList<StatementNode> statements = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            ASTNode statement = readNode();
+
+            if (!(statement instanceof StatementNode))
+            {
+                throw new IOException("Expected a statement record in the program cache.");
+            }
+
+            statements.add((StatementNode)statement);
+        }
+
+        return statements;
+    }
+
+    /**
+     * Reads the record of one ASTNode and of every node inside it.
+     *
+     * @return ASTNode read, null for a RecordType.NONE record.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private ASTNode readNode() throws IOException
+    {
+        int recordType = input.get();
+
+        if (recordType == RecordType.NONE)
+        {
+            return null;
+        }
+
+        tokenType staticType = readType();
+        int line = readNumber();
+        ASTNode node;
+
+        switch (recordType)
+        {
+            case RecordType.INTEGER            : node = new IntegerNode(readNumber(), line); break;
+            case RecordType.REAL               : node = new RealNode(input.getFloat(), line); break;
+            case RecordType.STRING             : node = new StringNode(getString(readNumber()), line); break;
+            case RecordType.CHARACTER          : node = new CharacterNode(input.getChar(), line); break;
+            case RecordType.BOOLEAN            : node = new BooleanNode(input.get() != 0, line); break;
+            case RecordType.VARIABLE_REFERENCE : node = readVariableReference(line); break;
+            case RecordType.MATH_OP            : node = readMathOp(line); break;
+            case RecordType.BOOLEAN_COMPARE    : node = readBooleanCompare(line); break;
+            case RecordType.ARGUMENT           : node = readArgument(line); break;
+            case RecordType.FUNCTION_CALL      : node = readFunctionCall(line); break;
+            case RecordType.ASSIGNMENT         : node = readAssignment(line); break;
+            case RecordType.IF                 : node = readIf(line); break;
+            case RecordType.WHILE              : node = readWhile(line); break;
+            case RecordType.REPEAT             : node = readRepeat(line); break;
+            case RecordType.FOR                : node = readFor(line); break;
+            default : throw new IOException("Unknown record type " + recordType + " in the program cache.");
+        }
+
+        node.setStaticType(staticType);
+
+        return node;
+    }
+
+    /**
+     * Reads the fields of a VariableReferenceNode record.
+     *
+     * @param line Incoming line number of the record.
+     * @return VariableReferenceNode read.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private VariableReferenceNode readVariableReference(int line) throws IOException
+    {
+        String name = getString(readNumber());
+        int symbol = readNumber();
+        int slot = readNumber();
+        ASTNode arrayExpression = readNode();
+
+        VariableReferenceNode reference = new VariableReferenceNode(arrayExpression, name, line);
+
+        reference.setSymbol(symbol);
+        reference.setSlot(slot);
+
+        return reference;
+    }
+
+    /**
+     * Reads the fields of a MathOpNode record.
+     *
+     * @param line Incoming line number of the record.
+     * @return MathOpNode read.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private MathOpNode readMathOp(int line) throws IOException
+    {
+        tokenType operation = operationTypeToTokenType(MathOpNode.operationType.values()[input.get()]);
+        ASTNode leftOperand = readNode();
+        ASTNode rightOperand = readNode();
+
+        return new MathOpNode(leftOperand, operation, rightOperand, line);
+    }
+
+    /**
+     * Reads the fields of a BooleanCompareNode record.
+     *
+     * @param line Incoming line number of the record.
+     * @return BooleanCompareNode read.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private BooleanCompareNode readBooleanCompare(int line) throws IOException
+    {
+        tokenType comparison = tokenType.valueOf(BooleanCompareNode.comparisonType.values()[input.get()].name());
+        ASTNode leftComparand = readNode();
+        ASTNode rightComparand = readNode();
+
+        return new BooleanCompareNode(leftComparand, comparison, rightComparand, line);
+    }
+
+    /**
+     * Reads the fields of an ArgumentNode record.
+     *
+     * @param line Incoming line number of the record.
+     * @return ArgumentNode read.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private ArgumentNode readArgument(int line) throws IOException
+    {
+        boolean isConstant = input.get() != 0;
+        ASTNode value = readNode();
+
+        return isConstant ? new ArgumentNode(value, line) : new ArgumentNode((VariableReferenceNode)value, line);
+    }
+
+    /**
+     * Reads the fields of a FunctionCallNode record.
+     *
+     * @param line Incoming line number of the record.
+     * @return FunctionCallNode read.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private FunctionCallNode readFunctionCall(int line) throws IOException
+    {
+        String name = getString(readNumber());
+        int symbol = readNumber();
+        int count = readNumber();
+        ArrayList<ArgumentNode> arguments = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            arguments.add((ArgumentNode)readNode());
+        }
+
+        FunctionCallNode call = new FunctionCallNode(name, arguments, line);
+
+        call.setSymbol(symbol);
+
+        return call;
+    }
+
+    /**
+     * Reads the fields of an AssignmentNode record.
+     *
+     * @param line Incoming line number of the record.
+     * @return AssignmentNode read.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private AssignmentNode readAssignment(int line) throws IOException
+    {
+        VariableReferenceNode target = (VariableReferenceNode)readNode();
+        ASTNode value = readNode();
+
+        return new AssignmentNode(target, value, line);
+    }
+
+    /**
+     * Reads the fields of an IfNode record, and of the IfNodes chained after it.
+     *
+     * @param line Incoming line number of the record.
+     * @return IfNode read.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private IfNode readIf(int line) throws IOException
+    {
+        BooleanCompareNode conditional = (BooleanCompareNode)readNode();
+        ArrayList<StatementNode> statements = readStatements();
+        IfNode next = (IfNode)readNode();
+
+        return conditional == null ? new IfNode(statements, line) : new IfNode(conditional, statements, next, line);
+    }
+
+    /**
+     * Reads the fields of a WhileNode record.
+     *
+     * @param line Incoming line number of the record.
+     * @return WhileNode read.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private WhileNode readWhile(int line) throws IOException
+    {
+        BooleanCompareNode conditional = (BooleanCompareNode)readNode();
+        ArrayList<StatementNode> statements = readStatements();
+
+        return new WhileNode(conditional, statements, line);
+    }
+
+    /**
+     * Reads the fields of a RepeatNode record.
+     *
+     * @param line Incoming line number of the record.
+     * @return RepeatNode read.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private RepeatNode readRepeat(int line) throws IOException
+    {
+        BooleanCompareNode conditional = (BooleanCompareNode)readNode();
+        ArrayList<StatementNode> statements = readStatements();
+
+        return new RepeatNode(conditional, statements, line);
+    }
+
+    /**
+     * Reads the fields of a ForNode record.
+     *
+     * @param line Incoming line number of the record.
+     * @return ForNode read.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private ForNode readFor(int line) throws IOException
+    {
+        VariableReferenceNode iterator = (VariableReferenceNode)readNode();
+        ASTNode from = readNode();
+        ASTNode to = readNode();
+        ArrayList<StatementNode> statements = readStatements();
+
+        return new ForNode(iterator, from, to, statements, line);
+    }
+
+    /**
+     * Reads an int written by ProgramWriter seven bits at a time and zigzag encoded.
+     *
+     * @return int read.
+     * @throws IOException If the int runs over five bytes.
+     */
+    private int readNumber() throws IOException
+    {
+        int encoded = 0;
+
+        for (int shift = 0; shift < 35; shift += 7)
+        {
+            byte current = input.get();
+            encoded |= (current & 0x7F) << shift;
+
+            if (current >= 0)
+            {
+                return (encoded >>> 1) ^ -(encoded & 1);
+            }
+        }
+
+        throw new IOException("Malformed number in the program cache.");
+    }
+
+    /**
+     * Reads a tokenType stored as its ordinal plus one.
+     *
+     * @return tokenType read, null for 0.
+     * @throws IOException If the cache cannot be read or is malformed.
+     */
+    private tokenType readType() throws IOException
+    {
+        int type = input.get() & 0xFF;
+
+        if (type > TYPES.length)
+        {
+            throw new IOException("Unknown type " + type + " in the program cache.");
+        }
+
+        return type == 0 ? null : TYPES[type - 1];
+    }
+
+    /**
+     * Translates the incoming operationType back to the tokenType MathOpNode translates into it.
+     *
+     * @param opType Incoming operationType.
+     * @return Equivalent tokenType.
+     */
+    private static tokenType operationTypeToTokenType(MathOpNode.operationType opType)
+    {
+        switch (opType)
+        {
+            case ADD  : return tokenType.ADD;
+            case SUB  : return tokenType.MINUS;
+            case MULT : return tokenType.MULT;
+            case DIV  : return tokenType.DIV;
+            default   : return tokenType.MOD;
+        }
+    }
+}
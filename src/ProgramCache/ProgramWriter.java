@@ -0,0 +1,490 @@
+/**
+ * Writes a checked ProgramNode to a .zkic program cache, so later runs of the same source can load it with
+ * ProgramReader instead of lexing, parsing, resolving, folding and type checking it again.
+ * A .zkic file holds, in order: a header of RecordType.MAGIC, RecordType.VERSION, the length of the whole file, the
+ * SHA-256 hash of the source, the folding statistics and the number of strings, symbols and functions; a string table
+ * giving the offset and length of every string, whose first entries are the SymbolTable in symbol order; a function
+ * table giving the name, symbol, line and record offset of every user defined function; the strings' UTF-8 bytes;
+ * then one record per function, made of node records that refer to strings by their index in the string table.
+ * Both tables have fixed size entries, so ProgramReader can find any one string or function without reading the
+ * rest, and the stored length lets it tell a file that was cut short. Every slot, symbol, frame size and static type
+ * found by the earlier stages is kept.
+ */
+
+package ProgramCache;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import CrossStageTools.SymbolTable;
+import CrossStageTools.tokenType;
+import CrossStageTools.Nodes.*;
+import CrossStageTools.Nodes.DataTypeNodes.*;
+import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.*;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.ForNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.IfNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.RepeatNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.WhileNode;
+import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
+
+public class ProgramWriter
+{
+    private final ProgramNode program;
+
+    private final byte[] sourceHash;
+
+    private final int foldedCount, propagatedCount;
+
+    private final ArrayList<String> strings;
+
+    private final HashMap<String, Integer> stringIndices;
+
+    private DataOutputStream records;
+
+    /**
+     * Creates a ProgramWriter for the incoming ProgramNode, which must already be resolved, folded and type checked,
+     * the incoming hash of its source and the incoming folding statistics.
+     *
+     * @param checkedProgram Incoming ProgramNode.
+     * @param incomingSourceHash Incoming hash of the source.
+     * @param incomingFoldedCount Incoming number of expressions folded.
+     * @param incomingPropagatedCount Incoming number of constant reads propagated.
+     */
+    public ProgramWriter(ProgramNode checkedProgram, byte[] incomingSourceHash, int incomingFoldedCount,
+                         int incomingPropagatedCount)
+    {
+        program = checkedProgram;
+        sourceHash = incomingSourceHash;
+        foldedCount = incomingFoldedCount;
+        propagatedCount = incomingPropagatedCount;
+
+        strings = new ArrayList<>();
+        stringIndices = new HashMap<>();
+    }
+
+    /**
+     * Returns the Path of the .zkic program cache kept next to the source at the incoming Path.
+     *
+     * @param sourcePath Incoming Path.
+     * @return Path of sourcePath's program cache.
+     */
+    public static Path getCachePath(Path sourcePath)
+    {
+        String fileName = sourcePath.getFileName().toString();
+        int extension = fileName.lastIndexOf(".zki");
+
+        return sourcePath.resolveSibling((extension == -1 ? fileName : fileName.substring(0, extension)) + ".zkic");
+    }
+
+    /**
+     * Returns the SHA-256 hash of the contents of the file at the incoming Path, which is memory mapped to be read.
+     *
+     * @param sourcePath Incoming Path.
+     * @return Hash of the file at sourcePath.
+     * @throws IOException If the file cannot be read.
+     */
+    public static byte[] hashSource(Path sourcePath) throws IOException
+    {
+        MessageDigest digest;
+
+        try
+        {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("Every Java platform supports SHA-256.", e);
+        }
+
+        try (FileChannel channel = FileChannel.open(sourcePath, StandardOpenOption.READ))
+        {
+            for (long position = 0; position < channel.size(); position += Integer.MAX_VALUE)
+            {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                                                      Math.min(Integer.MAX_VALUE, channel.size() - position));
+                digest.update(buffer);
+            }
+        }
+
+        return digest.digest();
+    }
+
+    /**
+     * Writes the ProgramNode to the first incoming Path, the cache of the source at the second incoming Path. The file
+     * is written beside it first and then moved into place, so a run reading the cache at the same time never sees
+     * half of it. The cache holds the source's string literals, so on a file system with POSIX permissions it is given
+     * the permissions of the source before it is moved, and can be read by exactly those who can read the source.
+     *
+     * @param cachePath First incoming Path.
+     * @param sourcePath Second incoming Path.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(Path cachePath, Path sourcePath) throws IOException
+    {
+        SymbolTable symbolTable = program.getSymbolTable();
+
+        for (int i = 0; i < symbolTable.size(); i++)
+        {
+            getStringIndex(symbolTable.getName(i));
+        }
+
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        records = new DataOutputStream(recordBytes);
+
+        FunctionNode[] functions = new FunctionNode[program.getFunctionMap().size()];
+        program.getFunctionMap().values().toArray(functions);
+
+        ArrayList<FunctionNode> userFunctions = new ArrayList<>();
+        ArrayList<Integer> recordOffsets = new ArrayList<>();
+
+        for (int i = 0; i < functions.length; i++)
+        {
+            if (!(functions[i] instanceof BuiltInFunctionNode))
+            {
+                userFunctions.add(functions[i]);
+                recordOffsets.add(records.size());
+                getStringIndex(functions[i].getName());
+                writeFunction(functions[i]);
+            }
+        }
+        records.flush();
+
+        byte[][] stringBytes = new byte[strings.size()][];
+        int stringsStart = RecordType.HEADER_SIZE + strings.size() * RecordType.STRING_ENTRY_SIZE
+                + userFunctions.size() * RecordType.FUNCTION_ENTRY_SIZE;
+        int recordsStart = stringsStart;
+
+        for (int i = 0; i < stringBytes.length; i++)
+        {
+            stringBytes[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            recordsStart += stringBytes[i].length;
+        }
+
+        Path temporaryPath = Files.createTempFile(cachePath.toAbsolutePath().getParent(), "kakuzaki", ".zkic");
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temporaryPath))))
+        {
+            output.writeInt(RecordType.MAGIC);
+            output.writeInt(RecordType.VERSION);
+            output.writeInt(recordsStart + recordBytes.size());
+            output.write(sourceHash);
+            output.writeInt(foldedCount);
+            output.writeInt(propagatedCount);
+            output.writeInt(strings.size());
+            output.writeInt(symbolTable.size());
+            output.writeInt(userFunctions.size());
+
+            int stringOffset = stringsStart;
+
+            for (int i = 0; i < stringBytes.length; i++)
+            {
+                output.writeInt(stringOffset);
+                output.writeInt(stringBytes[i].length);
+                stringOffset += stringBytes[i].length;
+            }
+
+            for (int i = 0; i < userFunctions.size(); i++)
+            {
+                output.writeInt(getStringIndex(userFunctions.get(i).getName()));
+                output.writeInt(userFunctions.get(i).getSymbol());
+                output.writeInt(userFunctions.get(i).getLineNumber());
+                output.writeInt(recordsStart + recordOffsets.get(i));
+            }
+
+            for (int i = 0; i < stringBytes.length; i++)
+            {
+                output.write(stringBytes[i]);
+            }
+
+            recordBytes.writeTo(output);
+        }
+
+        try
+        {
+            if (Files.getFileStore(temporaryPath).supportsFileAttributeView(PosixFileAttributeView.class)
+                    && Files.getFileStore(sourcePath).supportsFileAttributeView(PosixFileAttributeView.class))
+            {
+                Files.setPosixFilePermissions(temporaryPath, Files.getPosixFilePermissions(sourcePath));
+            }
+
+            Files.move(temporaryPath, cachePath, StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Writes the record of the incoming FunctionNode: its frame size, then its parameters, its variables and
+     * constants and its statements. Its name, symbol and line are kept in the function table instead.
+     *
+     * @param function Incoming FunctionNode.
+     * @throws IOException If writing fails.
+     */
+    private void writeFunction(FunctionNode function) throws IOException
+    {
+        writeNumber(function.getFrameSize());
+
+        writeVariables(function.getParameterList());
+        writeVariables(function.getVariableList());
+        writeStatements(function.getStatementList());
+    }
+
+    /**
+     * Writes the number of VariableNodes in the incoming ArrayList, then the record of each.
+     *
+     * @param variables Incoming VariableNode ArrayList.
+     * @throws IOException If writing fails.
+     */
+    private void writeVariables(ArrayList<VariableNode> variables) throws IOException
+    {
+        writeNumber(variables.size());
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            VariableNode variable = variables.get(i);
+
+            writeNumber(getStringIndex(variable.getName()));
+            writeNumber(variable.getSymbol());
+            writeType(variable.getType());
+            writeType(variable.getArrayType());
+            writeNumber(variable.getValue() == null ? -1 : getStringIndex(variable.getValue()));
+            writeNumber(variable.getLineNumber());
+            writeNumber(variable.getSlot());
+            records.writeBoolean(variable.isChangeable());
+            records.writeBoolean(variable.isRanged());
+            writeNode(variable.getLowerRange());
+            writeNode(variable.getHigherRange());
+        }
+    }
+
+    /**
+     * Writes the number of StatementNodes in the incoming ArrayList, then the record of each.
+     *
+     * @param statements Incoming StatementNode ArrayList.
+     * @throws IOException If writing fails.
+     */
+    private void writeStatements(ArrayList<StatementNode> statements) throws IOException
+    {
+        writeNumber(statements.size());
+
+        for (int i = 0; i < statements.size(); i++)
+        {
+            writeNode(statements.get(i));
+        }
+    }
+
+    /**
+     * Writes the record of the incoming ASTNode and of every node inside it, or a RecordType.NONE record if it is
+     * null.
+     *
+     * @param node Incoming ASTNode.
+     * @throws IOException If writing fails.
+     * @throws IllegalArgumentException If node is of a kind the Parser never creates.
+     */
+    private void writeNode(ASTNode node) throws IOException
+    {
+        if (node == null)
+        {
+            records.writeByte(RecordType.NONE);
+            return;
+        }
+
+        records.writeByte(getRecordType(node));
+        writeType(node.getStaticType());
+        writeNumber(node.getLineNumber());
+
+        if (node instanceof IntegerNode)
+        {
+            writeNumber(((IntegerNode)node).getData());
+        }
+        else if (node instanceof RealNode)
+        {
+            records.writeFloat(((RealNode)node).getData());
+        }
+        else if (node instanceof StringNode)
+        {
+            writeNumber(getStringIndex(((StringNode)node).getData()));
+        }
+        else if (node instanceof CharacterNode)
+        {
+            records.writeChar(((CharacterNode)node).getData());
+        }
+        else if (node instanceof BooleanNode)
+        {
+            records.writeBoolean(((BooleanNode)node).getData());
+        }
+        else if (node instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)node;
+
+            writeNumber(getStringIndex(reference.getName()));
+            writeNumber(reference.getSymbol());
+            writeNumber(reference.getSlot());
+            writeNode(reference.getArrayExpression());
+        }
+        else if (node instanceof MathOpNode)
+        {
+            MathOpNode mathOp = (MathOpNode)node;
+
+            records.writeByte(mathOp.getOpType().ordinal());
+            writeNode(mathOp.getLeftOperand());
+            writeNode(mathOp.getRightOperand());
+        }
+        else if (node instanceof BooleanCompareNode)
+        {
+            BooleanCompareNode comparison = (BooleanCompareNode)node;
+
+            records.writeByte(comparison.getCompType().ordinal());
+            writeNode(comparison.getLeftComparand());
+            writeNode(comparison.getRightComparand());
+        }
+        else if (node instanceof ArgumentNode)
+        {
+            ArgumentNode argument = (ArgumentNode)node;
+
+            records.writeBoolean(argument.isConstant());
+            writeNode(argument.isConstant() ? argument.getConstant() : argument.getVariableReference());
+        }
+        else if (node instanceof FunctionCallNode)
+        {
+            FunctionCallNode call = (FunctionCallNode)node;
+
+            writeNumber(getStringIndex(call.getName()));
+            writeNumber(call.getSymbol());
+            writeNumber(call.getNumberOfArguments());
+
+            for (int i = 0; i < call.getNumberOfArguments(); i++)
+            {
+                writeNode(call.getArguments().get(i));
+            }
+        }
+        else if (node instanceof AssignmentNode)
+        {
+            writeNode(((AssignmentNode)node).getTarget());
+            writeNode(((AssignmentNode)node).getValue());
+        }
+        else if (node instanceof IfNode)
+        {
+            writeNode(((IfNode)node).getConditional());
+            writeStatements(((IfNode)node).getStatements());
+            writeNode(((IfNode)node).getNext());
+        }
+        else if (node instanceof WhileNode)
+        {
+            writeNode(((WhileNode)node).getConditional());
+            writeStatements(((WhileNode)node).getStatements());
+        }
+        else if (node instanceof RepeatNode)
+        {
+            writeNode(((RepeatNode)node).getConditional());
+            writeStatements(((RepeatNode)node).getStatements());
+        }
+        else
+        {
+            ForNode forBlock = (ForNode)node;
+
+            writeNode(forBlock.getIterator());
+            writeNode(forBlock.getFromNode());
+            writeNode(forBlock.getToNode());
+            writeStatements(forBlock.getStatements());
+        }
+    }
+
+    /**
+     * Returns the RecordType of the incoming ASTNode.
+     *
+     * @param node Incoming ASTNode.
+     * @return RecordType of node.
+     * @throws IllegalArgumentException If node is of a kind the Parser never creates.
+     */
+    private static int getRecordType(ASTNode node)
+    {
+        if (node instanceof IntegerNode)           return RecordType.INTEGER;
+        if (node instanceof RealNode)              return RecordType.REAL;
+        if (node instanceof StringNode)            return RecordType.STRING;
+        if (node instanceof CharacterNode)         return RecordType.CHARACTER;
+        if (node instanceof BooleanNode)           return RecordType.BOOLEAN;
+        if (node instanceof VariableReferenceNode) return RecordType.VARIABLE_REFERENCE;
+        if (node instanceof MathOpNode)            return RecordType.MATH_OP;
+        if (node instanceof BooleanCompareNode)    return RecordType.BOOLEAN_COMPARE;
+        if (node instanceof ArgumentNode)          return RecordType.ARGUMENT;
+        if (node instanceof FunctionCallNode)      return RecordType.FUNCTION_CALL;
+        if (node instanceof AssignmentNode)        return RecordType.ASSIGNMENT;
+        if (node instanceof IfNode)                return RecordType.IF;
+        if (node instanceof WhileNode)             return RecordType.WHILE;
+        if (node instanceof RepeatNode)            return RecordType.REPEAT;
+        if (node instanceof ForNode)               return RecordType.FOR;
+
+        throw new IllegalArgumentException("A " + node.getClass().getSimpleName() + " cannot be cached.");
+    }
+
+    /**
+     * Writes the incoming int in as few bytes as its magnitude needs: it is zigzag encoded so small negative numbers
+     * stay small, then written seven bits at a time, lowest first, with the high bit of each byte set if more follow.
+     *
+     * @param number Incoming int.
+     * @throws IOException If writing fails.
+     */
+    private void writeNumber(int number) throws IOException
+    {
+        int encoded = (number << 1) ^ (number >> 31);
+
+        while ((encoded & ~0x7F) != 0)
+        {
+            records.writeByte((encoded & 0x7F) | 0x80);
+            encoded >>>= 7;
+        }
+
+        records.writeByte(encoded);
+    }
+
+    /**
+     * Writes the incoming tokenType as its ordinal plus one, or 0 if it is null.
+     *
+     * @param type Incoming tokenType.
+     * @throws IOException If writing fails.
+     */
+    private void writeType(tokenType type) throws IOException
+    {
+        records.writeByte(type == null ? 0 : type.ordinal() + 1);
+    }
+
+    /**
+     * Returns the index of the incoming String in the string table, adding it if it is not there yet.
+     *
+     * @param string Incoming String.
+     * @return Index of string in the string table.
+     */
+    private int getStringIndex(String string)
+    {
+        Integer index = stringIndices.get(string);
+
+        if (index == null)
+        {
+            index = strings.size();
+            strings.add(string);
+            stringIndices.put(string, index);
+        }
+
+        return index;
+    }
+}
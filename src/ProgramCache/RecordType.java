@@ -0,0 +1,47 @@
+/**
+ * Lists the kinds of node record in a .zkic program cache, and the constants of its header and tables.
+ * Every node record starts with one byte holding its kind, followed by one byte holding its static type's
+ * ordinal plus one, 0 if it has none, its line number, then the fields of that kind of node.
+ * The ints inside records take one to five bytes, by magnitude, while those of the header and tables take four.
+ */
+
+package ProgramCache;
+
+public final class RecordType
+{
+    /** Starts every .zkic file: "ZKIC" in ASCII. */
+    public static final int MAGIC = 0x5A4B4943;
+    /** Changes whenever the layout of a .zkic file changes, so caches written by another layout are ignored. */
+    public static final int VERSION = 3;
+
+    /** Size in bytes of the header: magic, version, file length, 32 byte hash, folding statistics and table sizes. */
+    public static final int HEADER_SIZE = 4 + 4 + 4 + 32 + 4 + 4 + 4 + 4 + 4;
+    /** Size in bytes of one string table entry: offset and length. */
+    public static final int STRING_ENTRY_SIZE = 8;
+    /** Size in bytes of one function table entry: name, symbol, line and record offset. */
+    public static final int FUNCTION_ENTRY_SIZE = 16;
+
+    /** Stands for a node that is not there, such as the conditional of an else. */
+    public static final int NONE = 0;
+
+    public static final int INTEGER = 1;
+    public static final int REAL = 2;
+    public static final int STRING = 3;
+    public static final int CHARACTER = 4;
+    public static final int BOOLEAN = 5;
+
+    public static final int VARIABLE_REFERENCE = 6;
+    public static final int MATH_OP = 7;
+    public static final int BOOLEAN_COMPARE = 8;
+    public static final int ARGUMENT = 9;
+
+    public static final int FUNCTION_CALL = 10;
+    public static final int ASSIGNMENT = 11;
+    public static final int IF = 12;
+    public static final int WHILE = 13;
+    public static final int REPEAT = 14;
+    public static final int FOR = 15;
+
+    private RecordType()
+    {}
+}
@@ -0,0 +1,1023 @@
+/**
+ * Compiles a resolved FunctionNode into a RegisterFunction for RegisterMachine.
+ * As in BytecodeCompiler, every slot the Resolver assigned keeps the type it was declared with, so each expression's
+ * type is known while compiling and every instruction works on unboxed values. Here each slot is a register, and an
+ * expression reads its variables and literals straight from their registers and writes its result into a temporary,
+ * or into the variable it is assigned to, so x := y + 1 is a single INTEGER_ADD where the stack needs four
+ * instructions. Temporaries are freed after each statement, except for those a for loop keeps while it runs.
+ * An expression or assignment whose types do not fit compiles to a FAIL instruction carrying the error Interpreter
+ * would raise, so it only fails if it is reached.
+ */
+
+package RegisterMachine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import CrossStageTools.Nodes.*;
+import CrossStageTools.Nodes.DataTypeNodes.*;
+import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.*;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.ForNode;
+import CrossStageTools.tokenType;
+import Exceptions.SyntaxErrorException;
+import Exceptions.UnchangeableVariableException;
+import VirtualMachine.BytecodeCompiler;
+import VirtualMachine.CallSite;
+import VirtualMachine.ControlFlowCompiler;
+
+public class RegisterCompiler extends ControlFlowCompiler
+{
+    /** Returned in place of a register when a FAIL instruction was compiled instead of an expression. */
+    private static final int NO_REGISTER = Integer.MIN_VALUE;
+
+    private int lastInstruction;
+
+    private ArrayList<Object> constants, literals;
+
+    private HashMap<Object, Integer> literalIndices;
+
+    private tokenType[] slotTypes, slotArrayTypes, temporaryTypes;
+
+    private boolean[] isConstantSlot;
+
+    private int frameSize, nextTemporary, registerCount;
+
+    /**
+     * Compiles the incoming FunctionNode, which must already be resolved.
+     * Literals are given registers numbered -1, -2 and so on while compiling, since they are placed after the
+     * temporaries, whose number is only known once the whole function is compiled.
+     *
+     * @param function Incoming FunctionNode.
+     * @return RegisterFunction compiled from function.
+     */
+    public RegisterFunction compile(FunctionNode function)
+    {
+        startCode();
+        lastInstruction = -1;
+        constants = new ArrayList<>();
+        literals = new ArrayList<>();
+        literalIndices = new HashMap<>();
+        frameSize = function.getFrameSize();
+        nextTemporary = frameSize;
+        registerCount = frameSize;
+        temporaryTypes = new tokenType[16];
+
+        ArrayList<VariableNode> parameters = function.getParameterList();
+        ArrayList<VariableNode> variables = function.getVariableList();
+
+        slotTypes = new tokenType[frameSize];
+        slotArrayTypes = new tokenType[frameSize];
+        isConstantSlot = new boolean[frameSize];
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            slotTypes[variables.get(i).getSlot()] = variables.get(i).getType();
+            slotArrayTypes[variables.get(i).getSlot()] = variables.get(i).getArrayType();
+            isConstantSlot[variables.get(i).getSlot()] = !variables.get(i).isChangeable();
+        }
+
+        int[] parameterSlots = new int[parameters.size()];
+        tokenType[] parameterTypes = new tokenType[parameters.size()];
+
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            parameterSlots[i] = parameters.get(i).getSlot();
+            parameterTypes[i] = parameters.get(i).getType();
+            slotTypes[parameterSlots[i]] = parameterTypes[i];
+            slotArrayTypes[parameterSlots[i]] = parameters.get(i).getArrayType();
+            isConstantSlot[parameterSlots[i]] = false;
+        }
+
+        compileStatements(function.getStatementList());
+        emit(RegisterOpCode.RETURN, function.getLineNumber());
+
+        int[] finalCode = copyCode();
+        int[] finalLineNumbers = copyLineNumbers();
+
+        for (int i = 0; i < finalCode.length; i += 1 + RegisterOpCode.getOperandCount(finalCode[i]))
+        {
+            for (int j = 1; j <= RegisterOpCode.getOperandCount(finalCode[i]); j++)
+            {
+                if (finalCode[i + j] < 0)
+                {
+                    finalCode[i + j] = registerCount - finalCode[i + j] - 1;
+                }
+            }
+        }
+
+        int[] initialRegisters = new int[registerCount + literals.size()];
+        Object[] initialReferenceRegisters = new Object[registerCount + literals.size()];
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            VariableNode variable = variables.get(i);
+
+            if (BytecodeCompiler.isReference(variable.getType()))
+            {
+                initialReferenceRegisters[variable.getSlot()] = BytecodeCompiler.makeInitialReference(variable);
+            }
+            else initialRegisters[variable.getSlot()] = BytecodeCompiler.makeInitialValue(variable);
+        }
+
+        for (int i = 0; i < literals.size(); i++)
+        {
+            Object literal = literals.get(i);
+
+            if (literal instanceof String)
+            {
+                initialReferenceRegisters[registerCount + i] = literal;
+            }
+            else initialRegisters[registerCount + i] = makeLiteralValue(literal);
+        }
+
+        return new RegisterFunction(function, finalCode, finalLineNumbers, constants.toArray(), initialRegisters,
+                                    initialReferenceRegisters, parameterSlots, parameterTypes);
+    }
+
+    /**
+     * Returns the int the incoming literal is stored as in an int register.
+     *
+     * @param literal Incoming Integer, Float, Character or Boolean.
+     * @return Int holding literal.
+     */
+    private static int makeLiteralValue(Object literal)
+    {
+        if (literal instanceof Integer)
+        {
+            return (Integer)literal;
+        }
+        else if (literal instanceof Float)
+        {
+            return Float.floatToRawIntBits((Float)literal);
+        }
+        else if (literal instanceof Character)
+        {
+            return (Character)literal;
+        }
+        else return (Boolean)literal ? 1 : 0;
+    }
+
+    /**
+     * Returns the type of the value held in the incoming register.
+     *
+     * @param register Incoming register.
+     * @return Type held in register.
+     */
+    private tokenType getRegisterType(int register)
+    {
+        if (register < 0)
+        {
+            return getLiteralType(literals.get(-register - 1));
+        }
+        else if (register < frameSize)
+        {
+            return slotTypes[register];
+        }
+        else return temporaryTypes[register - frameSize];
+    }
+
+    /**
+     * Returns the type of the incoming literal.
+     *
+     * @param literal Incoming Integer, Float, Character, Boolean or String.
+     * @return Type of literal.
+     */
+    private static tokenType getLiteralType(Object literal)
+    {
+        if (literal instanceof Integer)
+        {
+            return tokenType.INTEGER;
+        }
+        else if (literal instanceof Float)
+        {
+            return tokenType.REAL;
+        }
+        else if (literal instanceof Character)
+        {
+            return tokenType.CHARACTER;
+        }
+        else if (literal instanceof Boolean)
+        {
+            return tokenType.BOOLEAN;
+        }
+        else return tokenType.STRING;
+    }
+
+    /**
+     * Returns the register holding the incoming literal, adding one if no earlier literal has the same value.
+     *
+     * @param literal Incoming Integer, Float, Character, Boolean or String.
+     * @return Register of literal.
+     */
+    private int addLiteral(Object literal)
+    {
+        Integer index = literalIndices.get(literal);
+
+        if (index == null)
+        {
+            index = literals.size();
+            literals.add(literal);
+            literalIndices.put(literal, index);
+        }
+
+        return -index - 1;
+    }
+
+    /**
+     * Returns a free temporary register that holds the incoming tokenType until the statement compiling ends.
+     *
+     * @param type Incoming tokenType.
+     * @return Temporary register.
+     */
+    private int allocateTemporary(tokenType type)
+    {
+        int register = nextTemporary++;
+
+        if (register - frameSize == temporaryTypes.length)
+        {
+            tokenType[] grownTypes = new tokenType[temporaryTypes.length * 2];
+
+            System.arraycopy(temporaryTypes, 0, grownTypes, 0, temporaryTypes.length);
+            temporaryTypes = grownTypes;
+        }
+
+        temporaryTypes[register - frameSize] = type;
+        registerCount = Math.max(registerCount, nextTemporary);
+
+        return register;
+    }
+
+    /**
+     * Compiles each StatementNode in the incoming ArrayList, freeing the temporaries each one used.
+     *
+     * @param statements Incoming StatementNode ArrayList.
+     */
+    @Override
+    protected void compileStatements(ArrayList<StatementNode> statements)
+    {
+        for (int i = 0; i < statements.size(); i++)
+        {
+            int mark = nextTemporary;
+
+            compileStatement(statements.get(i));
+
+            nextTemporary = mark;
+        }
+    }
+
+    /**
+     * Compiles the incoming ForNode. Like the Interpreter, the number of iterations is fixed when the loop starts,
+     * so the bound is kept in a temporary of its own unless it is a literal, and if the loop's statements can assign
+     * to the iterator, the loop counts in a temporary as well. Each iteration then ends in an INCREMENT and a single
+     * JUMP_IF_INTEGER_LETO comparing two registers.
+     *
+     * @param forBlock Incoming ForNode.
+     */
+    @Override
+    protected void compileFor(ForNode forBlock)
+    {
+        int line = forBlock.getLineNumber();
+        int iteratorSlot = forBlock.getIterator().getSlot();
+
+        if (slotTypes[iteratorSlot] == null)
+        {
+            slotTypes[iteratorSlot] = tokenType.INTEGER;
+        }
+
+        int start = getCodeLength(), mark = nextTemporary;
+        int from = compileExpression(forBlock.getFromNode());
+
+        if (from == NO_REGISTER)
+        {
+            return;
+        }
+        if (slotTypes[iteratorSlot] != tokenType.INTEGER || getRegisterType(from) != tokenType.INTEGER)
+        {
+            emitFail(new SyntaxErrorException("The for loop on line " + line + " must count with integers."), line);
+            return;
+        }
+
+        moveInto(iteratorSlot, from, tokenType.INTEGER, start, line);
+        nextTemporary = mark;
+
+        boolean isCounted = isSlotAssigned(forBlock.getStatements(), iteratorSlot);
+        int counter = isCounted ? allocateTemporary(tokenType.INTEGER) : iteratorSlot;
+
+        if (isCounted)
+        {
+            emit(RegisterOpCode.MOVE, counter, iteratorSlot, line);
+        }
+
+        start = getCodeLength();
+        mark = nextTemporary;
+
+        int to = compileExpression(forBlock.getToNode());
+
+        if (to == NO_REGISTER)
+        {
+            return;
+        }
+        if (getRegisterType(to) != tokenType.INTEGER)
+        {
+            emitFail(new SyntaxErrorException("The for loop on line " + line + " must count with integers."), line);
+            return;
+        }
+
+        nextTemporary = mark;
+
+        int bound = to;
+
+        if (to >= 0)
+        {
+            bound = allocateTemporary(tokenType.INTEGER);
+            moveInto(bound, to, tokenType.INTEGER, start, line);
+        }
+
+        int entryJump = emitJump(RegisterOpCode.JUMP, line);
+        int bodyStart = getCodeLength();
+
+        compileStatements(forBlock.getStatements());
+
+        emit(RegisterOpCode.INCREMENT, iteratorSlot, line);
+
+        if (isCounted)
+        {
+            emit(RegisterOpCode.INCREMENT, counter, line);
+        }
+
+        patchJump(entryJump);
+        emit(RegisterOpCode.JUMP_IF_INTEGER_LETO, counter, bound, bodyStart, line);
+    }
+
+    /**
+     * Compiles the incoming AssignmentNode.
+     *
+     * @param assignment Incoming AssignmentNode.
+     */
+    @Override
+    protected void compileAssignment(AssignmentNode assignment)
+    {
+        VariableReferenceNode target = assignment.getTarget();
+        int slot = target.getSlot();
+        int line = assignment.getLineNumber();
+
+        if (isConstantSlot[slot])
+        {
+            emitFail(new UnchangeableVariableException(target.getName(), line), line);
+            return;
+        }
+        if (target.getArrayExpression() != null)
+        {
+            compileElementAssignment(target, assignment.getValue(), line);
+            return;
+        }
+
+        int start = getCodeLength();
+        int value = compileExpression(assignment.getValue());
+
+        if (value == NO_REGISTER)
+        {
+            return;
+        }
+
+        tokenType valueType = getRegisterType(value);
+
+        if (valueType != slotTypes[slot])
+        {
+            emitFail(new SyntaxErrorException("Variable " + target.getName() + " on line " + line + " holds a "
+                    + slotTypes[slot] + " and cannot be assigned a " + valueType + "."), line);
+            return;
+        }
+
+        moveInto(slot, value, valueType, start, line);
+    }
+
+    /**
+     * Makes the incoming target register hold the value of the incoming source register of the incoming tokenType.
+     * If the source is a temporary written by the last instruction compiled since the incoming code index, that
+     * instruction is made to write into the target instead, otherwise a move is appended.
+     *
+     * @param target Incoming target register.
+     * @param source Incoming source register.
+     * @param type Incoming tokenType.
+     * @param start Incoming code index the source's instructions start at.
+     * @param line Incoming line number.
+     */
+    private void moveInto(int target, int source, tokenType type, int start, int line)
+    {
+        if (target == source)
+        {
+            return;
+        }
+        if (source >= frameSize && lastInstruction >= start
+                && RegisterOpCode.isWritingFirstOperand(getCode(lastInstruction))
+                && getCode(lastInstruction + 1) == source)
+        {
+            setCode(lastInstruction + 1, target);
+        }
+        else emit(BytecodeCompiler.isReference(type) ? RegisterOpCode.REFERENCE_MOVE : RegisterOpCode.MOVE, target,
+                  source, line);
+    }
+
+    /**
+     * Compiles the assignment of the incoming value ASTNode into the element of an array the incoming
+     * VariableReferenceNode indexes, from the incoming line.
+     *
+     * @param target Incoming VariableReferenceNode.
+     * @param value Incoming ASTNode.
+     * @param line Incoming line number.
+     */
+    private void compileElementAssignment(VariableReferenceNode target, ASTNode value, int line)
+    {
+        int start = getCodeLength(), mark = nextTemporary;
+
+        try
+        {
+            int index = emitIndex(target);
+            int valueRegister = emitExpression(value);
+            tokenType elementType = slotArrayTypes[target.getSlot()];
+            tokenType valueType = getRegisterType(valueRegister);
+
+            if (valueType != elementType)
+            {
+                throw new SyntaxErrorException("Variable " + target.getName() + " on line " + line + " holds a "
+                        + elementType + " and cannot be assigned a " + valueType + ".");
+            }
+
+            emit(getArrayInstruction(elementType, false), target.getSlot(), index, valueRegister, line);
+        }
+        catch (SyntaxErrorException e)
+        {
+            rewind(start);
+            nextTemporary = mark;
+            emitFail(e, line);
+        }
+    }
+
+    /**
+     * Appends the instructions computing the index the incoming VariableReferenceNode reads from its array.
+     *
+     * @param reference Incoming VariableReferenceNode.
+     * @return Register holding the index.
+     * @throws SyntaxErrorException If reference is not an array, or is not indexed with an integer.
+     */
+    private int emitIndex(VariableReferenceNode reference) throws SyntaxErrorException
+    {
+        int line = reference.getLineNumber();
+
+        if (slotTypes[reference.getSlot()] != tokenType.ARRAY)
+        {
+            throw new SyntaxErrorException("Variable " + reference.getName() + " on line " + line
+                    + " is not an array, but is indexed.");
+        }
+
+        int index = emitExpression(reference.getArrayExpression());
+
+        if (getRegisterType(index) != tokenType.INTEGER)
+        {
+            throw new SyntaxErrorException("Array " + reference.getName() + " on line " + line
+                    + " must be indexed with an integer.");
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the instruction loading or storing, according to the incoming boolean, an element of an array whose
+     * elements are of the incoming tokenType.
+     *
+     * @param elementType Incoming tokenType.
+     * @param isLoad Incoming boolean.
+     * @return Instruction loading or storing an element.
+     */
+    private static int getArrayInstruction(tokenType elementType, boolean isLoad)
+    {
+        switch (elementType)
+        {
+            case REAL      : return isLoad ? RegisterOpCode.REAL_ARRAY_LOAD : RegisterOpCode.REAL_ARRAY_STORE;
+            case CHARACTER : return isLoad ? RegisterOpCode.CHARACTER_ARRAY_LOAD : RegisterOpCode.CHARACTER_ARRAY_STORE;
+            case BOOLEAN   : return isLoad ? RegisterOpCode.BOOLEAN_ARRAY_LOAD : RegisterOpCode.BOOLEAN_ARRAY_STORE;
+            case STRING    : return isLoad ? RegisterOpCode.STRING_ARRAY_LOAD : RegisterOpCode.STRING_ARRAY_STORE;
+            default        : return isLoad ? RegisterOpCode.INTEGER_ARRAY_LOAD : RegisterOpCode.INTEGER_ARRAY_STORE;
+        }
+    }
+
+    /**
+     * Compiles the incoming FunctionCallNode. The arguments are placed in consecutive temporaries, which the
+     * RegisterMachine copies into the called function's parameter registers, and the slot of each var argument is
+     * recorded in the CallSite so the parameter can be copied back into it after the call.
+     *
+     * @param call Incoming FunctionCallNode.
+     */
+    @Override
+    protected void compileFunctionCall(FunctionCallNode call)
+    {
+        ArrayList<ArgumentNode> arguments = call.getArguments();
+        int[] argumentSlots = new int[arguments.size()];
+        tokenType[] argumentTypes = new tokenType[arguments.size()];
+        int base = nextTemporary;
+        int line = call.getLineNumber();
+
+        for (int i = 0; i < arguments.size(); i++)
+        {
+            int start = getCodeLength();
+            int value;
+
+            if (arguments.get(i).isConstant())
+            {
+                value = compileExpression(arguments.get(i).getConstant());
+                argumentSlots[i] = -1;
+            }
+            else
+            {
+                value = compileExpression(arguments.get(i).getVariableReference());
+                argumentSlots[i] = arguments.get(i).getVariableReference().getSlot();
+            }
+
+            nextTemporary = base + i;
+
+            if (value == NO_REGISTER)
+            {
+                allocateTemporary(tokenType.INTEGER);
+                continue;
+            }
+
+            argumentTypes[i] = getRegisterType(value);
+            moveInto(allocateTemporary(argumentTypes[i]), value, argumentTypes[i], start, line);
+        }
+
+        emit(RegisterOpCode.CALL, addConstant(new CallSite(call.getName(), argumentSlots, argumentTypes, line)), base,
+             line);
+    }
+
+    /**
+     * Compiles the incoming expression ASTNode and returns the register its value ends up in.
+     * If its types do not fit together, a FAIL instruction is compiled in its place.
+     *
+     * @param expression Incoming ASTNode.
+     * @return Register holding the value, or NO_REGISTER if a FAIL instruction was compiled.
+     */
+    private int compileExpression(ASTNode expression)
+    {
+        int start = getCodeLength(), mark = nextTemporary;
+
+        try
+        {
+            return emitExpression(expression);
+        }
+        catch (SyntaxErrorException e)
+        {
+            rewind(start);
+            nextTemporary = mark;
+            emitFail(e, expression.getLineNumber());
+            return NO_REGISTER;
+        }
+    }
+
+    /**
+     * Appends the instructions computing the incoming expression ASTNode. Variables and literals need none, since
+     * their registers already hold their values.
+     *
+     * @param expression Incoming ASTNode.
+     * @return Register holding the value.
+     * @throws SyntaxErrorException If the types inside expression do not fit together.
+     */
+    private int emitExpression(ASTNode expression) throws SyntaxErrorException
+    {
+        int line = expression.getLineNumber();
+
+        if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+            int slot = reference.getSlot();
+
+            if (reference.getArrayExpression() != null)
+            {
+                int mark = nextTemporary;
+                int index = emitIndex(reference);
+                tokenType elementType = slotArrayTypes[slot];
+
+                nextTemporary = mark;
+
+                int result = allocateTemporary(elementType);
+
+                emit(getArrayInstruction(elementType, true), result, slot, index, line);
+
+                return result;
+            }
+
+            return slot;
+        }
+        else if (expression instanceof MathOpNode)
+        {
+            MathOpNode mathOp = (MathOpNode)expression;
+            int mark = nextTemporary;
+
+            int left = emitExpression(mathOp.getLeftOperand());
+            int right = emitExpression(mathOp.getRightOperand());
+            tokenType leftType = getRegisterType(left);
+            int instruction = getInstruction(mathOp.getOpType(), checkTypes(leftType, getRegisterType(right)), line);
+
+            nextTemporary = mark;
+
+            int result = allocateTemporary(leftType);
+
+            emit(instruction, result, left, right, line);
+
+            return result;
+        }
+        else if (expression instanceof BooleanCompareNode)
+        {
+            BooleanCompareNode comparison = (BooleanCompareNode)expression;
+            int start = getCodeLength(), mark = nextTemporary;
+
+            int left = emitExpression(comparison.getLeftComparand());
+            int right = emitExpression(comparison.getRightComparand());
+            int instruction = getInstruction(comparison.getCompType(),
+                                             checkTypes(getRegisterType(left), getRegisterType(right)), line);
+
+            nextTemporary = mark;
+
+            if (instruction == -1)
+            {
+                rewind(start);
+                return addLiteral(false);
+            }
+
+            int result = allocateTemporary(tokenType.BOOLEAN);
+
+            if (instruction == RegisterOpCode.NOT)
+            {
+                emit(instruction, result, left, line);
+            }
+            else emit(instruction, result, left, right, line);
+
+            return result;
+        }
+        else if (expression instanceof StringNode)
+        {
+            return addLiteral(((StringNode)expression).getData());
+        }
+        else if (expression instanceof IntegerNode)
+        {
+            return addLiteral(((IntegerNode)expression).getData());
+        }
+        else if (expression instanceof RealNode)
+        {
+            return addLiteral(((RealNode)expression).getData());
+        }
+        else if (expression instanceof CharacterNode)
+        {
+            return addLiteral(((CharacterNode)expression).getData());
+        }
+        else if (expression instanceof BooleanNode)
+        {
+            return addLiteral(((BooleanNode)expression).getData());
+        }
+        else throw new SyntaxErrorException("No valid expression on line " + line + ".");
+    }
+
+    /**
+     * Returns the incoming former tokenType if it is the same as the incoming latter tokenType, otherwise null.
+     *
+     * @param left Former incoming tokenType.
+     * @param right Latter incoming tokenType.
+     * @return Shared type of left and right, or null if they differ.
+     */
+    private tokenType checkTypes(tokenType left, tokenType right)
+    {
+        return left == right ? left : null;
+    }
+
+    /**
+     * Returns the instruction performing the incoming operationType on two operands of the incoming tokenType.
+     *
+     * @param opType Incoming operationType.
+     * @param type Incoming tokenType, null if the operands' types differ.
+     * @param line Incoming line number.
+     * @return Instruction performing opType.
+     * @throws SyntaxErrorException If no valid operation for type is found.
+     */
+    private int getInstruction(MathOpNode.operationType opType, tokenType type, int line) throws SyntaxErrorException
+    {
+        if (type == tokenType.INTEGER)
+        {
+            switch (opType)
+            {
+                case ADD  : return RegisterOpCode.INTEGER_ADD;
+                case SUB  : return RegisterOpCode.INTEGER_SUB;
+                case MULT : return RegisterOpCode.INTEGER_MULT;
+                case DIV  : return RegisterOpCode.INTEGER_DIV;
+                default   : return RegisterOpCode.INTEGER_MOD;
+            }
+        }
+        else if (type == tokenType.REAL)
+        {
+            switch (opType)
+            {
+                case ADD  : return RegisterOpCode.REAL_ADD;
+                case SUB  : return RegisterOpCode.REAL_SUB;
+                case MULT : return RegisterOpCode.REAL_MULT;
+                case DIV  : return RegisterOpCode.REAL_DIV;
+                default   : return RegisterOpCode.REAL_MOD;
+            }
+        }
+        else if (type == tokenType.STRING)
+        {
+            if (opType == MathOpNode.operationType.ADD)
+            {
+                return RegisterOpCode.CONCATENATE;
+            }
+            else throw new SyntaxErrorException("No valid String operation found on line " + line + ".");
+        }
+        else throw new SyntaxErrorException("No valid operation found on line " + line + ".");
+    }
+
+    /**
+     * Returns the instruction performing the incoming comparisonType on two comparands of the incoming tokenType,
+     * or -1 if the comparison is always false for that type, as it is in the Interpreter.
+     *
+     * @param compType Incoming comparisonType.
+     * @param type Incoming tokenType, null if the comparands' types differ.
+     * @param line Incoming line number.
+     * @return Instruction performing compType, or -1 if it is always false.
+     * @throws SyntaxErrorException If no valid comparison for type is found.
+     */
+    private int getInstruction(BooleanCompareNode.comparisonType compType, tokenType type, int line)
+            throws SyntaxErrorException
+    {
+        if (type == tokenType.INTEGER)
+        {
+            switch (compType)
+            {
+                case GTHAN  : return RegisterOpCode.INTEGER_GTHAN;
+                case LTHAN  : return RegisterOpCode.INTEGER_LTHAN;
+                case GETO   : return RegisterOpCode.INTEGER_GETO;
+                case LETO   : return RegisterOpCode.INTEGER_LETO;
+                case EQUAL  : return RegisterOpCode.INTEGER_EQUAL;
+                case NEQUAL : return RegisterOpCode.INTEGER_NEQUAL;
+                default     : return -1;
+            }
+        }
+        else if (type == tokenType.REAL)
+        {
+            switch (compType)
+            {
+                case GTHAN  : return RegisterOpCode.REAL_GTHAN;
+                case LTHAN  : return RegisterOpCode.REAL_LTHAN;
+                case GETO   : return RegisterOpCode.REAL_GETO;
+                case LETO   : return RegisterOpCode.REAL_LETO;
+                case EQUAL  : return RegisterOpCode.REAL_EQUAL;
+                case NEQUAL : return RegisterOpCode.REAL_NEQUAL;
+                default     : return -1;
+            }
+        }
+        else if (type == tokenType.STRING || type == tokenType.CHARACTER)
+        {
+            switch (compType)
+            {
+                case EQUAL  : return type == tokenType.STRING ? RegisterOpCode.STRING_EQUAL
+                                                              : RegisterOpCode.INTEGER_EQUAL;
+                case NEQUAL : return type == tokenType.STRING ? RegisterOpCode.STRING_NEQUAL
+                                                              : RegisterOpCode.INTEGER_NEQUAL;
+                default     : return -1;
+            }
+        }
+        else if (type == tokenType.BOOLEAN)
+        {
+            switch (compType)
+            {
+                case NOT   : return RegisterOpCode.NOT;
+                case OR    : return RegisterOpCode.OR;
+                case AND   : return RegisterOpCode.AND;
+                case EQUAL : return RegisterOpCode.INTEGER_EQUAL;
+                default    : return -1;
+            }
+        }
+        else throw new SyntaxErrorException("No valid boolean comparison found on line " + line + ".");
+    }
+
+    /**
+     * Compiles the incoming BooleanCompareNode as a conditional jump taken when it evaluates to the incoming boolean,
+     * and returns the index of the jump's placeholder target. A comparison between two integers, characters or
+     * booleans jumps directly on the registers of its comparands instead of writing a boolean first.
+     *
+     * @param conditional Incoming BooleanCompareNode.
+     * @param isJumpWhenTrue Incoming boolean.
+     * @param line Incoming line number.
+     * @return Index of the placeholder target.
+     */
+    @Override
+    protected int compileBranch(BooleanCompareNode conditional, boolean isJumpWhenTrue, int line)
+    {
+        int start = getCodeLength(), mark = nextTemporary;
+
+        try
+        {
+            int left = emitExpression(conditional.getLeftComparand());
+            int right = emitExpression(conditional.getRightComparand());
+
+            int jump = getJumpInstruction(getInstruction(conditional.getCompType(),
+                                                         checkTypes(getRegisterType(left), getRegisterType(right)),
+                                                         line), isJumpWhenTrue);
+
+            if (jump != -1)
+            {
+                nextTemporary = mark;
+                return emitJump(jump, left, right, line);
+            }
+        }
+        catch (SyntaxErrorException e)
+        {
+            //compiled again below, where the FAIL instruction is emitted
+        }
+
+        rewind(start);
+        nextTemporary = mark;
+
+        int condition = compileExpression(conditional);
+
+        nextTemporary = mark;
+
+        if (condition == NO_REGISTER)
+        {
+            //never reached past the FAIL instruction, but still patched by the caller
+            return emitJump(RegisterOpCode.JUMP, line);
+        }
+
+        return emitJump(isJumpWhenTrue ? RegisterOpCode.JUMP_IF_TRUE : RegisterOpCode.JUMP_IF_FALSE, condition, line);
+    }
+
+    /**
+     * Returns the jump instruction taken when the incoming integer comparison instruction is true, or when it is
+     * false if the incoming boolean is false. Returns -1 if the instruction does not compare integers.
+     *
+     * @param comparison Incoming comparison instruction.
+     * @param isJumpWhenTrue Incoming boolean.
+     * @return Jump instruction for comparison, or -1.
+     */
+    private int getJumpInstruction(int comparison, boolean isJumpWhenTrue)
+    {
+        switch (isJumpWhenTrue ? comparison : getOppositeComparison(comparison))
+        {
+            case RegisterOpCode.INTEGER_GTHAN  : return RegisterOpCode.JUMP_IF_INTEGER_GTHAN;
+            case RegisterOpCode.INTEGER_LTHAN  : return RegisterOpCode.JUMP_IF_INTEGER_LTHAN;
+            case RegisterOpCode.INTEGER_GETO   : return RegisterOpCode.JUMP_IF_INTEGER_GETO;
+            case RegisterOpCode.INTEGER_LETO   : return RegisterOpCode.JUMP_IF_INTEGER_LETO;
+            case RegisterOpCode.INTEGER_EQUAL  : return RegisterOpCode.JUMP_IF_INTEGER_EQUAL;
+            case RegisterOpCode.INTEGER_NEQUAL : return RegisterOpCode.JUMP_IF_INTEGER_NEQUAL;
+            default                            : return -1;
+        }
+    }
+
+    /**
+     * Returns the integer comparison instruction that is true exactly when the incoming one is false,
+     * or -1 if the incoming instruction does not compare integers.
+     *
+     * @param comparison Incoming comparison instruction.
+     * @return Opposite of comparison, or -1.
+     */
+    private int getOppositeComparison(int comparison)
+    {
+        switch (comparison)
+        {
+            case RegisterOpCode.INTEGER_GTHAN  : return RegisterOpCode.INTEGER_LETO;
+            case RegisterOpCode.INTEGER_LTHAN  : return RegisterOpCode.INTEGER_GETO;
+            case RegisterOpCode.INTEGER_GETO   : return RegisterOpCode.INTEGER_LTHAN;
+            case RegisterOpCode.INTEGER_LETO   : return RegisterOpCode.INTEGER_GTHAN;
+            case RegisterOpCode.INTEGER_EQUAL  : return RegisterOpCode.INTEGER_NEQUAL;
+            case RegisterOpCode.INTEGER_NEQUAL : return RegisterOpCode.INTEGER_EQUAL;
+            default                            : return -1;
+        }
+    }
+
+    /**
+     * Returns the index of the incoming CallSite or SyntaxErrorException in the constant pool, after adding it.
+     *
+     * @param value Incoming CallSite or SyntaxErrorException.
+     * @return Index of value in the constant pool.
+     */
+    private int addConstant(Object value)
+    {
+        constants.add(value);
+        return constants.size() - 1;
+    }
+
+    /**
+     * Appends a FAIL instruction throwing the incoming SyntaxErrorException.
+     *
+     * @param exception Incoming SyntaxErrorException.
+     * @param line Incoming line number.
+     */
+    private void emitFail(SyntaxErrorException exception, int line)
+    {
+        emit(RegisterOpCode.FAIL, addConstant(exception), line);
+    }
+
+    /**
+     * Appends the incoming instruction, which takes no operand, from the incoming line.
+     *
+     * @param instruction Incoming instruction.
+     * @param line Incoming line number.
+     */
+    private void emit(int instruction, int line)
+    {
+        lastInstruction = getCodeLength();
+        append(instruction, line);
+    }
+
+    /**
+     * Appends the incoming instruction with the incoming operand from the incoming line.
+     *
+     * @param instruction Incoming instruction.
+     * @param operand Incoming operand.
+     * @param line Incoming line number.
+     */
+    private void emit(int instruction, int operand, int line)
+    {
+        emit(instruction, line);
+        append(operand, line);
+    }
+
+    /**
+     * Appends the incoming instruction with the incoming two operands from the incoming line.
+     *
+     * @param instruction Incoming instruction.
+     * @param first Incoming first operand.
+     * @param second Incoming second operand.
+     * @param line Incoming line number.
+     */
+    private void emit(int instruction, int first, int second, int line)
+    {
+        emit(instruction, first, line);
+        append(second, line);
+    }
+
+    /**
+     * Appends the incoming instruction with the incoming three operands from the incoming line.
+     *
+     * @param instruction Incoming instruction.
+     * @param first Incoming first operand.
+     * @param second Incoming second operand.
+     * @param third Incoming third operand.
+     * @param line Incoming line number.
+     */
+    private void emit(int instruction, int first, int second, int third, int line)
+    {
+        emit(instruction, first, second, line);
+        append(third, line);
+    }
+
+    @Override
+    protected int emitUnconditionalJump(int line)
+    {
+        return emitJump(RegisterOpCode.JUMP, line);
+    }
+
+    /**
+     * Appends the incoming jump instruction, which reads no register, with a placeholder target and returns the
+     * index of that placeholder.
+     *
+     * @param instruction Incoming jump instruction.
+     * @param line Incoming line number.
+     * @return Index of the placeholder target.
+     */
+    private int emitJump(int instruction, int line)
+    {
+        emit(instruction, 0, line);
+        return getCodeLength() - 1;
+    }
+
+    /**
+     * Appends the incoming jump instruction reading the incoming register, with a placeholder target, and returns
+     * the index of that placeholder.
+     *
+     * @param instruction Incoming jump instruction.
+     * @param register Incoming register.
+     * @param line Incoming line number.
+     * @return Index of the placeholder target.
+     */
+    private int emitJump(int instruction, int register, int line)
+    {
+        emit(instruction, register, 0, line);
+        return getCodeLength() - 1;
+    }
+
+    /**
+     * Appends the incoming jump instruction comparing the incoming two registers, with a placeholder target, and
+     * returns the index of that placeholder.
+     *
+     * @param instruction Incoming jump instruction.
+     * @param left Incoming former register.
+     * @param right Incoming latter register.
+     * @param line Incoming line number.
+     * @return Index of the placeholder target.
+     */
+    private int emitJump(int instruction, int left, int right, int line)
+    {
+        emit(instruction, left, right, 0, line);
+        return getCodeLength() - 1;
+    }
+
+}
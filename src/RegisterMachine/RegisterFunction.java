@@ -0,0 +1,202 @@
+/**
+ * Describes one user defined Kakuzaki function compiled to register code for RegisterMachine.
+ * Its register file holds, in order, the slots the Resolver assigned to its variables, the temporaries its
+ * expressions and loops need, and a register for each distinct literal it uses, which starts with that literal.
+ */
+
+package RegisterMachine;
+
+import CrossStageTools.Nodes.FunctionNode;
+import CrossStageTools.tokenType;
+import Interpreter.InterpreterDataTypes.ArrayDataType;
+
+public class RegisterFunction
+{
+    private final FunctionNode function;
+
+    private final int[] code, lineNumbers, parameterSlots, arraySlots;
+
+    private final tokenType[] parameterTypes;
+
+    private final int[] initialRegisters;
+
+    private final Object[] constants, initialReferenceRegisters;
+
+    /**
+     * Creates a RegisterFunction from the incoming FunctionNode with the incoming code array, the incoming line
+     * number of each index in the code array, the incoming constant pool, the incoming values each int and reference
+     * register starts with and the incoming slots and types of each parameter.
+     *
+     * @param incomingFunction Incoming FunctionNode.
+     * @param incomingCode Incoming code array.
+     * @param incomingLineNumbers Incoming line number of each index in incomingCode.
+     * @param incomingConstants Incoming constant pool.
+     * @param incomingInitialRegisters Incoming values each int register starts with.
+     * @param incomingInitialReferenceRegisters Incoming values each reference register starts with.
+     * @param incomingParameterSlots Incoming slots of each parameter.
+     * @param incomingParameterTypes Incoming types of each parameter.
+     */
+    public RegisterFunction(FunctionNode incomingFunction, int[] incomingCode, int[] incomingLineNumbers,
+                            Object[] incomingConstants, int[] incomingInitialRegisters,
+                            Object[] incomingInitialReferenceRegisters, int[] incomingParameterSlots,
+                            tokenType[] incomingParameterTypes)
+    {
+        function = incomingFunction;
+        code = incomingCode;
+        lineNumbers = incomingLineNumbers;
+        constants = incomingConstants;
+        initialRegisters = incomingInitialRegisters;
+        initialReferenceRegisters = incomingInitialReferenceRegisters;
+        parameterSlots = incomingParameterSlots;
+        parameterTypes = incomingParameterTypes;
+
+        int arrayCount = 0;
+
+        for (int i = 0; i < initialReferenceRegisters.length; i++)
+        {
+            if (initialReferenceRegisters[i] instanceof ArrayDataType)
+            {
+                arrayCount++;
+            }
+        }
+
+        arraySlots = new int[arrayCount];
+
+        for (int i = 0, j = 0; i < initialReferenceRegisters.length; i++)
+        {
+            if (initialReferenceRegisters[i] instanceof ArrayDataType)
+            {
+                arraySlots[j++] = i;
+            }
+        }
+    }
+
+    /**
+     * Returns the FunctionNode this RegisterFunction was compiled from.
+     *
+     * @return FunctionNode this RegisterFunction was compiled from.
+     */
+    public FunctionNode getFunction()
+    {
+        return function;
+    }
+
+    /**
+     * Returns this RegisterFunction's code array.
+     *
+     * @return This RegisterFunction's code array.
+     */
+    public int[] getCode()
+    {
+        return code;
+    }
+
+    /**
+     * Returns the line number of the incoming index in the code array.
+     *
+     * @param index Incoming index.
+     * @return Line number of index.
+     */
+    public int getLineNumber(int index)
+    {
+        return lineNumbers[index];
+    }
+
+    /**
+     * Returns this RegisterFunction's constant pool.
+     *
+     * @return This RegisterFunction's constant pool.
+     */
+    public Object[] getConstants()
+    {
+        return constants;
+    }
+
+    /**
+     * Returns the number of registers in this RegisterFunction's register file.
+     *
+     * @return Number of registers.
+     */
+    public int getRegisterCount()
+    {
+        return initialRegisters.length;
+    }
+
+    /**
+     * Returns new int registers for this RegisterFunction with declared variables, constants and literals in them.
+     *
+     * @return New int registers.
+     */
+    public int[] makeRegisters()
+    {
+        return initialRegisters.clone();
+    }
+
+    /**
+     * Returns new reference registers for this RegisterFunction with declared variables, constants and literals in
+     * them. Arrays are copied, so no call sees the elements another call wrote.
+     *
+     * @return New reference registers.
+     */
+    public Object[] makeReferenceRegisters()
+    {
+        Object[] referenceRegisters = initialReferenceRegisters.clone();
+
+        for (int i = 0; i < arraySlots.length; i++)
+        {
+            referenceRegisters[arraySlots[i]] = ((ArrayDataType)referenceRegisters[arraySlots[i]]).copy();
+        }
+
+        return referenceRegisters;
+    }
+
+    /**
+     * Returns the slot of each parameter, in order.
+     *
+     * @return Slot of each parameter.
+     */
+    public int[] getParameterSlots()
+    {
+        return parameterSlots;
+    }
+
+    /**
+     * Returns the type of each parameter, in order.
+     *
+     * @return Type of each parameter.
+     */
+    public tokenType[] getParameterTypes()
+    {
+        return parameterTypes;
+    }
+
+    /**
+     * Returns this RegisterFunction as a readable listing of its instructions.
+     *
+     * @return Readable listing of this RegisterFunction's instructions.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder listing = new StringBuilder("Register function " + function.getName() + " with "
+                + initialRegisters.length + " registers\n");
+
+        for (int i = 0; i < code.length; i += 1 + RegisterOpCode.getOperandCount(code[i]))
+        {
+            listing.append(i).append('\t').append(RegisterOpCode.getName(code[i]));
+
+            for (int j = 1; j <= RegisterOpCode.getOperandCount(code[i]); j++)
+            {
+                listing.append(' ').append(code[i + j]);
+            }
+            if (code[i] == RegisterOpCode.CALL || code[i] == RegisterOpCode.FAIL)
+            {
+                listing.append(" (").append(constants[code[i + 1]]).append(')');
+            }
+
+            listing.append('\n');
+        }
+
+        return listing.toString();
+    }
+}
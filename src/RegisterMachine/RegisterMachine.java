@@ -0,0 +1,437 @@
+/**
+ * Runs a program compiled by RegisterCompiler, as a register based alternative to VirtualMachine.
+ * Functions are compiled the first time they are called, and each runs a single switch-dispatched loop over its
+ * code array, reading and writing unboxed values in an int register file and Strings and arrays in a reference
+ * register file of the same size. With no stack to push operands onto, each instruction does the work of several
+ * VirtualMachine instructions, so fewer are dispatched per statement and loop iteration.
+ */
+
+package RegisterMachine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import CrossStageTools.Nodes.FunctionNode;
+import CrossStageTools.Nodes.ProgramNode;
+import CrossStageTools.tokenType;
+import Exceptions.SyntaxErrorException;
+import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
+import Interpreter.InterpreterDataTypes.ArrayDataType;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+import VirtualMachine.BytecodeCompiler;
+import VirtualMachine.CallSite;
+import VirtualMachine.VirtualMachine;
+
+public class RegisterMachine
+{
+    private final ProgramNode program;
+
+    private final RegisterCompiler compiler;
+
+    private final HashMap<FunctionNode, RegisterFunction> compiledFunctions;
+
+    /**
+     * Creates a RegisterMachine with the incoming ProgramNode as the program already parsed and resolved.
+     *
+     * @param resolvedProgram Incoming ProgramNode.
+     */
+    public RegisterMachine(ProgramNode resolvedProgram)
+    {
+        program = resolvedProgram;
+        compiler = new RegisterCompiler();
+        compiledFunctions = new HashMap<>();
+    }
+
+    /**
+     * Runs the function called "start" as the Kakuzaki program's entry point.
+     *
+     * @throws SyntaxErrorException If there is any error during running.
+     */
+    public void run() throws SyntaxErrorException
+    {
+        RegisterFunction start = getCompiledFunction(program.getFunctionMap().get("start"));
+
+        execute(start, start.makeRegisters(), start.makeReferenceRegisters());
+    }
+
+    /**
+     * Returns the RegisterFunction for the incoming FunctionNode, compiling it if this is its first use.
+     *
+     * @param function Incoming FunctionNode.
+     * @return RegisterFunction for function.
+     */
+    public RegisterFunction getCompiledFunction(FunctionNode function)
+    {
+        RegisterFunction compiled = compiledFunctions.get(function);
+
+        if (compiled == null)
+        {
+            compiled = compiler.compile(function);
+            compiledFunctions.put(function, compiled);
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Runs the incoming RegisterFunction with the incoming int and reference registers until it returns.
+     *
+     * @param function Incoming RegisterFunction.
+     * @param registers Incoming int registers.
+     * @param references Incoming reference registers.
+     * @throws SyntaxErrorException If a FAIL instruction is reached or a call fails.
+     */
+    private void execute(RegisterFunction function, int[] registers, Object[] references) throws SyntaxErrorException
+    {
+        int[] code = function.getCode();
+        Object[] constants = function.getConstants();
+
+        int pc = 0;
+
+        while (true)
+        {
+            switch (code[pc])
+            {
+                case RegisterOpCode.MOVE :
+                    registers[code[pc + 1]] = registers[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case RegisterOpCode.REFERENCE_MOVE :
+                    references[code[pc + 1]] = references[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case RegisterOpCode.INCREMENT :
+                    registers[code[pc + 1]]++;
+                    pc += 2;
+                    break;
+                case RegisterOpCode.INTEGER_ADD :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] + registers[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case RegisterOpCode.INTEGER_SUB :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] - registers[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case RegisterOpCode.INTEGER_MULT :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] * registers[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case RegisterOpCode.INTEGER_DIV :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] / registers[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case RegisterOpCode.INTEGER_MOD :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] % registers[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_ADD :
+                    registers[code[pc + 1]] = toBits(toReal(registers[code[pc + 2]]) + toReal(registers[code[pc + 3]]));
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_SUB :
+                    registers[code[pc + 1]] = toBits(toReal(registers[code[pc + 2]]) - toReal(registers[code[pc + 3]]));
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_MULT :
+                    registers[code[pc + 1]] = toBits(toReal(registers[code[pc + 2]]) * toReal(registers[code[pc + 3]]));
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_DIV :
+                    registers[code[pc + 1]] = toBits(toReal(registers[code[pc + 2]]) / toReal(registers[code[pc + 3]]));
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_MOD :
+                    registers[code[pc + 1]] = toBits(toReal(registers[code[pc + 2]]) % toReal(registers[code[pc + 3]]));
+                    pc += 4;
+                    break;
+                case RegisterOpCode.CONCATENATE :
+                    references[code[pc + 1]] = (String)references[code[pc + 2]] + references[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case RegisterOpCode.INTEGER_GTHAN :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] > registers[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.INTEGER_LTHAN :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] < registers[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.INTEGER_GETO :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] >= registers[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.INTEGER_LETO :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] <= registers[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.INTEGER_EQUAL :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] == registers[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.INTEGER_NEQUAL :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] != registers[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_GTHAN :
+                    registers[code[pc + 1]] = toReal(registers[code[pc + 2]]) > toReal(registers[code[pc + 3]]) ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_LTHAN :
+                    registers[code[pc + 1]] = toReal(registers[code[pc + 2]]) < toReal(registers[code[pc + 3]]) ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_GETO :
+                    registers[code[pc + 1]] = toReal(registers[code[pc + 2]]) >= toReal(registers[code[pc + 3]])
+                            ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_LETO :
+                    registers[code[pc + 1]] = toReal(registers[code[pc + 2]]) <= toReal(registers[code[pc + 3]])
+                            ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_EQUAL :
+                    registers[code[pc + 1]] = toReal(registers[code[pc + 2]]) == toReal(registers[code[pc + 3]])
+                            ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_NEQUAL :
+                    registers[code[pc + 1]] = toReal(registers[code[pc + 2]]) != toReal(registers[code[pc + 3]])
+                            ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.STRING_EQUAL :
+                    registers[code[pc + 1]] = references[code[pc + 2]].equals(references[code[pc + 3]]) ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.STRING_NEQUAL :
+                    registers[code[pc + 1]] = references[code[pc + 2]].equals(references[code[pc + 3]]) ? 0 : 1;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.NOT :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] ^ 1;
+                    pc += 3;
+                    break;
+                case RegisterOpCode.AND :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] & registers[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case RegisterOpCode.OR :
+                    registers[code[pc + 1]] = registers[code[pc + 2]] | registers[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case RegisterOpCode.JUMP :
+                    pc = code[pc + 1];
+                    break;
+                case RegisterOpCode.JUMP_IF_FALSE :
+                    pc = registers[code[pc + 1]] == 0 ? code[pc + 2] : pc + 3;
+                    break;
+                case RegisterOpCode.JUMP_IF_TRUE :
+                    pc = registers[code[pc + 1]] != 0 ? code[pc + 2] : pc + 3;
+                    break;
+                case RegisterOpCode.JUMP_IF_INTEGER_GTHAN :
+                    pc = registers[code[pc + 1]] > registers[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                    break;
+                case RegisterOpCode.JUMP_IF_INTEGER_LTHAN :
+                    pc = registers[code[pc + 1]] < registers[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                    break;
+                case RegisterOpCode.JUMP_IF_INTEGER_GETO :
+                    pc = registers[code[pc + 1]] >= registers[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                    break;
+                case RegisterOpCode.JUMP_IF_INTEGER_LETO :
+                    pc = registers[code[pc + 1]] <= registers[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                    break;
+                case RegisterOpCode.JUMP_IF_INTEGER_EQUAL :
+                    pc = registers[code[pc + 1]] == registers[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                    break;
+                case RegisterOpCode.JUMP_IF_INTEGER_NEQUAL :
+                    pc = registers[code[pc + 1]] != registers[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                    break;
+                case RegisterOpCode.INTEGER_ARRAY_LOAD :
+                    registers[code[pc + 1]] = ((ArrayDataType)references[code[pc + 2]])
+                            .getInteger(registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_ARRAY_LOAD :
+                    registers[code[pc + 1]] = toBits(((ArrayDataType)references[code[pc + 2]])
+                            .getReal(registers[code[pc + 3]]));
+                    pc += 4;
+                    break;
+                case RegisterOpCode.CHARACTER_ARRAY_LOAD :
+                    registers[code[pc + 1]] = ((ArrayDataType)references[code[pc + 2]])
+                            .getCharacter(registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case RegisterOpCode.BOOLEAN_ARRAY_LOAD :
+                    registers[code[pc + 1]] = ((ArrayDataType)references[code[pc + 2]])
+                            .getBoolean(registers[code[pc + 3]]) ? 1 : 0;
+                    pc += 4;
+                    break;
+                case RegisterOpCode.STRING_ARRAY_LOAD :
+                    references[code[pc + 1]] = ((ArrayDataType)references[code[pc + 2]])
+                            .getString(registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case RegisterOpCode.INTEGER_ARRAY_STORE :
+                    ((ArrayDataType)references[code[pc + 1]]).setInteger(registers[code[pc + 2]],
+                                                                        registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case RegisterOpCode.REAL_ARRAY_STORE :
+                    ((ArrayDataType)references[code[pc + 1]]).setReal(registers[code[pc + 2]],
+                                                                     toReal(registers[code[pc + 3]]));
+                    pc += 4;
+                    break;
+                case RegisterOpCode.CHARACTER_ARRAY_STORE :
+                    ((ArrayDataType)references[code[pc + 1]]).setCharacter(registers[code[pc + 2]],
+                                                                          (char)registers[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case RegisterOpCode.BOOLEAN_ARRAY_STORE :
+                    ((ArrayDataType)references[code[pc + 1]]).setBoolean(registers[code[pc + 2]],
+                                                                        registers[code[pc + 3]] != 0);
+                    pc += 4;
+                    break;
+                case RegisterOpCode.STRING_ARRAY_STORE :
+                    ((ArrayDataType)references[code[pc + 1]]).setString(registers[code[pc + 2]],
+                                                                       (String)references[code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case RegisterOpCode.CALL :
+                    call((CallSite)constants[code[pc + 1]], code[pc + 2], registers, references);
+                    pc += 3;
+                    break;
+                case RegisterOpCode.FAIL :
+                    throw (SyntaxErrorException)constants[code[pc + 1]];
+                case RegisterOpCode.RETURN :
+                    return;
+                default :
+                    throw new SyntaxErrorException("Unknown instruction " + code[pc] + " in register function "
+                            + function.getFunction().getName() + ".");
+            }
+        }
+    }
+
+    /**
+     * Returns the real whose float bits are the incoming int.
+     *
+     * @param bits Incoming int.
+     * @return Real stored in bits.
+     */
+    private static float toReal(int bits)
+    {
+        return Float.intBitsToFloat(bits);
+    }
+
+    /**
+     * Returns the float bits of the incoming real.
+     *
+     * @param real Incoming real.
+     * @return Float bits of real.
+     */
+    private static int toBits(float real)
+    {
+        return Float.floatToRawIntBits(real);
+    }
+
+    /**
+     * Calls the function of the incoming CallSite with the arguments in the caller's registers starting at the
+     * incoming base, then copies changeable parameters back into the caller's registers for each var argument. An
+     * array that is not a var argument is copied before a user defined function receives it.
+     *
+     * @param site Incoming CallSite.
+     * @param base Incoming register of the first argument.
+     * @param registers Incoming int registers of the caller.
+     * @param references Incoming reference registers of the caller.
+     * @throws SyntaxErrorException If the called function does not exist, is given the wrong arguments
+     *                              or fails while running.
+     */
+    private void call(CallSite site, int base, int[] registers, Object[] references) throws SyntaxErrorException
+    {
+        if (site.getTarget() == null)
+        {
+            bind(site);
+        }
+
+        int numberOfArguments = site.getNumberOfArguments();
+        int[] copyBackSlots = site.getCopyBackSlots();
+        tokenType[] argumentTypes = site.getArgumentTypes();
+
+        if (site.getTarget() instanceof RegisterFunction)
+        {
+            RegisterFunction callee = (RegisterFunction)site.getTarget();
+            int[] calleeRegisters = callee.makeRegisters();
+            Object[] calleeReferences = callee.makeReferenceRegisters();
+            int[] parameterSlots = callee.getParameterSlots();
+
+            for (int i = 0; i < numberOfArguments; i++)
+            {
+                if (BytecodeCompiler.isReference(argumentTypes[i]))
+                {
+                    calleeReferences[parameterSlots[i]] = VirtualMachine.passReference(references[base + i],
+                                                                                       copyBackSlots[i]);
+                }
+                else calleeRegisters[parameterSlots[i]] = registers[base + i];
+            }
+
+            execute(callee, calleeRegisters, calleeReferences);
+
+            for (int i = 0; i < numberOfArguments; i++)
+            {
+                if (copyBackSlots[i] == -1)
+                {
+                    continue;
+                }
+                if (BytecodeCompiler.isReference(argumentTypes[i]))
+                {
+                    references[copyBackSlots[i]] = calleeReferences[parameterSlots[i]];
+                }
+                else registers[copyBackSlots[i]] = calleeRegisters[parameterSlots[i]];
+            }
+        }
+        else
+        {
+            ArrayList<InterpreterDataType> arguments = new ArrayList<>();
+
+            for (int i = 0; i < numberOfArguments; i++)
+            {
+                arguments.add(VirtualMachine.makeInterpreterDataType(argumentTypes[i], registers[base + i],
+                                                                     references[base + i], site.getLineNumber(),
+                                                                     copyBackSlots[i] != -1));
+            }
+
+            ((BuiltInFunctionNode)site.getTarget()).execute(arguments);
+
+            for (int i = 0; i < numberOfArguments; i++)
+            {
+                if (copyBackSlots[i] == -1)
+                {
+                    continue;
+                }
+                if (BytecodeCompiler.isReference(argumentTypes[i]))
+                {
+                    references[copyBackSlots[i]] = VirtualMachine.getReference(arguments.get(i));
+                }
+                else registers[copyBackSlots[i]] = VirtualMachine.getValue(arguments.get(i));
+            }
+        }
+    }
+
+    /**
+     * Looks up the function called by the incoming CallSite, checks its arguments and binds the CallSite to it.
+     *
+     * @param site Incoming CallSite.
+     * @throws SyntaxErrorException If the function does not exist or is given the wrong arguments.
+     */
+    private void bind(CallSite site) throws SyntaxErrorException
+    {
+        FunctionNode function = program.getFunctionMap().get(site.getName());
+        int[] copyBackSlots = VirtualMachine.checkCall(function, site);
+
+        if (function instanceof BuiltInFunctionNode)
+        {
+            site.bind(function, copyBackSlots);
+        }
+        else site.bind(getCompiledFunction(function), copyBackSlots);
+    }
+}
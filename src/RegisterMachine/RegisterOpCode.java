@@ -0,0 +1,179 @@
+/**
+ * Lists the instructions understood by RegisterMachine.
+ * Each instruction is one int in a RegisterFunction's code array, followed by its operands. Most operands are
+ * registers, and an instruction producing a value names the register it writes first, then the registers it reads,
+ * so INTEGER_ADD 3 0 5 adds registers 0 and 5 into register 3.
+ * Like in VirtualMachine, integers, reals, characters and booleans live unboxed in int registers, with reals stored as
+ * their float bits and booleans as 0 or 1, while Strings and arrays live in reference registers of the same index.
+ */
+
+package RegisterMachine;
+
+public final class RegisterOpCode
+{
+    /** Copies the value in the second operand's register into the first operand's register. */
+    public static final int MOVE = 0;
+    /** Copies the reference in the second operand's register into the first operand's register. */
+    public static final int REFERENCE_MOVE = 1;
+    /** Adds one to the integer in the operand's register. */
+    public static final int INCREMENT = 2;
+
+    public static final int INTEGER_ADD = 3;
+    public static final int INTEGER_SUB = 4;
+    public static final int INTEGER_MULT = 5;
+    public static final int INTEGER_DIV = 6;
+    public static final int INTEGER_MOD = 7;
+
+    public static final int REAL_ADD = 8;
+    public static final int REAL_SUB = 9;
+    public static final int REAL_MULT = 10;
+    public static final int REAL_DIV = 11;
+    public static final int REAL_MOD = 12;
+
+    /** Joins the Strings in the last two operands' registers into the first operand's register. */
+    public static final int CONCATENATE = 13;
+
+    public static final int INTEGER_GTHAN = 14;
+    public static final int INTEGER_LTHAN = 15;
+    public static final int INTEGER_GETO = 16;
+    public static final int INTEGER_LETO = 17;
+    /** Compares two integers, characters or booleans. */
+    public static final int INTEGER_EQUAL = 18;
+    /** Compares two integers, characters or booleans. */
+    public static final int INTEGER_NEQUAL = 19;
+
+    public static final int REAL_GTHAN = 20;
+    public static final int REAL_LTHAN = 21;
+    public static final int REAL_GETO = 22;
+    public static final int REAL_LETO = 23;
+    public static final int REAL_EQUAL = 24;
+    public static final int REAL_NEQUAL = 25;
+
+    public static final int STRING_EQUAL = 26;
+    public static final int STRING_NEQUAL = 27;
+
+    /** Writes the opposite of the boolean in the second operand's register into the first operand's register. */
+    public static final int NOT = 28;
+    public static final int AND = 29;
+    public static final int OR = 30;
+
+    /** Continues at the operand's index in the code array. */
+    public static final int JUMP = 31;
+    /** Continues at the second operand's index if the boolean in the first operand's register is false. */
+    public static final int JUMP_IF_FALSE = 32;
+    /** Continues at the second operand's index if the boolean in the first operand's register is true. */
+    public static final int JUMP_IF_TRUE = 33;
+    /** Continues at the third operand's index if the integer in the first operand's register is greater. */
+    public static final int JUMP_IF_INTEGER_GTHAN = 34;
+    public static final int JUMP_IF_INTEGER_LTHAN = 35;
+    public static final int JUMP_IF_INTEGER_GETO = 36;
+    public static final int JUMP_IF_INTEGER_LETO = 37;
+    public static final int JUMP_IF_INTEGER_EQUAL = 38;
+    public static final int JUMP_IF_INTEGER_NEQUAL = 39;
+
+    /**
+     * Writes into the first operand's register the integer at the index in the third operand's register of the array
+     * in the second operand's register.
+     */
+    public static final int INTEGER_ARRAY_LOAD = 40;
+    /** Writes the float bits of a real element, indexed like INTEGER_ARRAY_LOAD. */
+    public static final int REAL_ARRAY_LOAD = 41;
+    public static final int CHARACTER_ARRAY_LOAD = 42;
+    public static final int BOOLEAN_ARRAY_LOAD = 43;
+    /** Writes a String element into the first operand's reference register, indexed like INTEGER_ARRAY_LOAD. */
+    public static final int STRING_ARRAY_LOAD = 44;
+    /**
+     * Stores the integer in the third operand's register at the index in the second operand's register of the array
+     * in the first operand's register.
+     */
+    public static final int INTEGER_ARRAY_STORE = 45;
+    public static final int REAL_ARRAY_STORE = 46;
+    public static final int CHARACTER_ARRAY_STORE = 47;
+    public static final int BOOLEAN_ARRAY_STORE = 48;
+    public static final int STRING_ARRAY_STORE = 49;
+
+    /**
+     * Calls the CallSite at the first operand's index in the constant pool, with its arguments in the registers
+     * starting at the second operand.
+     */
+    public static final int CALL = 50;
+    /** Throws the SyntaxErrorException at the operand's index in the constant pool. */
+    public static final int FAIL = 51;
+    public static final int RETURN = 52;
+
+    private static final String[] NAMES = {"MOVE", "REFERENCE_MOVE", "INCREMENT",
+                                           "INTEGER_ADD", "INTEGER_SUB", "INTEGER_MULT", "INTEGER_DIV", "INTEGER_MOD",
+                                           "REAL_ADD", "REAL_SUB", "REAL_MULT", "REAL_DIV", "REAL_MOD",
+                                           "CONCATENATE",
+                                           "INTEGER_GTHAN", "INTEGER_LTHAN", "INTEGER_GETO", "INTEGER_LETO",
+                                           "INTEGER_EQUAL", "INTEGER_NEQUAL",
+                                           "REAL_GTHAN", "REAL_LTHAN", "REAL_GETO", "REAL_LETO",
+                                           "REAL_EQUAL", "REAL_NEQUAL",
+                                           "STRING_EQUAL", "STRING_NEQUAL",
+                                           "NOT", "AND", "OR",
+                                           "JUMP", "JUMP_IF_FALSE", "JUMP_IF_TRUE",
+                                           "JUMP_IF_INTEGER_GTHAN", "JUMP_IF_INTEGER_LTHAN", "JUMP_IF_INTEGER_GETO",
+                                           "JUMP_IF_INTEGER_LETO", "JUMP_IF_INTEGER_EQUAL", "JUMP_IF_INTEGER_NEQUAL",
+                                           "INTEGER_ARRAY_LOAD", "REAL_ARRAY_LOAD", "CHARACTER_ARRAY_LOAD",
+                                           "BOOLEAN_ARRAY_LOAD", "STRING_ARRAY_LOAD",
+                                           "INTEGER_ARRAY_STORE", "REAL_ARRAY_STORE", "CHARACTER_ARRAY_STORE",
+                                           "BOOLEAN_ARRAY_STORE", "STRING_ARRAY_STORE",
+                                           "CALL", "FAIL", "RETURN"};
+
+    private static final int[] OPERAND_COUNTS = {2, 2, 1,
+                                                 3, 3, 3, 3, 3,
+                                                 3, 3, 3, 3, 3,
+                                                 3,
+                                                 3, 3, 3, 3,
+                                                 3, 3,
+                                                 3, 3, 3, 3,
+                                                 3, 3,
+                                                 3, 3,
+                                                 2, 3, 3,
+                                                 1, 2, 2,
+                                                 3, 3, 3,
+                                                 3, 3, 3,
+                                                 3, 3, 3,
+                                                 3, 3,
+                                                 3, 3, 3,
+                                                 3, 3,
+                                                 2, 1, 0};
+
+    private RegisterOpCode()
+    {}
+
+    /**
+     * Returns the readable name of the incoming instruction.
+     *
+     * @param instruction Incoming instruction.
+     * @return Name of instruction.
+     */
+    public static String getName(int instruction)
+    {
+        return NAMES[instruction];
+    }
+
+    /**
+     * Returns how many operands follow the incoming instruction in a code array.
+     *
+     * @param instruction Incoming instruction.
+     * @return Number of operands following instruction.
+     */
+    public static int getOperandCount(int instruction)
+    {
+        return OPERAND_COUNTS[instruction];
+    }
+
+    /**
+     * Checks and returns if the first operand of the incoming instruction is the register it writes its result into.
+     *
+     * @param instruction Incoming instruction.
+     * @return True if instruction writes a result into its first operand's register.
+     */
+    public static boolean isWritingFirstOperand(int instruction)
+    {
+        return instruction == MOVE || instruction == REFERENCE_MOVE
+                || (instruction >= INTEGER_ADD && instruction <= OR)
+                || (instruction >= INTEGER_ARRAY_LOAD && instruction <= STRING_ARRAY_LOAD);
+    }
+}
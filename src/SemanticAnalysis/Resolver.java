@@ -0,0 +1,329 @@
+/**
+ * Assigns every parameter, variable, constant and for loop iterator a fixed slot in its function's frame,
+ * and points every variable reference at the slot of the variable it names.
+ * Frames can then be plain arrays indexed by slot instead of maps from names.
+ * Names are looked up by their symbol in the program's SymbolTable, so resolving never hashes a String.
+ */
+
+package SemanticAnalysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import CrossStageTools.SymbolTable;
+import CrossStageTools.Nodes.*;
+import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.*;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.ForNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.IfNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.RepeatNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.WhileNode;
+import Exceptions.NonexistantVariableException;
+import Exceptions.SyntaxErrorException;
+import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
+
+public class Resolver
+{
+    private final ProgramNode program;
+
+    private final SymbolTable symbolTable;
+
+    private int[] slotsBySymbol, declaredSymbols;
+
+    private int nextSlot, declaredCount;
+
+    /**
+     * Creates a Resolver for the incoming ProgramNode, which must already be parsed.
+     *
+     * @param parsedProgram Incoming ProgramNode.
+     */
+    public Resolver(ProgramNode parsedProgram)
+    {
+        program = parsedProgram;
+        symbolTable = parsedProgram.getSymbolTable();
+
+        slotsBySymbol = new int[Math.max(symbolTable.size(), 16)];
+        Arrays.fill(slotsBySymbol, -1);
+        declaredSymbols = new int[16];
+    }
+
+    /**
+     * Resolves every user defined function in the ProgramNode whose body is parsed.
+     *
+     * @throws SyntaxErrorException If a variable is referenced that its function never declares.
+     */
+    public void resolve() throws SyntaxErrorException
+    {
+        FunctionNode[] functions = new FunctionNode[program.getFunctionMap().size()];
+
+        program.getFunctionMap().values().toArray(functions);
+
+        for (int i = 0; i < functions.length; i++)
+        {
+            if (!(functions[i] instanceof BuiltInFunctionNode) && !functions[i].isBodyPending())
+            {
+                resolveFunction(functions[i]);
+            }
+        }
+    }
+
+    /**
+     * Assigns slots to the parameters, variables and constants of the incoming FunctionNode, then resolves its
+     * statements and records how large its frame must be.
+     * Parameters come first so their slots line up with the order of arguments in a call.
+     *
+     * @param function Incoming FunctionNode.
+     * @throws SyntaxErrorException If a variable is referenced that function never declares.
+     */
+    public void resolveFunction(FunctionNode function) throws SyntaxErrorException
+    {
+        for (int i = 0; i < declaredCount; i++)
+        {
+            slotsBySymbol[declaredSymbols[i]] = -1;
+        }
+        declaredCount = 0;
+        nextSlot = 0;
+
+        ArrayList<VariableNode> parameters = function.getParameterList();
+        ArrayList<VariableNode> variables = function.getVariableList();
+
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            declare(parameters.get(i));
+        }
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            resolveRange(variables.get(i));
+            declare(variables.get(i));
+        }
+
+        resolveStatements(function.getStatementList());
+
+        function.setFrameSize(nextSlot);
+    }
+
+    /**
+     * Gives the incoming VariableNode a slot. A name declared more than once keeps the slot it was first given,
+     * so the later declaration replaces the earlier one, as it would in a map.
+     *
+     * @param variable Incoming VariableNode.
+     */
+    private void declare(VariableNode variable)
+    {
+        int symbol = getSymbol(variable.getSymbol(), variable.getName());
+        int slot = getSlot(symbol);
+
+        if (slot == -1)
+        {
+            slot = nextSlot++;
+            setSlot(symbol, slot);
+        }
+
+        variable.setSlot(slot);
+    }
+
+    /**
+     * Returns the incoming symbol, or interns the incoming name if the symbol is -1 because its node was not made
+     * by the Parser.
+     *
+     * @param symbol Incoming symbol.
+     * @param name Incoming name.
+     * @return Symbol of name.
+     */
+    private int getSymbol(int symbol, String name)
+    {
+        return symbol != -1 ? symbol : symbolTable.intern(name);
+    }
+
+    /**
+     * Returns the slot of the variable whose name has the incoming symbol in the function being resolved.
+     *
+     * @param symbol Incoming symbol.
+     * @return Slot of the variable, -1 if no such variable is in scope.
+     */
+    private int getSlot(int symbol)
+    {
+        return symbol < slotsBySymbol.length ? slotsBySymbol[symbol] : -1;
+    }
+
+    /**
+     * Puts the variable whose name has the incoming symbol in scope with the incoming slot,
+     * or out of scope if the slot is -1.
+     *
+     * @param symbol Incoming symbol.
+     * @param slot Incoming slot.
+     */
+    private void setSlot(int symbol, int slot)
+    {
+        if (symbol >= slotsBySymbol.length)
+        {
+            int oldLength = slotsBySymbol.length;
+
+            slotsBySymbol = Arrays.copyOf(slotsBySymbol, Math.max(oldLength * 2, symbol + 1));
+            Arrays.fill(slotsBySymbol, oldLength, slotsBySymbol.length, -1);
+        }
+
+        if (slot != -1)
+        {
+            if (declaredCount == declaredSymbols.length)
+            {
+                declaredSymbols = Arrays.copyOf(declaredSymbols, declaredCount * 2);
+            }
+            declaredSymbols[declaredCount++] = symbol;
+        }
+
+        slotsBySymbol[symbol] = slot;
+    }
+
+    /**
+     * Resolves the range expressions of the incoming VariableNode, if it has any.
+     *
+     * @param variable Incoming VariableNode.
+     * @throws SyntaxErrorException If either range expression references an undeclared variable.
+     */
+    private void resolveRange(VariableNode variable) throws SyntaxErrorException
+    {
+        if (variable.getLowerRange() != null)
+        {
+            resolveExpression(variable.getLowerRange());
+        }
+        if (variable.getHigherRange() != null)
+        {
+            resolveExpression(variable.getHigherRange());
+        }
+    }
+
+    /**
+     * Resolves each StatementNode in the incoming ArrayList.
+     *
+     * @param statements Incoming StatementNode ArrayList.
+     * @throws SyntaxErrorException If any statement references an undeclared variable.
+     */
+    private void resolveStatements(ArrayList<StatementNode> statements) throws SyntaxErrorException
+    {
+        for (int i = 0; i < statements.size(); i++)
+        {
+            resolveStatement(statements.get(i));
+        }
+    }
+
+    /**
+     * Resolves the variable references inside the incoming StatementNode.
+     *
+     * @param statement Incoming StatementNode.
+     * @throws SyntaxErrorException If statement references an undeclared variable.
+     */
+    private void resolveStatement(StatementNode statement) throws SyntaxErrorException
+    {
+        if (statement instanceof IfNode)
+        {
+            for (IfNode ifBlock = (IfNode)statement; ifBlock != null; ifBlock = ifBlock.getNext())
+            {
+                if (!ifBlock.isElse())
+                {
+                    resolveExpression(ifBlock.getConditional());
+                }
+                resolveStatements(ifBlock.getStatements());
+            }
+        }
+        else if (statement instanceof WhileNode)
+        {
+            resolveExpression(((WhileNode)statement).getConditional());
+            resolveStatements(((WhileNode)statement).getStatements());
+        }
+        else if (statement instanceof RepeatNode)
+        {
+            resolveExpression(((RepeatNode)statement).getConditional());
+            resolveStatements(((RepeatNode)statement).getStatements());
+        }
+        else if (statement instanceof ForNode)
+        {
+            resolveFor((ForNode)statement);
+        }
+        else if (statement instanceof AssignmentNode)
+        {
+            resolveExpression(((AssignmentNode)statement).getTarget());
+            resolveExpression(((AssignmentNode)statement).getValue());
+        }
+        else if (statement instanceof FunctionCallNode)
+        {
+            ArrayList<ArgumentNode> arguments = ((FunctionCallNode)statement).getArguments();
+
+            for (int i = 0; i < arguments.size(); i++)
+            {
+                resolveExpression(arguments.get(i).isConstant() ?
+                        arguments.get(i).getConstant() : arguments.get(i).getVariableReference());
+            }
+        }
+    }
+
+    /**
+     * Resolves the incoming ForNode. An iterator that is not a declared variable gets a slot of its own,
+     * and its name is only visible inside the loop.
+     *
+     * @param forBlock Incoming ForNode.
+     * @throws SyntaxErrorException If the loop's bounds or statements reference an undeclared variable.
+     */
+    private void resolveFor(ForNode forBlock) throws SyntaxErrorException
+    {
+        VariableReferenceNode iterator = forBlock.getIterator();
+
+        resolveExpression(forBlock.getFromNode());
+        resolveExpression(forBlock.getToNode());
+
+        int symbol = getSymbol(iterator.getSymbol(), iterator.getName());
+        boolean isDeclared = getSlot(symbol) != -1;
+
+        if (!isDeclared)
+        {
+            setSlot(symbol, nextSlot++);
+        }
+
+        iterator.setSlot(getSlot(symbol));
+
+        resolveStatements(forBlock.getStatements());
+
+        if (!isDeclared)
+        {
+            setSlot(symbol, -1);
+        }
+    }
+
+    /**
+     * Resolves every VariableReferenceNode inside the incoming expression ASTNode.
+     *
+     * @param expression Incoming ASTNode.
+     * @throws SyntaxErrorException If expression references an undeclared variable.
+     */
+    private void resolveExpression(ASTNode expression) throws SyntaxErrorException
+    {
+        if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+            int slot = getSlot(getSymbol(reference.getSymbol(), reference.getName()));
+
+            if (slot == -1)
+            {
+                throw new NonexistantVariableException(reference.getName(), reference.getLineNumber());
+            }
+
+            reference.setSlot(slot);
+
+            if (reference.getArrayExpression() != null)
+            {
+                resolveExpression(reference.getArrayExpression());
+            }
+        }
+        else if (expression instanceof MathOpNode)
+        {
+            resolveExpression(((MathOpNode)expression).getLeftOperand());
+            resolveExpression(((MathOpNode)expression).getRightOperand());
+        }
+        else if (expression instanceof BooleanCompareNode)
+        {
+            resolveExpression(((BooleanCompareNode)expression).getLeftComparand());
+            resolveExpression(((BooleanCompareNode)expression).getRightComparand());
+        }
+    }
+}
@@ -0,0 +1,427 @@
+/**
+ * Gives every expression in a resolved program the static type its value always has, taken from the types its
+ * variables and parameters are declared with, and rejects the program before it runs if any of those types do not
+ * fit together. Each engine can then rely on an expression's static type instead of checking its operands' types
+ * every time it is evaluated.
+ */
+
+package SemanticAnalysis;
+
+import java.util.ArrayList;
+
+import CrossStageTools.Nodes.*;
+import CrossStageTools.Nodes.DataTypeNodes.DataTypeNode;
+import CrossStageTools.Nodes.DataTypeNodes.IntegerNode;
+import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.*;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.ForNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.IfNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.RepeatNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.WhileNode;
+import CrossStageTools.tokenType;
+import Exceptions.InvalidArgumentsException;
+import Exceptions.SyntaxErrorException;
+import Exceptions.UnchangeableVariableException;
+import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
+
+public class TypeChecker
+{
+    private final ProgramNode program;
+
+    private tokenType[] slotTypes, slotArrayTypes;
+
+    private boolean[] isConstantSlot;
+
+    /**
+     * Creates a TypeChecker for the incoming ProgramNode, which must already be resolved and hold its builtin
+     * functions, so every call can be checked against the function it calls.
+     *
+     * @param resolvedProgram Incoming ProgramNode.
+     */
+    public TypeChecker(ProgramNode resolvedProgram)
+    {
+        program = resolvedProgram;
+    }
+
+    /**
+     * Type checks every user defined function in the ProgramNode whose body is parsed.
+     *
+     * @throws SyntaxErrorException If any expression, assignment, loop or call has types that do not fit together.
+     */
+    public void check() throws SyntaxErrorException
+    {
+        FunctionNode[] functions = new FunctionNode[program.getFunctionMap().size()];
+
+        program.getFunctionMap().values().toArray(functions);
+
+        for (int i = 0; i < functions.length; i++)
+        {
+            if (!(functions[i] instanceof BuiltInFunctionNode) && !functions[i].isBodyPending())
+            {
+                checkFunction(functions[i]);
+            }
+        }
+    }
+
+    /**
+     * Records the declared type of every slot of the incoming FunctionNode, then type checks its statements.
+     * A parameter's type replaces that of a variable declared with the same name, since they share a slot.
+     *
+     * @param function Incoming FunctionNode.
+     * @throws SyntaxErrorException If any statement of function has types that do not fit together.
+     */
+    public void checkFunction(FunctionNode function) throws SyntaxErrorException
+    {
+        ArrayList<VariableNode> parameters = function.getParameterList();
+        ArrayList<VariableNode> variables = function.getVariableList();
+
+        slotTypes = new tokenType[function.getFrameSize()];
+        slotArrayTypes = new tokenType[function.getFrameSize()];
+        isConstantSlot = new boolean[function.getFrameSize()];
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            if (variables.get(i).getType() == tokenType.ARRAY)
+            {
+                checkBounds(variables.get(i));
+            }
+
+            slotTypes[variables.get(i).getSlot()] = variables.get(i).getType();
+            slotArrayTypes[variables.get(i).getSlot()] = variables.get(i).getArrayType();
+            isConstantSlot[variables.get(i).getSlot()] = !variables.get(i).isChangeable();
+        }
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            slotTypes[parameters.get(i).getSlot()] = parameters.get(i).getType();
+            slotArrayTypes[parameters.get(i).getSlot()] = parameters.get(i).getArrayType();
+            isConstantSlot[parameters.get(i).getSlot()] = false;
+        }
+
+        checkStatements(function.getStatementList());
+    }
+
+    /**
+     * Checks that the bounds of the incoming array VariableNode are integers known before the program runs,
+     * with the lower bound no higher than the higher bound, so its elements can be allocated up front.
+     *
+     * @param array Incoming VariableNode.
+     * @throws SyntaxErrorException If the bounds of array are not integer constants in order.
+     */
+    private void checkBounds(VariableNode array) throws SyntaxErrorException
+    {
+        if (!(array.getLowerRange() instanceof IntegerNode) || !(array.getHigherRange() instanceof IntegerNode)
+                || ((IntegerNode)array.getLowerRange()).getData() > ((IntegerNode)array.getHigherRange()).getData())
+        {
+            throw new SyntaxErrorException("The bounds of array " + array.getName() + " on line "
+                    + array.getLineNumber() + " must be integer constants, from lowest to highest.");
+        }
+    }
+
+    /**
+     * Type checks each StatementNode in the incoming ArrayList.
+     *
+     * @param statements Incoming StatementNode ArrayList.
+     * @throws SyntaxErrorException If any statement has types that do not fit together.
+     */
+    private void checkStatements(ArrayList<StatementNode> statements) throws SyntaxErrorException
+    {
+        for (int i = 0; i < statements.size(); i++)
+        {
+            checkStatement(statements.get(i));
+        }
+    }
+
+    /**
+     * Type checks the incoming StatementNode and every expression inside it.
+     *
+     * @param statement Incoming StatementNode.
+     * @throws SyntaxErrorException If statement has types that do not fit together.
+     */
+    private void checkStatement(StatementNode statement) throws SyntaxErrorException
+    {
+        if (statement instanceof IfNode)
+        {
+            for (IfNode ifBlock = (IfNode)statement; ifBlock != null; ifBlock = ifBlock.getNext())
+            {
+                if (!ifBlock.isElse())
+                {
+                    checkExpression(ifBlock.getConditional());
+                }
+                checkStatements(ifBlock.getStatements());
+            }
+        }
+        else if (statement instanceof WhileNode)
+        {
+            checkExpression(((WhileNode)statement).getConditional());
+            checkStatements(((WhileNode)statement).getStatements());
+        }
+        else if (statement instanceof RepeatNode)
+        {
+            checkExpression(((RepeatNode)statement).getConditional());
+            checkStatements(((RepeatNode)statement).getStatements());
+        }
+        else if (statement instanceof ForNode)
+        {
+            checkFor((ForNode)statement);
+        }
+        else if (statement instanceof AssignmentNode)
+        {
+            checkAssignment((AssignmentNode)statement);
+        }
+        else if (statement instanceof FunctionCallNode)
+        {
+            checkFunctionCall((FunctionCallNode)statement);
+        }
+    }
+
+    /**
+     * Type checks the incoming ForNode. An iterator that is not a declared variable holds an integer.
+     *
+     * @param forBlock Incoming ForNode.
+     * @throws SyntaxErrorException If the loop does not count with integers, or its statements are ill typed.
+     */
+    private void checkFor(ForNode forBlock) throws SyntaxErrorException
+    {
+        int iteratorSlot = forBlock.getIterator().getSlot();
+
+        if (slotTypes[iteratorSlot] == null)
+        {
+            slotTypes[iteratorSlot] = tokenType.INTEGER;
+        }
+
+        tokenType iteratorType = checkExpression(forBlock.getIterator());
+        tokenType fromType = checkExpression(forBlock.getFromNode());
+        tokenType toType = checkExpression(forBlock.getToNode());
+
+        if (iteratorType != tokenType.INTEGER || fromType != tokenType.INTEGER || toType != tokenType.INTEGER)
+        {
+            throw new SyntaxErrorException("The for loop on line " + forBlock.getLineNumber()
+                    + " must count with integers.");
+        }
+
+        checkStatements(forBlock.getStatements());
+    }
+
+    /**
+     * Type checks the incoming AssignmentNode.
+     *
+     * @param assignment Incoming AssignmentNode.
+     * @throws SyntaxErrorException If its target is a constant or holds a different type than its value.
+     */
+    private void checkAssignment(AssignmentNode assignment) throws SyntaxErrorException
+    {
+        VariableReferenceNode target = assignment.getTarget();
+        int line = assignment.getLineNumber();
+
+        if (isConstantSlot[target.getSlot()])
+        {
+            throw new UnchangeableVariableException(target.getName(), line);
+        }
+
+        tokenType targetType = checkExpression(target);
+        tokenType valueType = checkExpression(assignment.getValue());
+
+        if (targetType == tokenType.ARRAY)
+        {
+            throw new SyntaxErrorException("Array " + target.getName() + " on line " + line
+                    + " cannot be assigned, only its elements can.");
+        }
+        if (targetType != valueType)
+        {
+            throw new SyntaxErrorException("Variable " + target.getName() + " on line " + line + " holds a "
+                    + targetType + " and cannot be assigned a " + valueType + ".");
+        }
+    }
+
+    /**
+     * Type checks the arguments of the incoming FunctionCallNode against the parameters of the function it calls.
+     * An array argument must hold elements of the type its parameter declares, if it declares one.
+     * A var argument given for a var parameter must not be a constant. Builtin functions ignore arguments that do not
+     * fit what they declare, so each of their var parameters must also be given a var argument and each other
+     * parameter must not. Variadic builtin functions take any number of arguments of any type but array.
+     *
+     * @param call Incoming FunctionCallNode.
+     * @throws SyntaxErrorException If the function does not exist or is given the wrong arguments.
+     */
+    private void checkFunctionCall(FunctionCallNode call) throws SyntaxErrorException
+    {
+        FunctionNode function = program.getFunction(call.getSymbol());
+        ArrayList<ArgumentNode> arguments = call.getArguments();
+        int line = call.getLineNumber();
+
+        if (function == null)
+        {
+            throw new SyntaxErrorException("No function called " + call.getName() + " exists, but it is called on line "
+                    + line + ".");
+        }
+
+        ArrayList<VariableNode> parameters = function.getParameterList();
+
+        if (!function.isVariadic() && parameters.size() != arguments.size())
+        {
+            throw new InvalidArgumentsException(call.getName(), line);
+        }
+
+        for (int i = 0; i < arguments.size(); i++)
+        {
+            ArgumentNode argument = arguments.get(i);
+            tokenType argumentType = checkExpression(argument.isConstant() ?
+                    argument.getConstant() : argument.getVariableReference());
+
+            if (function.isVariadic())
+            {
+                if (argumentType == tokenType.ARRAY)
+                {
+                    throw new SyntaxErrorException("Function " + call.getName()
+                            + " cannot be given an array as argument " + (i + 1) + " on line " + line + ".");
+                }
+                continue;
+            }
+
+            VariableNode parameter = parameters.get(i);
+            tokenType argumentArrayType = argumentType == tokenType.ARRAY ? findArrayType(argument) : null;
+
+            if (parameter.getType() != argumentType
+                    || (parameter.getArrayType() != null && parameter.getArrayType() != argumentArrayType))
+            {
+                throw new SyntaxErrorException("Function " + call.getName() + " expects a "
+                        + describeType(parameter.getType(), parameter.getArrayType()) + " as argument " + (i + 1)
+                        + ", but is given a " + describeType(argumentType, argumentArrayType) + " on line " + line
+                        + ".");
+            }
+            if (function instanceof BuiltInFunctionNode && parameter.isChangeable() == argument.isConstant())
+            {
+                throw new SyntaxErrorException("Function " + call.getName() + " expects argument " + (i + 1)
+                        + (parameter.isChangeable() ? " to be" : " not to be") + " a var argument on line " + line
+                        + ".");
+            }
+            if (parameter.isChangeable() && !argument.isConstant()
+                    && isConstantSlot[argument.getVariableReference().getSlot()])
+            {
+                throw new UnchangeableVariableException(argument.getVariableReference().getName(), line);
+            }
+        }
+    }
+
+    /**
+     * Returns the type of the elements of the array the incoming ArgumentNode passes, which is a reference to a whole
+     * array.
+     *
+     * @param argument Incoming ArgumentNode.
+     * @return Type of the elements of the array argument passes.
+     */
+    private tokenType findArrayType(ArgumentNode argument)
+    {
+        ASTNode reference = argument.isConstant() ? argument.getConstant() : argument.getVariableReference();
+
+        return slotArrayTypes[((VariableReferenceNode)reference).getSlot()];
+    }
+
+    /**
+     * Returns the incoming tokenType as it is written in error messages, followed by the incoming type of its elements
+     * if it is an array whose elements have a known type.
+     *
+     * @param type Incoming tokenType.
+     * @param arrayType Incoming type of the elements, null if there are none or they can be of any type.
+     * @return type as written in error messages.
+     */
+    private static String describeType(tokenType type, tokenType arrayType)
+    {
+        return arrayType == null ? type.toString() : type + " of " + arrayType;
+    }
+
+    /**
+     * Finds the static type of the incoming expression ASTNode and every expression inside it,
+     * records it in each of them and returns it.
+     *
+     * @param expression Incoming ASTNode.
+     * @return Static type of expression.
+     * @throws SyntaxErrorException If the types inside expression do not fit together.
+     */
+    private tokenType checkExpression(ASTNode expression) throws SyntaxErrorException
+    {
+        tokenType type = findType(expression);
+
+        expression.setStaticType(type);
+
+        return type;
+    }
+
+    /**
+     * Returns the static type of the incoming expression ASTNode, after checking every expression inside it.
+     * A math operation has the type of its operands, an indexed array has the type of its elements,
+     * a reference to a whole array is an array, which only a function call can be given, and a comparison is a
+     * boolean.
+     *
+     * @param expression Incoming ASTNode.
+     * @return Static type of expression.
+     * @throws SyntaxErrorException If the types inside expression do not fit together.
+     */
+    private tokenType findType(ASTNode expression) throws SyntaxErrorException
+    {
+        int line = expression.getLineNumber();
+
+        if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+            tokenType type = slotTypes[reference.getSlot()];
+
+            if (reference.getArrayExpression() != null)
+            {
+                if (type != tokenType.ARRAY)
+                {
+                    throw new SyntaxErrorException("Variable " + reference.getName() + " on line " + line
+                            + " is not an array, but is indexed.");
+                }
+                if (checkExpression(reference.getArrayExpression()) != tokenType.INTEGER)
+                {
+                    throw new SyntaxErrorException("Array " + reference.getName() + " on line " + line
+                            + " must be indexed with an integer.");
+                }
+
+                return slotArrayTypes[reference.getSlot()];
+            }
+
+            return type;
+        }
+        else if (expression instanceof MathOpNode)
+        {
+            MathOpNode mathOp = (MathOpNode)expression;
+
+            tokenType leftType = checkExpression(mathOp.getLeftOperand());
+            tokenType rightType = checkExpression(mathOp.getRightOperand());
+
+            if (leftType == tokenType.STRING && rightType == tokenType.STRING
+                    && mathOp.getOpType() != MathOpNode.operationType.ADD)
+            {
+                throw new SyntaxErrorException("No valid String operation found on line " + line + ".");
+            }
+            if (leftType != rightType || (leftType != tokenType.INTEGER && leftType != tokenType.REAL
+                                          && leftType != tokenType.STRING))
+            {
+                throw new SyntaxErrorException("No valid operation found on line " + line + ".");
+            }
+
+            return leftType;
+        }
+        else if (expression instanceof BooleanCompareNode)
+        {
+            BooleanCompareNode comparison = (BooleanCompareNode)expression;
+
+            tokenType leftType = checkExpression(comparison.getLeftComparand());
+            tokenType rightType = checkExpression(comparison.getRightComparand());
+
+            if (leftType != rightType || leftType == tokenType.ARRAY)
+            {
+                throw new SyntaxErrorException("No valid boolean comparison found on line " + line + ".");
+            }
+
+            return tokenType.BOOLEAN;
+        }
+        else if (expression instanceof DataTypeNode && expression.getType() != tokenType.ARRAY)
+        {
+            return expression.getType();
+        }
+        else throw new SyntaxErrorException("No valid expression on line " + line + ".");
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Describes an assignment. When the target already holds an integer or a real, the value is asked for as an
+ * unboxed int or float and copied straight into the target's IDT.
+ */
+
+package SpecializingInterpreter;
+
+import Exceptions.NonexistantVariableException;
+import Exceptions.SyntaxErrorException;
+import Exceptions.UnchangeableVariableException;
+import Interpreter.InterpreterDataTypes.*;
+
+final class AssignmentStatement extends Statement
+{
+    private final String targetName;
+
+    private final int targetSlot, lineNumber;
+
+    private ExpressionNode value;
+
+    /**
+     * Creates an AssignmentStatement storing the incoming ExpressionNode into the variable with the incoming name
+     * and slot.
+     *
+     * @param incomingTargetName Incoming name.
+     * @param incomingTargetSlot Incoming slot.
+     * @param incomingValue Incoming ExpressionNode.
+     * @param line Incoming line number.
+     */
+    AssignmentStatement(String incomingTargetName, int incomingTargetSlot, ExpressionNode incomingValue, int line)
+    {
+        targetName = incomingTargetName;
+        targetSlot = incomingTargetSlot;
+        value = adopt(incomingValue);
+        lineNumber = line;
+    }
+
+    @Override
+    void execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        InterpreterDataType target = frame[targetSlot];
+
+        if (target == null)
+        {
+            throw new NonexistantVariableException(targetName, lineNumber);
+        }
+        if (!target.isChangeable())
+        {
+            throw new UnchangeableVariableException(targetName, lineNumber);
+        }
+
+        try
+        {
+            if (target instanceof IntegerDataType)
+            {
+                ((IntegerDataType)target).setData(value.executeInteger(frame));
+            }
+            else if (target instanceof RealDataType)
+            {
+                ((RealDataType)target).setData(value.executeReal(frame));
+            }
+            else assign(frame, target, value.execute(frame));
+        }
+        catch (UnexpectedTypeException e)
+        {
+            assign(frame, target, e.getValue());
+        }
+    }
+
+    @Override
+    void replaceChild(Node oldChild, Node newChild)
+    {
+        value = (ExpressionNode)newChild;
+    }
+
+    /**
+     * Copies the incoming value into the incoming IDT if it holds the same type, otherwise replaces the IDT in the
+     * target's slot of the incoming frame with a new one holding the value.
+     *
+     * @param frame Incoming frame.
+     * @param target Incoming IDT.
+     * @param newValue Incoming value.
+     * @throws SyntaxErrorException If newValue is not a valid data type.
+     */
+    private void assign(InterpreterDataType[] frame, InterpreterDataType target, Object newValue)
+            throws SyntaxErrorException
+    {
+        if (target instanceof IntegerDataType && newValue instanceof Integer)
+        {
+            ((IntegerDataType)target).setData((Integer)newValue);
+        }
+        else if (target instanceof RealDataType && newValue instanceof Float)
+        {
+            ((RealDataType)target).setData((Float)newValue);
+        }
+        else if (target instanceof StringDataType && newValue instanceof String)
+        {
+            ((StringDataType)target).setData((String)newValue);
+        }
+        else if (target instanceof CharacterDataType && newValue instanceof Character)
+        {
+            ((CharacterDataType)target).setData((Character)newValue);
+        }
+        else if (target instanceof BooleanDataType && newValue instanceof Boolean)
+        {
+            ((BooleanDataType)target).setData((Boolean)newValue);
+        }
+        else frame[targetSlot] = SpecializingInterpreter.makeDataType(newValue, lineNumber, true);
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Describes an expression with a left and a right operand, which every math operation and comparison node extends
+ * so that specialized versions can take over the same children.
+ */
+
+package SpecializingInterpreter;
+
+abstract class BinaryNode extends ExpressionNode
+{
+    ExpressionNode left, right;
+
+    final int lineNumber;
+
+    /**
+     * Creates a BinaryNode with the former and latter incoming ExpressionNodes as its operands
+     * from the incoming line.
+     *
+     * @param incomingLeft Former incoming ExpressionNode.
+     * @param incomingRight Latter incoming ExpressionNode.
+     * @param line Incoming line number.
+     */
+    BinaryNode(ExpressionNode incomingLeft, ExpressionNode incomingRight, int line)
+    {
+        left = adopt(incomingLeft);
+        right = adopt(incomingRight);
+        lineNumber = line;
+    }
+
+    @Override
+    void replaceChild(Node oldChild, Node newChild)
+    {
+        if (left == oldChild)
+        {
+            left = (ExpressionNode)newChild;
+        }
+        else right = (ExpressionNode)newChild;
+    }
+}
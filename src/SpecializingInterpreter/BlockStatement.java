@@ -0,0 +1,37 @@
+/**
+ * Describes a list of statements run in order, such as the body of a function or loop.
+ */
+
+package SpecializingInterpreter;
+
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class BlockStatement extends Statement
+{
+    private final Statement[] statements;
+
+    /**
+     * Creates a BlockStatement running the incoming Statement array in order.
+     *
+     * @param incomingStatements Incoming Statement array.
+     */
+    BlockStatement(Statement[] incomingStatements)
+    {
+        statements = incomingStatements;
+
+        for (int i = 0; i < statements.length; i++)
+        {
+            adopt(statements[i]);
+        }
+    }
+
+    @Override
+    void execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        for (int i = 0; i < statements.length; i++)
+        {
+            statements[i].execute(frame);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Describes a call of a user defined or builtin function. The function is looked up the first time the call runs.
+ * Builtin functions check that only their var arguments are changeable, so every other argument they are given is
+ * not, while the parameters of a user defined function can always be assigned.
+ */
+
+package SpecializingInterpreter;
+
+import java.util.ArrayList;
+
+import CrossStageTools.Nodes.FunctionNode;
+import CrossStageTools.Nodes.VariableNode;
+import Exceptions.InvalidArgumentsException;
+import Exceptions.SyntaxErrorException;
+import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class CallStatement extends Statement
+{
+    private final SpecializingInterpreter interpreter;
+
+    private final String name;
+
+    private final ExpressionNode[] arguments;
+
+    private final int[] argumentSlots;
+
+    private final int lineNumber;
+
+    private FunctionNode function;
+
+    /**
+     * Creates a CallStatement calling the function with the incoming name through the incoming
+     * SpecializingInterpreter, with the incoming ExpressionNode array as its arguments. Each var argument's slot is
+     * given by the incoming int array, which holds -1 for every other argument.
+     *
+     * @param incomingInterpreter Incoming SpecializingInterpreter.
+     * @param incomingName Incoming name.
+     * @param incomingArguments Incoming ExpressionNode array.
+     * @param incomingArgumentSlots Incoming int array.
+     * @param line Incoming line number.
+     */
+    CallStatement(SpecializingInterpreter incomingInterpreter, String incomingName,
+                  ExpressionNode[] incomingArguments, int[] incomingArgumentSlots, int line)
+    {
+        interpreter = incomingInterpreter;
+        name = incomingName;
+        arguments = incomingArguments;
+        argumentSlots = incomingArgumentSlots;
+        lineNumber = line;
+
+        for (int i = 0; i < arguments.length; i++)
+        {
+            adopt(arguments[i]);
+        }
+    }
+
+    @Override
+    void execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        if (function == null)
+        {
+            function = interpreter.getFunction(name);
+
+            if (function == null)
+            {
+                throw new SyntaxErrorException("No function called " + name + " exists, but it is called on line "
+                        + lineNumber + ".");
+            }
+        }
+        ArrayList<VariableNode> parameters = function.getParameterList();
+
+        if (!function.isVariadic() && parameters != null && parameters.size() != arguments.length)
+        {
+            throw new InvalidArgumentsException(name, lineNumber);
+        }
+
+        ArrayList<InterpreterDataType> values = new ArrayList<>();
+        boolean isBuiltIn = function instanceof BuiltInFunctionNode;
+
+        for (int i = 0; i < arguments.length; i++)
+        {
+            values.add(SpecializingInterpreter.makeDataType(arguments[i].execute(frame), lineNumber,
+                                                          !isBuiltIn || argumentSlots[i] != -1));
+        }
+
+        InterpreterDataType[] returnedFrame = interpreter.call(function, values);
+
+        for (int i = 0; i < arguments.length; i++)
+        {
+            boolean hasParameter = parameters != null && i < parameters.size();
+
+            if (argumentSlots[i] == -1 || (hasParameter && !parameters.get(i).isChangeable()))
+            {
+                continue;
+            }
+            if (returnedFrame == null)
+            {
+                frame[argumentSlots[i]] = values.get(i);
+            }
+            else frame[argumentSlots[i]] = returnedFrame[parameters.get(i).getSlot()];
+        }
+    }
+
+    @Override
+    void replaceChild(Node oldChild, Node newChild)
+    {
+        for (int i = 0; i < arguments.length; i++)
+        {
+            if (arguments[i] == oldChild)
+            {
+                arguments[i] = (ExpressionNode)newChild;
+            }
+        }
+    }
+}
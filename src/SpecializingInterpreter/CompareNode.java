@@ -0,0 +1,55 @@
+/**
+ * Describes a comparison that has not run yet. The first time it runs, it replaces itself with an
+ * IntegerCompareNode or RealCompareNode if both comparands are of that type, otherwise with a GenericCompareNode.
+ */
+
+package SpecializingInterpreter;
+
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.BooleanCompareNode.comparisonType;
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class CompareNode extends BinaryNode
+{
+    private final comparisonType compType;
+
+    /**
+     * Creates a CompareNode performing the incoming comparisonType on the former and latter incoming ExpressionNodes
+     * from the incoming line.
+     *
+     * @param incomingLeft Former incoming ExpressionNode.
+     * @param incomingRight Latter incoming ExpressionNode.
+     * @param incomingCompType Incoming comparisonType.
+     * @param line Incoming line number.
+     */
+    CompareNode(ExpressionNode incomingLeft, ExpressionNode incomingRight, comparisonType incomingCompType, int line)
+    {
+        super(incomingLeft, incomingRight, line);
+        compType = incomingCompType;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        return executeBoolean(frame);
+    }
+
+    @Override
+    boolean executeBoolean(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        Object leftValue = left.execute(frame);
+        Object rightValue = right.execute(frame);
+
+        if (leftValue instanceof Integer && rightValue instanceof Integer)
+        {
+            replace(new IntegerCompareNode(left, right, compType, lineNumber));
+        }
+        else if (leftValue instanceof Float && rightValue instanceof Float)
+        {
+            replace(new RealCompareNode(left, right, compType, lineNumber));
+        }
+        else replace(new GenericCompareNode(left, right, compType, lineNumber));
+
+        return GenericCompareNode.perform(leftValue, rightValue, compType, lineNumber);
+    }
+}
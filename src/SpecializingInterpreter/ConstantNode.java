@@ -0,0 +1,28 @@
+/**
+ * Describes a constant in an expression, such as 5, 2.5, "text", 'c' or true.
+ */
+
+package SpecializingInterpreter;
+
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class ConstantNode extends ExpressionNode
+{
+    private final Object value;
+
+    /**
+     * Creates a ConstantNode with the incoming boxed value.
+     *
+     * @param incomingValue Incoming value.
+     */
+    ConstantNode(Object incomingValue)
+    {
+        value = incomingValue;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame)
+    {
+        return value;
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Describes an assignment to one element of an array. Integer and real values are asked for unboxed and written
+ * straight into the array's primitive storage.
+ */
+
+package SpecializingInterpreter;
+
+import CrossStageTools.tokenType;
+import Exceptions.NonexistantVariableException;
+import Exceptions.SyntaxErrorException;
+import Exceptions.UnchangeableVariableException;
+import Interpreter.InterpreterDataTypes.ArrayDataType;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class ElementAssignmentStatement extends Statement
+{
+    private final String targetName;
+
+    private final int targetSlot, lineNumber;
+
+    private ExpressionNode index, value;
+
+    /**
+     * Creates an ElementAssignmentStatement storing the latter incoming ExpressionNode into the element at the
+     * former incoming ExpressionNode's index of the array with the incoming name and slot.
+     *
+     * @param incomingTargetName Incoming name.
+     * @param incomingTargetSlot Incoming slot.
+     * @param incomingIndex Former incoming ExpressionNode.
+     * @param incomingValue Latter incoming ExpressionNode.
+     * @param line Incoming line number.
+     */
+    ElementAssignmentStatement(String incomingTargetName, int incomingTargetSlot, ExpressionNode incomingIndex,
+                               ExpressionNode incomingValue, int line)
+    {
+        targetName = incomingTargetName;
+        targetSlot = incomingTargetSlot;
+        index = adopt(incomingIndex);
+        value = adopt(incomingValue);
+        lineNumber = line;
+    }
+
+    @Override
+    void execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        if (frame[targetSlot] == null)
+        {
+            throw new NonexistantVariableException(targetName, lineNumber);
+        }
+
+        ArrayDataType target = expectArray(frame[targetSlot], targetName, lineNumber);
+
+        if (!target.isChangeable())
+        {
+            throw new UnchangeableVariableException(targetName, lineNumber);
+        }
+
+        int position = executeIndex(index, frame, targetName, lineNumber);
+        tokenType elementType = target.getTypeOfData();
+
+        try
+        {
+            if (elementType == tokenType.INTEGER)
+            {
+                target.setInteger(position, value.executeInteger(frame));
+            }
+            else if (elementType == tokenType.REAL)
+            {
+                target.setReal(position, value.executeReal(frame));
+            }
+            else assign(target, position, value.execute(frame));
+        }
+        catch (UnexpectedTypeException e)
+        {
+            assign(target, position, e.getValue());
+        }
+    }
+
+    @Override
+    void replaceChild(Node oldChild, Node newChild)
+    {
+        if (index == oldChild)
+        {
+            index = (ExpressionNode)newChild;
+        }
+        else value = (ExpressionNode)newChild;
+    }
+
+    /**
+     * Copies the incoming boxed value into the element at the incoming position of the incoming array.
+     *
+     * @param target Incoming array.
+     * @param position Incoming index.
+     * @param newValue Incoming value.
+     * @throws SyntaxErrorException If newValue is not of the array's element type.
+     */
+    private void assign(ArrayDataType target, int position, Object newValue) throws SyntaxErrorException
+    {
+        tokenType elementType = target.getTypeOfData();
+
+        if (elementType == tokenType.INTEGER && newValue instanceof Integer)
+        {
+            target.setInteger(position, (Integer)newValue);
+        }
+        else if (elementType == tokenType.REAL && newValue instanceof Float)
+        {
+            target.setReal(position, (Float)newValue);
+        }
+        else if (elementType == tokenType.STRING && newValue instanceof String)
+        {
+            target.setString(position, (String)newValue);
+        }
+        else if (elementType == tokenType.CHARACTER && newValue instanceof Character)
+        {
+            target.setCharacter(position, (Character)newValue);
+        }
+        else if (elementType == tokenType.BOOLEAN && newValue instanceof Boolean)
+        {
+            target.setBoolean(position, (Boolean)newValue);
+        }
+        else throw new SyntaxErrorException("Variable " + targetName + " on line " + lineNumber + " holds a "
+                + elementType + " and cannot be assigned " + newValue + ".");
+    }
+
+    /**
+     * Returns the incoming IDT as an ArrayDataType.
+     *
+     * @param idt Incoming IDT.
+     * @param name Incoming name of the variable holding idt.
+     * @param line Incoming line number.
+     * @return idt as an ArrayDataType.
+     * @throws SyntaxErrorException If idt is not an array.
+     */
+    static ArrayDataType expectArray(InterpreterDataType idt, String name, int line) throws SyntaxErrorException
+    {
+        if (idt instanceof ArrayDataType)
+        {
+            return (ArrayDataType)idt;
+        }
+        else throw new SyntaxErrorException("Variable " + name + " on line " + line
+                + " is not an array, but is indexed.");
+    }
+
+    /**
+     * Returns the value of the incoming index ExpressionNode in the incoming frame.
+     *
+     * @param index Incoming ExpressionNode.
+     * @param frame Incoming frame.
+     * @param name Incoming name of the indexed array.
+     * @param line Incoming line number.
+     * @return Value of index.
+     * @throws SyntaxErrorException If index is not an integer.
+     */
+    static int executeIndex(ExpressionNode index, InterpreterDataType[] frame, String name, int line)
+            throws SyntaxErrorException
+    {
+        try
+        {
+            return index.executeInteger(frame);
+        }
+        catch (UnexpectedTypeException e)
+        {
+            throw new SyntaxErrorException("Array " + name + " on line " + line + " must be indexed with an integer.");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Describes a read of one element of an array. The index is asked for as an unboxed int, and integer and real
+ * elements are handed to specialized parents unboxed, straight from the array's primitive storage.
+ */
+
+package SpecializingInterpreter;
+
+import CrossStageTools.tokenType;
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.ArrayDataType;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class ElementReadNode extends ExpressionNode
+{
+    private final String name;
+
+    private final int slot, lineNumber;
+
+    private ExpressionNode index;
+
+    /**
+     * Creates an ElementReadNode for the element at the incoming ExpressionNode's index of the array with the
+     * incoming name and slot.
+     *
+     * @param incomingName Incoming name.
+     * @param incomingSlot Incoming slot.
+     * @param incomingIndex Incoming ExpressionNode.
+     * @param line Incoming line number.
+     */
+    ElementReadNode(String incomingName, int incomingSlot, ExpressionNode incomingIndex, int line)
+    {
+        name = incomingName;
+        slot = incomingSlot;
+        index = adopt(incomingIndex);
+        lineNumber = line;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        ArrayDataType array = getArray(frame);
+        int position = executeIndex(frame);
+
+        switch (array.getTypeOfData())
+        {
+            case INTEGER   : return array.getInteger(position);
+            case REAL      : return array.getReal(position);
+            case CHARACTER : return array.getCharacter(position);
+            case BOOLEAN   : return array.getBoolean(position);
+            default        : return array.getString(position);
+        }
+    }
+
+    @Override
+    int executeInteger(InterpreterDataType[] frame) throws SyntaxErrorException, UnexpectedTypeException
+    {
+        ArrayDataType array = getArray(frame);
+
+        if (array.getTypeOfData() == tokenType.INTEGER)
+        {
+            return array.getInteger(executeIndex(frame));
+        }
+
+        throw new UnexpectedTypeException(execute(frame));
+    }
+
+    @Override
+    float executeReal(InterpreterDataType[] frame) throws SyntaxErrorException, UnexpectedTypeException
+    {
+        ArrayDataType array = getArray(frame);
+
+        if (array.getTypeOfData() == tokenType.REAL)
+        {
+            return array.getReal(executeIndex(frame));
+        }
+
+        throw new UnexpectedTypeException(execute(frame));
+    }
+
+    @Override
+    void replaceChild(Node oldChild, Node newChild)
+    {
+        index = (ExpressionNode)newChild;
+    }
+
+    /**
+     * Returns the array in this ElementReadNode's slot of the incoming frame.
+     *
+     * @param frame Incoming frame.
+     * @return Array read by this ElementReadNode.
+     * @throws SyntaxErrorException If the slot does not hold an array.
+     */
+    private ArrayDataType getArray(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        return ElementAssignmentStatement.expectArray(frame[slot], name, lineNumber);
+    }
+
+    /**
+     * Returns the index of the element read by this ElementReadNode in the incoming frame.
+     *
+     * @param frame Incoming frame.
+     * @return Index of the element.
+     * @throws SyntaxErrorException If the index is not an integer.
+     */
+    private int executeIndex(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        return ElementAssignmentStatement.executeIndex(index, frame, name, lineNumber);
+    }
+}
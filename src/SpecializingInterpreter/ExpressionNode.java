@@ -0,0 +1,99 @@
+/**
+ * Describes an executable expression. Values are boxed as Integer, Float, String, Character or Boolean
+ * when they are returned by execute, while executeInteger and executeReal let nodes specialized for those types
+ * pass values to each other unboxed.
+ */
+
+package SpecializingInterpreter;
+
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+abstract class ExpressionNode extends Node
+{
+    /**
+     * Returns the value of this expression in the incoming frame.
+     *
+     * @param frame Incoming frame.
+     * @return Boxed value of this expression.
+     * @throws SyntaxErrorException If this expression fails.
+     */
+    abstract Object execute(InterpreterDataType[] frame) throws SyntaxErrorException;
+
+    /**
+     * Returns the value of this expression in the incoming frame as an int.
+     *
+     * @param frame Incoming frame.
+     * @return Value of this expression.
+     * @throws SyntaxErrorException If this expression fails.
+     * @throws UnexpectedTypeException If the value is not an integer.
+     */
+    int executeInteger(InterpreterDataType[] frame) throws SyntaxErrorException, UnexpectedTypeException
+    {
+        return expectInteger(execute(frame));
+    }
+
+    /**
+     * Returns the value of this expression in the incoming frame as a float.
+     *
+     * @param frame Incoming frame.
+     * @return Value of this expression.
+     * @throws SyntaxErrorException If this expression fails.
+     * @throws UnexpectedTypeException If the value is not a real.
+     */
+    float executeReal(InterpreterDataType[] frame) throws SyntaxErrorException, UnexpectedTypeException
+    {
+        return expectReal(execute(frame));
+    }
+
+    /**
+     * Returns the value of this expression in the incoming frame as a boolean.
+     * Only used for conditionals, whose value is always a boolean.
+     *
+     * @param frame Incoming frame.
+     * @return Value of this expression.
+     * @throws SyntaxErrorException If this expression fails.
+     */
+    boolean executeBoolean(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        return (Boolean)execute(frame);
+    }
+
+    @Override
+    void replaceChild(Node oldChild, Node newChild)
+    {
+        throw new IllegalStateException("This node has no children.");
+    }
+
+    /**
+     * Returns the incoming value as an int if it is an Integer.
+     *
+     * @param value Incoming value.
+     * @return value as an int.
+     * @throws UnexpectedTypeException If value is not an Integer.
+     */
+    static int expectInteger(Object value) throws UnexpectedTypeException
+    {
+        if (value instanceof Integer)
+        {
+            return (Integer)value;
+        }
+        else throw new UnexpectedTypeException(value);
+    }
+
+    /**
+     * Returns the incoming value as a float if it is a Float.
+     *
+     * @param value Incoming value.
+     * @return value as a float.
+     * @throws UnexpectedTypeException If value is not a Float.
+     */
+    static float expectReal(Object value) throws UnexpectedTypeException
+    {
+        if (value instanceof Float)
+        {
+            return (Float)value;
+        }
+        else throw new UnexpectedTypeException(value);
+    }
+}
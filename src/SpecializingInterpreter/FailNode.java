@@ -0,0 +1,29 @@
+/**
+ * Describes an expression Interpreter cannot evaluate, which throws the error Interpreter would raise once reached.
+ */
+
+package SpecializingInterpreter;
+
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class FailNode extends ExpressionNode
+{
+    private final SyntaxErrorException error;
+
+    /**
+     * Creates a FailNode throwing the incoming SyntaxErrorException.
+     *
+     * @param incomingError Incoming SyntaxErrorException.
+     */
+    FailNode(SyntaxErrorException incomingError)
+    {
+        error = incomingError;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        throw error;
+    }
+}
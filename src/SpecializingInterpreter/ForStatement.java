@@ -0,0 +1,98 @@
+/**
+ * Describes a for block. Like Interpreter, the number of iterations is fixed when the loop starts,
+ * and the loop runs while its count is less than or equal to the cap.
+ */
+
+package SpecializingInterpreter;
+
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.IntegerDataType;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class ForStatement extends Statement
+{
+    private final int iteratorSlot, lineNumber;
+
+    private ExpressionNode from, to;
+
+    private final Statement body;
+
+    /**
+     * Creates a ForStatement counting the incoming slot from the former incoming ExpressionNode to the latter
+     * incoming ExpressionNode, running the incoming Statement each time.
+     *
+     * @param incomingIteratorSlot Incoming slot.
+     * @param incomingFrom Former incoming ExpressionNode.
+     * @param incomingTo Latter incoming ExpressionNode.
+     * @param incomingBody Incoming Statement.
+     * @param line Incoming line number.
+     */
+    ForStatement(int incomingIteratorSlot, ExpressionNode incomingFrom, ExpressionNode incomingTo,
+                 Statement incomingBody, int line)
+    {
+        iteratorSlot = incomingIteratorSlot;
+        from = adopt(incomingFrom);
+        to = adopt(incomingTo);
+        body = adopt(incomingBody);
+        lineNumber = line;
+    }
+
+    @Override
+    void execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        frame[iteratorSlot] = SpecializingInterpreter.makeDataType(from.execute(frame), lineNumber, true);
+
+        int cap;
+
+        try
+        {
+            cap = to.executeInteger(frame);
+        }
+        catch (UnexpectedTypeException e)
+        {
+            throw makeCountingError();
+        }
+
+        for (int count = getIterator(frame).getData(); count <= cap; count++)
+        {
+            body.execute(frame);
+            getIterator(frame).increment();
+        }
+    }
+
+    @Override
+    void replaceChild(Node oldChild, Node newChild)
+    {
+        if (from == oldChild)
+        {
+            from = (ExpressionNode)newChild;
+        }
+        else to = (ExpressionNode)newChild;
+    }
+
+    /**
+     * Returns the IntegerDataType held in the iterator's slot of the incoming frame.
+     *
+     * @param frame Incoming frame.
+     * @return IntegerDataType of the iterator.
+     * @throws SyntaxErrorException If the iterator does not hold an integer.
+     */
+    private IntegerDataType getIterator(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        if (frame[iteratorSlot] instanceof IntegerDataType)
+        {
+            return (IntegerDataType)frame[iteratorSlot];
+        }
+        else throw makeCountingError();
+    }
+
+    /**
+     * Returns the error raised when this loop is not counting with integers.
+     *
+     * @return SyntaxErrorException describing the error.
+     */
+    private SyntaxErrorException makeCountingError()
+    {
+        return new SyntaxErrorException("The for loop on line " + lineNumber + " must count with integers.");
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Describes a comparison whose comparands' types have changed, or were never both integers or both reals.
+ * It checks its comparands' types every time it runs, the way Interpreter does.
+ */
+
+package SpecializingInterpreter;
+
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.BooleanCompareNode.comparisonType;
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class GenericCompareNode extends BinaryNode
+{
+    private final comparisonType compType;
+
+    /**
+     * Creates a GenericCompareNode performing the incoming comparisonType on the former and latter incoming
+     * ExpressionNodes from the incoming line.
+     *
+     * @param incomingLeft Former incoming ExpressionNode.
+     * @param incomingRight Latter incoming ExpressionNode.
+     * @param incomingCompType Incoming comparisonType.
+     * @param line Incoming line number.
+     */
+    GenericCompareNode(ExpressionNode incomingLeft, ExpressionNode incomingRight, comparisonType incomingCompType,
+                       int line)
+    {
+        super(incomingLeft, incomingRight, line);
+        compType = incomingCompType;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        return executeBoolean(frame);
+    }
+
+    @Override
+    boolean executeBoolean(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        Object leftValue = left.execute(frame);
+
+        return perform(leftValue, right.execute(frame), compType, lineNumber);
+    }
+
+    /**
+     * Performs the incoming comparisonType between the former and latter incoming values.
+     *
+     * @param left Former incoming value.
+     * @param right Latter incoming value.
+     * @param compType Incoming comparisonType.
+     * @param line Incoming line number.
+     * @return Result of the comparison.
+     * @throws SyntaxErrorException If no valid comparison for the values' types is found.
+     */
+    static boolean perform(Object left, Object right, comparisonType compType, int line) throws SyntaxErrorException
+    {
+        if (left instanceof Integer && right instanceof Integer)
+        {
+            int leftInteger = (Integer)left, rightInteger = (Integer)right;
+
+            switch (compType)
+            {
+                case GTHAN  : return leftInteger > rightInteger;
+                case LTHAN  : return leftInteger < rightInteger;
+                case GETO   : return leftInteger >= rightInteger;
+                case LETO   : return leftInteger <= rightInteger;
+                case EQUAL  : return leftInteger == rightInteger;
+                case NEQUAL : return leftInteger != rightInteger;
+                default     : return false;
+            }
+        }
+        else if (left instanceof Float && right instanceof Float)
+        {
+            float leftReal = (Float)left, rightReal = (Float)right;
+
+            switch (compType)
+            {
+                case GTHAN  : return leftReal > rightReal;
+                case LTHAN  : return leftReal < rightReal;
+                case GETO   : return leftReal >= rightReal;
+                case LETO   : return leftReal <= rightReal;
+                case EQUAL  : return leftReal == rightReal;
+                case NEQUAL : return leftReal != rightReal;
+                default     : return false;
+            }
+        }
+        else if ((left instanceof String && right instanceof String)
+                || (left instanceof Character && right instanceof Character))
+        {
+            boolean isEqual = left.equals(right);
+
+            if (compType == comparisonType.EQUAL)
+            {
+                return isEqual;
+            }
+            else return compType == comparisonType.NEQUAL && !isEqual;
+        }
+        else if (left instanceof Boolean && right instanceof Boolean)
+        {
+            boolean leftBoolean = (Boolean)left, rightBoolean = (Boolean)right;
+
+            switch (compType)
+            {
+                case NOT   : return !leftBoolean;
+                case OR    : return leftBoolean || rightBoolean;
+                case AND   : return leftBoolean && rightBoolean;
+                case EQUAL : return leftBoolean == rightBoolean;
+                default    : return false;
+            }
+        }
+        else throw new SyntaxErrorException("No valid boolean comparison found on line " + line + ".");
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Describes a math operation whose operands' types have changed, or were never both integers or both reals.
+ * It checks its operands' types every time it runs, the way Interpreter does.
+ */
+
+package SpecializingInterpreter;
+
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.MathOpNode.operationType;
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class GenericMathNode extends BinaryNode
+{
+    private final operationType opType;
+
+    /**
+     * Creates a GenericMathNode performing the incoming operationType on the former and latter incoming
+     * ExpressionNodes from the incoming line.
+     *
+     * @param incomingLeft Former incoming ExpressionNode.
+     * @param incomingRight Latter incoming ExpressionNode.
+     * @param incomingOpType Incoming operationType.
+     * @param line Incoming line number.
+     */
+    GenericMathNode(ExpressionNode incomingLeft, ExpressionNode incomingRight, operationType incomingOpType, int line)
+    {
+        super(incomingLeft, incomingRight, line);
+        opType = incomingOpType;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        Object leftValue = left.execute(frame);
+
+        return perform(leftValue, right.execute(frame), opType, lineNumber);
+    }
+
+    /**
+     * Performs the incoming operationType between the former and latter incoming values.
+     *
+     * @param left Former incoming value.
+     * @param right Latter incoming value.
+     * @param opType Incoming operationType.
+     * @param line Incoming line number.
+     * @return Result of the operation.
+     * @throws SyntaxErrorException If no valid operation for the values' types is found.
+     */
+    static Object perform(Object left, Object right, operationType opType, int line) throws SyntaxErrorException
+    {
+        if (left instanceof Integer && right instanceof Integer)
+        {
+            int leftInteger = (Integer)left, rightInteger = (Integer)right;
+
+            switch (opType)
+            {
+                case ADD  : return leftInteger + rightInteger;
+                case SUB  : return leftInteger - rightInteger;
+                case MULT : return leftInteger * rightInteger;
+                case DIV  : return leftInteger / rightInteger;
+                default   : return leftInteger % rightInteger;
+            }
+        }
+        else if (left instanceof Float && right instanceof Float)
+        {
+            float leftReal = (Float)left, rightReal = (Float)right;
+
+            switch (opType)
+            {
+                case ADD  : return leftReal + rightReal;
+                case SUB  : return leftReal - rightReal;
+                case MULT : return leftReal * rightReal;
+                case DIV  : return leftReal / rightReal;
+                default   : return leftReal % rightReal;
+            }
+        }
+        else if (left instanceof String && right instanceof String)
+        {
+            if (opType == operationType.ADD)
+            {
+                return (String)left + right;
+            }
+            else throw new SyntaxErrorException("No valid String operation found on line " + line + ".");
+        }
+        else throw new SyntaxErrorException("No valid operation found on line " + line + ".");
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Describes a read of a variable whose type has changed, or was never an integer or real.
+ * It boxes whatever its slot holds, the way Interpreter turns an IDT into a data type node.
+ */
+
+package SpecializingInterpreter;
+
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.*;
+
+final class GenericReadNode extends ExpressionNode
+{
+    private final int slot, lineNumber;
+
+    /**
+     * Creates a GenericReadNode for the former incoming slot from the latter incoming line.
+     *
+     * @param incomingSlot Former incoming int.
+     * @param line Latter incoming int.
+     */
+    GenericReadNode(int incomingSlot, int line)
+    {
+        slot = incomingSlot;
+        lineNumber = line;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        return read(frame[slot], lineNumber);
+    }
+
+    /**
+     * Returns the data of the incoming IDT, boxed, or the IDT itself if it is an array, which is only read whole to be
+     * passed to a function.
+     *
+     * @param idt Incoming IDT.
+     * @param line Incoming line number.
+     * @return Boxed data of idt.
+     * @throws SyntaxErrorException If idt does not hold a valid data type.
+     */
+    static Object read(InterpreterDataType idt, int line) throws SyntaxErrorException
+    {
+        if (idt instanceof IntegerDataType)
+        {
+            return ((IntegerDataType)idt).getData();
+        }
+        else if (idt instanceof RealDataType)
+        {
+            return ((RealDataType)idt).getData();
+        }
+        else if (idt instanceof StringDataType)
+        {
+            return ((StringDataType)idt).getData();
+        }
+        else if (idt instanceof CharacterDataType)
+        {
+            return ((CharacterDataType)idt).getData();
+        }
+        else if (idt instanceof BooleanDataType)
+        {
+            return ((BooleanDataType)idt).getData();
+        }
+        else if (idt instanceof ArrayDataType)
+        {
+            return idt;
+        }
+        else throw new SyntaxErrorException("No valid data type found on line " + line + ".");
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Describes an if block and every block chained after it. An else block has no conditional,
+ * so its statements run whenever control reaches them.
+ */
+
+package SpecializingInterpreter;
+
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class IfStatement extends Statement
+{
+    private ExpressionNode conditional;
+
+    private final Statement body, next;
+
+    /**
+     * Creates an IfStatement running the former incoming Statement if the incoming ExpressionNode is true,
+     * otherwise the latter incoming Statement.
+     *
+     * @param incomingConditional Incoming ExpressionNode, null for an else block.
+     * @param incomingBody Former incoming Statement.
+     * @param incomingNext Latter incoming Statement, null if nothing is chained after this block.
+     */
+    IfStatement(ExpressionNode incomingConditional, Statement incomingBody, Statement incomingNext)
+    {
+        conditional = incomingConditional == null ? null : adopt(incomingConditional);
+        body = adopt(incomingBody);
+        next = incomingNext == null ? null : adopt(incomingNext);
+    }
+
+    @Override
+    void execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        if (conditional == null || conditional.executeBoolean(frame))
+        {
+            body.execute(frame);
+        }
+        else if (next != null)
+        {
+            next.execute(frame);
+        }
+    }
+
+    @Override
+    void replaceChild(Node oldChild, Node newChild)
+    {
+        conditional = (ExpressionNode)newChild;
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Describes a math operation whose operands have both been integers every time it ran, so it works on unboxed
+ * ints. If either operand turns out to be anything else, it replaces itself with a GenericMathNode.
+ */
+
+package SpecializingInterpreter;
+
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.MathOpNode.operationType;
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class IntegerMathNode extends BinaryNode
+{
+    private final operationType opType;
+
+    /**
+     * Creates an IntegerMathNode performing the incoming operationType on the former and latter incoming
+     * ExpressionNodes from the incoming line.
+     *
+     * @param incomingLeft Former incoming ExpressionNode.
+     * @param incomingRight Latter incoming ExpressionNode.
+     * @param incomingOpType Incoming operationType.
+     * @param line Incoming line number.
+     */
+    IntegerMathNode(ExpressionNode incomingLeft, ExpressionNode incomingRight, operationType incomingOpType, int line)
+    {
+        super(incomingLeft, incomingRight, line);
+        opType = incomingOpType;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        try
+        {
+            return executeInteger(frame);
+        }
+        catch (UnexpectedTypeException e)
+        {
+            return e.getValue();
+        }
+    }
+
+    @Override
+    int executeInteger(InterpreterDataType[] frame) throws SyntaxErrorException, UnexpectedTypeException
+    {
+        int leftValue, rightValue;
+
+        try
+        {
+            leftValue = left.executeInteger(frame);
+        }
+        catch (UnexpectedTypeException e)
+        {
+            return expectInteger(deoptimize(e.getValue(), right.execute(frame)));
+        }
+
+        try
+        {
+            rightValue = right.executeInteger(frame);
+        }
+        catch (UnexpectedTypeException e)
+        {
+            return expectInteger(deoptimize(leftValue, e.getValue()));
+        }
+
+        switch (opType)
+        {
+            case ADD  : return leftValue + rightValue;
+            case SUB  : return leftValue - rightValue;
+            case MULT : return leftValue * rightValue;
+            case DIV  : return leftValue / rightValue;
+            default   : return leftValue % rightValue;
+        }
+    }
+
+    /**
+     * Replaces this node with a GenericMathNode and performs the operation on the former and latter incoming values.
+     *
+     * @param leftValue Former incoming value.
+     * @param rightValue Latter incoming value.
+     * @return Result of the operation.
+     * @throws SyntaxErrorException If no valid operation for the values' types is found.
+     */
+    private Object deoptimize(Object leftValue, Object rightValue) throws SyntaxErrorException
+    {
+        replace(new GenericMathNode(left, right, opType, lineNumber));
+
+        return GenericMathNode.perform(leftValue, rightValue, opType, lineNumber);
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Describes a read of a variable that has held an integer every time it was read.
+ * If the slot holds anything else, it replaces itself with a GenericReadNode.
+ */
+
+package SpecializingInterpreter;
+
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.IntegerDataType;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class IntegerReadNode extends ExpressionNode
+{
+    private final int slot, lineNumber;
+
+    /**
+     * Creates an IntegerReadNode for the former incoming slot from the latter incoming line.
+     *
+     * @param incomingSlot Former incoming int.
+     * @param line Latter incoming int.
+     */
+    IntegerReadNode(int incomingSlot, int line)
+    {
+        slot = incomingSlot;
+        lineNumber = line;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        InterpreterDataType idt = frame[slot];
+
+        if (idt instanceof IntegerDataType)
+        {
+            return ((IntegerDataType)idt).getData();
+        }
+
+        replace(new GenericReadNode(slot, lineNumber));
+
+        return GenericReadNode.read(idt, lineNumber);
+    }
+
+    @Override
+    int executeInteger(InterpreterDataType[] frame) throws SyntaxErrorException, UnexpectedTypeException
+    {
+        InterpreterDataType idt = frame[slot];
+
+        if (idt instanceof IntegerDataType)
+        {
+            return ((IntegerDataType)idt).getData();
+        }
+
+        replace(new GenericReadNode(slot, lineNumber));
+
+        throw new UnexpectedTypeException(GenericReadNode.read(idt, lineNumber));
+    }
+}
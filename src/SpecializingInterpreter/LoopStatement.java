@@ -0,0 +1,48 @@
+/**
+ * Describes a while or repeat block, which runs its statements for as long as its conditional evaluates to
+ * true or to false respectively, checking it before every iteration.
+ */
+
+package SpecializingInterpreter;
+
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class LoopStatement extends Statement
+{
+    private ExpressionNode conditional;
+
+    private final Statement body;
+
+    private final boolean isRunWhenTrue;
+
+    /**
+     * Creates a LoopStatement running the incoming Statement for as long as the incoming ExpressionNode evaluates
+     * to the incoming boolean.
+     *
+     * @param incomingConditional Incoming ExpressionNode.
+     * @param incomingBody Incoming Statement.
+     * @param runWhenTrue Incoming boolean.
+     */
+    LoopStatement(ExpressionNode incomingConditional, Statement incomingBody, boolean runWhenTrue)
+    {
+        conditional = adopt(incomingConditional);
+        body = adopt(incomingBody);
+        isRunWhenTrue = runWhenTrue;
+    }
+
+    @Override
+    void execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        while (conditional.executeBoolean(frame) == isRunWhenTrue)
+        {
+            body.execute(frame);
+        }
+    }
+
+    @Override
+    void replaceChild(Node oldChild, Node newChild)
+    {
+        conditional = (ExpressionNode)newChild;
+    }
+}
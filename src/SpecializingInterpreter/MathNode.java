@@ -0,0 +1,49 @@
+/**
+ * Describes a math operation that has not run yet. The first time it runs, it replaces itself with an
+ * IntegerMathNode or RealMathNode if both operands are of that type, otherwise with a GenericMathNode.
+ */
+
+package SpecializingInterpreter;
+
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.MathOpNode.operationType;
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class MathNode extends BinaryNode
+{
+    private final operationType opType;
+
+    /**
+     * Creates a MathNode performing the incoming operationType on the former and latter incoming ExpressionNodes
+     * from the incoming line.
+     *
+     * @param incomingLeft Former incoming ExpressionNode.
+     * @param incomingRight Latter incoming ExpressionNode.
+     * @param incomingOpType Incoming operationType.
+     * @param line Incoming line number.
+     */
+    MathNode(ExpressionNode incomingLeft, ExpressionNode incomingRight, operationType incomingOpType, int line)
+    {
+        super(incomingLeft, incomingRight, line);
+        opType = incomingOpType;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        Object leftValue = left.execute(frame);
+        Object rightValue = right.execute(frame);
+
+        if (leftValue instanceof Integer && rightValue instanceof Integer)
+        {
+            replace(new IntegerMathNode(left, right, opType, lineNumber));
+        }
+        else if (leftValue instanceof Float && rightValue instanceof Float)
+        {
+            replace(new RealMathNode(left, right, opType, lineNumber));
+        }
+        else replace(new GenericMathNode(left, right, opType, lineNumber));
+
+        return GenericMathNode.perform(leftValue, rightValue, opType, lineNumber);
+    }
+}
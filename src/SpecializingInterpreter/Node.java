@@ -0,0 +1,48 @@
+/**
+ * Describes one executable node of a function compiled by SpecializingInterpreter.
+ * Nodes know their parent, so a node can replace itself with a version specialized for the types it has seen,
+ * or with a generic version once those types change.
+ */
+
+package SpecializingInterpreter;
+
+abstract class Node
+{
+    private Node parent;
+
+    /**
+     * Makes this Node the parent of the incoming Node and returns it.
+     *
+     * @param child Incoming Node.
+     * @param <T> Type of child.
+     * @return child.
+     */
+    final <T extends Node> T adopt(T child)
+    {
+        ((Node)child).parent = this;
+
+        return child;
+    }
+
+    /**
+     * Replaces this Node in its parent with the incoming Node and returns it.
+     *
+     * @param replacement Incoming Node.
+     * @param <T> Type of replacement.
+     * @return replacement.
+     */
+    final <T extends Node> T replace(T replacement)
+    {
+        parent.replaceChild(this, replacement);
+
+        return parent.adopt(replacement);
+    }
+
+    /**
+     * Replaces the former incoming Node, which is a child of this Node, with the latter incoming Node.
+     *
+     * @param oldChild Former incoming Node.
+     * @param newChild Latter incoming Node.
+     */
+    abstract void replaceChild(Node oldChild, Node newChild);
+}
@@ -0,0 +1,44 @@
+/**
+ * Describes a variable read that has not run yet. The first time it runs, it replaces itself with a read
+ * specialized for the type of the IDT in its slot.
+ */
+
+package SpecializingInterpreter;
+
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.*;
+
+final class ReadNode extends ExpressionNode
+{
+    private final int slot, lineNumber;
+
+    /**
+     * Creates a ReadNode for the former incoming slot from the latter incoming line.
+     *
+     * @param incomingSlot Former incoming int.
+     * @param line Latter incoming int.
+     */
+    ReadNode(int incomingSlot, int line)
+    {
+        slot = incomingSlot;
+        lineNumber = line;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        InterpreterDataType idt = frame[slot];
+
+        if (idt instanceof IntegerDataType)
+        {
+            replace(new IntegerReadNode(slot, lineNumber));
+        }
+        else if (idt instanceof RealDataType)
+        {
+            replace(new RealReadNode(slot, lineNumber));
+        }
+        else replace(new GenericReadNode(slot, lineNumber));
+
+        return GenericReadNode.read(idt, lineNumber);
+    }
+}
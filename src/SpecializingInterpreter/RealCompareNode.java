@@ -0,0 +1,88 @@
+/**
+ * Describes a comparison whose comparands have both been reals every time it ran, so it works on unboxed
+ * floats. If either comparand turns out to be anything else, it replaces itself with a GenericCompareNode.
+ */
+
+package SpecializingInterpreter;
+
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.BooleanCompareNode.comparisonType;
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class RealCompareNode extends BinaryNode
+{
+    private final comparisonType compType;
+
+    /**
+     * Creates a RealCompareNode performing the incoming comparisonType on the former and latter incoming
+     * ExpressionNodes from the incoming line.
+     *
+     * @param incomingLeft Former incoming ExpressionNode.
+     * @param incomingRight Latter incoming ExpressionNode.
+     * @param incomingCompType Incoming comparisonType.
+     * @param line Incoming line number.
+     */
+    RealCompareNode(ExpressionNode incomingLeft, ExpressionNode incomingRight, comparisonType incomingCompType,
+                    int line)
+    {
+        super(incomingLeft, incomingRight, line);
+        compType = incomingCompType;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        return executeBoolean(frame);
+    }
+
+    @Override
+    boolean executeBoolean(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        float leftValue, rightValue;
+
+        try
+        {
+            leftValue = left.executeReal(frame);
+        }
+        catch (UnexpectedTypeException e)
+        {
+            return deoptimize(e.getValue(), right.execute(frame));
+        }
+
+        try
+        {
+            rightValue = right.executeReal(frame);
+        }
+        catch (UnexpectedTypeException e)
+        {
+            return deoptimize(leftValue, e.getValue());
+        }
+
+        switch (compType)
+        {
+            case GTHAN  : return leftValue > rightValue;
+            case LTHAN  : return leftValue < rightValue;
+            case GETO   : return leftValue >= rightValue;
+            case LETO   : return leftValue <= rightValue;
+            case EQUAL  : return leftValue == rightValue;
+            case NEQUAL : return leftValue != rightValue;
+            default     : return false;
+        }
+    }
+
+    /**
+     * Replaces this node with a GenericCompareNode and performs the comparison on the former and latter incoming
+     * values.
+     *
+     * @param leftValue Former incoming value.
+     * @param rightValue Latter incoming value.
+     * @return Result of the comparison.
+     * @throws SyntaxErrorException If no valid comparison for the values' types is found.
+     */
+    private boolean deoptimize(Object leftValue, Object rightValue) throws SyntaxErrorException
+    {
+        replace(new GenericCompareNode(left, right, compType, lineNumber));
+
+        return GenericCompareNode.perform(leftValue, rightValue, compType, lineNumber);
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Describes a read of a variable that has held a real every time it was read.
+ * If the slot holds anything else, it replaces itself with a GenericReadNode.
+ */
+
+package SpecializingInterpreter;
+
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.RealDataType;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+final class RealReadNode extends ExpressionNode
+{
+    private final int slot, lineNumber;
+
+    /**
+     * Creates a RealReadNode for the former incoming slot from the latter incoming line.
+     *
+     * @param incomingSlot Former incoming int.
+     * @param line Latter incoming int.
+     */
+    RealReadNode(int incomingSlot, int line)
+    {
+        slot = incomingSlot;
+        lineNumber = line;
+    }
+
+    @Override
+    Object execute(InterpreterDataType[] frame) throws SyntaxErrorException
+    {
+        InterpreterDataType idt = frame[slot];
+
+        if (idt instanceof RealDataType)
+        {
+            return ((RealDataType)idt).getData();
+        }
+
+        replace(new GenericReadNode(slot, lineNumber));
+
+        return GenericReadNode.read(idt, lineNumber);
+    }
+
+    @Override
+    float executeReal(InterpreterDataType[] frame) throws SyntaxErrorException, UnexpectedTypeException
+    {
+        InterpreterDataType idt = frame[slot];
+
+        if (idt instanceof RealDataType)
+        {
+            return ((RealDataType)idt).getData();
+        }
+
+        replace(new GenericReadNode(slot, lineNumber));
+
+        throw new UnexpectedTypeException(GenericReadNode.read(idt, lineNumber));
+    }
+}
@@ -0,0 +1,363 @@
+/**
+ * Interprets a program the same way Interpreter does, but first turns each function's AST into a tree of executable
+ * nodes. Each math operation, comparison and variable read starts out uninitialized, and the first time it runs
+ * it replaces itself with a node specialized for the types it sees, so numeric loops run on unboxed ints and floats
+ * instead of checking types and allocating data type nodes every time. If those types later change, the specialized
+ * node replaces itself with a generic node that checks types the way Interpreter does.
+ */
+
+package SpecializingInterpreter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import CrossStageTools.Nodes.*;
+import CrossStageTools.Nodes.DataTypeNodes.*;
+import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.*;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.ForNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.IfNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.RepeatNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.WhileNode;
+import Exceptions.SyntaxErrorException;
+import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
+import Interpreter.InterpreterDataTypes.*;
+
+public class SpecializingInterpreter
+{
+    private final ProgramNode program;
+
+    private final HashMap<String, FunctionNode> functionMap;
+
+    private final HashMap<FunctionNode, Statement> functionBodies;
+
+    /**
+     * Creates a SpecializingInterpreter with the incoming ProgramNode as the program already parsed and resolved.
+     *
+     * @param resolvedProgram Incoming ProgramNode.
+     */
+    public SpecializingInterpreter(ProgramNode resolvedProgram)
+    {
+        program = resolvedProgram;
+        functionMap = program.getFunctionMap();
+        functionBodies = new HashMap<>();
+    }
+
+    /**
+     * Interprets the function called "start" as the Kakuzaki program's entry point.
+     *
+     * @throws SyntaxErrorException If there is any error during interpreting.
+     */
+    public void interpret() throws SyntaxErrorException
+    {
+        call(functionMap.get("start"), new ArrayList<>());
+    }
+
+    /**
+     * Returns the function with the incoming name, or null if there is none.
+     *
+     * @param name Incoming name.
+     * @return FunctionNode called name.
+     */
+    FunctionNode getFunction(String name)
+    {
+        return functionMap.get(name);
+    }
+
+    /**
+     * Runs the incoming FunctionNode with the incoming IDT ArrayList as its arguments.
+     *
+     * @param function Incoming FunctionNode.
+     * @param arguments Incoming IDT ArrayList.
+     * @return Frame left after this function's execution is done, null for builtin functions.
+     * @throws SyntaxErrorException If there is an error in running this FunctionNode.
+     */
+    InterpreterDataType[] call(FunctionNode function, ArrayList<InterpreterDataType> arguments)
+            throws SyntaxErrorException
+    {
+        if (function instanceof BuiltInFunctionNode)
+        {
+            ((BuiltInFunctionNode)function).execute(arguments);
+            return null;
+        }
+
+        InterpreterDataType[] frame = new InterpreterDataType[function.getFrameSize()];
+        ArrayList<VariableNode> variables = function.getVariableList();
+        ArrayList<VariableNode> parameters = function.getParameterList();
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            frame[variables.get(i).getSlot()] = makeDataType(variables.get(i));
+        }
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            frame[parameters.get(i).getSlot()] = arguments.get(i);
+        }
+
+        getBody(function).execute(frame);
+
+        return frame;
+    }
+
+    /**
+     * Returns the Statement running the body of the incoming FunctionNode, building it if this is its first call.
+     *
+     * @param function Incoming FunctionNode.
+     * @return Body of function.
+     */
+    private Statement getBody(FunctionNode function)
+    {
+        Statement body = functionBodies.get(function);
+
+        if (body == null)
+        {
+            body = buildStatements(function.getStatementList());
+            functionBodies.put(function, body);
+        }
+
+        return body;
+    }
+
+    /**
+     * Creates a new IDT for the incoming VariableNode, with its constant value or the default value of its type.
+     *
+     * @param variable Incoming VariableNode.
+     * @return IDT created for variable.
+     */
+    private static InterpreterDataType makeDataType(VariableNode variable)
+    {
+        boolean isInitializer = variable.isChangeable();
+
+        switch (variable.getType())
+        {
+            case INTEGER   : return new IntegerDataType(variable, isInitializer);
+            case REAL      : return new RealDataType(variable, isInitializer);
+            case STRING    : return new StringDataType(variable, isInitializer);
+            case CHARACTER : return new CharacterDataType(variable, isInitializer);
+            case BOOLEAN   : return new BooleanDataType(variable, isInitializer);
+            case ARRAY     : return new ArrayDataType(variable, isInitializer);
+            default        : return null;
+        }
+    }
+
+    /**
+     * Creates a new IDT holding the incoming boxed value, changeable if the incoming boolean is true.
+     * An array is copied if it is to be changeable, and otherwise shares its elements with the incoming array.
+     *
+     * @param value Incoming value.
+     * @param line Incoming line number.
+     * @param changeable Incoming boolean.
+     * @return IDT holding value.
+     * @throws SyntaxErrorException If value is not a valid data type.
+     */
+    static InterpreterDataType makeDataType(Object value, int line, boolean changeable) throws SyntaxErrorException
+    {
+        if (value instanceof Integer)
+        {
+            return new IntegerDataType((Integer)value, line, changeable);
+        }
+        else if (value instanceof Float)
+        {
+            return new RealDataType((Float)value, line, changeable);
+        }
+        else if (value instanceof String)
+        {
+            return new StringDataType((String)value, line, changeable);
+        }
+        else if (value instanceof Character)
+        {
+            return new CharacterDataType((Character)value, line, changeable);
+        }
+        else if (value instanceof Boolean)
+        {
+            return new BooleanDataType((Boolean)value, line, changeable);
+        }
+        else if (value instanceof ArrayDataType)
+        {
+            return changeable ? ((ArrayDataType)value).copy() : ((ArrayDataType)value).asConstant();
+        }
+        else throw new SyntaxErrorException("No valid data type found on line " + line + ".");
+    }
+
+    /**
+     * Builds a Statement running each StatementNode in the incoming ArrayList in order.
+     *
+     * @param statements Incoming StatementNode ArrayList.
+     * @return Statement running statements.
+     */
+    private Statement buildStatements(ArrayList<StatementNode> statements)
+    {
+        Statement[] built = new Statement[statements.size()];
+
+        for (int i = 0; i < built.length; i++)
+        {
+            built[i] = buildStatement(statements.get(i));
+        }
+
+        return built.length == 1 ? built[0] : new BlockStatement(built);
+    }
+
+    /**
+     * Builds the Statement running the incoming StatementNode.
+     *
+     * @param statement Incoming StatementNode.
+     * @return Statement running statement.
+     */
+    private Statement buildStatement(StatementNode statement)
+    {
+        if (statement instanceof IfNode)
+        {
+            return buildIf((IfNode)statement);
+        }
+        else if (statement instanceof ForNode)
+        {
+            ForNode forBlock = (ForNode)statement;
+
+            return new ForStatement(forBlock.getIterator().getSlot(), buildExpression(forBlock.getFromNode()),
+                                    buildExpression(forBlock.getToNode()), buildStatements(forBlock.getStatements()),
+                                    forBlock.getLineNumber());
+        }
+        else if (statement instanceof RepeatNode)
+        {
+            RepeatNode repeatBlock = (RepeatNode)statement;
+
+            return new LoopStatement(buildExpression(repeatBlock.getConditional()),
+                                     buildStatements(repeatBlock.getStatements()), false);
+        }
+        else if (statement instanceof WhileNode)
+        {
+            WhileNode whileBlock = (WhileNode)statement;
+
+            return new LoopStatement(buildExpression(whileBlock.getConditional()),
+                                     buildStatements(whileBlock.getStatements()), true);
+        }
+        else if (statement instanceof AssignmentNode)
+        {
+            AssignmentNode assignment = (AssignmentNode)statement;
+            VariableReferenceNode target = assignment.getTarget();
+
+            if (target.getArrayExpression() != null)
+            {
+                return new ElementAssignmentStatement(target.getName(), target.getSlot(),
+                                                      buildExpression(target.getArrayExpression()),
+                                                      buildExpression(assignment.getValue()),
+                                                      assignment.getLineNumber());
+            }
+
+            return new AssignmentStatement(assignment.getTarget().getName(), assignment.getTarget().getSlot(),
+                                           buildExpression(assignment.getValue()), assignment.getLineNumber());
+        }
+        else if (statement instanceof FunctionCallNode)
+        {
+            return buildFunctionCall((FunctionCallNode)statement);
+        }
+        else return new BlockStatement(new Statement[0]);
+    }
+
+    /**
+     * Builds the Statement running the incoming IfNode and every IfNode chained after it.
+     *
+     * @param ifBlock Incoming IfNode.
+     * @return Statement running ifBlock.
+     */
+    private Statement buildIf(IfNode ifBlock)
+    {
+        ExpressionNode conditional = ifBlock.getConditional() == null ? null
+                                                                      : buildExpression(ifBlock.getConditional());
+
+        return new IfStatement(conditional, buildStatements(ifBlock.getStatements()),
+                               ifBlock.hasNext() ? buildIf(ifBlock.getNext()) : null);
+    }
+
+    /**
+     * Builds the Statement running the incoming FunctionCallNode.
+     *
+     * @param call Incoming FunctionCallNode.
+     * @return Statement running call.
+     */
+    private Statement buildFunctionCall(FunctionCallNode call)
+    {
+        ArrayList<ArgumentNode> arguments = call.getArguments();
+        ExpressionNode[] builtArguments = new ExpressionNode[arguments.size()];
+        int[] argumentSlots = new int[arguments.size()];
+
+        for (int i = 0; i < arguments.size(); i++)
+        {
+            if (arguments.get(i).isConstant())
+            {
+                builtArguments[i] = buildExpression(arguments.get(i).getConstant());
+                argumentSlots[i] = -1;
+            }
+            else
+            {
+                builtArguments[i] = buildExpression(arguments.get(i).getVariableReference());
+                argumentSlots[i] = arguments.get(i).getVariableReference().getSlot();
+            }
+        }
+
+        return new CallStatement(this, call.getName(), builtArguments, argumentSlots, call.getLineNumber());
+    }
+
+    /**
+     * Builds the uninitialized ExpressionNode evaluating the incoming expression ASTNode.
+     *
+     * @param expression Incoming ASTNode.
+     * @return ExpressionNode evaluating expression.
+     */
+    private ExpressionNode buildExpression(ASTNode expression)
+    {
+        int line = expression.getLineNumber();
+
+        if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+
+            if (reference.getArrayExpression() != null)
+            {
+                return new ElementReadNode(reference.getName(), reference.getSlot(),
+                                           buildExpression(reference.getArrayExpression()), line);
+            }
+
+            return new ReadNode(reference.getSlot(), line);
+        }
+        else if (expression instanceof MathOpNode)
+        {
+            MathOpNode mathOp = (MathOpNode)expression;
+
+            return new MathNode(buildExpression(mathOp.getLeftOperand()), buildExpression(mathOp.getRightOperand()),
+                                mathOp.getOpType(), line);
+        }
+        else if (expression instanceof BooleanCompareNode)
+        {
+            BooleanCompareNode comparison = (BooleanCompareNode)expression;
+
+            return new CompareNode(buildExpression(comparison.getLeftComparand()),
+                                   buildExpression(comparison.getRightComparand()), comparison.getCompType(), line);
+        }
+        else if (expression instanceof IntegerNode)
+        {
+            return new ConstantNode(((IntegerNode)expression).getData());
+        }
+        else if (expression instanceof RealNode)
+        {
+            return new ConstantNode(((RealNode)expression).getData());
+        }
+        else if (expression instanceof StringNode)
+        {
+            return new ConstantNode(((StringNode)expression).getData());
+        }
+        else if (expression instanceof CharacterNode)
+        {
+            return new ConstantNode(((CharacterNode)expression).getData());
+        }
+        else if (expression instanceof BooleanNode)
+        {
+            return new ConstantNode(((BooleanNode)expression).getData());
+        }
+        else if (expression instanceof DataTypeNode)
+        {
+            return new FailNode(new SyntaxErrorException("No valid data type found on line " + line + "."));
+        }
+        else return new FailNode(new SyntaxErrorException("No valid expression on line " + line + "."));
+    }
+}
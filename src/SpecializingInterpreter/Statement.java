@@ -0,0 +1,25 @@
+/**
+ * Describes an executable statement, or a block of statements.
+ */
+
+package SpecializingInterpreter;
+
+import Exceptions.SyntaxErrorException;
+import Interpreter.InterpreterDataTypes.InterpreterDataType;
+
+abstract class Statement extends Node
+{
+    /**
+     * Runs this statement in the incoming frame.
+     *
+     * @param frame Incoming frame.
+     * @throws SyntaxErrorException If this statement fails.
+     */
+    abstract void execute(InterpreterDataType[] frame) throws SyntaxErrorException;
+
+    @Override
+    void replaceChild(Node oldChild, Node newChild)
+    {
+        throw new IllegalStateException("This statement has no expressions.");
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Thrown by a specialized ExpressionNode when its value is not of the type it was specialized for.
+ * It carries the value, so the caller can continue with it after deoptimizing, and is never seen outside
+ * SpecializingInterpreter.
+ */
+
+package SpecializingInterpreter;
+
+final class UnexpectedTypeException extends Exception
+{
+    private static final long serialVersionUID = 1L;
+
+    private final Object value;
+
+    /**
+     * Creates an UnexpectedTypeException carrying the incoming value.
+     *
+     * @param incomingValue Incoming value.
+     */
+    UnexpectedTypeException(Object incomingValue)
+    {
+        super(null, null, false, false);
+
+        value = incomingValue;
+    }
+
+    /**
+     * Returns the value that was not of the expected type.
+     *
+     * @return Value carried by this exception.
+     */
+    Object getValue()
+    {
+        return value;
+    }
+}
@@ -0,0 +1,857 @@
+/**
+ * Compiles a resolved FunctionNode into a CompiledFunction for VirtualMachine.
+ * Every slot the Resolver assigned keeps the type it was declared with, so each expression's type is known while
+ * compiling and every instruction can work on unboxed values. An expression or assignment whose types do not fit
+ * compiles to a FAIL instruction carrying the error Interpreter would raise, so it only fails if it is reached.
+ */
+
+package VirtualMachine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import CrossStageTools.Nodes.*;
+import CrossStageTools.Nodes.DataTypeNodes.*;
+import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.*;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.ForNode;
+import CrossStageTools.tokenType;
+import Exceptions.SyntaxErrorException;
+import Exceptions.UnchangeableVariableException;
+import Interpreter.InterpreterDataTypes.*;
+
+public class BytecodeCompiler extends ControlFlowCompiler
+{
+    private ArrayList<Object> constants;
+
+    private HashMap<Object, Integer> constantIndices;
+
+    private tokenType[] slotTypes, slotArrayTypes;
+
+    private boolean[] isConstantSlot;
+
+    private int nextTemporarySlot, stackDepth, maxStack;
+
+    /**
+     * Compiles the incoming FunctionNode, which must already be resolved.
+     *
+     * @param function Incoming FunctionNode.
+     * @return CompiledFunction compiled from function.
+     */
+    public CompiledFunction compile(FunctionNode function)
+    {
+        startCode();
+        constants = new ArrayList<>();
+        constantIndices = new HashMap<>();
+        nextTemporarySlot = function.getFrameSize();
+        stackDepth = 0;
+        maxStack = 0;
+
+        ArrayList<VariableNode> parameters = function.getParameterList();
+        ArrayList<VariableNode> variables = function.getVariableList();
+
+        slotTypes = new tokenType[function.getFrameSize()];
+        slotArrayTypes = new tokenType[function.getFrameSize()];
+        isConstantSlot = new boolean[function.getFrameSize()];
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            slotTypes[variables.get(i).getSlot()] = variables.get(i).getType();
+            slotArrayTypes[variables.get(i).getSlot()] = variables.get(i).getArrayType();
+            isConstantSlot[variables.get(i).getSlot()] = !variables.get(i).isChangeable();
+        }
+
+        int[] parameterSlots = new int[parameters.size()];
+        tokenType[] parameterTypes = new tokenType[parameters.size()];
+
+        for (int i = 0; i < parameters.size(); i++)
+        {
+            parameterSlots[i] = parameters.get(i).getSlot();
+            parameterTypes[i] = parameters.get(i).getType();
+            slotTypes[parameterSlots[i]] = parameterTypes[i];
+            slotArrayTypes[parameterSlots[i]] = parameters.get(i).getArrayType();
+            isConstantSlot[parameterSlots[i]] = false;
+        }
+
+        compileStatements(function.getStatementList());
+        emit(OpCode.RETURN, function.getLineNumber());
+
+        int[] initialLocals = new int[nextTemporarySlot];
+        Object[] initialReferenceLocals = new Object[nextTemporarySlot];
+        tokenType[] finalSlotTypes = new tokenType[nextTemporarySlot];
+
+        for (int i = 0; i < nextTemporarySlot; i++)
+        {
+            finalSlotTypes[i] = getSlotType(i) == null ? tokenType.INTEGER : getSlotType(i);
+        }
+
+        for (int i = 0; i < variables.size(); i++)
+        {
+            VariableNode variable = variables.get(i);
+
+            if (isReference(variable.getType()))
+            {
+                initialReferenceLocals[variable.getSlot()] = makeInitialReference(variable);
+            }
+            else initialLocals[variable.getSlot()] = makeInitialValue(variable);
+        }
+
+        int[] finalCode = copyCode();
+        int[] finalLineNumbers = copyLineNumbers();
+
+        return new CompiledFunction(function, finalCode, finalLineNumbers, constants.toArray(), initialLocals,
+                                    initialReferenceLocals, finalSlotTypes, parameterSlots, parameterTypes,
+                                    maxStack);
+    }
+
+    /**
+     * Returns true if values of the incoming tokenType live in reference slots, false if they live in int slots.
+     *
+     * @param type Incoming tokenType.
+     * @return True if type is STRING or ARRAY.
+     */
+    public static boolean isReference(tokenType type)
+    {
+        return type == tokenType.STRING || type == tokenType.ARRAY;
+    }
+
+    /**
+     * Returns the int the incoming VariableNode starts with in a new frame, read from the same IDT the
+     * Interpreter would create for it, so both engines agree on defaults and constant values.
+     *
+     * @param variable Incoming VariableNode.
+     * @return Starting int of variable.
+     */
+    public static int makeInitialValue(VariableNode variable)
+    {
+        boolean isInitializer = variable.isChangeable();
+
+        switch (variable.getType())
+        {
+            case INTEGER   : return new IntegerDataType(variable, isInitializer).getData();
+            case REAL      : return Float.floatToRawIntBits(new RealDataType(variable, isInitializer).getData());
+            case CHARACTER : return new CharacterDataType(variable, isInitializer).getData();
+            case BOOLEAN   : return new BooleanDataType(variable, isInitializer).getData() ? 1 : 0;
+            default        : return 0;
+        }
+    }
+
+    /**
+     * Returns the reference the incoming VariableNode starts with in a new frame.
+     *
+     * @param variable Incoming VariableNode.
+     * @return Starting reference of variable.
+     */
+    public static Object makeInitialReference(VariableNode variable)
+    {
+        if (variable.getType() == tokenType.STRING)
+        {
+            return new StringDataType(variable, variable.isChangeable()).getData();
+        }
+        else return new ArrayDataType(variable, variable.isChangeable());
+    }
+
+    /**
+     * Returns the type of the value held in the incoming slot.
+     *
+     * @param slot Incoming slot.
+     * @return Type held in slot.
+     */
+    private tokenType getSlotType(int slot)
+    {
+        return slot < slotTypes.length ? slotTypes[slot] : tokenType.INTEGER;
+    }
+
+    /**
+     * Compiles each StatementNode in the incoming ArrayList.
+     *
+     * @param statements Incoming StatementNode ArrayList.
+     */
+    @Override
+    protected void compileStatements(ArrayList<StatementNode> statements)
+    {
+        for (int i = 0; i < statements.size(); i++)
+        {
+            int depth = stackDepth;
+
+            compileStatement(statements.get(i));
+
+            stackDepth = depth;
+        }
+    }
+
+    /**
+     * Compiles the incoming ForNode. Like the Interpreter, the number of iterations is fixed when the loop starts,
+     * so if the loop's statements can assign to the iterator, the loop counts in a hidden slot of its own.
+     * The bound is checked once before the first iteration and again at the end of each one, where the increment and
+     * the check form a sequence Superinstructions can fuse, since no jump lands inside it.
+     *
+     * @param forBlock Incoming ForNode.
+     */
+    @Override
+    protected void compileFor(ForNode forBlock)
+    {
+        int line = forBlock.getLineNumber();
+        int iteratorSlot = forBlock.getIterator().getSlot();
+
+        if (slotTypes[iteratorSlot] == null)
+        {
+            slotTypes[iteratorSlot] = tokenType.INTEGER;
+        }
+
+        boolean isCounted = isSlotAssigned(forBlock.getStatements(), iteratorSlot);
+        int counterSlot = isCounted ? nextTemporarySlot++ : iteratorSlot;
+        int capSlot = nextTemporarySlot++;
+
+        tokenType fromType = compileExpression(forBlock.getFromNode());
+
+        if (fromType == null)
+        {
+            return;
+        }
+        if (slotTypes[iteratorSlot] != tokenType.INTEGER || fromType != tokenType.INTEGER)
+        {
+            emitFail(new SyntaxErrorException("The for loop on line " + line + " must count with integers."), line);
+            return;
+        }
+
+        emit(OpCode.STORE, iteratorSlot, line);
+
+        if (isCounted)
+        {
+            emit(OpCode.LOAD, iteratorSlot, line);
+            emit(OpCode.STORE, counterSlot, line);
+        }
+
+        tokenType toType = compileExpression(forBlock.getToNode());
+
+        if (toType == null)
+        {
+            return;
+        }
+        if (toType != tokenType.INTEGER)
+        {
+            emitFail(new SyntaxErrorException("The for loop on line " + line + " must count with integers."), line);
+            return;
+        }
+
+        emit(OpCode.STORE, capSlot, line);
+        emit(OpCode.LOAD, counterSlot, line);
+        emit(OpCode.LOAD, capSlot, line);
+
+        int exitJump = emitJump(OpCode.JUMP_IF_INTEGER_GTHAN, line);
+        int start = getCodeLength();
+
+        compileStatements(forBlock.getStatements());
+
+        emit(OpCode.INCREMENT, iteratorSlot, line);
+
+        if (isCounted)
+        {
+            emit(OpCode.INCREMENT, counterSlot, line);
+        }
+
+        emit(OpCode.LOAD, counterSlot, line);
+        emit(OpCode.LOAD, capSlot, line);
+        emit(OpCode.JUMP_IF_INTEGER_LETO, start, line);
+        patchJump(exitJump);
+    }
+
+    /**
+     * Compiles the incoming AssignmentNode.
+     *
+     * @param assignment Incoming AssignmentNode.
+     */
+    @Override
+    protected void compileAssignment(AssignmentNode assignment)
+    {
+        VariableReferenceNode target = assignment.getTarget();
+        int slot = target.getSlot();
+        int line = assignment.getLineNumber();
+
+        if (isConstantSlot[slot])
+        {
+            emitFail(new UnchangeableVariableException(target.getName(), line), line);
+            return;
+        }
+        if (target.getArrayExpression() != null)
+        {
+            compileElementAssignment(target, assignment.getValue(), line);
+            return;
+        }
+
+        tokenType valueType = compileExpression(assignment.getValue());
+
+        if (valueType == null)
+        {
+            return;
+        }
+        if (valueType != getSlotType(slot))
+        {
+            emitFail(new SyntaxErrorException("Variable " + target.getName() + " on line " + line + " holds a "
+                    + getSlotType(slot) + " and cannot be assigned a " + valueType + "."), line);
+            return;
+        }
+
+        emit(isReference(valueType) ? OpCode.REFERENCE_STORE : OpCode.STORE, slot, line);
+    }
+
+    /**
+     * Compiles the assignment of the incoming value ASTNode into the element of an array the incoming
+     * VariableReferenceNode indexes, from the incoming line. The index is pushed before the value.
+     *
+     * @param target Incoming VariableReferenceNode.
+     * @param value Incoming ASTNode.
+     * @param line Incoming line number.
+     */
+    private void compileElementAssignment(VariableReferenceNode target, ASTNode value, int line)
+    {
+        int start = getCodeLength(), depth = stackDepth;
+
+        try
+        {
+            tokenType elementType = emitIndex(target);
+            tokenType valueType = emitExpression(value);
+
+            if (valueType != elementType)
+            {
+                throw new SyntaxErrorException("Variable " + target.getName() + " on line " + line + " holds a "
+                        + elementType + " and cannot be assigned a " + valueType + ".");
+            }
+
+            emit(getArrayInstruction(elementType, false), target.getSlot(), line);
+        }
+        catch (SyntaxErrorException e)
+        {
+            rewind(start);
+            stackDepth = depth;
+            emitFail(e, line);
+        }
+    }
+
+    /**
+     * Appends the instructions computing the index the incoming VariableReferenceNode reads from its array.
+     *
+     * @param reference Incoming VariableReferenceNode.
+     * @return Type of the elements of the array indexed by reference.
+     * @throws SyntaxErrorException If reference is not an array, or is not indexed with an integer.
+     */
+    private tokenType emitIndex(VariableReferenceNode reference) throws SyntaxErrorException
+    {
+        int line = reference.getLineNumber();
+
+        if (getSlotType(reference.getSlot()) != tokenType.ARRAY)
+        {
+            throw new SyntaxErrorException("Variable " + reference.getName() + " on line " + line
+                    + " is not an array, but is indexed.");
+        }
+        if (emitExpression(reference.getArrayExpression()) != tokenType.INTEGER)
+        {
+            throw new SyntaxErrorException("Array " + reference.getName() + " on line " + line
+                    + " must be indexed with an integer.");
+        }
+
+        return slotArrayTypes[reference.getSlot()];
+    }
+
+    /**
+     * Returns the instruction loading or storing, according to the incoming boolean, an element of an array whose
+     * elements are of the incoming tokenType.
+     *
+     * @param elementType Incoming tokenType.
+     * @param isLoad Incoming boolean.
+     * @return Instruction loading or storing an element.
+     */
+    private static int getArrayInstruction(tokenType elementType, boolean isLoad)
+    {
+        switch (elementType)
+        {
+            case REAL      : return isLoad ? OpCode.REAL_ARRAY_LOAD : OpCode.REAL_ARRAY_STORE;
+            case CHARACTER : return isLoad ? OpCode.CHARACTER_ARRAY_LOAD : OpCode.CHARACTER_ARRAY_STORE;
+            case BOOLEAN   : return isLoad ? OpCode.BOOLEAN_ARRAY_LOAD : OpCode.BOOLEAN_ARRAY_STORE;
+            case STRING    : return isLoad ? OpCode.STRING_ARRAY_LOAD : OpCode.STRING_ARRAY_STORE;
+            default        : return isLoad ? OpCode.INTEGER_ARRAY_LOAD : OpCode.INTEGER_ARRAY_STORE;
+        }
+    }
+
+    /**
+     * Compiles the incoming FunctionCallNode. Every argument is pushed in order, and the slot of each var argument
+     * is recorded in the CallSite so the VirtualMachine can copy the parameter back into it after the call.
+     *
+     * @param call Incoming FunctionCallNode.
+     */
+    @Override
+    protected void compileFunctionCall(FunctionCallNode call)
+    {
+        ArrayList<ArgumentNode> arguments = call.getArguments();
+        int[] argumentSlots = new int[arguments.size()];
+        tokenType[] argumentTypes = new tokenType[arguments.size()];
+
+        for (int i = 0; i < arguments.size(); i++)
+        {
+            if (arguments.get(i).isConstant())
+            {
+                argumentTypes[i] = compileExpression(arguments.get(i).getConstant());
+                argumentSlots[i] = -1;
+            }
+            else
+            {
+                argumentTypes[i] = compileExpression(arguments.get(i).getVariableReference());
+                argumentSlots[i] = arguments.get(i).getVariableReference().getSlot();
+            }
+        }
+
+        emit(OpCode.CALL, addConstant(new CallSite(call.getName(), argumentSlots, argumentTypes, call.getLineNumber())),
+             call.getLineNumber());
+    }
+
+    /**
+     * Compiles the incoming expression ASTNode so that its value is left on top of the stack.
+     * If its types do not fit together, a FAIL instruction is compiled in its place.
+     *
+     * @param expression Incoming ASTNode.
+     * @return Type of the value left on the stack, or null if a FAIL instruction was compiled.
+     */
+    private tokenType compileExpression(ASTNode expression)
+    {
+        int start = getCodeLength(), depth = stackDepth;
+
+        try
+        {
+            return emitExpression(expression);
+        }
+        catch (SyntaxErrorException e)
+        {
+            rewind(start);
+            stackDepth = depth;
+            emitFail(e, expression.getLineNumber());
+            return null;
+        }
+    }
+
+    /**
+     * Appends the instructions computing the incoming expression ASTNode.
+     *
+     * @param expression Incoming ASTNode.
+     * @return Type of the value left on the stack.
+     * @throws SyntaxErrorException If the types inside expression do not fit together.
+     */
+    private tokenType emitExpression(ASTNode expression) throws SyntaxErrorException
+    {
+        int line = expression.getLineNumber();
+
+        if (expression instanceof VariableReferenceNode)
+        {
+            VariableReferenceNode reference = (VariableReferenceNode)expression;
+            int slot = reference.getSlot();
+            tokenType type = getSlotType(slot);
+
+            if (reference.getArrayExpression() != null)
+            {
+                tokenType elementType = emitIndex(reference);
+
+                emit(getArrayInstruction(elementType, true), slot, line);
+
+                return elementType;
+            }
+
+            emit(isReference(type) ? OpCode.REFERENCE_LOAD : OpCode.LOAD, slot, line);
+
+            return type;
+        }
+        else if (expression instanceof MathOpNode)
+        {
+            MathOpNode mathOp = (MathOpNode)expression;
+
+            tokenType leftType = emitExpression(mathOp.getLeftOperand());
+            tokenType rightType = emitExpression(mathOp.getRightOperand());
+
+            emit(getInstruction(mathOp.getOpType(), checkTypes(leftType, rightType), line), line);
+
+            return leftType;
+        }
+        else if (expression instanceof BooleanCompareNode)
+        {
+            BooleanCompareNode comparison = (BooleanCompareNode)expression;
+            int start = getCodeLength(), depth = stackDepth;
+
+            tokenType leftType = emitExpression(comparison.getLeftComparand());
+            tokenType rightType = emitExpression(comparison.getRightComparand());
+
+            int instruction = getInstruction(comparison.getCompType(), checkTypes(leftType, rightType), line);
+
+            if (instruction == -1)
+            {
+                rewind(start);
+                stackDepth = depth;
+                emit(OpCode.PUSH, 0, line);
+            }
+            else emit(instruction, line);
+
+            return tokenType.BOOLEAN;
+        }
+        else if (expression instanceof StringNode)
+        {
+            emit(OpCode.CONST, addConstant(((StringNode)expression).getData()), line);
+            return tokenType.STRING;
+        }
+        else if (expression instanceof IntegerNode)
+        {
+            emit(OpCode.PUSH, ((IntegerNode)expression).getData(), line);
+            return tokenType.INTEGER;
+        }
+        else if (expression instanceof RealNode)
+        {
+            emit(OpCode.PUSH_REAL, Float.floatToRawIntBits(((RealNode)expression).getData()), line);
+            return tokenType.REAL;
+        }
+        else if (expression instanceof CharacterNode)
+        {
+            emit(OpCode.PUSH, ((CharacterNode)expression).getData(), line);
+            return tokenType.CHARACTER;
+        }
+        else if (expression instanceof BooleanNode)
+        {
+            emit(OpCode.PUSH, ((BooleanNode)expression).getData() ? 1 : 0, line);
+            return tokenType.BOOLEAN;
+        }
+        else throw new SyntaxErrorException("No valid expression on line " + line + ".");
+    }
+
+    /**
+     * Returns the incoming former tokenType if it is the same as the incoming latter tokenType, otherwise null.
+     *
+     * @param left Former incoming tokenType.
+     * @param right Latter incoming tokenType.
+     * @return Shared type of left and right, or null if they differ.
+     */
+    private tokenType checkTypes(tokenType left, tokenType right)
+    {
+        return left == right ? left : null;
+    }
+
+    /**
+     * Returns the instruction performing the incoming operationType on two operands of the incoming tokenType.
+     *
+     * @param opType Incoming operationType.
+     * @param type Incoming tokenType, null if the operands' types differ.
+     * @param line Incoming line number.
+     * @return Instruction performing opType.
+     * @throws SyntaxErrorException If no valid operation for type is found.
+     */
+    private int getInstruction(MathOpNode.operationType opType, tokenType type, int line) throws SyntaxErrorException
+    {
+        if (type == tokenType.INTEGER)
+        {
+            switch (opType)
+            {
+                case ADD  : return OpCode.INTEGER_ADD;
+                case SUB  : return OpCode.INTEGER_SUB;
+                case MULT : return OpCode.INTEGER_MULT;
+                case DIV  : return OpCode.INTEGER_DIV;
+                default   : return OpCode.INTEGER_MOD;
+            }
+        }
+        else if (type == tokenType.REAL)
+        {
+            switch (opType)
+            {
+                case ADD  : return OpCode.REAL_ADD;
+                case SUB  : return OpCode.REAL_SUB;
+                case MULT : return OpCode.REAL_MULT;
+                case DIV  : return OpCode.REAL_DIV;
+                default   : return OpCode.REAL_MOD;
+            }
+        }
+        else if (type == tokenType.STRING)
+        {
+            if (opType == MathOpNode.operationType.ADD)
+            {
+                return OpCode.CONCATENATE;
+            }
+            else throw new SyntaxErrorException("No valid String operation found on line " + line + ".");
+        }
+        else throw new SyntaxErrorException("No valid operation found on line " + line + ".");
+    }
+
+    /**
+     * Returns the instruction performing the incoming comparisonType on two comparands of the incoming tokenType,
+     * or -1 if the comparison is always false for that type, as it is in the Interpreter.
+     *
+     * @param compType Incoming comparisonType.
+     * @param type Incoming tokenType, null if the comparands' types differ.
+     * @param line Incoming line number.
+     * @return Instruction performing compType, or -1 if it is always false.
+     * @throws SyntaxErrorException If no valid comparison for type is found.
+     */
+    private int getInstruction(BooleanCompareNode.comparisonType compType, tokenType type, int line)
+            throws SyntaxErrorException
+    {
+        if (type == tokenType.INTEGER)
+        {
+            switch (compType)
+            {
+                case GTHAN  : return OpCode.INTEGER_GTHAN;
+                case LTHAN  : return OpCode.INTEGER_LTHAN;
+                case GETO   : return OpCode.INTEGER_GETO;
+                case LETO   : return OpCode.INTEGER_LETO;
+                case EQUAL  : return OpCode.INTEGER_EQUAL;
+                case NEQUAL : return OpCode.INTEGER_NEQUAL;
+                default     : return -1;
+            }
+        }
+        else if (type == tokenType.REAL)
+        {
+            switch (compType)
+            {
+                case GTHAN  : return OpCode.REAL_GTHAN;
+                case LTHAN  : return OpCode.REAL_LTHAN;
+                case GETO   : return OpCode.REAL_GETO;
+                case LETO   : return OpCode.REAL_LETO;
+                case EQUAL  : return OpCode.REAL_EQUAL;
+                case NEQUAL : return OpCode.REAL_NEQUAL;
+                default     : return -1;
+            }
+        }
+        else if (type == tokenType.STRING || type == tokenType.CHARACTER)
+        {
+            switch (compType)
+            {
+                case EQUAL  : return type == tokenType.STRING ? OpCode.STRING_EQUAL : OpCode.INTEGER_EQUAL;
+                case NEQUAL : return type == tokenType.STRING ? OpCode.STRING_NEQUAL : OpCode.INTEGER_NEQUAL;
+                default     : return -1;
+            }
+        }
+        else if (type == tokenType.BOOLEAN)
+        {
+            switch (compType)
+            {
+                case NOT   : return OpCode.NOT;
+                case OR    : return OpCode.OR;
+                case AND   : return OpCode.AND;
+                case EQUAL : return OpCode.INTEGER_EQUAL;
+                default    : return -1;
+            }
+        }
+        else throw new SyntaxErrorException("No valid boolean comparison found on line " + line + ".");
+    }
+
+    /**
+     * Compiles the incoming BooleanCompareNode as a conditional jump taken when it evaluates to the incoming boolean,
+     * and returns the index of the jump's placeholder target. A comparison between two integers, characters or
+     * booleans jumps directly on its comparands instead of pushing a boolean first.
+     *
+     * @param conditional Incoming BooleanCompareNode.
+     * @param isJumpWhenTrue Incoming boolean.
+     * @param line Incoming line number.
+     * @return Index of the placeholder target.
+     */
+    @Override
+    protected int compileBranch(BooleanCompareNode conditional, boolean isJumpWhenTrue, int line)
+    {
+        int start = getCodeLength(), depth = stackDepth;
+
+        try
+        {
+            tokenType leftType = emitExpression(conditional.getLeftComparand());
+            tokenType rightType = emitExpression(conditional.getRightComparand());
+
+            int jump = getJumpInstruction(
+                    getInstruction(conditional.getCompType(), checkTypes(leftType, rightType), line), isJumpWhenTrue);
+
+            if (jump != -1)
+            {
+                return emitJump(jump, line);
+            }
+        }
+        catch (SyntaxErrorException e)
+        {
+            //compiled again below, where the FAIL instruction is emitted
+        }
+
+        rewind(start);
+        stackDepth = depth;
+
+        compileExpression(conditional);
+
+        return emitJump(isJumpWhenTrue ? OpCode.JUMP_IF_TRUE : OpCode.JUMP_IF_FALSE, line);
+    }
+
+    /**
+     * Returns the jump instruction taken when the incoming integer comparison instruction is true, or when it is
+     * false if the incoming boolean is false. Returns -1 if the instruction does not compare integers.
+     *
+     * @param comparison Incoming comparison instruction.
+     * @param isJumpWhenTrue Incoming boolean.
+     * @return Jump instruction for comparison, or -1.
+     */
+    private int getJumpInstruction(int comparison, boolean isJumpWhenTrue)
+    {
+        switch (isJumpWhenTrue ? comparison : getOppositeComparison(comparison))
+        {
+            case OpCode.INTEGER_GTHAN  : return OpCode.JUMP_IF_INTEGER_GTHAN;
+            case OpCode.INTEGER_LTHAN  : return OpCode.JUMP_IF_INTEGER_LTHAN;
+            case OpCode.INTEGER_GETO   : return OpCode.JUMP_IF_INTEGER_GETO;
+            case OpCode.INTEGER_LETO   : return OpCode.JUMP_IF_INTEGER_LETO;
+            case OpCode.INTEGER_EQUAL  : return OpCode.JUMP_IF_INTEGER_EQUAL;
+            case OpCode.INTEGER_NEQUAL : return OpCode.JUMP_IF_INTEGER_NEQUAL;
+            default                    : return -1;
+        }
+    }
+
+    /**
+     * Returns the integer comparison instruction that is true exactly when the incoming one is false,
+     * or -1 if the incoming instruction does not compare integers.
+     *
+     * @param comparison Incoming comparison instruction.
+     * @return Opposite of comparison, or -1.
+     */
+    private int getOppositeComparison(int comparison)
+    {
+        switch (comparison)
+        {
+            case OpCode.INTEGER_GTHAN  : return OpCode.INTEGER_LETO;
+            case OpCode.INTEGER_LTHAN  : return OpCode.INTEGER_GETO;
+            case OpCode.INTEGER_GETO   : return OpCode.INTEGER_LTHAN;
+            case OpCode.INTEGER_LETO   : return OpCode.INTEGER_GTHAN;
+            case OpCode.INTEGER_EQUAL  : return OpCode.INTEGER_NEQUAL;
+            case OpCode.INTEGER_NEQUAL : return OpCode.INTEGER_EQUAL;
+            default                    : return -1;
+        }
+    }
+
+    /**
+     * Returns the index of the incoming value in the constant pool, adding it if it is not there yet.
+     * CallSites and exceptions are never shared.
+     *
+     * @param value Incoming value.
+     * @return Index of value in the constant pool.
+     */
+    private int addConstant(Object value)
+    {
+        if (!(value instanceof String))
+        {
+            constants.add(value);
+            return constants.size() - 1;
+        }
+
+        Integer index = constantIndices.get(value);
+
+        if (index == null)
+        {
+            index = constants.size();
+            constants.add(value);
+            constantIndices.put(value, index);
+        }
+
+        return index;
+    }
+
+    /**
+     * Appends a FAIL instruction throwing the incoming SyntaxErrorException.
+     *
+     * @param exception Incoming SyntaxErrorException.
+     * @param line Incoming line number.
+     */
+    private void emitFail(SyntaxErrorException exception, int line)
+    {
+        emit(OpCode.FAIL, addConstant(exception), line);
+    }
+
+    /**
+     * Appends the incoming instruction, which takes no operand, from the incoming line.
+     *
+     * @param instruction Incoming instruction.
+     * @param line Incoming line number.
+     */
+    private void emit(int instruction, int line)
+    {
+        append(instruction, line);
+        adjustStack(getStackEffect(instruction));
+    }
+
+    /**
+     * Appends the incoming instruction with the incoming operand from the incoming line.
+     *
+     * @param instruction Incoming instruction.
+     * @param operand Incoming operand.
+     * @param line Incoming line number.
+     */
+    private void emit(int instruction, int operand, int line)
+    {
+        append(instruction, line);
+        append(operand, line);
+        adjustStack(getStackEffect(instruction));
+    }
+
+    @Override
+    protected int emitUnconditionalJump(int line)
+    {
+        return emitJump(OpCode.JUMP, line);
+    }
+
+    /**
+     * Appends the incoming jump instruction with a placeholder target and returns the index of that placeholder.
+     *
+     * @param instruction Incoming jump instruction.
+     * @param line Incoming line number.
+     * @return Index of the placeholder target.
+     */
+    private int emitJump(int instruction, int line)
+    {
+        emit(instruction, -1, line);
+        return getCodeLength() - 1;
+    }
+
+    /**
+     * Returns how many values the incoming instruction leaves on the stack, minus how many it takes off.
+     * The arguments a CALL takes off are never counted, since every statement starts on an empty stack.
+     *
+     * @param instruction Incoming instruction.
+     * @return Change in stack depth caused by instruction.
+     */
+    private int getStackEffect(int instruction)
+    {
+        switch (instruction)
+        {
+            case OpCode.PUSH                   : return 1;
+            case OpCode.PUSH_REAL              : return 1;
+            case OpCode.CONST                  : return 1;
+            case OpCode.LOAD                   : return 1;
+            case OpCode.REFERENCE_LOAD         : return 1;
+            case OpCode.INTEGER_ARRAY_LOAD     : return 0;
+            case OpCode.REAL_ARRAY_LOAD        : return 0;
+            case OpCode.CHARACTER_ARRAY_LOAD   : return 0;
+            case OpCode.BOOLEAN_ARRAY_LOAD     : return 0;
+            case OpCode.STRING_ARRAY_LOAD      : return 0;
+            case OpCode.INTEGER_ARRAY_STORE    : return -2;
+            case OpCode.REAL_ARRAY_STORE       : return -2;
+            case OpCode.CHARACTER_ARRAY_STORE  : return -2;
+            case OpCode.BOOLEAN_ARRAY_STORE    : return -2;
+            case OpCode.STRING_ARRAY_STORE     : return -2;
+            case OpCode.INCREMENT              : return 0;
+            case OpCode.JUMP                   : return 0;
+            case OpCode.CALL                   : return 0;
+            case OpCode.FAIL                   : return 0;
+            case OpCode.RETURN                 : return 0;
+            case OpCode.JUMP_IF_INTEGER_GTHAN  : return -2;
+            case OpCode.JUMP_IF_INTEGER_LTHAN  : return -2;
+            case OpCode.JUMP_IF_INTEGER_GETO   : return -2;
+            case OpCode.JUMP_IF_INTEGER_LETO   : return -2;
+            case OpCode.JUMP_IF_INTEGER_EQUAL  : return -2;
+            case OpCode.JUMP_IF_INTEGER_NEQUAL : return -2;
+            default                            : return -1;
+        }
+    }
+
+    /**
+     * Changes the tracked stack depth by the incoming int and records the deepest it has been.
+     *
+     * @param change Incoming int.
+     */
+    private void adjustStack(int change)
+    {
+        stackDepth += change;
+        maxStack = Math.max(maxStack, stackDepth);
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Describes one function call in a CompiledFunction's constant pool.
+ * The called function is looked up by name on the first call and remembered afterwards.
+ */
+
+package VirtualMachine;
+
+import CrossStageTools.tokenType;
+
+public class CallSite
+{
+    private final String calledName;
+
+    private final int[] argumentSlots;
+
+    private final tokenType[] argumentTypes;
+
+    private final int lineNumber;
+
+    private Object target;
+
+    private int[] copyBackSlots;
+
+    /**
+     * Creates a CallSite calling the function with the incoming String as its name.
+     * The incoming int array holds, for each argument, the caller's slot of a var argument or -1 for any other,
+     * and the incoming tokenType array holds the type of each argument.
+     *
+     * @param name Incoming String.
+     * @param incomingArgumentSlots Incoming int array.
+     * @param incomingArgumentTypes Incoming tokenType array.
+     * @param line Incoming line number.
+     */
+    public CallSite(String name, int[] incomingArgumentSlots, tokenType[] incomingArgumentTypes, int line)
+    {
+        calledName = name;
+        argumentSlots = incomingArgumentSlots;
+        argumentTypes = incomingArgumentTypes;
+        lineNumber = line;
+    }
+
+    /**
+     * Returns the name of the called function.
+     *
+     * @return Name of the called function.
+     */
+    public String getName()
+    {
+        return calledName;
+    }
+
+    /**
+     * Returns the number of arguments this CallSite pushes.
+     *
+     * @return Number of arguments.
+     */
+    public int getNumberOfArguments()
+    {
+        return argumentSlots.length;
+    }
+
+    /**
+     * Returns, for each argument, the caller's slot of a var argument or -1 for any other.
+     *
+     * @return Caller slots of var arguments.
+     */
+    public int[] getArgumentSlots()
+    {
+        return argumentSlots;
+    }
+
+    /**
+     * Returns the type of each argument, in order.
+     *
+     * @return Type of each argument.
+     */
+    public tokenType[] getArgumentTypes()
+    {
+        return argumentTypes;
+    }
+
+    /**
+     * Returns the called CompiledFunction or BuiltInFunctionNode, null before the first call.
+     *
+     * @return Called function.
+     */
+    public Object getTarget()
+    {
+        return target;
+    }
+
+    /**
+     * Returns, for each argument, the caller's slot its parameter's final value is copied back into,
+     * or -1 if it is not copied back. Null before the first call.
+     *
+     * @return Caller slots to copy parameters back into.
+     */
+    public int[] getCopyBackSlots()
+    {
+        return copyBackSlots;
+    }
+
+    /**
+     * Remembers the incoming function as this CallSite's target along with the incoming copy back slots.
+     *
+     * @param incomingTarget Incoming CompiledFunction or BuiltInFunctionNode.
+     * @param incomingCopyBackSlots Incoming copy back slots.
+     */
+    public void bind(Object incomingTarget, int[] incomingCopyBackSlots)
+    {
+        target = incomingTarget;
+        copyBackSlots = incomingCopyBackSlots;
+    }
+
+    /**
+     * Returns the line number this CallSite was compiled from.
+     *
+     * @return Line number of this CallSite.
+     */
+    public int getLineNumber()
+    {
+        return lineNumber;
+    }
+
+    @Override
+    public String toString()
+    {
+        return calledName + "/" + argumentSlots.length;
+    }
+}
@@ -0,0 +1,241 @@
+/**
+ * Describes one user defined Kakuzaki function compiled to bytecode for VirtualMachine.
+ */
+
+package VirtualMachine;
+
+import CrossStageTools.Nodes.FunctionNode;
+import CrossStageTools.tokenType;
+import Interpreter.InterpreterDataTypes.ArrayDataType;
+
+public class CompiledFunction
+{
+    private final FunctionNode function;
+
+    private final int[] code, lineNumbers, parameterSlots, arraySlots;
+
+    private final tokenType[] slotTypes, parameterTypes;
+
+    private final int[] initialLocals;
+
+    private final Object[] constants, initialReferenceLocals;
+
+    private final int maxStack;
+
+    /**
+     * Creates a CompiledFunction from the incoming FunctionNode with the incoming code array, the incoming line
+     * number of each index in the code array, the incoming constant pool, the incoming values each int and reference
+     * slot starts with, the incoming type each slot holds, the incoming slots and types of each parameter and the
+     * incoming deepest the stack gets.
+     *
+     * @param incomingFunction Incoming FunctionNode.
+     * @param incomingCode Incoming code array.
+     * @param incomingLineNumbers Incoming line number of each index in incomingCode.
+     * @param incomingConstants Incoming constant pool.
+     * @param incomingInitialLocals Incoming values each int slot starts with.
+     * @param incomingInitialReferenceLocals Incoming values each reference slot starts with.
+     * @param incomingSlotTypes Incoming type each slot holds.
+     * @param incomingParameterSlots Incoming slots of each parameter.
+     * @param incomingParameterTypes Incoming types of each parameter.
+     * @param incomingMaxStack Incoming deepest the stack gets.
+     */
+    public CompiledFunction(FunctionNode incomingFunction, int[] incomingCode, int[] incomingLineNumbers,
+                            Object[] incomingConstants, int[] incomingInitialLocals,
+                            Object[] incomingInitialReferenceLocals, tokenType[] incomingSlotTypes,
+                            int[] incomingParameterSlots, tokenType[] incomingParameterTypes, int incomingMaxStack)
+    {
+        function = incomingFunction;
+        code = incomingCode;
+        lineNumbers = incomingLineNumbers;
+        constants = incomingConstants;
+        initialLocals = incomingInitialLocals;
+        initialReferenceLocals = incomingInitialReferenceLocals;
+        slotTypes = incomingSlotTypes;
+        parameterSlots = incomingParameterSlots;
+        parameterTypes = incomingParameterTypes;
+        maxStack = incomingMaxStack;
+
+        int arrayCount = 0;
+
+        for (int i = 0; i < initialReferenceLocals.length; i++)
+        {
+            if (initialReferenceLocals[i] instanceof ArrayDataType)
+            {
+                arrayCount++;
+            }
+        }
+
+        arraySlots = new int[arrayCount];
+
+        for (int i = 0, j = 0; i < initialReferenceLocals.length; i++)
+        {
+            if (initialReferenceLocals[i] instanceof ArrayDataType)
+            {
+                arraySlots[j++] = i;
+            }
+        }
+    }
+
+    /**
+     * Returns the FunctionNode this CompiledFunction was compiled from.
+     *
+     * @return FunctionNode this CompiledFunction was compiled from.
+     */
+    public FunctionNode getFunction()
+    {
+        return function;
+    }
+
+    /**
+     * Returns this CompiledFunction's code array.
+     *
+     * @return This CompiledFunction's code array.
+     */
+    public int[] getCode()
+    {
+        return code;
+    }
+
+    /**
+     * Returns the line number of the incoming index in the code array.
+     *
+     * @param index Incoming index.
+     * @return Line number of index.
+     */
+    public int getLineNumber(int index)
+    {
+        return lineNumbers[index];
+    }
+
+    /**
+     * Returns this CompiledFunction's constant pool.
+     *
+     * @return This CompiledFunction's constant pool.
+     */
+    public Object[] getConstants()
+    {
+        return constants;
+    }
+
+    /**
+     * Returns new int slots for this CompiledFunction with declared variables and constants in them.
+     *
+     * @return New int slots.
+     */
+    public int[] makeLocals()
+    {
+        return initialLocals.clone();
+    }
+
+    /**
+     * Returns new reference slots for this CompiledFunction with declared variables and constants in them.
+     * Arrays are copied, so no call sees the elements another call wrote.
+     *
+     * @return New reference slots.
+     */
+    public Object[] makeReferenceLocals()
+    {
+        Object[] referenceLocals = initialReferenceLocals.clone();
+
+        for (int i = 0; i < arraySlots.length; i++)
+        {
+            referenceLocals[arraySlots[i]] = ((ArrayDataType)referenceLocals[arraySlots[i]]).copy();
+        }
+
+        return referenceLocals;
+    }
+
+    /**
+     * Returns the value each int slot starts with, without copying it.
+     *
+     * @return Value each int slot starts with.
+     */
+    public int[] getInitialLocals()
+    {
+        return initialLocals;
+    }
+
+    /**
+     * Returns the value each reference slot starts with, without copying it.
+     *
+     * @return Value each reference slot starts with.
+     */
+    public Object[] getInitialReferenceLocals()
+    {
+        return initialReferenceLocals;
+    }
+
+    /**
+     * Returns the type each slot holds, with hidden slots holding integers.
+     *
+     * @return Type each slot holds.
+     */
+    public tokenType[] getSlotTypes()
+    {
+        return slotTypes;
+    }
+
+    /**
+     * Returns the slot of each parameter, in order.
+     *
+     * @return Slot of each parameter.
+     */
+    public int[] getParameterSlots()
+    {
+        return parameterSlots;
+    }
+
+    /**
+     * Returns the type of each parameter, in order.
+     *
+     * @return Type of each parameter.
+     */
+    public tokenType[] getParameterTypes()
+    {
+        return parameterTypes;
+    }
+
+    /**
+     * Returns the deepest the stack gets while running this CompiledFunction.
+     *
+     * @return Deepest the stack gets.
+     */
+    public int getMaxStack()
+    {
+        return maxStack;
+    }
+
+    /**
+     * Returns this CompiledFunction as a readable listing of its instructions.
+     *
+     * @return Readable listing of this CompiledFunction's instructions.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder listing = new StringBuilder("Compiled function " + function.getName() + " with "
+                + initialLocals.length + " slots\n");
+
+        for (int i = 0; i < code.length; i += 1 + OpCode.getOperandCount(code[i]))
+        {
+            listing.append(i).append('\t').append(OpCode.getName(code[i]));
+
+            for (int j = 1; j <= OpCode.getOperandCount(code[i]); j++)
+            {
+                listing.append(' ').append(code[i + j]);
+            }
+            if (code[i] == OpCode.CONST || code[i] == OpCode.CALL || code[i] == OpCode.FAIL)
+            {
+                listing.append(" (").append(constants[code[i + 1]]).append(')');
+            }
+            else if (code[i] == OpCode.PUSH_REAL)
+            {
+                listing.append(" (").append(Float.intBitsToFloat(code[i + 1])).append(')');
+            }
+
+            listing.append('\n');
+        }
+
+        return listing.toString();
+    }
+}
@@ -0,0 +1,359 @@
+/**
+ * Describes what BytecodeCompiler and RegisterCompiler share: the code array both append ints to, with the line each
+ * int came from, and the statements whose shape does not depend on the instruction set, which are while and repeat
+ * loops, if chains and the check for whether a for loop's statements can store into its iterator.
+ * Each compiler supplies its own for loops, assignments, calls, conditional jumps and unconditional jump.
+ * The code array is private, since it is replaced whenever it grows, so jump targets are only ever written through
+ * patchJump and setCode, after whatever emitted the jump has returned.
+ */
+
+package VirtualMachine;
+
+import java.util.ArrayList;
+
+import CrossStageTools.Nodes.StatementNode;
+import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.AssignmentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.BooleanCompareNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.FunctionCallNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.ForNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.IfNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.RepeatNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.WhileNode;
+
+public abstract class ControlFlowCompiler
+{
+    private int[] code, lineNumbers;
+
+    private int codeLength;
+
+    /**
+     * Empties the code array, before a new function is compiled.
+     */
+    protected void startCode()
+    {
+        code = new int[64];
+        lineNumbers = new int[64];
+        codeLength = 0;
+    }
+
+    /**
+     * Returns how many ints have been appended, which is the index the next one is appended at.
+     *
+     * @return Number of ints appended.
+     */
+    protected int getCodeLength()
+    {
+        return codeLength;
+    }
+
+    /**
+     * Drops every int appended after the first incoming number of them.
+     *
+     * @param length Incoming number of ints to keep.
+     */
+    protected void rewind(int length)
+    {
+        codeLength = length;
+    }
+
+    /**
+     * Returns the int at the incoming index of the code array.
+     *
+     * @param index Incoming index.
+     * @return Int at index.
+     */
+    protected int getCode(int index)
+    {
+        return code[index];
+    }
+
+    /**
+     * Replaces the int at the incoming index of the code array with the incoming int.
+     *
+     * @param index Incoming index.
+     * @param value Incoming int.
+     */
+    protected void setCode(int index, int value)
+    {
+        code[index] = value;
+    }
+
+    /**
+     * Returns a copy of the appended ints.
+     *
+     * @return Copy of the code array, as long as the number of ints appended.
+     */
+    protected int[] copyCode()
+    {
+        int[] finalCode = new int[codeLength];
+
+        System.arraycopy(code, 0, finalCode, 0, codeLength);
+
+        return finalCode;
+    }
+
+    /**
+     * Returns a copy of the line each appended int came from.
+     *
+     * @return Copy of the line numbers, as long as the number of ints appended.
+     */
+    protected int[] copyLineNumbers()
+    {
+        int[] finalLineNumbers = new int[codeLength];
+
+        System.arraycopy(lineNumbers, 0, finalLineNumbers, 0, codeLength);
+
+        return finalLineNumbers;
+    }
+
+    /**
+     * Appends the incoming int to the code array, growing it if it is full.
+     *
+     * @param value Incoming int.
+     * @param line Incoming line number.
+     */
+    protected void append(int value, int line)
+    {
+        if (codeLength == code.length)
+        {
+            int[] grownCode = new int[code.length * 2];
+            int[] grownLineNumbers = new int[code.length * 2];
+
+            System.arraycopy(code, 0, grownCode, 0, codeLength);
+            System.arraycopy(lineNumbers, 0, grownLineNumbers, 0, codeLength);
+
+            code = grownCode;
+            lineNumbers = grownLineNumbers;
+        }
+
+        code[codeLength] = value;
+        lineNumbers[codeLength] = line;
+        codeLength++;
+    }
+
+    /**
+     * Points the jump whose target is at the incoming index at the next int to be appended.
+     *
+     * @param targetIndex Incoming index.
+     */
+    protected void patchJump(int targetIndex)
+    {
+        code[targetIndex] = codeLength;
+    }
+
+    /**
+     * Compiles each StatementNode in the incoming ArrayList.
+     *
+     * @param statements Incoming StatementNode ArrayList.
+     */
+    protected abstract void compileStatements(ArrayList<StatementNode> statements);
+
+    /**
+     * Compiles the incoming ForNode.
+     *
+     * @param forBlock Incoming ForNode.
+     */
+    protected abstract void compileFor(ForNode forBlock);
+
+    /**
+     * Compiles the incoming AssignmentNode.
+     *
+     * @param assignment Incoming AssignmentNode.
+     */
+    protected abstract void compileAssignment(AssignmentNode assignment);
+
+    /**
+     * Compiles the incoming FunctionCallNode.
+     *
+     * @param call Incoming FunctionCallNode.
+     */
+    protected abstract void compileFunctionCall(FunctionCallNode call);
+
+    /**
+     * Compiles the incoming BooleanCompareNode as a conditional jump taken when it evaluates to the incoming boolean,
+     * and returns the index of the jump's placeholder target.
+     *
+     * @param conditional Incoming BooleanCompareNode.
+     * @param isJumpWhenTrue Incoming boolean.
+     * @param line Incoming line number.
+     * @return Index of the placeholder target.
+     */
+    protected abstract int compileBranch(BooleanCompareNode conditional, boolean isJumpWhenTrue, int line);
+
+    /**
+     * Appends a jump that is always taken, with a placeholder target, and returns the index of that placeholder.
+     *
+     * @param line Incoming line number.
+     * @return Index of the placeholder target.
+     */
+    protected abstract int emitUnconditionalJump(int line);
+
+    /**
+     * Compiles the incoming StatementNode.
+     *
+     * @param statement Incoming StatementNode.
+     */
+    protected void compileStatement(StatementNode statement)
+    {
+        if (statement instanceof IfNode)
+        {
+            compileIf((IfNode)statement);
+        }
+        else if (statement instanceof ForNode)
+        {
+            compileFor((ForNode)statement);
+        }
+        else if (statement instanceof RepeatNode)
+        {
+            RepeatNode repeatBlock = (RepeatNode)statement;
+
+            compileLoop(repeatBlock.getConditional(), false, repeatBlock.getStatements(), repeatBlock.getLineNumber());
+        }
+        else if (statement instanceof WhileNode)
+        {
+            WhileNode whileBlock = (WhileNode)statement;
+
+            compileLoop(whileBlock.getConditional(), true, whileBlock.getStatements(), whileBlock.getLineNumber());
+        }
+        else if (statement instanceof AssignmentNode)
+        {
+            compileAssignment((AssignmentNode)statement);
+        }
+        else if (statement instanceof FunctionCallNode)
+        {
+            compileFunctionCall((FunctionCallNode)statement);
+        }
+    }
+
+    /**
+     * Compiles a loop running the incoming StatementNode ArrayList for as long as the incoming BooleanCompareNode
+     * evaluates to the incoming boolean. The condition is placed after the statements and jumped to on entry,
+     * so each iteration takes a single conditional jump.
+     *
+     * @param conditional Incoming BooleanCompareNode.
+     * @param isRunWhenTrue Incoming boolean.
+     * @param statements Incoming StatementNode ArrayList.
+     * @param line Incoming line number.
+     */
+    private void compileLoop(BooleanCompareNode conditional, boolean isRunWhenTrue,
+                             ArrayList<StatementNode> statements, int line)
+    {
+        int entryJump = emitUnconditionalJump(line);
+        int start = codeLength;
+
+        compileStatements(statements);
+        patchJump(entryJump);
+
+        int exitJump = compileBranch(conditional, isRunWhenTrue, line);
+
+        code[exitJump] = start;
+    }
+
+    /**
+     * Compiles the incoming IfNode and every IfNode chained after it.
+     * An else block has no conditional, so its statements run whenever control reaches them.
+     *
+     * @param ifBlock Incoming IfNode.
+     */
+    private void compileIf(IfNode ifBlock)
+    {
+        ArrayList<Integer> endJumps = new ArrayList<>();
+
+        for (IfNode currentBlock = ifBlock; currentBlock != null; currentBlock = currentBlock.getNext())
+        {
+            int nextJump = -1;
+
+            if (currentBlock.getConditional() != null)
+            {
+                nextJump = compileBranch(currentBlock.getConditional(), false, currentBlock.getLineNumber());
+            }
+
+            compileStatements(currentBlock.getStatements());
+
+            if (currentBlock.hasNext())
+            {
+                endJumps.add(emitUnconditionalJump(currentBlock.getLineNumber()));
+            }
+            if (nextJump != -1)
+            {
+                patchJump(nextJump);
+            }
+        }
+
+        for (int i = 0; i < endJumps.size(); i++)
+        {
+            patchJump(endJumps.get(i));
+        }
+    }
+
+    /**
+     * Returns true if any statement in the incoming ArrayList, or nested inside one, can store into the incoming
+     * slot, whether by assignment, as a for loop iterator or as a var argument.
+     *
+     * @param statements Incoming StatementNode ArrayList.
+     * @param slot Incoming slot.
+     * @return True if slot can be stored into by statements.
+     */
+    protected static boolean isSlotAssigned(ArrayList<StatementNode> statements, int slot)
+    {
+        for (int i = 0; i < statements.size(); i++)
+        {
+            StatementNode statement = statements.get(i);
+
+            if (statement instanceof AssignmentNode)
+            {
+                if (((AssignmentNode)statement).getTarget().getSlot() == slot)
+                {
+                    return true;
+                }
+            }
+            else if (statement instanceof FunctionCallNode)
+            {
+                ArrayList<ArgumentNode> arguments = ((FunctionCallNode)statement).getArguments();
+
+                for (int j = 0; j < arguments.size(); j++)
+                {
+                    if (!arguments.get(j).isConstant() && arguments.get(j).getVariableReference().getSlot() == slot)
+                    {
+                        return true;
+                    }
+                }
+            }
+            else if (statement instanceof ForNode)
+            {
+                if (((ForNode)statement).getIterator().getSlot() == slot
+                        || isSlotAssigned(((ForNode)statement).getStatements(), slot))
+                {
+                    return true;
+                }
+            }
+            else if (statement instanceof WhileNode)
+            {
+                if (isSlotAssigned(((WhileNode)statement).getStatements(), slot))
+                {
+                    return true;
+                }
+            }
+            else if (statement instanceof RepeatNode)
+            {
+                if (isSlotAssigned(((RepeatNode)statement).getStatements(), slot))
+                {
+                    return true;
+                }
+            }
+            else if (statement instanceof IfNode)
+            {
+                for (IfNode ifBlock = (IfNode)statement; ifBlock != null; ifBlock = ifBlock.getNext())
+                {
+                    if (isSlotAssigned(ifBlock.getStatements(), slot))
+                    {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+}
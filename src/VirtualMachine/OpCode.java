@@ -0,0 +1,211 @@
+/**
+ * Lists the instructions understood by VirtualMachine.
+ * Each instruction is one int in a CompiledFunction's code array, followed by its operands, if it has any.
+ * Only the superinstructions Superinstructions fuses out of common sequences take more than one operand.
+ * Integers, reals, characters and booleans live unboxed in int slots, with reals stored as their float bits and
+ * booleans as 0 or 1. Strings and arrays live in reference slots. Every instruction works on one of the two.
+ */
+
+package VirtualMachine;
+
+public final class OpCode
+{
+    /** Pushes the operand itself onto the stack. */
+    public static final int PUSH = 0;
+    /** Pushes the reference at the operand's index in the constant pool. */
+    public static final int CONST = 1;
+    /** Pushes the value in the operand's slot. */
+    public static final int LOAD = 2;
+    /** Pops a value into the operand's slot. */
+    public static final int STORE = 3;
+    /** Pushes the reference in the operand's slot. */
+    public static final int REFERENCE_LOAD = 4;
+    /** Pops a reference into the operand's slot. */
+    public static final int REFERENCE_STORE = 5;
+    /** Adds one to the integer in the operand's slot. */
+    public static final int INCREMENT = 6;
+
+    public static final int INTEGER_ADD = 7;
+    public static final int INTEGER_SUB = 8;
+    public static final int INTEGER_MULT = 9;
+    public static final int INTEGER_DIV = 10;
+    public static final int INTEGER_MOD = 11;
+
+    public static final int REAL_ADD = 12;
+    public static final int REAL_SUB = 13;
+    public static final int REAL_MULT = 14;
+    public static final int REAL_DIV = 15;
+    public static final int REAL_MOD = 16;
+
+    /** Pops two Strings and pushes them joined together. */
+    public static final int CONCATENATE = 17;
+
+    public static final int INTEGER_GTHAN = 18;
+    public static final int INTEGER_LTHAN = 19;
+    public static final int INTEGER_GETO = 20;
+    public static final int INTEGER_LETO = 21;
+    /** Compares two integers, characters or booleans. */
+    public static final int INTEGER_EQUAL = 22;
+    /** Compares two integers, characters or booleans. */
+    public static final int INTEGER_NEQUAL = 23;
+
+    public static final int REAL_GTHAN = 24;
+    public static final int REAL_LTHAN = 25;
+    public static final int REAL_GETO = 26;
+    public static final int REAL_LETO = 27;
+    public static final int REAL_EQUAL = 28;
+    public static final int REAL_NEQUAL = 29;
+
+    public static final int STRING_EQUAL = 30;
+    public static final int STRING_NEQUAL = 31;
+
+    /** Pops two booleans and pushes the opposite of the first one. */
+    public static final int NOT = 32;
+    public static final int AND = 33;
+    public static final int OR = 34;
+
+    /** Continues at the operand's index in the code array. */
+    public static final int JUMP = 35;
+    /** Pops a boolean and continues at the operand's index if it is false. */
+    public static final int JUMP_IF_FALSE = 36;
+    /** Pops a boolean and continues at the operand's index if it is true. */
+    public static final int JUMP_IF_TRUE = 37;
+    /** Pops two integers and continues at the operand's index if the first is greater. */
+    public static final int JUMP_IF_INTEGER_GTHAN = 38;
+    public static final int JUMP_IF_INTEGER_LTHAN = 39;
+    public static final int JUMP_IF_INTEGER_GETO = 40;
+    public static final int JUMP_IF_INTEGER_LETO = 41;
+    public static final int JUMP_IF_INTEGER_EQUAL = 42;
+    public static final int JUMP_IF_INTEGER_NEQUAL = 43;
+    /** Calls the CallSite at the operand's index in the constant pool. */
+    public static final int CALL = 44;
+    /** Throws the SyntaxErrorException at the operand's index in the constant pool. */
+    public static final int FAIL = 45;
+    public static final int RETURN = 46;
+    /** Pushes the operand itself onto the stack, as the float bits of a real. */
+    public static final int PUSH_REAL = 47;
+    /** Pops an index and pushes the integer at that index of the array in the operand's slot. */
+    public static final int INTEGER_ARRAY_LOAD = 48;
+    /** Pops an index and pushes the float bits of the real at that index of the array in the operand's slot. */
+    public static final int REAL_ARRAY_LOAD = 49;
+    public static final int CHARACTER_ARRAY_LOAD = 50;
+    public static final int BOOLEAN_ARRAY_LOAD = 51;
+    /** Pops an index and pushes the String at that index of the array in the operand's slot. */
+    public static final int STRING_ARRAY_LOAD = 52;
+    /** Pops an integer, then an index, and stores the integer at that index of the array in the operand's slot. */
+    public static final int INTEGER_ARRAY_STORE = 53;
+    public static final int REAL_ARRAY_STORE = 54;
+    public static final int CHARACTER_ARRAY_STORE = 55;
+    public static final int BOOLEAN_ARRAY_STORE = 56;
+    /** Pops a String, then an index, and stores the String at that index of the array in the operand's slot. */
+    public static final int STRING_ARRAY_STORE = 57;
+
+    /** Adds the second operand itself to the integer in the first operand's slot. */
+    public static final int INCREMENT_BY = 58;
+    /**
+     * Adds one to the integer in the first operand's slot and continues at the third operand's index if it is then
+     * at most the integer in the second operand's slot.
+     */
+    public static final int INCREMENT_AND_JUMP_IF_LETO = 59;
+    /** Pushes the integer at the index in the second operand's slot of the array in the first operand's slot. */
+    public static final int INTEGER_ELEMENT_LOAD = 60;
+    /**
+     * Pops an integer and continues at the second operand's index if it is greater than the integer in the first
+     * operand's slot.
+     */
+    public static final int JUMP_IF_INTEGER_GTHAN_SLOT = 61;
+    public static final int JUMP_IF_INTEGER_LTHAN_SLOT = 62;
+    public static final int JUMP_IF_INTEGER_GETO_SLOT = 63;
+    public static final int JUMP_IF_INTEGER_LETO_SLOT = 64;
+    public static final int JUMP_IF_INTEGER_EQUAL_SLOT = 65;
+    public static final int JUMP_IF_INTEGER_NEQUAL_SLOT = 66;
+
+    private static final String[] NAMES = {"PUSH", "CONST", "LOAD", "STORE", "REFERENCE_LOAD", "REFERENCE_STORE",
+                                           "INCREMENT",
+                                           "INTEGER_ADD", "INTEGER_SUB", "INTEGER_MULT", "INTEGER_DIV", "INTEGER_MOD",
+                                           "REAL_ADD", "REAL_SUB", "REAL_MULT", "REAL_DIV", "REAL_MOD",
+                                           "CONCATENATE",
+                                           "INTEGER_GTHAN", "INTEGER_LTHAN", "INTEGER_GETO", "INTEGER_LETO",
+                                           "INTEGER_EQUAL", "INTEGER_NEQUAL",
+                                           "REAL_GTHAN", "REAL_LTHAN", "REAL_GETO", "REAL_LETO",
+                                           "REAL_EQUAL", "REAL_NEQUAL",
+                                           "STRING_EQUAL", "STRING_NEQUAL",
+                                           "NOT", "AND", "OR",
+                                           "JUMP", "JUMP_IF_FALSE", "JUMP_IF_TRUE",
+                                           "JUMP_IF_INTEGER_GTHAN", "JUMP_IF_INTEGER_LTHAN", "JUMP_IF_INTEGER_GETO",
+                                           "JUMP_IF_INTEGER_LETO", "JUMP_IF_INTEGER_EQUAL", "JUMP_IF_INTEGER_NEQUAL",
+                                           "CALL", "FAIL", "RETURN",
+                                           "PUSH_REAL",
+                                           "INTEGER_ARRAY_LOAD", "REAL_ARRAY_LOAD", "CHARACTER_ARRAY_LOAD",
+                                           "BOOLEAN_ARRAY_LOAD", "STRING_ARRAY_LOAD",
+                                           "INTEGER_ARRAY_STORE", "REAL_ARRAY_STORE", "CHARACTER_ARRAY_STORE",
+                                           "BOOLEAN_ARRAY_STORE", "STRING_ARRAY_STORE",
+                                           "INCREMENT_BY", "INCREMENT_AND_JUMP_IF_LETO", "INTEGER_ELEMENT_LOAD",
+                                           "JUMP_IF_INTEGER_GTHAN_SLOT", "JUMP_IF_INTEGER_LTHAN_SLOT",
+                                           "JUMP_IF_INTEGER_GETO_SLOT", "JUMP_IF_INTEGER_LETO_SLOT",
+                                           "JUMP_IF_INTEGER_EQUAL_SLOT", "JUMP_IF_INTEGER_NEQUAL_SLOT"};
+
+    private static final int[] OPERAND_COUNTS = {1, 1, 1, 1, 1, 1,
+                                                 1,
+                                                 0, 0, 0, 0, 0,
+                                                 0, 0, 0, 0, 0,
+                                                 0,
+                                                 0, 0, 0, 0,
+                                                 0, 0,
+                                                 0, 0, 0, 0,
+                                                 0, 0,
+                                                 0, 0,
+                                                 0, 0, 0,
+                                                 1, 1, 1,
+                                                 1, 1, 1,
+                                                 1, 1, 1,
+                                                 1, 1, 0,
+                                                 1,
+                                                 1, 1, 1,
+                                                 1, 1,
+                                                 1, 1, 1,
+                                                 1, 1,
+                                                 2, 3, 2,
+                                                 2, 2,
+                                                 2, 2,
+                                                 2, 2};
+
+    private OpCode()
+    {}
+
+    /**
+     * Returns the readable name of the incoming instruction.
+     *
+     * @param instruction Incoming instruction.
+     * @return Readable name of instruction.
+     */
+    public static String getName(int instruction)
+    {
+        return NAMES[instruction];
+    }
+
+    /**
+     * Returns how many operands follow the incoming instruction in a code array.
+     *
+     * @param instruction Incoming instruction.
+     * @return Number of operands following instruction.
+     */
+    public static int getOperandCount(int instruction)
+    {
+        return OPERAND_COUNTS[instruction];
+    }
+
+    /**
+     * Checks and returns if the incoming instruction can continue at a code index other than the next instruction's,
+     * in which case that index is its last operand.
+     *
+     * @param instruction Incoming instruction.
+     * @return True if instruction is a jump.
+     */
+    public static boolean isJump(int instruction)
+    {
+        return (instruction >= JUMP && instruction <= JUMP_IF_INTEGER_NEQUAL)
+                || instruction == INCREMENT_AND_JUMP_IF_LETO
+                || (instruction >= JUMP_IF_INTEGER_GTHAN_SLOT && instruction <= JUMP_IF_INTEGER_NEQUAL_SLOT);
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * Fuses common sequences of instructions in a CompiledFunction into superinstructions, so VirtualMachine dispatches
+ * fewer instructions for the statement shapes that dominate Kakuzaki programs: x := x + 1 and other increments by a
+ * literal, the increment and bound check that end every for loop iteration, and comparisons against a variable or an
+ * integer array element, such as the guard of if a[i] > b.
+ * Each sequence is a pattern in a table, written like a code array whose operands are placeholders, and is replaced by
+ * the superinstruction it maps to. A new pattern found while profiling only needs an entry in the table and a case in
+ * VirtualMachine. Patterns are tried in the order they are added, and none is fused across a jump target.
+ */
+
+package VirtualMachine;
+
+import java.util.ArrayList;
+
+public final class Superinstructions
+{
+    /** Placeholders standing for operands in patterns. A placeholder used twice must match the same operand. */
+    private static final int A = 0, B = 1, C = 2;
+
+    private static final int PLACEHOLDER_COUNT = 3;
+
+    private static final ArrayList<int[]> PATTERNS = new ArrayList<>();
+
+    private static final ArrayList<int[]> REPLACEMENTS = new ArrayList<>();
+
+    static
+    {
+        //x := x + 1
+        add(new int[] {OpCode.LOAD, A, OpCode.PUSH, B, OpCode.INTEGER_ADD, OpCode.STORE, A},
+            new int[] {OpCode.INCREMENT_BY, A, B});
+
+        //the end of a for loop iteration
+        add(new int[] {OpCode.INCREMENT, A, OpCode.LOAD, A, OpCode.LOAD, B, OpCode.JUMP_IF_INTEGER_LETO, C},
+            new int[] {OpCode.INCREMENT_AND_JUMP_IF_LETO, A, B, C});
+
+        //a[i]
+        add(new int[] {OpCode.LOAD, A, OpCode.INTEGER_ARRAY_LOAD, B},
+            new int[] {OpCode.INTEGER_ELEMENT_LOAD, B, A});
+
+        //a comparison against a variable, which ends the guard of if a[i] > b once a[i] is fused
+        add(new int[] {OpCode.LOAD, A, OpCode.JUMP_IF_INTEGER_GTHAN, B},
+            new int[] {OpCode.JUMP_IF_INTEGER_GTHAN_SLOT, A, B});
+        add(new int[] {OpCode.LOAD, A, OpCode.JUMP_IF_INTEGER_LTHAN, B},
+            new int[] {OpCode.JUMP_IF_INTEGER_LTHAN_SLOT, A, B});
+        add(new int[] {OpCode.LOAD, A, OpCode.JUMP_IF_INTEGER_GETO, B},
+            new int[] {OpCode.JUMP_IF_INTEGER_GETO_SLOT, A, B});
+        add(new int[] {OpCode.LOAD, A, OpCode.JUMP_IF_INTEGER_LETO, B},
+            new int[] {OpCode.JUMP_IF_INTEGER_LETO_SLOT, A, B});
+        add(new int[] {OpCode.LOAD, A, OpCode.JUMP_IF_INTEGER_EQUAL, B},
+            new int[] {OpCode.JUMP_IF_INTEGER_EQUAL_SLOT, A, B});
+        add(new int[] {OpCode.LOAD, A, OpCode.JUMP_IF_INTEGER_NEQUAL, B},
+            new int[] {OpCode.JUMP_IF_INTEGER_NEQUAL_SLOT, A, B});
+    }
+
+    private Superinstructions()
+    {}
+
+    /**
+     * Adds the incoming pattern to the table, to be replaced by the incoming superinstruction whose operands are the
+     * placeholders of the pattern.
+     *
+     * @param pattern Incoming pattern.
+     * @param replacement Incoming superinstruction.
+     */
+    private static void add(int[] pattern, int[] replacement)
+    {
+        PATTERNS.add(pattern);
+        REPLACEMENTS.add(replacement);
+    }
+
+    /**
+     * Returns a CompiledFunction running the incoming CompiledFunction's code with every pattern in the table
+     * replaced by its superinstruction, and every jump pointed at the instruction it pointed at before.
+     *
+     * @param compiled Incoming CompiledFunction.
+     * @return CompiledFunction with superinstructions, or compiled itself if no pattern was found.
+     */
+    public static CompiledFunction fuse(CompiledFunction compiled)
+    {
+        int[] code = compiled.getCode();
+        boolean[] isJumpTarget = new boolean[code.length + 1];
+
+        for (int pc = 0; pc < code.length; pc += 1 + OpCode.getOperandCount(code[pc]))
+        {
+            if (OpCode.isJump(code[pc]))
+            {
+                isJumpTarget[code[pc + OpCode.getOperandCount(code[pc])]] = true;
+            }
+        }
+
+        int[] fusedCode = new int[code.length];
+        int[] lineNumbers = new int[code.length];
+        int[] newIndices = new int[code.length + 1];
+        int[] operands = new int[PLACEHOLDER_COUNT];
+        int length = 0;
+
+        for (int pc = 0; pc < code.length;)
+        {
+            int pattern = -1, matchedLength = 0;
+
+            for (int i = 0; i < PATTERNS.size() && pattern == -1; i++)
+            {
+                matchedLength = match(PATTERNS.get(i), code, pc, isJumpTarget, operands);
+
+                if (matchedLength > 0)
+                {
+                    pattern = i;
+                }
+            }
+
+            int replacedLength;
+
+            newIndices[pc] = length;
+
+            if (pattern == -1)
+            {
+                matchedLength = 1 + OpCode.getOperandCount(code[pc]);
+                replacedLength = matchedLength;
+
+                System.arraycopy(code, pc, fusedCode, length, matchedLength);
+            }
+            else
+            {
+                int[] replacement = REPLACEMENTS.get(pattern);
+
+                replacedLength = replacement.length;
+                fusedCode[length] = replacement[0];
+
+                for (int i = 1; i < replacement.length; i++)
+                {
+                    fusedCode[length + i] = operands[replacement[i]];
+                }
+            }
+
+            for (int i = 0; i < replacedLength; i++)
+            {
+                lineNumbers[length + i] = compiled.getLineNumber(pc);
+            }
+
+            length += replacedLength;
+            pc += matchedLength;
+        }
+
+        if (length == code.length)
+        {
+            return compiled;
+        }
+
+        newIndices[code.length] = length;
+
+        int[] finalCode = new int[length];
+        int[] finalLineNumbers = new int[length];
+
+        System.arraycopy(fusedCode, 0, finalCode, 0, length);
+        System.arraycopy(lineNumbers, 0, finalLineNumbers, 0, length);
+
+        for (int pc = 0; pc < length; pc += 1 + OpCode.getOperandCount(finalCode[pc]))
+        {
+            if (OpCode.isJump(finalCode[pc]))
+            {
+                int target = pc + OpCode.getOperandCount(finalCode[pc]);
+
+                finalCode[target] = newIndices[finalCode[target]];
+            }
+        }
+
+        return new CompiledFunction(compiled.getFunction(), finalCode, finalLineNumbers, compiled.getConstants(),
+                                    compiled.getInitialLocals(), compiled.getInitialReferenceLocals(),
+                                    compiled.getSlotTypes(), compiled.getParameterSlots(),
+                                    compiled.getParameterTypes(), compiled.getMaxStack());
+    }
+
+    /**
+     * Checks if the incoming pattern matches the incoming code array at the incoming index, without any of its
+     * instructions but the first being a jump target, and if it does, fills the incoming array with the operand
+     * each placeholder stands for.
+     *
+     * @param pattern Incoming pattern.
+     * @param code Incoming code array.
+     * @param pc Incoming index.
+     * @param isJumpTarget Incoming array marking each index some jump continues at.
+     * @param operands Incoming array of the operand of each placeholder.
+     * @return Number of ints of code the pattern matches, or 0 if it does not match.
+     */
+    private static int match(int[] pattern, int[] code, int pc, boolean[] isJumpTarget, int[] operands)
+    {
+        boolean[] isBound = new boolean[PLACEHOLDER_COUNT];
+        int position = pc;
+
+        for (int i = 0; i < pattern.length; i += 1 + OpCode.getOperandCount(pattern[i]))
+        {
+            if (position >= code.length || code[position] != pattern[i] || (position != pc && isJumpTarget[position]))
+            {
+                return 0;
+            }
+
+            for (int j = 1; j <= OpCode.getOperandCount(pattern[i]); j++)
+            {
+                int placeholder = pattern[i + j];
+
+                if (isBound[placeholder] && operands[placeholder] != code[position + j])
+                {
+                    return 0;
+                }
+
+                operands[placeholder] = code[position + j];
+                isBound[placeholder] = true;
+            }
+
+            position += 1 + OpCode.getOperandCount(pattern[i]);
+        }
+
+        return position - pc;
+    }
+}
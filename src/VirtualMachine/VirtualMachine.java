@@ -0,0 +1,715 @@
+/**
+ * Runs a program compiled by BytecodeCompiler, as an alternative to walking the tree with Interpreter.
+ * Functions are compiled the first time they are called, and each runs a single switch-dispatched loop over its
+ * code array. Values live unboxed in int slots and on an int stack, next to reference slots and a reference stack
+ * for Strings and arrays. Both stacks share one stack pointer, so the nth argument of a call is at the same depth
+ * whichever stack it is on. Unless turned off, common sequences of instructions are fused into superinstructions
+ * once a function is compiled.
+ * It is not a faster engine than Interpreter: on the loop heavy programs of EngineBenchmark it takes about as long,
+ * since dispatching each of its many small instructions costs about as much as visiting a node. JITEngine, which
+ * translates the same bytecode into JVM classes, is the engine for running them fast.
+ */
+
+package VirtualMachine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import CrossStageTools.Nodes.FunctionNode;
+import CrossStageTools.Nodes.ProgramNode;
+import CrossStageTools.Nodes.VariableNode;
+import CrossStageTools.tokenType;
+import Exceptions.InvalidArgumentsException;
+import Exceptions.SyntaxErrorException;
+import Interpreter.BuiltInFunctions.BuiltInFunctionNode;
+import Interpreter.InterpreterDataTypes.*;
+
+public class VirtualMachine
+{
+    private final ProgramNode program;
+
+    private final BytecodeCompiler compiler;
+
+    private final HashMap<FunctionNode, CompiledFunction> compiledFunctions;
+
+    private final boolean isFusing;
+
+    /**
+     * Creates a VirtualMachine with the incoming ProgramNode as the program already parsed and resolved,
+     * which runs its functions with superinstructions.
+     *
+     * @param resolvedProgram Incoming ProgramNode.
+     */
+    public VirtualMachine(ProgramNode resolvedProgram)
+    {
+        this(resolvedProgram, true);
+    }
+
+    /**
+     * Creates a VirtualMachine with the incoming ProgramNode as the program already parsed and resolved,
+     * which fuses superinstructions into its functions if the incoming boolean is true.
+     *
+     * @param resolvedProgram Incoming ProgramNode.
+     * @param isFusingSuperinstructions Incoming boolean.
+     */
+    public VirtualMachine(ProgramNode resolvedProgram, boolean isFusingSuperinstructions)
+    {
+        program = resolvedProgram;
+        compiler = new BytecodeCompiler();
+        compiledFunctions = new HashMap<>();
+        isFusing = isFusingSuperinstructions;
+    }
+
+    /**
+     * Runs the function called "start" as the Kakuzaki program's entry point.
+     *
+     * @throws SyntaxErrorException If there is any error during running.
+     */
+    public void run() throws SyntaxErrorException
+    {
+        CompiledFunction start = getCompiledFunction(program.getFunctionMap().get("start"));
+
+        execute(start, start.makeLocals(), start.makeReferenceLocals());
+    }
+
+    /**
+     * Runs the incoming CompiledFunction with the incoming Object array as its arguments, then puts each parameter
+     * back into the array. Values kept in int slots are boxed as Integers, with reals as their float bits.
+     * Arrays are passed as they are, so the caller copies any it does not get back.
+     *
+     * @param function Incoming CompiledFunction.
+     * @param values Incoming Object array.
+     * @throws SyntaxErrorException If there is any error during running.
+     */
+    public void runFunction(CompiledFunction function, Object[] values) throws SyntaxErrorException
+    {
+        int[] locals = function.makeLocals();
+        Object[] referenceLocals = function.makeReferenceLocals();
+        int[] parameterSlots = function.getParameterSlots();
+        tokenType[] parameterTypes = function.getParameterTypes();
+
+        for (int i = 0; i < values.length; i++)
+        {
+            if (BytecodeCompiler.isReference(parameterTypes[i]))
+            {
+                referenceLocals[parameterSlots[i]] = values[i];
+            }
+            else locals[parameterSlots[i]] = (Integer)values[i];
+        }
+
+        execute(function, locals, referenceLocals);
+
+        for (int i = 0; i < values.length; i++)
+        {
+            if (BytecodeCompiler.isReference(parameterTypes[i]))
+            {
+                values[i] = referenceLocals[parameterSlots[i]];
+            }
+            else values[i] = locals[parameterSlots[i]];
+        }
+    }
+
+    /**
+     * Returns the CompiledFunction for the incoming FunctionNode, compiling it if this is its first use.
+     *
+     * @param function Incoming FunctionNode.
+     * @return CompiledFunction for function.
+     */
+    public CompiledFunction getCompiledFunction(FunctionNode function)
+    {
+        CompiledFunction compiled = compiledFunctions.get(function);
+
+        if (compiled == null)
+        {
+            compiled = compiler.compile(function);
+
+            if (isFusing)
+            {
+                compiled = Superinstructions.fuse(compiled);
+            }
+
+            compiledFunctions.put(function, compiled);
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Runs the incoming CompiledFunction with the incoming int and reference slots until it returns.
+     *
+     * @param function Incoming CompiledFunction.
+     * @param locals Incoming int slots.
+     * @param referenceLocals Incoming reference slots.
+     * @throws SyntaxErrorException If a FAIL instruction is reached or a call fails.
+     */
+    private void execute(CompiledFunction function, int[] locals, Object[] referenceLocals) throws SyntaxErrorException
+    {
+        int[] code = function.getCode();
+        Object[] constants = function.getConstants();
+        int[] stack = new int[function.getMaxStack()];
+        Object[] referenceStack = new Object[function.getMaxStack()];
+
+        int pc = 0, sp = 0;
+
+        while (true)
+        {
+            switch (code[pc])
+            {
+                case OpCode.PUSH :
+                case OpCode.PUSH_REAL :
+                    stack[sp++] = code[pc + 1];
+                    pc += 2;
+                    break;
+                case OpCode.CONST :
+                    referenceStack[sp++] = constants[code[pc + 1]];
+                    pc += 2;
+                    break;
+                case OpCode.LOAD :
+                    stack[sp++] = locals[code[pc + 1]];
+                    pc += 2;
+                    break;
+                case OpCode.STORE :
+                    locals[code[pc + 1]] = stack[--sp];
+                    pc += 2;
+                    break;
+                case OpCode.REFERENCE_LOAD :
+                    referenceStack[sp++] = referenceLocals[code[pc + 1]];
+                    pc += 2;
+                    break;
+                case OpCode.REFERENCE_STORE :
+                    referenceLocals[code[pc + 1]] = referenceStack[--sp];
+                    referenceStack[sp] = null;
+                    pc += 2;
+                    break;
+                case OpCode.INCREMENT :
+                    locals[code[pc + 1]]++;
+                    pc += 2;
+                    break;
+                case OpCode.INTEGER_ADD :
+                    sp--;
+                    stack[sp - 1] += stack[sp];
+                    pc++;
+                    break;
+                case OpCode.INTEGER_SUB :
+                    sp--;
+                    stack[sp - 1] -= stack[sp];
+                    pc++;
+                    break;
+                case OpCode.INTEGER_MULT :
+                    sp--;
+                    stack[sp - 1] *= stack[sp];
+                    pc++;
+                    break;
+                case OpCode.INTEGER_DIV :
+                    sp--;
+                    stack[sp - 1] /= stack[sp];
+                    pc++;
+                    break;
+                case OpCode.INTEGER_MOD :
+                    sp--;
+                    stack[sp - 1] %= stack[sp];
+                    pc++;
+                    break;
+                case OpCode.REAL_ADD :
+                    sp--;
+                    stack[sp - 1] = toBits(toReal(stack[sp - 1]) + toReal(stack[sp]));
+                    pc++;
+                    break;
+                case OpCode.REAL_SUB :
+                    sp--;
+                    stack[sp - 1] = toBits(toReal(stack[sp - 1]) - toReal(stack[sp]));
+                    pc++;
+                    break;
+                case OpCode.REAL_MULT :
+                    sp--;
+                    stack[sp - 1] = toBits(toReal(stack[sp - 1]) * toReal(stack[sp]));
+                    pc++;
+                    break;
+                case OpCode.REAL_DIV :
+                    sp--;
+                    stack[sp - 1] = toBits(toReal(stack[sp - 1]) / toReal(stack[sp]));
+                    pc++;
+                    break;
+                case OpCode.REAL_MOD :
+                    sp--;
+                    stack[sp - 1] = toBits(toReal(stack[sp - 1]) % toReal(stack[sp]));
+                    pc++;
+                    break;
+                case OpCode.CONCATENATE :
+                    sp--;
+                    referenceStack[sp - 1] = (String)referenceStack[sp - 1] + referenceStack[sp];
+                    referenceStack[sp] = null;
+                    pc++;
+                    break;
+                case OpCode.INTEGER_GTHAN :
+                    sp--;
+                    stack[sp - 1] = stack[sp - 1] > stack[sp] ? 1 : 0;
+                    pc++;
+                    break;
+                case OpCode.INTEGER_LTHAN :
+                    sp--;
+                    stack[sp - 1] = stack[sp - 1] < stack[sp] ? 1 : 0;
+                    pc++;
+                    break;
+                case OpCode.INTEGER_GETO :
+                    sp--;
+                    stack[sp - 1] = stack[sp - 1] >= stack[sp] ? 1 : 0;
+                    pc++;
+                    break;
+                case OpCode.INTEGER_LETO :
+                    sp--;
+                    stack[sp - 1] = stack[sp - 1] <= stack[sp] ? 1 : 0;
+                    pc++;
+                    break;
+                case OpCode.INTEGER_EQUAL :
+                    sp--;
+                    stack[sp - 1] = stack[sp - 1] == stack[sp] ? 1 : 0;
+                    pc++;
+                    break;
+                case OpCode.INTEGER_NEQUAL :
+                    sp--;
+                    stack[sp - 1] = stack[sp - 1] != stack[sp] ? 1 : 0;
+                    pc++;
+                    break;
+                case OpCode.REAL_GTHAN :
+                    sp--;
+                    stack[sp - 1] = toReal(stack[sp - 1]) > toReal(stack[sp]) ? 1 : 0;
+                    pc++;
+                    break;
+                case OpCode.REAL_LTHAN :
+                    sp--;
+                    stack[sp - 1] = toReal(stack[sp - 1]) < toReal(stack[sp]) ? 1 : 0;
+                    pc++;
+                    break;
+                case OpCode.REAL_GETO :
+                    sp--;
+                    stack[sp - 1] = toReal(stack[sp - 1]) >= toReal(stack[sp]) ? 1 : 0;
+                    pc++;
+                    break;
+                case OpCode.REAL_LETO :
+                    sp--;
+                    stack[sp - 1] = toReal(stack[sp - 1]) <= toReal(stack[sp]) ? 1 : 0;
+                    pc++;
+                    break;
+                case OpCode.REAL_EQUAL :
+                    sp--;
+                    stack[sp - 1] = toReal(stack[sp - 1]) == toReal(stack[sp]) ? 1 : 0;
+                    pc++;
+                    break;
+                case OpCode.REAL_NEQUAL :
+                    sp--;
+                    stack[sp - 1] = toReal(stack[sp - 1]) != toReal(stack[sp]) ? 1 : 0;
+                    pc++;
+                    break;
+                case OpCode.STRING_EQUAL :
+                    sp--;
+                    stack[sp - 1] = referenceStack[sp - 1].equals(referenceStack[sp]) ? 1 : 0;
+                    referenceStack[sp - 1] = null;
+                    referenceStack[sp] = null;
+                    pc++;
+                    break;
+                case OpCode.STRING_NEQUAL :
+                    sp--;
+                    stack[sp - 1] = referenceStack[sp - 1].equals(referenceStack[sp]) ? 0 : 1;
+                    referenceStack[sp - 1] = null;
+                    referenceStack[sp] = null;
+                    pc++;
+                    break;
+                case OpCode.NOT :
+                    sp--;
+                    stack[sp - 1] ^= 1;
+                    pc++;
+                    break;
+                case OpCode.AND :
+                    sp--;
+                    stack[sp - 1] &= stack[sp];
+                    pc++;
+                    break;
+                case OpCode.OR :
+                    sp--;
+                    stack[sp - 1] |= stack[sp];
+                    pc++;
+                    break;
+                case OpCode.JUMP :
+                    pc = code[pc + 1];
+                    break;
+                case OpCode.JUMP_IF_FALSE :
+                    pc = stack[--sp] == 0 ? code[pc + 1] : pc + 2;
+                    break;
+                case OpCode.JUMP_IF_TRUE :
+                    pc = stack[--sp] != 0 ? code[pc + 1] : pc + 2;
+                    break;
+                case OpCode.JUMP_IF_INTEGER_GTHAN :
+                    sp -= 2;
+                    pc = stack[sp] > stack[sp + 1] ? code[pc + 1] : pc + 2;
+                    break;
+                case OpCode.JUMP_IF_INTEGER_LTHAN :
+                    sp -= 2;
+                    pc = stack[sp] < stack[sp + 1] ? code[pc + 1] : pc + 2;
+                    break;
+                case OpCode.JUMP_IF_INTEGER_GETO :
+                    sp -= 2;
+                    pc = stack[sp] >= stack[sp + 1] ? code[pc + 1] : pc + 2;
+                    break;
+                case OpCode.JUMP_IF_INTEGER_LETO :
+                    sp -= 2;
+                    pc = stack[sp] <= stack[sp + 1] ? code[pc + 1] : pc + 2;
+                    break;
+                case OpCode.JUMP_IF_INTEGER_EQUAL :
+                    sp -= 2;
+                    pc = stack[sp] == stack[sp + 1] ? code[pc + 1] : pc + 2;
+                    break;
+                case OpCode.JUMP_IF_INTEGER_NEQUAL :
+                    sp -= 2;
+                    pc = stack[sp] != stack[sp + 1] ? code[pc + 1] : pc + 2;
+                    break;
+                case OpCode.INTEGER_ARRAY_LOAD :
+                    stack[sp - 1] = ((ArrayDataType)referenceLocals[code[pc + 1]]).getInteger(stack[sp - 1]);
+                    pc += 2;
+                    break;
+                case OpCode.REAL_ARRAY_LOAD :
+                    stack[sp - 1] = toBits(((ArrayDataType)referenceLocals[code[pc + 1]]).getReal(stack[sp - 1]));
+                    pc += 2;
+                    break;
+                case OpCode.CHARACTER_ARRAY_LOAD :
+                    stack[sp - 1] = ((ArrayDataType)referenceLocals[code[pc + 1]]).getCharacter(stack[sp - 1]);
+                    pc += 2;
+                    break;
+                case OpCode.BOOLEAN_ARRAY_LOAD :
+                    stack[sp - 1] = ((ArrayDataType)referenceLocals[code[pc + 1]]).getBoolean(stack[sp - 1]) ? 1 : 0;
+                    pc += 2;
+                    break;
+                case OpCode.STRING_ARRAY_LOAD :
+                    referenceStack[sp - 1] = ((ArrayDataType)referenceLocals[code[pc + 1]]).getString(stack[sp - 1]);
+                    pc += 2;
+                    break;
+                case OpCode.INTEGER_ARRAY_STORE :
+                    sp -= 2;
+                    ((ArrayDataType)referenceLocals[code[pc + 1]]).setInteger(stack[sp], stack[sp + 1]);
+                    pc += 2;
+                    break;
+                case OpCode.REAL_ARRAY_STORE :
+                    sp -= 2;
+                    ((ArrayDataType)referenceLocals[code[pc + 1]]).setReal(stack[sp], toReal(stack[sp + 1]));
+                    pc += 2;
+                    break;
+                case OpCode.CHARACTER_ARRAY_STORE :
+                    sp -= 2;
+                    ((ArrayDataType)referenceLocals[code[pc + 1]]).setCharacter(stack[sp], (char)stack[sp + 1]);
+                    pc += 2;
+                    break;
+                case OpCode.BOOLEAN_ARRAY_STORE :
+                    sp -= 2;
+                    ((ArrayDataType)referenceLocals[code[pc + 1]]).setBoolean(stack[sp], stack[sp + 1] != 0);
+                    pc += 2;
+                    break;
+                case OpCode.STRING_ARRAY_STORE :
+                    sp -= 2;
+                    ((ArrayDataType)referenceLocals[code[pc + 1]]).setString(stack[sp],
+                                                                             (String)referenceStack[sp + 1]);
+                    referenceStack[sp + 1] = null;
+                    pc += 2;
+                    break;
+                case OpCode.INCREMENT_BY :
+                    locals[code[pc + 1]] += code[pc + 2];
+                    pc += 3;
+                    break;
+                case OpCode.INCREMENT_AND_JUMP_IF_LETO :
+                    pc = ++locals[code[pc + 1]] <= locals[code[pc + 2]] ? code[pc + 3] : pc + 4;
+                    break;
+                case OpCode.INTEGER_ELEMENT_LOAD :
+                    stack[sp++] = ((ArrayDataType)referenceLocals[code[pc + 1]]).getInteger(locals[code[pc + 2]]);
+                    pc += 3;
+                    break;
+                case OpCode.JUMP_IF_INTEGER_GTHAN_SLOT :
+                    pc = stack[--sp] > locals[code[pc + 1]] ? code[pc + 2] : pc + 3;
+                    break;
+                case OpCode.JUMP_IF_INTEGER_LTHAN_SLOT :
+                    pc = stack[--sp] < locals[code[pc + 1]] ? code[pc + 2] : pc + 3;
+                    break;
+                case OpCode.JUMP_IF_INTEGER_GETO_SLOT :
+                    pc = stack[--sp] >= locals[code[pc + 1]] ? code[pc + 2] : pc + 3;
+                    break;
+                case OpCode.JUMP_IF_INTEGER_LETO_SLOT :
+                    pc = stack[--sp] <= locals[code[pc + 1]] ? code[pc + 2] : pc + 3;
+                    break;
+                case OpCode.JUMP_IF_INTEGER_EQUAL_SLOT :
+                    pc = stack[--sp] == locals[code[pc + 1]] ? code[pc + 2] : pc + 3;
+                    break;
+                case OpCode.JUMP_IF_INTEGER_NEQUAL_SLOT :
+                    pc = stack[--sp] != locals[code[pc + 1]] ? code[pc + 2] : pc + 3;
+                    break;
+                case OpCode.CALL :
+                    sp = call((CallSite)constants[code[pc + 1]], stack, referenceStack, sp, locals, referenceLocals);
+                    pc += 2;
+                    break;
+                case OpCode.FAIL :
+                    throw (SyntaxErrorException)constants[code[pc + 1]];
+                case OpCode.RETURN :
+                    return;
+                default :
+                    throw new SyntaxErrorException("Unknown instruction " + code[pc] + " in compiled function "
+                            + function.getFunction().getName() + ".");
+            }
+        }
+    }
+
+    /**
+     * Returns the real whose float bits are the incoming int.
+     *
+     * @param bits Incoming int.
+     * @return Real stored in bits.
+     */
+    private static float toReal(int bits)
+    {
+        return Float.intBitsToFloat(bits);
+    }
+
+    /**
+     * Returns the float bits of the incoming real.
+     *
+     * @param real Incoming real.
+     * @return Float bits of real.
+     */
+    private static int toBits(float real)
+    {
+        return Float.floatToRawIntBits(real);
+    }
+
+    /**
+     * Calls the function of the incoming CallSite with the arguments on top of the incoming stacks, then copies
+     * changeable parameters back into the caller's incoming slots for each var argument.
+     *
+     * @param site Incoming CallSite.
+     * @param stack Incoming int stack.
+     * @param referenceStack Incoming reference stack.
+     * @param sp Incoming index of the first free entry in both stacks.
+     * @param locals Incoming int slots of the caller.
+     * @param referenceLocals Incoming reference slots of the caller.
+     * @return Index of the first free entry in both stacks once the arguments are popped.
+     * @throws SyntaxErrorException If the called function does not exist, is given the wrong arguments
+     *                              or fails while running.
+     */
+    private int call(CallSite site, int[] stack, Object[] referenceStack, int sp, int[] locals,
+                     Object[] referenceLocals) throws SyntaxErrorException
+    {
+        if (site.getTarget() == null)
+        {
+            bind(site);
+        }
+
+        int numberOfArguments = site.getNumberOfArguments();
+        int base = sp - numberOfArguments;
+        int[] copyBackSlots = site.getCopyBackSlots();
+        tokenType[] argumentTypes = site.getArgumentTypes();
+
+        if (site.getTarget() instanceof CompiledFunction)
+        {
+            CompiledFunction callee = (CompiledFunction)site.getTarget();
+            int[] calleeLocals = callee.makeLocals();
+            Object[] calleeReferenceLocals = callee.makeReferenceLocals();
+            int[] parameterSlots = callee.getParameterSlots();
+
+            for (int i = 0; i < numberOfArguments; i++)
+            {
+                if (BytecodeCompiler.isReference(argumentTypes[i]))
+                {
+                    calleeReferenceLocals[parameterSlots[i]] = passReference(referenceStack[base + i],
+                                                                             copyBackSlots[i]);
+                }
+                else calleeLocals[parameterSlots[i]] = stack[base + i];
+            }
+
+            execute(callee, calleeLocals, calleeReferenceLocals);
+
+            for (int i = 0; i < numberOfArguments; i++)
+            {
+                if (copyBackSlots[i] == -1)
+                {
+                    continue;
+                }
+                if (BytecodeCompiler.isReference(argumentTypes[i]))
+                {
+                    referenceLocals[copyBackSlots[i]] = calleeReferenceLocals[parameterSlots[i]];
+                }
+                else locals[copyBackSlots[i]] = calleeLocals[parameterSlots[i]];
+            }
+        }
+        else
+        {
+            ArrayList<InterpreterDataType> arguments = new ArrayList<>();
+
+            for (int i = 0; i < numberOfArguments; i++)
+            {
+                arguments.add(makeInterpreterDataType(argumentTypes[i], stack[base + i], referenceStack[base + i],
+                                                      site.getLineNumber(), copyBackSlots[i] != -1));
+            }
+
+            ((BuiltInFunctionNode)site.getTarget()).execute(arguments);
+
+            for (int i = 0; i < numberOfArguments; i++)
+            {
+                if (copyBackSlots[i] == -1)
+                {
+                    continue;
+                }
+                if (BytecodeCompiler.isReference(argumentTypes[i]))
+                {
+                    referenceLocals[copyBackSlots[i]] = getReference(arguments.get(i));
+                }
+                else locals[copyBackSlots[i]] = getValue(arguments.get(i));
+            }
+        }
+
+        for (int i = base; i < sp; i++)
+        {
+            referenceStack[i] = null;
+        }
+
+        return base;
+    }
+
+    /**
+     * Looks up the function called by the incoming CallSite, checks its arguments and binds the CallSite to it.
+     *
+     * @param site Incoming CallSite.
+     * @throws SyntaxErrorException If the function does not exist or is given the wrong arguments.
+     */
+    public void bind(CallSite site) throws SyntaxErrorException
+    {
+        FunctionNode function = program.getFunctionMap().get(site.getName());
+        int[] copyBackSlots = checkCall(function, site);
+
+        if (function instanceof BuiltInFunctionNode)
+        {
+            site.bind(function, copyBackSlots);
+        }
+        else site.bind(getCompiledFunction(function), copyBackSlots);
+    }
+
+    /**
+     * Checks that the incoming FunctionNode exists and can be called with the arguments of the incoming CallSite,
+     * and returns the slot each argument is copied back into after the call, or -1 for arguments that are not.
+     * A user defined function must be given arguments of the types its parameters are declared with,
+     * since its slots are compiled for those types.
+     *
+     * @param function Incoming FunctionNode, null if no function has the name called by site.
+     * @param site Incoming CallSite.
+     * @return Slot each argument is copied back into.
+     * @throws SyntaxErrorException If the function does not exist or is given the wrong arguments.
+     */
+    public static int[] checkCall(FunctionNode function, CallSite site) throws SyntaxErrorException
+    {
+        if (function == null)
+        {
+            throw new SyntaxErrorException("No function called " + site.getName() + " exists, but it is called on line "
+                    + site.getLineNumber() + ".");
+        }
+
+        ArrayList<VariableNode> parameters = function.getParameterList();
+        int[] argumentSlots = site.getArgumentSlots();
+        tokenType[] argumentTypes = site.getArgumentTypes();
+        int[] copyBackSlots = new int[argumentSlots.length];
+
+        if (!function.isVariadic() && parameters != null && parameters.size() != argumentSlots.length)
+        {
+            throw new InvalidArgumentsException(site.getName(), site.getLineNumber());
+        }
+
+        for (int i = 0; i < argumentSlots.length; i++)
+        {
+            boolean hasParameter = parameters != null && i < parameters.size();
+
+            if (!(function instanceof BuiltInFunctionNode) && parameters.get(i).getType() != argumentTypes[i])
+            {
+                throw new SyntaxErrorException("Function " + site.getName() + " expects a "
+                        + parameters.get(i).getType() + " as argument " + (i + 1) + ", but is given a "
+                        + argumentTypes[i] + " on line " + site.getLineNumber() + ".");
+            }
+
+            copyBackSlots[i] = !hasParameter || parameters.get(i).isChangeable() ? argumentSlots[i] : -1;
+        }
+
+        return copyBackSlots;
+    }
+
+    /**
+     * Creates an IDT holding the incoming int or reference according to the incoming tokenType,
+     * so it can be passed to a builtin function, changeable if the incoming boolean is true. An array that is not
+     * changeable shares its elements with the incoming array.
+     *
+     * @param type Incoming tokenType.
+     * @param value Incoming int.
+     * @param reference Incoming reference.
+     * @param line Incoming line number.
+     * @param changeable Incoming boolean.
+     * @return IDT holding value or reference.
+     * @throws SyntaxErrorException If type is not a valid data type.
+     */
+    public static InterpreterDataType makeInterpreterDataType(tokenType type, int value, Object reference, int line,
+                                                              boolean changeable) throws SyntaxErrorException
+    {
+        switch (type)
+        {
+            case INTEGER   : return new IntegerDataType(value, line, changeable);
+            case REAL      : return new RealDataType(toReal(value), line, changeable);
+            case STRING    : return new StringDataType((String)reference, line, changeable);
+            case CHARACTER : return new CharacterDataType((char)value, line, changeable);
+            case BOOLEAN   : return new BooleanDataType(value != 0, line, changeable);
+            case ARRAY     : return changeable ? (ArrayDataType)reference : ((ArrayDataType)reference).asConstant();
+            default        : throw new SyntaxErrorException("No valid data type found on line " + line + ".");
+        }
+    }
+
+    /**
+     * Returns the incoming reference as a user defined function receives it as an argument that is copied back into
+     * the incoming slot after the call, or -1 if it is not. An array that is not copied back is copied, so the
+     * function called cannot change the caller's array through a parameter that is not var.
+     *
+     * @param reference Incoming reference.
+     * @param copyBackSlot Incoming slot.
+     * @return Reference the function called receives.
+     */
+    public static Object passReference(Object reference, int copyBackSlot)
+    {
+        return copyBackSlot == -1 && reference instanceof ArrayDataType ? ((ArrayDataType)reference).copy() : reference;
+    }
+
+    /**
+     * Returns the int the incoming IDT is stored as.
+     *
+     * @param idt Incoming IDT.
+     * @return Int holding idt's data.
+     */
+    public static int getValue(InterpreterDataType idt)
+    {
+        if (idt instanceof IntegerDataType)
+        {
+            return ((IntegerDataType)idt).getData();
+        }
+        else if (idt instanceof RealDataType)
+        {
+            return toBits(((RealDataType)idt).getData());
+        }
+        else if (idt instanceof CharacterDataType)
+        {
+            return ((CharacterDataType)idt).getData();
+        }
+        else return ((BooleanDataType)idt).getData() ? 1 : 0;
+    }
+
+    /**
+     * Returns the reference the incoming IDT is stored as.
+     *
+     * @param idt Incoming IDT.
+     * @return Reference holding idt's data.
+     */
+    public static Object getReference(InterpreterDataType idt)
+    {
+        if (idt instanceof StringDataType)
+        {
+            return ((StringDataType)idt).getData();
+        }
+        else return idt;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Measures time and heap allocation per iteration of an "i := i + 1" while loop run by Interpreter.
+ * Allocation is read from the JDK's per-thread allocation counter, so the numbers cover everything the loop
+ * allocates, including any Strings built while doing arithmetic or comparisons.
+ * <p></p>
+ * Run with: java test.Benchmarks.ArithmeticAllocationBenchmark
+ */
+
+package test.Benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+import CrossStageTools.Nodes.ProgramNode;
+import Interpreter.Interpreter;
+import Lexer.Lexer;
+import Parser.Parser;
+import SemanticAnalysis.Resolver;
+
+public class ArithmeticAllocationBenchmark
+{
+    private static final int WARMUP_ITERATIONS = 2_000_000;
+
+    private static final int MEASURED_ITERATIONS = 10_000_000;
+
+    public static void main(String[] args) throws Exception
+    {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        new Interpreter(makeProgram(WARMUP_ITERATIONS)).interpret();
+
+        Interpreter interpreter = new Interpreter(makeProgram(MEASURED_ITERATIONS));
+
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        long startTime = System.nanoTime();
+
+        interpreter.interpret();
+
+        long elapsed = System.nanoTime() - startTime;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - startBytes;
+
+        System.out.println("iterations:\t\t" + MEASURED_ITERATIONS);
+        System.out.println("ns/iteration:\t\t" + ((double)elapsed / MEASURED_ITERATIONS));
+        System.out.println("bytes/iteration:\t" + ((double)allocated / MEASURED_ITERATIONS));
+        System.out.println("MB/s allocated:\t\t" + (allocated / 1_048_576.0) / (elapsed / 1_000_000_000.0));
+    }
+
+    /**
+     * Creates, parses and resolves a program whose start function counts from 0 to the incoming int.
+     *
+     * @param iterations Incoming int.
+     * @return Resolved ProgramNode.
+     * @throws Exception If the program fails to lex, parse or resolve.
+     */
+    private static ProgramNode makeProgram(int iterations) throws Exception
+    {
+        ArrayList<String> lines = new ArrayList<>();
+
+        lines.add("define start()");
+        lines.add("variables i: integer");
+        lines.add("    i := 0");
+        lines.add("    while i < " + iterations);
+        lines.add("        i := i + 1");
+
+        ProgramNode program = new Parser(new Lexer().lexAndReturnTokenBuffer(lines)).parse();
+
+        new Resolver(program).resolve();
+
+        return program;
+    }
+}
@@ -0,0 +1,310 @@
+/**
+ * Compares the object tree the Parser builds with the compact AST CompactTreeBuilder makes of it, on a synthetic
+ * checked program of about 1M Tokens: how much heap each function body takes in either form, and how long a full walk
+ * counting every node of every function takes.
+ * The heap of the object tree is measured without its symbol tables and variable lists, which the compact trees share.
+ * <p></p>
+ * Run with: java test.Benchmarks.CompactTreeBenchmark
+ */
+
+package test.Benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import CompactTree.CompactFunction;
+import CompactTree.CompactTreeBuilder;
+import CompactTree.NodeKind;
+import CrossStageTools.Nodes.*;
+import CrossStageTools.Nodes.StructureNodes.ArgumentNode;
+import CrossStageTools.Nodes.StructureNodes.ExpressionNodes.*;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.ForNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.IfNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.RepeatNode;
+import CrossStageTools.Nodes.StructureNodes.StatementBlockNodes.WhileNode;
+import Interpreter.BuiltInFunctions.IO.WriteLine;
+import Lexer.Lexer;
+import Optimizer.ConstantFolder;
+import Parser.Parser;
+import SemanticAnalysis.Resolver;
+import SemanticAnalysis.TypeChecker;
+
+public class CompactTreeBenchmark
+{
+    private static final int TARGET_TOKEN_COUNT = 1_000_000;
+
+    private static final int WARMUP_RUNS = 5;
+
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws Exception
+    {
+        ProgramNode program = compile(ParserBenchmark.makeProgram(TARGET_TOKEN_COUNT));
+        ArrayList<FunctionNode> functions = new ArrayList<>();
+
+        for (FunctionNode function : program.getFunctionMap().values())
+        {
+            if (function.getLineNumber() != -1)
+            {
+                functions.add(function);
+            }
+        }
+
+        CompactTreeBuilder builder = new CompactTreeBuilder(program);
+        CompactFunction[] trees = new CompactFunction[functions.size()];
+        long beforeTrees = getUsedHeap();
+
+        for (int i = 0; i < trees.length; i++)
+        {
+            trees[i] = builder.build(functions.get(i));
+        }
+
+        long compactBytes = getUsedHeap() - beforeTrees;
+
+        long treeTime = Long.MAX_VALUE, compactTime = Long.MAX_VALUE;
+        int treeNodes = 0, compactNodes = 0;
+
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++)
+        {
+            long start = System.nanoTime();
+            treeNodes = 0;
+
+            for (int i = 0; i < functions.size(); i++)
+            {
+                treeNodes += countNodes(functions.get(i).getStatementList());
+            }
+            long treeElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            compactNodes = 0;
+
+            for (int i = 0; i < trees.length; i++)
+            {
+                compactNodes += countNodes(trees[i], trees[i].getBody());
+            }
+            long compactElapsed = System.nanoTime() - start;
+
+            if (run >= WARMUP_RUNS)
+            {
+                treeTime = Math.min(treeTime, treeElapsed);
+                compactTime = Math.min(compactTime, compactElapsed);
+            }
+        }
+
+        long beforeBodies = getUsedHeap();
+
+        for (int i = 0; i < functions.size(); i++)
+        {
+            functions.get(i).getStatementList().clear();
+            functions.get(i).getStatementList().trimToSize();
+        }
+
+        long treeBytes = beforeBodies - getUsedHeap();
+
+        System.out.println(functions.size() + " functions, " + treeNodes + " nodes in the object trees, "
+                + compactNodes + " in the compact trees");
+        System.out.println("form\tbody MB\tbest walk ms");
+        System.out.println("object tree\t" + treeBytes / 1_048_576.0 + "\t" + treeTime / 1_000_000.0);
+        System.out.println("compact tree\t" + compactBytes / 1_048_576.0 + "\t" + compactTime / 1_000_000.0);
+        System.out.println("heap saved:\t" + (double)treeBytes / compactBytes);
+        System.out.println("walk speedup:\t" + (double)treeTime / compactTime);
+    }
+
+    /**
+     * Returns the number of nodes in the incoming StatementNode ArrayList, counting every node inside each statement.
+     *
+     * @param statements Incoming StatementNode ArrayList.
+     * @return Number of nodes in statements.
+     */
+    private static int countNodes(ArrayList<StatementNode> statements)
+    {
+        int count = 0;
+
+        for (int i = 0; i < statements.size(); i++)
+        {
+            count += countNodes(statements.get(i));
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the number of nodes in the incoming ASTNode, counting itself and every node inside it.
+     *
+     * @param node Incoming ASTNode.
+     * @return Number of nodes in node, 0 if it is null.
+     */
+    private static int countNodes(ASTNode node)
+    {
+        if (node == null)
+        {
+            return 0;
+        }
+        if (node instanceof VariableReferenceNode)
+        {
+            return 1 + countNodes(((VariableReferenceNode)node).getArrayExpression());
+        }
+        if (node instanceof MathOpNode)
+        {
+            return 1 + countNodes(((MathOpNode)node).getLeftOperand())
+                    + countNodes(((MathOpNode)node).getRightOperand());
+        }
+        if (node instanceof BooleanCompareNode)
+        {
+            return 1 + countNodes(((BooleanCompareNode)node).getLeftComparand())
+                    + countNodes(((BooleanCompareNode)node).getRightComparand());
+        }
+        if (node instanceof ArgumentNode)
+        {
+            ArgumentNode argument = (ArgumentNode)node;
+
+            return 1 + countNodes(argument.isConstant() ? argument.getConstant() : argument.getVariableReference());
+        }
+        if (node instanceof FunctionCallNode)
+        {
+            FunctionCallNode call = (FunctionCallNode)node;
+            int count = 1;
+
+            for (int i = 0; i < call.getNumberOfArguments(); i++)
+            {
+                count += countNodes(call.getArguments().get(i));
+            }
+
+            return count;
+        }
+        if (node instanceof AssignmentNode)
+        {
+            return 1 + countNodes(((AssignmentNode)node).getTarget()) + countNodes(((AssignmentNode)node).getValue());
+        }
+        if (node instanceof IfNode)
+        {
+            IfNode ifBlock = (IfNode)node;
+
+            return 1 + countNodes(ifBlock.getConditional()) + countNodes(ifBlock.getStatements())
+                    + countNodes(ifBlock.getNext());
+        }
+        if (node instanceof WhileNode)
+        {
+            return 1 + countNodes(((WhileNode)node).getConditional()) + countNodes(((WhileNode)node).getStatements());
+        }
+        if (node instanceof RepeatNode)
+        {
+            return 1 + countNodes(((RepeatNode)node).getConditional()) + countNodes(((RepeatNode)node).getStatements());
+        }
+        if (node instanceof ForNode)
+        {
+            ForNode forBlock = (ForNode)node;
+
+            return 1 + countNodes(forBlock.getIterator()) + countNodes(forBlock.getFromNode())
+                    + countNodes(forBlock.getToNode()) + countNodes(forBlock.getStatements());
+        }
+
+        return 1;
+    }
+
+    /**
+     * Returns the number of nodes in the statement list at the incoming offset of the incoming CompactFunction,
+     * counting every node inside each statement.
+     *
+     * @param tree Incoming CompactFunction.
+     * @param list Incoming statement list.
+     * @return Number of nodes in list.
+     */
+    private static int countNodes(CompactFunction tree, int list)
+    {
+        int count = 0;
+
+        for (int i = 0; i < tree.getStatementCount(list); i++)
+        {
+            count += countNode(tree, tree.getStatement(list, i));
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the number of nodes in the incoming node of the incoming CompactFunction, counting itself and every
+     * node inside it.
+     *
+     * @param tree Incoming CompactFunction.
+     * @param node Incoming node.
+     * @return Number of nodes in node, 0 if it is NodeKind.NONE.
+     */
+    private static int countNode(CompactFunction tree, int node)
+    {
+        if (node == NodeKind.NONE)
+        {
+            return 0;
+        }
+
+        switch (tree.getKind(node))
+        {
+            case NodeKind.VARIABLE_REFERENCE : return 1 + countNode(tree, tree.getArrayExpression(node));
+            case NodeKind.MATH_OP            :
+            case NodeKind.BOOLEAN_COMPARE    :
+            case NodeKind.ASSIGNMENT         : return 1 + countNode(tree, tree.getLeft(node))
+                                                      + countNode(tree, tree.getRight(node));
+            case NodeKind.ARGUMENT           : return 1 + countNode(tree, tree.getArgumentValue(node));
+            case NodeKind.FUNCTION_CALL :
+            {
+                int count = 1;
+
+                for (int i = 0; i < tree.getArgumentCount(node); i++)
+                {
+                    count += countNode(tree, tree.getArgument(node, i));
+                }
+
+                return count;
+            }
+            case NodeKind.IF     : return 1 + countNode(tree, tree.getConditional(node))
+                                          + countNodes(tree, tree.getStatements(node))
+                                          + countNode(tree, tree.getNext(node));
+            case NodeKind.WHILE  :
+            case NodeKind.REPEAT : return 1 + countNode(tree, tree.getConditional(node))
+                                          + countNodes(tree, tree.getStatements(node));
+            case NodeKind.FOR    : return 1 + countNode(tree, tree.getIterator(node))
+                                          + countNode(tree, tree.getFrom(node)) + countNode(tree, tree.getTo(node))
+                                          + countNodes(tree, tree.getStatements(node));
+            default              : return 1;
+        }
+    }
+
+    /**
+     * Returns the bytes of heap in use after collecting garbage.
+     *
+     * @return Bytes of heap in use.
+     */
+    private static long getUsedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Lexes, parses, resolves, folds and type checks the incoming lines.
+     *
+     * @param lines Incoming lines.
+     * @return Checked ProgramNode.
+     * @throws Exception If the program fails to compile.
+     */
+    private static ProgramNode compile(ArrayList<String> lines) throws Exception
+    {
+        ProgramNode program = new Parser(new Lexer().lexAndReturnTokenBuffer(lines)).parse();
+        HashMap<String, FunctionNode> builtInMap = new HashMap<>();
+
+        builtInMap.put("writeLine", new WriteLine());
+
+        new Resolver(program).resolve();
+        new ConstantFolder(program).fold();
+        program.addMap(builtInMap);
+        new TypeChecker(program).check();
+
+        return program;
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * Compares how long Interpreter, SpecializingInterpreter, ClosureCompiler, CompactInterpreter, VirtualMachine,
+ * RegisterMachine and JITEngine take to run the same loop heavy programs.
+ * Each program is run a few times first so the JIT has compiled every engine before anything is measured.
+ * <p></p>
+ * Run with: java test.Benchmarks.EngineBenchmark
+ */
+
+package test.Benchmarks;
+
+import java.util.ArrayList;
+
+import ClosureCompiler.ClosureCompiler;
+import CompactTree.CompactInterpreter;
+import CrossStageTools.Nodes.ProgramNode;
+import Interpreter.Interpreter;
+import JIT.JITEngine;
+import Lexer.Lexer;
+import Optimizer.ConstantFolder;
+import Parser.Parser;
+import RegisterMachine.RegisterMachine;
+import SemanticAnalysis.Resolver;
+import SemanticAnalysis.TypeChecker;
+import SpecializingInterpreter.SpecializingInterpreter;
+import VirtualMachine.VirtualMachine;
+
+public class EngineBenchmark
+{
+    private static final int WARMUP_RUNS = 5;
+
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws Exception
+    {
+        measure("counting while loop", countingLoop(5_000_000));
+        measure("nested for loops", nestedLoops(2_000));
+        measure("calls in a loop", callLoop(1_000_000));
+    }
+
+    /**
+     * Runs the program built from the incoming lines with every engine and prints the best time of each.
+     *
+     * @param name Incoming name of the program.
+     * @param lines Incoming lines of the program.
+     * @throws Exception If the program fails to lex, parse, resolve or run.
+     */
+    private static void measure(String name, ArrayList<String> lines) throws Exception
+    {
+        long treeTime = Long.MAX_VALUE, specializingTime = Long.MAX_VALUE, closureTime = Long.MAX_VALUE;
+        long compactTime = Long.MAX_VALUE, vmTime = Long.MAX_VALUE, regvmTime = Long.MAX_VALUE;
+        long jitTime = Long.MAX_VALUE;
+
+        for (int i = 0; i < WARMUP_RUNS + MEASURED_RUNS; i++)
+        {
+            ProgramNode treeProgram = makeProgram(lines);
+            ProgramNode specializingProgram = makeProgram(lines);
+            ProgramNode closureProgram = makeProgram(lines);
+            ProgramNode compactProgram = makeProgram(lines);
+            ProgramNode vmProgram = makeProgram(lines);
+            ProgramNode regvmProgram = makeProgram(lines);
+            ProgramNode jitProgram = makeProgram(lines);
+
+            long start = System.nanoTime();
+            new Interpreter(treeProgram).interpret();
+            long treeElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            new SpecializingInterpreter(specializingProgram).interpret();
+            long specializingElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            new ClosureCompiler(closureProgram).run();
+            long closureElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            new CompactInterpreter(compactProgram).run();
+            long compactElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            new VirtualMachine(vmProgram).run();
+            long vmElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            new RegisterMachine(regvmProgram).run();
+            long regvmElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            new JITEngine(jitProgram).run();
+            long jitElapsed = System.nanoTime() - start;
+
+            if (i >= WARMUP_RUNS)
+            {
+                treeTime = Math.min(treeTime, treeElapsed);
+                specializingTime = Math.min(specializingTime, specializingElapsed);
+                closureTime = Math.min(closureTime, closureElapsed);
+                compactTime = Math.min(compactTime, compactElapsed);
+                vmTime = Math.min(vmTime, vmElapsed);
+                regvmTime = Math.min(regvmTime, regvmElapsed);
+                jitTime = Math.min(jitTime, jitElapsed);
+            }
+        }
+
+        System.out.println(name + ":");
+        System.out.println("\ttree ms:\t" + treeTime / 1_000_000.0);
+        System.out.println("\tspecializing ms:\t" + specializingTime / 1_000_000.0);
+        System.out.println("\tclosure ms:\t" + closureTime / 1_000_000.0);
+        System.out.println("\tcompact ms:\t" + compactTime / 1_000_000.0);
+        System.out.println("\tvm ms:\t\t" + vmTime / 1_000_000.0);
+        System.out.println("\tregvm ms:\t" + regvmTime / 1_000_000.0);
+        System.out.println("\tjit ms:\t\t" + jitTime / 1_000_000.0);
+        System.out.println("\tspecializing speedup:\t" + (double)treeTime / specializingTime);
+        System.out.println("\tclosure speedup:\t" + (double)treeTime / closureTime);
+        System.out.println("\tcompact speedup:\t" + (double)treeTime / compactTime);
+        System.out.println("\tvm speedup:\t" + (double)treeTime / vmTime);
+        System.out.println("\tregvm speedup:\t" + (double)treeTime / regvmTime);
+        System.out.println("\tjit speedup:\t" + (double)treeTime / jitTime);
+    }
+
+    /**
+     * Lexes, parses, resolves, folds and type checks the incoming lines.
+     *
+     * @param lines Incoming lines.
+     * @return Type checked ProgramNode.
+     * @throws Exception If the program fails to lex, parse, resolve or type check.
+     */
+    private static ProgramNode makeProgram(ArrayList<String> lines) throws Exception
+    {
+        ProgramNode program = new Parser(new Lexer().lexAndReturnTokenBuffer(lines)).parse();
+
+        new Resolver(program).resolve();
+        new ConstantFolder(program).fold();
+        new TypeChecker(program).check();
+
+        return program;
+    }
+
+    /**
+     * Returns a program that counts from 0 to the incoming int while keeping a running total.
+     *
+     * @param iterations Incoming int.
+     * @return Lines of the program.
+     */
+    private static ArrayList<String> countingLoop(int iterations)
+    {
+        ArrayList<String> lines = new ArrayList<>();
+
+        lines.add("define start()");
+        lines.add("variables i, total: integer");
+        lines.add("    i := 0");
+        lines.add("    total := 0");
+        lines.add("    while i < " + iterations);
+        lines.add("        total := total + i mod 7 + 1");
+        lines.add("        i := i + 1");
+
+        return lines;
+    }
+
+    /**
+     * Returns a program that runs two for loops nested inside each other, each counting to the incoming int.
+     *
+     * @param size Incoming int.
+     * @return Lines of the program.
+     */
+    private static ArrayList<String> nestedLoops(int size)
+    {
+        ArrayList<String> lines = new ArrayList<>();
+
+        lines.add("define start()");
+        lines.add("variables i, j, total: integer");
+        lines.add("    total := 0");
+        lines.add("    for i from 1 to " + size);
+        lines.add("        for j from 1 to " + size);
+        lines.add("            if j > i");
+        lines.add("                total := total + 1");
+        lines.add("            else");
+        lines.add("                total := total - 1");
+
+        return lines;
+    }
+
+    /**
+     * Returns a program that calls a function with a var argument the incoming int times.
+     *
+     * @param iterations Incoming int.
+     * @return Lines of the program.
+     */
+    private static ArrayList<String> callLoop(int iterations)
+    {
+        ArrayList<String> lines = new ArrayList<>();
+
+        lines.add("define start()");
+        lines.add("variables i, total: integer");
+        lines.add("    total := 0");
+        lines.add("    for i from 1 to " + iterations);
+        lines.add("        add i, var total");
+        lines.add("define add(amount: integer; var total: integer)");
+        lines.add("    total := total + amount");
+
+        return lines;
+    }
+}
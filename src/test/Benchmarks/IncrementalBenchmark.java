@@ -0,0 +1,80 @@
+/**
+ * Compares compiling a synthetic program of about 1M Tokens, from lexing through type checking, with recompiling it
+ * through an IncrementalCompiler after a one-line edit in its middle, which is what each save does when watching it.
+ * An edit keeping the number of lines only recompiles the function it is in, while an edit inserting a line also
+ * shifts the line numbers of every function after it, so both are measured.
+ * <p></p>
+ * Run with: java test.Benchmarks.IncrementalBenchmark
+ */
+
+package test.Benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import CrossStageTools.Nodes.FunctionNode;
+import IncrementalCompiler.IncrementalCompiler;
+import Interpreter.BuiltInFunctions.IO.WriteLine;
+
+public class IncrementalBenchmark
+{
+    private static final int TARGET_TOKEN_COUNT = 1_000_000;
+
+    private static final int WARMUP_RUNS = 3;
+
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws Exception
+    {
+        long compiling = Long.MAX_VALUE, changing = Long.MAX_VALUE, inserting = Long.MAX_VALUE;
+        int lineCount = 0;
+
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++)
+        {
+            ArrayList<String> lines = ParserBenchmark.makeProgram(TARGET_TOKEN_COUNT);
+            int editedLine = lines.size() / 2 / 9 * 9 + 4;
+
+            lineCount = lines.size();
+
+            long start = System.nanoTime();
+            IncrementalCompiler compiler = new IncrementalCompiler(lines, loadBuiltInFunctions());
+            long compilingElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            compiler.edit(editedLine, editedLine, new ArrayList<>(List.of("    total := 1")));
+            long changingElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            compiler.edit(editedLine, editedLine - 1, new ArrayList<>(List.of("    total := 2")));
+            long insertingElapsed = System.nanoTime() - start;
+
+            if (run >= WARMUP_RUNS)
+            {
+                compiling = Math.min(compiling, compilingElapsed);
+                changing = Math.min(changing, changingElapsed);
+                inserting = Math.min(inserting, insertingElapsed);
+            }
+        }
+
+        System.out.println(lineCount + " lines");
+        System.out.println("compile\tbest ms");
+        System.out.println("full compile\t" + (compiling / 1_000_000.0));
+        System.out.println("edit changing a line\t" + (changing / 1_000_000.0));
+        System.out.println("edit inserting a line\t" + (inserting / 1_000_000.0));
+    }
+
+    /**
+     * Returns a HashMap with the builtin functions the synthetic program uses.
+     *
+     * @return HashMap with the builtin functions the synthetic program uses.
+     */
+    private static HashMap<String, FunctionNode> loadBuiltInFunctions()
+    {
+        HashMap<String, FunctionNode> builtInMap = new HashMap<>();
+
+        builtInMap.put("writeLine", new WriteLine());
+
+        return builtInMap;
+    }
+}
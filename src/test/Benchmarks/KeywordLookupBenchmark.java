@@ -0,0 +1,234 @@
+/**
+ * Compares recognizing keywords and punctuation through LexemeTable with the HashMaps from String to tokenType the
+ * Lexer used before, on the words and punctuation characters of the LexerPrograms soups.
+ * The HashMap lookups are made the way the Lexer made them, building a String for every word and character.
+ * <p></p>
+ * Run with: java test.Benchmarks.KeywordLookupBenchmark
+ */
+
+package test.Benchmarks;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import CrossStageTools.tokenType;
+import Lexer.LexemeTable;
+
+public class KeywordLookupBenchmark
+{
+    private static final String[] SOUPS = {"characterLiteralSoup", "identifierSoup", "indentSoup", "keywordSoup",
+                                           "numberSoup", "punctuationSoup", "stringLiteralSoup"};
+
+    private static final int COPIES = 20_000;
+
+    private static final int WARMUP_RUNS = 5;
+
+    private static final int MEASURED_RUNS = 5;
+
+    private static final HashMap<String, tokenType> keywordMap = new HashMap<>();
+
+    private static final HashMap<String, tokenType> punctuationMap = new HashMap<>();
+
+    private static int found;
+
+    public static void main(String[] args) throws Exception
+    {
+        initializeMaps();
+
+        StringBuilder text = new StringBuilder();
+        ArrayList<Integer> wordBounds = new ArrayList<>();
+        readSoups(text, wordBounds);
+
+        int[] bounds = new int[wordBounds.size()];
+
+        for (int i = 0; i < bounds.length; i++)
+        {
+            bounds[i] = wordBounds.get(i);
+        }
+
+        String source = text.toString();
+        long mapWords = Long.MAX_VALUE, tableWords = Long.MAX_VALUE;
+        long mapPunctuation = Long.MAX_VALUE, tablePunctuation = Long.MAX_VALUE;
+
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++)
+        {
+            long start = System.nanoTime();
+            lookUpWordsInMaps(source, bounds);
+            long mapWordsElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            lookUpWordsInTable(source, bounds);
+            long tableWordsElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            lookUpPunctuationInMap(source);
+            long mapPunctuationElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            lookUpPunctuationInTable(source);
+            long tablePunctuationElapsed = System.nanoTime() - start;
+
+            if (run >= WARMUP_RUNS)
+            {
+                mapWords = Math.min(mapWords, mapWordsElapsed);
+                tableWords = Math.min(tableWords, tableWordsElapsed);
+                mapPunctuation = Math.min(mapPunctuation, mapPunctuationElapsed);
+                tablePunctuation = Math.min(tablePunctuation, tablePunctuationElapsed);
+            }
+        }
+
+        int wordCount = bounds.length / 2;
+
+        System.out.println("lookups\tHashMap ns/lookup\tLexemeTable ns/lookup");
+        System.out.println("words (" + wordCount + ")\t" + ((double)mapWords / wordCount) + "\t"
+                + ((double)tableWords / wordCount));
+        System.out.println("characters (" + source.length() + ")\t" + ((double)mapPunctuation / source.length()) + "\t"
+                + ((double)tablePunctuation / source.length()));
+        System.out.println("(" + found + " matches)");
+    }
+
+    /**
+     * Looks up every word in the incoming text, between each pair of the incoming bounds, in the HashMaps.
+     *
+     * @param text Incoming text.
+     * @param bounds Incoming start and end index of each word, one after the other.
+     */
+    private static void lookUpWordsInMaps(String text, int[] bounds)
+    {
+        for (int i = 0; i < bounds.length; i += 2)
+        {
+            String word = text.substring(bounds[i], bounds[i + 1]);
+
+            if (keywordMap.containsKey(word) || punctuationMap.containsKey(word))
+            {
+                found += keywordMap.get(word) == null ? punctuationMap.get(word).ordinal()
+                                                      : keywordMap.get(word).ordinal();
+            }
+        }
+    }
+
+    /**
+     * Looks up every word in the incoming text, between each pair of the incoming bounds, in LexemeTable.
+     *
+     * @param text Incoming text.
+     * @param bounds Incoming start and end index of each word, one after the other.
+     */
+    private static void lookUpWordsInTable(String text, int[] bounds)
+    {
+        for (int i = 0; i < bounds.length; i += 2)
+        {
+            tokenType type = LexemeTable.lookupWord(text, bounds[i], bounds[i + 1]);
+
+            if (type != null)
+            {
+                found += type.ordinal();
+            }
+        }
+    }
+
+    /**
+     * Checks every character of the incoming text against the punctuation HashMap.
+     *
+     * @param text Incoming text.
+     */
+    private static void lookUpPunctuationInMap(String text)
+    {
+        for (int i = 0; i < text.length(); i++)
+        {
+            if (punctuationMap.containsKey(text.charAt(i) + ""))
+            {
+                found += punctuationMap.get("" + text.charAt(i)).ordinal();
+            }
+        }
+    }
+
+    /**
+     * Checks every character of the incoming text against LexemeTable.
+     *
+     * @param text Incoming text.
+     */
+    private static void lookUpPunctuationInTable(String text)
+    {
+        for (int i = 0; i < text.length(); i++)
+        {
+            tokenType type = LexemeTable.lookupPunctuation(text.charAt(i));
+
+            if (type != null)
+            {
+                found += type.ordinal();
+            }
+        }
+    }
+
+    /**
+     * Appends copies of every soup's text to the incoming StringBuilder, and the start and end index of each run of
+     * letters and digits beginning with a letter to the incoming Integer ArrayList.
+     *
+     * @param text Incoming StringBuilder.
+     * @param wordBounds Incoming Integer ArrayList.
+     * @throws Exception If a soup cannot be read.
+     */
+    private static void readSoups(StringBuilder text, ArrayList<Integer> wordBounds) throws Exception
+    {
+        StringBuilder soups = new StringBuilder();
+
+        for (int i = 0; i < SOUPS.length; i++)
+        {
+            soups.append(new String(Files.readAllBytes(new File("TestPrograms/LexerPrograms/" + SOUPS[i] + ".zki")
+                                                                .toPath()), "UTF-8")).append('\n');
+        }
+
+        for (int i = 0; i < COPIES; i++)
+        {
+            text.append(soups);
+        }
+
+        for (int i = 0; i < text.length(); i++)
+        {
+            if (Character.isLetter(text.charAt(i)))
+            {
+                int start = i;
+
+                while (i < text.length() && Character.isLetterOrDigit(text.charAt(i)))
+                {
+                    i++;
+                }
+
+                wordBounds.add(start);
+                wordBounds.add(i);
+            }
+        }
+    }
+
+    /**
+     * Fills the HashMaps with the same keywords and punctuation the Lexer recognizes.
+     */
+    private static void initializeMaps()
+    {
+        String[] keywords = {"define", "constants", "variables", "if", "elsif", "else", "then", "while", "repeat",
+                             "until", "for", "true", "false", "integer", "real", "boolean", "character", "string",
+                             "array", "of", "from", "to", "var"};
+
+        for (int i = 0; i < keywords.length; i++)
+        {
+            keywordMap.put(keywords[i], LexemeTable.lookupWord(keywords[i], 0, keywords[i].length()));
+        }
+
+        String[] punctuation = {"+", "-", "*", "/", "~", ">", "<", "=", ":", ";", ",", "(", ")", "[", "]"};
+
+        for (int i = 0; i < punctuation.length; i++)
+        {
+            punctuationMap.put(punctuation[i], LexemeTable.lookupPunctuation(punctuation[i].charAt(0)));
+        }
+
+        String[] wordOperators = {"mod", "not", "and", "or"};
+
+        for (int i = 0; i < wordOperators.length; i++)
+        {
+            punctuationMap.put(wordOperators[i],
+                               LexemeTable.lookupWord(wordOperators[i], 0, wordOperators[i].length()));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Measures Lexer throughput in MB/s on synthetic sources from 1 MB to 64 MB, made of copies of the LexerPrograms
+ * soups, when lexing a list of lines, when streaming the same text through a TokenStream and when lexing the list
+ * of lines in parallel.
+ * <p></p>
+ * Run with: java test.Benchmarks.LexerBenchmark
+ */
+
+package test.Benchmarks;
+
+import java.io.File;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import CrossStageTools.TokenStream;
+import Lexer.Lexer;
+
+public class LexerBenchmark
+{
+    private static final String[] SOUPS = {"characterLiteralSoup", "identifierSoup", "indentSoup", "keywordSoup",
+                                           "numberSoup", "punctuationSoup", "stringLiteralSoup"};
+
+    private static final int[] TARGET_MEGABYTES = {1, 8, 64};
+
+    private static final int WARMUP_RUNS = 3;
+
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws Exception
+    {
+        ArrayList<String> soupLines = readSoups();
+
+        System.out.println("MB\ttokens\tlex MB/s\tstream MB/s\tparallel MB/s");
+
+        for (int i = 0; i < TARGET_MEGABYTES.length; i++)
+        {
+            ArrayList<String> lines = new ArrayList<>();
+            long characterCount = makeSource(soupLines, TARGET_MEGABYTES[i] * 1_000_000L, lines);
+            String text = String.join("\n", lines);
+            double megabytes = characterCount / 1_000_000.0;
+
+            long bestLex = Long.MAX_VALUE, bestStream = Long.MAX_VALUE, bestParallel = Long.MAX_VALUE;
+            int tokenCount = 0;
+
+            for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++)
+            {
+                long start = System.nanoTime();
+                tokenCount = new Lexer().lexAndReturnTokenList(lines).size();
+                long lexElapsed = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                TokenStream stream = new Lexer().stream(new StringReader(text));
+                while (!stream.isAtEnd())
+                {
+                    stream.advance();
+                }
+                long streamElapsed = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                Lexer parallelLexer = new Lexer();
+                parallelLexer.lexInParallel(lines);
+                parallelLexer.getTokenList();
+                long parallelElapsed = System.nanoTime() - start;
+
+                if (run >= WARMUP_RUNS)
+                {
+                    bestLex = Math.min(bestLex, lexElapsed);
+                    bestStream = Math.min(bestStream, streamElapsed);
+                    bestParallel = Math.min(bestParallel, parallelElapsed);
+                }
+            }
+
+            System.out.println(TARGET_MEGABYTES[i] + "\t" + tokenCount + "\t" + (megabytes / (bestLex / 1e9)) + "\t"
+                    + (megabytes / (bestStream / 1e9)) + "\t" + (megabytes / (bestParallel / 1e9)));
+        }
+    }
+
+    /**
+     * Returns the lines of every LexerPrograms soup, one soup after another.
+     *
+     * @return Lines of every soup.
+     * @throws Exception If a soup cannot be read.
+     */
+    private static ArrayList<String> readSoups() throws Exception
+    {
+        ArrayList<String> soupLines = new ArrayList<>();
+
+        for (int i = 0; i < SOUPS.length; i++)
+        {
+            File soup = new File("TestPrograms/LexerPrograms/" + SOUPS[i] + ".zki");
+            soupLines.addAll(Files.readAllLines(soup.toPath()));
+        }
+
+        return soupLines;
+    }
+
+    /**
+     * Fills the incoming line ArrayList with copies of the incoming soup lines until they hold at least the incoming
+     * number of characters, counting one for each line break.
+     *
+     * @param soupLines Incoming soup lines.
+     * @param targetCharacterCount Incoming number of characters.
+     * @param lines Incoming line ArrayList.
+     * @return Number of characters in lines.
+     */
+    private static long makeSource(ArrayList<String> soupLines, long targetCharacterCount, ArrayList<String> lines)
+    {
+        long characterCount = 0;
+
+        while (characterCount < targetCharacterCount)
+        {
+            for (int i = 0; i < soupLines.size(); i++)
+            {
+                lines.add(soupLines.get(i));
+                characterCount += soupLines.get(i).length() + 1;
+            }
+        }
+
+        return characterCount;
+    }
+}
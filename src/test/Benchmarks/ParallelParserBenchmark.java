@@ -0,0 +1,69 @@
+/**
+ * Measures how Parser.parseInParallel() scales with the number of threads on a synthetic program of about 1M Tokens,
+ * against Parser.parse() on the same Tokens. Thread counts double from 1 up to the number of available processors.
+ * <p></p>
+ * Run with: java test.Benchmarks.ParallelParserBenchmark
+ */
+
+package test.Benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+
+import CrossStageTools.TokenBuffer;
+import Lexer.Lexer;
+import Parser.Parser;
+
+public class ParallelParserBenchmark
+{
+    private static final int TARGET_TOKEN_COUNT = 1_000_000;
+
+    private static final int WARMUP_RUNS = 3;
+
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws Exception
+    {
+        TokenBuffer tokenBuffer = new Lexer().lexAndReturnTokenBuffer(ParserBenchmark.makeProgram(TARGET_TOKEN_COUNT));
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        long sequential = Long.MAX_VALUE;
+
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++)
+        {
+            long start = System.nanoTime();
+            new Parser(tokenBuffer).parse();
+            long elapsed = System.nanoTime() - start;
+
+            if (run >= WARMUP_RUNS)
+            {
+                sequential = Math.min(sequential, elapsed);
+            }
+        }
+
+        System.out.println(tokenBuffer.size() + " tokens, " + processors + " available processors");
+        System.out.println("threads\tbest ms\tspeedup over parse()");
+        System.out.println("parse()\t" + (sequential / 1_000_000.0) + "\t1.0");
+
+        for (int threads = 1; threads <= processors; threads *= 2)
+        {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long best = Long.MAX_VALUE;
+
+            for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++)
+            {
+                long start = System.nanoTime();
+                new Parser(tokenBuffer).parseInParallel(pool);
+                long elapsed = System.nanoTime() - start;
+
+                if (run >= WARMUP_RUNS)
+                {
+                    best = Math.min(best, elapsed);
+                }
+            }
+
+            pool.shutdown();
+
+            System.out.println(threads + "\t" + (best / 1_000_000.0) + "\t" + ((double)sequential / best));
+        }
+    }
+}
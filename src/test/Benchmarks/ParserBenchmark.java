@@ -0,0 +1,72 @@
+/**
+ * Measures Parser throughput on synthetic programs from roughly 1K to 1M Tokens.
+ * Parse time per Token should stay flat as the program grows, i.e. total parse time should be linear.
+ * <p></p>
+ * Run with: java test.Benchmarks.ParserBenchmark
+ */
+
+package test.Benchmarks;
+
+import java.util.ArrayList;
+
+import CrossStageTools.TokenBuffer;
+import Lexer.Lexer;
+import Parser.Parser;
+
+public class ParserBenchmark
+{
+    private static final int[] TARGET_TOKEN_COUNTS = {1_000, 10_000, 100_000, 1_000_000};
+
+    private static final int RUNS_PER_SIZE = 5;
+
+    public static void main(String[] args) throws Exception
+    {
+        System.out.println("tokens\tbest ms\tns/token");
+
+        for (int i = 0; i < TARGET_TOKEN_COUNTS.length; i++)
+        {
+            TokenBuffer tokenBuffer = new Lexer().lexAndReturnTokenBuffer(makeProgram(TARGET_TOKEN_COUNTS[i]));
+
+            long best = Long.MAX_VALUE;
+
+            for (int run = 0; run < RUNS_PER_SIZE; run++)
+            {
+                long start = System.nanoTime();
+                new Parser(tokenBuffer).parse();
+                best = Math.min(best, System.nanoTime() - start);
+            }
+
+            System.out.println(tokenBuffer.size() + "\t" + (best / 1_000_000.0) + "\t"
+                    + ((double)best / tokenBuffer.size()));
+        }
+    }
+
+    /**
+     * Creates the lines of a program made of copies of a small function until it holds about the incoming number
+     * of Tokens.
+     *
+     * @param targetTokenCount Incoming number of Tokens.
+     * @return Lines of the created program.
+     */
+    static ArrayList<String> makeProgram(int targetTokenCount)
+    {
+        final int TOKENS_PER_FUNCTION = 56;
+
+        ArrayList<String> lines = new ArrayList<>();
+
+        for (int i = 0; i < Math.max(targetTokenCount / TOKENS_PER_FUNCTION, 1); i++)
+        {
+            lines.add("define function" + i + "(a: integer; var b: real)");
+            lines.add("variables i, total: integer");
+            lines.add("constants limit = 100");
+            lines.add("    total := 0");
+            lines.add("    for i from 1 to limit");
+            lines.add("        total := total + i * 2");
+            lines.add("    while total > a");
+            lines.add("        total := total - 1");
+            lines.add("    writeLine total, b");
+        }
+
+        return lines;
+    }
+}
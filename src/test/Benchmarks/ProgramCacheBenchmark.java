@@ -0,0 +1,129 @@
+/**
+ * Compares compiling a synthetic program of about 1M Tokens, from lexing through type checking, with loading the
+ * same checked program from a .zkic program cache, which is what a run of an unchanged source does instead.
+ * Opening the cache reads only its tables, so it is also measured followed by loading every function, which is what
+ * a run calling every function ends up doing.
+ * <p></p>
+ * Run with: java test.Benchmarks.ProgramCacheBenchmark
+ */
+
+package test.Benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import CrossStageTools.Nodes.FunctionNode;
+import CrossStageTools.Nodes.ProgramNode;
+import Interpreter.BuiltInFunctions.IO.WriteLine;
+import Lexer.Lexer;
+import Optimizer.ConstantFolder;
+import Parser.Parser;
+import ProgramCache.ProgramReader;
+import ProgramCache.ProgramWriter;
+import SemanticAnalysis.Resolver;
+import SemanticAnalysis.TypeChecker;
+
+public class ProgramCacheBenchmark
+{
+    private static final int TARGET_TOKEN_COUNT = 1_000_000;
+
+    private static final int WARMUP_RUNS = 3;
+
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws Exception
+    {
+        ArrayList<String> lines = ParserBenchmark.makeProgram(TARGET_TOKEN_COUNT);
+        Path sourcePath = Files.createTempFile("ProgramCacheBenchmark", ".zki");
+        Path cachePath = ProgramWriter.getCachePath(sourcePath);
+
+        Files.write(sourcePath, lines, StandardCharsets.UTF_8);
+
+        try
+        {
+            byte[] sourceHash = ProgramWriter.hashSource(sourcePath);
+            long compiling = Long.MAX_VALUE, opening = Long.MAX_VALUE, loading = Long.MAX_VALUE;
+
+            for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++)
+            {
+                long start = System.nanoTime();
+                ProgramNode checkedProgram = compile(sourcePath);
+                long compilingElapsed = System.nanoTime() - start;
+
+                new ProgramWriter(checkedProgram, sourceHash, 0, 0).write(cachePath, sourcePath);
+
+                start = System.nanoTime();
+                ProgramNode program = ProgramReader.read(cachePath, ProgramWriter.hashSource(sourcePath)).getProgram();
+                program.addMap(loadBuiltInFunctions());
+                long openingElapsed = System.nanoTime() - start;
+
+                FunctionNode[] functions = new FunctionNode[program.getFunctionMap().size()];
+                program.getFunctionMap().values().toArray(functions);
+
+                for (int i = 0; i < functions.length; i++)
+                {
+                    functions[i].getStatementList();
+                }
+                long loadingElapsed = System.nanoTime() - start;
+
+                if (run >= WARMUP_RUNS)
+                {
+                    compiling = Math.min(compiling, compilingElapsed);
+                    opening = Math.min(opening, openingElapsed);
+                    loading = Math.min(loading, loadingElapsed);
+                }
+            }
+
+            System.out.println(lines.size() + " lines, " + Files.size(sourcePath) + " source bytes, "
+                    + Files.size(cachePath) + " cache bytes");
+            System.out.println("startup\tbest ms");
+            System.out.println("compile\t" + (compiling / 1_000_000.0));
+            System.out.println("open .zkic\t" + (opening / 1_000_000.0));
+            System.out.println("open .zkic and load every function\t" + (loading / 1_000_000.0));
+        }
+        finally
+        {
+            Files.deleteIfExists(sourcePath);
+            Files.deleteIfExists(cachePath);
+        }
+    }
+
+    /**
+     * Lexes, parses, resolves, folds and type checks the source at the incoming Path, as Main does without a cache.
+     *
+     * @param sourcePath Incoming Path.
+     * @return Checked ProgramNode.
+     * @throws Exception If the program fails to compile.
+     */
+    private static ProgramNode compile(Path sourcePath) throws Exception
+    {
+        ArrayList<String> lines = new ArrayList<>(Files.readAllLines(sourcePath, StandardCharsets.UTF_8));
+        ProgramNode program = new Parser(new Lexer().lexAndReturnTokenBuffer(lines)).parse();
+
+        new Resolver(program).resolve();
+
+        new ConstantFolder(program).fold();
+
+        program.addMap(loadBuiltInFunctions());
+        new TypeChecker(program).check();
+
+        return program;
+    }
+
+    /**
+     * Returns a HashMap with the builtin functions the synthetic program uses.
+     *
+     * @return HashMap with the builtin functions the synthetic program uses.
+     */
+    private static HashMap<String, FunctionNode> loadBuiltInFunctions()
+    {
+        HashMap<String, FunctionNode> builtInMap = new HashMap<>();
+
+        builtInMap.put("writeLine", new WriteLine());
+
+        return builtInMap;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Compares how long VirtualMachine takes to run the same loop heavy programs with and without superinstructions, and
+ * how many ints of code the start function of each compiles to either way.
+ * Each program is run a few times first so the JIT has compiled VirtualMachine before anything is measured.
+ * <p></p>
+ * Run with: java test.Benchmarks.SuperinstructionBenchmark
+ */
+
+package test.Benchmarks;
+
+import java.util.ArrayList;
+
+import CrossStageTools.Nodes.ProgramNode;
+import Lexer.Lexer;
+import Optimizer.ConstantFolder;
+import Parser.Parser;
+import SemanticAnalysis.Resolver;
+import SemanticAnalysis.TypeChecker;
+import VirtualMachine.VirtualMachine;
+
+public class SuperinstructionBenchmark
+{
+    private static final int WARMUP_RUNS = 5;
+
+    private static final int MEASURED_RUNS = 5;
+
+    public static void main(String[] args) throws Exception
+    {
+        System.out.println("program\tplain ints\tfused ints\tplain ms\tfused ms");
+
+        measure("for loop increments", incrementLoop(5_000_000));
+        measure("array guard in a for loop", guardLoop(1_000, 5_000));
+    }
+
+    /**
+     * Runs the program built from the incoming lines with and without superinstructions and prints the code size of
+     * its start function and the best time of each.
+     *
+     * @param name Incoming name of the program.
+     * @param lines Incoming lines of the program.
+     * @throws Exception If the program fails to lex, parse, resolve or run.
+     */
+    private static void measure(String name, ArrayList<String> lines) throws Exception
+    {
+        long plainTime = Long.MAX_VALUE, fusedTime = Long.MAX_VALUE;
+        int plainLength = 0, fusedLength = 0;
+
+        for (int i = 0; i < WARMUP_RUNS + MEASURED_RUNS; i++)
+        {
+            ProgramNode plainProgram = makeProgram(lines);
+            ProgramNode fusedProgram = makeProgram(lines);
+            VirtualMachine plain = new VirtualMachine(plainProgram, false);
+            VirtualMachine fused = new VirtualMachine(fusedProgram, true);
+
+            plainLength = plain.getCompiledFunction(plainProgram.getFunctionMap().get("start")).getCode().length;
+            fusedLength = fused.getCompiledFunction(fusedProgram.getFunctionMap().get("start")).getCode().length;
+
+            long start = System.nanoTime();
+            plain.run();
+            long plainElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            fused.run();
+            long fusedElapsed = System.nanoTime() - start;
+
+            if (i >= WARMUP_RUNS)
+            {
+                plainTime = Math.min(plainTime, plainElapsed);
+                fusedTime = Math.min(fusedTime, fusedElapsed);
+            }
+        }
+
+        System.out.println(name + "\t" + plainLength + "\t" + fusedLength + "\t" + plainTime / 1_000_000 + "\t"
+                + fusedTime / 1_000_000);
+    }
+
+    /**
+     * Lexes, parses, resolves, folds and type checks the incoming lines.
+     *
+     * @param lines Incoming lines.
+     * @return Checked ProgramNode.
+     * @throws Exception If the program fails to compile.
+     */
+    private static ProgramNode makeProgram(ArrayList<String> lines) throws Exception
+    {
+        ProgramNode program = new Parser(new Lexer().lexAndReturnTokenBuffer(lines)).parse();
+
+        new Resolver(program).resolve();
+        new ConstantFolder(program).fold();
+        new TypeChecker(program).check();
+
+        return program;
+    }
+
+    /**
+     * Returns a program that counts to the incoming int in a for loop, adding a literal to a total each time.
+     *
+     * @param iterations Incoming int.
+     * @return Lines of the program.
+     */
+    private static ArrayList<String> incrementLoop(int iterations)
+    {
+        ArrayList<String> lines = new ArrayList<>();
+
+        lines.add("define start()");
+        lines.add("variables i, total: integer");
+        lines.add("    total := 0");
+        lines.add("    for i from 1 to " + iterations);
+        lines.add("        total := total + 3");
+
+        return lines;
+    }
+
+    /**
+     * Returns a program that fills an array of the first incoming int's length, then walks it the second incoming
+     * int times, comparing each element against a variable.
+     *
+     * @param size Incoming length of the array.
+     * @param passes Incoming number of walks.
+     * @return Lines of the program.
+     */
+    private static ArrayList<String> guardLoop(int size, int passes)
+    {
+        ArrayList<String> lines = new ArrayList<>();
+
+        lines.add("define start()");
+        lines.add("variables numbers: array from 1 to " + size + " of integer");
+        lines.add("variables i, pass, limit, total: integer");
+        lines.add("    for i from 1 to " + size);
+        lines.add("        numbers[i] := i mod 10");
+        lines.add("    total := 0");
+        lines.add("    limit := 4");
+        lines.add("    for pass from 1 to " + passes);
+        lines.add("        for i from 1 to " + size);
+        lines.add("            if numbers[i] > limit");
+        lines.add("                total := total + 1");
+
+        return lines;
+    }
+}
@@ -0,0 +1,710 @@
+/**
+ * Tests that every execution engine produces the same output as Interpreter.
+ */
+
+package test;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
+
+import ClosureCompiler.ClosureCompiler;
+import CompactTree.CompactFunction;
+import CompactTree.CompactInterpreter;
+import CompactTree.CompactTreeBuilder;
+import CrossStageTools.Nodes.FunctionNode;
+import CrossStageTools.Nodes.ProgramNode;
+import Exceptions.SyntaxErrorException;
+import IncrementalCompiler.IncrementalCompiler;
+import Interpreter.Interpreter;
+import Interpreter.BuiltInFunctions.Arrays.First;
+import Interpreter.BuiltInFunctions.Arrays.Last;
+import Interpreter.BuiltInFunctions.IO.Write;
+import Interpreter.BuiltInFunctions.IO.WriteLine;
+import Interpreter.BuiltInFunctions.Numbers.IntegerToReal;
+import Interpreter.BuiltInFunctions.Numbers.RealToInteger;
+import Interpreter.BuiltInFunctions.Numbers.SquareRoot;
+import Interpreter.BuiltInFunctions.Strings.ChopLeft;
+import Interpreter.BuiltInFunctions.Strings.ChopRight;
+import Interpreter.BuiltInFunctions.Strings.Substring;
+import JIT.JITEngine;
+import Lexer.Lexer;
+import Optimizer.ConstantFolder;
+import Parser.Parser;
+import ProgramCache.ProgramReader;
+import ProgramCache.ProgramWriter;
+import RegisterMachine.RegisterMachine;
+import SemanticAnalysis.Resolver;
+import SemanticAnalysis.TypeChecker;
+import SpecializingInterpreter.SpecializingInterpreter;
+import VirtualMachine.VirtualMachine;
+
+public class EngineTest
+{
+    @Test
+    void loopsTest() throws Exception
+    {
+        assertEnginesAgree("loops.zki", "55\n6\n-1\n6\n13\n11.75\n5\n");
+    }
+
+    @Test
+    void branchesTest() throws Exception
+    {
+        assertEnginesAgree("branches.zki", "one\ntwo\nnot four\nfour\nkakuzaki\nz\ntrue\n");
+    }
+
+    @Test
+    void callsTest() throws Exception
+    {
+        assertEnginesAgree("calls.zki", "720\n32104\n");
+    }
+
+    @Test
+    void builtInsTest() throws Exception
+    {
+        assertEnginesAgree("builtins.zki", "7.0\n9\n4.0\nkuz\nkaku\nzaki\n");
+    }
+
+    @Test
+    void foldingTest() throws Exception
+    {
+        assertEnginesAgree("folding.zki", "19\n3.5\nkakuzaki\nfolded\n1\n9\n");
+
+        ConstantFolder folder = new ConstantFolder(parse("folding.zki"));
+
+        folder.fold();
+
+        assertEquals(11, folder.getFoldedCount(), "expressions folded in folding.zki");
+        assertEquals(4, folder.getPropagatedCount(), "constant reads propagated in folding.zki");
+    }
+
+    @Test
+    void arraysTest() throws Exception
+    {
+        assertEnginesAgree("arrays.zki", "70\n3.0\nkakuzaki\n30\nk\ntrue\nk\ntrue\n");
+    }
+
+    @Test
+    void arrayArgumentsTest() throws Exception
+    {
+        assertEnginesAgree("arrayArguments.zki", "24\n4\n4\nzaki\n1\n3\n");
+    }
+
+    @Test
+    void longLoopBodyTest() throws Exception
+    {
+        String[] engines = {"tree", "specializing", "closure", "compact", "vm", "regvm", "jit"};
+
+        for (int size = 1; size <= 40; size++)
+        {
+            ArrayList<String> lines = new ArrayList<>(List.of("define start()", "variables i, total: integer",
+                                                              "    total := 0", "    i := 0", "    while i < 3"));
+
+            for (int i = 0; i < size; i++)
+            {
+                lines.add("        total := total + " + i);
+            }
+
+            lines.add("        i := i + 1");
+            lines.add("    writeLine total");
+
+            for (int i = 0; i < engines.length; i++)
+            {
+                assertEquals(3 * size * (size - 1) / 2 + "\n", run(check(lines), engines[i]),
+                             engines[i] + " engine output of a loop body of " + size + " statements");
+            }
+        }
+    }
+
+    @Test
+    void oversizedFunctionTest() throws Exception
+    {
+        String[] engines = {"tree", "vm", "regvm", "jit"};
+        ArrayList<String> lines = new ArrayList<>(List.of("define start()", "variables total, count: integer",
+                                                          "    total := 0", "    count := 0",
+                                                          "    loopSum var total, var count", "    writeLine total",
+                                                          "    writeLine count", "    straightSum var total",
+                                                          "    writeLine total",
+                                                          "define loopSum(var total: integer; var count: integer)",
+                                                          "variables i: integer", "    i := 0", "    while i < 2"));
+
+        for (int i = 0; i < 3000; i++)
+        {
+            lines.add("        total := total + " + i);
+        }
+
+        lines.add("        i := i + 1");
+        lines.add("    count := i");
+        lines.add("define straightSum(var total: integer)");
+
+        for (int i = 0; i < 12000; i++)
+        {
+            lines.add("    total := total + " + i);
+        }
+
+        ProgramNode program = check(lines);
+
+        for (int i = 0; i < engines.length; i++)
+        {
+            assertEquals("8997000\n2\n80991000\n", run(program, engines[i]),
+                         engines[i] + " engine output of functions too long for a JVM method");
+        }
+    }
+
+    @Test
+    void typeChangesTest() throws Exception
+    {
+        String expectedOutput = "6\n5.0\nabab\n2\nss\nss\n";
+
+        assertEquals(expectedOutput, run("typeChanges.zki", "tree", false), "tree engine output of typeChanges.zki");
+        assertEquals(expectedOutput, run("typeChanges.zki", "specializing", false),
+                     "specializing engine output of typeChanges.zki");
+    }
+
+    @Test
+    void typeCheckerTest()
+    {
+        SyntaxErrorException error = assertThrows(SyntaxErrorException.class, () -> run("typeChanges.zki", "tree"));
+
+        assertEquals("Function double expects a INTEGER as argument 1, but is given a REAL on line 4.",
+                     error.getMessage());
+
+        error = assertThrows(SyntaxErrorException.class, () -> check(new ArrayList<>(
+                List.of("define start()", "variables r: real", "    squareRoot 16, var r"))));
+
+        assertEquals("Function squareRoot expects a REAL as argument 1, but is given a INTEGER on line 3.",
+                     error.getMessage());
+
+        error = assertThrows(SyntaxErrorException.class, () -> check(new ArrayList<>(
+                List.of("define start()", "variables r: real", "    squareRoot 16.0, r"))));
+
+        assertEquals("Function squareRoot expects argument 2 to be a var argument on line 3.", error.getMessage());
+
+        error = assertThrows(SyntaxErrorException.class, () -> check(new ArrayList<>(
+                List.of("define start()", "variables names: array from 0 to 1 of string", "variables n: integer",
+                        "    count names, var n", "define count(values: array of integer; var n: integer)",
+                        "    n := 2"))));
+
+        assertEquals("Function count expects a ARRAY of INTEGER as argument 1, but is given a ARRAY of STRING on "
+                     + "line 4.", error.getMessage());
+    }
+
+    @Test
+    void parallelParsingTest() throws Exception
+    {
+        ArrayList<String> lines = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++)
+        {
+            lines.add("define function" + i + "(a: integer; var b: real)");
+            lines.add("variables i, total: integer");
+            lines.add("");
+            lines.add("    for i from 1 to a");
+            lines.add("        total := total + i * 2");
+            lines.add("    writeLine total, b");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ProgramNode program = new Parser(new Lexer().lexAndReturnTokenBuffer(lines)).parse();
+        ProgramNode parallelProgram = new Parser(new Lexer().lexAndReturnTokenBuffer(lines)).parseInParallel(pool);
+
+        assertEquals(program.getFunctionMap().size(), parallelProgram.getFunctionMap().size(), "functions parsed");
+
+        for (String name : program.getFunctionMap().keySet())
+        {
+            assertEquals(program.getFunctionMap().get(name).toString(),
+                         parallelProgram.getFunctionMap().get(name).toString(), "function " + name);
+        }
+
+        lines.set(1500 * 6 + 4, "        total := (");
+
+        SyntaxErrorException error = assertThrows(SyntaxErrorException.class,
+                () -> new Parser(new Lexer().lexAndReturnTokenBuffer(lines)).parse());
+        SyntaxErrorException parallelError = assertThrows(SyntaxErrorException.class,
+                () -> new Parser(new Lexer().lexAndReturnTokenBuffer(lines)).parseInParallel(pool));
+
+        assertEquals(error.getMessage(), parallelError.getMessage(), "error thrown while parsing in parallel");
+
+        pool.shutdown();
+    }
+
+    @Test
+    void expressionsTest() throws Exception
+    {
+        assertEnginesAgree("expressions.zki", "3\n26\n2\n1\n2.0\n8\ntrue\nprecedence\n");
+
+        SyntaxErrorException error = assertThrows(SyntaxErrorException.class, () -> parse(new ArrayList<>(
+                List.of("define start()", "variables x: integer", "    x := 1 + 2 *", "    writeLine x")), false));
+
+        assertEquals("Expected an operand after MULT Token on line 3.", error.getMessage());
+    }
+
+    @Test
+    void lazyParsingTest() throws Exception
+    {
+        assertThrows(SyntaxErrorException.class, () -> parse("lazy.zki"));
+
+        assertEquals("720\n32104\n", run("lazy.zki", "tree", true, true), "tree engine output of lazy.zki");
+    }
+
+    @Test
+    void programCacheTest() throws Exception
+    {
+        String[] filenames = {"loops.zki", "branches.zki", "calls.zki", "folding.zki", "arrays.zki"};
+        Path cachePath = Files.createTempFile("programCacheTest", ".zkic");
+
+        try
+        {
+            for (int i = 0; i < filenames.length; i++)
+            {
+                Path path = Paths.get("TestPrograms/EnginePrograms/" + filenames[i]);
+                byte[] sourceHash = ProgramWriter.hashSource(path);
+                String[] engines = {"tree", "specializing", "closure", "compact", "vm", "regvm", "jit"};
+
+                new ProgramWriter(check(filenames[i]), sourceHash, 0, 0).write(cachePath, path);
+
+                for (int j = 0; j < engines.length; j++)
+                {
+                    ProgramNode program = ProgramReader.read(cachePath, sourceHash).getProgram();
+
+                    assertTrue(program.getFunctionMap().get("start").isLoadPending(), "start loaded before its call");
+
+                    program.addMap(loadBuiltInFunctions());
+
+                    assertEquals(run(filenames[i], engines[j]), run(program, engines[j]),
+                                 engines[j] + " engine output of cached " + filenames[i]);
+                }
+
+                sourceHash[0]++;
+
+                assertNull(ProgramReader.read(cachePath, sourceHash), "cache of a changed " + filenames[i]);
+            }
+        }
+        finally
+        {
+            Files.delete(cachePath);
+        }
+    }
+
+    @Test
+    void truncatedCacheTest() throws Exception
+    {
+        Path path = Paths.get("TestPrograms/EnginePrograms/calls.zki");
+        Path cachePath = Files.createTempFile("truncatedCacheTest", ".zkic");
+        byte[] sourceHash = ProgramWriter.hashSource(path);
+
+        try
+        {
+            new ProgramWriter(check("calls.zki"), sourceHash, 0, 0).write(cachePath, path);
+
+            byte[] cache = Files.readAllBytes(cachePath);
+            int[] lengths = {cache.length - 1, cache.length / 2, cache.length / 4};
+
+            for (int i = 0; i < lengths.length; i++)
+            {
+                Files.write(cachePath, Arrays.copyOf(cache, lengths[i]));
+
+                assertThrows(IOException.class, () -> ProgramReader.read(cachePath, sourceHash));
+            }
+        }
+        finally
+        {
+            Files.delete(cachePath);
+        }
+    }
+
+    @Test
+    void incrementalCompilingTest() throws Exception
+    {
+        Path path = Paths.get("TestPrograms/EnginePrograms/calls.zki");
+        ArrayList<String> lines = new ArrayList<>(Files.readAllLines(path, StandardCharsets.UTF_8));
+        IncrementalCompiler compiler = new IncrementalCompiler(lines, loadBuiltInFunctions());
+
+        assertEquals("720\n32104\n", run(compiler.getProgram(), "tree"), "output of calls.zki");
+
+        compiler.edit(3, 3, new ArrayList<>(List.of("constants limit = 5")));
+        assertEquals("120\n32104\n", run(compiler.getProgram(), "tree"), "output after changing a line");
+
+        compiler.edit(10, 9, new ArrayList<>(List.of("define twice(n: integer)", "variables doubled: integer",
+                                                         "    doubled := n + n", "    writeLine doubled")));
+        compiler.edit(5, 4, new ArrayList<>(List.of("    twice limit")));
+        assertEquals("10\n120\n32104\n", run(compiler.getProgram(), "vm"), "output after inserting a function");
+
+        assertThrows(SyntaxErrorException.class,
+                () -> compiler.edit(6, 6, new ArrayList<>(List.of("    count := ("))));
+        compiler.edit(6, 6, new ArrayList<>(List.of("    count := 0", "    count := count + 0")));
+        assertEquals("10\n120\n32104\n", run(compiler.getProgram(), "closure"), "output after fixing an error");
+
+        ProgramNode program = check(new ArrayList<>(lines));
+
+        assertEquals(program.getFunctionMap().size(), compiler.getProgram().getFunctionMap().size(),
+                     "functions compiled");
+
+        for (String name : program.getFunctionMap().keySet())
+        {
+            assertEquals(program.getFunctionMap().get(name).toString(),
+                         compiler.getProgram().getFunctionMap().get(name).toString(), "function " + name);
+        }
+
+        SyntaxErrorException error = assertThrows(SyntaxErrorException.class,
+                () -> compiler.edit(24, 24, new ArrayList<>(List.of("    calls := calls + 0.5"))));
+
+        assertEquals(assertThrows(SyntaxErrorException.class, () -> check(new ArrayList<>(lines))).getMessage(),
+                     error.getMessage(), "error thrown after edits");
+    }
+
+    @Test
+    void incrementalTypeErrorTest() throws Exception
+    {
+        Path path = Paths.get("TestPrograms/EnginePrograms/calls.zki");
+        ArrayList<String> lines = new ArrayList<>(Files.readAllLines(path, StandardCharsets.UTF_8));
+        IncrementalCompiler compiler = new IncrementalCompiler(lines, loadBuiltInFunctions());
+
+        SyntaxErrorException error = assertThrows(SyntaxErrorException.class,
+                () -> compiler.edit(13, 13, new ArrayList<>(List.of("        total := 0.5"))));
+
+        assertEquals("Variable total on line 13 holds a INTEGER and cannot be assigned a REAL.", error.getMessage());
+
+        compiler.edit(13, 13, new ArrayList<>(List.of("        total := total * n + 0")));
+        assertEquals("720\n32104\n", run(compiler.getProgram(), "tree"), "output after fixing a type error");
+
+        assertThrows(SyntaxErrorException.class,
+                () -> compiler.edit(18, 18, new ArrayList<>(List.of("    calls := 0.5"))));
+        assertThrows(SyntaxErrorException.class, () -> compiler.edit(16, 18, new ArrayList<>(
+                List.of("define countUp(n: integer; var calls: integer)", "variables next: integer",
+                        "    calls := calls + 1"))));
+        assertThrows(SyntaxErrorException.class,
+                () -> compiler.edit(22, 22, new ArrayList<>(List.of("        countUp next, var calls"))));
+        compiler.edit(8, 8, new ArrayList<>(List.of("    countUp 3, var count")));
+        assertEquals("720\n32104\n", run(compiler.getProgram(), "tree"), "output after renaming a function");
+        assertNull(compiler.getProgram().getFunctionMap().get("countDown"), "countDown after renaming it");
+    }
+
+    @Test
+    void compactTreeTest() throws Exception
+    {
+        String[] filenames = {"loops.zki", "branches.zki", "calls.zki", "folding.zki", "arrays.zki"};
+
+        for (int i = 0; i < filenames.length; i++)
+        {
+            ProgramNode program = check(filenames[i]);
+            CompactTreeBuilder builder = new CompactTreeBuilder(program);
+
+            for (FunctionNode function : program.getFunctionMap().values())
+            {
+                if (function.getLineNumber() == -1)
+                {
+                    continue;
+                }
+
+                CompactFunction tree = builder.build(function);
+
+                assertEquals(function.toString(), tree.toString(), "compact tree of " + function.getName());
+
+                for (int j = 0; j < function.getStatementList().size(); j++)
+                {
+                    assertEquals(function.getStatementList().get(j).getLineNumber(),
+                                 tree.getLineNumber(tree.getStatement(tree.getBody(), j)),
+                                 "line of statement " + j + " of " + function.getName());
+                }
+            }
+        }
+
+        ProgramNode program = check("calls.zki");
+
+        assertEquals("720\n32104\n", run(program, "compact"), "compact engine output of calls.zki");
+
+        for (FunctionNode function : program.getFunctionMap().values())
+        {
+            if (function.getLineNumber() != -1)
+            {
+                assertNull(function.getStatementList(), "statements of " + function.getName() + " once compacted");
+            }
+        }
+    }
+
+    @Test
+    void superinstructionsTest() throws Exception
+    {
+        assertEnginesAgree("superinstructions.zki", "24\n8\n2\n4\n6\n8\n10\n4\n");
+
+        ProgramNode program = check("superinstructions.zki");
+        FunctionNode start = program.getFunctionMap().get("start");
+        String fused = new VirtualMachine(program).getCompiledFunction(start).toString();
+        String plain = new VirtualMachine(program, false).getCompiledFunction(start).toString();
+        String[] superinstructions = {"INCREMENT_BY", "INCREMENT_AND_JUMP_IF_LETO", "INTEGER_ELEMENT_LOAD",
+                                      "JUMP_IF_INTEGER_GTHAN_SLOT"};
+
+        for (int i = 0; i < superinstructions.length; i++)
+        {
+            assertTrue(fused.contains(superinstructions[i]), superinstructions[i] + " in fused start");
+            assertTrue(!plain.contains(superinstructions[i]), superinstructions[i] + " in plain start");
+        }
+    }
+
+    /**
+     * Runs the incoming filename with every engine and asserts each printed the incoming expected output.
+     *
+     * @param filename Incoming filename.
+     * @param expectedOutput Incoming expected output.
+     * @throws Exception If the program fails to lex, parse, resolve or run.
+     */
+    private void assertEnginesAgree(String filename, String expectedOutput) throws Exception
+    {
+        assertEquals(expectedOutput, run(filename, "tree"), "tree engine output of " + filename);
+        assertEquals(expectedOutput, run(filename, "specializing"), "specializing engine output of " + filename);
+        assertEquals(expectedOutput, run(filename, "closure"), "closure engine output of " + filename);
+        assertEquals(expectedOutput, run(filename, "compact"), "compact engine output of " + filename);
+        assertEquals(expectedOutput, run(filename, "vm"), "vm engine output of " + filename);
+        assertEquals(expectedOutput, run(filename, "regvm"), "regvm engine output of " + filename);
+        assertEquals(expectedOutput, run(filename, "jit"), "jit engine output of " + filename);
+    }
+
+    /**
+     * Lexes, parses and resolves the incoming filename.
+     *
+     * @param filename Incoming filename.
+     * @return Resolved ProgramNode.
+     * @throws Exception If the program fails to lex, parse or resolve.
+     */
+    private ProgramNode parse(String filename) throws Exception
+    {
+        return parse(filename, false);
+    }
+
+    /**
+     * Lexes, parses and resolves the incoming filename, leaving function bodies to be parsed when first called if
+     * the incoming boolean is true.
+     *
+     * @param filename Incoming filename.
+     * @param isLazy Incoming boolean.
+     * @return Resolved ProgramNode.
+     * @throws Exception If the program fails to lex, parse or resolve.
+     */
+    private ProgramNode parse(String filename, boolean isLazy) throws Exception
+    {
+        Path path = Paths.get("TestPrograms/EnginePrograms/" + filename);
+
+        return parse((ArrayList<String>)(Files.readAllLines(path, StandardCharsets.UTF_8)), isLazy);
+    }
+
+    /**
+     * Lexes, parses and resolves the incoming lines, leaving function bodies to be parsed when first called if the
+     * incoming boolean is true.
+     *
+     * @param lines Incoming lines.
+     * @param isLazy Incoming boolean.
+     * @return Resolved ProgramNode.
+     * @throws Exception If the program fails to lex, parse or resolve.
+     */
+    private ProgramNode parse(ArrayList<String> lines, boolean isLazy) throws Exception
+    {
+        Parser parser = new Parser(new Lexer().lexAndReturnTokenBuffer(lines));
+        ProgramNode program = isLazy ? parser.parseLazily() : parser.parse();
+
+        new Resolver(program).resolve();
+
+        return program;
+    }
+
+    /**
+     * Lexes, parses, resolves, folds and type checks the incoming filename, runs it with the incoming engine
+     * and returns what it printed.
+     *
+     * @param filename Incoming filename.
+     * @param engine Incoming engine name.
+     * @return Everything the program printed.
+     * @throws Exception If the program fails to lex, parse, resolve, type check or run.
+     */
+    private String run(String filename, String engine) throws Exception
+    {
+        return run(filename, engine, true);
+    }
+
+    /**
+     * Lexes, parses, resolves and folds the incoming filename, type checks it if the incoming boolean is true,
+     * runs it with the incoming engine and returns what it printed.
+     *
+     * @param filename Incoming filename.
+     * @param engine Incoming engine name.
+     * @param isTypeChecked Incoming boolean.
+     * @return Everything the program printed.
+     * @throws Exception If the program fails to lex, parse, resolve, type check or run.
+     */
+    private String run(String filename, String engine, boolean isTypeChecked) throws Exception
+    {
+        return run(filename, engine, isTypeChecked, false);
+    }
+
+    /**
+     * Lexes, parses, resolves and folds the incoming filename, type checks it if the first incoming boolean is true,
+     * runs it with the incoming engine and returns what it printed. Function bodies are parsed when first called if
+     * the second incoming boolean is true.
+     *
+     * @param filename Incoming filename.
+     * @param engine Incoming engine name.
+     * @param isTypeChecked First incoming boolean.
+     * @param isLazy Second incoming boolean.
+     * @return Everything the program printed.
+     * @throws Exception If the program fails to lex, parse, resolve, type check or run.
+     */
+    private String run(String filename, String engine, boolean isTypeChecked, boolean isLazy) throws Exception
+    {
+        return run(check(filename, isTypeChecked, isLazy), engine);
+    }
+
+    /**
+     * Lexes, parses, resolves, folds and type checks the incoming filename, with the builtin functions it uses.
+     *
+     * @param filename Incoming filename.
+     * @return Checked ProgramNode.
+     * @throws Exception If the program fails to lex, parse, resolve or type check.
+     */
+    private ProgramNode check(String filename) throws Exception
+    {
+        return check(filename, true, false);
+    }
+
+    /**
+     * Lexes, parses, resolves and folds the incoming filename and adds the builtin functions it uses, then type checks
+     * it if the first incoming boolean is true. Function bodies are parsed when first called if the second incoming
+     * boolean is true.
+     *
+     * @param filename Incoming filename.
+     * @param isTypeChecked First incoming boolean.
+     * @param isLazy Second incoming boolean.
+     * @return Folded ProgramNode.
+     * @throws Exception If the program fails to lex, parse, resolve or type check.
+     */
+    private ProgramNode check(String filename, boolean isTypeChecked, boolean isLazy) throws Exception
+    {
+        return check(parse(filename, isLazy), isTypeChecked);
+    }
+
+    /**
+     * Lexes, parses, resolves, folds and type checks the incoming lines, with the builtin functions they use.
+     *
+     * @param lines Incoming lines.
+     * @return Checked ProgramNode.
+     * @throws Exception If the program fails to lex, parse, resolve or type check.
+     */
+    private ProgramNode check(ArrayList<String> lines) throws Exception
+    {
+        return check(parse(lines, false), true);
+    }
+
+    /**
+     * Folds the incoming resolved ProgramNode and adds the builtin functions it uses, then type checks it if the
+     * incoming boolean is true.
+     *
+     * @param program Incoming ProgramNode.
+     * @param isTypeChecked Incoming boolean.
+     * @return Folded ProgramNode.
+     * @throws Exception If the program fails to type check.
+     */
+    private ProgramNode check(ProgramNode program, boolean isTypeChecked) throws Exception
+    {
+        new ConstantFolder(program).fold();
+
+        program.addMap(loadBuiltInFunctions());
+
+        if (isTypeChecked)
+        {
+            new TypeChecker(program).check();
+        }
+
+        return program;
+    }
+
+    /**
+     * Returns a HashMap with the builtin functions the test programs use.
+     *
+     * @return HashMap with the builtin functions the test programs use.
+     */
+    private HashMap<String, FunctionNode> loadBuiltInFunctions()
+    {
+        HashMap<String, FunctionNode> builtInMap = new HashMap<>();
+
+        builtInMap.put("write", new Write());
+        builtInMap.put("writeLine", new WriteLine());
+
+        builtInMap.put("first", new First());
+        builtInMap.put("last", new Last());
+
+        builtInMap.put("integerToReal", new IntegerToReal());
+        builtInMap.put("realToInteger", new RealToInteger());
+        builtInMap.put("squareRoot", new SquareRoot());
+
+        builtInMap.put("chopLeft", new ChopLeft());
+        builtInMap.put("chopRight", new ChopRight());
+        builtInMap.put("substring", new Substring());
+
+        return builtInMap;
+    }
+
+    /**
+     * Runs the incoming ProgramNode with the incoming engine and returns what it printed.
+     *
+     * @param program Incoming ProgramNode.
+     * @param engine Incoming engine name.
+     * @return Everything the program printed.
+     * @throws Exception If the program fails to run.
+     */
+    private String run(ProgramNode program, String engine) throws Exception
+    {
+        PrintStream standardOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+
+        try
+        {
+            if (engine.equals("specializing"))
+            {
+                new SpecializingInterpreter(program).interpret();
+            }
+            else if (engine.equals("closure"))
+            {
+                new ClosureCompiler(program).run();
+            }
+            else if (engine.equals("compact"))
+            {
+                new CompactInterpreter(program).run();
+            }
+            else if (engine.equals("vm"))
+            {
+                new VirtualMachine(program).run();
+            }
+            else if (engine.equals("regvm"))
+            {
+                new RegisterMachine(program).run();
+            }
+            else if (engine.equals("jit"))
+            {
+                new JITEngine(program).run();
+            }
+            else new Interpreter(program).interpret();
+        }
+        finally
+        {
+            System.setOut(standardOut);
+        }
+
+        return output.toString(StandardCharsets.UTF_8).replace(System.lineSeparator(), "\n");
+    }
+}
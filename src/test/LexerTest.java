@@ -11,12 +11,14 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.ArrayList;
 import java.nio.file.Files;
 import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.charset.StandardCharsets;
 
 import Lexer.Lexer;
 import CrossStageTools.Token;
+import CrossStageTools.TokenStream;
 
 public class LexerTest
 {
@@ -62,6 +64,68 @@ public class LexerTest
         attemptToReadAndAssertTokenListsAreEqual("indentSoup.zki");
     }
 
+    @Test
+    void streamingTest() throws Exception
+    {
+        String[] filenames = {"keywordSoup.zki", "punctuationSoup.zki", "numberSoup.zki", "identifierSoup.zki",
+                              "stringLiteralSoup.zki", "characterLiteralSoup.zki", "indentSoup.zki"};
+
+        for (int i = 0; i < filenames.length; i++)
+        {
+            Path path = Paths.get("TestPrograms/LexerPrograms/" + filenames[i]);
+            TokenStream stream = new Lexer().stream(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+            ArrayList<Token> streamedTokens = new ArrayList<>();
+
+            while (!stream.isAtEnd())
+            {
+                streamedTokens.add(stream.peek(0));
+                stream.advance();
+            }
+
+            assertTrue(areTokenListsEqual(new Lexer().lexAndReturnTokenList(attemptToRead(filenames[i])),
+                                          streamedTokens), "streamed Tokens of " + filenames[i]);
+        }
+    }
+
+    @Test
+    void parallelLexingTest() throws Exception
+    {
+        String[] filenames = {"keywordSoup.zki", "punctuationSoup.zki", "numberSoup.zki", "identifierSoup.zki",
+                              "stringLiteralSoup.zki", "characterLiteralSoup.zki", "indentSoup.zki"};
+
+        ArrayList<String> lines = new ArrayList<>();
+
+        for (int copy = 0; copy < 1000; copy++)
+        {
+            lines.add("define copy" + copy + "()");
+
+            for (int i = 0; i < filenames.length; i++)
+            {
+                lines.addAll(attemptToRead(filenames[i]));
+            }
+
+            lines.add("{ a comment hiding");
+            lines.add("define commented()");
+            lines.add("    }");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Lexer parallelLexer = new Lexer();
+
+        try
+        {
+            parallelLexer.lexInParallel(lines, pool);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        assertTrue(lines.size() > 4 * 4 * 256, "lines to split into several chunks for each of 4 threads");
+        assertTrue(areTokenListsEqual(new Lexer().lexAndReturnTokenList(lines), parallelLexer.getTokenList()),
+                   "Tokens lexed in parallel");
+    }
+
     /**
      * Attempts to read the incoming filename and, if able, proceeds to assert appropriately.
      *